@@ -59,6 +59,48 @@ public class SzBulkDataAnalysis {
    */
   private Map<String, SzEntityTypeRecordAnalysis> analysisByEntityType;
 
+  /**
+   * The description of the sample from which the analysis was estimated, or
+   * <tt>null</tt> if every record was analyzed.
+   */
+  private SzBulkDataSampling sampling;
+
+  /**
+   * The confidence interval for the estimated record count, or <tt>null</tt>
+   * if the record count is exact.
+   */
+  private SzConfidenceInterval recordCountInterval;
+
+  /**
+   * The confidence interval for the estimated number of records having a
+   * record ID, or <tt>null</tt> if the count is exact.
+   */
+  private SzConfidenceInterval recordIdCountInterval;
+
+  /**
+   * The confidence interval for the estimated number of records having a
+   * data source, or <tt>null</tt> if the count is exact.
+   */
+  private SzConfidenceInterval dataSourceCountInterval;
+
+  /**
+   * The confidence interval for the estimated number of records having an
+   * entity type, or <tt>null</tt> if the count is exact.
+   */
+  private SzConfidenceInterval entityTypeCountInterval;
+
+  /**
+   * The estimated number of distinct record ID's, or <tt>null</tt> if not
+   * estimated.
+   */
+  private Long distinctRecordIdCount;
+
+  /**
+   * The confidence interval for the estimated number of distinct record
+   * ID's, or <tt>null</tt> if not estimated.
+   */
+  private SzConfidenceInterval distinctRecordIdCountInterval;
+
   /**
    * Default constructor.
    */
@@ -70,6 +112,13 @@ public class SzBulkDataAnalysis {
     this.analysisByDataSource = new HashMap<>();
     this.analysisByEntityType = new HashMap<>();
     this.status = NOT_STARTED;
+    this.sampling                       = null;
+    this.recordCountInterval            = null;
+    this.recordIdCountInterval          = null;
+    this.dataSourceCountInterval        = null;
+    this.entityTypeCountInterval        = null;
+    this.distinctRecordIdCount          = null;
+    this.distinctRecordIdCountInterval  = null;
   }
 
   /**
@@ -432,6 +481,224 @@ public class SzBulkDataAnalysis {
     }
   }
 
+  /**
+   * Gets the {@link SzBulkDataSampling} describing the sample from which
+   * this analysis was estimated.  This returns <tt>null</tt> if every record
+   * was analyzed and the counts are exact.
+   *
+   * @return The {@link SzBulkDataSampling} describing the sample, or
+   *         <tt>null</tt> if the counts are exact.
+   */
+  @JsonInclude(NON_NULL)
+  public SzBulkDataSampling getSampling() {
+    return this.sampling;
+  }
+
+  /**
+   * Sets the {@link SzBulkDataSampling} describing the sample from which
+   * this analysis was estimated.
+   *
+   * @param sampling The {@link SzBulkDataSampling} describing the sample, or
+   *                 <tt>null</tt> if the counts are exact.
+   */
+  public void setSampling(SzBulkDataSampling sampling) {
+    this.sampling = sampling;
+  }
+
+  /**
+   * Gets the confidence interval for the {@linkplain #getRecordCount()
+   * record count} if it is estimated.  This returns <tt>null</tt> if the
+   * record count is exact.
+   *
+   * @return The confidence interval for the record count, or <tt>null</tt>
+   *         if the record count is exact.
+   */
+  @JsonInclude(NON_NULL)
+  public SzConfidenceInterval getRecordCountInterval() {
+    return this.recordCountInterval;
+  }
+
+  /**
+   * Sets the confidence interval for the {@linkplain #getRecordCount()
+   * record count}.
+   *
+   * @param interval The confidence interval for the record count, or
+   *                 <tt>null</tt> if the record count is exact.
+   */
+  public void setRecordCountInterval(SzConfidenceInterval interval) {
+    this.recordCountInterval = interval;
+  }
+
+  /**
+   * Gets the confidence interval for the {@linkplain
+   * #getRecordsWithRecordIdCount() number of records having a record ID} if
+   * it is estimated.  This returns <tt>null</tt> if the count is exact.
+   *
+   * @return The confidence interval for the number of records having a
+   *         record ID, or <tt>null</tt> if the count is exact.
+   */
+  @JsonInclude(NON_NULL)
+  public SzConfidenceInterval getRecordsWithRecordIdCountInterval() {
+    return this.recordIdCountInterval;
+  }
+
+  /**
+   * Sets the confidence interval for the {@linkplain
+   * #getRecordsWithRecordIdCount() number of records having a record ID}.
+   *
+   * @param interval The confidence interval for the number of records having
+   *                 a record ID, or <tt>null</tt> if the count is exact.
+   */
+  public void setRecordsWithRecordIdCountInterval(
+      SzConfidenceInterval interval)
+  {
+    this.recordIdCountInterval = interval;
+  }
+
+  /**
+   * Gets the confidence interval for the {@linkplain
+   * #getRecordsWithDataSourceCount() number of records having a data source}
+   * if it is estimated.  This returns <tt>null</tt> if the count is exact.
+   *
+   * @return The confidence interval for the number of records having a
+   *         data source, or <tt>null</tt> if the count is exact.
+   */
+  @JsonInclude(NON_NULL)
+  public SzConfidenceInterval getRecordsWithDataSourceCountInterval() {
+    return this.dataSourceCountInterval;
+  }
+
+  /**
+   * Sets the confidence interval for the {@linkplain
+   * #getRecordsWithDataSourceCount() number of records having a data source}.
+   *
+   * @param interval The confidence interval for the number of records having
+   *                 a data source, or <tt>null</tt> if the count is exact.
+   */
+  public void setRecordsWithDataSourceCountInterval(
+      SzConfidenceInterval interval)
+  {
+    this.dataSourceCountInterval = interval;
+  }
+
+  /**
+   * Gets the confidence interval for the {@linkplain
+   * #getRecordsWithEntityTypeCount() number of records having an entity type}
+   * if it is estimated.  This returns <tt>null</tt> if the count is exact.
+   *
+   * @return The confidence interval for the number of records having an
+   *         entity type, or <tt>null</tt> if the count is exact.
+   */
+  @JsonInclude(NON_NULL)
+  public SzConfidenceInterval getRecordsWithEntityTypeCountInterval() {
+    return this.entityTypeCountInterval;
+  }
+
+  /**
+   * Sets the confidence interval for the {@linkplain
+   * #getRecordsWithEntityTypeCount() number of records having an entity
+   * type}.
+   *
+   * @param interval The confidence interval for the number of records having
+   *                 an entity type, or <tt>null</tt> if the count is exact.
+   */
+  public void setRecordsWithEntityTypeCountInterval(
+      SzConfidenceInterval interval)
+  {
+    this.entityTypeCountInterval = interval;
+  }
+
+  /**
+   * Gets the estimated number of distinct record ID's among the records that
+   * have a record ID, distinguishing record ID's by data source.  This
+   * returns <tt>null</tt> if distinct record ID's were not counted.
+   *
+   * @return The estimated number of distinct record ID's, or <tt>null</tt>
+   *         if not counted.
+   */
+  @JsonInclude(NON_NULL)
+  public Long getDistinctRecordIdCount() {
+    return this.distinctRecordIdCount;
+  }
+
+  /**
+   * Sets the estimated number of distinct record ID's among the records that
+   * have a record ID, distinguishing record ID's by data source.
+   *
+   * @param count The estimated number of distinct record ID's, or
+   *              <tt>null</tt> if not counted.
+   */
+  public void setDistinctRecordIdCount(Long count) {
+    this.distinctRecordIdCount = count;
+  }
+
+  /**
+   * Gets the confidence interval for the {@linkplain
+   * #getDistinctRecordIdCount() estimated number of distinct record ID's}.
+   * This returns <tt>null</tt> if distinct record ID's were not counted.
+   *
+   * @return The confidence interval for the number of distinct record ID's,
+   *         or <tt>null</tt> if not counted.
+   */
+  @JsonInclude(NON_NULL)
+  public SzConfidenceInterval getDistinctRecordIdCountInterval() {
+    return this.distinctRecordIdCountInterval;
+  }
+
+  /**
+   * Sets the confidence interval for the {@linkplain
+   * #getDistinctRecordIdCount() estimated number of distinct record ID's}.
+   *
+   * @param interval The confidence interval for the number of distinct record
+   *                 ID's, or <tt>null</tt> if not counted.
+   */
+  public void setDistinctRecordIdCountInterval(SzConfidenceInterval interval)
+  {
+    this.distinctRecordIdCountInterval = interval;
+  }
+
+  /**
+   * Sets the confidence interval for the estimated number of records having
+   * the specified data source.  This has no effect if no records have been
+   * tracked for the data source.
+   *
+   * @param dataSource The data source, or <tt>null</tt> for the records that
+   *                   have no data source.
+   * @param interval The confidence interval for the number of records, or
+   *                 <tt>null</tt> if the count is exact.
+   */
+  public void setDataSourceRecordCountInterval(String               dataSource,
+                                               SzConfidenceInterval interval)
+  {
+    if (dataSource != null && dataSource.trim().length() == 0) {
+      dataSource = null;
+    }
+    SzDataSourceRecordAnalysis analysis
+        = this.analysisByDataSource.get(dataSource);
+    if (analysis != null) analysis.setRecordCountInterval(interval);
+  }
+
+  /**
+   * Sets the confidence interval for the estimated number of records having
+   * the specified entity type.  This has no effect if no records have been
+   * tracked for the entity type.
+   *
+   * @param entityType The entity type, or <tt>null</tt> for the records that
+   *                   have no entity type.
+   * @param interval The confidence interval for the number of records, or
+   *                 <tt>null</tt> if the count is exact.
+   */
+  public void setEntityTypeRecordCountInterval(String               entityType,
+                                               SzConfidenceInterval interval)
+  {
+    if (entityType != null && entityType.trim().length() == 0) {
+      entityType = null;
+    }
+    SzEntityTypeRecordAnalysis analysis
+        = this.analysisByEntityType.get(entityType);
+    if (analysis != null) analysis.setRecordCountInterval(interval);
+  }
+
   /**
    * Utility method for tracking a record that has been analyzed with the
    * specified data source, entity type and record ID (any of which may be
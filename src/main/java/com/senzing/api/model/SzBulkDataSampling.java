@@ -0,0 +1,203 @@
+package com.senzing.api.model;
+
+/**
+ * Describes the sample from which an approximate analysis of bulk data
+ * records was estimated.  The bulk data is divided into fixed-size windows of
+ * bytes and the records beginning in a subset of those windows are analyzed.
+ */
+public class SzBulkDataSampling {
+  /**
+   * The number of windows that were sampled.
+   */
+  private int sampledWindowCount;
+
+  /**
+   * The total number of windows in the bulk data.
+   */
+  private int totalWindowCount;
+
+  /**
+   * The number of bytes in the sampled windows.
+   */
+  private long sampledByteCount;
+
+  /**
+   * The total number of bytes in the bulk data.
+   */
+  private long totalByteCount;
+
+  /**
+   * The number of records that were analyzed in the sampled windows.
+   */
+  private int sampledRecordCount;
+
+  /**
+   * The number of records in the sampled windows that could not be parsed.
+   */
+  private int failedRecordCount;
+
+  /**
+   * Whether or not sampling stopped because the estimates stabilized.
+   */
+  private boolean converged;
+
+  /**
+   * Default constructor.
+   */
+  public SzBulkDataSampling() {
+    this.sampledWindowCount = 0;
+    this.totalWindowCount   = 0;
+    this.sampledByteCount   = 0L;
+    this.totalByteCount     = 0L;
+    this.sampledRecordCount = 0;
+    this.failedRecordCount  = 0;
+    this.converged          = false;
+  }
+
+  /**
+   * Gets the number of windows that were sampled.
+   *
+   * @return The number of windows that were sampled.
+   */
+  public int getSampledWindowCount() {
+    return this.sampledWindowCount;
+  }
+
+  /**
+   * Sets the number of windows that were sampled.
+   *
+   * @param sampledWindowCount The number of windows that were sampled.
+   */
+  public void setSampledWindowCount(int sampledWindowCount) {
+    this.sampledWindowCount = sampledWindowCount;
+  }
+
+  /**
+   * Gets the total number of windows in the bulk data.
+   *
+   * @return The total number of windows in the bulk data.
+   */
+  public int getTotalWindowCount() {
+    return this.totalWindowCount;
+  }
+
+  /**
+   * Sets the total number of windows in the bulk data.
+   *
+   * @param totalWindowCount The total number of windows in the bulk data.
+   */
+  public void setTotalWindowCount(int totalWindowCount) {
+    this.totalWindowCount = totalWindowCount;
+  }
+
+  /**
+   * Gets the number of bytes in the sampled windows.
+   *
+   * @return The number of bytes in the sampled windows.
+   */
+  public long getSampledByteCount() {
+    return this.sampledByteCount;
+  }
+
+  /**
+   * Sets the number of bytes in the sampled windows.
+   *
+   * @param sampledByteCount The number of bytes in the sampled windows.
+   */
+  public void setSampledByteCount(long sampledByteCount) {
+    this.sampledByteCount = sampledByteCount;
+  }
+
+  /**
+   * Gets the total number of bytes in the bulk data.
+   *
+   * @return The total number of bytes in the bulk data.
+   */
+  public long getTotalByteCount() {
+    return this.totalByteCount;
+  }
+
+  /**
+   * Sets the total number of bytes in the bulk data.
+   *
+   * @param totalByteCount The total number of bytes in the bulk data.
+   */
+  public void setTotalByteCount(long totalByteCount) {
+    this.totalByteCount = totalByteCount;
+  }
+
+  /**
+   * Gets the number of records that were analyzed in the sampled windows.
+   *
+   * @return The number of records that were analyzed in the sampled windows.
+   */
+  public int getSampledRecordCount() {
+    return this.sampledRecordCount;
+  }
+
+  /**
+   * Sets the number of records that were analyzed in the sampled windows.
+   *
+   * @param sampledRecordCount The number of records that were analyzed in
+   *                           the sampled windows.
+   */
+  public void setSampledRecordCount(int sampledRecordCount) {
+    this.sampledRecordCount = sampledRecordCount;
+  }
+
+  /**
+   * Gets the number of records in the sampled windows that could not be
+   * parsed.  These are not included in the estimates.
+   *
+   * @return The number of records in the sampled windows that could not be
+   *         parsed.
+   */
+  public int getFailedRecordCount() {
+    return this.failedRecordCount;
+  }
+
+  /**
+   * Sets the number of records in the sampled windows that could not be
+   * parsed.
+   *
+   * @param failedRecordCount The number of records in the sampled windows
+   *                          that could not be parsed.
+   */
+  public void setFailedRecordCount(int failedRecordCount) {
+    this.failedRecordCount = failedRecordCount;
+  }
+
+  /**
+   * Checks whether or not sampling stopped because the estimates stabilized
+   * rather than because the maximum number of windows was sampled.
+   *
+   * @return <tt>true</tt> if the estimates stabilized, otherwise
+   *         <tt>false</tt>.
+   */
+  public boolean isConverged() {
+    return this.converged;
+  }
+
+  /**
+   * Sets whether or not sampling stopped because the estimates stabilized.
+   *
+   * @param converged <tt>true</tt> if the estimates stabilized, otherwise
+   *                  <tt>false</tt>.
+   */
+  public void setConverged(boolean converged) {
+    this.converged = converged;
+  }
+
+  @Override
+  public String toString() {
+    return "SzBulkDataSampling{" +
+        "sampledWindowCount=" + sampledWindowCount +
+        ", totalWindowCount=" + totalWindowCount +
+        ", sampledByteCount=" + sampledByteCount +
+        ", totalByteCount=" + totalByteCount +
+        ", sampledRecordCount=" + sampledRecordCount +
+        ", failedRecordCount=" + failedRecordCount +
+        ", converged=" + converged +
+        '}';
+  }
+}
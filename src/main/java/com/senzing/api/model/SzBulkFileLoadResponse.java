@@ -0,0 +1,132 @@
+package com.senzing.api.model;
+
+import com.senzing.util.Timers;
+
+import javax.ws.rs.core.UriInfo;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A response object that contains the results of loading the records from
+ * one or more files on the server.
+ *
+ */
+public class SzBulkFileLoadResponse extends SzBasicResponse {
+  /**
+   * The {@link List} of {@link SzBulkFileLoadResult} instances describing the
+   * files that were loaded.
+   */
+  private List<SzBulkFileLoadResult> results;
+
+  /**
+   * Default constructor.
+   */
+  public SzBulkFileLoadResponse() {
+    this.results = new ArrayList<>();
+  }
+
+  /**
+   * Constructs with only the HTTP method and the self link, leaving the
+   * file load results to be initialized later.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param selfLink The string URL link to generate this response.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   */
+  public SzBulkFileLoadResponse(SzHttpMethod httpMethod,
+                                int          httpStatusCode,
+                                String       selfLink,
+                                Timers       timers)
+  {
+    this(httpMethod, httpStatusCode, selfLink, timers, null);
+  }
+
+  /**
+   * Constructs with the HTTP method, self link and the {@link Collection} of
+   * {@link SzBulkFileLoadResult} instances describing the files that were
+   * loaded.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param selfLink The string URL link to generate this response.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   * @param results The {@link Collection} of {@link SzBulkFileLoadResult}
+   *                instances describing the files that were loaded.
+   */
+  public SzBulkFileLoadResponse(
+      SzHttpMethod                      httpMethod,
+      int                               httpStatusCode,
+      String                            selfLink,
+      Timers                            timers,
+      Collection<SzBulkFileLoadResult>  results)
+  {
+    super(httpMethod, httpStatusCode, selfLink, timers);
+    this.results = new ArrayList<>();
+    this.setData(results);
+  }
+
+  /**
+   * Constructs with only the HTTP method and the {@link UriInfo}, leaving the
+   * file load results to be initialized later.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param uriInfo The {@link UriInfo} from the request.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   */
+  public SzBulkFileLoadResponse(SzHttpMethod httpMethod,
+                                int          httpStatusCode,
+                                UriInfo      uriInfo,
+                                Timers       timers) {
+    this(httpMethod, httpStatusCode, uriInfo, timers, null);
+  }
+
+  /**
+   * Constructs with the HTTP method, {@link UriInfo} and the {@link
+   * Collection} of {@link SzBulkFileLoadResult} instances describing the
+   * files that were loaded.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param uriInfo The {@link UriInfo} from the request.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   * @param results The {@link Collection} of {@link SzBulkFileLoadResult}
+   *                instances describing the files that were loaded.
+   */
+  public SzBulkFileLoadResponse(
+      SzHttpMethod                      httpMethod,
+      int                               httpStatusCode,
+      UriInfo                           uriInfo,
+      Timers                            timers,
+      Collection<SzBulkFileLoadResult>  results)
+  {
+    super(httpMethod, httpStatusCode, uriInfo, timers);
+    this.results = new ArrayList<>();
+    this.setData(results);
+  }
+
+  /**
+   * Returns the data associated with this response which is an unmodifiable
+   * {@link List} of {@link SzBulkFileLoadResult} instances.
+   *
+   * @return The data associated with this response.
+   */
+  public List<SzBulkFileLoadResult> getData() {
+    return Collections.unmodifiableList(this.results);
+  }
+
+  /**
+   * Sets the data associated with this response with a {@link Collection} of
+   * {@link SzBulkFileLoadResult} instances.
+   *
+   * @param results The {@link Collection} of {@link SzBulkFileLoadResult}
+   *                instances describing the files that were loaded.
+   */
+  public void setData(Collection<SzBulkFileLoadResult> results) {
+    this.results.clear();
+    if (results != null) this.results.addAll(results);
+  }
+}
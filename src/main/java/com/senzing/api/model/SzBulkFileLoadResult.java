@@ -0,0 +1,128 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Describes the outcome of loading the records from a single file (or a
+ * single entry of a ZIP archive) on the server.
+ */
+public class SzBulkFileLoadResult {
+  /**
+   * The path of the file that was loaded.
+   */
+  private String path;
+
+  /**
+   * The {@link SzBulkLoadResult} describing the results of loading the
+   * file, or <tt>null</tt> if the load failed before it began.
+   */
+  private SzBulkLoadResult result;
+
+  /**
+   * The {@link SzError} describing why the file could not be loaded, or
+   * <tt>null</tt> if the file was loaded.
+   */
+  private SzError error;
+
+  /**
+   * Default constructor.
+   */
+  public SzBulkFileLoadResult() {
+    this(null, null, null);
+  }
+
+  /**
+   * Constructs with the specified parameters.
+   *
+   * @param path The path of the file that was loaded.
+   *
+   * @param result The {@link SzBulkLoadResult} describing the results of
+   *               loading the file, or <tt>null</tt> if the load failed
+   *               before it began.
+   *
+   * @param error The {@link SzError} describing why the file could not be
+   *              loaded, or <tt>null</tt> if the file was loaded.
+   */
+  public SzBulkFileLoadResult(String            path,
+                              SzBulkLoadResult  result,
+                              SzError           error)
+  {
+    this.path   = path;
+    this.result = result;
+    this.error  = error;
+  }
+
+  /**
+   * Gets the path of the file that was loaded.
+   *
+   * @return The path of the file that was loaded.
+   */
+  public String getPath() {
+    return this.path;
+  }
+
+  /**
+   * Sets the path of the file that was loaded.
+   *
+   * @param path The path of the file that was loaded.
+   */
+  public void setPath(String path) {
+    this.path = path;
+  }
+
+  /**
+   * Gets the {@link SzBulkLoadResult} describing the results of loading the
+   * file, or <tt>null</tt> if the load failed before it began.
+   *
+   * @return The {@link SzBulkLoadResult} describing the results of loading
+   *         the file, or <tt>null</tt> if the load failed before it began.
+   */
+  @JsonInclude(NON_NULL)
+  public SzBulkLoadResult getResult() {
+    return this.result;
+  }
+
+  /**
+   * Sets the {@link SzBulkLoadResult} describing the results of loading the
+   * file.
+   *
+   * @param result The {@link SzBulkLoadResult} describing the results of
+   *               loading the file.
+   */
+  public void setResult(SzBulkLoadResult result) {
+    this.result = result;
+  }
+
+  /**
+   * Gets the {@link SzError} describing why the file could not be loaded,
+   * or <tt>null</tt> if the file was loaded.
+   *
+   * @return The {@link SzError} describing why the file could not be loaded,
+   *         or <tt>null</tt> if the file was loaded.
+   */
+  @JsonInclude(NON_NULL)
+  public SzError getError() {
+    return this.error;
+  }
+
+  /**
+   * Sets the {@link SzError} describing why the file could not be loaded.
+   *
+   * @param error The {@link SzError} describing why the file could not be
+   *              loaded.
+   */
+  public void setError(SzError error) {
+    this.error = error;
+  }
+
+  @Override
+  public String toString() {
+    return "SzBulkFileLoadResult{" +
+        "path='" + path + '\'' +
+        ", result=" + result +
+        ", error=" + error +
+        '}';
+  }
+}
@@ -0,0 +1,300 @@
+package com.senzing.api.model;
+
+import java.util.Date;
+
+import static com.senzing.api.model.SzBulkDataStatus.*;
+
+/**
+ * Describes a durable checkpoint in the journal of a bulk load.  The
+ * checkpoint offset is the number of records from the start of the bulk data
+ * for which an outcome has been durably recorded, such that every record
+ * before the offset was handled by the engine (or found to be incomplete) and
+ * can be skipped when the load is resumed.
+ */
+public class SzBulkLoadCheckpoint {
+  /**
+   * The load ID of the bulk load.
+   */
+  private String loadId;
+
+  /**
+   * The number of records before the checkpoint.
+   */
+  private long offset;
+
+  /**
+   * The hexadecimal content hash of the records before the checkpoint.
+   */
+  private String contentHash;
+
+  /**
+   * The number of records before the checkpoint that were loaded.
+   */
+  private long loadedRecordCount;
+
+  /**
+   * The number of records before the checkpoint that failed to load.
+   */
+  private long failedRecordCount;
+
+  /**
+   * The number of records before the checkpoint that were incomplete.
+   */
+  private long incompleteRecordCount;
+
+  /**
+   * The number of records before the checkpoint that were skipped at the
+   * request of the client when the load was resumed.
+   */
+  private long skippedRecordCount;
+
+  /**
+   * The number of records before the checkpoint that were skipped because
+   * they were exact duplicates of a previous record in the load.
+   */
+  private long duplicateRecordCount;
+
+  /**
+   * The status of the bulk load as of the checkpoint.
+   */
+  private SzBulkDataStatus status;
+
+  /**
+   * The timestamp when the checkpoint was recorded.
+   */
+  private Date timestamp;
+
+  /**
+   * Default constructor.
+   */
+  public SzBulkLoadCheckpoint() {
+    this.loadId                 = null;
+    this.offset                 = 0L;
+    this.contentHash            = null;
+    this.loadedRecordCount      = 0L;
+    this.failedRecordCount      = 0L;
+    this.incompleteRecordCount  = 0L;
+    this.skippedRecordCount     = 0L;
+    this.duplicateRecordCount   = 0L;
+    this.status                 = NOT_STARTED;
+    this.timestamp              = null;
+  }
+
+  /**
+   * Gets the load ID of the bulk load.
+   *
+   * @return The load ID of the bulk load.
+   */
+  public String getLoadId() {
+    return this.loadId;
+  }
+
+  /**
+   * Sets the load ID of the bulk load.
+   *
+   * @param loadId The load ID of the bulk load.
+   */
+  public void setLoadId(String loadId) {
+    this.loadId = loadId;
+  }
+
+  /**
+   * Gets the number of records from the start of the bulk data that are
+   * durably recorded as handled.  A resumed load may skip this many records.
+   *
+   * @return The number of records before the checkpoint.
+   */
+  public long getOffset() {
+    return this.offset;
+  }
+
+  /**
+   * Sets the number of records from the start of the bulk data that are
+   * durably recorded as handled.
+   *
+   * @param offset The number of records before the checkpoint.
+   */
+  public void setOffset(long offset) {
+    this.offset = offset;
+  }
+
+  /**
+   * Gets the hexadecimal content hash of the records before the checkpoint.
+   * This can be used to resume the load and is verified against the resent
+   * records when the load is resumed.
+   *
+   * @return The hexadecimal content hash of the records before the
+   *         checkpoint.
+   */
+  public String getContentHash() {
+    return this.contentHash;
+  }
+
+  /**
+   * Sets the hexadecimal content hash of the records before the checkpoint.
+   *
+   * @param contentHash The hexadecimal content hash of the records before the
+   *                    checkpoint.
+   */
+  public void setContentHash(String contentHash) {
+    this.contentHash = contentHash;
+  }
+
+  /**
+   * Gets the number of records before the checkpoint that were loaded.
+   *
+   * @return The number of records before the checkpoint that were loaded.
+   */
+  public long getLoadedRecordCount() {
+    return this.loadedRecordCount;
+  }
+
+  /**
+   * Sets the number of records before the checkpoint that were loaded.
+   *
+   * @param count The number of records before the checkpoint that were
+   *              loaded.
+   */
+  public void setLoadedRecordCount(long count) {
+    this.loadedRecordCount = count;
+  }
+
+  /**
+   * Gets the number of records before the checkpoint that failed to load.
+   *
+   * @return The number of records before the checkpoint that failed to load.
+   */
+  public long getFailedRecordCount() {
+    return this.failedRecordCount;
+  }
+
+  /**
+   * Sets the number of records before the checkpoint that failed to load.
+   *
+   * @param count The number of records before the checkpoint that failed to
+   *              load.
+   */
+  public void setFailedRecordCount(long count) {
+    this.failedRecordCount = count;
+  }
+
+  /**
+   * Gets the number of records before the checkpoint that were incomplete
+   * (i.e.: missing a data source or entity type).
+   *
+   * @return The number of records before the checkpoint that were
+   *         incomplete.
+   */
+  public long getIncompleteRecordCount() {
+    return this.incompleteRecordCount;
+  }
+
+  /**
+   * Sets the number of records before the checkpoint that were incomplete.
+   *
+   * @param count The number of records before the checkpoint that were
+   *              incomplete.
+   */
+  public void setIncompleteRecordCount(long count) {
+    this.incompleteRecordCount = count;
+  }
+
+  /**
+   * Gets the number of records before the checkpoint that were skipped at the
+   * request of the client when the load was resumed from an offset beyond
+   * the previous checkpoint.
+   *
+   * @return The number of records before the checkpoint that were skipped.
+   */
+  public long getSkippedRecordCount() {
+    return this.skippedRecordCount;
+  }
+
+  /**
+   * Sets the number of records before the checkpoint that were skipped at the
+   * request of the client.
+   *
+   * @param count The number of records before the checkpoint that were
+   *              skipped.
+   */
+  public void setSkippedRecordCount(long count) {
+    this.skippedRecordCount = count;
+  }
+
+  /**
+   * Gets the number of records before the checkpoint that were skipped
+   * because they were exact duplicates of a previous record in the load.
+   *
+   * @return The number of records before the checkpoint that were
+   *         duplicates.
+   */
+  public long getDuplicateRecordCount() {
+    return this.duplicateRecordCount;
+  }
+
+  /**
+   * Sets the number of records before the checkpoint that were skipped
+   * because they were exact duplicates of a previous record in the load.
+   *
+   * @param count The number of records before the checkpoint that were
+   *              duplicates.
+   */
+  public void setDuplicateRecordCount(long count) {
+    this.duplicateRecordCount = count;
+  }
+
+  /**
+   * Gets the {@linkplain SzBulkDataStatus status} of the bulk load as of the
+   * checkpoint.  A load that was interrupted without being aborted (e.g.: by
+   * a server restart) remains {@link SzBulkDataStatus#IN_PROGRESS}.
+   *
+   * @return The status of the bulk load as of the checkpoint.
+   */
+  public SzBulkDataStatus getStatus() {
+    return this.status;
+  }
+
+  /**
+   * Sets the {@linkplain SzBulkDataStatus status} of the bulk load as of the
+   * checkpoint.
+   *
+   * @param status The status of the bulk load as of the checkpoint.
+   */
+  public void setStatus(SzBulkDataStatus status) {
+    this.status = status;
+  }
+
+  /**
+   * Gets the timestamp when the checkpoint was recorded.
+   *
+   * @return The timestamp when the checkpoint was recorded.
+   */
+  public Date getTimestamp() {
+    return this.timestamp;
+  }
+
+  /**
+   * Sets the timestamp when the checkpoint was recorded.
+   *
+   * @param timestamp The timestamp when the checkpoint was recorded.
+   */
+  public void setTimestamp(Date timestamp) {
+    this.timestamp = timestamp;
+  }
+
+  @Override
+  public String toString() {
+    return "SzBulkLoadCheckpoint{" +
+        "loadId='" + loadId + '\'' +
+        ", offset=" + offset +
+        ", contentHash='" + contentHash + '\'' +
+        ", loadedRecordCount=" + loadedRecordCount +
+        ", failedRecordCount=" + failedRecordCount +
+        ", incompleteRecordCount=" + incompleteRecordCount +
+        ", skippedRecordCount=" + skippedRecordCount +
+        ", duplicateRecordCount=" + duplicateRecordCount +
+        ", status=" + status +
+        ", timestamp=" + timestamp +
+        '}';
+  }
+}
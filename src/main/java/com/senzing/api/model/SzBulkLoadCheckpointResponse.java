@@ -0,0 +1,120 @@
+package com.senzing.api.model;
+
+import com.senzing.util.Timers;
+
+import javax.ws.rs.core.UriInfo;
+
+/**
+ * A response object that contains the last durable checkpoint of a bulk
+ * load.
+ *
+ */
+public class SzBulkLoadCheckpointResponse extends SzBasicResponse {
+  /**
+   * The {@link SzBulkLoadCheckpoint} describing the last durable checkpoint.
+   */
+  private SzBulkLoadCheckpoint checkpoint;
+
+  /**
+   * Default constructor.
+   */
+  public SzBulkLoadCheckpointResponse() {
+    this.checkpoint = null;
+  }
+
+  /**
+   * Constructs with only the HTTP method and the self link, leaving the
+   * checkpoint to be initialized later.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param selfLink The string URL link to generate this response.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   */
+  public SzBulkLoadCheckpointResponse(SzHttpMethod httpMethod,
+                                      int          httpStatusCode,
+                                      String       selfLink,
+                                      Timers       timers)
+  {
+    this(httpMethod, httpStatusCode, selfLink, timers, null);
+  }
+
+  /**
+   * Constructs with the HTTP method, self link and the {@link
+   * SzBulkLoadCheckpoint} describing the last durable checkpoint.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param selfLink The string URL link to generate this response.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   * @param checkpoint The {@link SzBulkLoadCheckpoint} describing the last
+   *                   durable checkpoint.
+   */
+  public SzBulkLoadCheckpointResponse(SzHttpMethod          httpMethod,
+                                      int                   httpStatusCode,
+                                      String                selfLink,
+                                      Timers                timers,
+                                      SzBulkLoadCheckpoint  checkpoint)
+  {
+    super(httpMethod, httpStatusCode, selfLink, timers);
+    this.checkpoint = checkpoint;
+  }
+
+  /**
+   * Constructs with only the HTTP method and the {@link UriInfo}, leaving the
+   * checkpoint to be initialized later.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param uriInfo The {@link UriInfo} from the request.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   */
+  public SzBulkLoadCheckpointResponse(SzHttpMethod httpMethod,
+                                      int          httpStatusCode,
+                                      UriInfo      uriInfo,
+                                      Timers       timers) {
+    this(httpMethod, httpStatusCode, uriInfo, timers, null);
+  }
+
+  /**
+   * Constructs with the HTTP method, {@link UriInfo} and the {@link
+   * SzBulkLoadCheckpoint} describing the last durable checkpoint.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param uriInfo The {@link UriInfo} from the request.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   * @param checkpoint The {@link SzBulkLoadCheckpoint} describing the last
+   *                   durable checkpoint.
+   */
+  public SzBulkLoadCheckpointResponse(SzHttpMethod          httpMethod,
+                                      int                   httpStatusCode,
+                                      UriInfo               uriInfo,
+                                      Timers                timers,
+                                      SzBulkLoadCheckpoint  checkpoint)
+  {
+    super(httpMethod, httpStatusCode, uriInfo, timers);
+    this.checkpoint = checkpoint;
+  }
+
+  /**
+   * Returns the data associated with this response which is an
+   * {@link SzBulkLoadCheckpoint}.
+   *
+   * @return The data associated with this response.
+   */
+  public SzBulkLoadCheckpoint getData() {
+    return this.checkpoint;
+  }
+
+  /**
+   * Sets the data associated with this response with an {@link
+   * SzBulkLoadCheckpoint}.
+   *
+   * @param checkpoint The {@link SzBulkLoadCheckpoint} describing the last
+   *                   durable checkpoint.
+   */
+  public void setData(SzBulkLoadCheckpoint checkpoint) {
+    this.checkpoint = checkpoint;
+  }
+}
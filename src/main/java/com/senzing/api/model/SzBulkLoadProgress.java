@@ -0,0 +1,366 @@
+package com.senzing.api.model;
+
+/**
+ * Describes the progress of a running bulk data operation as the changes
+ * since the previous progress update.  The record counts are deltas that
+ * the client may sum to track the totals, while the {@linkplain
+ * #getTotalRecordCount() total record count} allows the client to verify
+ * that no update was missed.  Updates that could not be sent because the
+ * client was slow to receive them are folded into the next update, so the
+ * deltas always cover the whole period since the last update received.
+ */
+public class SzBulkLoadProgress {
+  /**
+   * The number of milliseconds since the bulk data operation started.
+   */
+  private long elapsedMillis;
+
+  /**
+   * The number of milliseconds since the previous progress update.
+   */
+  private long intervalMillis;
+
+  /**
+   * The number of records processed since the previous progress update.
+   */
+  private long recordCount;
+
+  /**
+   * The number of records successfully processed since the previous
+   * progress update.
+   */
+  private long loadedRecordCount;
+
+  /**
+   * The number of incomplete records since the previous progress update.
+   */
+  private long incompleteRecordCount;
+
+  /**
+   * The number of failed records since the previous progress update.
+   */
+  private long failedRecordCount;
+
+  /**
+   * The number of skipped duplicate records since the previous progress
+   * update.
+   */
+  private long duplicateRecordCount;
+
+  /**
+   * The total number of records processed so far.
+   */
+  private long totalRecordCount;
+
+  /**
+   * The number of records that have been read but whose outcome is not yet
+   * known.
+   */
+  private long inFlightRecordCount;
+
+  /**
+   * The number of records processed per second since the previous progress
+   * update.
+   */
+  private double recordsPerSecond;
+
+  /**
+   * The average number of records processed per second since the bulk data
+   * operation started.
+   */
+  private double averageRecordsPerSecond;
+
+  /**
+   * The number of progress updates that were folded into this one because
+   * the client was slow to receive them.
+   */
+  private int coalescedCount;
+
+  /**
+   * Default constructor.
+   */
+  public SzBulkLoadProgress() {
+    this.elapsedMillis            = 0L;
+    this.intervalMillis           = 0L;
+    this.recordCount              = 0L;
+    this.loadedRecordCount        = 0L;
+    this.incompleteRecordCount    = 0L;
+    this.failedRecordCount        = 0L;
+    this.duplicateRecordCount     = 0L;
+    this.totalRecordCount         = 0L;
+    this.inFlightRecordCount      = 0L;
+    this.recordsPerSecond         = 0.0;
+    this.averageRecordsPerSecond  = 0.0;
+    this.coalescedCount           = 0;
+  }
+
+  /**
+   * Gets the number of milliseconds since the bulk data operation started.
+   *
+   * @return The number of milliseconds since the bulk data operation
+   *         started.
+   */
+  public long getElapsedMillis() {
+    return this.elapsedMillis;
+  }
+
+  /**
+   * Sets the number of milliseconds since the bulk data operation started.
+   *
+   * @param elapsedMillis The number of milliseconds since the bulk data
+   *                      operation started.
+   */
+  public void setElapsedMillis(long elapsedMillis) {
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  /**
+   * Gets the number of milliseconds since the previous progress update.
+   *
+   * @return The number of milliseconds since the previous progress update.
+   */
+  public long getIntervalMillis() {
+    return this.intervalMillis;
+  }
+
+  /**
+   * Sets the number of milliseconds since the previous progress update.
+   *
+   * @param intervalMillis The number of milliseconds since the previous
+   *                       progress update.
+   */
+  public void setIntervalMillis(long intervalMillis) {
+    this.intervalMillis = intervalMillis;
+  }
+
+  /**
+   * Gets the number of records processed since the previous progress
+   * update.
+   *
+   * @return The number of records processed since the previous progress
+   *         update.
+   */
+  public long getRecordCount() {
+    return this.recordCount;
+  }
+
+  /**
+   * Sets the number of records processed since the previous progress
+   * update.
+   *
+   * @param recordCount The number of records processed since the previous
+   *                    progress update.
+   */
+  public void setRecordCount(long recordCount) {
+    this.recordCount = recordCount;
+  }
+
+  /**
+   * Gets the number of records successfully processed since the previous
+   * progress update.
+   *
+   * @return The number of records successfully processed since the previous
+   *         progress update.
+   */
+  public long getLoadedRecordCount() {
+    return this.loadedRecordCount;
+  }
+
+  /**
+   * Sets the number of records successfully processed since the previous
+   * progress update.
+   *
+   * @param loadedRecordCount The number of records successfully processed
+   *                          since the previous progress update.
+   */
+  public void setLoadedRecordCount(long loadedRecordCount) {
+    this.loadedRecordCount = loadedRecordCount;
+  }
+
+  /**
+   * Gets the number of incomplete records since the previous progress
+   * update.
+   *
+   * @return The number of incomplete records since the previous progress
+   *         update.
+   */
+  public long getIncompleteRecordCount() {
+    return this.incompleteRecordCount;
+  }
+
+  /**
+   * Sets the number of incomplete records since the previous progress
+   * update.
+   *
+   * @param incompleteRecordCount The number of incomplete records since the
+   *                              previous progress update.
+   */
+  public void setIncompleteRecordCount(long incompleteRecordCount) {
+    this.incompleteRecordCount = incompleteRecordCount;
+  }
+
+  /**
+   * Gets the number of failed records since the previous progress update.
+   *
+   * @return The number of failed records since the previous progress update.
+   */
+  public long getFailedRecordCount() {
+    return this.failedRecordCount;
+  }
+
+  /**
+   * Sets the number of failed records since the previous progress update.
+   *
+   * @param failedRecordCount The number of failed records since the previous
+   *                          progress update.
+   */
+  public void setFailedRecordCount(long failedRecordCount) {
+    this.failedRecordCount = failedRecordCount;
+  }
+
+  /**
+   * Gets the number of skipped duplicate records since the previous
+   * progress update.
+   *
+   * @return The number of skipped duplicate records since the previous
+   *         progress update.
+   */
+  public long getDuplicateRecordCount() {
+    return this.duplicateRecordCount;
+  }
+
+  /**
+   * Sets the number of skipped duplicate records since the previous
+   * progress update.
+   *
+   * @param duplicateRecordCount The number of skipped duplicate records
+   *                             since the previous progress update.
+   */
+  public void setDuplicateRecordCount(long duplicateRecordCount) {
+    this.duplicateRecordCount = duplicateRecordCount;
+  }
+
+  /**
+   * Gets the total number of records processed so far.
+   *
+   * @return The total number of records processed so far.
+   */
+  public long getTotalRecordCount() {
+    return this.totalRecordCount;
+  }
+
+  /**
+   * Sets the total number of records processed so far.
+   *
+   * @param totalRecordCount The total number of records processed so far.
+   */
+  public void setTotalRecordCount(long totalRecordCount) {
+    this.totalRecordCount = totalRecordCount;
+  }
+
+  /**
+   * Gets the number of records that have been read but whose outcome is not
+   * yet known.
+   *
+   * @return The number of records that have been read but whose outcome is
+   *         not yet known.
+   */
+  public long getInFlightRecordCount() {
+    return this.inFlightRecordCount;
+  }
+
+  /**
+   * Sets the number of records that have been read but whose outcome is not
+   * yet known.
+   *
+   * @param inFlightRecordCount The number of records that have been read but
+   *                            whose outcome is not yet known.
+   */
+  public void setInFlightRecordCount(long inFlightRecordCount) {
+    this.inFlightRecordCount = inFlightRecordCount;
+  }
+
+  /**
+   * Gets the number of records processed per second since the previous
+   * progress update.
+   *
+   * @return The number of records processed per second since the previous
+   *         progress update.
+   */
+  public double getRecordsPerSecond() {
+    return this.recordsPerSecond;
+  }
+
+  /**
+   * Sets the number of records processed per second since the previous
+   * progress update.
+   *
+   * @param recordsPerSecond The number of records processed per second since
+   *                         the previous progress update.
+   */
+  public void setRecordsPerSecond(double recordsPerSecond) {
+    this.recordsPerSecond = recordsPerSecond;
+  }
+
+  /**
+   * Gets the average number of records processed per second since the bulk
+   * data operation started.
+   *
+   * @return The average number of records processed per second since the
+   *         bulk data operation started.
+   */
+  public double getAverageRecordsPerSecond() {
+    return this.averageRecordsPerSecond;
+  }
+
+  /**
+   * Sets the average number of records processed per second since the bulk
+   * data operation started.
+   *
+   * @param averageRecordsPerSecond The average number of records processed
+   *                                per second since the bulk data operation
+   *                                started.
+   */
+  public void setAverageRecordsPerSecond(double averageRecordsPerSecond) {
+    this.averageRecordsPerSecond = averageRecordsPerSecond;
+  }
+
+  /**
+   * Gets the number of progress updates that were folded into this one
+   * because the client was slow to receive them.
+   *
+   * @return The number of progress updates that were folded into this one.
+   */
+  public int getCoalescedCount() {
+    return this.coalescedCount;
+  }
+
+  /**
+   * Sets the number of progress updates that were folded into this one
+   * because the client was slow to receive them.
+   *
+   * @param coalescedCount The number of progress updates that were folded
+   *                       into this one.
+   */
+  public void setCoalescedCount(int coalescedCount) {
+    this.coalescedCount = coalescedCount;
+  }
+
+  @Override
+  public String toString() {
+    return "SzBulkLoadProgress{" +
+        "elapsedMillis=" + elapsedMillis +
+        ", intervalMillis=" + intervalMillis +
+        ", recordCount=" + recordCount +
+        ", loadedRecordCount=" + loadedRecordCount +
+        ", incompleteRecordCount=" + incompleteRecordCount +
+        ", failedRecordCount=" + failedRecordCount +
+        ", duplicateRecordCount=" + duplicateRecordCount +
+        ", totalRecordCount=" + totalRecordCount +
+        ", inFlightRecordCount=" + inFlightRecordCount +
+        ", recordsPerSecond=" + recordsPerSecond +
+        ", averageRecordsPerSecond=" + averageRecordsPerSecond +
+        ", coalescedCount=" + coalescedCount +
+        '}';
+  }
+}
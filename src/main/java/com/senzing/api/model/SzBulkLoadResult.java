@@ -1,8 +1,12 @@
 package com.senzing.api.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.senzing.g2.engine.G2Fallible;
 import java.util.*;
 
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_DEFAULT;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_EMPTY;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
 import static com.senzing.api.model.SzBulkDataStatus.*;
 
 /**
@@ -30,6 +34,12 @@ public class SzBulkLoadResult extends SzBaseBulkLoadResult {
    */
   private int missingEntityTypeCount;
 
+  /**
+   * The number of records that were not loaded because they were exact
+   * duplicates of a previous record in the load.
+   */
+  private int duplicateRecordCount;
+
   /**
    * The status of the bulk load.
    */
@@ -45,15 +55,37 @@ public class SzBulkLoadResult extends SzBaseBulkLoadResult {
    */
   private Map<String, SzEntityTypeBulkLoadResult> resultsByEntityType;
 
+  /**
+   * The {@link List} of {@link SzBulkLoadStageStatistics} describing the
+   * throughput of each stage of the load.
+   */
+  private List<SzBulkLoadStageStatistics> stageStatistics;
+
+  /**
+   * The number of records skipped from the start of the bulk data when the
+   * load was resumed, or <tt>null</tt> if the load was not resumed.
+   */
+  private Long resumedFromOffset;
+
+  /**
+   * The offset of the last durable checkpoint of the load, or <tt>null</tt>
+   * if the load is not journaled.
+   */
+  private Long checkpointOffset;
+
   /**
    * Default constructor.
    */
   public SzBulkLoadResult() {
     this.missingDataSourceCount = 0;
     this.missingEntityTypeCount = 0;
+    this.duplicateRecordCount = 0;
     this.status = NOT_STARTED;
     this.resultsByDataSource = new HashMap<>();
     this.resultsByEntityType = new HashMap<>();
+    this.stageStatistics = Collections.emptyList();
+    this.resumedFromOffset = null;
+    this.checkpointOffset = null;
   }
 
   /**
@@ -74,6 +106,78 @@ public class SzBulkLoadResult extends SzBaseBulkLoadResult {
     this.status = status;
   }
 
+  /**
+   * Gets the {@link List} of {@link SzBulkLoadStageStatistics} describing the
+   * throughput of each stage of the load as of the last update.
+   *
+   * @return The {@link List} of {@link SzBulkLoadStageStatistics} describing
+   *         the throughput of each stage of the load.
+   */
+  @JsonInclude(NON_EMPTY)
+  public List<SzBulkLoadStageStatistics> getStageStatistics() {
+    return this.stageStatistics;
+  }
+
+  /**
+   * Sets the {@link List} of {@link SzBulkLoadStageStatistics} describing the
+   * throughput of each stage of the load.
+   *
+   * @param statistics The {@link List} of {@link SzBulkLoadStageStatistics}
+   *                   describing the throughput of each stage of the load.
+   */
+  public void setStageStatistics(List<SzBulkLoadStageStatistics> statistics) {
+    this.stageStatistics = (statistics == null) ? Collections.emptyList()
+        : Collections.unmodifiableList(new ArrayList<>(statistics));
+  }
+
+  /**
+   * Gets the number of records that were skipped from the start of the bulk
+   * data because the load was resumed, or <tt>null</tt> if the load was not
+   * resumed.
+   *
+   * @return The number of records skipped from the start of the bulk data, or
+   *         <tt>null</tt> if the load was not resumed.
+   */
+  @JsonInclude(NON_NULL)
+  public Long getResumedFromOffset() {
+    return this.resumedFromOffset;
+  }
+
+  /**
+   * Sets the number of records that were skipped from the start of the bulk
+   * data because the load was resumed.
+   *
+   * @param offset The number of records skipped from the start of the bulk
+   *               data, or <tt>null</tt> if the load was not resumed.
+   */
+  public void setResumedFromOffset(Long offset) {
+    this.resumedFromOffset = offset;
+  }
+
+  /**
+   * Gets the offset of the last durable checkpoint of the load, which is the
+   * number of records from the start of the bulk data that may be skipped if
+   * the load is interrupted and resumed.  This is <tt>null</tt> if the load is
+   * not journaled.
+   *
+   * @return The offset of the last durable checkpoint, or <tt>null</tt> if
+   *         the load is not journaled.
+   */
+  @JsonInclude(NON_NULL)
+  public Long getCheckpointOffset() {
+    return this.checkpointOffset;
+  }
+
+  /**
+   * Sets the offset of the last durable checkpoint of the load.
+   *
+   * @param offset The offset of the last durable checkpoint, or <tt>null</tt>
+   *               if the load is not journaled.
+   */
+  public void setCheckpointOffset(Long offset) {
+    this.checkpointOffset = offset;
+  }
+
   /**
    * Gets the character encoding with which the records were processed.
    *
@@ -174,6 +278,29 @@ public class SzBulkLoadResult extends SzBaseBulkLoadResult {
     return ++this.missingEntityTypeCount;
   }
 
+  /**
+   * Gets the number of records that were not loaded because they were exact
+   * duplicates of the last previous record in the load with the same data
+   * source and record ID.  These records are not included in the {@linkplain
+   * #getRecordCount() record count}.
+   *
+   * @return The number of duplicate records.
+   */
+  @JsonInclude(NON_DEFAULT)
+  public int getDuplicateRecordCount() {
+    return this.duplicateRecordCount;
+  }
+
+  /**
+   * Sets the number of records that were not loaded because they were exact
+   * duplicates of a previous record in the load.
+   *
+   * @param recordCount The number of duplicate records.
+   */
+  private void setDuplicateRecordCount(int recordCount) {
+    this.duplicateRecordCount = recordCount;
+  }
+
   /**
    * Internal method to help sort instances of {@link SzBaseBulkLoadResult}
    */
@@ -339,6 +466,37 @@ public class SzBulkLoadResult extends SzBaseBulkLoadResult {
     if (this.status == NOT_STARTED) this.status = IN_PROGRESS;
   }
 
+  /**
+   * Tracks the occurrence of a record that was not loaded because it was an
+   * exact duplicate of a previous record in the load.
+   */
+  public void trackDuplicateRecord() {
+    this.duplicateRecordCount++;
+    if (this.status == NOT_STARTED) this.status = IN_PROGRESS;
+  }
+
+  /**
+   * Utility method for tracking a record that was successfully processed by a
+   * bulk operation that identifies records by their key rather than loading
+   * them (e.g.: deleting or reevaluating records).  The record is counted as
+   * loaded and tracked only by data source since the entity type is not
+   * required.
+   *
+   * @param dataSource The data source for the record, or <tt>null</tt> if the
+   *                   record was identified by entity ID.
+   */
+  public void trackProcessedRecord(String dataSource) {
+    SzDataSourceBulkLoadResult dsrcResult
+        = this.getDataSourceResult(dataSource);
+
+    dsrcResult.incrementRecordCount();
+    this.incrementRecordCount();
+
+    dsrcResult.incrementLoadedRecordCount();
+    this.incrementLoadedRecordCount();
+    if (this.status == NOT_STARTED) this.status = IN_PROGRESS;
+  }
+
   /**
    * Utility method for tracking a failed attempt to load a record with the
    * specified non-null data source.  The failure is recorded with the specified
@@ -447,6 +605,28 @@ public class SzBulkLoadResult extends SzBaseBulkLoadResult {
     if (this.status == NOT_STARTED) this.status = IN_PROGRESS;
   }
 
+  /**
+   * Tracks the occurrence of an incomplete record for a bulk operation that
+   * identifies records by their key (e.g.: deleting or reevaluating records)
+   * which is missing its data source or record ID.
+   *
+   * @param dataSource The data source for the record, or <tt>null</tt> if it
+   *                   does not have a <tt>"DATA_SOURCE"</tt> property.
+   */
+  public void trackIncompleteRecordKey(String dataSource) {
+    if (dataSource!=null && dataSource.trim().length()==0) dataSource = null;
+
+    // count the record as incomplete
+    this.incrementIncompleteRecordCount();
+
+    if (dataSource == null) {
+      this.incrementMissingDataSourceCount();
+    } else {
+      this.getDataSourceResult(dataSource).incrementIncompleteRecordCount();
+    }
+    if (this.status == NOT_STARTED) this.status = IN_PROGRESS;
+  }
+
   /**
    * Gets the {@link SzDataSourceBulkLoadResult} for the specified data source.
    *
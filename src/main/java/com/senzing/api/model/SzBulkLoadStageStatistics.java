@@ -0,0 +1,171 @@
+package com.senzing.api.model;
+
+/**
+ * Describes the throughput of a single stage of the bulk load pipeline
+ * (e.g.: parsing, preparing, engine processing or result aggregation).
+ */
+public class SzBulkLoadStageStatistics {
+  /**
+   * The name of the stage.
+   */
+  private String stage;
+
+  /**
+   * The number of threads servicing the stage.
+   */
+  private int threadCount;
+
+  /**
+   * The number of records processed by the stage.
+   */
+  private long recordCount;
+
+  /**
+   * The average number of records processed per second by the stage.
+   */
+  private double recordsPerSecond;
+
+  /**
+   * The number of records waiting to be processed by the stage.
+   */
+  private int backlog;
+
+  /**
+   * Default constructor.
+   */
+  public SzBulkLoadStageStatistics() {
+    this(null, 0, 0L, 0.0, 0);
+  }
+
+  /**
+   * Constructs with the specified parameters.
+   *
+   * @param stage The name of the stage.
+   *
+   * @param threadCount The number of threads servicing the stage.
+   *
+   * @param recordCount The number of records processed by the stage.
+   *
+   * @param recordsPerSecond The average number of records processed per
+   *                         second by the stage.
+   *
+   * @param backlog The number of records waiting to be processed by the
+   *                stage.
+   */
+  public SzBulkLoadStageStatistics(String stage,
+                                   int    threadCount,
+                                   long   recordCount,
+                                   double recordsPerSecond,
+                                   int    backlog)
+  {
+    this.stage            = stage;
+    this.threadCount      = threadCount;
+    this.recordCount      = recordCount;
+    this.recordsPerSecond = recordsPerSecond;
+    this.backlog          = backlog;
+  }
+
+  /**
+   * Gets the name of the stage.
+   *
+   * @return The name of the stage.
+   */
+  public String getStage() {
+    return this.stage;
+  }
+
+  /**
+   * Sets the name of the stage.
+   *
+   * @param stage The name of the stage.
+   */
+  public void setStage(String stage) {
+    this.stage = stage;
+  }
+
+  /**
+   * Gets the number of threads servicing the stage.
+   *
+   * @return The number of threads servicing the stage.
+   */
+  public int getThreadCount() {
+    return this.threadCount;
+  }
+
+  /**
+   * Sets the number of threads servicing the stage.
+   *
+   * @param threadCount The number of threads servicing the stage.
+   */
+  public void setThreadCount(int threadCount) {
+    this.threadCount = threadCount;
+  }
+
+  /**
+   * Gets the number of records processed by the stage.
+   *
+   * @return The number of records processed by the stage.
+   */
+  public long getRecordCount() {
+    return this.recordCount;
+  }
+
+  /**
+   * Sets the number of records processed by the stage.
+   *
+   * @param recordCount The number of records processed by the stage.
+   */
+  public void setRecordCount(long recordCount) {
+    this.recordCount = recordCount;
+  }
+
+  /**
+   * Gets the average number of records processed per second by the stage.
+   *
+   * @return The average number of records processed per second by the
+   *         stage.
+   */
+  public double getRecordsPerSecond() {
+    return this.recordsPerSecond;
+  }
+
+  /**
+   * Sets the average number of records processed per second by the stage.
+   *
+   * @param recordsPerSecond The average number of records processed per
+   *                         second by the stage.
+   */
+  public void setRecordsPerSecond(double recordsPerSecond) {
+    this.recordsPerSecond = recordsPerSecond;
+  }
+
+  /**
+   * Gets the number of records waiting to be processed by the stage.
+   *
+   * @return The number of records waiting to be processed by the stage.
+   */
+  public int getBacklog() {
+    return this.backlog;
+  }
+
+  /**
+   * Sets the number of records waiting to be processed by the stage.
+   *
+   * @param backlog The number of records waiting to be processed by the
+   *                stage.
+   */
+  public void setBacklog(int backlog) {
+    this.backlog = backlog;
+  }
+
+  @Override
+  public String toString() {
+    return "SzBulkLoadStageStatistics{" +
+        "stage='" + stage + '\'' +
+        ", threadCount=" + threadCount +
+        ", recordCount=" + recordCount +
+        ", recordsPerSecond=" + recordsPerSecond +
+        ", backlog=" + backlog +
+        '}';
+  }
+}
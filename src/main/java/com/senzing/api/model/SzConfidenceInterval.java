@@ -0,0 +1,110 @@
+package com.senzing.api.model;
+
+/**
+ * Describes the confidence interval for an estimated count.
+ */
+public class SzConfidenceInterval {
+  /**
+   * The lower bound of the interval.
+   */
+  private long lowerBound;
+
+  /**
+   * The upper bound of the interval.
+   */
+  private long upperBound;
+
+  /**
+   * The confidence level of the interval (e.g.: <tt>0.95</tt>).
+   */
+  private double confidenceLevel;
+
+  /**
+   * Default constructor.
+   */
+  public SzConfidenceInterval() {
+    this(0L, 0L, 0.0);
+  }
+
+  /**
+   * Constructs with the specified parameters.
+   *
+   * @param lowerBound The lower bound of the interval.
+   *
+   * @param upperBound The upper bound of the interval.
+   *
+   * @param confidenceLevel The confidence level of the interval (e.g.:
+   *                        <tt>0.95</tt>).
+   */
+  public SzConfidenceInterval(long    lowerBound,
+                              long    upperBound,
+                              double  confidenceLevel)
+  {
+    this.lowerBound       = lowerBound;
+    this.upperBound       = upperBound;
+    this.confidenceLevel  = confidenceLevel;
+  }
+
+  /**
+   * Gets the lower bound of the interval.
+   *
+   * @return The lower bound of the interval.
+   */
+  public long getLowerBound() {
+    return this.lowerBound;
+  }
+
+  /**
+   * Sets the lower bound of the interval.
+   *
+   * @param lowerBound The lower bound of the interval.
+   */
+  public void setLowerBound(long lowerBound) {
+    this.lowerBound = lowerBound;
+  }
+
+  /**
+   * Gets the upper bound of the interval.
+   *
+   * @return The upper bound of the interval.
+   */
+  public long getUpperBound() {
+    return this.upperBound;
+  }
+
+  /**
+   * Sets the upper bound of the interval.
+   *
+   * @param upperBound The upper bound of the interval.
+   */
+  public void setUpperBound(long upperBound) {
+    this.upperBound = upperBound;
+  }
+
+  /**
+   * Gets the confidence level of the interval (e.g.: <tt>0.95</tt>).
+   *
+   * @return The confidence level of the interval.
+   */
+  public double getConfidenceLevel() {
+    return this.confidenceLevel;
+  }
+
+  /**
+   * Sets the confidence level of the interval (e.g.: <tt>0.95</tt>).
+   *
+   * @param confidenceLevel The confidence level of the interval.
+   */
+  public void setConfidenceLevel(double confidenceLevel) {
+    this.confidenceLevel = confidenceLevel;
+  }
+
+  @Override
+  public String toString() {
+    return "SzConfidenceInterval{" +
+        "lowerBound=" + lowerBound +
+        ", upperBound=" + upperBound +
+        ", confidenceLevel=" + confidenceLevel +
+        '}';
+  }
+}
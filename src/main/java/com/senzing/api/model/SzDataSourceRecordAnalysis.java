@@ -1,5 +1,9 @@
 package com.senzing.api.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
 /**
  * Describes an analysis of bulk data records associated with a specific
  * data source (or no data source at all).
@@ -27,6 +31,12 @@ public class SzDataSourceRecordAnalysis {
    */
   private int entityTypeCount;
 
+  /**
+   * The confidence interval for the number of records with the associated
+   * data source if the record count is estimated, otherwise <tt>null</tt>.
+   */
+  private SzConfidenceInterval recordCountInterval;
+
   /**
    * Default constructor that constructs with a <tt>null</tt> data source.
    */
@@ -46,6 +56,7 @@ public class SzDataSourceRecordAnalysis {
     this.recordCount      = 0;
     this.recordIdCount    = 0;
     this.entityTypeCount  = 0;
+    this.recordCountInterval = null;
   }
 
   /**
@@ -189,6 +200,31 @@ public class SzDataSourceRecordAnalysis {
     return this.entityTypeCount;
   }
 
+  /**
+   * Gets the confidence interval for the number of records that have the
+   * associated data source if the {@linkplain #getRecordCount() record count} is
+   * estimated.  This returns <tt>null</tt> if the record count is exact.
+   *
+   * @return The confidence interval for the number of records that have the
+   *         associated data source, or <tt>null</tt> if the record count is exact.
+   */
+  @JsonInclude(NON_NULL)
+  public SzConfidenceInterval getRecordCountInterval() {
+    return this.recordCountInterval;
+  }
+
+  /**
+   * Sets the confidence interval for the number of records that have the
+   * associated data source.
+   *
+   * @param interval The confidence interval for the number of records that
+   *                 have the associated data source, or <tt>null</tt> if the
+   *                 record count is exact.
+   */
+  void setRecordCountInterval(SzConfidenceInterval interval) {
+    this.recordCountInterval = interval;
+  }
+
   @Override
   public String toString() {
     return "SzDataSourceRecordAnalysis{" +
@@ -196,6 +232,7 @@ public class SzDataSourceRecordAnalysis {
         ", recordCount=" + recordCount +
         ", recordIdCount=" + recordIdCount +
         ", entityTypeCount=" + entityTypeCount +
+        ", recordCountInterval=" + recordCountInterval +
         '}';
   }
 }
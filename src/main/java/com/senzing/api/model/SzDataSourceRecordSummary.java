@@ -1,5 +1,7 @@
 package com.senzing.api.model;
 
+import com.senzing.util.CodeInterner;
+
 import javax.json.JsonArray;
 import javax.json.JsonObject;
 import java.util.ArrayList;
@@ -156,7 +158,8 @@ public class SzDataSourceRecordSummary {
   {
     if (summary == null) summary = new SzDataSourceRecordSummary();
 
-    String dataSource  = jsonObject.getString("DATA_SOURCE");
+    String dataSource  = CodeInterner.internCode(
+        jsonObject.getString("DATA_SOURCE"));
     int    recordCount = jsonObject.getJsonNumber("RECORD_COUNT").intValue();
 
     summary.setDataSource(dataSource);
@@ -1,5 +1,7 @@
 package com.senzing.api.model;
 
+import com.senzing.util.LongHashSet;
+
 import javax.json.JsonArray;
 import javax.json.JsonObject;
 import java.util.*;
@@ -48,10 +50,10 @@ public class SzEntityNetworkData {
     throws IllegalArgumentException
   {
     // check the sets of entity IDs
-    Set<Long> set1 = new HashSet<>();
-    Set<Long> set2 = new HashSet<>();
+    LongHashSet set1 = new LongHashSet(entities.size());
+    LongHashSet set2 = new LongHashSet(entities.size());
     entities.forEach(e -> set1.add(e.getResolvedEntity().getEntityId()));
-    entityPaths.forEach(entityPath -> set2.addAll(entityPath.getEntityIds()));
+    entityPaths.forEach(entityPath -> set2.addAll(entityPath.entityIdArray()));
 
     if (!set1.containsAll(set2)) {
       throw new IllegalArgumentException(
@@ -25,9 +25,9 @@ public class SzEntityPath {
   private long endEntityId;
 
   /**
-   * The {@link List} of entity IDs.
+   * The array of entity IDs in order of the path.
    */
-  private List<Long> entityIds;
+  private long[] entityIds;
 
   /**
    * Package-private default constructor.
@@ -55,17 +55,43 @@ public class SzEntityPath {
                       long        endEntityId,
                       List<Long>  entityIds)
     throws IllegalArgumentException
+  {
+    this(startEntityId,
+         endEntityId,
+         entityIds.stream().mapToLong(Long::longValue).toArray());
+  }
+
+  /**
+   * Package-private constructor with the specified array of entity IDs.
+   * The specified array is retained without copying.
+   *
+   * @param startEntityId The starting entity ID for the path.
+   *
+   * @param endEntityId The ending entity ID for the path.
+   *
+   * @param entityIds The array of entity IDs, or an empty array if there is
+   *                  no path between the entities.
+   *
+   * @throws IllegalArgumentException If the specified array does not start
+   *                                  and end with the starting and ending
+   *                                  entity ID.
+   */
+  SzEntityPath(long    startEntityId,
+               long    endEntityId,
+               long[]  entityIds)
+    throws IllegalArgumentException
   {
     this.startEntityId = startEntityId;
     this.endEntityId   = endEntityId;
-    this.entityIds = Collections.unmodifiableList(new ArrayList<>(entityIds));
-    if (this.entityIds.size() > 0 && this.entityIds.get(0) != startEntityId
-        && this.entityIds.get(this.entityIds.size()-1) != endEntityId) {
+    this.entityIds     = entityIds;
+    int count = this.entityIds.length;
+    if (count > 0 && this.entityIds[0] != startEntityId
+        && this.entityIds[count-1] != endEntityId) {
       throw new IllegalArgumentException(
           "The specified entity IDs list does not start and end with the "
           + "specified starting and ending entity ID.  startEntityId=[ "
           + startEntityId + " ], endEntityId=[ " + endEntityId
-          + " ], entityIDs=[ " + entityIds + " ]");
+          + " ], entityIDs=[ " + Arrays.toString(entityIds) + " ]");
     }
   }
 
@@ -95,6 +121,28 @@ public class SzEntityPath {
    *         path in order of the path.
    */
   public List<Long> getEntityIds() {
+    final long[] ids = this.entityIds;
+    if (ids == null) return null;
+    return new AbstractList<Long>() {
+      @Override
+      public Long get(int index) {
+        return ids[index];
+      }
+
+      @Override
+      public int size() {
+        return ids.length;
+      }
+    };
+  }
+
+  /**
+   * Returns the backing array of entity IDs identifying the entities in the
+   * path in order of the path.  The returned array must not be modified.
+   *
+   * @return The backing array of entity IDs.
+   */
+  long[] entityIdArray() {
     return this.entityIds;
   }
 
@@ -103,7 +151,7 @@ public class SzEntityPath {
     return "SzEntityPath{" +
         "startEntityId=" + startEntityId +
         ", endEntityId=" + endEntityId +
-        ", entityIds=" + entityIds +
+        ", entityIds=" + Arrays.toString(entityIds) +
         '}';
   }
 
@@ -153,12 +201,12 @@ public class SzEntityPath {
     JsonArray entities = jsonObject.getJsonArray("ENTITIES");
     int count = entities.size();
 
-    List<Long> list = new ArrayList<>(count);
+    long[] entityIds = new long[count];
     for (int index = 0; index < count; index++) {
-      list.add(entities.getJsonNumber(index).longValue());
+      entityIds[index] = entities.getJsonNumber(index).longValue();
     }
 
-    return new SzEntityPath(startId, endId, list);
+    return new SzEntityPath(startId, endId, entityIds);
   }
 
 }
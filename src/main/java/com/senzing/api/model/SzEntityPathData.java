@@ -1,5 +1,7 @@
 package com.senzing.api.model;
 
+import com.senzing.util.LongHashSet;
+
 import javax.json.JsonArray;
 import javax.json.JsonObject;
 import java.util.*;
@@ -45,19 +47,19 @@ public class SzEntityPathData {
                           List<SzEntityData>  entities)
     throws IllegalArgumentException
   {
-    if (entityPath.getEntityIds().size() > 0
-        && entities.size() != entityPath.getEntityIds().size()) {
+    long[] pathIds = entityPath.entityIdArray();
+    if (pathIds.length > 0 && entities.size() != pathIds.length) {
       throw new IllegalArgumentException(
           "The specified entity path and entities list are not consistent.  "
-          + "pathSize=[ " + entityPath.getEntityIds().size()
+          + "pathSize=[ " + pathIds.length
           + " ], entityCount=[ " + entities.size() + " ]");
     }
 
     // check the sets of entity IDs
-    Set<Long> set1 = new HashSet<>();
-    Set<Long> set2 = new HashSet<>();
+    LongHashSet set1 = new LongHashSet(entities.size());
+    LongHashSet set2 = new LongHashSet(pathIds.length);
     entities.forEach(e -> set1.add(e.getResolvedEntity().getEntityId()));
-    set2.addAll(entityPath.getEntityIds());
+    set2.addAll(pathIds);
 
     if ((set2.size() > 0)
         && (!set1.containsAll(set2) || !set2.containsAll(set1)))
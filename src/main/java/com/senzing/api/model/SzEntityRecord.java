@@ -2,6 +2,7 @@ package com.senzing.api.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.senzing.util.CodeInterner;
 import com.senzing.util.JsonUtils;
 
 import javax.json.JsonArray;
@@ -503,8 +504,9 @@ public class SzEntityRecord {
     if (record == null) record = new SzEntityRecord();
     final SzEntityRecord rec = record;
 
-    // get the data source and record ID
-    String dataSource = jsonObject.getString("DATA_SOURCE");
+    // get the data source (interned against the config) and record ID
+    String dataSource = CodeInterner.internCode(
+        jsonObject.getString("DATA_SOURCE"));
     String recordId   = jsonObject.getString("RECORD_ID");
 
     record.setDataSource(dataSource);
@@ -1,5 +1,9 @@
 package com.senzing.api.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
 /**
  * Describes an analysis of bulk data records associated with a specific
  * entity type (or no entity type at all).
@@ -27,6 +31,12 @@ public class SzEntityTypeRecordAnalysis {
    */
   private int dataSourceCount;
 
+  /**
+   * The confidence interval for the number of records with the associated
+   * entity type if the record count is estimated, otherwise <tt>null</tt>.
+   */
+  private SzConfidenceInterval recordCountInterval;
+
   /**
    * Default constructor that constructs with a <tt>null</tt> entity type.
    */
@@ -46,6 +56,7 @@ public class SzEntityTypeRecordAnalysis {
     this.recordCount      = 0;
     this.recordIdCount    = 0;
     this.dataSourceCount  = 0;
+    this.recordCountInterval = null;
   }
 
   /**
@@ -189,6 +200,31 @@ public class SzEntityTypeRecordAnalysis {
     return this.dataSourceCount;
   }
 
+  /**
+   * Gets the confidence interval for the number of records that have the
+   * associated entity type if the {@linkplain #getRecordCount() record count} is
+   * estimated.  This returns <tt>null</tt> if the record count is exact.
+   *
+   * @return The confidence interval for the number of records that have the
+   *         associated entity type, or <tt>null</tt> if the record count is exact.
+   */
+  @JsonInclude(NON_NULL)
+  public SzConfidenceInterval getRecordCountInterval() {
+    return this.recordCountInterval;
+  }
+
+  /**
+   * Sets the confidence interval for the number of records that have the
+   * associated entity type.
+   *
+   * @param interval The confidence interval for the number of records that
+   *                 have the associated entity type, or <tt>null</tt> if the
+   *                 record count is exact.
+   */
+  void setRecordCountInterval(SzConfidenceInterval interval) {
+    this.recordCountInterval = interval;
+  }
+
   @Override
   public String toString() {
     return "SzEntityTypeRecordAnalysis{" +
@@ -196,6 +232,7 @@ public class SzEntityTypeRecordAnalysis {
         ", recordCount=" + recordCount +
         ", recordIdCount=" + recordIdCount +
         ", dataSourceCount=" + dataSourceCount +
+        ", recordCountInterval=" + recordCountInterval +
         '}';
   }
 }
@@ -0,0 +1,29 @@
+package com.senzing.api.model;
+
+/**
+ * Enumerates the policies for handling a message that is sent when the buffer
+ * of an asynchronous messaging endpoint is full.
+ */
+public enum SzFullBufferPolicy {
+  /**
+   * The sending thread waits until there is room in the buffer.
+   */
+  BLOCK,
+
+  /**
+   * The message being sent is dropped and handed to the failure handler.
+   */
+  DROP_NEWEST,
+
+  /**
+   * The oldest buffered message is dropped and handed to its failure handler
+   * to make room for the message being sent.
+   */
+  DROP_OLDEST,
+
+  /**
+   * The message is sent synchronously on the sending thread, bypassing the
+   * buffer.
+   */
+  CALLER_SENDS;
+}
@@ -0,0 +1,19 @@
+package com.senzing.api.model;
+
+/**
+ * Enumerates how the compacted info messages produced by coalescing the
+ * affected entities over a window relate to the raw info messages.
+ */
+public enum SzInfoCoalescingMode {
+  /**
+   * The raw info messages are sent as they arrive and a compacted message is
+   * also sent for each window.
+   */
+  ALONGSIDE,
+
+  /**
+   * Only the compacted message for each window is sent in place of the raw
+   * info messages that were coalesced.
+   */
+  INSTEAD;
+}
@@ -0,0 +1,117 @@
+package com.senzing.api.model;
+
+import com.senzing.util.Timers;
+
+import javax.ws.rs.core.UriInfo;
+
+/**
+ * A response object that describes the configuration of the info queue and
+ * the state of its asynchronous buffer.
+ *
+ */
+public class SzInfoQueueResponse extends SzBasicResponse {
+  /**
+   * The {@link SzInfoQueueStatus} describing the info queue.
+   */
+  private SzInfoQueueStatus status;
+
+  /**
+   * Default constructor.
+   */
+  public SzInfoQueueResponse() {
+    this.status = null;
+  }
+
+  /**
+   * Constructs with only the HTTP method and the self link, leaving the
+   * info queue status to be initialized later.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param selfLink The string URL link to generate this response.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   */
+  public SzInfoQueueResponse(SzHttpMethod httpMethod,
+                             int          httpStatusCode,
+                             String       selfLink,
+                             Timers       timers)
+  {
+    this(httpMethod, httpStatusCode, selfLink, timers, null);
+  }
+
+  /**
+   * Constructs with the HTTP method, self link and the {@link
+   * SzInfoQueueStatus} describing the info queue.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param selfLink The string URL link to generate this response.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   * @param status The {@link SzInfoQueueStatus} describing the info queue.
+   */
+  public SzInfoQueueResponse(SzHttpMethod       httpMethod,
+                             int                httpStatusCode,
+                             String             selfLink,
+                             Timers             timers,
+                             SzInfoQueueStatus  status)
+  {
+    super(httpMethod, httpStatusCode, selfLink, timers);
+    this.status = status;
+  }
+
+  /**
+   * Constructs with only the HTTP method and the {@link UriInfo}, leaving the
+   * info queue status to be initialized later.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param uriInfo The {@link UriInfo} from the request.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   */
+  public SzInfoQueueResponse(SzHttpMethod httpMethod,
+                             int          httpStatusCode,
+                             UriInfo      uriInfo,
+                             Timers       timers) {
+    this(httpMethod, httpStatusCode, uriInfo, timers, null);
+  }
+
+  /**
+   * Constructs with the HTTP method, {@link UriInfo} and the {@link
+   * SzInfoQueueStatus} describing the info queue.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param uriInfo The {@link UriInfo} from the request.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   * @param status The {@link SzInfoQueueStatus} describing the info queue.
+   */
+  public SzInfoQueueResponse(SzHttpMethod       httpMethod,
+                             int                httpStatusCode,
+                             UriInfo            uriInfo,
+                             Timers             timers,
+                             SzInfoQueueStatus  status)
+  {
+    super(httpMethod, httpStatusCode, uriInfo, timers);
+    this.status = status;
+  }
+
+  /**
+   * Returns the data associated with this response which is an
+   * {@link SzInfoQueueStatus}.
+   *
+   * @return The data associated with this response.
+   */
+  public SzInfoQueueStatus getData() {
+    return this.status;
+  }
+
+  /**
+   * Sets the data associated with this response with an {@link
+   * SzInfoQueueStatus}.
+   *
+   * @param status The {@link SzInfoQueueStatus} describing the info queue.
+   */
+  public void setData(SzInfoQueueStatus status) {
+    this.status = status;
+  }
+}
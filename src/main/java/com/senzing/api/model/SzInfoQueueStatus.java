@@ -0,0 +1,510 @@
+package com.senzing.api.model;
+
+/**
+ * Describes the configuration of the info queue and, if messages are sent
+ * asynchronously, the state of its buffer or spool and the counts of the
+ * messages that were sent, retried, dropped or failed.  If the affected
+ * entities of the info messages are coalesced then this also has the counts
+ * of the coalesced and compacted messages.
+ */
+public class SzInfoQueueStatus {
+  /**
+   * Whether or not an info queue is configured.
+   */
+  private boolean configured;
+
+  /**
+   * Whether or not info messages are sent asynchronously.
+   */
+  private boolean asynchronous;
+
+  /**
+   * Whether or not info messages are spooled to local disk before being
+   * forwarded to the info queue.
+   */
+  private boolean spooled;
+
+  /**
+   * The maximum number of info messages that can be buffered.
+   */
+  private int bufferCapacity;
+
+  /**
+   * The {@link SzFullBufferPolicy} for when the buffer is full.
+   */
+  private SzFullBufferPolicy fullPolicy;
+
+  /**
+   * The number of info messages buffered and not yet sent.
+   */
+  private long backlogCount;
+
+  /**
+   * The number of bytes in the spool that have not yet been forwarded.
+   */
+  private long spoolBacklogBytes;
+
+  /**
+   * The number of info messages that have been buffered.
+   */
+  private long enqueuedCount;
+
+  /**
+   * The number of info messages that have been sent.
+   */
+  private long sentCount;
+
+  /**
+   * The number of batches in which the info messages were sent.
+   */
+  private long batchCount;
+
+  /**
+   * The number of times an info message was retried after failing.
+   */
+  private long retriedCount;
+
+  /**
+   * The number of info messages dropped because the buffer was full.
+   */
+  private long droppedCount;
+
+  /**
+   * The number of info messages that failed to send after retrying.
+   */
+  private long failedCount;
+
+  /**
+   * Whether or not the affected entities of the info messages are coalesced
+   * into compacted info messages.
+   */
+  private boolean coalesced;
+
+  /**
+   * The {@link SzInfoCoalescingMode} if the info messages are coalesced.
+   */
+  private SzInfoCoalescingMode coalescingMode;
+
+  /**
+   * The number of info messages that were coalesced.
+   */
+  private long coalescedCount;
+
+  /**
+   * The number of compacted info messages that were sent.
+   */
+  private long compactedCount;
+
+  /**
+   * The {@link SzLatencyStatistics} for sending the info messages to the
+   * underlying endpoint, or <tt>null</tt> if the latency is not measured.
+   */
+  private SzLatencyStatistics sendLatency;
+
+  /**
+   * Default constructor.
+   */
+  public SzInfoQueueStatus() {
+    this.configured        = false;
+    this.asynchronous      = false;
+    this.spooled           = false;
+    this.bufferCapacity    = 0;
+    this.fullPolicy        = null;
+    this.backlogCount      = 0L;
+    this.spoolBacklogBytes = 0L;
+    this.enqueuedCount     = 0L;
+    this.sentCount         = 0L;
+    this.batchCount        = 0L;
+    this.retriedCount      = 0L;
+    this.droppedCount      = 0L;
+    this.failedCount       = 0L;
+    this.coalesced         = false;
+    this.coalescingMode    = null;
+    this.coalescedCount    = 0L;
+    this.compactedCount    = 0L;
+    this.sendLatency       = null;
+  }
+
+  /**
+   * Checks whether or not an info queue is configured.
+   *
+   * @return <tt>true</tt> if an info queue is configured, otherwise
+   *         <tt>false</tt>.
+   */
+  public boolean isConfigured() {
+    return this.configured;
+  }
+
+  /**
+   * Sets whether or not an info queue is configured.
+   *
+   * @param configured <tt>true</tt> if an info queue is configured,
+   *                   otherwise <tt>false</tt>.
+   */
+  public void setConfigured(boolean configured) {
+    this.configured = configured;
+  }
+
+  /**
+   * Checks whether or not info messages are sent asynchronously.
+   *
+   * @return <tt>true</tt> if info messages are sent asynchronously,
+   *         otherwise <tt>false</tt>.
+   */
+  public boolean isAsynchronous() {
+    return this.asynchronous;
+  }
+
+  /**
+   * Sets whether or not info messages are sent asynchronously.
+   *
+   * @param asynchronous <tt>true</tt> if info messages are sent
+   *                     asynchronously, otherwise <tt>false</tt>.
+   */
+  public void setAsynchronous(boolean asynchronous) {
+    this.asynchronous = asynchronous;
+  }
+
+  /**
+   * Checks whether or not info messages are spooled to local disk before
+   * being forwarded to the info queue.
+   *
+   * @return <tt>true</tt> if info messages are spooled, otherwise
+   *         <tt>false</tt>.
+   */
+  public boolean isSpooled() {
+    return this.spooled;
+  }
+
+  /**
+   * Sets whether or not info messages are spooled to local disk before being
+   * forwarded to the info queue.
+   *
+   * @param spooled <tt>true</tt> if info messages are spooled, otherwise
+   *                <tt>false</tt>.
+   */
+  public void setSpooled(boolean spooled) {
+    this.spooled = spooled;
+  }
+
+  /**
+   * Gets the maximum number of info messages that can be buffered.
+   *
+   * @return The maximum number of info messages that can be buffered.
+   */
+  public int getBufferCapacity() {
+    return this.bufferCapacity;
+  }
+
+  /**
+   * Sets the maximum number of info messages that can be buffered.
+   *
+   * @param bufferCapacity The maximum number of info messages that can be
+   *                       buffered.
+   */
+  public void setBufferCapacity(int bufferCapacity) {
+    this.bufferCapacity = bufferCapacity;
+  }
+
+  /**
+   * Gets the {@link SzFullBufferPolicy} for when the buffer is full.
+   *
+   * @return The {@link SzFullBufferPolicy} for when the buffer is full,
+   *         or <tt>null</tt> if info messages are not sent asynchronously.
+   */
+  public SzFullBufferPolicy getFullPolicy() {
+    return this.fullPolicy;
+  }
+
+  /**
+   * Sets the {@link SzFullBufferPolicy} for when the buffer is full.
+   *
+   * @param fullPolicy The {@link SzFullBufferPolicy} for when the buffer
+   *                   is full, or <tt>null</tt> if info messages are not sent
+   *                   asynchronously.
+   */
+  public void setFullPolicy(SzFullBufferPolicy fullPolicy) {
+    this.fullPolicy = fullPolicy;
+  }
+
+  /**
+   * Gets the number of info messages buffered and not yet sent.
+   *
+   * @return The number of info messages buffered and not yet sent.
+   */
+  public long getBacklogCount() {
+    return this.backlogCount;
+  }
+
+  /**
+   * Sets the number of info messages buffered and not yet sent.
+   *
+   * @param backlogCount The number of info messages buffered and not yet
+   *                     sent.
+   */
+  public void setBacklogCount(long backlogCount) {
+    this.backlogCount = backlogCount;
+  }
+
+  /**
+   * Gets the number of bytes in the spool that have not yet been forwarded.
+   *
+   * @return The number of bytes in the spool that have not yet been
+   *         forwarded.
+   */
+  public long getSpoolBacklogBytes() {
+    return this.spoolBacklogBytes;
+  }
+
+  /**
+   * Sets the number of bytes in the spool that have not yet been forwarded.
+   *
+   * @param spoolBacklogBytes The number of bytes in the spool that have not
+   *                          yet been forwarded.
+   */
+  public void setSpoolBacklogBytes(long spoolBacklogBytes) {
+    this.spoolBacklogBytes = spoolBacklogBytes;
+  }
+
+  /**
+   * Gets the number of info messages that have been buffered.
+   *
+   * @return The number of info messages that have been buffered.
+   */
+  public long getEnqueuedCount() {
+    return this.enqueuedCount;
+  }
+
+  /**
+   * Sets the number of info messages that have been buffered.
+   *
+   * @param enqueuedCount The number of info messages that have been
+   *                      buffered.
+   */
+  public void setEnqueuedCount(long enqueuedCount) {
+    this.enqueuedCount = enqueuedCount;
+  }
+
+  /**
+   * Gets the number of info messages that have been sent.
+   *
+   * @return The number of info messages that have been sent.
+   */
+  public long getSentCount() {
+    return this.sentCount;
+  }
+
+  /**
+   * Sets the number of info messages that have been sent.
+   *
+   * @param sentCount The number of info messages that have been sent.
+   */
+  public void setSentCount(long sentCount) {
+    this.sentCount = sentCount;
+  }
+
+  /**
+   * Gets the number of batches in which the info messages were sent.
+   *
+   * @return The number of batches in which the info messages were sent.
+   */
+  public long getBatchCount() {
+    return this.batchCount;
+  }
+
+  /**
+   * Sets the number of batches in which the info messages were sent.
+   *
+   * @param batchCount The number of batches in which the info messages were
+   *                   sent.
+   */
+  public void setBatchCount(long batchCount) {
+    this.batchCount = batchCount;
+  }
+
+  /**
+   * Gets the number of times an info message was retried after failing.
+   *
+   * @return The number of times an info message was retried after failing.
+   */
+  public long getRetriedCount() {
+    return this.retriedCount;
+  }
+
+  /**
+   * Sets the number of times an info message was retried after failing.
+   *
+   * @param retriedCount The number of times an info message was retried
+   *                     after failing.
+   */
+  public void setRetriedCount(long retriedCount) {
+    this.retriedCount = retriedCount;
+  }
+
+  /**
+   * Gets the number of info messages dropped because the buffer was full.
+   *
+   * @return The number of info messages dropped because the buffer was full.
+   */
+  public long getDroppedCount() {
+    return this.droppedCount;
+  }
+
+  /**
+   * Sets the number of info messages dropped because the buffer was full.
+   *
+   * @param droppedCount The number of info messages dropped because the
+   *                     buffer was full.
+   */
+  public void setDroppedCount(long droppedCount) {
+    this.droppedCount = droppedCount;
+  }
+
+  /**
+   * Gets the number of info messages that failed to send after retrying.
+   *
+   * @return The number of info messages that failed to send after retrying.
+   */
+  public long getFailedCount() {
+    return this.failedCount;
+  }
+
+  /**
+   * Sets the number of info messages that failed to send after retrying.
+   *
+   * @param failedCount The number of info messages that failed to send after
+   *                    retrying.
+   */
+  public void setFailedCount(long failedCount) {
+    this.failedCount = failedCount;
+  }
+
+  /**
+   * Checks whether or not the affected entities of the info messages are
+   * coalesced into compacted info messages.
+   *
+   * @return <tt>true</tt> if the info messages are coalesced, otherwise
+   *         <tt>false</tt>.
+   */
+  public boolean isCoalesced() {
+    return this.coalesced;
+  }
+
+  /**
+   * Sets whether or not the affected entities of the info messages are
+   * coalesced into compacted info messages.
+   *
+   * @param coalesced <tt>true</tt> if the info messages are coalesced,
+   *                  otherwise <tt>false</tt>.
+   */
+  public void setCoalesced(boolean coalesced) {
+    this.coalesced = coalesced;
+  }
+
+  /**
+   * Gets the {@link SzInfoCoalescingMode} if the info messages are
+   * coalesced.
+   *
+   * @return The {@link SzInfoCoalescingMode}, or <tt>null</tt> if the info
+   *         messages are not coalesced.
+   */
+  public SzInfoCoalescingMode getCoalescingMode() {
+    return this.coalescingMode;
+  }
+
+  /**
+   * Sets the {@link SzInfoCoalescingMode} if the info messages are
+   * coalesced.
+   *
+   * @param mode The {@link SzInfoCoalescingMode}, or <tt>null</tt> if the
+   *             info messages are not coalesced.
+   */
+  public void setCoalescingMode(SzInfoCoalescingMode mode) {
+    this.coalescingMode = mode;
+  }
+
+  /**
+   * Gets the number of info messages that were coalesced.
+   *
+   * @return The number of info messages that were coalesced.
+   */
+  public long getCoalescedCount() {
+    return this.coalescedCount;
+  }
+
+  /**
+   * Sets the number of info messages that were coalesced.
+   *
+   * @param coalescedCount The number of info messages that were coalesced.
+   */
+  public void setCoalescedCount(long coalescedCount) {
+    this.coalescedCount = coalescedCount;
+  }
+
+  /**
+   * Gets the number of compacted info messages that were sent.
+   *
+   * @return The number of compacted info messages that were sent.
+   */
+  public long getCompactedCount() {
+    return this.compactedCount;
+  }
+
+  /**
+   * Sets the number of compacted info messages that were sent.
+   *
+   * @param compactedCount The number of compacted info messages that were
+   *                       sent.
+   */
+  public void setCompactedCount(long compactedCount) {
+    this.compactedCount = compactedCount;
+  }
+
+  /**
+   * Gets the {@link SzLatencyStatistics} for sending the info messages to the
+   * underlying endpoint.  This returns <tt>null</tt> if the endpoint does not
+   * measure its send latency.
+   *
+   * @return The {@link SzLatencyStatistics} for sending the info messages, or
+   *         <tt>null</tt> if the latency is not measured.
+   */
+  public SzLatencyStatistics getSendLatency() {
+    return this.sendLatency;
+  }
+
+  /**
+   * Sets the {@link SzLatencyStatistics} for sending the info messages to the
+   * underlying endpoint.
+   *
+   * @param sendLatency The {@link SzLatencyStatistics} for sending the info
+   *                    messages, or <tt>null</tt> if the latency is not
+   *                    measured.
+   */
+  public void setSendLatency(SzLatencyStatistics sendLatency) {
+    this.sendLatency = sendLatency;
+  }
+
+  @Override
+  public String toString() {
+    return "SzInfoQueueStatus{" +
+        "configured=" + configured +
+        ", asynchronous=" + asynchronous +
+        ", spooled=" + spooled +
+        ", bufferCapacity=" + bufferCapacity +
+        ", fullPolicy=" + fullPolicy +
+        ", backlogCount=" + backlogCount +
+        ", spoolBacklogBytes=" + spoolBacklogBytes +
+        ", enqueuedCount=" + enqueuedCount +
+        ", sentCount=" + sentCount +
+        ", batchCount=" + batchCount +
+        ", retriedCount=" + retriedCount +
+        ", droppedCount=" + droppedCount +
+        ", failedCount=" + failedCount +
+        ", coalesced=" + coalesced +
+        ", coalescingMode=" + coalescingMode +
+        ", coalescedCount=" + coalescedCount +
+        ", compactedCount=" + compactedCount +
+        ", sendLatency=" + sendLatency +
+        '}';
+  }
+}
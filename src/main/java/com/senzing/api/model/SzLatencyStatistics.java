@@ -0,0 +1,194 @@
+package com.senzing.api.model;
+
+/**
+ * Summarizes a distribution of latencies in microseconds with the count,
+ * average, maximum and selected percentiles.
+ */
+public class SzLatencyStatistics {
+  /**
+   * The number of latencies that were measured.
+   */
+  private long count;
+
+  /**
+   * The average latency in microseconds.
+   */
+  private double averageMicros;
+
+  /**
+   * The median (50th percentile) latency in microseconds.
+   */
+  private double p50Micros;
+
+  /**
+   * The 90th percentile latency in microseconds.
+   */
+  private double p90Micros;
+
+  /**
+   * The 99th percentile latency in microseconds.
+   */
+  private double p99Micros;
+
+  /**
+   * The 99.9th percentile latency in microseconds.
+   */
+  private double p999Micros;
+
+  /**
+   * The maximum latency in microseconds.
+   */
+  private double maxMicros;
+
+  /**
+   * Default constructor.
+   */
+  public SzLatencyStatistics() {
+    this.count          = 0L;
+    this.averageMicros  = 0.0;
+    this.p50Micros      = 0.0;
+    this.p90Micros      = 0.0;
+    this.p99Micros      = 0.0;
+    this.p999Micros     = 0.0;
+    this.maxMicros      = 0.0;
+  }
+
+  /**
+   * Gets the number of latencies that were measured.
+   *
+   * @return The number of latencies that were measured.
+   */
+  public long getCount() {
+    return this.count;
+  }
+
+  /**
+   * Sets the number of latencies that were measured.
+   *
+   * @param count The number of latencies that were measured.
+   */
+  public void setCount(long count) {
+    this.count = count;
+  }
+
+  /**
+   * Gets the average latency in microseconds.
+   *
+   * @return The average latency in microseconds.
+   */
+  public double getAverageMicros() {
+    return this.averageMicros;
+  }
+
+  /**
+   * Sets the average latency in microseconds.
+   *
+   * @param averageMicros The average latency in microseconds.
+   */
+  public void setAverageMicros(double averageMicros) {
+    this.averageMicros = averageMicros;
+  }
+
+  /**
+   * Gets the median (50th percentile) latency in microseconds.
+   *
+   * @return The median latency in microseconds.
+   */
+  public double getP50Micros() {
+    return this.p50Micros;
+  }
+
+  /**
+   * Sets the median (50th percentile) latency in microseconds.
+   *
+   * @param p50Micros The median latency in microseconds.
+   */
+  public void setP50Micros(double p50Micros) {
+    this.p50Micros = p50Micros;
+  }
+
+  /**
+   * Gets the 90th percentile latency in microseconds.
+   *
+   * @return The 90th percentile latency in microseconds.
+   */
+  public double getP90Micros() {
+    return this.p90Micros;
+  }
+
+  /**
+   * Sets the 90th percentile latency in microseconds.
+   *
+   * @param p90Micros The 90th percentile latency in microseconds.
+   */
+  public void setP90Micros(double p90Micros) {
+    this.p90Micros = p90Micros;
+  }
+
+  /**
+   * Gets the 99th percentile latency in microseconds.
+   *
+   * @return The 99th percentile latency in microseconds.
+   */
+  public double getP99Micros() {
+    return this.p99Micros;
+  }
+
+  /**
+   * Sets the 99th percentile latency in microseconds.
+   *
+   * @param p99Micros The 99th percentile latency in microseconds.
+   */
+  public void setP99Micros(double p99Micros) {
+    this.p99Micros = p99Micros;
+  }
+
+  /**
+   * Gets the 99.9th percentile latency in microseconds.
+   *
+   * @return The 99.9th percentile latency in microseconds.
+   */
+  public double getP999Micros() {
+    return this.p999Micros;
+  }
+
+  /**
+   * Sets the 99.9th percentile latency in microseconds.
+   *
+   * @param p999Micros The 99.9th percentile latency in microseconds.
+   */
+  public void setP999Micros(double p999Micros) {
+    this.p999Micros = p999Micros;
+  }
+
+  /**
+   * Gets the maximum latency in microseconds.
+   *
+   * @return The maximum latency in microseconds.
+   */
+  public double getMaxMicros() {
+    return this.maxMicros;
+  }
+
+  /**
+   * Sets the maximum latency in microseconds.
+   *
+   * @param maxMicros The maximum latency in microseconds.
+   */
+  public void setMaxMicros(double maxMicros) {
+    this.maxMicros = maxMicros;
+  }
+
+  @Override
+  public String toString() {
+    return "SzLatencyStatistics{" +
+        "count=" + count +
+        ", averageMicros=" + averageMicros +
+        ", p50Micros=" + p50Micros +
+        ", p90Micros=" + p90Micros +
+        ", p99Micros=" + p99Micros +
+        ", p999Micros=" + p999Micros +
+        ", maxMicros=" + maxMicros +
+        '}';
+  }
+}
@@ -0,0 +1,122 @@
+package com.senzing.api.model;
+
+import com.senzing.util.Timers;
+
+import javax.ws.rs.core.UriInfo;
+
+/**
+ * A response object that describes the throughput of the load queue
+ * processor.
+ *
+ */
+public class SzLoadQueueResponse extends SzBasicResponse {
+  /**
+   * The {@link SzLoadQueueStatus} describing the load queue processing.
+   */
+  private SzLoadQueueStatus status;
+
+  /**
+   * Default constructor.
+   */
+  public SzLoadQueueResponse() {
+    this.status = null;
+  }
+
+  /**
+   * Constructs with only the HTTP method and the self link, leaving the
+   * load queue status to be initialized later.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param selfLink The string URL link to generate this response.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   */
+  public SzLoadQueueResponse(SzHttpMethod httpMethod,
+                             int          httpStatusCode,
+                             String       selfLink,
+                             Timers       timers)
+  {
+    this(httpMethod, httpStatusCode, selfLink, timers, null);
+  }
+
+  /**
+   * Constructs with the HTTP method, self link and the {@link
+   * SzLoadQueueStatus} describing the load queue processing.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param selfLink The string URL link to generate this response.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   * @param status The {@link SzLoadQueueStatus} describing the load
+   *               queue processing.
+   */
+  public SzLoadQueueResponse(
+      SzHttpMethod      httpMethod,
+      int               httpStatusCode,
+      String            selfLink,
+      Timers            timers,
+      SzLoadQueueStatus status)
+  {
+    super(httpMethod, httpStatusCode, selfLink, timers);
+    this.status = status;
+  }
+
+  /**
+   * Constructs with only the HTTP method and the {@link UriInfo}, leaving the
+   * load queue status to be initialized later.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param uriInfo The {@link UriInfo} from the request.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   */
+  public SzLoadQueueResponse(SzHttpMethod httpMethod,
+                             int          httpStatusCode,
+                             UriInfo      uriInfo,
+                             Timers       timers) {
+    this(httpMethod, httpStatusCode, uriInfo, timers, null);
+  }
+
+  /**
+   * Constructs with the HTTP method, {@link UriInfo} and the {@link
+   * SzLoadQueueStatus} describing the load queue processing.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param uriInfo The {@link UriInfo} from the request.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   * @param status The {@link SzLoadQueueStatus} describing the load
+   *               queue processing.
+   */
+  public SzLoadQueueResponse(
+      SzHttpMethod      httpMethod,
+      int               httpStatusCode,
+      UriInfo           uriInfo,
+      Timers            timers,
+      SzLoadQueueStatus status)
+  {
+    super(httpMethod, httpStatusCode, uriInfo, timers);
+    this.status = status;
+  }
+
+  /**
+   * Returns the data associated with this response which is an
+   * {@link SzLoadQueueStatus}.
+   *
+   * @return The data associated with this response.
+   */
+  public SzLoadQueueStatus getData() {
+    return this.status;
+  }
+
+  /**
+   * Sets the data associated with this response with an {@link
+   * SzLoadQueueStatus}.
+   *
+   * @param status The {@link SzLoadQueueStatus} describing the load
+   *               queue processing.
+   */
+  public void setData(SzLoadQueueStatus status) {
+    this.status = status;
+  }
+}
@@ -0,0 +1,283 @@
+package com.senzing.api.model;
+
+/**
+ * Describes the throughput of the load queue processor that consumes record
+ * load and delete messages from a message queue.
+ */
+public class SzLoadQueueStatus {
+  /**
+   * Whether or not the load queue processor is running.
+   */
+  private boolean running;
+
+  /**
+   * The number of threads processing the messages.
+   */
+  private int threadCount;
+
+  /**
+   * The number of messages that have been received.
+   */
+  private long receivedCount;
+
+  /**
+   * The number of records that have been loaded.
+   */
+  private long loadedCount;
+
+  /**
+   * The number of records that have been deleted.
+   */
+  private long deletedCount;
+
+  /**
+   * The number of messages that failed to process.
+   */
+  private long failedCount;
+
+  /**
+   * The number of times that processing a message was retried.
+   */
+  private long retriedCount;
+
+  /**
+   * The number of messages that have been received but not yet processed.
+   */
+  private long inFlightCount;
+
+  /**
+   * The number of messages processed per second over the last minute.
+   */
+  private double messagesPerSecond;
+
+  /**
+   * The average number of messages processed per second since the load queue
+   * processor started.
+   */
+  private double averageMessagesPerSecond;
+
+  /**
+   * Default constructor.
+   */
+  public SzLoadQueueStatus() {
+    this.running                  = false;
+    this.threadCount              = 0;
+    this.receivedCount            = 0L;
+    this.loadedCount              = 0L;
+    this.deletedCount             = 0L;
+    this.failedCount              = 0L;
+    this.retriedCount             = 0L;
+    this.inFlightCount            = 0L;
+    this.messagesPerSecond        = 0.0;
+    this.averageMessagesPerSecond = 0.0;
+  }
+
+  /**
+   * Checks whether or not the load queue processor is running.
+   *
+   * @return <tt>true</tt> if the load queue processor is running, otherwise
+   *         <tt>false</tt>.
+   */
+  public boolean isRunning() {
+    return this.running;
+  }
+
+  /**
+   * Sets whether or not the load queue processor is running.
+   *
+   * @param running <tt>true</tt> if the load queue processor is running,
+   *                otherwise <tt>false</tt>.
+   */
+  public void setRunning(boolean running) {
+    this.running = running;
+  }
+
+  /**
+   * Gets the number of threads processing the messages.
+   *
+   * @return The number of threads processing the messages.
+   */
+  public int getThreadCount() {
+    return this.threadCount;
+  }
+
+  /**
+   * Sets the number of threads processing the messages.
+   *
+   * @param threadCount The number of threads processing the messages.
+   */
+  public void setThreadCount(int threadCount) {
+    this.threadCount = threadCount;
+  }
+
+  /**
+   * Gets the number of messages that have been received.
+   *
+   * @return The number of messages that have been received.
+   */
+  public long getReceivedCount() {
+    return this.receivedCount;
+  }
+
+  /**
+   * Sets the number of messages that have been received.
+   *
+   * @param receivedCount The number of messages that have been received.
+   */
+  public void setReceivedCount(long receivedCount) {
+    this.receivedCount = receivedCount;
+  }
+
+  /**
+   * Gets the number of records that have been loaded.
+   *
+   * @return The number of records that have been loaded.
+   */
+  public long getLoadedCount() {
+    return this.loadedCount;
+  }
+
+  /**
+   * Sets the number of records that have been loaded.
+   *
+   * @param loadedCount The number of records that have been loaded.
+   */
+  public void setLoadedCount(long loadedCount) {
+    this.loadedCount = loadedCount;
+  }
+
+  /**
+   * Gets the number of records that have been deleted.
+   *
+   * @return The number of records that have been deleted.
+   */
+  public long getDeletedCount() {
+    return this.deletedCount;
+  }
+
+  /**
+   * Sets the number of records that have been deleted.
+   *
+   * @param deletedCount The number of records that have been deleted.
+   */
+  public void setDeletedCount(long deletedCount) {
+    this.deletedCount = deletedCount;
+  }
+
+  /**
+   * Gets the number of messages that failed to process.
+   *
+   * @return The number of messages that failed to process.
+   */
+  public long getFailedCount() {
+    return this.failedCount;
+  }
+
+  /**
+   * Sets the number of messages that failed to process.
+   *
+   * @param failedCount The number of messages that failed to process.
+   */
+  public void setFailedCount(long failedCount) {
+    this.failedCount = failedCount;
+  }
+
+  /**
+   * Gets the number of times that processing a message was retried after a
+   * retryable failure.
+   *
+   * @return The number of times that processing a message was retried.
+   */
+  public long getRetriedCount() {
+    return this.retriedCount;
+  }
+
+  /**
+   * Sets the number of times that processing a message was retried after a
+   * retryable failure.
+   *
+   * @param retriedCount The number of times that processing a message was
+   *                     retried.
+   */
+  public void setRetriedCount(long retriedCount) {
+    this.retriedCount = retriedCount;
+  }
+
+  /**
+   * Gets the number of messages that have been received but not yet processed.
+   *
+   * @return The number of messages that have been received but not yet
+   *         processed.
+   */
+  public long getInFlightCount() {
+    return this.inFlightCount;
+  }
+
+  /**
+   * Sets the number of messages that have been received but not yet processed.
+   *
+   * @param inFlightCount The number of messages that have been received but not
+   *                      yet processed.
+   */
+  public void setInFlightCount(long inFlightCount) {
+    this.inFlightCount = inFlightCount;
+  }
+
+  /**
+   * Gets the number of messages processed per second over the last minute.
+   *
+   * @return The number of messages processed per second over the last minute.
+   */
+  public double getMessagesPerSecond() {
+    return this.messagesPerSecond;
+  }
+
+  /**
+   * Sets the number of messages processed per second over the last minute.
+   *
+   * @param messagesPerSecond The number of messages processed per second over
+   *                          the last minute.
+   */
+  public void setMessagesPerSecond(double messagesPerSecond) {
+    this.messagesPerSecond = messagesPerSecond;
+  }
+
+  /**
+   * Gets the average number of messages processed per second since the load
+   * queue processor started.
+   *
+   * @return The average number of messages processed per second since the load
+   *         queue processor started.
+   */
+  public double getAverageMessagesPerSecond() {
+    return this.averageMessagesPerSecond;
+  }
+
+  /**
+   * Sets the average number of messages processed per second since the load
+   * queue processor started.
+   *
+   * @param averageMessagesPerSecond The average number of messages processed
+   *                                 per second since the load queue processor
+   *                                 started.
+   */
+  public void setAverageMessagesPerSecond(double averageMessagesPerSecond) {
+    this.averageMessagesPerSecond = averageMessagesPerSecond;
+  }
+
+  @Override
+  public String toString() {
+    return "SzLoadQueueStatus{" +
+        "running=" + running +
+        ", threadCount=" + threadCount +
+        ", receivedCount=" + receivedCount +
+        ", loadedCount=" + loadedCount +
+        ", deletedCount=" + deletedCount +
+        ", failedCount=" + failedCount +
+        ", retriedCount=" + retriedCount +
+        ", inFlightCount=" + inFlightCount +
+        ", messagesPerSecond=" + messagesPerSecond +
+        ", averageMessagesPerSecond=" + averageMessagesPerSecond +
+        '}';
+  }
+}
@@ -0,0 +1,23 @@
+package com.senzing.api.model;
+
+/**
+ * Enumerates the modes for the progress updates sent while a bulk data
+ * operation is running.
+ */
+public enum SzProgressMode {
+  /**
+   * Each progress update is a complete snapshot of the results so far (e.g.:
+   * an {@link SzBulkLoadResponse} with the results for every data source and
+   * entity type).  Each update is sent in turn even if the client is slow to
+   * receive them.
+   */
+  FULL,
+
+  /**
+   * Each progress update is a compact {@link SzBulkLoadProgress} describing
+   * the changes since the previous update along with the current throughput.
+   * Updates are coalesced if the client is slow to receive them and a full
+   * snapshot is only sent on request and at completion.
+   */
+  DELTA;
+}
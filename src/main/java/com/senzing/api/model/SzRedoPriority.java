@@ -0,0 +1,20 @@
+package com.senzing.api.model;
+
+/**
+ * Enumerates the priorities with which the background redo processor uses
+ * the engine threads.
+ */
+public enum SzRedoPriority {
+  /**
+   * Redo records are only processed on engine threads that no other request
+   * (including bulk operations) is waiting for, so the redo processor yields
+   * to all other traffic.
+   */
+  LOW,
+
+  /**
+   * Redo records are processed on the engine threads with the same priority
+   * as all other requests.
+   */
+  NORMAL;
+}
@@ -0,0 +1,122 @@
+package com.senzing.api.model;
+
+import com.senzing.util.Timers;
+
+import javax.ws.rs.core.UriInfo;
+
+/**
+ * A response object that describes the state of the redo record queue and
+ * the throughput of the background redo processor.
+ *
+ */
+public class SzRedoProcessorResponse extends SzBasicResponse {
+  /**
+   * The {@link SzRedoProcessorStatus} describing the redo processing.
+   */
+  private SzRedoProcessorStatus status;
+
+  /**
+   * Default constructor.
+   */
+  public SzRedoProcessorResponse() {
+    this.status = null;
+  }
+
+  /**
+   * Constructs with only the HTTP method and the self link, leaving the
+   * redo processor status to be initialized later.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param selfLink The string URL link to generate this response.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   */
+  public SzRedoProcessorResponse(SzHttpMethod httpMethod,
+                                 int          httpStatusCode,
+                                 String       selfLink,
+                                 Timers       timers)
+  {
+    this(httpMethod, httpStatusCode, selfLink, timers, null);
+  }
+
+  /**
+   * Constructs with the HTTP method, self link and the {@link
+   * SzRedoProcessorStatus} describing the redo processing.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param selfLink The string URL link to generate this response.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   * @param status The {@link SzRedoProcessorStatus} describing the redo
+   *               processing.
+   */
+  public SzRedoProcessorResponse(
+      SzHttpMethod          httpMethod,
+      int                   httpStatusCode,
+      String                selfLink,
+      Timers                timers,
+      SzRedoProcessorStatus status)
+  {
+    super(httpMethod, httpStatusCode, selfLink, timers);
+    this.status = status;
+  }
+
+  /**
+   * Constructs with only the HTTP method and the {@link UriInfo}, leaving the
+   * redo processor status to be initialized later.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param uriInfo The {@link UriInfo} from the request.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   */
+  public SzRedoProcessorResponse(SzHttpMethod httpMethod,
+                                 int          httpStatusCode,
+                                 UriInfo      uriInfo,
+                                 Timers       timers) {
+    this(httpMethod, httpStatusCode, uriInfo, timers, null);
+  }
+
+  /**
+   * Constructs with the HTTP method, {@link UriInfo} and the {@link
+   * SzRedoProcessorStatus} describing the redo processing.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param uriInfo The {@link UriInfo} from the request.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   * @param status The {@link SzRedoProcessorStatus} describing the redo
+   *               processing.
+   */
+  public SzRedoProcessorResponse(
+      SzHttpMethod          httpMethod,
+      int                   httpStatusCode,
+      UriInfo               uriInfo,
+      Timers                timers,
+      SzRedoProcessorStatus status)
+  {
+    super(httpMethod, httpStatusCode, uriInfo, timers);
+    this.status = status;
+  }
+
+  /**
+   * Returns the data associated with this response which is an
+   * {@link SzRedoProcessorStatus}.
+   *
+   * @return The data associated with this response.
+   */
+  public SzRedoProcessorStatus getData() {
+    return this.status;
+  }
+
+  /**
+   * Sets the data associated with this response with an {@link
+   * SzRedoProcessorStatus}.
+   *
+   * @param status The {@link SzRedoProcessorStatus} describing the redo
+   *               processing.
+   */
+  public void setData(SzRedoProcessorStatus status) {
+    this.status = status;
+  }
+}
@@ -0,0 +1,237 @@
+package com.senzing.api.model;
+
+/**
+ * Describes the state of the redo record queue and the throughput of the
+ * background redo processor (if running).
+ */
+public class SzRedoProcessorStatus {
+  /**
+   * Whether or not the background redo processor is running.
+   */
+  private boolean running;
+
+  /**
+   * The number of threads processing redo records.
+   */
+  private int threadCount;
+
+  /**
+   * The {@link SzRedoPriority} with which redo records are processed.
+   */
+  private SzRedoPriority priority;
+
+  /**
+   * The number of redo records waiting to be processed.
+   */
+  private long pendingRedoCount;
+
+  /**
+   * The number of redo records that have been processed.
+   */
+  private long processedRedoCount;
+
+  /**
+   * The number of redo records that failed to process.
+   */
+  private long failedRedoCount;
+
+  /**
+   * The number of redo records processed per second over the last minute.
+   */
+  private double redosPerSecond;
+
+  /**
+   * The average number of redo records processed per second since the redo
+   * processor started.
+   */
+  private double averageRedosPerSecond;
+
+  /**
+   * Default constructor.
+   */
+  public SzRedoProcessorStatus() {
+    this.running                = false;
+    this.threadCount            = 0;
+    this.priority               = null;
+    this.pendingRedoCount       = 0L;
+    this.processedRedoCount     = 0L;
+    this.failedRedoCount        = 0L;
+    this.redosPerSecond         = 0.0;
+    this.averageRedosPerSecond  = 0.0;
+  }
+
+  /**
+   * Checks whether or not the background redo processor is running.
+   *
+   * @return <tt>true</tt> if the background redo processor is running,
+   *         otherwise <tt>false</tt>.
+   */
+  public boolean isRunning() {
+    return this.running;
+  }
+
+  /**
+   * Sets whether or not the background redo processor is running.
+   *
+   * @param running <tt>true</tt> if the background redo processor is
+   *                running, otherwise <tt>false</tt>.
+   */
+  public void setRunning(boolean running) {
+    this.running = running;
+  }
+
+  /**
+   * Gets the number of threads processing redo records.
+   *
+   * @return The number of threads processing redo records.
+   */
+  public int getThreadCount() {
+    return this.threadCount;
+  }
+
+  /**
+   * Sets the number of threads processing redo records.
+   *
+   * @param threadCount The number of threads processing redo records.
+   */
+  public void setThreadCount(int threadCount) {
+    this.threadCount = threadCount;
+  }
+
+  /**
+   * Gets the {@link SzRedoPriority} with which redo records are processed.
+   *
+   * @return The {@link SzRedoPriority} with which redo records are processed,
+   *         or <tt>null</tt> if the redo processor is not running.
+   */
+  public SzRedoPriority getPriority() {
+    return this.priority;
+  }
+
+  /**
+   * Sets the {@link SzRedoPriority} with which redo records are processed.
+   *
+   * @param priority The {@link SzRedoPriority} with which redo records are
+   *                 processed, or <tt>null</tt> if the redo processor is not
+   *                 running.
+   */
+  public void setPriority(SzRedoPriority priority) {
+    this.priority = priority;
+  }
+
+  /**
+   * Gets the number of redo records waiting to be processed.
+   *
+   * @return The number of redo records waiting to be processed.
+   */
+  public long getPendingRedoCount() {
+    return this.pendingRedoCount;
+  }
+
+  /**
+   * Sets the number of redo records waiting to be processed.
+   *
+   * @param pendingRedoCount The number of redo records waiting to be
+   *                         processed.
+   */
+  public void setPendingRedoCount(long pendingRedoCount) {
+    this.pendingRedoCount = pendingRedoCount;
+  }
+
+  /**
+   * Gets the number of redo records that have been processed.
+   *
+   * @return The number of redo records that have been processed.
+   */
+  public long getProcessedRedoCount() {
+    return this.processedRedoCount;
+  }
+
+  /**
+   * Sets the number of redo records that have been processed.
+   *
+   * @param processedRedoCount The number of redo records that have been
+   *                           processed.
+   */
+  public void setProcessedRedoCount(long processedRedoCount) {
+    this.processedRedoCount = processedRedoCount;
+  }
+
+  /**
+   * Gets the number of redo records that failed to process.
+   *
+   * @return The number of redo records that failed to process.
+   */
+  public long getFailedRedoCount() {
+    return this.failedRedoCount;
+  }
+
+  /**
+   * Sets the number of redo records that failed to process.
+   *
+   * @param failedRedoCount The number of redo records that failed to
+   *                        process.
+   */
+  public void setFailedRedoCount(long failedRedoCount) {
+    this.failedRedoCount = failedRedoCount;
+  }
+
+  /**
+   * Gets the number of redo records processed per second over the last
+   * minute.
+   *
+   * @return The number of redo records processed per second over the last
+   *         minute.
+   */
+  public double getRedosPerSecond() {
+    return this.redosPerSecond;
+  }
+
+  /**
+   * Sets the number of redo records processed per second over the last
+   * minute.
+   *
+   * @param redosPerSecond The number of redo records processed per second
+   *                       over the last minute.
+   */
+  public void setRedosPerSecond(double redosPerSecond) {
+    this.redosPerSecond = redosPerSecond;
+  }
+
+  /**
+   * Gets the average number of redo records processed per second since the
+   * redo processor started.
+   *
+   * @return The average number of redo records processed per second since
+   *         the redo processor started.
+   */
+  public double getAverageRedosPerSecond() {
+    return this.averageRedosPerSecond;
+  }
+
+  /**
+   * Sets the average number of redo records processed per second since the
+   * redo processor started.
+   *
+   * @param averageRedosPerSecond The average number of redo records
+   *                              processed per second since the redo
+   *                              processor started.
+   */
+  public void setAverageRedosPerSecond(double averageRedosPerSecond) {
+    this.averageRedosPerSecond = averageRedosPerSecond;
+  }
+
+  @Override
+  public String toString() {
+    return "SzRedoProcessorStatus{" +
+        "running=" + running +
+        ", threadCount=" + threadCount +
+        ", priority=" + priority +
+        ", pendingRedoCount=" + pendingRedoCount +
+        ", processedRedoCount=" + processedRedoCount +
+        ", failedRedoCount=" + failedRedoCount +
+        ", redosPerSecond=" + redosPerSecond +
+        ", averageRedosPerSecond=" + averageRedosPerSecond +
+        '}';
+  }
+}
@@ -2,6 +2,7 @@ package com.senzing.api.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.senzing.util.CodeInterner;
 import com.senzing.util.JsonUtils;
 
 import javax.json.JsonArray;
@@ -783,6 +784,7 @@ public class SzResolvedEntity {
 
     if (jsonObject.containsKey("FEATURES")) {
       JsonObject features = jsonObject.getJsonObject("FEATURES");
+      CodeInterner interner = CodeInterner.getCurrent();
       for (String key : features.keySet()) {
         JsonArray jsonArray = features.getJsonArray(key);
         List<SzEntityFeature> featureValues
@@ -790,7 +792,8 @@ public class SzResolvedEntity {
         if (featureMap == null) {
           featureMap = new LinkedHashMap<>();
         }
-        featureMap.put(key, featureValues);
+        // intern the feature type against the config
+        featureMap.put(interner.intern(key), featureValues);
       }
 
       if (featureMap != null) {
@@ -0,0 +1,216 @@
+package com.senzing.api.model;
+
+/**
+ * Describes a running bulk operation (e.g.: a bulk load) with its weight and
+ * share of the engine threads and its throughput.
+ */
+public class SzScheduledBulkLoad {
+  /**
+   * The ID with which the bulk operation is scheduled.
+   */
+  private String id;
+
+  /**
+   * The weight of the bulk operation.
+   */
+  private int weight;
+
+  /**
+   * The share of the engine threads for the bulk operation as a fraction of
+   * the total weight of the running bulk operations.
+   */
+  private double share;
+
+  /**
+   * The number of engine threads currently processing records for the bulk
+   * operation.
+   */
+  private int activeThreadCount;
+
+  /**
+   * The number of records processed by the engine for the bulk operation.
+   */
+  private long recordCount;
+
+  /**
+   * The average number of records processed per second by the engine for
+   * the bulk operation.
+   */
+  private double recordsPerSecond;
+
+  /**
+   * Default constructor.
+   */
+  public SzScheduledBulkLoad() {
+    this(null, 0, 0.0, 0, 0L, 0.0);
+  }
+
+  /**
+   * Constructs with the specified parameters.
+   *
+   * @param id The ID with which the bulk operation is scheduled.
+   *
+   * @param weight The weight of the bulk operation.
+   *
+   * @param share The share of the engine threads for the bulk operation as a
+   *              fraction of the total weight of the running bulk operations.
+   *
+   * @param activeThreadCount The number of engine threads currently
+   *                          processing records for the bulk operation.
+   *
+   * @param recordCount The number of records processed by the engine for the
+   *                    bulk operation.
+   *
+   * @param recordsPerSecond The average number of records processed per
+   *                         second by the engine for the bulk operation.
+   */
+  public SzScheduledBulkLoad(String id,
+                             int    weight,
+                             double share,
+                             int    activeThreadCount,
+                             long   recordCount,
+                             double recordsPerSecond)
+  {
+    this.id                 = id;
+    this.weight             = weight;
+    this.share              = share;
+    this.activeThreadCount  = activeThreadCount;
+    this.recordCount        = recordCount;
+    this.recordsPerSecond   = recordsPerSecond;
+  }
+
+  /**
+   * Gets the ID with which the bulk operation is scheduled.  This is the
+   * load ID if one was specified and unique, otherwise it is generated.
+   *
+   * @return The ID with which the bulk operation is scheduled.
+   */
+  public String getId() {
+    return this.id;
+  }
+
+  /**
+   * Sets the ID with which the bulk operation is scheduled.
+   *
+   * @param id The ID with which the bulk operation is scheduled.
+   */
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  /**
+   * Gets the weight of the bulk operation.
+   *
+   * @return The weight of the bulk operation.
+   */
+  public int getWeight() {
+    return this.weight;
+  }
+
+  /**
+   * Sets the weight of the bulk operation.
+   *
+   * @param weight The weight of the bulk operation.
+   */
+  public void setWeight(int weight) {
+    this.weight = weight;
+  }
+
+  /**
+   * Gets the share of the engine threads for the bulk operation as a
+   * fraction of the total weight of the running bulk operations.
+   *
+   * @return The share of the engine threads for the bulk operation.
+   */
+  public double getShare() {
+    return this.share;
+  }
+
+  /**
+   * Sets the share of the engine threads for the bulk operation as a
+   * fraction of the total weight of the running bulk operations.
+   *
+   * @param share The share of the engine threads for the bulk operation.
+   */
+  public void setShare(double share) {
+    this.share = share;
+  }
+
+  /**
+   * Gets the number of engine threads currently processing records for the
+   * bulk operation.
+   *
+   * @return The number of engine threads currently processing records for
+   *         the bulk operation.
+   */
+  public int getActiveThreadCount() {
+    return this.activeThreadCount;
+  }
+
+  /**
+   * Sets the number of engine threads currently processing records for the
+   * bulk operation.
+   *
+   * @param activeThreadCount The number of engine threads currently
+   *                          processing records for the bulk operation.
+   */
+  public void setActiveThreadCount(int activeThreadCount) {
+    this.activeThreadCount = activeThreadCount;
+  }
+
+  /**
+   * Gets the number of records processed by the engine for the bulk
+   * operation.
+   *
+   * @return The number of records processed by the engine for the bulk
+   *         operation.
+   */
+  public long getRecordCount() {
+    return this.recordCount;
+  }
+
+  /**
+   * Sets the number of records processed by the engine for the bulk
+   * operation.
+   *
+   * @param recordCount The number of records processed by the engine for
+   *                    the bulk operation.
+   */
+  public void setRecordCount(long recordCount) {
+    this.recordCount = recordCount;
+  }
+
+  /**
+   * Gets the average number of records processed per second by the engine
+   * for the bulk operation.
+   *
+   * @return The average number of records processed per second by the
+   *         engine for the bulk operation.
+   */
+  public double getRecordsPerSecond() {
+    return this.recordsPerSecond;
+  }
+
+  /**
+   * Sets the average number of records processed per second by the engine
+   * for the bulk operation.
+   *
+   * @param recordsPerSecond The average number of records processed per
+   *                         second by the engine for the bulk operation.
+   */
+  public void setRecordsPerSecond(double recordsPerSecond) {
+    this.recordsPerSecond = recordsPerSecond;
+  }
+
+  @Override
+  public String toString() {
+    return "SzScheduledBulkLoad{" +
+        "id='" + id + '\'' +
+        ", weight=" + weight +
+        ", share=" + share +
+        ", activeThreadCount=" + activeThreadCount +
+        ", recordCount=" + recordCount +
+        ", recordsPerSecond=" + recordsPerSecond +
+        '}';
+  }
+}
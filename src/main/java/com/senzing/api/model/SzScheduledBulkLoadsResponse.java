@@ -0,0 +1,132 @@
+package com.senzing.api.model;
+
+import com.senzing.util.Timers;
+
+import javax.ws.rs.core.UriInfo;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A response object that contains the running bulk operations with their
+ * shares of the engine threads and their throughput.
+ *
+ */
+public class SzScheduledBulkLoadsResponse extends SzBasicResponse {
+  /**
+   * The {@link List} of {@link SzScheduledBulkLoad} instances describing the
+   * running bulk operations.
+   */
+  private List<SzScheduledBulkLoad> loads;
+
+  /**
+   * Default constructor.
+   */
+  public SzScheduledBulkLoadsResponse() {
+    this.loads = new ArrayList<>();
+  }
+
+  /**
+   * Constructs with only the HTTP method and the self link, leaving the
+   * scheduled bulk loads to be initialized later.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param selfLink The string URL link to generate this response.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   */
+  public SzScheduledBulkLoadsResponse(SzHttpMethod httpMethod,
+                                      int          httpStatusCode,
+                                      String       selfLink,
+                                      Timers       timers)
+  {
+    this(httpMethod, httpStatusCode, selfLink, timers, null);
+  }
+
+  /**
+   * Constructs with the HTTP method, self link and the {@link Collection} of
+   * {@link SzScheduledBulkLoad} instances describing the running bulk
+   * operations.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param selfLink The string URL link to generate this response.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   * @param loads The {@link Collection} of {@link SzScheduledBulkLoad}
+   *              instances describing the running bulk operations.
+   */
+  public SzScheduledBulkLoadsResponse(
+      SzHttpMethod                    httpMethod,
+      int                             httpStatusCode,
+      String                          selfLink,
+      Timers                          timers,
+      Collection<SzScheduledBulkLoad> loads)
+  {
+    super(httpMethod, httpStatusCode, selfLink, timers);
+    this.loads = new ArrayList<>();
+    this.setData(loads);
+  }
+
+  /**
+   * Constructs with only the HTTP method and the {@link UriInfo}, leaving the
+   * scheduled bulk loads to be initialized later.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param uriInfo The {@link UriInfo} from the request.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   */
+  public SzScheduledBulkLoadsResponse(SzHttpMethod httpMethod,
+                                      int          httpStatusCode,
+                                      UriInfo      uriInfo,
+                                      Timers       timers) {
+    this(httpMethod, httpStatusCode, uriInfo, timers, null);
+  }
+
+  /**
+   * Constructs with the HTTP method, {@link UriInfo} and the {@link
+   * Collection} of {@link SzScheduledBulkLoad} instances describing the
+   * running bulk operations.
+   *
+   * @param httpMethod The {@link SzHttpMethod}.
+   * @param httpStatusCode The HTTP response status code.
+   * @param uriInfo The {@link UriInfo} from the request.
+   * @param timers The {@link Timers} object for the timings that were taken.
+   * @param loads The {@link Collection} of {@link SzScheduledBulkLoad}
+   *              instances describing the running bulk operations.
+   */
+  public SzScheduledBulkLoadsResponse(
+      SzHttpMethod                    httpMethod,
+      int                             httpStatusCode,
+      UriInfo                         uriInfo,
+      Timers                          timers,
+      Collection<SzScheduledBulkLoad> loads)
+  {
+    super(httpMethod, httpStatusCode, uriInfo, timers);
+    this.loads = new ArrayList<>();
+    this.setData(loads);
+  }
+
+  /**
+   * Returns the data associated with this response which is an unmodifiable
+   * {@link List} of {@link SzScheduledBulkLoad} instances.
+   *
+   * @return The data associated with this response.
+   */
+  public List<SzScheduledBulkLoad> getData() {
+    return Collections.unmodifiableList(this.loads);
+  }
+
+  /**
+   * Sets the data associated with this response with a {@link Collection} of
+   * {@link SzScheduledBulkLoad} instances.
+   *
+   * @param loads The {@link Collection} of {@link SzScheduledBulkLoad}
+   *              instances describing the running bulk operations.
+   */
+  public void setData(Collection<SzScheduledBulkLoad> loads) {
+    this.loads.clear();
+    if (loads != null) this.loads.addAll(loads);
+  }
+}
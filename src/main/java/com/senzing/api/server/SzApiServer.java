@@ -19,6 +19,13 @@ import java.util.regex.Pattern;
 import com.senzing.api.BuildInfo;
 import com.senzing.api.server.mq.SzMessagingEndpoint;
 import com.senzing.api.server.mq.SzMessagingEndpointFactory;
+import com.senzing.api.server.mq.SzMessageSource;
+import com.senzing.api.server.mq.SzMessageSourceFactory;
+import com.senzing.api.server.mq.SzAsyncMessagingEndpoint;
+import com.senzing.api.server.mq.SzSpoolingMessagingEndpoint;
+import com.senzing.api.server.mq.SzCoalescingMessagingEndpoint;
+import com.senzing.api.server.mq.SzAbstractMessagingEndpoint;
+import com.senzing.api.server.mq.SzLatencyHistogram;
 import com.senzing.api.services.SzMessageSink;
 import com.senzing.api.model.SzVersionInfo;
 import com.senzing.api.websocket.WebSocketFilter;
@@ -26,11 +33,21 @@ import com.senzing.cmdline.CommandLineValue;
 import com.senzing.nativeapi.EngineStatsLoggingHandler;
 import com.senzing.nativeapi.NativeApiFactory;
 import com.senzing.api.services.SzApiProvider;
+import com.senzing.api.services.BulkFileLoader;
+import com.senzing.api.services.BulkFileWatcher;
+import com.senzing.api.services.RedoProcessor;
+import com.senzing.api.services.LoadQueueProcessor;
 import com.senzing.api.model.SzLicenseInfo;
+import com.senzing.api.model.SzBulkFileLoadResult;
+import com.senzing.api.model.SzRedoPriority;
+import com.senzing.api.model.SzFullBufferPolicy;
+import com.senzing.api.model.SzInfoCoalescingMode;
+import com.senzing.api.model.SzInfoQueueStatus;
 import com.senzing.cmdline.CommandLineUtilities;
 import com.senzing.configmgr.ConfigurationManager;
 import com.senzing.g2.engine.*;
 import com.senzing.repomgr.RepositoryManager;
+import com.senzing.util.CodeInterner;
 import com.senzing.util.JsonUtils;
 import com.senzing.util.WorkerThreadPool;
 import com.senzing.util.AccessToken;
@@ -306,6 +323,36 @@ public class SzApiServer implements SzApiProvider {
    */
   private FileMonitor fileMonitor;
 
+  /**
+   * The directory for the bulk load journals, or <tt>null</tt> if bulk loads
+   * are not journaled.
+   */
+  private File loadJournalDirectory;
+
+  /**
+   * The path or glob pattern of the files to load once the server has
+   * started, or <tt>null</tt> if none.
+   */
+  private String loadPath;
+
+  /**
+   * The {@link BulkFileWatcher} thread that loads files as they land in the
+   * watched directory, or <tt>null</tt> if no directory is watched.
+   */
+  private BulkFileWatcher fileWatcher;
+
+  /**
+   * The {@link RedoProcessor} that processes the redo records in the
+   * background, or <tt>null</tt> if redo records are not processed.
+   */
+  private RedoProcessor redoProcessor;
+
+  /**
+   * The {@link LoadQueueProcessor} that consumes the record load and delete
+   * messages from the load queue, or <tt>null</tt> if there is no load queue.
+   */
+  private LoadQueueProcessor loadQueueProcessor;
+
   /**
    * The module name for initializing the API.
    */
@@ -615,6 +662,11 @@ public class SzApiServer implements SzApiProvider {
     return WEB_SOCKETS_MESSAGE_MAX_SIZE;
   }
 
+  @Override
+  public File getLoadJournalDirectory() {
+    return this.loadJournalDirectory;
+  }
+
   @Override
   public boolean hasLoadSink() {
     return (this.loadEndpoint != null);
@@ -655,6 +707,66 @@ public class SzApiServer implements SzApiProvider {
     this.infoEndpoint.releaseMessageSink(sink);
   }
 
+  @Override
+  public SzInfoQueueStatus getInfoQueueStatus() {
+    if (this.infoEndpoint == null) return null;
+    SzInfoQueueStatus status = new SzInfoQueueStatus();
+    status.setConfigured(true);
+
+    // report the counts of each decorator along with the send latency of
+    // the underlying endpoint if measured
+    SzMessagingEndpoint target = this.infoEndpoint;
+    while (true) {
+      if (target instanceof SzCoalescingMessagingEndpoint) {
+        SzCoalescingMessagingEndpoint endpoint
+            = (SzCoalescingMessagingEndpoint) target;
+        status.setCoalesced(true);
+        status.setCoalescingMode(endpoint.getMode());
+        status.setCoalescedCount(endpoint.getCoalescedCount());
+        status.setCompactedCount(endpoint.getCompactedCount());
+        target = endpoint.getEndpoint();
+
+      } else if (target instanceof SzAsyncMessagingEndpoint) {
+        SzAsyncMessagingEndpoint endpoint
+            = (SzAsyncMessagingEndpoint) target;
+        status.setAsynchronous(true);
+        status.setBufferCapacity(endpoint.getBufferCapacity());
+        status.setFullPolicy(endpoint.getFullPolicy());
+        status.setBacklogCount(endpoint.getBacklogCount());
+        status.setEnqueuedCount(endpoint.getEnqueuedCount());
+        status.setSentCount(endpoint.getSentCount());
+        status.setBatchCount(endpoint.getBatchCount());
+        status.setRetriedCount(endpoint.getRetriedCount());
+        status.setDroppedCount(endpoint.getDroppedCount());
+        status.setFailedCount(endpoint.getFailedCount());
+        target = endpoint.getEndpoint();
+
+      } else if (target instanceof SzSpoolingMessagingEndpoint) {
+        SzSpoolingMessagingEndpoint endpoint
+            = (SzSpoolingMessagingEndpoint) target;
+        status.setAsynchronous(true);
+        status.setSpooled(true);
+        status.setBacklogCount(endpoint.getBacklogCount());
+        status.setSpoolBacklogBytes(endpoint.getBacklogBytes());
+        status.setEnqueuedCount(endpoint.getSpooledCount());
+        status.setSentCount(endpoint.getForwardedCount());
+        status.setBatchCount(endpoint.getBatchCount());
+        status.setRetriedCount(endpoint.getRetriedCount());
+        status.setFailedCount(endpoint.getFailedCount());
+        target = endpoint.getEndpoint();
+
+      } else {
+        break;
+      }
+    }
+    if (target instanceof SzAbstractMessagingEndpoint) {
+      SzLatencyHistogram histogram
+          = ((SzAbstractMessagingEndpoint) target).getSendLatency();
+      if (histogram != null) status.setSendLatency(histogram.toStatistics());
+    }
+    return status;
+  }
+
   @Override
   public String getApiProviderVersion() {
     if (this.versionInfo == null) return null;
@@ -933,6 +1045,177 @@ public class SzApiServer implements SzApiProvider {
               File f = new File(params.get(0));
               return new FileMonitor(f);
 
+            case LOAD_JOURNAL_DIR: {
+              File dir = new File(params.get(0));
+              if (dir.exists() && !dir.isDirectory()) {
+                throw new IllegalArgumentException(
+                    "Specified load journal directory exists but is not a "
+                    + "directory: " + dir);
+              }
+              return dir;
+            }
+
+            case LOAD_PATH: {
+              String path = params.get(0).trim();
+              if (path.length() == 0) {
+                throw new IllegalArgumentException(
+                    "The load path cannot be empty.");
+              }
+              return path;
+            }
+
+            case INFO_QUEUE_SPOOL_DIR: {
+              File dir = new File(params.get(0));
+              if (dir.exists() && !dir.isDirectory()) {
+                throw new IllegalArgumentException(
+                    "Specified info queue spool directory is not a "
+                    + "directory: " + dir);
+              }
+              return dir;
+            }
+
+            case WATCH_DIR: {
+              File dir = new File(params.get(0));
+              if (!dir.isDirectory()) {
+                throw new IllegalArgumentException(
+                    "Specified watch directory does not exist or is not a "
+                    + "directory: " + dir);
+              }
+              return dir;
+            }
+
+            case REDO_THREADS: {
+              int threadCount;
+              try {
+                threadCount = Integer.parseInt(params.get(0));
+              } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                    "Redo thread count must be an integer: " + params.get(0));
+              }
+              if (threadCount <= 0) {
+                throw new IllegalArgumentException(
+                    "Redo thread count must be positive: " + threadCount);
+              }
+              return threadCount;
+            }
+
+            case LOAD_QUEUE_THREADS: {
+              int threadCount;
+              try {
+                threadCount = Integer.parseInt(params.get(0));
+              } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                    "Load queue thread count must be an integer: "
+                    + params.get(0));
+              }
+              if (threadCount <= 0) {
+                throw new IllegalArgumentException(
+                    "Load queue thread count must be positive: "
+                    + threadCount);
+              }
+              return threadCount;
+            }
+
+            case REDO_PRIORITY: {
+              try {
+                return SzRedoPriority.valueOf(
+                    params.get(0).trim().toUpperCase());
+              } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                    "Redo priority must be \"low\" or \"normal\": "
+                    + params.get(0));
+              }
+            }
+
+            case INFO_QUEUE_BUFFER_SIZE: {
+              int bufferSize;
+              try {
+                bufferSize = Integer.parseInt(params.get(0));
+              } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                    "Info queue buffer size must be an integer: "
+                    + params.get(0));
+              }
+              if (bufferSize <= 0) {
+                throw new IllegalArgumentException(
+                    "Info queue buffer size must be positive: " + bufferSize);
+              }
+              return bufferSize;
+            }
+
+            case INFO_QUEUE_FULL_POLICY: {
+              try {
+                return SzFullBufferPolicy.valueOf(
+                    params.get(0).trim().toUpperCase().replace('-', '_'));
+              } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                    "Info queue full policy must be \"block\", "
+                    + "\"drop-newest\", \"drop-oldest\" or \"caller-sends\": "
+                    + params.get(0));
+              }
+            }
+
+            case INFO_COALESCE_WINDOW: {
+              long windowMillis;
+              try {
+                windowMillis = Long.parseLong(params.get(0));
+              } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                    "Info coalesce window must be an integer: "
+                    + params.get(0));
+              }
+              if (windowMillis <= 0L) {
+                throw new IllegalArgumentException(
+                    "Info coalesce window must be positive: " + windowMillis);
+              }
+              return windowMillis;
+            }
+
+            case INFO_COALESCE_COUNT: {
+              int windowCount;
+              try {
+                windowCount = Integer.parseInt(params.get(0));
+              } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                    "Info coalesce count must be an integer: "
+                    + params.get(0));
+              }
+              if (windowCount <= 0) {
+                throw new IllegalArgumentException(
+                    "Info coalesce count must be positive: " + windowCount);
+              }
+              return windowCount;
+            }
+
+            case INFO_COALESCE_MODE: {
+              try {
+                return SzInfoCoalescingMode.valueOf(
+                    params.get(0).trim().toUpperCase().replace('-', '_'));
+              } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                    "Info coalesce mode must be \"alongside\" or "
+                    + "\"instead\": " + params.get(0));
+              }
+            }
+
+            case KAFKA_INFO_LINGER_MS:
+            case KAFKA_INFO_BATCH_SIZE: {
+              int value;
+              try {
+                value = Integer.parseInt(params.get(0));
+              } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                    "The " + option.getCommandLineFlag() + " option must be "
+                    + "an integer: " + params.get(0));
+              }
+              if (value < 0) {
+                throw new IllegalArgumentException(
+                    "The " + option.getCommandLineFlag() + " option must not "
+                    + "be negative: " + value);
+              }
+              return value;
+            }
+
             case HTTP_PORT: {
               int port = Integer.parseInt(params.get(0));
               if (port < 0) {
@@ -1004,9 +1287,22 @@ public class SzApiServer implements SzApiProvider {
             case RABBIT_INFO_EXCHANGE:
             case RABBIT_INFO_ROUTING_KEY:
             case SQS_INFO_URL:
+            case FILE_INFO_PATH:
+            case INFO_URL:
+            case KAFKA_LOAD_BOOTSTRAP_SERVER:
+            case KAFKA_LOAD_GROUP:
+            case KAFKA_LOAD_TOPIC:
+            case RABBIT_LOAD_HOST:
+            case RABBIT_LOAD_USER:
+            case RABBIT_LOAD_PASSWORD:
+            case RABBIT_LOAD_VIRTUAL_HOST:
+            case RABBIT_LOAD_QUEUE:
+            case SQS_LOAD_URL:
+            case FILE_LOAD_PATH:
               return params.get(0);
 
-            case RABBIT_INFO_PORT: {
+            case RABBIT_INFO_PORT:
+            case RABBIT_LOAD_PORT: {
               int port = Integer.parseInt(params.get(0));
               if (port < 0) {
                 throw new IllegalArgumentException(
@@ -1412,6 +1708,47 @@ public class SzApiServer implements SzApiProvider {
         "        determine when to shutdown.",
         "        --> VIA ENVIRONMENT: " + MONITOR_FILE.getEnvironmentVariable(),
         "",
+        "   --load-journal-dir <directory-path>",
+        "        Also -loadJournalDir.  Specifies a directory in which bulk loads that",
+        "        are given an explicit load ID record a journal of durable checkpoints",
+        "        so that an interrupted load can be resumed.  The directory is created",
+        "        if it does not exist.  This option is not allowed with --read-only.",
+        "        --> VIA ENVIRONMENT: " + LOAD_JOURNAL_DIR.getEnvironmentVariable(),
+        "",
+        "   --load-path <path-or-glob>",
+        "        Also -loadPath.  Specifies a file, directory or glob pattern (e.g.:",
+        "        \"/data/incoming/*.jsonl.gz\") identifying files local to the server",
+        "        whose records are loaded once the server has started.  The format",
+        "        of each file is determined by its extension (.json, .jsonl or .csv",
+        "        optionally followed by .gz, or .zip) and no data source mapping is",
+        "        applied.  This option is not allowed with --read-only.",
+        "        --> VIA ENVIRONMENT: " + LOAD_PATH.getEnvironmentVariable(),
+        "",
+        "   --watch-dir <directory-path>",
+        "        Also -watchDir.  Specifies a directory local to the server that is",
+        "        watched for new files whose records are loaded as they land.  Each",
+        "        file is loaded once it stops changing and is then moved to the",
+        "        \"loaded\" or \"failed\" sub-directory.  Files with a hidden name or",
+        "        a .tmp or .part suffix are ignored.  This option is not allowed",
+        "        with --read-only.",
+        "        --> VIA ENVIRONMENT: " + WATCH_DIR.getEnvironmentVariable(),
+        "",
+        "   --redo-threads <thread-count>",
+        "        Also -redoThreads.  Enables processing of the redo records generated",
+        "        by the engine in the background using the specified number of",
+        "        threads.  The info for each processed redo record is sent to the",
+        "        asynchronous info queue if one is configured.  This option is not",
+        "        allowed with --read-only.",
+        "        --> VIA ENVIRONMENT: " + REDO_THREADS.getEnvironmentVariable(),
+        "",
+        "   --redo-priority <low|normal>",
+        "        Also -redoPriority.  Sets the priority with which the background",
+        "        redo processing uses the engine threads.  With \"low\" priority an",
+        "        engine thread is only used for a redo record when no other request",
+        "        is waiting for one.  The default is \"low\".  This option only",
+        "        applies if --redo-threads is specified.",
+        "        --> VIA ENVIRONMENT: " + REDO_PRIORITY.getEnvironmentVariable(),
+        "",
         "[ Asynchronous Info Queue Options ]",
         "   The following options pertain to configuring an asynchronous message",
         "   queue on which to send \"info\" messages generated when records are",
@@ -1421,6 +1758,78 @@ public class SzApiServer implements SzApiProvider {
         "   generate an info message.  The info messages that are sent on the queue",
         "   (or topic) are the relevant \"raw data\" JSON segments.",
         "",
+        "   --info-queue-buffer-size <message-count>",
+        "        Also -infoQueueBufferSize.  Sends the info messages asynchronously",
+        "        by buffering up to the specified number of messages which are sent",
+        "        in batches by a background publisher thread.  Messages that fail",
+        "        to send are retried.  If not specified then info messages are sent",
+        "        synchronously.  This option requires an info queue and is not",
+        "        allowed with --read-only.",
+        "        --> VIA ENVIRONMENT: " + INFO_QUEUE_BUFFER_SIZE.getEnvironmentVariable(),
+        "",
+        "   --info-queue-full-policy <policy>",
+        "        Also -infoQueueFullPolicy.  Sets how an info message is handled when",
+        "        the asynchronous info queue buffer is full.  The policy is one of:",
+        "          block        : waits for room in the buffer (the default)",
+        "          drop-newest  : drops the message being sent",
+        "          drop-oldest  : drops the oldest buffered message",
+        "          caller-sends : sends the message without buffering it",
+        "        Dropped messages are logged as failed info messages.  This option",
+        "        only applies if --info-queue-buffer-size is specified.",
+        "        --> VIA ENVIRONMENT: " + INFO_QUEUE_FULL_POLICY.getEnvironmentVariable(),
+        "",
+        "   --info-queue-spool-dir <directory-path>",
+        "        Also -infoQueueSpoolDir.  Spools the info messages to a durable",
+        "        write-ahead log in the specified local directory from which they",
+        "        are forwarded to the info queue.  Sending an info message then only",
+        "        waits for the local disk and spooled messages are kept while the",
+        "        info queue is unavailable, including across restarts.  This option",
+        "        requires an info queue, is not allowed with --info-queue-buffer-size",
+        "        and is not allowed with --read-only.",
+        "        --> VIA ENVIRONMENT: " + INFO_QUEUE_SPOOL_DIR.getEnvironmentVariable(),
+        "",
+        "   --info-coalesce-window <milliseconds>",
+        "        Also -infoCoalesceWindow.  Coalesces the affected entities of the info",
+        "        messages over the specified number of milliseconds into a single",
+        "        compacted info message with the deduplicated affected entities and",
+        "        the union of the flagged entities.  This option requires an info",
+        "        queue and is not allowed with --read-only.",
+        "        --> VIA ENVIRONMENT: " + INFO_COALESCE_WINDOW.getEnvironmentVariable(),
+        "",
+        "   --info-coalesce-count <message-count>",
+        "        Also -infoCoalesceCount.  Coalesces the affected entities of the",
+        "        specified number of info messages into a single compacted info",
+        "        message.  If combined with --info-coalesce-window then a window is",
+        "        closed at whichever limit is reached first.  This option requires an",
+        "        info queue and is not allowed with --read-only.",
+        "        --> VIA ENVIRONMENT: " + INFO_COALESCE_COUNT.getEnvironmentVariable(),
+        "",
+        "   --info-coalesce-mode <mode>",
+        "        Also -infoCoalesceMode.  Sets whether the compacted info messages are",
+        "        sent alongside or instead of the raw info messages.  The mode is one",
+        "        of:",
+        "          alongside : sends the raw and compacted messages (the default)",
+        "          instead   : sends only the compacted messages",
+        "        Info messages without affected or flagged entities are always sent.",
+        "        This option only applies if --info-coalesce-window or",
+        "        --info-coalesce-count is specified.",
+        "        --> VIA ENVIRONMENT: " + INFO_COALESCE_MODE.getEnvironmentVariable(),
+        "",
+        "   --file-info-path <file-path>",
+        "        Also -fileInfoPath.  Specifies a local file to which the info messages",
+        "        are appended as lines of JSON in place of an info queue.  This is",
+        "        intended for testing and inspecting the info messages.",
+        "        --> VIA ENVIRONMENT: " + FILE_INFO_PATH.getEnvironmentVariable(),
+        "",
+        "   --info-url <url>",
+        "        Also -infoUrl.  Specifies an in-process endpoint for the info messages",
+        "        in place of an info queue for benchmarking and testing.  The URL is",
+        "        either mem://<name>?capacity=<message-count> for a bounded in-memory",
+        "        queue or file://<path>?segmentSize=<bytes>&segmentCount=<count> for a",
+        "        file of JSON lines that is rolled into segments.  The latency of",
+        "        sending the info messages is reported with the info queue status.",
+        "        --> VIA ENVIRONMENT: " + INFO_URL.getEnvironmentVariable(),
+        "",
         "   --sqs-info-url <url>",
         "        Also -sqsInfoUrl.  Specifies an Amazon SQS queue URL as the info queue.",
         "        --> VIA ENVIRONMENT: " + SQS_INFO_URL.getEnvironmentVariable(),
@@ -1499,6 +1908,89 @@ public class SzApiServer implements SzApiProvider {
         "        Kafka as part of specifying a Kafka info topic.",
         "        --> VIA ENVIRONMENT: " + KAFKA_INFO_TOPIC.getEnvironmentVariable(),
         "",
+        "   --kafka-info-linger-ms <milliseconds>",
+        "        Also -kafkaInfoLingerMs.  Used to specify how long the Kafka producer",
+        "        waits to group info messages into a batch (\"linger.ms\").",
+        "        --> VIA ENVIRONMENT: " + KAFKA_INFO_LINGER_MS.getEnvironmentVariable(),
+        "",
+        "   --kafka-info-batch-size <bytes>",
+        "        Also -kafkaInfoBatchSize.  Used to specify the maximum size of a batch",
+        "        of info messages sent by the Kafka producer (\"batch.size\").",
+        "        --> VIA ENVIRONMENT: " + KAFKA_INFO_BATCH_SIZE.getEnvironmentVariable(),
+        "",
+        "[ Load Queue Options ]",
+        "   The following options pertain to configuring a message queue from",
+        "   which record load and delete messages are consumed.  At most one such",
+        "   queue can be configured.  Each message body is the JSON record and the",
+        "   \"operation\" message property is either \"load\" (the default) or",
+        "   \"delete\".  Messages for the same record are processed in the order",
+        "   they are received and each message is only acknowledged once the",
+        "   engine has committed the operation.  These options are not allowed",
+        "   with --read-only.",
+        "",
+        "   --load-queue-threads <thread-count>",
+        "        Also -loadQueueThreads.  Specifies the number of threads with which",
+        "        to process the load queue messages.  The default is the engine",
+        "        concurrency.  This option requires a load queue.",
+        "        --> VIA ENVIRONMENT: " + LOAD_QUEUE_THREADS.getEnvironmentVariable(),
+        "",
+        "   --file-load-path <file-path>",
+        "        Also -fileLoadPath.  Specifies a local file whose lines are consumed",
+        "        as the load queue messages in place of a message queue.  The file",
+        "        is tailed for appended lines and the offset of the acknowledged",
+        "        lines is checkpointed alongside it.  This is intended for testing.",
+        "        --> VIA ENVIRONMENT: " + FILE_LOAD_PATH.getEnvironmentVariable(),
+        "",
+        "   --sqs-load-url <url>",
+        "        Also -sqsLoadUrl.  Specifies an Amazon SQS queue URL as the load queue.",
+        "        --> VIA ENVIRONMENT: " + SQS_LOAD_URL.getEnvironmentVariable(),
+        "",
+        "   --rabbit-load-host <hostname>",
+        "        Also -rabbitLoadHost.  Used to specify the hostname for connecting to",
+        "        RabbitMQ as part of specifying a RabbitMQ load queue.",
+        "        --> VIA ENVIRONMENT: " + RABBIT_LOAD_HOST.getEnvironmentVariable(),
+        "",
+        "   --rabbit-load-port <port>",
+        "        Also -rabbitLoadPort.  Used to specify the port number for connecting",
+        "        to RabbitMQ as part of specifying a RabbitMQ load queue.",
+        "        --> VIA ENVIRONMENT: " + RABBIT_LOAD_PORT.getEnvironmentVariable(),
+        "",
+        "   --rabbit-load-user <user name>",
+        "        Also -rabbitLoadUser.  Used to specify the user name for connecting to",
+        "        RabbitMQ as part of specifying a RabbitMQ load queue.",
+        "        --> VIA ENVIRONMENT: " + RABBIT_LOAD_USER.getEnvironmentVariable(),
+        "",
+        "   --rabbit-load-password <password>",
+        "        Also -rabbitLoadPassword.  Used to specify the password for connecting",
+        "        to RabbitMQ as part of specifying a RabbitMQ load queue.",
+        "        --> VIA ENVIRONMENT: " + RABBIT_LOAD_PASSWORD.getEnvironmentVariable(),
+        "",
+        "   --rabbit-load-virtual-host <virtual host>",
+        "        Also -rabbitLoadVirtualHost.  Used to specify the virtual host for",
+        "        connecting to RabbitMQ as part of specifying a RabbitMQ load queue.",
+        "        --> VIA ENVIRONMENT: " + RABBIT_LOAD_VIRTUAL_HOST.getEnvironmentVariable(),
+        "",
+        "   --rabbit-load-queue <queue name>",
+        "        Also -rabbitLoadQueue.  Used to specify the name of the queue from",
+        "        which to consume as part of specifying a RabbitMQ load queue.",
+        "        --> VIA ENVIRONMENT: " + RABBIT_LOAD_QUEUE.getEnvironmentVariable(),
+        "",
+        "   --kafka-load-bootstrap-server <bootstrap servers>",
+        "        Also -kafkaLoadBootstrapServer.  Used to specify the bootstrap servers",
+        "        for connecting to Kafka as part of specifying a Kafka load topic.",
+        "        --> VIA ENVIRONMENT: " + KAFKA_LOAD_BOOTSTRAP_SERVER.getEnvironmentVariable(),
+        "",
+        "   --kafka-load-group <group id>",
+        "        Also -kafkaLoadGroup.  Used to specify the consumer group ID for",
+        "        connecting to Kafka as part of specifying a Kafka load topic.  The",
+        "        default is \"senzing-api-server\".",
+        "        --> VIA ENVIRONMENT: " + KAFKA_LOAD_GROUP.getEnvironmentVariable(),
+        "",
+        "   --kafka-load-topic <topic>",
+        "        Also -kafkaLoadTopic.  Used to specify the topic name for connecting to",
+        "        Kafka as part of specifying a Kafka load topic.",
+        "        --> VIA ENVIRONMENT: " + KAFKA_LOAD_TOPIC.getEnvironmentVariable(),
+        "",
         "[ Advanced Options ]",
         "",
         "   --config-mgr [config manager options]...",
@@ -1965,6 +2457,35 @@ public class SzApiServer implements SzApiProvider {
       this.adminEnabled = (Boolean) options.get(ENABLE_ADMIN);
     }
 
+    this.loadJournalDirectory = null;
+    if (options.containsKey(LOAD_JOURNAL_DIR)) {
+      File dir = (File) options.get(LOAD_JOURNAL_DIR);
+      if (!dir.exists() && !dir.mkdirs()) {
+        throw new IllegalStateException(
+            "Failed to create the load journal directory: " + dir);
+      }
+      this.loadJournalDirectory = dir;
+    }
+
+    this.loadPath = null;
+    if (options.containsKey(LOAD_PATH)) {
+      this.loadPath = (String) options.get(LOAD_PATH);
+    }
+
+    this.fileWatcher = null;
+    if (options.containsKey(WATCH_DIR)) {
+      this.fileWatcher = new BulkFileWatcher(
+          this, (File) options.get(WATCH_DIR), this::echo);
+    }
+
+    this.redoProcessor = null;
+    if (options.containsKey(REDO_THREADS)) {
+      this.redoProcessor = new RedoProcessor(
+          this,
+          (Integer) options.get(REDO_THREADS),
+          (SzRedoPriority) options.get(REDO_PRIORITY));
+    }
+
     this.statsInterval = DEFAULT_STATS_INTERVAL;
     if (options.containsKey(STATS_INTERVAL)) {
       this.statsInterval
@@ -2148,6 +2669,61 @@ public class SzApiServer implements SzApiProvider {
       : SzMessagingEndpointFactory.createEndpoint(infoQueueProps,
                                                   this.concurrency);
 
+    // check if the info messages should be sent asynchronously
+    Integer infoBufferSize = (Integer) options.get(INFO_QUEUE_BUFFER_SIZE);
+    if (this.infoEndpoint != null && infoBufferSize != null) {
+      SzFullBufferPolicy fullPolicy
+          = (SzFullBufferPolicy) options.get(INFO_QUEUE_FULL_POLICY);
+      this.infoEndpoint = new SzAsyncMessagingEndpoint(
+          this.infoEndpoint,
+          infoBufferSize,
+          (fullPolicy == null)
+              ? SzAsyncMessagingEndpoint.DEFAULT_FULL_POLICY : fullPolicy);
+    }
+
+    // check if the info messages should be spooled to local disk
+    File infoSpoolDir = (File) options.get(INFO_QUEUE_SPOOL_DIR);
+    if (this.infoEndpoint != null && infoSpoolDir != null) {
+      this.infoEndpoint = new SzSpoolingMessagingEndpoint(this.infoEndpoint,
+                                                          infoSpoolDir);
+    }
+
+    // check if the affected entities of the info messages should be
+    // coalesced, which is done outside any buffering or spooling so that
+    // it is the compacted messages that are buffered or spooled and their
+    // failures still reach the failure handlers of the raw messages
+    Long    coalesceWindow  = (Long) options.get(INFO_COALESCE_WINDOW);
+    Integer coalesceCount   = (Integer) options.get(INFO_COALESCE_COUNT);
+    if (this.infoEndpoint != null
+        && (coalesceWindow != null || coalesceCount != null))
+    {
+      this.infoEndpoint = new SzCoalescingMessagingEndpoint(
+          this.infoEndpoint,
+          (coalesceWindow == null) ? 0L : coalesceWindow,
+          (coalesceCount == null) ? 0 : coalesceCount,
+          (SzInfoCoalescingMode) options.get(INFO_COALESCE_MODE));
+    }
+
+    // find the properties for the load queue (if any)
+    Map<String, Object> loadQueueProps = null;
+    for (String key: LOAD_QUEUE_GROUPS) {
+      if (!optionGroups.containsKey(key)) continue;
+      loadQueueProps = optionGroups.get(key);
+      break;
+    }
+
+    // build the load queue processor
+    this.loadQueueProcessor = null;
+    if (loadQueueProps != null) {
+      Integer loadThreads = (Integer) options.get(LOAD_QUEUE_THREADS);
+      SzMessageSource loadSource = SzMessageSourceFactory.createSource(
+          loadQueueProps, this.concurrency);
+      this.loadQueueProcessor = new LoadQueueProcessor(
+          this,
+          loadSource,
+          (loadThreads == null) ? this.concurrency : loadThreads);
+    }
+
     this.autoRefreshPeriod = (Long) options.get(AUTO_REFRESH_PERIOD);
     if (this.autoRefreshPeriod != null) {
       this.autoRefreshPeriod *= 1000;
@@ -2303,6 +2879,25 @@ public class SzApiServer implements SzApiProvider {
         this.fileMonitor.initialize(actualPort);
         this.fileMonitor.start();
       }
+
+      if (this.loadPath != null) this.startPathLoader(this.loadPath);
+      if (this.fileWatcher != null) {
+        this.echo("Watching for files to load: "
+                      + this.fileWatcher.getDirectory());
+        this.fileWatcher.start();
+      }
+      if (this.redoProcessor != null) {
+        this.echo("Processing redo records with "
+                      + this.redoProcessor.getThreadCount() + " thread(s) at "
+                      + this.redoProcessor.getPriority() + " priority");
+        this.redoProcessor.start();
+      }
+      if (this.loadQueueProcessor != null) {
+        this.echo("Consuming load queue messages with "
+                      + this.loadQueueProcessor.getThreadCount()
+                      + " thread(s)");
+        this.loadQueueProcessor.start();
+      }
     } catch (Exception e) {
       this.shutdown();
       throw e;
@@ -2667,6 +3262,18 @@ public class SzApiServer implements SzApiProvider {
     // shutdown the file monitor
     this.joinFileMonitor();
 
+    // shutdown the file watcher
+    this.joinFileWatcher();
+
+    // shutdown the load queue processor
+    this.joinLoadQueueProcessor();
+
+    // shutdown the redo processor
+    this.joinRedoProcessor();
+
+    // close the info endpoint after sending any buffered messages
+    this.closeInfoEndpoint();
+
     // shutdown the reinitializer
     this.joinReinitializer();
 
@@ -2728,6 +3335,40 @@ public class SzApiServer implements SzApiProvider {
     }
   }
 
+  /**
+   * Executes the specified task within a thread pool managed by the
+   * {@link SzApiServer} instance once no other task is waiting for a thread
+   * from the pool.
+   *
+   * @param task The task to execute.
+   *
+   * @return The result from the specified {@link Task}.
+   *
+   * @throws Exception If the task has a failure.
+   */
+  public <T, E extends Exception> T executeInIdleThread(Task<T, E> task)
+    throws E
+  {
+    this.purgeLock.readLock().lock();
+    try {
+      return this.workerThreadPool.executeWhenIdle(task);
+
+    } catch (ServerErrorException e) {
+      e.printStackTrace();
+      throw e;
+
+    } catch (WebApplicationException e) {
+      throw e;
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      throw e;
+
+    } finally {
+      this.purgeLock.readLock().unlock();
+    }
+  }
+
   @Override
   public AccessToken authorizeProlongedOperation() {
     synchronized (this.prolongedAuthSet) {
@@ -2779,6 +3420,9 @@ public class SzApiServer implements SzApiProvider {
     }
     this.joinReinitializer();
     this.joinFileMonitor();
+    this.joinFileWatcher();
+    this.joinLoadQueueProcessor();
+    this.joinRedoProcessor();
   }
 
   /**
@@ -2797,6 +3441,95 @@ public class SzApiServer implements SzApiProvider {
     }
   }
 
+  /**
+   * Starts a background thread to load the records from the files
+   * identified by the specified path or glob pattern, echoing the result
+   * for each file.
+   *
+   * @param path The path or glob pattern identifying the files to load.
+   */
+  private void startPathLoader(String path) {
+    Thread thread = new Thread(() -> {
+      try {
+        List<File> files = BulkFileLoader.resolveFiles(path);
+        if (files.size() == 0) {
+          this.echo("No files to load were found for: " + path);
+          return;
+        }
+        this.echo("Loading " + files.size() + " file(s) from: " + path);
+        List<SzBulkFileLoadResult> results = BulkFileLoader.loadFiles(
+            this, files, null, null, -1, null, null);
+        for (SzBulkFileLoadResult result : results) {
+          if (result.getError() != null) {
+            this.echo("Failed to load " + result.getPath() + ": "
+                          + result.getError().getMessage());
+          } else {
+            this.echo("Loaded " + result.getPath() + ": "
+                          + result.getResult().getLoadedRecordCount()
+                          + " loaded, "
+                          + result.getResult().getFailedRecordCount()
+                          + " failed");
+          }
+        }
+      } catch (Exception e) {
+        System.err.println("Failed to load files from: " + path);
+        e.printStackTrace();
+      }
+    }, "BulkFileLoader");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Shuts down and joins with the load queue processor (if any)
+   */
+  private void joinLoadQueueProcessor() {
+    if (this.loadQueueProcessor != null) {
+      this.loadQueueProcessor.complete();
+      this.loadQueueProcessor.join();
+    }
+  }
+
+  /**
+   * Shuts down and joins with the redo processor (if any)
+   */
+  private void joinRedoProcessor() {
+    if (this.redoProcessor != null) {
+      this.redoProcessor.complete();
+      this.redoProcessor.join();
+    }
+  }
+
+  /**
+   * Closes the info endpoint (if any) which sends any buffered messages if
+   * the info messages are sent asynchronously.
+   */
+  private void closeInfoEndpoint() {
+    if (this.infoEndpoint != null && !this.infoEndpoint.isClosed()) {
+      try {
+        this.infoEndpoint.close();
+      } catch (Exception e) {
+        e.printStackTrace();
+      }
+    }
+  }
+
+  /**
+   * Shuts down and joins with the file watcher (if any)
+   */
+  private void joinFileWatcher() {
+    if (this.fileWatcher != null) {
+      this.fileWatcher.complete();
+      while (this.fileWatcher.isAlive()) {
+        try {
+          this.fileWatcher.join();
+        } catch (InterruptedException ignore) {
+          // do nothing
+        }
+      }
+    }
+  }
+
   /**
    * Shuts down and joins with the file monitor (if any)
    */
@@ -3003,6 +3736,23 @@ public class SzApiServer implements SzApiProvider {
                           ftypeCodeMap,
                           attrCodeMap);
 
+      // intern the codes from this config snapshot for parsed entities
+      List<String> codes = new ArrayList<>(dataSourceSet.size()
+                                           + entityClassSet.size()
+                                           + entityTypeSet.size()
+                                           + (ftypeCodeMap.size() * 2)
+                                           + attrCodeMap.size());
+      codes.addAll(dataSourceSet);
+      codes.addAll(entityClassSet);
+      codes.addAll(entityTypeSet);
+      codes.addAll(ftypeCodeMap.keySet());
+      codes.addAll(ftypeCodeMap.values());
+      codes.addAll(attrCodeMap.keySet());
+      CodeInterner interner = new CodeInterner(codes);
+      ftypeCodeMap.replaceAll((ftype, attrClass) -> interner.intern(attrClass));
+      attrCodeMap.replaceAll((attr, attrClass) -> interner.intern(attrClass));
+      CodeInterner.setCurrent(interner);
+
       this.dataSources            = Collections.unmodifiableSet(dataSourceSet);
       this.entityClasses          = Collections.unmodifiableSet(entityClassSet);
       this.entityTypes            = Collections.unmodifiableSet(entityTypeSet);
@@ -104,11 +104,52 @@ public final class SzApiServerConstants {
    */
   static final String SQS_INFO_QUEUE_GROUP = "sqs-info";
 
+  /**
+   * The {@link SzApiServerOption} group for the local file info queue
+   * options.
+   */
+  static final String FILE_INFO_QUEUE_GROUP = "file-info";
+
+  /**
+   * The {@link SzApiServerOption} group for the URL-based info endpoint
+   * options.
+   */
+  static final String URL_INFO_QUEUE_GROUP = "url-info";
+
   /***
    * The <b>unmodifiable</b> {@link Set} of group names for info queue groups.
    */
   static final Set<String> INFO_QUEUE_GROUPS = Set.of(
-      RABBITMQ_INFO_QUEUE_GROUP, KAFKA_INFO_QUEUE_GROUP, SQS_INFO_QUEUE_GROUP);
+      RABBITMQ_INFO_QUEUE_GROUP, KAFKA_INFO_QUEUE_GROUP, SQS_INFO_QUEUE_GROUP,
+      FILE_INFO_QUEUE_GROUP, URL_INFO_QUEUE_GROUP);
+
+  /**
+   * The {@link SzApiServerOption} group for the RabbitMQ load queue options.
+   */
+  static final String RABBITMQ_LOAD_QUEUE_GROUP = "rabbitmq-load";
+
+  /**
+   * The {@link SzApiServerOption} group for the Kafka load queue options.
+   */
+  static final String KAFKA_LOAD_QUEUE_GROUP = "kafka-load";
+
+  /**
+   * The {@link SzApiServerOption} group for the SQS load queue options.
+   */
+  static final String SQS_LOAD_QUEUE_GROUP = "sqs-load";
+
+  /**
+   * The {@link SzApiServerOption} group for the local file load queue
+   * options.
+   */
+  static final String FILE_LOAD_QUEUE_GROUP = "file-load";
+
+  /***
+   * The <b>unmodifiable</b> {@link Set} of group names for load queue groups.
+   */
+  static final Set<String> LOAD_QUEUE_GROUPS = Set.of(
+      RABBITMQ_LOAD_QUEUE_GROUP, KAFKA_LOAD_QUEUE_GROUP, SQS_LOAD_QUEUE_GROUP,
+      FILE_LOAD_QUEUE_GROUP);
 
   /**
    * The prefix for environment variables used that are specific to the
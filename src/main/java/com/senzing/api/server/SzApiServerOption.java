@@ -1,5 +1,8 @@
 package com.senzing.api.server;
 
+import com.senzing.api.server.mq.FileEndpoint;
+import com.senzing.api.server.mq.RabbitSource;
+import com.senzing.api.server.mq.SzMessagingEndpointFactory;
 import com.senzing.cmdline.CommandLineOption;
 
 import java.util.*;
@@ -493,6 +496,119 @@ public enum SzApiServerOption implements CommandLineOption<SzApiServerOption>
                       ENV_PREFIX + "SKIP_ENGINE_PRIMING", null,
                       0, "false"),
 
+  /**
+   * <p>
+   * This option is used to specify the path to a directory in which bulk loads
+   * that are given an explicit load ID record a journal of durable checkpoints
+   * so that an interrupted load can be resumed.  The single parameter to this
+   * option is the directory path, which is created if it does not exist.  If
+   * not specified then bulk loads are not journaled and may only be resumed
+   * by skipping a client-specified number of records.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--load-journal-dir {directory-path}</tt></li>
+   *   <li>Command Line: <tt>-loadJournalDir {directory-path}</tt></li>
+   *   <li>Environment: <tt>SENZING_API_SERVER_LOAD_JOURNAL_DIR="{directory-path}"</tt></tt></li>
+   * </ul>
+   * </p>
+   */
+  LOAD_JOURNAL_DIR("--load-journal-dir", Set.of("-loadJournalDir"),
+                   ENV_PREFIX + "LOAD_JOURNAL_DIR", null,
+                   1),
+
+  /**
+   * <p>
+   * This option is used to specify a file, directory or glob pattern (e.g.:
+   * <tt>/data/incoming/*.jsonl.gz</tt>) identifying files local to the server
+   * whose records are loaded once the server has started.  The single
+   * parameter to this option is the path or glob pattern.  The format of
+   * each file is determined by its extension and each file is loaded through
+   * the same pipeline as records uploaded to the bulk data endpoints.  No
+   * data source mapping is applied, so the records must specify their data
+   * source.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--load-path {path-or-glob}</tt></li>
+   *   <li>Command Line: <tt>-loadPath {path-or-glob}</tt></li>
+   *   <li>Environment: <tt>SENZING_API_SERVER_LOAD_PATH="{path-or-glob}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  LOAD_PATH("--load-path", Set.of("-loadPath"),
+            ENV_PREFIX + "LOAD_PATH", null,
+            1),
+
+  /**
+   * <p>
+   * This option is used to specify a directory local to the server that is
+   * watched for new files whose records are loaded as the files land.  A
+   * file is loaded once its size and modification time stop changing, after
+   * which it is moved to the <tt>loaded</tt> or <tt>failed</tt>
+   * sub-directory.  The single parameter to this option is the directory
+   * path.  No data source mapping is applied, so the records must specify
+   * their data source.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--watch-dir {directory-path}</tt></li>
+   *   <li>Command Line: <tt>-watchDir {directory-path}</tt></li>
+   *   <li>Environment: <tt>SENZING_API_SERVER_WATCH_DIR="{directory-path}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  WATCH_DIR("--watch-dir", Set.of("-watchDir"),
+            ENV_PREFIX + "WATCH_DIR", null,
+            1),
+
+  /**
+   * <p>
+   * This option is used to enable background processing of the redo records
+   * generated by the engine and to specify the number of threads that
+   * process them.  The single parameter to this option should be a positive
+   * integer.  If not specified, then redo records are not processed by the
+   * server.  Info messages for the processed redo records are published to
+   * the asynchronous info queue if one is configured.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--redo-threads {thread-count}</tt></li>
+   *   <li>Command Line: <tt>-redoThreads {thread-count}</tt></li>
+   *   <li>Environment: <tt>SENZING_API_SERVER_REDO_THREADS="{thread-count}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  REDO_THREADS("--redo-threads", Set.of("-redoThreads"),
+               ENV_PREFIX + "REDO_THREADS", null,
+               1),
+
+  /**
+   * <p>
+   * This option is used to specify the priority with which the background
+   * redo processing (enabled via {@link #REDO_THREADS}) uses the engine
+   * threads.  The single parameter to this option is <tt>low</tt> or
+   * <tt>normal</tt>.  With <tt>low</tt> priority an engine thread is only
+   * used for a redo record when no other request is waiting for one.  If not
+   * specified, then this defaults to <tt>low</tt>.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--redo-priority {low|normal}</tt></li>
+   *   <li>Command Line: <tt>-redoPriority {low|normal}</tt></li>
+   *   <li>Environment: <tt>SENZING_API_SERVER_REDO_PRIORITY="{low|normal}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  REDO_PRIORITY("--redo-priority", Set.of("-redoPriority"),
+                ENV_PREFIX + "REDO_PRIORITY", null,
+                1),
+
   /**
    * <p>
    * This option is used to specify the URL to an Amazon SQS queue to be used
@@ -752,7 +868,542 @@ public enum SzApiServerOption implements CommandLineOption<SzApiServerOption>
   KAFKA_INFO_TOPIC(
       "--kafka-info-topic", Set.of("-kafkaInfoTopic"),
       "SENZING_KAFKA_INFO_TOPIC", null, 1,
-      KAFKA_INFO_QUEUE_GROUP, TOPIC_PROPERTY_KEY, false);
+      KAFKA_INFO_QUEUE_GROUP, TOPIC_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the <b>optional</b> number of milliseconds
+   * that the Kafka producer waits to accumulate info messages into a batch
+   * (the Kafka <tt>"linger.ms"</tt> setting).  The single parameter to this
+   * option is a non-negative integer.  If this option is specified then the
+   * {@link #KAFKA_INFO_BOOTSTRAP_SERVER} and {@link #KAFKA_INFO_TOPIC} options
+   * are required and the info queue parameters pertaining to RabbitMQ and SQS
+   * are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--kafka-info-linger-ms {milliseconds}</tt></li>
+   *   <li>Command Line: <tt>-kafkaInfoLingerMs {milliseconds}</tt></li>
+   *   <li>Environment: <tt>SENZING_KAFKA_INFO_LINGER_MS="{milliseconds}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  KAFKA_INFO_LINGER_MS(
+      "--kafka-info-linger-ms", Set.of("-kafkaInfoLingerMs"),
+      "SENZING_KAFKA_INFO_LINGER_MS", null, 1,
+      KAFKA_INFO_QUEUE_GROUP, LINGER_MS_PROPERTY_KEY, true),
+
+  /**
+   * <p>
+   * This option is used to specify the <b>optional</b> maximum number of
+   * bytes in a batch of info messages sent by the Kafka producer (the Kafka
+   * <tt>"batch.size"</tt> setting).  The single parameter to this option is
+   * a non-negative integer.  If this option is specified then the {@link
+   * #KAFKA_INFO_BOOTSTRAP_SERVER} and {@link #KAFKA_INFO_TOPIC} options are
+   * required and the info queue parameters pertaining to RabbitMQ and SQS
+   * are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--kafka-info-batch-size {bytes}</tt></li>
+   *   <li>Command Line: <tt>-kafkaInfoBatchSize {bytes}</tt></li>
+   *   <li>Environment: <tt>SENZING_KAFKA_INFO_BATCH_SIZE="{bytes}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  KAFKA_INFO_BATCH_SIZE(
+      "--kafka-info-batch-size", Set.of("-kafkaInfoBatchSize"),
+      "SENZING_KAFKA_INFO_BATCH_SIZE", null, 1,
+      KAFKA_INFO_QUEUE_GROUP, BATCH_SIZE_PROPERTY_KEY, true),
+
+  /**
+   * <p>
+   * This option is used to send the info messages to the configured info
+   * queue asynchronously.  The single parameter to this option is the
+   * positive number of info messages that can be buffered while waiting to
+   * be sent.  The buffered messages are sent in batches by a background
+   * publisher thread.  If not specified, then info messages are sent
+   * synchronously.  If this option is specified then an info queue must be
+   * specified and the {@link #INFO_QUEUE_SPOOL_DIR} option is not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--info-queue-buffer-size {message-count}</tt></li>
+   *   <li>Command Line: <tt>-infoQueueBufferSize {message-count}</tt></li>
+   *   <li>Environment: <tt>SENZING_API_SERVER_INFO_QUEUE_BUFFER_SIZE="{message-count}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  INFO_QUEUE_BUFFER_SIZE("--info-queue-buffer-size",
+                         Set.of("-infoQueueBufferSize"),
+                         ENV_PREFIX + "INFO_QUEUE_BUFFER_SIZE", null,
+                         1),
+
+  /**
+   * <p>
+   * This option is used to specify how an info message is handled when it is
+   * sent while the buffer of the asynchronous info queue (enabled via {@link
+   * #INFO_QUEUE_BUFFER_SIZE}) is full.  The single parameter to this option
+   * is one of the following:
+   * <ul>
+   *   <li><tt>block</tt> -- waits for room in the buffer (the default)</li>
+   *   <li><tt>drop-newest</tt> -- drops the message being sent</li>
+   *   <li><tt>drop-oldest</tt> -- drops the oldest buffered message</li>
+   *   <li><tt>caller-sends</tt> -- sends the message synchronously</li>
+   * </ul>
+   * Dropped messages are logged as failed info messages.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--info-queue-full-policy {policy}</tt></li>
+   *   <li>Command Line: <tt>-infoQueueFullPolicy {policy}</tt></li>
+   *   <li>Environment: <tt>SENZING_API_SERVER_INFO_QUEUE_FULL_POLICY="{policy}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  INFO_QUEUE_FULL_POLICY("--info-queue-full-policy",
+                         Set.of("-infoQueueFullPolicy"),
+                         ENV_PREFIX + "INFO_QUEUE_FULL_POLICY", null,
+                         1),
+
+  /**
+   * <p>
+   * This option is used to spool the info messages to a durable write-ahead
+   * log in a local directory from which they are forwarded to the configured
+   * info queue.  The single parameter to this option is the path to the
+   * spool directory, which is created if it does not exist.  Sending an info
+   * message then only waits for it to be written to the local disk and the
+   * messages are retained while the info queue is unavailable, including
+   * across restarts.  If this option is specified then an info queue must be
+   * specified and the {@link #INFO_QUEUE_BUFFER_SIZE} option is not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--info-queue-spool-dir {directory-path}</tt></li>
+   *   <li>Command Line: <tt>-infoQueueSpoolDir {directory-path}</tt></li>
+   *   <li>Environment: <tt>SENZING_API_SERVER_INFO_QUEUE_SPOOL_DIR="{directory-path}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  INFO_QUEUE_SPOOL_DIR("--info-queue-spool-dir",
+                       Set.of("-infoQueueSpoolDir"),
+                       ENV_PREFIX + "INFO_QUEUE_SPOOL_DIR", null,
+                       1),
+
+  /**
+   * <p>
+   * This option is used to coalesce the affected entities of the info
+   * messages over a window of time into a single compacted info message with
+   * the deduplicated affected entities and the union of the flagged entities.
+   * The single parameter to this option is the positive number of
+   * milliseconds after the first message of a window that the window is
+   * closed and its compacted message is sent.  This can be combined with the
+   * {@link #INFO_COALESCE_COUNT} option to close a window at whichever limit
+   * is reached first.  If this option is specified then an info queue must be
+   * specified.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--info-coalesce-window {milliseconds}</tt></li>
+   *   <li>Command Line: <tt>-infoCoalesceWindow {milliseconds}</tt></li>
+   *   <li>Environment: <tt>SENZING_API_SERVER_INFO_COALESCE_WINDOW="{milliseconds}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  INFO_COALESCE_WINDOW("--info-coalesce-window",
+                       Set.of("-infoCoalesceWindow"),
+                       ENV_PREFIX + "INFO_COALESCE_WINDOW", null,
+                       1),
+
+  /**
+   * <p>
+   * This option is used to coalesce the affected entities of the info
+   * messages over a window of a number of messages into a single compacted
+   * info message with the deduplicated affected entities and the union of
+   * the flagged entities.  The single parameter to this option is the
+   * positive number of info messages at which a window is closed and its
+   * compacted message is sent.  This can be combined with the {@link
+   * #INFO_COALESCE_WINDOW} option to close a window at whichever limit is
+   * reached first.  If this option is specified then an info queue must be
+   * specified.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--info-coalesce-count {message-count}</tt></li>
+   *   <li>Command Line: <tt>-infoCoalesceCount {message-count}</tt></li>
+   *   <li>Environment: <tt>SENZING_API_SERVER_INFO_COALESCE_COUNT="{message-count}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  INFO_COALESCE_COUNT("--info-coalesce-count",
+                      Set.of("-infoCoalesceCount"),
+                      ENV_PREFIX + "INFO_COALESCE_COUNT", null,
+                      1),
+
+  /**
+   * <p>
+   * This option is used to specify whether the compacted info messages of
+   * the coalescing windows (see {@link #INFO_COALESCE_WINDOW} and {@link
+   * #INFO_COALESCE_COUNT}) are sent alongside the raw info messages or
+   * instead of them.  The single parameter to this option is one of:
+   * <ul>
+   *   <li><tt>alongside</tt> -- sends the raw and compacted messages
+   *       (the default)</li>
+   *   <li><tt>instead</tt> -- sends only the compacted messages</li>
+   * </ul>
+   * Info messages that have no affected or flagged entities are always sent
+   * as they are.  The coalescing is done before any buffering (see {@link
+   * #INFO_QUEUE_BUFFER_SIZE}) or spooling (see {@link #INFO_QUEUE_SPOOL_DIR})
+   * so it is the compacted messages that are buffered or spooled.  With
+   * <tt>instead</tt> the raw messages of a window that has not yet closed are
+   * only held in memory.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--info-coalesce-mode {mode}</tt></li>
+   *   <li>Command Line: <tt>-infoCoalesceMode {mode}</tt></li>
+   *   <li>Environment: <tt>SENZING_API_SERVER_INFO_COALESCE_MODE="{mode}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  INFO_COALESCE_MODE("--info-coalesce-mode",
+                     Set.of("-infoCoalesceMode"),
+                     ENV_PREFIX + "INFO_COALESCE_MODE", null,
+                     1),
+
+  /**
+   * <p>
+   * This option is used to specify the path to a local file to which info
+   * messages are appended as lines of JSON in place of a message broker.
+   * This is intended for testing and inspecting the info messages.  The
+   * single parameter to this option is the file path.  If this option is
+   * specified then the info queue parameters for SQS, RabbitMQ and Kafka are
+   * not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--file-info-path {file-path}</tt></li>
+   *   <li>Command Line: <tt>-fileInfoPath {file-path}</tt></li>
+   *   <li>Environment: <tt>SENZING_API_SERVER_FILE_INFO_PATH="{file-path}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  FILE_INFO_PATH(
+      "--file-info-path", Set.of("-fileInfoPath"),
+      ENV_PREFIX + "FILE_INFO_PATH", null, 1,
+      FILE_INFO_QUEUE_GROUP, FileEndpoint.PATH_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the URL of an in-process info endpoint
+   * for benchmarking and testing the info path without a message broker.
+   * The single parameter to this option is the URL which is either of the
+   * form <tt>mem://{name}?capacity={message-count}</tt> for a bounded
+   * in-memory queue, or <tt>file://{path}?segmentSize={bytes}&amp;segmentCount={count}</tt>
+   * for lines of JSON appended to a file that is rolled into segments.  The
+   * latency of sending the info messages to these endpoints is reported with
+   * the info queue status.  If this option is specified then the info queue
+   * parameters for SQS, RabbitMQ, Kafka and a local file path are not
+   * allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--info-url {url}</tt></li>
+   *   <li>Command Line: <tt>-infoUrl {url}</tt></li>
+   *   <li>Environment: <tt>SENZING_API_SERVER_INFO_URL="{url}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  INFO_URL(
+      "--info-url", Set.of("-infoUrl"),
+      ENV_PREFIX + "INFO_URL", null, 1,
+      URL_INFO_QUEUE_GROUP, SzMessagingEndpointFactory.URL_PROPERTY_KEY,
+      false),
+
+  /**
+   * <p>
+   * This option is used to specify the URL to an Amazon SQS queue from which
+   * record load and delete messages are consumed.  The single parameter to
+   * this option is the URL.  If this option is specified then the load queue
+   * parameters for RabbitMQ, Kafka and a local file are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--sqs-load-url {url}</tt></li>
+   *   <li>Command Line: <tt>-sqsLoadUrl {url}</tt></li>
+   *   <li>Environment: <tt>SENZING_SQS_LOAD_QUEUE_URL="{url}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  SQS_LOAD_URL(
+      "--sqs-load-url", Set.of("-sqsLoadUrl"),
+      "SENZING_SQS_LOAD_QUEUE_URL", null, 1,
+      SQS_LOAD_QUEUE_GROUP, URL_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the user name for connecting to RabbitMQ
+   * as part of specifying a RabbitMQ load queue.  The single parameter to
+   * this option is a user name.  If this option is specified then the other
+   * options required for a RabbitMQ load queue are required and the load
+   * queue parameters pertaining to SQS, Kafka and a local file are not
+   * allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--rabbit-load-user {username}</tt></li>
+   *   <li>Command Line: <tt>-rabbitLoadUser {username}</tt></li>
+   *   <li>Environment: <tt>SENZING_RABBITMQ_LOAD_USERNAME="{username}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  RABBIT_LOAD_USER(
+      "--rabbit-load-user", Set.of("-rabbitLoadUser"),
+      "SENZING_RABBITMQ_LOAD_USERNAME", null, 1,
+      RABBITMQ_LOAD_QUEUE_GROUP, USER_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the password for connecting to RabbitMQ as
+   * part of specifying a RabbitMQ load queue.  The single parameter to this
+   * option is a password.  If this option is specified then the other options
+   * required for a RabbitMQ load queue are required and the load queue
+   * parameters pertaining to SQS, Kafka and a local file are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--rabbit-load-password {password}</tt></li>
+   *   <li>Command Line: <tt>-rabbitLoadPassword {password}</tt></li>
+   *   <li>Environment: <tt>SENZING_RABBITMQ_LOAD_PASSWORD="{password}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  RABBIT_LOAD_PASSWORD(
+      "--rabbit-load-password", Set.of("-rabbitLoadPassword"),
+      "SENZING_RABBITMQ_LOAD_PASSWORD", null, 1,
+      RABBITMQ_LOAD_QUEUE_GROUP, PASSWORD_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the hostname for connecting to RabbitMQ as
+   * part of specifying a RabbitMQ load queue.  The single parameter to this
+   * option is a hostname or IP address.  If this option is specified then the
+   * other options required for a RabbitMQ load queue are required and the
+   * load queue parameters pertaining to SQS, Kafka and a local file are not
+   * allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--rabbit-load-host {hostname}</tt></li>
+   *   <li>Command Line: <tt>-rabbitLoadHost {hostname}</tt></li>
+   *   <li>Environment: <tt>SENZING_RABBITMQ_LOAD_HOST="{hostname}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  RABBIT_LOAD_HOST(
+      "--rabbit-load-host", Set.of("-rabbitLoadHost"),
+      "SENZING_RABBITMQ_LOAD_HOST", null, 1,
+      RABBITMQ_LOAD_QUEUE_GROUP, HOST_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the port number for connecting to RabbitMQ
+   * as part of specifying a RabbitMQ load queue.  The single parameter to
+   * this option is a port number.  If this option is specified then the other
+   * options required for a RabbitMQ load queue are required and the load
+   * queue parameters pertaining to SQS, Kafka and a local file are not
+   * allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--rabbit-load-port {port}</tt></li>
+   *   <li>Command Line: <tt>-rabbitLoadPort {port}</tt></li>
+   *   <li>Environment: <tt>SENZING_RABBITMQ_LOAD_PORT="{port}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  RABBIT_LOAD_PORT(
+      "--rabbit-load-port", Set.of("-rabbitLoadPort"),
+      "SENZING_RABBITMQ_LOAD_PORT", null, 1,
+      RABBITMQ_LOAD_QUEUE_GROUP, PORT_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the virtual host for connecting to
+   * RabbitMQ as part of specifying a RabbitMQ load queue.  The single
+   * parameter to this option is a virtual host name.  If this option is
+   * specified then the other options required for a RabbitMQ load queue are
+   * required and the load queue parameters pertaining to SQS, Kafka and a
+   * local file are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--rabbit-load-virtual-host {virtual-host}</tt></li>
+   *   <li>Command Line: <tt>-rabbitLoadVirtualHost {virtual-host}</tt></li>
+   *   <li>Environment: <tt>SENZING_RABBITMQ_LOAD_VIRTUAL_HOST="{virtual-host}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  RABBIT_LOAD_VIRTUAL_HOST(
+      "--rabbit-load-virtual-host", Set.of("-rabbitLoadVirtualHost"),
+      "SENZING_RABBITMQ_LOAD_VIRTUAL_HOST", null, 1,
+      RABBITMQ_LOAD_QUEUE_GROUP, VIRTUAL_HOST_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the queue from which record load and
+   * delete messages are consumed as part of specifying a RabbitMQ load queue.
+   * The single parameter to this option is a queue name.  The queue must
+   * already exist.  If this option is specified then the other options
+   * required for a RabbitMQ load queue are required and the load queue
+   * parameters pertaining to SQS, Kafka and a local file are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--rabbit-load-queue {queue}</tt></li>
+   *   <li>Command Line: <tt>-rabbitLoadQueue {queue}</tt></li>
+   *   <li>Environment: <tt>SENZING_RABBITMQ_LOAD_QUEUE="{queue}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  RABBIT_LOAD_QUEUE(
+      "--rabbit-load-queue", Set.of("-rabbitLoadQueue"),
+      "SENZING_RABBITMQ_LOAD_QUEUE", null, 1,
+      RABBITMQ_LOAD_QUEUE_GROUP, RabbitSource.QUEUE_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the bootstrap servers for connecting to
+   * Kafka as part of specifying a Kafka load topic from which record load and
+   * delete messages are consumed.  The single parameter to this option is the
+   * Kafka bootstrap servers specification (typically a hostname or IP address
+   * and port number separated by a colon).  If this option is specified then
+   * the {@link #KAFKA_LOAD_TOPIC} option is required and the load queue
+   * parameters pertaining to RabbitMQ, SQS and a local file are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--kafka-load-bootstrap-server {bootstrap-servers}</tt></li>
+   *   <li>Command Line: <tt>-kafkaLoadBootstrapServer {bootstrap-servers}</tt></li>
+   *   <li>Environment: <tt>SENZING_KAFKA_LOAD_BOOTSTRAP_SERVER="{bootstrap-servers}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  KAFKA_LOAD_BOOTSTRAP_SERVER(
+      "--kafka-load-bootstrap-server", Set.of("-kafkaLoadBootstrapServer"),
+      "SENZING_KAFKA_LOAD_BOOTSTRAP_SERVER", null, 1,
+      KAFKA_LOAD_QUEUE_GROUP, BOOTSTRAP_SERVERS_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the <b>optional</b> consumer group ID to
+   * use when connecting to Kafka as part of specifying a Kafka load topic.
+   * The single parameter to this option is the Kafka group ID.  If not
+   * specified then the group ID is <tt>"senzing-api-server"</tt>.  If this
+   * option is specified then the {@link #KAFKA_LOAD_BOOTSTRAP_SERVER} and
+   * {@link #KAFKA_LOAD_TOPIC} options are required and the load queue
+   * parameters pertaining to RabbitMQ, SQS and a local file are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--kafka-load-group {group-id}</tt></li>
+   *   <li>Command Line: <tt>-kafkaLoadGroup {group-id}</tt></li>
+   *   <li>Environment: <tt>SENZING_KAFKA_LOAD_GROUP="{group-id}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  KAFKA_LOAD_GROUP(
+      "--kafka-load-group", Set.of("-kafkaLoadGroup"),
+      "SENZING_KAFKA_LOAD_GROUP", null, 1,
+      KAFKA_LOAD_QUEUE_GROUP, GROUP_ID_PROPERTY_KEY, true),
+
+  /**
+   * <p>
+   * This option is used to specify the topic from which record load and
+   * delete messages are consumed when connecting to Kafka as part of
+   * specifying a Kafka load topic.  The single parameter to this option is
+   * the Kafka topic.  If this option is specified then the {@link
+   * #KAFKA_LOAD_BOOTSTRAP_SERVER} option is required and the load queue
+   * parameters pertaining to RabbitMQ, SQS and a local file are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--kafka-load-topic {topic-name}</tt></li>
+   *   <li>Command Line: <tt>-kafkaLoadTopic {topic-name}</tt></li>
+   *   <li>Environment: <tt>SENZING_KAFKA_LOAD_TOPIC="{topic-name}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  KAFKA_LOAD_TOPIC(
+      "--kafka-load-topic", Set.of("-kafkaLoadTopic"),
+      "SENZING_KAFKA_LOAD_TOPIC", null, 1,
+      KAFKA_LOAD_QUEUE_GROUP, TOPIC_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify a local file from which record load and
+   * delete messages are consumed in place of a load queue, one message per
+   * line.  The file is tailed for appended lines and the offset of the
+   * consumed messages is checkpointed alongside it.  This is intended for
+   * testing and benchmarking without a message broker.  The single parameter
+   * to this option is the file path.  If this option is specified then the
+   * load queue parameters for SQS, RabbitMQ and Kafka are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--file-load-path {file-path}</tt></li>
+   *   <li>Command Line: <tt>-fileLoadPath {file-path}</tt></li>
+   *   <li>Environment: <tt>SENZING_API_SERVER_FILE_LOAD_PATH="{file-path}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  FILE_LOAD_PATH(
+      "--file-load-path", Set.of("-fileLoadPath"),
+      ENV_PREFIX + "FILE_LOAD_PATH", null, 1,
+      FILE_LOAD_QUEUE_GROUP, FileEndpoint.PATH_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the number of threads for processing the
+   * record load and delete messages consumed from the load queue.  Messages
+   * for the same record are always processed by the same thread in the order
+   * they were received.  The single parameter to this option is a positive
+   * integer.  If not specified then the engine concurrency is used.  This
+   * option requires a load queue to be specified.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <tt>--load-queue-threads {thread-count}</tt></li>
+   *   <li>Command Line: <tt>-loadQueueThreads {thread-count}</tt></li>
+   *   <li>Environment: <tt>SENZING_API_SERVER_LOAD_QUEUE_THREADS="{thread-count}"</tt></li>
+   * </ul>
+   * </p>
+   */
+  LOAD_QUEUE_THREADS("--load-queue-threads", Set.of("-loadQueueThreads"),
+                     ENV_PREFIX + "LOAD_QUEUE_THREADS", null,
+                     1);
 
   /**
    * The {@link Map} of {@link SzApiServerOption} keys to unmodifiable
@@ -1286,7 +1937,9 @@ public enum SzApiServerOption implements CommandLineOption<SzApiServerOption>
       Set<SzApiServerOption> kafkaInfoOptions = Set.of(
           KAFKA_INFO_BOOTSTRAP_SERVER,
           KAFKA_INFO_GROUP,
-          KAFKA_INFO_TOPIC);
+          KAFKA_INFO_TOPIC,
+          KAFKA_INFO_LINGER_MS,
+          KAFKA_INFO_BATCH_SIZE);
 
       Set<SzApiServerOption> rabbitInfoOptions = Set.of(
           RABBIT_INFO_USER,
@@ -1299,27 +1952,105 @@ public enum SzApiServerOption implements CommandLineOption<SzApiServerOption>
 
       Set<SzApiServerOption> sqsInfoOptions = Set.of(SQS_INFO_URL);
 
+      Set<SzApiServerOption> fileInfoOptions = Set.of(FILE_INFO_PATH);
+
+      Set<SzApiServerOption> urlInfoOptions = Set.of(INFO_URL);
+
       // enforce that we only have one info queue
       for (SzApiServerOption option: kafkaInfoOptions) {
         Set<SzApiServerOption> conflictSet = conflictMap.get(option);
         conflictSet.addAll(rabbitInfoOptions);
         conflictSet.addAll(sqsInfoOptions);
+        conflictSet.addAll(fileInfoOptions);
+        conflictSet.addAll(urlInfoOptions);
       }
       for (SzApiServerOption option: rabbitInfoOptions) {
         Set<SzApiServerOption> conflictSet = conflictMap.get(option);
         conflictSet.addAll(kafkaInfoOptions);
         conflictSet.addAll(sqsInfoOptions);
+        conflictSet.addAll(fileInfoOptions);
+        conflictSet.addAll(urlInfoOptions);
       }
       for (SzApiServerOption option: sqsInfoOptions) {
         Set<SzApiServerOption> conflictSet = conflictMap.get(option);
         conflictSet.addAll(kafkaInfoOptions);
         conflictSet.addAll(rabbitInfoOptions);
+        conflictSet.addAll(fileInfoOptions);
+        conflictSet.addAll(urlInfoOptions);
+      }
+      for (SzApiServerOption option: fileInfoOptions) {
+        Set<SzApiServerOption> conflictSet = conflictMap.get(option);
+        conflictSet.addAll(kafkaInfoOptions);
+        conflictSet.addAll(rabbitInfoOptions);
+        conflictSet.addAll(sqsInfoOptions);
+        conflictSet.addAll(urlInfoOptions);
+      }
+      for (SzApiServerOption option: urlInfoOptions) {
+        Set<SzApiServerOption> conflictSet = conflictMap.get(option);
+        conflictSet.addAll(kafkaInfoOptions);
+        conflictSet.addAll(rabbitInfoOptions);
+        conflictSet.addAll(sqsInfoOptions);
+        conflictSet.addAll(fileInfoOptions);
+      }
+
+      Set<SzApiServerOption> kafkaLoadOptions = Set.of(
+          KAFKA_LOAD_BOOTSTRAP_SERVER,
+          KAFKA_LOAD_GROUP,
+          KAFKA_LOAD_TOPIC);
+
+      Set<SzApiServerOption> rabbitLoadOptions = Set.of(
+          RABBIT_LOAD_USER,
+          RABBIT_LOAD_PASSWORD,
+          RABBIT_LOAD_HOST,
+          RABBIT_LOAD_PORT,
+          RABBIT_LOAD_VIRTUAL_HOST,
+          RABBIT_LOAD_QUEUE);
+
+      Set<SzApiServerOption> sqsLoadOptions = Set.of(SQS_LOAD_URL);
+
+      Set<SzApiServerOption> fileLoadOptions = Set.of(FILE_LOAD_PATH);
+
+      // enforce that we only have one load queue
+      List<Set<SzApiServerOption>> loadOptionSets = List.of(
+          kafkaLoadOptions, rabbitLoadOptions, sqsLoadOptions, fileLoadOptions);
+      for (Set<SzApiServerOption> optionSet : loadOptionSets) {
+        for (SzApiServerOption option : optionSet) {
+          Set<SzApiServerOption> conflictSet = conflictMap.get(option);
+          for (Set<SzApiServerOption> otherSet : loadOptionSets) {
+            if (otherSet != optionSet) conflictSet.addAll(otherSet);
+          }
+        }
+      }
+
+      // the spool and the in-memory buffer are alternatives
+      for (SzApiServerOption option
+          : List.of(INFO_QUEUE_BUFFER_SIZE, INFO_QUEUE_FULL_POLICY))
+      {
+        conflictMap.get(option).add(INFO_QUEUE_SPOOL_DIR);
+        conflictMap.get(INFO_QUEUE_SPOOL_DIR).add(option);
       }
 
       Set<SzApiServerOption> readOnlyConflicts = conflictMap.get(READ_ONLY);
       readOnlyConflicts.addAll(kafkaInfoOptions);
       readOnlyConflicts.addAll(rabbitInfoOptions);
       readOnlyConflicts.addAll(sqsInfoOptions);
+      readOnlyConflicts.addAll(fileInfoOptions);
+      readOnlyConflicts.addAll(urlInfoOptions);
+      readOnlyConflicts.add(LOAD_JOURNAL_DIR);
+      readOnlyConflicts.add(LOAD_PATH);
+      readOnlyConflicts.add(WATCH_DIR);
+      readOnlyConflicts.add(REDO_THREADS);
+      readOnlyConflicts.add(INFO_QUEUE_BUFFER_SIZE);
+      readOnlyConflicts.add(INFO_QUEUE_FULL_POLICY);
+      readOnlyConflicts.add(INFO_QUEUE_SPOOL_DIR);
+      readOnlyConflicts.add(INFO_COALESCE_WINDOW);
+      readOnlyConflicts.add(INFO_COALESCE_COUNT);
+      readOnlyConflicts.add(INFO_COALESCE_MODE);
+      readOnlyConflicts.addAll(kafkaLoadOptions);
+      readOnlyConflicts.addAll(rabbitLoadOptions);
+      readOnlyConflicts.addAll(sqsLoadOptions);
+      readOnlyConflicts.addAll(fileLoadOptions);
+      readOnlyConflicts.add(LOAD_QUEUE_THREADS);
 
       Set<SzApiServerOption> iniAlts = altMap.get(INI_FILE);
       iniAlts.add(INIT_ENV_VAR);
@@ -1363,6 +2094,31 @@ public enum SzApiServerOption implements CommandLineOption<SzApiServerOption>
         }
       });
 
+      // the asynchronous info queue, the spool and coalescing require an
+      // info queue
+      Set<Set<SzApiServerOption>> infoQueueDependencies
+          = Set.of(Set.of(SQS_INFO_URL),
+                   Set.of(RABBIT_INFO_HOST),
+                   Set.of(KAFKA_INFO_BOOTSTRAP_SERVER),
+                   Set.of(FILE_INFO_PATH),
+                   Set.of(INFO_URL));
+      dependencyMap.put(INFO_QUEUE_BUFFER_SIZE, infoQueueDependencies);
+      dependencyMap.put(INFO_QUEUE_SPOOL_DIR, infoQueueDependencies);
+      dependencyMap.put(INFO_QUEUE_FULL_POLICY,
+                        Set.of(Set.of(INFO_QUEUE_BUFFER_SIZE)));
+      dependencyMap.put(INFO_COALESCE_WINDOW, infoQueueDependencies);
+      dependencyMap.put(INFO_COALESCE_COUNT, infoQueueDependencies);
+      dependencyMap.put(INFO_COALESCE_MODE,
+                        Set.of(Set.of(INFO_COALESCE_WINDOW),
+                               Set.of(INFO_COALESCE_COUNT)));
+
+      // the load queue thread count requires a load queue
+      dependencyMap.put(LOAD_QUEUE_THREADS,
+                        Set.of(Set.of(SQS_LOAD_URL),
+                               Set.of(RABBIT_LOAD_HOST),
+                               Set.of(KAFKA_LOAD_BOOTSTRAP_SERVER),
+                               Set.of(FILE_LOAD_PATH)));
+
       CONFLICTING_OPTIONS = recursivelyUnmodifiableMap(conflictMap);
       ALTERNATIVE_OPTIONS = recursivelyUnmodifiableMap(altMap);
       OPTIONS_BY_FLAG = Collections.unmodifiableMap(lookupMap);
@@ -1,8 +1,12 @@
 package com.senzing.api.server;
 
+import com.senzing.api.model.SzFullBufferPolicy;
+import com.senzing.api.model.SzInfoCoalescingMode;
+import com.senzing.api.model.SzRedoPriority;
 import com.senzing.util.JsonUtils;
 
 import javax.json.JsonObject;
+import java.io.File;
 import java.net.InetAddress;
 import java.util.HashMap;
 import java.util.Map;
@@ -40,6 +44,8 @@ public class SzApiServerOptions {
   private String      kafkaInfoServers          = null;
   private String      kafkaInfoGroupId          = null;
   private String      kafkaInfoTopic            = null;
+  private Integer     kafkaInfoLingerMillis     = null;
+  private Integer     kafkaInfoBatchSize        = null;
   private String      rabbitInfoUser            = null;
   private String      rabbitInfoPassword        = null;
   private String      rabbitInfoHost            = null;
@@ -48,6 +54,31 @@ public class SzApiServerOptions {
   private String      rabbitInfoExchange        = null;
   private String      rabbitInfoRoutingKey      = null;
   private String      sqsInfoUrl                = null;
+  private String      fileInfoPath              = null;
+  private String      infoUrl                   = null;
+  private File        loadJournalDirectory      = null;
+  private String      loadPath                  = null;
+  private File        watchDirectory            = null;
+  private Integer     redoThreadCount           = null;
+  private SzRedoPriority redoPriority           = null;
+  private Integer     infoQueueBufferSize       = null;
+  private SzFullBufferPolicy infoQueueFullPolicy = null;
+  private File        infoQueueSpoolDirectory   = null;
+  private Long        infoCoalesceWindow        = null;
+  private Integer     infoCoalesceCount         = null;
+  private SzInfoCoalescingMode infoCoalesceMode = null;
+  private Integer     loadQueueThreadCount      = null;
+  private String      kafkaLoadServers          = null;
+  private String      kafkaLoadGroupId          = null;
+  private String      kafkaLoadTopic            = null;
+  private String      rabbitLoadUser            = null;
+  private String      rabbitLoadPassword        = null;
+  private String      rabbitLoadHost            = null;
+  private Integer     rabbitLoadPort            = null;
+  private String      rabbitLoadVHost           = null;
+  private String      rabbitLoadQueue           = null;
+  private String      sqsLoadUrl                = null;
+  private String      fileLoadPath              = null;
 
   /**
    * Constructs with the JSON initialization parameters as a {@link
@@ -554,6 +585,196 @@ public class SzApiServerOptions {
     return this;
   }
 
+  /**
+   * Returns the directory in which bulk loads with an explicit load ID record
+   * their journal of durable checkpoints.  If <tt>null</tt> then bulk loads
+   * are not journaled.
+   *
+   * @return The directory for the bulk load journals, or <tt>null</tt> if
+   *         bulk loads are not journaled.
+   */
+  public File getLoadJournalDirectory() {
+    return this.loadJournalDirectory;
+  }
+
+  /**
+   * Sets the directory in which bulk loads with an explicit load ID record
+   * their journal of durable checkpoints.  Set to <tt>null</tt> if bulk loads
+   * should not be journaled.
+   *
+   * @param directory The directory for the bulk load journals, or
+   *                  <tt>null</tt> if bulk loads should not be journaled.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setLoadJournalDirectory(File directory) {
+    this.loadJournalDirectory = directory;
+    return this;
+  }
+
+  /**
+   * Returns the file, directory or glob pattern identifying the files local
+   * to the server whose records are loaded once the server has started.  If
+   * <tt>null</tt> then no files are loaded on startup.
+   *
+   * @return The path or glob pattern of the files to load on startup, or
+   *         <tt>null</tt> if none.
+   */
+  public String getLoadPath() {
+    return this.loadPath;
+  }
+
+  /**
+   * Sets the file, directory or glob pattern identifying the files local to
+   * the server whose records are loaded once the server has started.  Set to
+   * <tt>null</tt> if no files should be loaded on startup.
+   *
+   * @param loadPath The path or glob pattern of the files to load on
+   *                 startup, or <tt>null</tt> if none.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setLoadPath(String loadPath) {
+    this.loadPath = loadPath;
+    return this;
+  }
+
+  /**
+   * Returns the directory local to the server that is watched for new files
+   * whose records are loaded as they land.  If <tt>null</tt> then no
+   * directory is watched.
+   *
+   * @return The directory that is watched for files to load, or
+   *         <tt>null</tt> if none.
+   */
+  public File getWatchDirectory() {
+    return this.watchDirectory;
+  }
+
+  /**
+   * Sets the directory local to the server that is watched for new files
+   * whose records are loaded as they land.  Set to <tt>null</tt> if no
+   * directory should be watched.
+   *
+   * @param directory The directory that is watched for files to load, or
+   *                  <tt>null</tt> if none.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setWatchDirectory(File directory) {
+    this.watchDirectory = directory;
+    return this;
+  }
+
+  /**
+   * Returns the number of threads that process the redo records in the
+   * background.  If <tt>null</tt> then redo records are not processed by
+   * the server.
+   *
+   * @return The number of threads that process the redo records, or
+   *         <tt>null</tt> if redo records are not processed.
+   */
+  public Integer getRedoThreadCount() {
+    return this.redoThreadCount;
+  }
+
+  /**
+   * Sets the number of threads that process the redo records in the
+   * background.  Set to <tt>null</tt> if redo records should not be
+   * processed by the server.
+   *
+   * @param threadCount The number of threads that process the redo records,
+   *                    or <tt>null</tt> if redo records are not processed.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRedoThreadCount(Integer threadCount) {
+    this.redoThreadCount = threadCount;
+    return this;
+  }
+
+  /**
+   * Returns the {@link SzRedoPriority} with which the background redo
+   * processing uses the engine threads.  If <tt>null</tt> then the default
+   * priority is used.
+   *
+   * @return The {@link SzRedoPriority} for the redo processing, or
+   *         <tt>null</tt> if the default priority is used.
+   */
+  public SzRedoPriority getRedoPriority() {
+    return this.redoPriority;
+  }
+
+  /**
+   * Sets the {@link SzRedoPriority} with which the background redo
+   * processing uses the engine threads.  Set to <tt>null</tt> to use the
+   * default priority.
+   *
+   * @param priority The {@link SzRedoPriority} for the redo processing, or
+   *                 <tt>null</tt> if the default priority is used.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRedoPriority(SzRedoPriority priority) {
+    this.redoPriority = priority;
+    return this;
+  }
+
+  /**
+   * Returns the number of info messages that can be buffered while waiting to
+   * be sent asynchronously.  If <tt>null</tt> then info messages are sent
+   * synchronously.
+   *
+   * @return The number of info messages that can be buffered, or
+   *         <tt>null</tt> if info messages are sent synchronously.
+   */
+  public Integer getInfoQueueBufferSize() {
+    return this.infoQueueBufferSize;
+  }
+
+  /**
+   * Sets the number of info messages that can be buffered while waiting to
+   * be sent asynchronously.  Set to <tt>null</tt> if info messages should be
+   * sent synchronously.
+   *
+   * @param bufferSize The number of info messages that can be buffered, or
+   *                   <tt>null</tt> if info messages are sent synchronously.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setInfoQueueBufferSize(Integer bufferSize) {
+    this.infoQueueBufferSize = bufferSize;
+    return this;
+  }
+
+  /**
+   * Returns the {@link SzFullBufferPolicy} for handling an info message that
+   * is sent when the asynchronous info queue buffer is full.  If
+   * <tt>null</tt> then the default policy is used.
+   *
+   * @return The {@link SzFullBufferPolicy} for the info queue, or
+   *         <tt>null</tt> if the default policy is used.
+   */
+  public SzFullBufferPolicy getInfoQueueFullPolicy() {
+    return this.infoQueueFullPolicy;
+  }
+
+  /**
+   * Sets the {@link SzFullBufferPolicy} for handling an info message that is
+   * sent when the asynchronous info queue buffer is full.  Set to
+   * <tt>null</tt> to use the default policy.
+   *
+   * @param policy The {@link SzFullBufferPolicy} for the info queue, or
+   *               <tt>null</tt> if the default policy is used.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setInfoQueueFullPolicy(SzFullBufferPolicy policy)
+  {
+    this.infoQueueFullPolicy = policy;
+    return this;
+  }
+
   /**
    * Returns the Kafka bootstrap servers to connect to for the "info" queue.
    * This is part of the info queue configuration to push "info" messages when
@@ -630,6 +851,486 @@ public class SzApiServerOptions {
     return this;
   }
 
+  /**
+   * Returns the directory in which the info messages are spooled before
+   * being forwarded to the info queue.  If <tt>null</tt> then the info
+   * messages are not spooled.
+   *
+   * @return The info queue spool directory, or <tt>null</tt> if the info
+   *         messages are not spooled.
+   */
+  public File getInfoQueueSpoolDirectory() {
+    return this.infoQueueSpoolDirectory;
+  }
+
+  /**
+   * Sets the directory in which the info messages are spooled before being
+   * forwarded to the info queue.  Set to <tt>null</tt> if the info messages
+   * should not be spooled.
+   *
+   * @param directory The info queue spool directory, or <tt>null</tt> if the
+   *                  info messages are not spooled.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setInfoQueueSpoolDirectory(File directory) {
+    this.infoQueueSpoolDirectory = directory;
+    return this;
+  }
+
+  /**
+   * Returns the number of milliseconds over which the affected entities of
+   * the info messages are coalesced into a compacted info message.  If
+   * <tt>null</tt> then the coalescing windows are not timed.
+   *
+   * @return The number of milliseconds for a coalescing window, or
+   *         <tt>null</tt> if the coalescing windows are not timed.
+   */
+  public Long getInfoCoalesceWindow() {
+    return this.infoCoalesceWindow;
+  }
+
+  /**
+   * Sets the number of milliseconds over which the affected entities of the
+   * info messages are coalesced into a compacted info message.  Set to
+   * <tt>null</tt> if the coalescing windows should not be timed.
+   *
+   * @param windowMillis The number of milliseconds for a coalescing window,
+   *                     or <tt>null</tt> if the coalescing windows are not
+   *                     timed.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setInfoCoalesceWindow(Long windowMillis) {
+    this.infoCoalesceWindow = windowMillis;
+    return this;
+  }
+
+  /**
+   * Returns the number of info messages whose affected entities are
+   * coalesced into a compacted info message.  If <tt>null</tt> then the
+   * coalescing windows are not limited by message count.
+   *
+   * @return The number of info messages for a coalescing window, or
+   *         <tt>null</tt> if the coalescing windows are not limited by
+   *         message count.
+   */
+  public Integer getInfoCoalesceCount() {
+    return this.infoCoalesceCount;
+  }
+
+  /**
+   * Sets the number of info messages whose affected entities are coalesced
+   * into a compacted info message.  Set to <tt>null</tt> if the coalescing
+   * windows should not be limited by message count.
+   *
+   * @param messageCount The number of info messages for a coalescing window,
+   *                     or <tt>null</tt> if the coalescing windows are not
+   *                     limited by message count.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setInfoCoalesceCount(Integer messageCount) {
+    this.infoCoalesceCount = messageCount;
+    return this;
+  }
+
+  /**
+   * Returns the {@link SzInfoCoalescingMode} that determines if the
+   * compacted info messages are sent alongside or instead of the raw info
+   * messages.  If <tt>null</tt> then the default mode is used.
+   *
+   * @return The {@link SzInfoCoalescingMode}, or <tt>null</tt> if the
+   *         default mode is used.
+   */
+  public SzInfoCoalescingMode getInfoCoalesceMode() {
+    return this.infoCoalesceMode;
+  }
+
+  /**
+   * Sets the {@link SzInfoCoalescingMode} that determines if the compacted
+   * info messages are sent alongside or instead of the raw info messages.
+   * Set to <tt>null</tt> to use the default mode.
+   *
+   * @param mode The {@link SzInfoCoalescingMode}, or <tt>null</tt> if the
+   *             default mode is used.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setInfoCoalesceMode(SzInfoCoalescingMode mode) {
+    this.infoCoalesceMode = mode;
+    return this;
+  }
+
+  /**
+   * Returns the path to the local file to which the "info" messages are
+   * appended in place of an info queue.
+   *
+   * @return The path to the local file for the "info" messages.
+   */
+  public String getFileInfoPath() {
+    return this.fileInfoPath;
+  }
+
+  /**
+   * Sets the path to the local file to which the "info" messages are
+   * appended in place of an info queue.
+   *
+   * @param path The path to the local file for the "info" messages.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setFileInfoPath(String path) {
+    this.fileInfoPath = path;
+    return this;
+  }
+
+  /**
+   * Returns the URL of the in-process endpoint (<tt>mem://</tt> or
+   * <tt>file://</tt>) to which the "info" messages are sent in place of an
+   * info queue.
+   *
+   * @return The URL of the in-process endpoint for the "info" messages.
+   */
+  public String getInfoUrl() {
+    return this.infoUrl;
+  }
+
+  /**
+   * Sets the URL of the in-process endpoint (<tt>mem://</tt> or
+   * <tt>file://</tt>) to which the "info" messages are sent in place of an
+   * info queue.
+   *
+   * @param url The URL of the in-process endpoint for the "info" messages.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setInfoUrl(String url) {
+    this.infoUrl = url;
+    return this;
+  }
+
+  /**
+   * Returns the number of threads that process the messages from the load
+   * queue.  If <tt>null</tt> then the engine concurrency is used.
+   *
+   * @return The number of threads that process the load queue messages, or
+   *         <tt>null</tt> if the engine concurrency is used.
+   */
+  public Integer getLoadQueueThreadCount() {
+    return this.loadQueueThreadCount;
+  }
+
+  /**
+   * Sets the number of threads that process the messages from the load
+   * queue.  If <tt>null</tt> then the engine concurrency is used.
+   *
+   * @param threadCount The number of threads that process the load queue
+   *                    messages, or <tt>null</tt> to use the engine
+   *                    concurrency.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setLoadQueueThreadCount(Integer threadCount) {
+    this.loadQueueThreadCount = threadCount;
+    return this;
+  }
+
+  /**
+   * Returns the Kafka bootstrap servers for the load topic.
+   *
+   * @return The Kafka bootstrap servers for the load topic.
+   */
+  public String getKafkaLoadBootstrapServers() {
+    return this.kafkaLoadServers;
+  }
+
+  /**
+   * Sets the Kafka bootstrap servers for the load topic.
+   *
+   * @param servers The Kafka bootstrap servers for the load topic.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setKafkaLoadBootstrapServers(String servers) {
+    this.kafkaLoadServers = servers;
+    return this;
+  }
+
+  /**
+   * Returns the Kafka consumer group ID for the load topic.
+   *
+   * @return The Kafka consumer group ID for the load topic.
+   */
+  public String getKafkaLoadGroupId() {
+    return this.kafkaLoadGroupId;
+  }
+
+  /**
+   * Sets the Kafka consumer group ID for the load topic.
+   *
+   * @param groupId The Kafka consumer group ID for the load topic.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setKafkaLoadGroupId(String groupId) {
+    this.kafkaLoadGroupId = groupId;
+    return this;
+  }
+
+  /**
+   * Returns the Kafka topic from which the load messages are consumed.
+   *
+   * @return The Kafka topic from which the load messages are consumed.
+   */
+  public String getKafkaLoadTopic() {
+    return this.kafkaLoadTopic;
+  }
+
+  /**
+   * Sets the Kafka topic from which the load messages are consumed.
+   *
+   * @param topic The Kafka topic from which the load messages are consumed.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setKafkaLoadTopic(String topic) {
+    this.kafkaLoadTopic = topic;
+    return this;
+  }
+
+  /**
+   * Returns the RabbitMQ user name for the load queue.
+   *
+   * @return The RabbitMQ user name for the load queue.
+   */
+  public String getRabbitLoadUser() {
+    return this.rabbitLoadUser;
+  }
+
+  /**
+   * Sets the RabbitMQ user name for the load queue.
+   *
+   * @param user The RabbitMQ user name for the load queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitLoadUser(String user) {
+    this.rabbitLoadUser = user;
+    return this;
+  }
+
+  /**
+   * Returns the RabbitMQ password for the load queue.
+   *
+   * @return The RabbitMQ password for the load queue.
+   */
+  public String getRabbitLoadPassword() {
+    return this.rabbitLoadPassword;
+  }
+
+  /**
+   * Sets the RabbitMQ password for the load queue.
+   *
+   * @param password The RabbitMQ password for the load queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitLoadPassword(String password) {
+    this.rabbitLoadPassword = password;
+    return this;
+  }
+
+  /**
+   * Returns the RabbitMQ host for the load queue.
+   *
+   * @return The RabbitMQ host for the load queue.
+   */
+  public String getRabbitLoadHost() {
+    return this.rabbitLoadHost;
+  }
+
+  /**
+   * Sets the RabbitMQ host for the load queue.
+   *
+   * @param host The RabbitMQ host for the load queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitLoadHost(String host) {
+    this.rabbitLoadHost = host;
+    return this;
+  }
+
+  /**
+   * Returns the RabbitMQ port for the load queue.
+   *
+   * @return The RabbitMQ port for the load queue.
+   */
+  public Integer getRabbitLoadPort() {
+    return this.rabbitLoadPort;
+  }
+
+  /**
+   * Sets the RabbitMQ port for the load queue.
+   *
+   * @param port The RabbitMQ port for the load queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitLoadPort(Integer port) {
+    this.rabbitLoadPort = port;
+    return this;
+  }
+
+  /**
+   * Returns the RabbitMQ virtual host for the load queue.
+   *
+   * @return The RabbitMQ virtual host for the load queue.
+   */
+  public String getRabbitLoadVirtualHost() {
+    return this.rabbitLoadVHost;
+  }
+
+  /**
+   * Sets the RabbitMQ virtual host for the load queue.
+   *
+   * @param virtualHost The RabbitMQ virtual host for the load queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitLoadVirtualHost(String virtualHost) {
+    this.rabbitLoadVHost = virtualHost;
+    return this;
+  }
+
+  /**
+   * Returns the name of the RabbitMQ queue from which the load messages are
+   * consumed.
+   *
+   * @return The name of the RabbitMQ queue for the load messages.
+   */
+  public String getRabbitLoadQueue() {
+    return this.rabbitLoadQueue;
+  }
+
+  /**
+   * Sets the name of the RabbitMQ queue from which the load messages are
+   * consumed.
+   *
+   * @param queue The name of the RabbitMQ queue for the load messages.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitLoadQueue(String queue) {
+    this.rabbitLoadQueue = queue;
+    return this;
+  }
+
+  /**
+   * Returns the URL of the Amazon SQS queue from which the load messages are
+   * consumed.
+   *
+   * @return The URL of the Amazon SQS load queue.
+   */
+  public String getSqsLoadUrl() {
+    return this.sqsLoadUrl;
+  }
+
+  /**
+   * Sets the URL of the Amazon SQS queue from which the load messages are
+   * consumed.
+   *
+   * @param url The URL of the Amazon SQS load queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setSqsLoadUrl(String url) {
+    this.sqsLoadUrl = url;
+    return this;
+  }
+
+  /**
+   * Returns the path to the local file whose lines are consumed as the load
+   * messages in place of a load queue.
+   *
+   * @return The path to the local file for the load messages.
+   */
+  public String getFileLoadPath() {
+    return this.fileLoadPath;
+  }
+
+  /**
+   * Sets the path to the local file whose lines are consumed as the load
+   * messages in place of a load queue.
+   *
+   * @param path The path to the local file for the load messages.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setFileLoadPath(String path) {
+    this.fileLoadPath = path;
+    return this;
+  }
+
+  /**
+   * Returns the number of milliseconds that the Kafka producer waits to group
+   * "info" messages into a batch.  This is part of the info queue
+   * configuration to push "info" messages when records are loaded or deleted
+   * or entities are reevaluated.
+   *
+   * @return The Kafka linger milliseconds for the "info" queue, or
+   *         <tt>null</tt> if the Kafka default is used.
+   */
+  public Integer getKafkaInfoLingerMillis() {
+    return this.kafkaInfoLingerMillis;
+  }
+
+  /**
+   * Sets the number of milliseconds that the Kafka producer waits to group
+   * "info" messages into a batch.  This is part of the info queue
+   * configuration to push "info" messages when records are loaded or deleted
+   * or entities are reevaluated.
+   *
+   * @param lingerMillis The Kafka linger milliseconds for the "info" queue,
+   *                     or <tt>null</tt> if the Kafka default is used.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setKafkaInfoLingerMillis(Integer lingerMillis) {
+    this.kafkaInfoLingerMillis = lingerMillis;
+    return this;
+  }
+
+  /**
+   * Returns the maximum number of bytes in a batch of "info" messages sent by
+   * the Kafka producer.  This is part of the info queue configuration to push
+   * "info" messages when records are loaded or deleted or entities are
+   * reevaluated.
+   *
+   * @return The Kafka batch size for the "info" queue, or <tt>null</tt> if
+   *         the Kafka default is used.
+   */
+  public Integer getKafkaInfoBatchSize() {
+    return this.kafkaInfoBatchSize;
+  }
+
+  /**
+   * Sets the maximum number of bytes in a batch of "info" messages sent by
+   * the Kafka producer.  This is part of the info queue configuration to push
+   * "info" messages when records are loaded or deleted or entities are
+   * reevaluated.
+   *
+   * @param batchSize The Kafka batch size for the "info" queue, or
+   *                  <tt>null</tt> if the Kafka default is used.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setKafkaInfoBatchSize(Integer batchSize) {
+    this.kafkaInfoBatchSize = batchSize;
+    return this;
+  }
+
   /**
    * Returns the RabbitMQ user for the "info" queue.  This is part of the info
    * queue configuration to push "info" messages when records are loaded or
@@ -847,9 +1548,22 @@ public class SzApiServerOptions {
     put(map, STATS_INTERVAL,               this.getStatsInterval());
     put(map, SKIP_STARTUP_PERF,            this.isSkippingStartupPerformance());
     put(map, SKIP_ENGINE_PRIMING,          this.isSkippingEnginePriming());
+    put(map, LOAD_JOURNAL_DIR,             this.getLoadJournalDirectory());
+    put(map, LOAD_PATH,                    this.getLoadPath());
+    put(map, WATCH_DIR,                    this.getWatchDirectory());
+    put(map, REDO_THREADS,                 this.getRedoThreadCount());
+    put(map, REDO_PRIORITY,                this.getRedoPriority());
+    put(map, INFO_QUEUE_BUFFER_SIZE,       this.getInfoQueueBufferSize());
+    put(map, INFO_QUEUE_FULL_POLICY,       this.getInfoQueueFullPolicy());
+    put(map, INFO_QUEUE_SPOOL_DIR,         this.getInfoQueueSpoolDirectory());
+    put(map, INFO_COALESCE_WINDOW,         this.getInfoCoalesceWindow());
+    put(map, INFO_COALESCE_COUNT,          this.getInfoCoalesceCount());
+    put(map, INFO_COALESCE_MODE,           this.getInfoCoalesceMode());
     put(map, KAFKA_INFO_BOOTSTRAP_SERVER,  this.getKafkaInfoBootstrapServers());
     put(map, KAFKA_INFO_GROUP,             this.getKafkaInfoGroupId());
     put(map, KAFKA_INFO_TOPIC,             this.getKafkaInfoTopic());
+    put(map, KAFKA_INFO_LINGER_MS,         this.getKafkaInfoLingerMillis());
+    put(map, KAFKA_INFO_BATCH_SIZE,        this.getKafkaInfoBatchSize());
     put(map, RABBIT_INFO_USER,             this.getRabbitInfoUser());
     put(map, RABBIT_INFO_PASSWORD,         this.getRabbitInfoPassword());
     put(map, RABBIT_INFO_HOST,             this.getRabbitInfoHost());
@@ -858,6 +1572,20 @@ public class SzApiServerOptions {
     put(map, RABBIT_INFO_EXCHANGE,         this.getRabbitInfoExchange());
     put(map, RABBIT_INFO_ROUTING_KEY,      this.getRabbitInfoRoutingKey());
     put(map, SQS_INFO_URL,                 this.getSqsInfoUrl());
+    put(map, FILE_INFO_PATH,               this.getFileInfoPath());
+    put(map, INFO_URL,                     this.getInfoUrl());
+    put(map, LOAD_QUEUE_THREADS,           this.getLoadQueueThreadCount());
+    put(map, KAFKA_LOAD_BOOTSTRAP_SERVER,  this.getKafkaLoadBootstrapServers());
+    put(map, KAFKA_LOAD_GROUP,             this.getKafkaLoadGroupId());
+    put(map, KAFKA_LOAD_TOPIC,             this.getKafkaLoadTopic());
+    put(map, RABBIT_LOAD_USER,             this.getRabbitLoadUser());
+    put(map, RABBIT_LOAD_PASSWORD,         this.getRabbitLoadPassword());
+    put(map, RABBIT_LOAD_HOST,             this.getRabbitLoadHost());
+    put(map, RABBIT_LOAD_PORT,             this.getRabbitLoadPort());
+    put(map, RABBIT_LOAD_VIRTUAL_HOST,     this.getRabbitLoadVirtualHost());
+    put(map, RABBIT_LOAD_QUEUE,            this.getRabbitLoadQueue());
+    put(map, SQS_LOAD_URL,                 this.getSqsLoadUrl());
+    put(map, FILE_LOAD_PATH,               this.getFileLoadPath());
     return map;
   }
 
@@ -0,0 +1,458 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.services.SzMessage;
+import com.senzing.api.services.SzMessageSink;
+
+import javax.json.Json;
+import javax.json.JsonObjectBuilder;
+import java.io.*;
+import java.net.URI;
+import java.util.*;
+
+import static com.senzing.api.server.mq.SzMessagingEndpointFactory.URL_PROPERTY_KEY;
+import static com.senzing.io.IOUtilities.UTF_8;
+import static com.senzing.util.JsonUtils.add;
+import static com.senzing.util.JsonUtils.toJsonText;
+
+/**
+ * Provides a local file implementation of {@link SzMessageSink} that stands
+ * in for a message broker.  Each message is appended to the file as a single
+ * line of JSON with a <tt>"body"</tt> property and (if the message has any
+ * properties) a <tt>"properties"</tt> object.  The file is flushed after
+ * each message or batch of messages is written.  This allows the info queue
+ * to be exercised and inspected without a broker.
+ * <p>
+ * Optionally the file is rolled once it reaches a maximum segment size by
+ * renaming it with a sequence number suffix (e.g.: <tt>info.jsonl.000001</tt>)
+ * and starting a new file, keeping only a maximum number of rolled segments.
+ * Rolling is configured via a URL of the form
+ * <tt>file://{path}?segmentSize={bytes}&amp;segmentCount={count}</tt>.  The
+ * latency of each call to send is recorded in the {@link SzLatencyHistogram}
+ * returned from {@link #getSendLatency()}.
+ */
+public class FileEndpoint extends SzAbstractMessagingEndpoint {
+  /**
+   * The {@link Initiator} for the {@link FileEndpoint} class.
+   */
+  public static final Initiator INITIATOR = new FileInitiator();
+
+  /**
+   * The prefix to use for the initialization properties.
+   */
+  public static final String PROPERTY_PREFIX = "file-";
+
+  /**
+   * The property key for the path to the file.
+   */
+  public static final String PATH_PROPERTY_KEY = PROPERTY_PREFIX + "path";
+
+  /**
+   * The <b>unmodifiable</b> {@link Set} of {@link String} property keys for
+   * creating an {@link FileEndpoint} via {@link FileInitiator}.
+   */
+  public static final Set<String> PROPERTY_KEYS
+      = Set.of(PATH_PROPERTY_KEY, URL_PROPERTY_KEY);
+
+  /**
+   * The URL scheme for the file endpoint.
+   */
+  public static final String SCHEME = "file";
+
+  /**
+   * The URL query parameter for the size in bytes at which the file is
+   * rolled.
+   */
+  public static final String SEGMENT_SIZE_PARAMETER = "segmentSize";
+
+  /**
+   * The URL query parameter for the maximum number of rolled segments to
+   * keep.
+   */
+  public static final String SEGMENT_COUNT_PARAMETER = "segmentCount";
+
+  /**
+   * The default maximum number of rolled segments to keep.
+   */
+  public static final int DEFAULT_SEGMENT_COUNT = 10;
+
+  /**
+   * The number of digits in the sequence number suffix of a rolled segment.
+   */
+  private static final int SEQUENCE_DIGITS = 6;
+
+  /**
+   * The file to which the messages are appended.
+   */
+  private File file;
+
+  /**
+   * The {@link Writer} for appending to the file.
+   */
+  private Writer writer;
+
+  /**
+   * The size in bytes at which the file is rolled, or zero (0) if the file
+   * is not rolled.
+   */
+  private long segmentSize;
+
+  /**
+   * The maximum number of rolled segments to keep.
+   */
+  private int segmentCount;
+
+  /**
+   * The current size of the file in bytes.
+   */
+  private long currentSize;
+
+  /**
+   * The sequence number of the most recently rolled segment.
+   */
+  private long sequence;
+
+  /**
+   * The {@link SzLatencyHistogram} for the calls to send.
+   */
+  private final SzLatencyHistogram sendLatency = new SzLatencyHistogram();
+
+  /**
+   * Constructs with the specified {@link File} to which the messages are
+   * appended.  The file is created if it does not exist.
+   *
+   * @param file The {@link File} to which the messages are appended.
+   *
+   * @throws IOException If the file could not be opened for appending.
+   */
+  public FileEndpoint(File file) throws IOException {
+    this(file, 0L, 0);
+  }
+
+  /**
+   * Constructs with the specified {@link File} to which the messages are
+   * appended, the size at which the file is rolled and the maximum number of
+   * rolled segments to keep.  The file is created if it does not exist.
+   *
+   * @param file The {@link File} to which the messages are appended.
+   * @param segmentSize The size in bytes at which the file is rolled, or
+   *                    zero (0) if the file should not be rolled.
+   * @param segmentCount The maximum number of rolled segments to keep.
+   *
+   * @throws IOException If the file could not be opened for appending.
+   */
+  public FileEndpoint(File file, long segmentSize, int segmentCount)
+      throws IOException
+  {
+    if (segmentSize < 0L) {
+      throw new IllegalArgumentException(
+          "The segment size cannot be negative: " + segmentSize);
+    }
+    if (segmentSize > 0L && segmentCount <= 0) {
+      throw new IllegalArgumentException(
+          "The segment count must be positive: " + segmentCount);
+    }
+    this.file         = file;
+    this.segmentSize  = segmentSize;
+    this.segmentCount = segmentCount;
+    this.sequence     = 0L;
+    for (long sequence : this.getSegmentSequences()) {
+      this.sequence = Math.max(this.sequence, sequence);
+    }
+    this.open();
+  }
+
+  /**
+   * Gets the {@link File} to which the messages are appended.
+   *
+   * @return The {@link File} to which the messages are appended.
+   */
+  public File getFile() {
+    return this.file;
+  }
+
+  /**
+   * Gets the size in bytes at which the file is rolled, or zero (0) if the
+   * file is not rolled.
+   *
+   * @return The size in bytes at which the file is rolled, or zero (0) if the
+   *         file is not rolled.
+   */
+  public long getSegmentSize() {
+    return this.segmentSize;
+  }
+
+  /**
+   * Gets the maximum number of rolled segments that are kept.
+   *
+   * @return The maximum number of rolled segments that are kept.
+   */
+  public int getSegmentCount() {
+    return this.segmentCount;
+  }
+
+  /**
+   * Gets the {@link List} of rolled segment files from oldest to newest.
+   *
+   * @return The {@link List} of rolled segment files from oldest to newest.
+   */
+  public List<File> getRolledSegments() {
+    List<File> result = new ArrayList<>();
+    for (long sequence : this.getSegmentSequences()) {
+      result.add(this.getSegmentFile(sequence));
+    }
+    return result;
+  }
+
+  /**
+   * Overridden to return the {@link SzLatencyHistogram} for the calls to
+   * send.  A batch of messages is recorded as a single call.
+   *
+   * @return The {@link SzLatencyHistogram} for the calls to send.
+   */
+  @Override
+  public SzLatencyHistogram getSendLatency() {
+    return this.sendLatency;
+  }
+
+  @Override
+  public void send(SzMessage message, FailureHandler onFailure)
+      throws Exception
+  {
+    this.send(List.of(message), onFailure);
+  }
+
+  /**
+   * Overridden to append all the specified messages and then flush the file
+   * once.  If the file then needs to be rolled and rolling fails, the
+   * failure is logged rather than reported for the messages since they were
+   * already written, and the file is reopened by the next send.
+   *
+   * @param messages The {@link List} of {@link SzMessage} instances to be
+   *                 sent.
+   *
+   * @param onFailure The function to call upon failure to send a message,
+   *                  or <tt>null</tt> if none.
+   *
+   * @throws Exception If a failure occurs in sending the messages and no
+   *                   on-failure function was provided.
+   */
+  @Override
+  public void send(List<SzMessage> messages, FailureHandler onFailure)
+      throws Exception
+  {
+    long start = System.nanoTime();
+    synchronized (this.monitor) {
+      try {
+        try {
+          // reopen the file if a previous roll failed to do so
+          if (this.writer == null) this.open();
+          for (SzMessage message : messages) {
+            String line = toJsonLine(message) + System.lineSeparator();
+            this.writer.write(line);
+            this.currentSize += line.getBytes(UTF_8).length;
+          }
+          this.writer.flush();
+
+        } catch (IOException e) {
+          if (onFailure == null) throw e;
+          for (SzMessage message : messages) {
+            onFailure.handle(e, message);
+          }
+          return;
+        }
+
+        // the messages are written so a failure to roll is only logged
+        if (this.segmentSize > 0L && this.currentSize >= this.segmentSize) {
+          try {
+            this.roll();
+          } catch (IOException e) {
+            System.err.println("Failed to roll the file: " + this.file);
+            e.printStackTrace();
+          }
+        }
+      } finally {
+        this.sendLatency.recordSince(start);
+      }
+    }
+  }
+
+  /**
+   * Opens the file for appending.
+   */
+  private void open() throws IOException {
+    this.writer = new BufferedWriter(
+        new OutputStreamWriter(new FileOutputStream(this.file, true), UTF_8));
+    this.currentSize = this.file.length();
+  }
+
+  /**
+   * Closes the file, renames it as the next rolled segment, deletes the
+   * oldest rolled segments beyond the maximum count and opens a new file.
+   * The writer is left <tt>null</tt> if the new file could not be opened.
+   */
+  private void roll() throws IOException {
+    Writer writer = this.writer;
+    this.writer = null;
+    writer.close();
+    this.sequence++;
+    File segment = this.getSegmentFile(this.sequence);
+    if (!this.file.renameTo(segment)) {
+      System.err.println("Failed to roll the file to a new segment: "
+                             + segment);
+      this.sequence--;
+      this.open();
+      return;
+    }
+    List<Long> sequences = this.getSegmentSequences();
+    for (int index = 0; index < sequences.size() - this.segmentCount; index++)
+    {
+      File expired = this.getSegmentFile(sequences.get(index));
+      if (!expired.delete()) {
+        System.err.println("Failed to delete expired segment: " + expired);
+      }
+    }
+    this.open();
+  }
+
+  /**
+   * Gets the rolled segment file for the specified sequence number.
+   */
+  private File getSegmentFile(long sequence) {
+    String suffix = String.valueOf(sequence);
+    while (suffix.length() < SEQUENCE_DIGITS) suffix = "0" + suffix;
+    return new File(this.file.getPath() + "." + suffix);
+  }
+
+  /**
+   * Gets the sorted sequence numbers of the existing rolled segments.
+   */
+  private List<Long> getSegmentSequences() {
+    List<Long> result = new ArrayList<>();
+    File    dir     = this.file.getAbsoluteFile().getParentFile();
+    String  prefix  = this.file.getName() + ".";
+    String[] names  = (dir == null) ? null : dir.list();
+    if (names == null) return result;
+    for (String name : names) {
+      if (!name.startsWith(prefix)) continue;
+      try {
+        long sequence = Long.parseLong(name.substring(prefix.length()));
+        if (sequence > 0L) result.add(sequence);
+      } catch (NumberFormatException ignore) {
+        // not a rolled segment
+      }
+    }
+    Collections.sort(result);
+    return result;
+  }
+
+  /**
+   * Converts the specified {@link SzMessage} to a single line of JSON text.
+   */
+  private static String toJsonLine(SzMessage message) {
+    JsonObjectBuilder builder = Json.createObjectBuilder();
+    Map<String, String> props = message.getProperties();
+    if (props != null && props.size() > 0) {
+      JsonObjectBuilder propsBuilder = Json.createObjectBuilder();
+      props.forEach((key, value) -> add(propsBuilder, key, value));
+      builder.add("properties", propsBuilder);
+    }
+    add(builder, "body", message.getBody());
+    return toJsonText(builder.build());
+  }
+
+  /**
+   * Handles closing the underlying file.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  @Override
+  protected void doClose() throws Exception {
+    synchronized (this.monitor) {
+      if (this.writer != null) this.writer.close();
+    }
+  }
+
+  /**
+   * Provides an {@link Initiator} implementation that creates an instance of
+   * {@link FileEndpoint} from the path to the file.
+   */
+  private static class FileInitiator implements SzMessagingEndpoint.Initiator
+  {
+    /**
+     * Private default constructor.
+     */
+    private FileInitiator() {
+      // do nothing
+    }
+
+    /**
+     * Handles establishing a file endpoint.
+     */
+    @Override
+    public SzMessagingEndpoint establish(Map<String, ?> props,
+                                         int            concurrency)
+    {
+      if (props == null) return null;
+      String  path          = (String) props.get(PATH_PROPERTY_KEY);
+      String  url           = (String) props.get(URL_PROPERTY_KEY);
+      long    segmentSize   = 0L;
+      int     segmentCount  = 0;
+
+      // check for a file URL with the rolling parameters
+      if (path == null && url != null) {
+        URI uri = URI.create(url);
+        if (!SCHEME.equalsIgnoreCase(uri.getScheme())) return null;
+        path = uri.getPath();
+        String query = uri.getRawQuery();
+        Map<String, List<String>> params
+            = parseQueryString((query == null) ? null : "?" + query);
+        try {
+          segmentSize = Long.parseLong(
+              getParameter(params, SEGMENT_SIZE_PARAMETER, "0"));
+          segmentCount = Integer.parseInt(
+              getParameter(params, SEGMENT_COUNT_PARAMETER,
+                           String.valueOf(DEFAULT_SEGMENT_COUNT)));
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException(
+              "The segment size and count must be integers: " + url);
+        }
+      }
+      if (path == null || path.length() == 0) return null;
+
+      File file = new File(path);
+      File dir  = file.getAbsoluteFile().getParentFile();
+      if (dir != null && !dir.isDirectory()) {
+        throw new IllegalArgumentException(
+            "The directory for the info file does not exist: " + file);
+      }
+      try {
+        return new FileEndpoint(file, segmentSize, segmentCount);
+
+      } catch (IOException e) {
+        throw new IllegalArgumentException(
+            "Unable to open the info file for appending: " + file, e);
+      }
+    }
+
+    /**
+     * Gets the last value for the specified query parameter or the specified
+     * default value if the parameter was not specified.
+     */
+    private static String getParameter(Map<String, List<String>>  params,
+                                       String                     name,
+                                       String                     defaultValue)
+    {
+      List<String> values = params.get(name);
+      if (values == null || values.size() == 0) return defaultValue;
+      return values.get(values.size() - 1);
+    }
+
+    /**
+     * Implemented to return {@link #PROPERTY_KEYS}.
+     */
+    @Override
+    public Set<String> getPropertyKeys() {
+      return PROPERTY_KEYS;
+    }
+  }
+}
@@ -0,0 +1,368 @@
+package com.senzing.api.server.mq;
+
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static com.senzing.io.IOUtilities.UTF_8;
+import static com.senzing.util.JsonUtils.parseJsonObject;
+
+/**
+ * Provides a local file implementation of {@link SzMessageSource} that stands
+ * in for a message broker.  Each line of the file is a message.  Lines in the
+ * format written by {@link FileEndpoint} (a JSON object with a
+ * <tt>"body"</tt> property and an optional <tt>"properties"</tt> object) are
+ * unwrapped, and any other line is used as the message body.  Once the end of
+ * the file is reached the file is tailed for lines that are appended.
+ * <p>
+ * The byte offset up to which all messages have been acknowledged is
+ * checkpointed in a file alongside the message file (with a
+ * <tt>".checkpoint"</tt> suffix) so consumption resumes after that offset
+ * when the file is opened again.  Messages that are in flight when the source
+ * is closed are therefore received again.  There is no redelivery for a file
+ * so a rejected message is treated as consumed.
+ */
+public class FileSource extends SzAbstractMessageSource {
+  /**
+   * The {@link Initiator} for the {@link FileSource} class.
+   */
+  public static final Initiator INITIATOR = new FileSourceInitiator();
+
+  /**
+   * The <b>unmodifiable</b> {@link Set} of {@link String} property keys for
+   * creating an {@link FileSource} via {@link FileSourceInitiator}.
+   */
+  public static final Set<String> PROPERTY_KEYS
+      = Set.of(FileEndpoint.PATH_PROPERTY_KEY);
+
+  /**
+   * The suffix for the checkpoint file.
+   */
+  public static final String CHECKPOINT_SUFFIX = ".checkpoint";
+
+  /**
+   * The number of milliseconds to wait before checking for appended lines
+   * when the end of the file has been reached.
+   */
+  private static final long POLL_INTERVAL = 100L;
+
+  /**
+   * The size of the read buffer.
+   */
+  private static final int BUFFER_SIZE = 65536;
+
+  /**
+   * The file from which the messages are read.
+   */
+  private File file;
+
+  /**
+   * The checkpoint file.
+   */
+  private File checkpointFile;
+
+  /**
+   * The {@link FileChannel} for reading the file.
+   */
+  private FileChannel channel;
+
+  /**
+   * The {@link FileChannel} for writing the checkpoint file.
+   */
+  private FileChannel checkpointChannel;
+
+  /**
+   * The read buffer which is kept in "get" mode between reads.
+   */
+  private ByteBuffer buffer;
+
+  /**
+   * The bytes of the line currently being read.
+   */
+  private ByteArrayOutputStream line;
+
+  /**
+   * The file offset immediately after the bytes in the read buffer.
+   */
+  private long filePosition;
+
+  /**
+   * The checkpointed offset up to which all messages have been settled.
+   */
+  private long committedOffset;
+
+  /**
+   * The messages that are in flight or are settled but are preceded by one
+   * that is still in flight, in the order they were received.
+   */
+  private Deque<FileMessage> inFlight;
+
+  /**
+   * Constructs with the specified {@link File} from which the messages are
+   * read.  The file is created if it does not exist and consumption resumes
+   * from the checkpointed offset if there is one.
+   *
+   * @param file The {@link File} from which the messages are read.
+   *
+   * @throws IOException If the file could not be opened.
+   */
+  public FileSource(File file) throws IOException {
+    this.file           = file;
+    this.checkpointFile = new File(file.getPath() + CHECKPOINT_SUFFIX);
+    this.buffer         = ByteBuffer.allocate(BUFFER_SIZE);
+    this.line           = new ByteArrayOutputStream();
+    this.inFlight       = new ArrayDeque<>();
+    this.buffer.flip();
+
+    file.createNewFile();
+    this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    this.checkpointChannel = FileChannel.open(this.checkpointFile.toPath(),
+                                              StandardOpenOption.CREATE,
+                                              StandardOpenOption.READ,
+                                              StandardOpenOption.WRITE);
+
+    // read the checkpoint (starting over if the file was replaced)
+    long offset = 0L;
+    if (this.checkpointChannel.size() >= Long.BYTES) {
+      ByteBuffer bytes = ByteBuffer.allocate(Long.BYTES);
+      while (bytes.hasRemaining()) {
+        if (this.checkpointChannel.read(bytes, bytes.position()) < 0) break;
+      }
+      bytes.flip();
+      offset = bytes.getLong();
+    }
+    if (offset < 0L || offset > this.channel.size()) offset = 0L;
+    this.filePosition     = offset;
+    this.committedOffset  = offset;
+  }
+
+  /**
+   * Gets the {@link File} from which the messages are read.
+   *
+   * @return The {@link File} from which the messages are read.
+   */
+  public File getFile() {
+    return this.file;
+  }
+
+  /**
+   * Gets the checkpointed byte offset up to which all messages have been
+   * acknowledged or rejected.
+   *
+   * @return The checkpointed byte offset up to which all messages have been
+   *         acknowledged or rejected.
+   */
+  public long getCommittedOffset() {
+    synchronized (this.monitor) {
+      return this.committedOffset;
+    }
+  }
+
+  @Override
+  public List<SzReceivedMessage> receive(int maxCount, long timeout)
+      throws Exception
+  {
+    this.checkOpen();
+    this.commit();
+    long end = System.currentTimeMillis() + timeout;
+    List<SzReceivedMessage> result = new ArrayList<>(maxCount);
+    while (true) {
+      while (result.size() < maxCount) {
+        String text = this.readLine();
+        if (text == null) break;
+        if (text.trim().length() == 0) continue;
+        long offset = this.filePosition - this.buffer.remaining();
+        FileMessage message = toMessage(text, offset);
+        synchronized (this.monitor) {
+          this.inFlight.addLast(message);
+        }
+        result.add(message);
+      }
+      long remaining = end - System.currentTimeMillis();
+      if (result.size() > 0 || remaining <= 0L) return result;
+      Thread.sleep(Math.min(POLL_INTERVAL, remaining));
+    }
+  }
+
+  /**
+   * Reads the next complete line from the file, returning <tt>null</tt> if
+   * no complete line is available.
+   */
+  private String readLine() throws IOException {
+    while (true) {
+      while (this.buffer.hasRemaining()) {
+        byte b = this.buffer.get();
+        if (b == '\n') {
+          String text = new String(this.line.toByteArray(), UTF_8);
+          this.line.reset();
+          return text.endsWith("\r")
+              ? text.substring(0, text.length() - 1) : text;
+        }
+        this.line.write(b);
+      }
+      this.buffer.clear();
+      int count = this.channel.read(this.buffer, this.filePosition);
+      this.buffer.flip();
+      if (count <= 0) return null;
+      this.filePosition += count;
+    }
+  }
+
+  /**
+   * Converts the specified line of text to a {@link FileMessage} with the
+   * specified end offset.
+   */
+  private FileMessage toMessage(String text, long endOffset) {
+    JsonObject jsonObject = null;
+    try {
+      jsonObject = parseJsonObject(text);
+    } catch (Exception ignore) {
+      // not JSON so the line is the body
+    }
+    boolean wrapped = (jsonObject != null)
+        && (jsonObject.get("body") != null)
+        && (jsonObject.get("body").getValueType() == JsonValue.ValueType.STRING)
+        && Set.of("body", "properties").containsAll(jsonObject.keySet());
+    if (!wrapped) return new FileMessage(text, endOffset);
+
+    FileMessage message = new FileMessage(jsonObject.getString("body"),
+                                          endOffset);
+    JsonObject props = jsonObject.getJsonObject("properties");
+    if (props != null) {
+      props.forEach((key, value) -> {
+        message.setProperty(
+            key, (value.getValueType() == JsonValue.ValueType.STRING)
+                ? props.getString(key) : value.toString());
+      });
+    }
+    return message;
+  }
+
+  /**
+   * Advances the committed offset past the leading settled messages and
+   * writes the checkpoint if it changed.
+   */
+  private void commit() throws IOException {
+    synchronized (this.monitor) {
+      long offset = this.committedOffset;
+      while (this.inFlight.size() > 0 && this.inFlight.peekFirst().isSettled())
+      {
+        offset = this.inFlight.removeFirst().endOffset;
+      }
+      if (offset == this.committedOffset) return;
+      ByteBuffer bytes = ByteBuffer.allocate(Long.BYTES);
+      bytes.putLong(offset);
+      bytes.flip();
+      while (bytes.hasRemaining()) {
+        this.checkpointChannel.write(bytes, bytes.position());
+      }
+      this.checkpointChannel.force(false);
+      this.committedOffset = offset;
+    }
+  }
+
+  /**
+   * Handles writing the final checkpoint and closing the file.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  @Override
+  protected void doClose() throws Exception {
+    try {
+      this.commit();
+    } finally {
+      this.channel.close();
+      this.checkpointChannel.close();
+    }
+  }
+
+  /**
+   * The {@link SzReceivedMessage} implementation for a line of the file.
+   */
+  private class FileMessage extends SzReceivedMessage {
+    /**
+     * The file offset immediately after the line.
+     */
+    private long endOffset;
+
+    /**
+     * Constructs with the message body and the file offset immediately after
+     * the line.
+     */
+    private FileMessage(String body, long endOffset) {
+      super(body);
+      this.endOffset = endOffset;
+    }
+
+    /**
+     * Implemented to do nothing since the checkpoint is advanced on the next
+     * receive or when the source is closed.
+     */
+    @Override
+    protected void doAcknowledge() {
+      // do nothing
+    }
+
+    /**
+     * Implemented to do nothing since a line of the file cannot be
+     * redelivered.
+     */
+    @Override
+    protected void doReject() {
+      // do nothing
+    }
+  }
+
+  /**
+   * Provides an {@link Initiator} implementation that creates an instance of
+   * {@link FileSource} from the path to the file.
+   */
+  private static class FileSourceInitiator
+      implements SzMessageSource.Initiator
+  {
+    /**
+     * Private default constructor.
+     */
+    private FileSourceInitiator() {
+      // do nothing
+    }
+
+    /**
+     * Handles establishing a file source.
+     */
+    @Override
+    public SzMessageSource establish(Map<String, ?> props, int concurrency) {
+      if (props == null) return null;
+      String path = (String) props.get(FileEndpoint.PATH_PROPERTY_KEY);
+      if (path == null) return null;
+
+      File file = new File(path);
+      File dir  = file.getAbsoluteFile().getParentFile();
+      if (dir != null && !dir.isDirectory()) {
+        throw new IllegalArgumentException(
+            "The directory for the load file does not exist: " + file);
+      }
+      try {
+        return new FileSource(file);
+
+      } catch (IOException e) {
+        throw new IllegalArgumentException(
+            "Unable to open the load file for reading: " + file, e);
+      }
+    }
+
+    /**
+     * Implemented to return {@link #PROPERTY_KEYS}.
+     */
+    @Override
+    public Set<String> getPropertyKeys() {
+      return PROPERTY_KEYS;
+    }
+  }
+}
@@ -6,9 +6,11 @@ import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 
 import java.io.UnsupportedEncodingException;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static com.senzing.io.IOUtilities.UTF_8;
 
@@ -53,6 +55,20 @@ public class KafkaEndpoint extends SzAbstractMessagingEndpoint {
    */
   public static final String TOPIC_PROPERTY_KEY = PROPERTY_PREFIX + "topic";
 
+  /**
+   * The property key for the number of milliseconds that the Kafka producer
+   * lingers to accumulate records into batches (<tt>"linger.ms"</tt>).
+   */
+  public static final String LINGER_MS_PROPERTY_KEY
+      = PROPERTY_PREFIX + "linger-ms";
+
+  /**
+   * The property key for the maximum number of bytes in a batch of records
+   * sent by the Kafka producer (<tt>"batch.size"</tt>).
+   */
+  public static final String BATCH_SIZE_PROPERTY_KEY
+      = PROPERTY_PREFIX + "batch-size";
+
   /**
    * The <b>unmodifiable</b> {@link Set} of {@link String} property keys for
    * creating an {@link KafkaEndpoint} via {@link KafkaInitiator}.
@@ -60,7 +76,9 @@ public class KafkaEndpoint extends SzAbstractMessagingEndpoint {
   public static final Set<String> PROPERTY_KEYS
       = Set.of(BOOTSTRAP_SERVERS_PROPERTY_KEY,
                GROUP_ID_PROPERTY_KEY,
-               TOPIC_PROPERTY_KEY);
+               TOPIC_PROPERTY_KEY,
+               LINGER_MS_PROPERTY_KEY,
+               BATCH_SIZE_PROPERTY_KEY);
 
   /**
    * The class name for the string serializer.
@@ -95,25 +113,14 @@ public class KafkaEndpoint extends SzAbstractMessagingEndpoint {
       throws Exception
   {
     // create the record to send
-    ProducerRecord<String, String> record
-        = new ProducerRecord<>(this.topic, message.getBody());
-
-    // add any message properties as headers if they exist
-    Map<String, String> props = message.getProperties();
-    if (props == null && props.size() > 0) {
-      props.forEach((key, value)-> {
-        try {
-          record.headers().add(key, value.getBytes(UTF_8));
-
-        } catch (UnsupportedEncodingException cannotHappen) {
-          throw new IllegalStateException(cannotHappen);
-        }
-      });
-    }
+    ProducerRecord<String, String> record = this.createRecord(message);
 
     // send the record -- account for immediate and asynchronous exceptions
     Exception[] failure = { null };
     this.producer.send(record, ((recordMetadata, exception) -> {
+      // check if the send succeeded
+      if (exception == null) return;
+
       // check if a handler is defined
       if (onFailure != null) {
         // handle the failure
@@ -128,6 +135,87 @@ public class KafkaEndpoint extends SzAbstractMessagingEndpoint {
     if (failure[0] != null) throw failure[0];
   }
 
+  /**
+   * Overridden to hand all the specified messages to the {@link
+   * KafkaProducer} so it can group them into batches (according to its
+   * <tt>"linger.ms"</tt> and <tt>"batch.size"</tt> settings) and then flush
+   * the producer to wait for them to be acknowledged.  The failure of any
+   * message is handed to the on-failure function (if provided).
+   *
+   * @param messages The {@link List} of {@link SzMessage} instances to be
+   *                 sent.
+   *
+   * @param onFailure The function to call upon failure to send a message,
+   *                  or <tt>null</tt> if none.
+   *
+   * @throws Exception If a failure occurs in sending the messages and no
+   *                   on-failure function was provided.
+   */
+  @Override
+  public void send(List<SzMessage> messages, FailureHandler onFailure)
+      throws Exception
+  {
+    AtomicReferenceArray<Exception> failures
+        = new AtomicReferenceArray<>(messages.size());
+
+    // send all the records before waiting on any of them
+    for (int index = 0; index < messages.size(); index++) {
+      final int i = index;
+      try {
+        ProducerRecord<String, String> record
+            = this.createRecord(messages.get(index));
+
+        this.producer.send(record, ((recordMetadata, exception) -> {
+          if (exception != null) failures.set(i, exception);
+        }));
+
+      } catch (Exception e) {
+        failures.set(i, e);
+      }
+    }
+
+    // wait for the records to complete
+    this.producer.flush();
+
+    // handle the failures
+    Exception failure = null;
+    for (int index = 0; index < messages.size(); index++) {
+      Exception e = failures.get(index);
+      if (e == null) continue;
+      if (onFailure != null) {
+        onFailure.handle(e, messages.get(index));
+      } else if (failure == null) {
+        failure = e;
+      }
+    }
+
+    // rethrow the first failure if no failure handler
+    if (failure != null) throw failure;
+  }
+
+  /**
+   * Creates the {@link ProducerRecord} for the specified {@link SzMessage},
+   * adding any message properties as headers.
+   */
+  private ProducerRecord<String, String> createRecord(SzMessage message) {
+    ProducerRecord<String, String> record
+        = new ProducerRecord<>(this.topic, message.getBody());
+
+    // add any message properties as headers if they exist
+    Map<String, String> props = message.getProperties();
+    if (props != null && props.size() > 0) {
+      props.forEach((key, value)-> {
+        try {
+          record.headers().add(key, value.getBytes(UTF_8));
+
+        } catch (UnsupportedEncodingException cannotHappen) {
+          throw new IllegalStateException(cannotHappen);
+        }
+      });
+    }
+    return record;
+  }
+
   /**
    * Handles closing the underling {@link KafkaProducer} object.
    *
@@ -166,6 +254,8 @@ public class KafkaEndpoint extends SzAbstractMessagingEndpoint {
       String servers = (String) props.get(BOOTSTRAP_SERVERS_PROPERTY_KEY);
       String groupId = (String) props.get(GROUP_ID_PROPERTY_KEY);
       String topic   = (String) props.get(TOPIC_PROPERTY_KEY);
+      Object linger  = props.get(LINGER_MS_PROPERTY_KEY);
+      Object batch   = props.get(BATCH_SIZE_PROPERTY_KEY);
 
       // check if the servers and topic are provided
       if (servers == null || topic == null) {
@@ -181,6 +271,8 @@ public class KafkaEndpoint extends SzAbstractMessagingEndpoint {
       kafkaProps.put("group.id", groupId);
       kafkaProps.put("key.serializer", STRING_SERIALIZER);
       kafkaProps.put("value.serializer", STRING_SERIALIZER);
+      if (linger != null) kafkaProps.put("linger.ms", String.valueOf(linger));
+      if (batch != null) kafkaProps.put("batch.size", String.valueOf(batch));
 
       // create the producer
       KafkaProducer<String,String> producer = new KafkaProducer<>(kafkaProps);
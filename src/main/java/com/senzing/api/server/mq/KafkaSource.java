@@ -0,0 +1,345 @@
+package com.senzing.api.server.mq;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+
+import java.time.Duration;
+import java.util.*;
+
+import static com.senzing.api.server.mq.KafkaEndpoint.*;
+import static com.senzing.io.IOUtilities.UTF_8;
+
+/**
+ * Provides a Kafka implementation of {@link SzMessageSource} that consumes
+ * from a topic as part of a consumer group.  The record headers are mapped
+ * to the message properties.  Automatic offset commits are disabled and
+ * instead, for each partition, the offset is committed up to the first
+ * record that has not yet been acknowledged.  The commits are made on the
+ * receiving thread at the start of each {@link #receive(int, long)} and when
+ * the source is closed.
+ * <p>
+ * If partitions are revoked during a rebalance then the records from those
+ * partitions that are still in flight are redelivered to the new owner.  There
+ * is no per-record redelivery in Kafka so a rejected record is treated as
+ * consumed.
+ * <p>
+ * {@linkplain #pause(SzReceivedMessage) Pausing} for a message pauses its
+ * partition on the {@link Consumer} so that {@link #receive(int, long)} can
+ * keep polling, and thereby stay within <tt>max.poll.interval.ms</tt>, while
+ * the messages already received cannot yet be processed.
+ */
+public class KafkaSource extends SzAbstractMessageSource {
+  /**
+   * The {@link Initiator} for the {@link KafkaSource} class.
+   */
+  public static final Initiator INITIATOR = new KafkaSourceInitiator();
+
+  /**
+   * The <b>unmodifiable</b> {@link Set} of {@link String} property keys for
+   * creating an {@link KafkaSource}.
+   */
+  public static final Set<String> PROPERTY_KEYS
+      = Set.of(BOOTSTRAP_SERVERS_PROPERTY_KEY,
+               GROUP_ID_PROPERTY_KEY,
+               TOPIC_PROPERTY_KEY);
+
+  /**
+   * The consumer group ID that is used if none is specified.
+   */
+  public static final String DEFAULT_GROUP_ID = "senzing-api-server";
+
+  /**
+   * The class name for the string deserializer.
+   */
+  private static final String STRING_DESERIALIZER
+      = "org.apache.kafka.common.serialization.StringDeserializer";
+
+  /**
+   * The {@link Consumer} for receiving the records.
+   */
+  private Consumer<String, String> consumer;
+
+  /**
+   * The records that were polled but not yet returned from {@link
+   * #receive(int, long)}.
+   */
+  private Deque<ConsumerRecord<String, String>> polled;
+
+  /**
+   * The in-flight messages for each assigned {@link TopicPartition} in
+   * offset order.
+   */
+  private Map<TopicPartition, Deque<KafkaMessage>> inFlight;
+
+  /**
+   * The number of messages for which each paused {@link TopicPartition} was
+   * paused.  This is only accessed from the receiving thread.
+   */
+  private Map<TopicPartition, Integer> pauseCounts;
+
+  /**
+   * Constructs with the specified topic and {@link Consumer} (typically a
+   * {@link KafkaConsumer}) and subscribes to the topic.  The consumer should
+   * have automatic commits disabled.
+   *
+   * @param topic The topic to consume from.
+   * @param consumer The {@link Consumer} to consume with.
+   */
+  public KafkaSource(String topic, Consumer<String, String> consumer) {
+    this.consumer     = consumer;
+    this.polled       = new ArrayDeque<>();
+    this.inFlight     = new HashMap<>();
+    this.pauseCounts  = new HashMap<>();
+    this.consumer.subscribe(List.of(topic), new ConsumerRebalanceListener() {
+      @Override
+      public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        KafkaSource.this.revoke(partitions);
+      }
+
+      @Override
+      public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+        // do nothing
+      }
+    });
+  }
+
+  @Override
+  public List<SzReceivedMessage> receive(int maxCount, long timeout)
+      throws Exception
+  {
+    this.checkOpen();
+    this.commit();
+    if (this.polled.size() == 0) {
+      for (ConsumerRecord<String, String> record
+          : this.consumer.poll(Duration.ofMillis(timeout)))
+      {
+        this.polled.add(record);
+      }
+    }
+
+    List<SzReceivedMessage> result = new ArrayList<>(maxCount);
+    while (result.size() < maxCount && this.polled.size() > 0) {
+      ConsumerRecord<String, String> record = this.polled.removeFirst();
+      TopicPartition partition
+          = new TopicPartition(record.topic(), record.partition());
+      KafkaMessage message
+          = new KafkaMessage(record.value(), partition, record.offset());
+      for (Header header : record.headers()) {
+        if (header.value() == null) continue;
+        message.setProperty(header.key(), new String(header.value(), UTF_8));
+      }
+      synchronized (this.monitor) {
+        Deque<KafkaMessage> deque = this.inFlight.get(partition);
+        if (deque == null) {
+          deque = new ArrayDeque<>();
+          this.inFlight.put(partition, deque);
+        }
+        deque.addLast(message);
+      }
+      result.add(message);
+    }
+    return result;
+  }
+
+  /**
+   * Overridden to pause the partition of the specified message on the {@link
+   * Consumer} if it is still assigned.
+   *
+   * @param message The {@link SzReceivedMessage} whose partition should be
+   *                paused.
+   *
+   * @return <tt>true</tt> since pausing is supported.
+   */
+  @Override
+  public boolean pause(SzReceivedMessage message) {
+    TopicPartition partition = ((KafkaMessage) message).partition;
+    Integer count = this.pauseCounts.get(partition);
+    if (count != null) {
+      this.pauseCounts.put(partition, count + 1);
+    } else if (this.consumer.assignment().contains(partition)) {
+      this.consumer.pause(List.of(partition));
+      this.pauseCounts.put(partition, 1);
+    }
+    return true;
+  }
+
+  /**
+   * Overridden to resume the partition of the specified message on the
+   * {@link Consumer} once it has been resumed for each message for which it
+   * was paused.
+   *
+   * @param message The {@link SzReceivedMessage} for which the partition was
+   *                paused.
+   */
+  @Override
+  public void resume(SzReceivedMessage message) {
+    TopicPartition partition = ((KafkaMessage) message).partition;
+    Integer count = this.pauseCounts.get(partition);
+    if (count == null) return;
+    if (count > 1) {
+      this.pauseCounts.put(partition, count - 1);
+      return;
+    }
+    this.pauseCounts.remove(partition);
+    if (this.consumer.assignment().contains(partition)) {
+      this.consumer.resume(List.of(partition));
+    }
+  }
+
+  /**
+   * Commits the offsets for each partition up to the first message that is
+   * still in flight.
+   */
+  private void commit() {
+    Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+    synchronized (this.monitor) {
+      this.inFlight.forEach((partition, deque) -> {
+        long next = -1L;
+        while (deque.size() > 0 && deque.peekFirst().isSettled()) {
+          next = deque.removeFirst().offset + 1L;
+        }
+        if (next >= 0L) offsets.put(partition, new OffsetAndMetadata(next));
+      });
+    }
+    if (offsets.size() > 0) this.consumer.commitSync(offsets);
+  }
+
+  /**
+   * Commits what can be committed for the specified revoked partitions and
+   * then stops tracking them along with any polled records from them.  Any
+   * pause of a revoked partition is forgotten since a partition is no longer
+   * paused once it is reassigned.
+   */
+  private void revoke(Collection<TopicPartition> partitions) {
+    this.commit();
+    synchronized (this.monitor) {
+      for (TopicPartition partition : partitions) {
+        this.inFlight.remove(partition);
+      }
+    }
+    for (TopicPartition partition : partitions) {
+      this.pauseCounts.remove(partition);
+    }
+    this.polled.removeIf(record -> partitions.contains(
+        new TopicPartition(record.topic(), record.partition())));
+  }
+
+  /**
+   * Handles committing the offsets and closing the underlying {@link
+   * Consumer}.
+   */
+  @Override
+  protected void doClose() {
+    try {
+      this.commit();
+    } finally {
+      this.consumer.close();
+    }
+  }
+
+  /**
+   * The {@link SzReceivedMessage} implementation for a Kafka record.
+   */
+  private static class KafkaMessage extends SzReceivedMessage {
+    /**
+     * The {@link TopicPartition} of the record.
+     */
+    private TopicPartition partition;
+
+    /**
+     * The offset of the record.
+     */
+    private long offset;
+
+    /**
+     * Constructs with the message body and the partition and offset of the
+     * record.
+     */
+    private KafkaMessage(String body, TopicPartition partition, long offset) {
+      super(body);
+      this.partition  = partition;
+      this.offset     = offset;
+    }
+
+    /**
+     * Implemented to do nothing since the offset is committed by the
+     * receiving thread.
+     */
+    @Override
+    protected void doAcknowledge() {
+      // do nothing
+    }
+
+    /**
+     * Implemented to do nothing since a record cannot be redelivered on its
+     * own.
+     */
+    @Override
+    protected void doReject() {
+      // do nothing
+    }
+  }
+
+  /**
+   * Provides an {@link Initiator} implementation that creates an instance of
+   * {@link KafkaSource} from the bootstrap servers, group ID and topic.
+   */
+  private static class KafkaSourceInitiator
+      implements SzMessageSource.Initiator
+  {
+    /**
+     * Default constructor.
+     */
+    private KafkaSourceInitiator() {
+      // do nothing
+    }
+
+    /**
+     * Handles establishing a Kafka source.
+     */
+    @Override
+    public SzMessageSource establish(Map<String, ?> props, int concurrency) {
+      if (props == null) return null;
+      Set<String> propKeys = this.getPropertyKeys();
+      int count = 0;
+      for (String key: propKeys) {
+        if (props.containsKey(key)) count++;
+      }
+      if (count == 0) return null;
+      String servers = (String) props.get(BOOTSTRAP_SERVERS_PROPERTY_KEY);
+      String groupId = (String) props.get(GROUP_ID_PROPERTY_KEY);
+      String topic   = (String) props.get(TOPIC_PROPERTY_KEY);
+
+      // check if the servers and topic are provided
+      if (servers == null || topic == null) {
+        throw new IllegalArgumentException(
+            "The bootstrap servers and topic properties are required for a "
+            + "Kafka connection.  props=[ " + props + " ]");
+      }
+
+      // create the kafka properties object
+      Properties kafkaProps = new Properties();
+      kafkaProps.put("bootstrap.servers", servers);
+      kafkaProps.put("group.id", (groupId == null) ? DEFAULT_GROUP_ID : groupId);
+      kafkaProps.put("enable.auto.commit", "false");
+      kafkaProps.put("key.deserializer", STRING_DESERIALIZER);
+      kafkaProps.put("value.deserializer", STRING_DESERIALIZER);
+
+      // create the consumer and the source
+      return new KafkaSource(topic, new KafkaConsumer<>(kafkaProps));
+    }
+
+    /**
+     * Implemented to return {@link #PROPERTY_KEYS}.
+     */
+    @Override
+    public Set<String> getPropertyKeys() {
+      return PROPERTY_KEYS;
+    }
+  }
+}
@@ -0,0 +1,407 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.services.SzMessage;
+
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static com.senzing.api.server.mq.SzMessagingEndpointFactory.URL_PROPERTY_KEY;
+
+/**
+ * Provides an in-memory implementation of {@link SzMessagingEndpoint} that
+ * stands in for a message broker when benchmarking or testing.  The messages
+ * are added to a lock-free bounded queue from which they can be polled, or if
+ * a consumer callback is registered they are handed to the callback on the
+ * sending thread instead.  A message that is sent while the queue is full
+ * fails just as a broker rejecting it would.
+ * <p>
+ * An instance is created from a URL of the form
+ * <tt>mem://{name}?capacity={message-count}</tt> and registered by name while
+ * it is open so that the messages can be consumed via {@link
+ * #getInstance(String)}.  The latency of each call to send is recorded in the
+ * {@link SzLatencyHistogram} returned from {@link #getSendLatency()}.
+ */
+public class MemoryEndpoint extends SzAbstractMessagingEndpoint {
+  /**
+   * The {@link Initiator} for the {@link MemoryEndpoint} class.
+   */
+  public static final Initiator INITIATOR = new MemoryInitiator();
+
+  /**
+   * The URL scheme for the memory endpoint.
+   */
+  public static final String SCHEME = "mem";
+
+  /**
+   * The URL query parameter for the capacity of the queue.
+   */
+  public static final String CAPACITY_PARAMETER = "capacity";
+
+  /**
+   * The name for the endpoint if the URL does not specify one.
+   */
+  public static final String DEFAULT_NAME = "default";
+
+  /**
+   * The default capacity of the queue.
+   */
+  public static final int DEFAULT_CAPACITY = 10000;
+
+  /**
+   * The <b>unmodifiable</b> {@link Set} of {@link String} property keys for
+   * creating an {@link MemoryEndpoint} via {@link MemoryInitiator}.
+   */
+  public static final Set<String> PROPERTY_KEYS
+      = Set.of(URL_PROPERTY_KEY);
+
+  /**
+   * The open instances keyed by name.
+   */
+  private static final Map<String, MemoryEndpoint> INSTANCES
+      = new ConcurrentHashMap<>();
+
+  /**
+   * The name of the endpoint.
+   */
+  private String name;
+
+  /**
+   * The maximum number of queued messages.
+   */
+  private int capacity;
+
+  /**
+   * The queue of messages.
+   */
+  private final Queue<SzMessage> queue;
+
+  /**
+   * The number of queued messages including slots that have been reserved
+   * for messages that are being added.
+   */
+  private final AtomicInteger size;
+
+  /**
+   * The consumer callback, or <tt>null</tt> if the messages are queued.
+   */
+  private volatile Consumer<SzMessage> consumer;
+
+  /**
+   * The number of messages that were queued or consumed.
+   */
+  private final AtomicLong sentCount;
+
+  /**
+   * The number of messages that failed because the queue was full.
+   */
+  private final AtomicLong rejectedCount;
+
+  /**
+   * The {@link SzLatencyHistogram} for the calls to send.
+   */
+  private final SzLatencyHistogram sendLatency;
+
+  /**
+   * Constructs with the specified name and capacity and registers the
+   * instance by name so it can be obtained via {@link #getInstance(String)}.
+   *
+   * @param name The name of the endpoint.
+   * @param capacity The maximum number of queued messages.
+   *
+   * @throws IllegalArgumentException If the capacity is not positive.
+   *
+   * @throws IllegalStateException If an open instance with the specified name
+   *                               already exists.
+   */
+  public MemoryEndpoint(String name, int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException(
+          "The capacity must be positive: " + capacity);
+    }
+    this.name           = name;
+    this.capacity       = capacity;
+    this.queue          = new ConcurrentLinkedQueue<>();
+    this.size           = new AtomicInteger(0);
+    this.consumer       = null;
+    this.sentCount      = new AtomicLong(0L);
+    this.rejectedCount  = new AtomicLong(0L);
+    this.sendLatency    = new SzLatencyHistogram();
+    if (INSTANCES.putIfAbsent(name, this) != null) {
+      throw new IllegalStateException(
+          "A memory endpoint with the specified name is already open: "
+          + name);
+    }
+  }
+
+  /**
+   * Gets the open {@link MemoryEndpoint} with the specified name.
+   *
+   * @param name The name of the endpoint.
+   *
+   * @return The open {@link MemoryEndpoint} with the specified name, or
+   *         <tt>null</tt> if there is none.
+   */
+  public static MemoryEndpoint getInstance(String name) {
+    return INSTANCES.get(name);
+  }
+
+  /**
+   * Gets the name of this endpoint.
+   *
+   * @return The name of this endpoint.
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Gets the maximum number of queued messages.
+   *
+   * @return The maximum number of queued messages.
+   */
+  public int getCapacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Sets the consumer callback to which the messages are handed on the
+   * sending thread instead of being queued.  Set to <tt>null</tt> to queue
+   * the messages.  An exception thrown by the callback fails the message.
+   *
+   * @param consumer The consumer callback, or <tt>null</tt> if the messages
+   *                 should be queued.
+   */
+  public void setConsumer(Consumer<SzMessage> consumer) {
+    this.consumer = consumer;
+  }
+
+  /**
+   * Gets the consumer callback to which the messages are handed, or
+   * <tt>null</tt> if the messages are queued.
+   *
+   * @return The consumer callback, or <tt>null</tt> if the messages are
+   *         queued.
+   */
+  public Consumer<SzMessage> getConsumer() {
+    return this.consumer;
+  }
+
+  /**
+   * Removes and returns the message at the head of the queue.
+   *
+   * @return The message at the head of the queue, or <tt>null</tt> if the
+   *         queue is empty.
+   */
+  public SzMessage poll() {
+    SzMessage message = this.queue.poll();
+    if (message != null) this.size.decrementAndGet();
+    return message;
+  }
+
+  /**
+   * Removes up to the specified number of messages from the head of the
+   * queue and adds them to the specified {@link Collection}.
+   *
+   * @param collection The {@link Collection} to add the messages to.
+   * @param maxCount The maximum number of messages to remove.
+   *
+   * @return The number of messages that were removed.
+   */
+  public int drainTo(Collection<? super SzMessage> collection, int maxCount) {
+    int count = 0;
+    while (count < maxCount) {
+      SzMessage message = this.poll();
+      if (message == null) break;
+      collection.add(message);
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Gets the number of messages in the queue.
+   *
+   * @return The number of messages in the queue.
+   */
+  public int getQueuedCount() {
+    return this.size.get();
+  }
+
+  /**
+   * Gets the number of messages that were queued or handed to the consumer
+   * callback.
+   *
+   * @return The number of messages that were sent.
+   */
+  public long getSentCount() {
+    return this.sentCount.get();
+  }
+
+  /**
+   * Gets the number of messages that failed because the queue was full.
+   *
+   * @return The number of messages that failed because the queue was full.
+   */
+  public long getRejectedCount() {
+    return this.rejectedCount.get();
+  }
+
+  /**
+   * Overridden to return the {@link SzLatencyHistogram} for the calls to
+   * send.  A batch of messages is recorded as a single call.
+   *
+   * @return The {@link SzLatencyHistogram} for the calls to send.
+   */
+  @Override
+  public SzLatencyHistogram getSendLatency() {
+    return this.sendLatency;
+  }
+
+  @Override
+  public void send(SzMessage message, FailureHandler onFailure)
+      throws Exception
+  {
+    long start = System.nanoTime();
+    try {
+      this.deliver(message, onFailure);
+    } finally {
+      this.sendLatency.recordSince(start);
+    }
+  }
+
+  /**
+   * Overridden to deliver each of the messages and record the latency of the
+   * whole batch.
+   *
+   * @param messages The {@link List} of {@link SzMessage} instances to be
+   *                 sent.
+   *
+   * @param onFailure The function to call upon failure to send a message,
+   *                  or <tt>null</tt> if none.
+   *
+   * @throws Exception If a failure occurs in sending a message and no
+   *                   on-failure function was provided.
+   */
+  @Override
+  public void send(List<SzMessage> messages, FailureHandler onFailure)
+      throws Exception
+  {
+    long start = System.nanoTime();
+    try {
+      for (SzMessage message : messages) {
+        this.deliver(message, onFailure);
+      }
+    } finally {
+      this.sendLatency.recordSince(start);
+    }
+  }
+
+  /**
+   * Hands the specified message to the consumer callback if there is one,
+   * otherwise adds it to the queue if there is room.
+   */
+  private void deliver(SzMessage message, FailureHandler onFailure)
+      throws Exception
+  {
+    try {
+      Consumer<SzMessage> consumer = this.consumer;
+      if (consumer != null) {
+        consumer.accept(message);
+      } else {
+        this.enqueue(message);
+      }
+      this.sentCount.incrementAndGet();
+
+    } catch (Exception e) {
+      if (onFailure == null) throw e;
+      onFailure.handle(e, message);
+    }
+  }
+
+  /**
+   * Reserves a slot in the queue and adds the specified message.
+   *
+   * @throws IllegalStateException If the queue is full.
+   */
+  private void enqueue(SzMessage message) {
+    while (true) {
+      int current = this.size.get();
+      if (current >= this.capacity) {
+        this.rejectedCount.incrementAndGet();
+        throw new IllegalStateException(
+            "The memory endpoint queue is full: " + this.name);
+      }
+      if (this.size.compareAndSet(current, current + 1)) break;
+    }
+    this.queue.add(message);
+  }
+
+  /**
+   * Handles unregistering the endpoint.  Any queued messages can still be
+   * polled.
+   */
+  @Override
+  protected void doClose() {
+    INSTANCES.remove(this.name, this);
+  }
+
+  /**
+   * Provides an {@link Initiator} implementation that creates an instance of
+   * {@link MemoryEndpoint} from a <tt>mem://</tt> URL.
+   */
+  private static class MemoryInitiator
+      implements SzMessagingEndpoint.Initiator
+  {
+    /**
+     * Private default constructor.
+     */
+    private MemoryInitiator() {
+      // do nothing
+    }
+
+    /**
+     * Handles establishing a memory endpoint.
+     */
+    @Override
+    public SzMessagingEndpoint establish(Map<String, ?> props,
+                                         int            concurrency)
+    {
+      if (props == null) return null;
+      String url = (String) props.get(URL_PROPERTY_KEY);
+      if (url == null) return null;
+
+      URI uri = URI.create(url);
+      if (!SCHEME.equalsIgnoreCase(uri.getScheme())) return null;
+
+      String name = uri.getAuthority();
+      if (name == null || name.length() == 0) name = DEFAULT_NAME;
+
+      int capacity = DEFAULT_CAPACITY;
+      String query = uri.getRawQuery();
+      List<String> values = parseQueryString(
+          (query == null) ? null : "?" + query).get(CAPACITY_PARAMETER);
+      if (values != null && values.size() > 0) {
+        try {
+          capacity = Integer.parseInt(values.get(values.size() - 1));
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException(
+              "The memory endpoint capacity must be an integer: " + url);
+        }
+      }
+      return new MemoryEndpoint(name, capacity);
+    }
+
+    /**
+     * Implemented to return {@link #PROPERTY_KEYS}.
+     */
+    @Override
+    public Set<String> getPropertyKeys() {
+      return PROPERTY_KEYS;
+    }
+  }
+}
@@ -2,6 +2,7 @@ package com.senzing.api.server.mq;
 
 import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ConfirmListener;
 import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.ConnectionFactory;
 import com.senzing.api.services.SzMessage;
@@ -10,6 +11,8 @@ import com.senzing.api.services.SzMessageSink;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.util.*;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import static com.senzing.io.IOUtilities.*;
 
@@ -20,6 +23,11 @@ import static com.senzing.io.IOUtilities.*;
  * <pre>
  *  amqp://{user}:{password}@{host}:{port}/{virtualHost}/{exchange}/{routingKey}[?{prop1}={value1}&{prop2}={value2}]
  * </pre>
+ *
+ * The channels are placed in publisher-confirm mode so that batches of
+ * messages sent via {@link #send(List, FailureHandler)} are published
+ * without waiting and then confirmed together, with any messages the broker
+ * rejects handed to the on-failure function.
  */
 public class RabbitEndpoint extends SzAbstractMessagingEndpoint {
   /**
@@ -94,6 +102,12 @@ public class RabbitEndpoint extends SzAbstractMessagingEndpoint {
    */
   public static final long MAX_POOL_WAIT_TIME = 15000L;
 
+  /**
+   * The maximum number of milliseconds to wait for the broker to confirm a
+   * batch of published messages.
+   */
+  public static final long CONFIRM_TIMEOUT = 30000L;
+
   /**
    * Provides a wrapper for a {@link Channel} instance that implements the
    * {@link SzMessageSink} interface.
@@ -121,6 +135,45 @@ public class RabbitEndpoint extends SzAbstractMessagingEndpoint {
     public void send(SzMessage message, FailureHandler onFailure)
         throws Exception
     {
+      this.checkAcquired();
+
+      CONTEXT_SINK.set(this);
+      try {
+        // send the message
+        RabbitEndpoint.this.send(message, onFailure);
+
+      } finally {
+        CONTEXT_SINK.set(null);
+      }
+    }
+
+    /**
+     * Implemented to send the specified {@link SzMessage} instances on the
+     * associated {@link Channel} as a confirmed batch.
+     */
+    @Override
+    public void send(List<SzMessage> messages, FailureHandler onFailure)
+        throws Exception
+    {
+      this.checkAcquired();
+
+      CONTEXT_SINK.set(this);
+      try {
+        // send the messages
+        RabbitEndpoint.this.send(messages, onFailure);
+
+      } finally {
+        CONTEXT_SINK.set(null);
+      }
+    }
+
+    /**
+     * Checks that this sink is the one acquired on the current thread.
+     *
+     * @throws IllegalStateException If this sink is not the one acquired on
+     *                               the current thread.
+     */
+    private void checkAcquired() {
       // get the acquired message sink for this thread
       SzMessageSink acquiredSink = RabbitEndpoint.this.getAcquiredSink();
 
@@ -138,14 +191,120 @@ public class RabbitEndpoint extends SzAbstractMessagingEndpoint {
             + "appears that this message sink has already been released and "
             + "can no longer be used");
       }
+    }
+  }
 
-      CONTEXT_SINK.set(this);
-      try {
-        // send the message
-        RabbitEndpoint.this.send(message, onFailure);
+  /**
+   * Tracks the messages published on a {@link Channel} in publisher-confirm
+   * mode until the broker acknowledges or rejects them.
+   */
+  private static class ConfirmTracker implements ConfirmListener {
+    /**
+     * Pairs a published {@link SzMessage} with the {@link FailureHandler}
+     * and the failure holder of the batch in which it was published.
+     */
+    private static class Pending {
+      /**
+       * The published {@link SzMessage}.
+       */
+      private SzMessage message;
+
+      /**
+       * The {@link FailureHandler}, or <tt>null</tt> if none.
+       */
+      private FailureHandler onFailure;
+
+      /**
+       * The holder for the first failure of the batch when there is no
+       * {@link FailureHandler}.
+       */
+      private Exception[] failure;
+
+      /**
+       * Constructs with the message, handler and failure holder.
+       */
+      private Pending(SzMessage       message,
+                      FailureHandler  onFailure,
+                      Exception[]     failure)
+      {
+        this.message    = message;
+        this.onFailure  = onFailure;
+        this.failure    = failure;
+      }
 
-      } finally {
-        CONTEXT_SINK.set(null);
+      /**
+       * Handles the failure of the message.
+       */
+      private void fail(Exception e) {
+        if (this.onFailure != null) {
+          this.onFailure.handle(e, this.message);
+        } else {
+          synchronized (this.failure) {
+            if (this.failure[0] == null) this.failure[0] = e;
+          }
+        }
+      }
+    }
+
+    /**
+     * The {@link Pending} messages keyed by publish sequence number.
+     */
+    private final ConcurrentNavigableMap<Long, Pending> outstanding
+        = new ConcurrentSkipListMap<>();
+
+    /**
+     * Tracks the specified message published with the specified sequence
+     * number.
+     */
+    private void track(long           seqNo,
+                       SzMessage      message,
+                       FailureHandler onFailure,
+                       Exception[]    failure)
+    {
+      this.outstanding.put(seqNo, new Pending(message, onFailure, failure));
+    }
+
+    /**
+     * Removes the pending messages confirmed by the specified delivery tag.
+     */
+    private List<Pending> remove(long deliveryTag, boolean multiple) {
+      List<Pending> result = new LinkedList<>();
+      if (multiple) {
+        Map<Long, Pending> confirmed
+            = this.outstanding.headMap(deliveryTag, true);
+        result.addAll(confirmed.values());
+        confirmed.clear();
+      } else {
+        Pending pending = this.outstanding.remove(deliveryTag);
+        if (pending != null) result.add(pending);
+      }
+      return result;
+    }
+
+    /**
+     * Fails all the messages that are still outstanding with the specified
+     * exception.
+     */
+    private void failAll(Exception e) {
+      Long seqNo;
+      while ((seqNo = this.outstanding.isEmpty() ? null
+          : this.outstanding.firstKey()) != null)
+      {
+        Pending pending = this.outstanding.remove(seqNo);
+        if (pending != null) pending.fail(e);
+      }
+    }
+
+    @Override
+    public void handleAck(long deliveryTag, boolean multiple) {
+      this.remove(deliveryTag, multiple);
+    }
+
+    @Override
+    public void handleNack(long deliveryTag, boolean multiple) {
+      for (Pending pending : this.remove(deliveryTag, multiple)) {
+        pending.fail(new IOException(
+            "The RabbitMQ broker rejected the message."));
       }
     }
   }
@@ -172,6 +331,12 @@ public class RabbitEndpoint extends SzAbstractMessagingEndpoint {
    */
   private List<Channel> allChannels;
 
+  /**
+   * The {@link ConfirmTracker} instances for the {@link Channel} instances
+   * that are in publisher-confirm mode.
+   */
+  private Map<Channel, ConfirmTracker> confirmTrackers;
+
   /**
    * The exchange for sending the message.
    */
@@ -199,6 +364,16 @@ public class RabbitEndpoint extends SzAbstractMessagingEndpoint {
     this.allChannels  = new ArrayList<>(channels);
     this.channelPool  = new LinkedList<>();
     this.channelPool.addAll(channels);
+
+    // track confirms for the channels in publisher-confirm mode
+    this.confirmTrackers = new IdentityHashMap<>();
+    for (Channel channel : channels) {
+      if (channel.getNextPublishSeqNo() > 0L) {
+        ConfirmTracker tracker = new ConfirmTracker();
+        channel.addConfirmListener(tracker);
+        this.confirmTrackers.put(channel, tracker);
+      }
+    }
   }
 
   /**
@@ -276,38 +451,8 @@ public class RabbitEndpoint extends SzAbstractMessagingEndpoint {
       // get the channel
       Channel channel = sink.channel;
 
-      // get the message body
-      String msgBody = message.getBody();
-      byte[] body    = null;
-      if (msgBody != null) {
-        try {
-          body = msgBody.getBytes(UTF_8);
-
-        } catch (UnsupportedEncodingException cannotHappen) {
-          throw new IllegalStateException(cannotHappen);
-        }
-      }
-
-      // get the message properties
-      Map<String, String> props = message.getProperties();
-
-      // build the rabbit properties
-      AMQP.BasicProperties.Builder builder = new AMQP.BasicProperties.Builder();
-      builder.deliveryMode(PERSISTENT_DELIVERY_MODE);
-      builder.contentEncoding("UTF-8");
-
-      // if we have message properties then add them to the header
-      if (props != null && props.size() > 0) {
-        Map<String, Object> headers = new LinkedHashMap<>();
-        headers.putAll(props);
-        builder.headers(headers);
-      }
-
-      // create the basic props object
-      AMQP.BasicProperties basicProps = builder.build();
-
       // send the message on the channel
-      channel.basicPublish(this.exchange, this.routingKey, basicProps, body);
+      this.publish(channel, message);
 
     } catch (Exception e) {
       // check if we have a handler for the failure
@@ -326,6 +471,140 @@ public class RabbitEndpoint extends SzAbstractMessagingEndpoint {
     }
   }
 
+  /**
+   * Overridden to publish all the specified messages on a single {@link
+   * Channel} and then wait for the broker to confirm them together.  Any
+   * messages that the broker rejects, or that are not confirmed within the
+   * {@linkplain #CONFIRM_TIMEOUT confirm timeout}, are handed to the
+   * on-failure function (if provided).  If the channel is not in
+   * publisher-confirm mode then the messages are sent individually.
+   *
+   * @param messages The {@link List} of {@link SzMessage} instances to be
+   *                 sent.
+   *
+   * @param onFailure The function to call upon failure to send a message,
+   *                  or <tt>null</tt> if none.
+   *
+   * @throws Exception If a failure occurs in sending the messages and no
+   *                   on-failure function was provided.
+   */
+  @Override
+  public void send(List<SzMessage> messages, FailureHandler onFailure)
+      throws Exception
+  {
+    // get the sink
+    boolean acquired = false; // flag to indicate if acquired from the pool
+
+    // check the context sink
+    ChannelSink sink = CONTEXT_SINK.get();
+
+    // if no context sink, then check to see if one is already acquired
+    if (sink == null) {
+      sink = (ChannelSink) this.getAcquiredSink();
+    }
+
+    // if none acquired then acquire one from the pool, and mark for release
+    if (sink == null) {
+      sink = (ChannelSink) this.acquireMessageSink();
+      acquired = true;
+    }
+
+    try {
+      // get the channel and its tracker
+      Channel         channel = sink.channel;
+      ConfirmTracker  tracker = this.confirmTrackers.get(channel);
+
+      // check if not in publisher-confirm mode
+      if (tracker == null) {
+        for (SzMessage message : messages) {
+          try {
+            this.send(message, onFailure);
+
+          } catch (Exception e) {
+            // the failure was already handed to the handler if provided
+            if (onFailure == null) throw e;
+          }
+        }
+        return;
+      }
+
+      // publish the messages without waiting
+      Exception[] failure = { null };
+      for (SzMessage message : messages) {
+        long seqNo = channel.getNextPublishSeqNo();
+        tracker.track(seqNo, message, onFailure, failure);
+        try {
+          this.publish(channel, message);
+
+        } catch (Exception e) {
+          for (ConfirmTracker.Pending p : tracker.remove(seqNo, false)) {
+            p.fail(e);
+          }
+        }
+      }
+
+      // wait for the broker to confirm the messages
+      try {
+        channel.waitForConfirms(CONFIRM_TIMEOUT);
+
+      } catch (Exception e) {
+        // fail the messages that were not confirmed
+        tracker.failAll(e);
+      }
+
+      // rethrow the first failure if no failure handler
+      synchronized (failure) {
+        if (failure[0] != null) throw failure[0];
+      }
+
+    } finally {
+      if (acquired) {
+        this.releaseMessageSink(sink);
+      }
+    }
+  }
+
+  /**
+   * Publishes the specified {@link SzMessage} on the specified {@link
+   * Channel}.
+   */
+  private void publish(Channel channel, SzMessage message)
+      throws IOException
+  {
+    // get the message body
+    String msgBody = message.getBody();
+    byte[] body    = null;
+    if (msgBody != null) {
+      try {
+        body = msgBody.getBytes(UTF_8);
+
+      } catch (UnsupportedEncodingException cannotHappen) {
+        throw new IllegalStateException(cannotHappen);
+      }
+    }
+
+    // get the message properties
+    Map<String, String> props = message.getProperties();
+
+    // build the rabbit properties
+    AMQP.BasicProperties.Builder builder = new AMQP.BasicProperties.Builder();
+    builder.deliveryMode(PERSISTENT_DELIVERY_MODE);
+    builder.contentEncoding("UTF-8");
+
+    // if we have message properties then add them to the header
+    if (props != null && props.size() > 0) {
+      Map<String, Object> headers = new LinkedHashMap<>();
+      headers.putAll(props);
+      builder.headers(headers);
+    }
+
+    // create the basic props object
+    AMQP.BasicProperties basicProps = builder.build();
+
+    // send the message on the channel
+    channel.basicPublish(this.exchange, this.routingKey, basicProps, body);
+  }
+
   /**
    * Handles closing the underling {@link Channel} object.
    *
@@ -406,6 +685,7 @@ public class RabbitEndpoint extends SzAbstractMessagingEndpoint {
 
         // create the channel
         Channel channel = conn.createChannel();
+        channel.confirmSelect();
 
         // verify the exchange
         try {
@@ -420,7 +700,9 @@ public class RabbitEndpoint extends SzAbstractMessagingEndpoint {
         List<Channel> channels = new ArrayList<>(concurrency);
         channels.add(channel);
         for (int index = 0; index < (concurrency - 1); index++) {
-          channels.add(conn.createChannel());
+          Channel pooled = conn.createChannel();
+          pooled.confirmSelect();
+          channels.add(pooled);
         }
 
         // create the endpoint
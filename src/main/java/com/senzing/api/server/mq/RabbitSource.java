@@ -0,0 +1,263 @@
+package com.senzing.api.server.mq;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ConnectionFactory;
+import com.rabbitmq.client.Delivery;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.senzing.api.server.mq.RabbitEndpoint.*;
+import static com.senzing.io.IOUtilities.UTF_8;
+
+/**
+ * Provides a RabbitMQ implementation of {@link SzMessageSource} that consumes
+ * from a queue with manual acknowledgement.  The message headers are mapped
+ * to the message properties.  The number of unacknowledged deliveries is
+ * limited by a prefetch count derived from the concurrency.  A rejected
+ * message is negatively acknowledged without requeueing so that it is routed
+ * to the dead-letter exchange of the queue (if any).
+ */
+public class RabbitSource extends SzAbstractMessageSource {
+  /**
+   * The {@link Initiator} for the {@link RabbitSource} class.
+   */
+  public static final Initiator INITIATOR = new RabbitSourceInitiator();
+
+  /**
+   * The property key for the queue from which to consume.
+   */
+  public static final String QUEUE_PROPERTY_KEY = PROPERTY_PREFIX + "queue";
+
+  /**
+   * The <b>unmodifiable</b> {@link Set} of {@link String} property keys for
+   * creating an {@link RabbitSource}.
+   */
+  public static final Set<String> PROPERTY_KEYS
+      = Set.of(USER_PROPERTY_KEY,
+               PASSWORD_PROPERTY_KEY,
+               HOST_PROPERTY_KEY,
+               PORT_PROPERTY_KEY,
+               VIRTUAL_HOST_PROPERTY_KEY,
+               QUEUE_PROPERTY_KEY);
+
+  /**
+   * The number of unacknowledged deliveries allowed per unit of concurrency.
+   */
+  public static final int PREFETCH_PER_THREAD = 10;
+
+  /**
+   * The {@link Channel} on which the messages are consumed and acknowledged.
+   */
+  private Channel channel;
+
+  /**
+   * The deliveries that have been received but not yet returned from
+   * {@link #receive(int, long)}.
+   */
+  private BlockingQueue<Delivery> deliveries;
+
+  /**
+   * The consumer tag for the subscription.
+   */
+  private String consumerTag;
+
+  /**
+   * Constructs with the specified {@link Channel}, queue name and prefetch
+   * count.  This subscribes to the queue.
+   *
+   * @param channel The {@link Channel} to consume from.
+   * @param queue The name of the queue to consume from.
+   * @param prefetchCount The maximum number of unacknowledged deliveries.
+   *
+   * @throws IOException If a failure occurs in subscribing.
+   */
+  public RabbitSource(Channel channel, String queue, int prefetchCount)
+      throws IOException
+  {
+    this.channel    = channel;
+    this.deliveries = new LinkedBlockingQueue<>();
+    this.channel.basicQos(prefetchCount);
+    this.consumerTag = this.channel.basicConsume(
+        queue,
+        false,
+        (tag, delivery) -> this.deliveries.add(delivery),
+        tag -> { });
+  }
+
+  @Override
+  public List<SzReceivedMessage> receive(int maxCount, long timeout)
+      throws Exception
+  {
+    this.checkOpen();
+    List<SzReceivedMessage> result = new ArrayList<>(maxCount);
+    Delivery first = this.deliveries.poll(timeout, TimeUnit.MILLISECONDS);
+    if (first == null) return result;
+
+    List<Delivery> received = new ArrayList<>(maxCount);
+    received.add(first);
+    this.deliveries.drainTo(received, maxCount - 1);
+    for (Delivery delivery : received) {
+      RabbitMessage message = new RabbitMessage(
+          new String(delivery.getBody(), UTF_8),
+          delivery.getEnvelope().getDeliveryTag());
+      Map<String, Object> headers = delivery.getProperties().getHeaders();
+      if (headers != null) {
+        headers.forEach((key, value) -> {
+          if (value != null) message.setProperty(key, value.toString());
+        });
+      }
+      result.add(message);
+    }
+    return result;
+  }
+
+  /**
+   * Handles cancelling the subscription and closing the underlying {@link
+   * Channel} and its {@link Connection}.  Unacknowledged deliveries are
+   * requeued by the broker.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  @Override
+  protected void doClose() throws Exception {
+    Connection conn = this.channel.getConnection();
+    synchronized (this.channel) {
+      this.channel.basicCancel(this.consumerTag);
+      this.channel.close();
+    }
+    conn.close();
+  }
+
+  /**
+   * The {@link SzReceivedMessage} implementation for a RabbitMQ delivery.
+   */
+  private class RabbitMessage extends SzReceivedMessage {
+    /**
+     * The delivery tag for acknowledging the message.
+     */
+    private long deliveryTag;
+
+    /**
+     * Constructs with the message body and delivery tag.
+     */
+    private RabbitMessage(String body, long deliveryTag) {
+      super(body);
+      this.deliveryTag = deliveryTag;
+    }
+
+    /**
+     * Implemented to acknowledge the delivery.
+     */
+    @Override
+    protected void doAcknowledge() throws IOException {
+      Channel channel = RabbitSource.this.channel;
+      synchronized (channel) {
+        channel.basicAck(this.deliveryTag, false);
+      }
+    }
+
+    /**
+     * Implemented to negatively acknowledge the delivery without requeueing.
+     */
+    @Override
+    protected void doReject() throws IOException {
+      Channel channel = RabbitSource.this.channel;
+      synchronized (channel) {
+        channel.basicNack(this.deliveryTag, false, false);
+      }
+    }
+  }
+
+  /**
+   * Provides an {@link Initiator} implementation that creates an instance of
+   * {@link RabbitSource} from the connection properties and queue name.
+   */
+  private static class RabbitSourceInitiator
+      implements SzMessageSource.Initiator
+  {
+    /**
+     * Private default constructor.
+     */
+    private RabbitSourceInitiator() {
+      // do nothing
+    }
+
+    /**
+     * Handles establishing a RabbitMQ source.
+     */
+    @Override
+    public SzMessageSource establish(Map<String, ?> props, int concurrency) {
+      if (props == null) return null;
+      int count = 0;
+      Set<String> propKeys = this.getPropertyKeys();
+      for (String key: propKeys) {
+        if (props.containsKey(key)) count++;
+      }
+      if (count == 0) return null;
+
+      // check if any are missing
+      if (count != propKeys.size()) {
+        Set<String> missing = new LinkedHashSet<>();
+        for (String key : propKeys) {
+          if (!props.containsKey(key)) missing.add(key);
+        }
+        throw new IllegalArgumentException(
+            "Missing one or more RabbitMQ connection properties: missing=[ "
+                + missing + " ], provided=[ " + props + " ]");
+      }
+
+      // get the properties
+      String  user        = (String) props.get(USER_PROPERTY_KEY);
+      String  password    = (String) props.get(PASSWORD_PROPERTY_KEY);
+      String  host        = (String) props.get(HOST_PROPERTY_KEY);
+      Integer port        = (Integer) props.get(PORT_PROPERTY_KEY);
+      String  virtualHost = (String) props.get(VIRTUAL_HOST_PROPERTY_KEY);
+      String  queue       = (String) props.get(QUEUE_PROPERTY_KEY);
+
+      try {
+        ConnectionFactory factory = new ConnectionFactory();
+        factory.setHost(host);
+        factory.setPort(port);
+        factory.setVirtualHost(virtualHost);
+        factory.setUsername(user);
+        factory.setPassword(password);
+
+        // create the connection and channel
+        Connection  conn    = factory.newConnection();
+        Channel     channel = conn.createChannel();
+
+        // verify the queue
+        try {
+          channel.queueDeclarePassive(queue);
+        } catch (IOException e) {
+          System.err.println(
+              "The specified RabbitMQ queue does not exist: " + queue);
+          conn.close();
+          throw e;
+        }
+
+        // create the source
+        return new RabbitSource(
+            channel, queue, Math.max(1, concurrency) * PREFETCH_PER_THREAD);
+
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    /**
+     * Implemented to return {@link #PROPERTY_KEYS}.
+     */
+    @Override
+    public Set<String> getPropertyKeys() {
+      return PROPERTY_KEYS;
+    }
+  }
+}
@@ -2,10 +2,17 @@ package com.senzing.api.server.mq;
 
 import com.senzing.api.services.SzMessage;
 import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
 import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
@@ -54,6 +61,17 @@ public class SqsEndpoint extends SzAbstractMessagingEndpoint {
    */
   private static final String STRING_ATTR_DATA_TYPE = "String";
 
+  /**
+   * The maximum number of messages that SQS accepts in a single batch.
+   */
+  private static final int MAX_BATCH_COUNT = 10;
+
+  /**
+   * The maximum total size in bytes of the messages (including their
+   * attributes) that SQS accepts in a single batch.
+   */
+  private static final int MAX_BATCH_BYTES = 262144;
+
   /**
    * The {@link SqsClient} to use for sending the requests.
    */
@@ -89,28 +107,8 @@ public class SqsEndpoint extends SzAbstractMessagingEndpoint {
     builder.queueUrl(this.queueUrl);
 
     // check if we have message properties and add them as message attributes
-    Map<String, String> props = message.getProperties();
-    if (props != null && props.size() > 0) {
-      // create the attribute map
-      Map<String, MessageAttributeValue> attrMap = new LinkedHashMap<>();
-
-      // iterate over the properties
-      props.forEach((key, value) -> {
-        // create the builder for the message attribute
-        MessageAttributeValue.Builder attrBuilder
-            = MessageAttributeValue.builder();
-
-        // build the message attribute
-        attrBuilder.dataType(STRING_ATTR_DATA_TYPE);
-        attrBuilder.stringValue(value);
-
-        // add the message attribute to the map
-        attrMap.put(key, attrBuilder.build());
-      });
-
-      // set the message attributes
-      builder.messageAttributes(attrMap);
-    }
+    Map<String, MessageAttributeValue> attrMap = buildAttributes(message);
+    if (attrMap != null) builder.messageAttributes(attrMap);
 
     // build the request
     SendMessageRequest request = builder.build();
@@ -131,6 +129,149 @@ public class SqsEndpoint extends SzAbstractMessagingEndpoint {
     }
   }
 
+  /**
+   * Overridden to send the specified messages using SQS batch requests of up
+   * to ten (10) messages each.  The failure of any message in a batch is
+   * handed to the on-failure function (if provided) before continuing with
+   * the remaining messages.
+   *
+   * @param messages The {@link List} of {@link SzMessage} instances to be
+   *                 sent.
+   *
+   * @param onFailure The function to call upon failure to send a message,
+   *                  or <tt>null</tt> if none.
+   *
+   * @throws Exception If a failure occurs in sending the messages and no
+   *                   on-failure function was provided.
+   */
+  @Override
+  public void send(List<SzMessage> messages, FailureHandler onFailure)
+      throws Exception
+  {
+    Exception       failure     = null;
+    List<SzMessage> batch       = new ArrayList<>(MAX_BATCH_COUNT);
+    int             batchBytes  = 0;
+    for (SzMessage message : messages) {
+      int messageBytes = getByteCount(message);
+      if (batch.size() == MAX_BATCH_COUNT
+          || (batch.size() > 0 && batchBytes + messageBytes > MAX_BATCH_BYTES))
+      {
+        Exception e = this.sendBatch(batch, onFailure);
+        if (failure == null) failure = e;
+        batch.clear();
+        batchBytes = 0;
+      }
+      batch.add(message);
+      batchBytes += messageBytes;
+    }
+    if (batch.size() > 0) {
+      Exception e = this.sendBatch(batch, onFailure);
+      if (failure == null) failure = e;
+    }
+
+    // rethrow the first failure if no failure handler
+    if (failure != null) throw failure;
+  }
+
+  /**
+   * Sends the specified batch of messages in a single SQS batch request and
+   * hands the failure of any message to the on-failure function.  If no
+   * on-failure function is provided then the first failure is returned.
+   */
+  private Exception sendBatch(List<SzMessage>  batch,
+                              FailureHandler   onFailure)
+  {
+    // build the entries using the index as the entry ID
+    List<SendMessageBatchRequestEntry> entries = new ArrayList<>(batch.size());
+    for (int index = 0; index < batch.size(); index++) {
+      SzMessage message = batch.get(index);
+      SendMessageBatchRequestEntry.Builder builder
+          = SendMessageBatchRequestEntry.builder();
+      builder.id(String.valueOf(index));
+      builder.messageBody(message.getBody());
+      builder.delaySeconds(DELAY_SECONDS);
+      Map<String, MessageAttributeValue> attrMap = buildAttributes(message);
+      if (attrMap != null) builder.messageAttributes(attrMap);
+      entries.add(builder.build());
+    }
+
+    SendMessageBatchRequest request = SendMessageBatchRequest.builder()
+        .queueUrl(this.queueUrl).entries(entries).build();
+
+    // send the request -- handling any exceptions
+    Exception failure = null;
+    try {
+      SendMessageBatchResponse response
+          = this.sqsClient.sendMessageBatch(request);
+      for (BatchResultErrorEntry error : response.failed()) {
+        SzMessage message = batch.get(Integer.parseInt(error.id()));
+        Exception e = new IllegalStateException(
+            "Failed to send SQS message (" + error.code() + "): "
+            + error.message());
+        if (onFailure != null) {
+          onFailure.handle(e, message);
+        } else if (failure == null) {
+          failure = e;
+        }
+      }
+
+    } catch (Exception e) {
+      if (onFailure == null) return e;
+      for (SzMessage message : batch) {
+        onFailure.handle(e, message);
+      }
+    }
+    return failure;
+  }
+
+  /**
+   * Builds the SQS message attributes from the properties of the specified
+   * {@link SzMessage}, returning <tt>null</tt> if it has no properties.
+   */
+  private static Map<String, MessageAttributeValue> buildAttributes(
+      SzMessage message)
+  {
+    Map<String, String> props = message.getProperties();
+    if (props == null || props.size() == 0) return null;
+
+    // create the attribute map
+    Map<String, MessageAttributeValue> attrMap = new LinkedHashMap<>();
+
+    // iterate over the properties
+    props.forEach((key, value) -> {
+      // create the builder for the message attribute
+      MessageAttributeValue.Builder attrBuilder
+          = MessageAttributeValue.builder();
+
+      // build the message attribute
+      attrBuilder.dataType(STRING_ATTR_DATA_TYPE);
+      attrBuilder.stringValue(value);
+
+      // add the message attribute to the map
+      attrMap.put(key, attrBuilder.build());
+    });
+
+    return attrMap;
+  }
+
+  /**
+   * Gets the number of bytes that the specified {@link SzMessage} counts
+   * toward the size limit of an SQS batch.
+   */
+  private static int getByteCount(SzMessage message) {
+    int count = 0;
+    String body = message.getBody();
+    if (body != null) count += body.getBytes(StandardCharsets.UTF_8).length;
+    for (Map.Entry<String, String> prop : message.getProperties().entrySet()) {
+      count += prop.getKey().getBytes(StandardCharsets.UTF_8).length;
+      count += STRING_ATTR_DATA_TYPE.length();
+      if (prop.getValue() != null) {
+        count += prop.getValue().getBytes(StandardCharsets.UTF_8).length;
+      }
+    }
+    return count;
+  }
+
   /**
    * Handles closing the underling {@link SqsClient} object.
    *
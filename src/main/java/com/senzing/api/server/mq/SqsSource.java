@@ -0,0 +1,195 @@
+package com.senzing.api.server.mq;
+
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.senzing.api.server.mq.SqsEndpoint.URL_PROPERTY_KEY;
+
+/**
+ * Provides an {@link SzMessageSource} implementation for an Amazon SQS queue.
+ * The string message attributes are mapped to the message properties.  An
+ * acknowledged message is deleted from the queue.  A rejected message is
+ * left on the queue so it becomes visible again once its visibility timeout
+ * expires and can be moved to a dead-letter queue by the redrive policy of
+ * the queue.
+ */
+public class SqsSource extends SzAbstractMessageSource {
+  /**
+   * The <b>unmodifiable</b> {@link Set} of {@link String} property keys for
+   * creating an {@link SqsSource}.  These are the same as those for {@link
+   * SqsEndpoint}.
+   */
+  public static final Set<String> PROPERTY_KEYS = SqsEndpoint.PROPERTY_KEYS;
+
+  /**
+   * The {@link Initiator} for the {@link SqsSource} class.
+   */
+  public static final Initiator INITIATOR = new SqsSourceInitiator();
+
+  /**
+   * The maximum number of messages that SQS returns for a single receive.
+   */
+  private static final int MAX_RECEIVE_COUNT = 10;
+
+  /**
+   * The maximum number of seconds that SQS allows for a long poll.
+   */
+  private static final int MAX_WAIT_SECONDS = 20;
+
+  /**
+   * The name that requests all message attributes.
+   */
+  private static final String ALL_ATTRIBUTES = "All";
+
+  /**
+   * The {@link SqsClient} to use for the requests.
+   */
+  private SqsClient sqsClient;
+
+  /**
+   * The URL for the queue to receive from.
+   */
+  private String queueUrl;
+
+  /**
+   * Constructs with the {@link SqsClient} and the queue URL.
+   *
+   * @param client The {@link SqsClient} to use for connecting.
+   * @param queueUrl The URL for the queue.
+   */
+  public SqsSource(SqsClient client, String queueUrl) {
+    this.sqsClient  = client;
+    this.queueUrl   = queueUrl;
+  }
+
+  /**
+   * Implemented to long-poll the queue for up to ten (10) messages.  The
+   * timeout is rounded down to whole seconds and capped at twenty (20)
+   * seconds.
+   */
+  @Override
+  public List<SzReceivedMessage> receive(int maxCount, long timeout)
+      throws Exception
+  {
+    this.checkOpen();
+    int waitSeconds = (int) Math.min(MAX_WAIT_SECONDS, timeout / 1000L);
+
+    ReceiveMessageRequest request = ReceiveMessageRequest.builder()
+        .queueUrl(this.queueUrl)
+        .maxNumberOfMessages(Math.min(MAX_RECEIVE_COUNT, maxCount))
+        .waitTimeSeconds(waitSeconds)
+        .messageAttributeNames(ALL_ATTRIBUTES)
+        .build();
+
+    ReceiveMessageResponse response = this.sqsClient.receiveMessage(request);
+
+    List<SzReceivedMessage> result
+        = new ArrayList<>(response.messages().size());
+    for (Message message : response.messages()) {
+      SqsMessage received = new SqsMessage(message.body(),
+                                           message.receiptHandle());
+      Map<String, MessageAttributeValue> attrs = message.messageAttributes();
+      if (attrs != null) {
+        attrs.forEach((key, value) -> {
+          if (value.stringValue() != null) {
+            received.setProperty(key, value.stringValue());
+          }
+        });
+      }
+      result.add(received);
+    }
+    return result;
+  }
+
+  /**
+   * Handles closing the underlying {@link SqsClient}.
+   */
+  @Override
+  protected void doClose() {
+    this.sqsClient.close();
+  }
+
+  /**
+   * The {@link SzReceivedMessage} implementation for an SQS message.
+   */
+  private class SqsMessage extends SzReceivedMessage {
+    /**
+     * The receipt handle for deleting the message.
+     */
+    private String receiptHandle;
+
+    /**
+     * Constructs with the message body and receipt handle.
+     */
+    private SqsMessage(String body, String receiptHandle) {
+      super(body);
+      this.receiptHandle = receiptHandle;
+    }
+
+    /**
+     * Implemented to delete the message from the queue.
+     */
+    @Override
+    protected void doAcknowledge() {
+      SqsSource.this.sqsClient.deleteMessage(
+          DeleteMessageRequest.builder()
+              .queueUrl(SqsSource.this.queueUrl)
+              .receiptHandle(this.receiptHandle)
+              .build());
+    }
+
+    /**
+     * Implemented to do nothing so the message is redelivered or
+     * dead-lettered once its visibility timeout expires.
+     */
+    @Override
+    protected void doReject() {
+      // do nothing
+    }
+  }
+
+  /**
+   * Provides an {@link Initiator} implementation that creates an instance of
+   * {@link SqsSource} from the queue URL.
+   */
+  private static class SqsSourceInitiator
+      implements SzMessageSource.Initiator
+  {
+    /**
+     * Default constructor.
+     */
+    private SqsSourceInitiator() {
+      // do nothing
+    }
+
+    /**
+     * Handles establishing an SQS source.
+     */
+    @Override
+    public SzMessageSource establish(Map<String, ?> props, int concurrency) {
+      if (props == null) return null;
+      String queueUrl = (String) props.get(URL_PROPERTY_KEY);
+      if (queueUrl == null) return null;
+
+      // create the SQS Client and the source
+      return new SqsSource(SqsClient.create(), queueUrl);
+    }
+
+    /**
+     * Implemented to return {@link #PROPERTY_KEYS}.
+     */
+    @Override
+    public Set<String> getPropertyKeys() {
+      return PROPERTY_KEYS;
+    }
+  }
+}
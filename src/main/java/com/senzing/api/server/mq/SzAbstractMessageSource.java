@@ -0,0 +1,71 @@
+package com.senzing.api.server.mq;
+
+/**
+ * Provides an abstract implementation of {@link SzMessageSource}.
+ */
+public abstract class SzAbstractMessageSource implements SzMessageSource {
+  /**
+   * Flag indicating if this source has been closed.
+   */
+  private boolean closed = false;
+
+  /**
+   * The monitor to use thread safety.
+   */
+  protected final Object monitor = new Object();
+
+  /**
+   * Default constructor.
+   */
+  protected SzAbstractMessageSource() {
+    // do nothing
+  }
+
+  /**
+   * Checks if this source has been closed.
+   *
+   * @return <tt>true</tt> if this source has been closed, otherwise
+   *         <tt>false</tt>.
+   */
+  @Override
+  public boolean isClosed() {
+    synchronized (this.monitor) {
+      return this.closed;
+    }
+  }
+
+  /**
+   * Closes this source if not already closed.  This should only be called
+   * once no thread is blocked in {@link #receive(int, long)}.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  @Override
+  public void close() throws Exception {
+    synchronized (this.monitor) {
+      if (this.closed) return;
+      this.closed = true;
+      this.monitor.notifyAll();
+    }
+    this.doClose();
+  }
+
+  /**
+   * Checks if this source has been closed and throws an {@link
+   * IllegalStateException} if so.
+   *
+   * @throws IllegalStateException If this source has been closed.
+   */
+  protected void checkOpen() throws IllegalStateException {
+    if (this.isClosed()) {
+      throw new IllegalStateException("This message source has been closed.");
+    }
+  }
+
+  /**
+   * Implement this to handle closing the source.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  protected abstract void doClose() throws Exception;
+}
@@ -1,5 +1,6 @@
 package com.senzing.api.server.mq;
 
+import com.senzing.api.services.SzMessage;
 import com.senzing.api.services.SzMessageSink;
 
 import java.io.UnsupportedEncodingException;
@@ -130,12 +131,28 @@ public abstract class SzAbstractMessagingEndpoint
 
   /**
    * Override this method to implement pooling.  The default implementation
-   * returns a new {@link SzMessageSink} interface reference to this instance.
+   * returns a new {@link SzMessageSink} interface reference to this instance
+   * that delegates both sending a single message and sending a batch of
+   * messages to this instance.
    *
    * @return The acquired {@link SzMessageSink}.
    */
   protected SzMessageSink doAcquireMessageSink() {
-    return (SzAbstractMessagingEndpoint.this::send);
+    return new SzMessageSink() {
+      @Override
+      public void send(SzMessage message, FailureHandler onFailure)
+          throws Exception
+      {
+        SzAbstractMessagingEndpoint.this.send(message, onFailure);
+      }
+
+      @Override
+      public void send(List<SzMessage> messages, FailureHandler onFailure)
+          throws Exception
+      {
+        SzAbstractMessagingEndpoint.this.send(messages, onFailure);
+      }
+    };
   }
 
   /**
@@ -236,6 +253,18 @@ public abstract class SzAbstractMessagingEndpoint
     return map;
   }
 
+  /**
+   * Gets the {@link SzLatencyHistogram} recording the latency of the calls
+   * to send on this endpoint.  The default implementation returns
+   * <tt>null</tt> to indicate the latency is not measured.
+   *
+   * @return The {@link SzLatencyHistogram} for the calls to send, or
+   *         <tt>null</tt> if the latency is not measured.
+   */
+  public SzLatencyHistogram getSendLatency() {
+    return null;
+  }
+
   @Override
   public boolean isClosed() {
     synchronized (this.monitor) {
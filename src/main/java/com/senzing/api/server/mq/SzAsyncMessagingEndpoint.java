@@ -0,0 +1,559 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.model.SzFullBufferPolicy;
+import com.senzing.api.services.SzMessage;
+import com.senzing.api.services.SzMessageSink;
+
+import java.util.*;
+
+import static com.senzing.api.model.SzFullBufferPolicy.*;
+
+/**
+ * Decorates another {@link SzMessagingEndpoint} so that messages are sent
+ * asynchronously.  Sent messages are placed in a bounded ring buffer that a
+ * publisher thread drains in batches.  Each batch is sent via {@link
+ * SzMessageSink#send(List, FailureHandler)} on the decorated endpoint which
+ * the endpoint implementations override to batch the messages in the way
+ * their broker supports.  The messages of a batch that fail to send are
+ * retried with increasing delays and those that still fail are handed to the
+ * failure handler with which they were sent.  The {@link SzFullBufferPolicy}
+ * determines how a message is handled when it is sent while the buffer is
+ * full.
+ * <p>
+ * Closing this endpoint sends the buffered messages before closing the
+ * decorated endpoint.
+ */
+public class SzAsyncMessagingEndpoint extends SzAbstractMessagingEndpoint {
+  /**
+   * The default {@link SzFullBufferPolicy}.
+   */
+  public static final SzFullBufferPolicy DEFAULT_FULL_POLICY = BLOCK;
+
+  /**
+   * The maximum number of messages that the publisher thread drains from the
+   * buffer for a single batch.
+   */
+  public static final int MAX_BATCH_SIZE = 100;
+
+  /**
+   * The maximum number of times the failed messages of a batch are retried.
+   */
+  public static final int MAX_RETRIES = 3;
+
+  /**
+   * The number of milliseconds to wait before the first retry of the failed
+   * messages of a batch.  The delay doubles with each subsequent retry.
+   */
+  public static final long RETRY_DELAY = 500L;
+
+  /**
+   * The maximum number of milliseconds to wait for the buffered messages to
+   * be sent when closing.
+   */
+  private static final long DRAIN_TIMEOUT = 30000L;
+
+  /**
+   * Pairs a buffered {@link SzMessage} with the {@link FailureHandler} with
+   * which it was sent.
+   */
+  private static class Entry {
+    /**
+     * The buffered {@link SzMessage}.
+     */
+    private SzMessage message;
+
+    /**
+     * The {@link FailureHandler}, or <tt>null</tt> if none.
+     */
+    private FailureHandler onFailure;
+
+    /**
+     * Constructs with the {@link SzMessage} and {@link FailureHandler}.
+     */
+    private Entry(SzMessage message, FailureHandler onFailure) {
+      this.message    = message;
+      this.onFailure  = onFailure;
+    }
+  }
+
+  /**
+   * The decorated {@link SzMessagingEndpoint}.
+   */
+  private SzMessagingEndpoint endpoint;
+
+  /**
+   * The {@link SzFullBufferPolicy} for when the buffer is full.
+   */
+  private SzFullBufferPolicy fullPolicy;
+
+  /**
+   * The ring buffer of {@link Entry} instances, which is also the monitor for
+   * the buffer state and the counts.
+   */
+  private final Entry[] buffer;
+
+  /**
+   * The index of the oldest {@link Entry} in the buffer.
+   */
+  private int head;
+
+  /**
+   * The number of {@link Entry} instances in the buffer.
+   */
+  private int size;
+
+  /**
+   * The number of messages drained from the buffer that are being sent.
+   */
+  private int inFlightCount;
+
+  /**
+   * Flag indicating if this endpoint is being closed.
+   */
+  private boolean stopping;
+
+  /**
+   * The number of messages that have been buffered.
+   */
+  private long enqueuedCount;
+
+  /**
+   * The number of messages that have been sent.
+   */
+  private long sentCount;
+
+  /**
+   * The number of batches that have been sent.
+   */
+  private long batchCount;
+
+  /**
+   * The number of times a message was retried after failing.
+   */
+  private long retriedCount;
+
+  /**
+   * The number of messages dropped because the buffer was full.
+   */
+  private long droppedCount;
+
+  /**
+   * The number of messages that failed to send after retrying.
+   */
+  private long failedCount;
+
+  /**
+   * The publisher thread.
+   */
+  private Thread publisher;
+
+  /**
+   * Constructs with the {@link SzMessagingEndpoint} to decorate, the
+   * capacity of the buffer and the {@link SzFullBufferPolicy}.  The publisher
+   * thread is started by this constructor.
+   *
+   * @param endpoint The {@link SzMessagingEndpoint} to decorate.
+   * @param bufferCapacity The maximum number of messages to buffer.
+   * @param fullPolicy The {@link SzFullBufferPolicy} for when the buffer is
+   *                   full, or <tt>null</tt> for the {@linkplain
+   *                   #DEFAULT_FULL_POLICY default policy}.
+   *
+   * @throws IllegalArgumentException If the buffer capacity is not positive.
+   */
+  public SzAsyncMessagingEndpoint(SzMessagingEndpoint endpoint,
+                                  int                 bufferCapacity,
+                                  SzFullBufferPolicy  fullPolicy)
+  {
+    Objects.requireNonNull(endpoint, "The endpoint cannot be null");
+    if (bufferCapacity < 1) {
+      throw new IllegalArgumentException(
+          "The buffer capacity must be positive: " + bufferCapacity);
+    }
+    this.endpoint       = endpoint;
+    this.fullPolicy     = (fullPolicy == null) ? DEFAULT_FULL_POLICY
+                        : fullPolicy;
+    this.buffer         = new Entry[bufferCapacity];
+    this.head           = 0;
+    this.size           = 0;
+    this.inFlightCount  = 0;
+    this.stopping       = false;
+    this.enqueuedCount  = 0L;
+    this.sentCount      = 0L;
+    this.batchCount     = 0L;
+    this.retriedCount   = 0L;
+    this.droppedCount   = 0L;
+    this.failedCount    = 0L;
+    this.publisher      = new Thread(this::publish,
+                                     "SzAsyncMessagingEndpoint-Publisher");
+    this.publisher.setDaemon(true);
+    this.publisher.start();
+  }
+
+  /**
+   * Gets the decorated {@link SzMessagingEndpoint}.
+   *
+   * @return The decorated {@link SzMessagingEndpoint}.
+   */
+  public SzMessagingEndpoint getEndpoint() {
+    return this.endpoint;
+  }
+
+  /**
+   * Gets the maximum number of messages that can be buffered.
+   *
+   * @return The maximum number of messages that can be buffered.
+   */
+  public int getBufferCapacity() {
+    return this.buffer.length;
+  }
+
+  /**
+   * Gets the {@link SzFullBufferPolicy} for when the buffer is full.
+   *
+   * @return The {@link SzFullBufferPolicy} for when the buffer is full.
+   */
+  public SzFullBufferPolicy getFullPolicy() {
+    return this.fullPolicy;
+  }
+
+  /**
+   * Gets the number of messages that are buffered or being sent.
+   *
+   * @return The number of messages that are buffered or being sent.
+   */
+  public long getBacklogCount() {
+    synchronized (this.buffer) {
+      return this.size + this.inFlightCount;
+    }
+  }
+
+  /**
+   * Gets the number of messages that have been buffered.
+   *
+   * @return The number of messages that have been buffered.
+   */
+  public long getEnqueuedCount() {
+    synchronized (this.buffer) {
+      return this.enqueuedCount;
+    }
+  }
+
+  /**
+   * Gets the number of messages that have been sent.
+   *
+   * @return The number of messages that have been sent.
+   */
+  public long getSentCount() {
+    synchronized (this.buffer) {
+      return this.sentCount;
+    }
+  }
+
+  /**
+   * Gets the number of batches that have been sent.
+   *
+   * @return The number of batches that have been sent.
+   */
+  public long getBatchCount() {
+    synchronized (this.buffer) {
+      return this.batchCount;
+    }
+  }
+
+  /**
+   * Gets the number of times a message was retried after failing.
+   *
+   * @return The number of times a message was retried after failing.
+   */
+  public long getRetriedCount() {
+    synchronized (this.buffer) {
+      return this.retriedCount;
+    }
+  }
+
+  /**
+   * Gets the number of messages dropped because the buffer was full.
+   *
+   * @return The number of messages dropped because the buffer was full.
+   */
+  public long getDroppedCount() {
+    synchronized (this.buffer) {
+      return this.droppedCount;
+    }
+  }
+
+  /**
+   * Gets the number of messages that failed to send after retrying.
+   *
+   * @return The number of messages that failed to send after retrying.
+   */
+  public long getFailedCount() {
+    synchronized (this.buffer) {
+      return this.failedCount;
+    }
+  }
+
+  /**
+   * Implemented to place the specified {@link SzMessage} in the buffer to be
+   * sent by the publisher thread, applying the {@link SzFullBufferPolicy} if
+   * the buffer is full.  The specified {@link FailureHandler} is called from
+   * the publisher thread if the message fails to send.
+   *
+   * @param message The {@link SzMessage} to be sent.
+   *
+   * @param onFailure The function to call upon failure to send the message,
+   *                  or <tt>null</tt> if none.
+   *
+   * @throws Exception If the message is dropped or sent on this thread and
+   *                   fails with no on-failure function provided.
+   *
+   * @throws IllegalStateException If this endpoint is closed or being
+   *                               closed.
+   */
+  @Override
+  public void send(SzMessage message, FailureHandler onFailure)
+      throws Exception
+  {
+    Entry   entry       = new Entry(message, onFailure);
+    Entry   dropped     = null;
+    boolean callerSends = false;
+    synchronized (this.buffer) {
+      while (!this.stopping && this.size == this.buffer.length
+             && this.fullPolicy == BLOCK)
+      {
+        try {
+          this.buffer.wait();
+        } catch (InterruptedException ignore) {
+          // ignore
+        }
+      }
+      if (this.stopping) {
+        throw new IllegalStateException(
+            "Endpoint is closed or being closed.  Cannot send a message.");
+      }
+      if (this.size == this.buffer.length) {
+        switch (this.fullPolicy) {
+          case DROP_NEWEST:
+            dropped = entry;
+            entry   = null;
+            this.droppedCount++;
+            break;
+          case DROP_OLDEST:
+            dropped = this.dequeue();
+            this.droppedCount++;
+            break;
+          case CALLER_SENDS:
+            callerSends = true;
+            entry       = null;
+            break;
+          default:
+            throw new IllegalStateException(
+                "Unhandled full buffer policy: " + this.fullPolicy);
+        }
+      }
+      if (entry != null) {
+        this.buffer[(this.head + this.size) % this.buffer.length] = entry;
+        this.size++;
+        this.enqueuedCount++;
+        this.buffer.notifyAll();
+      }
+    }
+
+    // handle any dropped message
+    if (dropped != null) {
+      Exception failure = new IllegalStateException(
+          "Message dropped because the buffer is full.");
+      if (entry == null && onFailure == null) throw failure;
+      this.handleFailure(dropped, failure);
+    }
+
+    // send on this thread if the policy dictates
+    if (callerSends) {
+      SzMessageSink sink = this.endpoint.acquireMessageSink();
+      try {
+        sink.send(message, onFailure);
+        synchronized (this.buffer) {
+          this.sentCount++;
+        }
+      } finally {
+        this.endpoint.releaseMessageSink(sink);
+      }
+    }
+  }
+
+  /**
+   * Removes the oldest {@link Entry} from the buffer.  This must be called
+   * while synchronized on the buffer and when the buffer is not empty.
+   */
+  private Entry dequeue() {
+    Entry entry = this.buffer[this.head];
+    this.buffer[this.head] = null;
+    this.head = (this.head + 1) % this.buffer.length;
+    this.size--;
+    return entry;
+  }
+
+  /**
+   * Hands the specified failure to the {@link FailureHandler} of the
+   * specified {@link Entry}, or logs it if the entry has none.
+   */
+  private void handleFailure(Entry entry, Exception failure) {
+    try {
+      if (entry.onFailure != null) {
+        entry.onFailure.handle(failure, entry.message);
+      } else {
+        System.err.println("Failed to send message: "
+                           + entry.message.getBody());
+        failure.printStackTrace();
+      }
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Drains the buffer in batches and sends them until this endpoint is
+   * closed and the buffer is empty.  This is run by the publisher thread.
+   */
+  private void publish() {
+    List<Entry> batch = new ArrayList<>(MAX_BATCH_SIZE);
+    while (true) {
+      batch.clear();
+      synchronized (this.buffer) {
+        while (this.size == 0 && !this.stopping) {
+          try {
+            this.buffer.wait();
+          } catch (InterruptedException ignore) {
+            // ignore
+          }
+        }
+        if (this.size == 0) return;
+        while (this.size > 0 && batch.size() < MAX_BATCH_SIZE) {
+          batch.add(this.dequeue());
+        }
+        this.inFlightCount = batch.size();
+        this.buffer.notifyAll();
+      }
+      try {
+        this.sendBatch(batch);
+
+      } catch (Exception e) {
+        e.printStackTrace();
+
+      } finally {
+        synchronized (this.buffer) {
+          this.inFlightCount = 0;
+          this.buffer.notifyAll();
+        }
+      }
+    }
+  }
+
+  /**
+   * Sends the specified batch, retrying the failed messages up to {@link
+   * #MAX_RETRIES} times and handing those that still fail to their {@link
+   * FailureHandler}.
+   */
+  private void sendBatch(List<Entry> batch) {
+    List<Entry> pending = new ArrayList<>(batch);
+    for (int attempt = 0; ; attempt++) {
+      Map<SzMessage, Exception> failures = this.trySend(pending);
+      List<Entry> failed = new ArrayList<>(failures.size());
+      for (Entry entry : pending) {
+        if (failures.containsKey(entry.message)) failed.add(entry);
+      }
+      synchronized (this.buffer) {
+        this.batchCount++;
+        this.sentCount += (pending.size() - failed.size());
+        if (failed.size() > 0 && attempt < MAX_RETRIES) {
+          this.retriedCount += failed.size();
+        } else {
+          this.failedCount += failed.size();
+        }
+      }
+      if (failed.size() == 0) return;
+
+      if (attempt >= MAX_RETRIES) {
+        for (Entry entry : failed) {
+          this.handleFailure(entry, failures.get(entry.message));
+        }
+        return;
+      }
+
+      try {
+        Thread.sleep(RETRY_DELAY << attempt);
+      } catch (InterruptedException ignore) {
+        // ignore
+      }
+      pending = failed;
+    }
+  }
+
+  /**
+   * Attempts to send the messages for the specified {@link Entry} instances
+   * as a batch via the decorated endpoint and returns the {@link Map} of
+   * messages that failed to the cause of their failure.
+   */
+  private Map<SzMessage, Exception> trySend(List<Entry> entries) {
+    List<SzMessage> messages = new ArrayList<>(entries.size());
+    for (Entry entry : entries) {
+      messages.add(entry.message);
+    }
+    Map<SzMessage, Exception> failures
+        = Collections.synchronizedMap(new IdentityHashMap<>());
+    SzMessageSink sink = null;
+    try {
+      sink = this.endpoint.acquireMessageSink();
+      sink.send(messages, (e, message) -> failures.put(message, e));
+
+    } catch (Exception e) {
+      for (SzMessage message : messages) {
+        failures.putIfAbsent(message, e);
+      }
+
+    } finally {
+      if (sink != null) this.endpoint.releaseMessageSink(sink);
+    }
+    return failures;
+  }
+
+  /**
+   * Implemented to send the buffered messages and then close the decorated
+   * endpoint.  Any messages that cannot be sent within the drain timeout are
+   * handed to their {@link FailureHandler}.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  @Override
+  protected void doClose() throws Exception {
+    synchronized (this.buffer) {
+      this.stopping = true;
+      this.buffer.notifyAll();
+    }
+    long end = System.currentTimeMillis() + DRAIN_TIMEOUT;
+    while (this.publisher.isAlive()) {
+      long remaining = end - System.currentTimeMillis();
+      if (remaining <= 0L) break;
+      try {
+        this.publisher.join(remaining);
+      } catch (InterruptedException ignore) {
+        // ignore
+      }
+    }
+
+    // fail any messages that could not be sent in time
+    List<Entry> remaining = new LinkedList<>();
+    synchronized (this.buffer) {
+      while (this.size > 0) {
+        remaining.add(this.dequeue());
+      }
+      this.failedCount += remaining.size();
+    }
+    for (Entry entry : remaining) {
+      this.handleFailure(entry, new IllegalStateException(
+          "Endpoint closed before the message could be sent."));
+    }
+
+    this.endpoint.close();
+  }
+}
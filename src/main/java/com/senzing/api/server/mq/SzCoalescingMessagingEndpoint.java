@@ -0,0 +1,678 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.model.SzFlaggedEntity;
+import com.senzing.api.model.SzInfoCoalescingMode;
+import com.senzing.api.model.SzResolutionInfo;
+import com.senzing.api.services.SzMessage;
+import com.senzing.api.services.SzMessageSink;
+import com.senzing.util.JsonUtils;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import java.util.*;
+
+import static com.senzing.api.model.SzInfoCoalescingMode.*;
+
+/**
+ * Decorates another {@link SzMessagingEndpoint} so that the affected entities
+ * of the info messages sent over a window are coalesced into a single
+ * compacted info message.  The window closes when a number of milliseconds
+ * has elapsed since its first message or when it holds a number of messages,
+ * whichever comes first.  The compacted message has the deduplicated set of
+ * affected entity IDs in its <tt>"AFFECTED_ENTITIES"</tt> array and the union
+ * of the flagged entities in its <tt>"INTERESTING_ENTITIES"</tt> array in the
+ * same format that {@link SzResolutionInfo#parseResolutionInfo(
+ * SzResolutionInfo, JsonObject)} parses, along with the number of coalesced
+ * messages in <tt>"COALESCED_MESSAGE_COUNT"</tt>.  A flagged entity that
+ * appears in several messages has the union of its flags and the least of its
+ * degrees, but its sample records are not carried over.  The compacted
+ * message also has the {@link #COALESCED_PROPERTY} property set to
+ * <tt>"true"</tt> so consumers can tell it apart from the raw messages.
+ * <p>
+ * The {@link SzInfoCoalescingMode} determines if the raw messages are still
+ * sent alongside the compacted messages or if the compacted messages are sent
+ * instead.  In the latter case a compacted message that fails to send is
+ * handed to the failure handler of each raw message that was coalesced into
+ * it, or logged for a raw message that was sent without one.  In the former
+ * case the raw messages were already sent with their own failure handlers so
+ * the failure of a compacted message is only logged.  Messages that cannot
+ * be parsed as info messages or that have no affected or flagged entities
+ * are always sent as they are.
+ * <p>
+ * In the {@link SzInfoCoalescingMode#INSTEAD} mode sending a raw message
+ * only adds it to the current window, so its failure handler is called
+ * after the send has returned and from another thread if the compacted
+ * message fails.  That is once the window closes, or later still if the
+ * decorated endpoint reports its failures asynchronously.  The failure
+ * handlers must therefore remain valid until the compacted message has been
+ * sent, and each is called at most once.  For the same reason this endpoint
+ * should decorate an {@link SzAsyncMessagingEndpoint} or {@link
+ * SzSpoolingMessagingEndpoint} rather than be decorated by one, since those
+ * treat a message as sent once it is buffered or spooled.
+ * <p>
+ * Closing this endpoint sends the compacted message for the current window
+ * before closing the decorated endpoint.
+ */
+public class SzCoalescingMessagingEndpoint
+    extends SzAbstractMessagingEndpoint
+{
+  /**
+   * The default {@link SzInfoCoalescingMode}.
+   */
+  public static final SzInfoCoalescingMode DEFAULT_MODE = ALONGSIDE;
+
+  /**
+   * The message property that is set to <tt>"true"</tt> on the compacted
+   * messages.
+   */
+  public static final String COALESCED_PROPERTY = "coalesced";
+
+  /**
+   * The JSON property of the compacted message that has the number of
+   * messages that were coalesced.
+   */
+  public static final String MESSAGE_COUNT_KEY = "COALESCED_MESSAGE_COUNT";
+
+  /**
+   * Pairs a coalesced {@link SzMessage} with the {@link FailureHandler} with
+   * which it was sent.
+   */
+  private static class Source {
+    /**
+     * The coalesced {@link SzMessage}.
+     */
+    private SzMessage message;
+
+    /**
+     * The {@link FailureHandler}, or <tt>null</tt> if none.
+     */
+    private FailureHandler onFailure;
+
+    /**
+     * Constructs with the {@link SzMessage} and {@link FailureHandler}.
+     */
+    private Source(SzMessage message, FailureHandler onFailure) {
+      this.message    = message;
+      this.onFailure  = onFailure;
+    }
+  }
+
+  /**
+   * Accumulates the affected and flagged entities of the messages in a
+   * window.
+   */
+  private static class Window {
+    /**
+     * The deduplicated affected entity IDs in the order first seen.
+     */
+    private Set<Long> affectedEntities = new LinkedHashSet<>();
+
+    /**
+     * The union of the flagged entities keyed by entity ID.
+     */
+    private Map<Long, SzFlaggedEntity> flaggedEntities
+        = new LinkedHashMap<>();
+
+    /**
+     * The {@link Source} instances for the raw messages that are sent only
+     * as part of the compacted message.
+     */
+    private List<Source> sources = new LinkedList<>();
+
+    /**
+     * The number of messages that were coalesced.
+     */
+    private int messageCount = 0;
+
+    /**
+     * The time the first message was coalesced.
+     */
+    private long startTime = 0L;
+
+    /**
+     * Whether or not the decorated endpoint accepted the compacted message.
+     */
+    private boolean accepted = false;
+
+    /**
+     * Whether or not the failure of the compacted message was handled.
+     */
+    private boolean failed = false;
+
+    /**
+     * Adds the affected and flagged entities of the specified {@link
+     * SzResolutionInfo}.
+     */
+    private void add(SzResolutionInfo info) {
+      if (this.messageCount == 0) {
+        this.startTime = System.currentTimeMillis();
+      }
+      this.messageCount++;
+      this.affectedEntities.addAll(info.getAffectedEntities());
+      for (SzFlaggedEntity entity : info.getFlaggedEntities()) {
+        Long entityId = entity.getEntityId();
+        if (entityId == null) continue;
+        SzFlaggedEntity union = this.flaggedEntities.get(entityId);
+        if (union == null) {
+          union = new SzFlaggedEntity();
+          union.setEntityId(entityId);
+          union.setDegrees(entity.getDegrees());
+          this.flaggedEntities.put(entityId, union);
+        } else if (entity.getDegrees() != null
+                   && (union.getDegrees() == null
+                       || entity.getDegrees() < union.getDegrees()))
+        {
+          union.setDegrees(entity.getDegrees());
+        }
+        for (String flag : entity.getFlags()) {
+          union.addFlag(flag);
+        }
+      }
+    }
+
+    /**
+     * Builds the compacted {@link SzMessage} for this window.
+     */
+    private SzMessage toMessage() {
+      JsonArrayBuilder affectedBuilder = Json.createArrayBuilder();
+      for (Long entityId : this.affectedEntities) {
+        JsonObjectBuilder job = Json.createObjectBuilder();
+        JsonUtils.add(job, "ENTITY_ID", entityId);
+        affectedBuilder.add(job);
+      }
+      JsonObjectBuilder builder = Json.createObjectBuilder();
+      builder.add("AFFECTED_ENTITIES", affectedBuilder);
+
+      if (this.flaggedEntities.size() > 0) {
+        JsonArrayBuilder flaggedBuilder = Json.createArrayBuilder();
+        for (SzFlaggedEntity entity : this.flaggedEntities.values()) {
+          JsonObjectBuilder job = Json.createObjectBuilder();
+          JsonUtils.add(job, "ENTITY_ID", entity.getEntityId());
+          JsonUtils.add(job, "DEGREES", entity.getDegrees());
+          JsonArrayBuilder flagsBuilder = Json.createArrayBuilder();
+          for (String flag : entity.getFlags()) {
+            flagsBuilder.add(flag);
+          }
+          job.add("FLAGS", flagsBuilder);
+          flaggedBuilder.add(job);
+        }
+        builder.add("INTERESTING_ENTITIES", flaggedBuilder);
+      }
+      builder.add(MESSAGE_COUNT_KEY, this.messageCount);
+
+      SzMessage message = new SzMessage(JsonUtils.toJsonText(builder));
+      message.setProperty(COALESCED_PROPERTY, "true");
+      return message;
+    }
+  }
+
+  /**
+   * The decorated {@link SzMessagingEndpoint}.
+   */
+  private SzMessagingEndpoint endpoint;
+
+  /**
+   * The maximum number of milliseconds that a window stays open, or zero if
+   * the windows are not timed.
+   */
+  private long windowMillis;
+
+  /**
+   * The maximum number of messages in a window, or zero if the windows are
+   * not limited by message count.
+   */
+  private int windowCount;
+
+  /**
+   * The {@link SzInfoCoalescingMode} for this instance.
+   */
+  private SzInfoCoalescingMode mode;
+
+  /**
+   * The monitor for the window state and the counts.
+   */
+  private final Object windowMonitor = new Object();
+
+  /**
+   * The current {@link Window}.
+   */
+  private Window window;
+
+  /**
+   * Flag indicating if this endpoint is being closed.
+   */
+  private boolean stopping;
+
+  /**
+   * The number of messages that were coalesced into a window.
+   */
+  private long coalescedCount;
+
+  /**
+   * The number of compacted messages that the decorated endpoint accepted
+   * and for which no failure was reported.
+   */
+  private long compactedCount;
+
+  /**
+   * The number of messages that were sent as they are without being
+   * coalesced.
+   */
+  private long passedThroughCount;
+
+  /**
+   * The number of compacted messages that failed to send.
+   */
+  private long failedCount;
+
+  /**
+   * The flusher thread that closes the timed windows, or <tt>null</tt> if the
+   * windows are not timed.
+   */
+  private Thread flusher;
+
+  /**
+   * Constructs with the {@link SzMessagingEndpoint} to decorate, the maximum
+   * number of milliseconds and messages for a window and the {@link
+   * SzInfoCoalescingMode}.  If the windows are timed then the flusher thread
+   * is started by this constructor.
+   *
+   * @param endpoint The {@link SzMessagingEndpoint} to decorate.
+   * @param windowMillis The maximum number of milliseconds that a window
+   *                     stays open, or zero if the windows are not timed.
+   * @param windowCount The maximum number of messages in a window, or zero
+   *                    if the windows are not limited by message count.
+   * @param mode The {@link SzInfoCoalescingMode}, or <tt>null</tt> for the
+   *             {@linkplain #DEFAULT_MODE default mode}.
+   *
+   * @throws IllegalArgumentException If the window milliseconds or count is
+   *                                  negative or if both are zero.
+   */
+  public SzCoalescingMessagingEndpoint(SzMessagingEndpoint   endpoint,
+                                       long                  windowMillis,
+                                       int                   windowCount,
+                                       SzInfoCoalescingMode  mode)
+  {
+    Objects.requireNonNull(endpoint, "The endpoint cannot be null");
+    if (windowMillis < 0L || windowCount < 0
+        || (windowMillis == 0L && windowCount == 0))
+    {
+      throw new IllegalArgumentException(
+          "The window milliseconds and count cannot be negative and at least "
+          + "one must be positive.  windowMillis=[ " + windowMillis
+          + " ], windowCount=[ " + windowCount + " ]");
+    }
+    this.endpoint           = endpoint;
+    this.windowMillis       = windowMillis;
+    this.windowCount        = windowCount;
+    this.mode               = (mode == null) ? DEFAULT_MODE : mode;
+    this.window             = new Window();
+    this.stopping           = false;
+    this.coalescedCount     = 0L;
+    this.compactedCount     = 0L;
+    this.passedThroughCount = 0L;
+    this.failedCount        = 0L;
+    this.flusher            = null;
+    if (windowMillis > 0L) {
+      this.flusher = new Thread(this::flush,
+                                "SzCoalescingMessagingEndpoint-Flusher");
+      this.flusher.setDaemon(true);
+      this.flusher.start();
+    }
+  }
+
+  /**
+   * Gets the decorated {@link SzMessagingEndpoint}.
+   *
+   * @return The decorated {@link SzMessagingEndpoint}.
+   */
+  public SzMessagingEndpoint getEndpoint() {
+    return this.endpoint;
+  }
+
+  /**
+   * Gets the maximum number of milliseconds that a window stays open, or
+   * zero if the windows are not timed.
+   *
+   * @return The maximum number of milliseconds that a window stays open, or
+   *         zero if the windows are not timed.
+   */
+  public long getWindowMillis() {
+    return this.windowMillis;
+  }
+
+  /**
+   * Gets the maximum number of messages in a window, or zero if the windows
+   * are not limited by message count.
+   *
+   * @return The maximum number of messages in a window, or zero if the
+   *         windows are not limited by message count.
+   */
+  public int getWindowCount() {
+    return this.windowCount;
+  }
+
+  /**
+   * Gets the {@link SzInfoCoalescingMode} for this instance.
+   *
+   * @return The {@link SzInfoCoalescingMode} for this instance.
+   */
+  public SzInfoCoalescingMode getMode() {
+    return this.mode;
+  }
+
+  /**
+   * Gets the number of messages that were coalesced into a window.
+   *
+   * @return The number of messages that were coalesced into a window.
+   */
+  public long getCoalescedCount() {
+    synchronized (this.windowMonitor) {
+      return this.coalescedCount;
+    }
+  }
+
+  /**
+   * Gets the number of compacted messages that were sent.  A compacted
+   * message is counted once the decorated endpoint has accepted it without
+   * failing and is no longer counted if the decorated endpoint later reports
+   * that it failed.
+   *
+   * @return The number of compacted messages that were sent.
+   */
+  public long getCompactedCount() {
+    synchronized (this.windowMonitor) {
+      return this.compactedCount;
+    }
+  }
+
+  /**
+   * Gets the number of messages that were sent as they are without being
+   * coalesced.
+   *
+   * @return The number of messages that were sent as they are without being
+   *         coalesced.
+   */
+  public long getPassedThroughCount() {
+    synchronized (this.windowMonitor) {
+      return this.passedThroughCount;
+    }
+  }
+
+  /**
+   * Gets the number of compacted messages that failed to send.
+   *
+   * @return The number of compacted messages that failed to send.
+   */
+  public long getFailedCount() {
+    synchronized (this.windowMonitor) {
+      return this.failedCount;
+    }
+  }
+
+  /**
+   * Implemented to coalesce the affected and flagged entities of the
+   * specified {@link SzMessage} into the current window and to send it as it
+   * is if it cannot be coalesced or if the {@link SzInfoCoalescingMode} is
+   * {@link SzInfoCoalescingMode#ALONGSIDE}.
+   *
+   * @param message The {@link SzMessage} to be sent.
+   *
+   * @param onFailure The function to call upon failure to send the message
+   *                  as it is or as part of a compacted message, or
+   *                  <tt>null</tt> if none.  This may be called after this
+   *                  method has returned.
+   *
+   * @throws Exception If a failure occurs in sending the message as it is
+   *                   and no on-failure function was provided.
+   *
+   * @throws IllegalStateException If this endpoint is closed or being
+   *                               closed.
+   */
+  @Override
+  public void send(SzMessage message, FailureHandler onFailure)
+      throws Exception
+  {
+    this.send(Collections.singletonList(message), onFailure);
+  }
+
+  /**
+   * Overridden to coalesce the affected and flagged entities of each of the
+   * specified messages into the current window and to send those that are
+   * not coalesced, or all of them if the {@link SzInfoCoalescingMode} is
+   * {@link SzInfoCoalescingMode#ALONGSIDE}, as a batch.
+   *
+   * @param messages The {@link List} of {@link SzMessage} instances to be
+   *                 sent.
+   *
+   * @param onFailure The function to call upon failure to send a message as
+   *                  it is or as part of a compacted message, or
+   *                  <tt>null</tt> if none.  This may be called after this
+   *                  method has returned.
+   *
+   * @throws Exception If a failure occurs in sending a message as it is and
+   *                   no on-failure function was provided.
+   *
+   * @throws IllegalStateException If this endpoint is closed or being
+   *                               closed.
+   */
+  @Override
+  public void send(List<SzMessage> messages, FailureHandler onFailure)
+      throws Exception
+  {
+    // parse the messages before locking the window
+    List<SzResolutionInfo> infos = new ArrayList<>(messages.size());
+    for (SzMessage message : messages) {
+      infos.add(parseInfo(message));
+    }
+
+    List<SzMessage> passThrough = new ArrayList<>(messages.size());
+    List<Window>    closed      = null;
+    synchronized (this.windowMonitor) {
+      if (this.stopping) {
+        throw new IllegalStateException(
+            "Endpoint is closed or being closed.  Cannot send a message.");
+      }
+      Iterator<SzResolutionInfo> infoIter = infos.iterator();
+      for (SzMessage message : messages) {
+        SzResolutionInfo info = infoIter.next();
+        if (info == null) {
+          passThrough.add(message);
+          this.passedThroughCount++;
+          continue;
+        }
+        if (this.mode == ALONGSIDE) {
+          passThrough.add(message);
+        } else {
+          this.window.sources.add(new Source(message, onFailure));
+        }
+        this.window.add(info);
+        this.coalescedCount++;
+
+        // wake the flusher thread to time the newly opened window
+        if (this.window.messageCount == 1) this.windowMonitor.notifyAll();
+
+        if (this.windowCount > 0
+            && this.window.messageCount >= this.windowCount)
+        {
+          if (closed == null) closed = new LinkedList<>();
+          closed.add(this.takeWindow());
+        }
+      }
+    }
+
+    if (passThrough.size() > 0) {
+      SzMessageSink sink = this.endpoint.acquireMessageSink();
+      try {
+        sink.send(passThrough, onFailure);
+      } finally {
+        this.endpoint.releaseMessageSink(sink);
+      }
+    }
+    if (closed != null) {
+      for (Window window : closed) {
+        this.sendCompacted(window);
+      }
+    }
+  }
+
+  /**
+   * Parses the {@link SzResolutionInfo} from the body of the specified
+   * {@link SzMessage}.  This returns <tt>null</tt> if the body cannot be
+   * parsed or if it has no affected or flagged entities.
+   */
+  private static SzResolutionInfo parseInfo(SzMessage message) {
+    String body = message.getBody();
+    if (body == null) return null;
+    try {
+      JsonObject jsonObject = JsonUtils.parseJsonObject(body);
+      SzResolutionInfo info
+          = SzResolutionInfo.parseResolutionInfo(null, jsonObject);
+      if (info.getAffectedEntities().size() == 0
+          && info.getFlaggedEntities().size() == 0)
+      {
+        return null;
+      }
+      return info;
+
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  /**
+   * Replaces the current {@link Window} with a new one and returns the
+   * replaced one.  This must be called while synchronized on the window
+   * monitor.
+   */
+  private Window takeWindow() {
+    Window window = this.window;
+    this.window = new Window();
+    this.windowMonitor.notifyAll();
+    return window;
+  }
+
+  /**
+   * Sends the compacted message for the specified {@link Window} via the
+   * decorated endpoint, handing a failure to {@link
+   * #handleFailure(Window, SzMessage, Exception)} whether it is reported
+   * during the send or afterwards.  The compacted message is only counted
+   * as sent if the decorated endpoint accepts it without failing.
+   */
+  private void sendCompacted(Window window) {
+    if (window.messageCount == 0) return;
+    SzMessage     message = window.toMessage();
+    SzMessageSink sink    = null;
+    try {
+      sink = this.endpoint.acquireMessageSink();
+      sink.send(message, (e, failed) -> this.handleFailure(window, failed, e));
+      synchronized (this.windowMonitor) {
+        if (!window.failed) {
+          window.accepted = true;
+          this.compactedCount++;
+        }
+      }
+
+    } catch (Exception e) {
+      this.handleFailure(window, message, e);
+
+    } finally {
+      if (sink != null) this.endpoint.releaseMessageSink(sink);
+    }
+  }
+
+  /**
+   * Handles the failure to send the specified compacted message for the
+   * specified {@link Window}.  The failure is handed to the {@link
+   * FailureHandler} of each raw message that was sent only as part of the
+   * compacted message, and logged for those without one.  If the raw
+   * messages were sent alongside the compacted message then the failure is
+   * only logged.  Only the first failure reported for the window is handled
+   * and if the decorated endpoint had already accepted the compacted message
+   * then it is no longer counted as sent.
+   */
+  private void handleFailure(Window     window,
+                             SzMessage  message,
+                             Exception  failure)
+  {
+    synchronized (this.windowMonitor) {
+      if (window.failed) return;
+      window.failed = true;
+      this.failedCount++;
+      if (window.accepted) this.compactedCount--;
+    }
+    if (window.sources.size() == 0) {
+      System.err.println("Failed to send compacted message: "
+                         + message.getBody());
+      failure.printStackTrace();
+      return;
+    }
+    for (Source source : window.sources) {
+      try {
+        if (source.onFailure != null) {
+          source.onFailure.handle(failure, source.message);
+        } else {
+          System.err.println("Failed to send message: "
+                             + source.message.getBody());
+          failure.printStackTrace();
+        }
+      } catch (Exception e) {
+        e.printStackTrace();
+      }
+    }
+  }
+
+  /**
+   * Waits for each timed window to elapse and sends its compacted message
+   * until this endpoint is closed.  This is run by the flusher thread.
+   */
+  private void flush() {
+    while (true) {
+      Window closed = null;
+      synchronized (this.windowMonitor) {
+        while (!this.stopping && closed == null) {
+          long delay = (this.window.messageCount == 0) ? 0L
+              : this.window.startTime + this.windowMillis
+                - System.currentTimeMillis();
+          if (this.window.messageCount > 0 && delay <= 0L) {
+            closed = this.takeWindow();
+          } else {
+            try {
+              this.windowMonitor.wait(delay);
+            } catch (InterruptedException ignore) {
+              // ignore
+            }
+          }
+        }
+      }
+      if (closed == null) return;
+      this.sendCompacted(closed);
+    }
+  }
+
+  /**
+   * Implemented to send the compacted message for the current window and
+   * then close the decorated endpoint.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  @Override
+  protected void doClose() throws Exception {
+    Window closed;
+    synchronized (this.windowMonitor) {
+      this.stopping = true;
+      closed = this.takeWindow();
+    }
+    if (this.flusher != null) {
+      try {
+        this.flusher.join();
+      } catch (InterruptedException ignore) {
+        // ignore
+      }
+    }
+    this.sendCompacted(closed);
+    this.endpoint.close();
+  }
+}
@@ -0,0 +1,213 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.model.SzLatencyStatistics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds.  Each power of two is
+ * split into {@link #SUB_BUCKET_COUNT} linear buckets so a recorded value is
+ * reported with a relative error of at most 12.5%.  Recording a value only
+ * increments atomic counters so the histogram can be updated from many
+ * threads on a hot path without contention on a lock.
+ */
+public class SzLatencyHistogram {
+  /**
+   * The number of linear buckets per power of two.
+   */
+  public static final int SUB_BUCKET_COUNT = 8;
+
+  /**
+   * The number of bits to represent an index in the sub-buckets.
+   */
+  private static final int SUB_BUCKET_BITS = 3;
+
+  /**
+   * The total number of buckets which covers all non-negative long values.
+   */
+  private static final int BUCKET_COUNT
+      = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+  /**
+   * The number of nanoseconds per microsecond.
+   */
+  private static final double NANOS_PER_MICRO = 1000.0;
+
+  /**
+   * The counts for each bucket.
+   */
+  private final AtomicLongArray counts;
+
+  /**
+   * The total number of recorded values.
+   */
+  private final AtomicLong totalCount;
+
+  /**
+   * The sum of the recorded values.
+   */
+  private final AtomicLong totalNanos;
+
+  /**
+   * The maximum recorded value.
+   */
+  private final AtomicLong maxNanos;
+
+  /**
+   * Default constructor.
+   */
+  public SzLatencyHistogram() {
+    this.counts     = new AtomicLongArray(BUCKET_COUNT);
+    this.totalCount = new AtomicLong(0L);
+    this.totalNanos = new AtomicLong(0L);
+    this.maxNanos   = new AtomicLong(0L);
+  }
+
+  /**
+   * Records the specified latency in nanoseconds.  Negative values are
+   * recorded as zero.
+   *
+   * @param nanos The latency in nanoseconds.
+   */
+  public void record(long nanos) {
+    if (nanos < 0L) nanos = 0L;
+    this.counts.incrementAndGet(bucketIndex(nanos));
+    this.totalCount.incrementAndGet();
+    this.totalNanos.addAndGet(nanos);
+    long max = this.maxNanos.get();
+    while (nanos > max && !this.maxNanos.compareAndSet(max, nanos)) {
+      max = this.maxNanos.get();
+    }
+  }
+
+  /**
+   * Records the latency since the specified start time as obtained from
+   * {@link System#nanoTime()}.
+   *
+   * @param startNanos The start time in nanoseconds.
+   */
+  public void recordSince(long startNanos) {
+    this.record(System.nanoTime() - startNanos);
+  }
+
+  /**
+   * Gets the number of recorded values.
+   *
+   * @return The number of recorded values.
+   */
+  public long getCount() {
+    return this.totalCount.get();
+  }
+
+  /**
+   * Gets the mean of the recorded values in nanoseconds, or zero if no
+   * values have been recorded.
+   *
+   * @return The mean of the recorded values in nanoseconds.
+   */
+  public double getMean() {
+    long count = this.totalCount.get();
+    return (count == 0L) ? 0.0 : ((double) this.totalNanos.get()) / count;
+  }
+
+  /**
+   * Gets the maximum recorded value in nanoseconds, or zero if no values
+   * have been recorded.
+   *
+   * @return The maximum recorded value in nanoseconds.
+   */
+  public long getMax() {
+    return this.maxNanos.get();
+  }
+
+  /**
+   * Gets the value in nanoseconds at or below which the specified
+   * percentage of the recorded values fall.  The value is the upper bound of
+   * the bucket containing the percentile, capped at the maximum recorded
+   * value.  Zero is returned if no values have been recorded.
+   *
+   * @param percentile The percentile from zero (0) to one hundred (100).
+   *
+   * @return The value in nanoseconds at the specified percentile.
+   *
+   * @throws IllegalArgumentException If the percentile is not in the range
+   *                                  from zero (0) to one hundred (100).
+   */
+  public long getPercentile(double percentile) {
+    if (percentile < 0.0 || percentile > 100.0) {
+      throw new IllegalArgumentException(
+          "The percentile must be from 0 to 100: " + percentile);
+    }
+    long total = 0L;
+    long[] snapshot = new long[BUCKET_COUNT];
+    for (int index = 0; index < BUCKET_COUNT; index++) {
+      snapshot[index] = this.counts.get(index);
+      total += snapshot[index];
+    }
+    if (total == 0L) return 0L;
+
+    long target = Math.max(1L, (long) Math.ceil(total * percentile / 100.0));
+    long seen = 0L;
+    for (int index = 0; index < BUCKET_COUNT; index++) {
+      seen += snapshot[index];
+      if (seen >= target) {
+        return Math.min(bucketUpperBound(index), this.maxNanos.get());
+      }
+    }
+    return this.maxNanos.get();
+  }
+
+  /**
+   * Clears all recorded values.  Values recorded concurrently with this call
+   * may be partially retained.
+   */
+  public void reset() {
+    for (int index = 0; index < BUCKET_COUNT; index++) {
+      this.counts.set(index, 0L);
+    }
+    this.totalCount.set(0L);
+    this.totalNanos.set(0L);
+    this.maxNanos.set(0L);
+  }
+
+  /**
+   * Creates an {@link SzLatencyStatistics} summarizing this histogram in
+   * microseconds.
+   *
+   * @return The {@link SzLatencyStatistics} summarizing this histogram.
+   */
+  public SzLatencyStatistics toStatistics() {
+    SzLatencyStatistics stats = new SzLatencyStatistics();
+    stats.setCount(this.getCount());
+    stats.setAverageMicros(this.getMean() / NANOS_PER_MICRO);
+    stats.setP50Micros(this.getPercentile(50.0) / NANOS_PER_MICRO);
+    stats.setP90Micros(this.getPercentile(90.0) / NANOS_PER_MICRO);
+    stats.setP99Micros(this.getPercentile(99.0) / NANOS_PER_MICRO);
+    stats.setP999Micros(this.getPercentile(99.9) / NANOS_PER_MICRO);
+    stats.setMaxMicros(this.getMax() / NANOS_PER_MICRO);
+    return stats;
+  }
+
+  /**
+   * Gets the index of the bucket for the specified non-negative value.
+   */
+  private static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) return (int) value;
+    int exponent = (Long.SIZE - 1) - Long.numberOfLeadingZeros(value);
+    int shift    = exponent - SUB_BUCKET_BITS;
+    int subIndex = (int) ((value >>> shift) & (SUB_BUCKET_COUNT - 1));
+    return ((shift + 1) * SUB_BUCKET_COUNT) + subIndex;
+  }
+
+  /**
+   * Gets the largest value that falls in the bucket with the specified index.
+   */
+  private static long bucketUpperBound(int index) {
+    if (index < SUB_BUCKET_COUNT) return index;
+    int  shift    = (index / SUB_BUCKET_COUNT) - 1;
+    long subIndex = index % SUB_BUCKET_COUNT;
+    long lower    = (SUB_BUCKET_COUNT + subIndex) << shift;
+    return lower + (1L << shift) - 1L;
+  }
+}
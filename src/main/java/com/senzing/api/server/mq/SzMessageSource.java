@@ -0,0 +1,121 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.server.SzApiServer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents an established connection to a messaging endpoint from which
+ * messages are consumed.  Each {@link SzReceivedMessage} that is received
+ * must eventually be {@linkplain SzReceivedMessage#acknowledge()
+ * acknowledged} or {@linkplain SzReceivedMessage#reject() rejected}.  Until
+ * then the message is considered to be in flight and will be redelivered if
+ * the source is closed or the process terminates.
+ */
+public interface SzMessageSource extends AutoCloseable {
+  /**
+   * An interface for creating source instances from a {@link Map} of
+   * properties.
+   */
+  interface Initiator {
+    /**
+     * Given the specified {@link Map} of {@link String} keys to {@link Object}
+     * values this method will create an instance of {@link SzMessageSource}
+     * if the specified properties are those expected for this initiator.  If
+     * the specified properties are not handled by this instance then
+     * <tt>null</tt> is returned.
+     *
+     * @param props The {@link Map} of {@link String} keys to {@link Object}
+     *              values to use for establishing the source connection.
+     *
+     * @param concurrency The concurrency of the {@link SzApiServer} which
+     *                    determines how many messages may be in flight.
+     *
+     * @return The {@link SzMessageSource} created for the specified
+     *         properties, or <tt>null</tt> if the specified properties are not
+     *         handled by this instance.
+     */
+    SzMessageSource establish(Map<String, ?> props, int concurrency);
+
+    /**
+     * Gets the <b>unmodifiable</b> {@link Set} of property keys recognized by
+     * this initiator.
+     *
+     * @return The <b>unmodifiable</b> {@link Set} of property keys recognized
+     *         by this initiator.
+     */
+    Set<String> getPropertyKeys();
+  }
+
+  /**
+   * Receives up to the specified number of messages, waiting up to the
+   * specified number of milliseconds for at least one to be available.  This
+   * method is only called from a single thread, but the received messages may
+   * be acknowledged or rejected from any thread.
+   *
+   * @param maxCount The maximum number of messages to receive.
+   *
+   * @param timeout The maximum number of milliseconds to wait for a message.
+   *
+   * @return The {@link List} of received {@link SzReceivedMessage} instances
+   *         which is empty if none were received before the timeout.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  List<SzReceivedMessage> receive(int maxCount, long timeout)
+      throws Exception;
+
+  /**
+   * Pauses the receiving of further messages from the same partition (or
+   * equivalent) as the specified message, which was received from this
+   * source, until the message is {@linkplain #resume(SzReceivedMessage)
+   * resumed}.  This allows the receiving thread to keep calling {@link
+   * #receive(int, long)}, as some brokers require to keep the consumer
+   * alive, while it cannot yet hand off the messages it has received.  A
+   * partition that is paused for several messages is only resumed once each
+   * of them has been resumed.  Like {@link #receive(int, long)}, this is only
+   * called from the receiving thread.  The default implementation does not
+   * support pausing and returns <tt>false</tt>.
+   *
+   * @param message The {@link SzReceivedMessage} whose partition should be
+   *                paused.
+   *
+   * @return <tt>true</tt> if the partition was paused, or <tt>false</tt> if
+   *         pausing is not supported and {@link #receive(int, long)} should
+   *         not be called again until the messages can be handed off.
+   */
+  default boolean pause(SzReceivedMessage message) {
+    return false;
+  }
+
+  /**
+   * Resumes the partition (or equivalent) that was {@linkplain
+   * #pause(SzReceivedMessage) paused} for the specified message.  This is
+   * only called from the receiving thread.  The default implementation does
+   * nothing.
+   *
+   * @param message The {@link SzReceivedMessage} for which the partition was
+   *                paused.
+   */
+  default void resume(SzReceivedMessage message) {
+    // do nothing
+  }
+
+  /**
+   * Closes the source.  Any messages that have not been acknowledged are
+   * left for redelivery.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  void close() throws Exception;
+
+  /**
+   * Checks if this source has been closed.
+   *
+   * @return <tt>true</tt> if this source has been closed, otherwise
+   *         <tt>false</tt>.
+   */
+  boolean isClosed();
+}
@@ -0,0 +1,60 @@
+package com.senzing.api.server.mq;
+
+import java.util.*;
+
+import com.senzing.api.server.SzApiServer;
+
+/**
+ * A factory for converting messaging properties into instances of
+ * {@link SzMessageSource} from which messages are consumed.
+ */
+public class SzMessageSourceFactory {
+  /**
+   * The list of initiators to try.
+   */
+  private static final List<SzMessageSource.Initiator> INITIATORS;
+
+  // initialize the list of initiators
+  static {
+    List<SzMessageSource.Initiator> list = new ArrayList<>(4);
+    list.add(SqsSource.INITIATOR);
+    list.add(RabbitSource.INITIATOR);
+    list.add(KafkaSource.INITIATOR);
+    list.add(FileSource.INITIATOR);
+    INITIATORS = Collections.unmodifiableList(list);
+  }
+
+  /**
+   * Private default constructor.
+   */
+  private SzMessageSourceFactory() {
+    // do nothing
+  }
+
+  /**
+   * Creates the appropriate {@link SzMessageSource} from the specified
+   * {@link Map} of {@link String} keys to {@link Object} values.
+   *
+   * @param props The {@link Map} of properties to use for creating the
+   *              source.
+   *
+   * @param concurrency The concurrency of the {@link SzApiServer} which
+   *                    determines how many messages may be in flight.
+   *
+   * @return The {@link SzMessageSource} for the specified properties.
+   *
+   * @throws IllegalArgumentException If the specified properties are not
+   *                                  recognized.
+   */
+  public static SzMessageSource createSource(Map<String, ?>  props,
+                                             int             concurrency)
+  {
+    SzMessageSource source = null;
+    for (SzMessageSource.Initiator initiator: INITIATORS) {
+      source = initiator.establish(props, concurrency);
+      if (source != null) return source;
+    }
+    throw new IllegalArgumentException(
+        "Unrecognized message source properties: " + props);
+  }
+}
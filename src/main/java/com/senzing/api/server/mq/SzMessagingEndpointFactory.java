@@ -9,6 +9,12 @@ import com.senzing.api.server.SzApiServer;
  * {@link SzMessagingEndpoint} instances.
  */
 public class SzMessagingEndpointFactory {
+  /**
+   * The property key for an endpoint URL such as <tt>mem://{name}</tt> or
+   * <tt>file://{path}</tt>.
+   */
+  public static final String URL_PROPERTY_KEY = "url";
+
   /**
    * The list of initiators to try.
    */
@@ -16,10 +22,12 @@ public class SzMessagingEndpointFactory {
 
   // initialize the list of initiators
   static {
-    List<SzMessagingEndpoint.Initiator> list = new ArrayList<>(3);
+    List<SzMessagingEndpoint.Initiator> list = new ArrayList<>(5);
     list.add(SqsEndpoint.INITIATOR);
     list.add(RabbitEndpoint.INITIATOR);
     list.add(KafkaEndpoint.INITIATOR);
+    list.add(FileEndpoint.INITIATOR);
+    list.add(MemoryEndpoint.INITIATOR);
     INITIATORS = Collections.unmodifiableList(list);
   }
 
@@ -57,4 +65,24 @@ public class SzMessagingEndpointFactory {
     throw new IllegalArgumentException(
         "Unrecognized messaging endpoint properties: " + props);
   }
+
+  /**
+   * Creates the appropriate {@link SzMessagingEndpoint} from the specified
+   * endpoint URL (e.g.: <tt>mem://{name}</tt> or <tt>file://{path}</tt>).
+   *
+   * @param url The URL for the endpoint.
+   *
+   * @param concurrency The concurrency of the {@link SzApiServer} to use for
+   *                    creating pooled resources.
+   *
+   * @return The {@link SzMessagingEndpoint} for the specified URL.
+   *
+   * @throws IllegalArgumentException If the specified URL has an unrecognized
+   *                                  format.
+   */
+  public static SzMessagingEndpoint createEndpoint(String url,
+                                                   int    concurrency)
+  {
+    return createEndpoint(Map.of(URL_PROPERTY_KEY, url), concurrency);
+  }
 }
@@ -0,0 +1,84 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.services.SzMessage;
+
+/**
+ * Describes an {@link SzMessage} that was received from an {@link
+ * SzMessageSource} and must be {@linkplain #acknowledge() acknowledged} once
+ * it has been processed or {@linkplain #reject() rejected} if it could not
+ * be processed.  Only the first acknowledgement or rejection takes effect.
+ */
+public abstract class SzReceivedMessage extends SzMessage {
+  /**
+   * Flag indicating if the message has been acknowledged or rejected.
+   */
+  private boolean settled = false;
+
+  /**
+   * Constructs with the specified message body.
+   *
+   * @param body The message body.
+   */
+  protected SzReceivedMessage(String body) {
+    super(body);
+  }
+
+  /**
+   * Checks if this message has been acknowledged or rejected.
+   *
+   * @return <tt>true</tt> if this message has been acknowledged or rejected,
+   *         otherwise <tt>false</tt>.
+   */
+  public synchronized boolean isSettled() {
+    return this.settled;
+  }
+
+  /**
+   * Acknowledges that this message has been processed so that the source
+   * does not redeliver it.  This does nothing if the message was already
+   * acknowledged or rejected.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  public void acknowledge() throws Exception {
+    if (!this.settle()) return;
+    this.doAcknowledge();
+  }
+
+  /**
+   * Rejects this message because it could not be processed.  What happens
+   * to the message is left to the source and the configuration of the
+   * broker (e.g.: it may be redelivered or dead-lettered).  This does nothing
+   * if the message was already acknowledged or rejected.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  public void reject() throws Exception {
+    if (!this.settle()) return;
+    this.doReject();
+  }
+
+  /**
+   * Marks this message as settled and returns <tt>true</tt> if it was not
+   * already settled.
+   */
+  private synchronized boolean settle() {
+    if (this.settled) return false;
+    this.settled = true;
+    return true;
+  }
+
+  /**
+   * Implement this to acknowledge the message with the source.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  protected abstract void doAcknowledge() throws Exception;
+
+  /**
+   * Implement this to reject the message with the source.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  protected abstract void doReject() throws Exception;
+}
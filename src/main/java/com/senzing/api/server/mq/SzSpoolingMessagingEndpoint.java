@@ -0,0 +1,1041 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.services.SzMessage;
+import com.senzing.api.services.SzMessageSink;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Decorates another {@link SzMessagingEndpoint} with a durable write-ahead
+ * spool in a local directory so that sending a message only waits for it to
+ * be written to the local disk and never for the broker.  A forwarder thread
+ * reads the spooled messages in order and sends them in batches via {@link
+ * SzMessageSink#send(List, FailureHandler)} on the decorated endpoint,
+ * retrying with increasing delays for as long as the broker is unavailable.
+ * <p>
+ * The spool is a sequence of append-only segment files.  Concurrent senders
+ * are group-committed: one sender writes the records of all the senders
+ * waiting at that moment and forces them to disk once on their behalf.  Once
+ * every message in a segment has been forwarded and a newer segment is being
+ * written, the segment file is deleted.  The position of the forwarder is
+ * recorded in a checkpoint file so messages spooled before a restart are
+ * forwarded after it.  Delivery to the broker is at-least-once: a message
+ * whose forwarding was not yet checkpointed when the server stopped is sent
+ * again.
+ * <p>
+ * The {@link FailureHandler} with which a message is sent is only called if
+ * the message cannot be written to the spool.
+ */
+public class SzSpoolingMessagingEndpoint extends SzAbstractMessagingEndpoint {
+  /**
+   * The number of bytes after which a new segment file is started.
+   */
+  public static final long SEGMENT_SIZE = 16L * 1024L * 1024L;
+
+  /**
+   * The maximum number of messages that the forwarder sends in one batch.
+   */
+  public static final int MAX_BATCH_SIZE = 100;
+
+  /**
+   * The number of milliseconds to wait before the first retry of the
+   * messages that failed to forward.  The delay doubles with each
+   * subsequent retry up to {@link #MAX_RETRY_DELAY}.
+   */
+  public static final long RETRY_DELAY = 500L;
+
+  /**
+   * The maximum number of milliseconds to wait between retries.
+   */
+  public static final long MAX_RETRY_DELAY = 30000L;
+
+  /**
+   * The default maximum number of milliseconds to wait for the spooled
+   * messages to be forwarded when closing.  Any messages not forwarded
+   * remain in the spool for the next time it is opened.
+   */
+  public static final long DEFAULT_DRAIN_TIMEOUT = 30000L;
+
+  /**
+   * The file name prefix for the segment files.
+   */
+  private static final String SEGMENT_PREFIX = "segment-";
+
+  /**
+   * The file name suffix for the segment files.
+   */
+  private static final String SEGMENT_SUFFIX = ".spool";
+
+  /**
+   * The name of the file recording the position of the forwarder.
+   */
+  private static final String CHECKPOINT_FILE_NAME = "forwarded.checkpoint";
+
+  /**
+   * The number of bytes in the header of each record (the payload length
+   * followed by the CRC-32 of the payload).
+   */
+  private static final int RECORD_HEADER_SIZE = 8;
+
+  /**
+   * The records written and forced to disk together by a single sender on
+   * behalf of all the senders that contributed to it.
+   */
+  private static class Batch {
+    /**
+     * The encoded records in this batch.
+     */
+    private List<byte[]> records = new ArrayList<>();
+
+    /**
+     * Whether or not the records have been written (or failed to write).
+     */
+    private boolean done = false;
+
+    /**
+     * The failure to write the records, or <tt>null</tt> if successful.
+     */
+    private IOException failure = null;
+  }
+
+  /**
+   * A record read from a segment file along with the position of the record
+   * that follows it.
+   */
+  private static class Record {
+    /**
+     * The {@link SzMessage} decoded from the record.
+     */
+    private SzMessage message;
+
+    /**
+     * The position of the next record.
+     */
+    private long next;
+
+    /**
+     * Constructs with the message and the position of the next record.
+     */
+    private Record(SzMessage message, long next) {
+      this.message  = message;
+      this.next     = next;
+    }
+  }
+
+  /**
+   * The decorated {@link SzMessagingEndpoint}.
+   */
+  private SzMessagingEndpoint endpoint;
+
+  /**
+   * The spool directory.
+   */
+  private File directory;
+
+  /**
+   * The maximum number of milliseconds to wait for the spooled messages to
+   * be forwarded when closing.
+   */
+  private long drainTimeout;
+
+  /**
+   * The monitor for the spool state.
+   */
+  private final Object spoolMonitor = new Object();
+
+  /**
+   * The durable size of each segment file keyed by segment ID.
+   */
+  private TreeMap<Long, Long> segmentSizes;
+
+  /**
+   * The ID of the segment being written.
+   */
+  private long activeId;
+
+  /**
+   * The {@link FileChannel} for writing the active segment.
+   */
+  private FileChannel activeChannel;
+
+  /**
+   * The {@link Batch} to which senders add their records.
+   */
+  private Batch pendingBatch;
+
+  /**
+   * Whether or not a sender is currently writing a {@link Batch}.
+   */
+  private boolean syncing;
+
+  /**
+   * The ID of the segment the forwarder is reading.
+   */
+  private long readId;
+
+  /**
+   * The position of the next record the forwarder will read.
+   */
+  private long readOffset;
+
+  /**
+   * The {@link FileChannel} for writing the checkpoint file.
+   */
+  private FileChannel checkpointChannel;
+
+  /**
+   * The number of unforwarded messages found in the spool when it was
+   * opened.
+   */
+  private long recoveredCount;
+
+  /**
+   * The number of messages written to the spool.
+   */
+  private long spooledCount;
+
+  /**
+   * The number of messages forwarded to the decorated endpoint.
+   */
+  private long forwardedCount;
+
+  /**
+   * The number of batches the forwarder has attempted to send.
+   */
+  private long batchCount;
+
+  /**
+   * The number of message sends that were retried.
+   */
+  private long retriedCount;
+
+  /**
+   * The number of messages that could not be written to the spool.
+   */
+  private long failedCount;
+
+  /**
+   * Whether or not this endpoint is closing.
+   */
+  private boolean stopping;
+
+  /**
+   * Whether or not the forwarder should stop without finishing the retries
+   * of the current batch.
+   */
+  private boolean abandoned;
+
+  /**
+   * The forwarder thread.
+   */
+  private Thread forwarder;
+
+  /**
+   * Constructs with the {@link SzMessagingEndpoint} to decorate and the
+   * spool directory using the {@linkplain #DEFAULT_DRAIN_TIMEOUT default
+   * drain timeout}.  The directory is created if it does not exist.  Any
+   * messages remaining in the spool from a previous instance are forwarded
+   * before any new messages.  This starts the forwarder thread.
+   *
+   * @param endpoint The {@link SzMessagingEndpoint} to which the spooled
+   *                 messages are forwarded.
+   * @param directory The directory in which the spool files are stored.
+   *
+   * @throws IOException If the spool could not be opened.
+   *
+   * @throws IllegalArgumentException If the specified endpoint is
+   *                                  <tt>null</tt> or the specified directory
+   *                                  is not a directory.
+   */
+  public SzSpoolingMessagingEndpoint(SzMessagingEndpoint  endpoint,
+                                     File                 directory)
+      throws IOException
+  {
+    this(endpoint, directory, DEFAULT_DRAIN_TIMEOUT);
+  }
+
+  /**
+   * Constructs with the {@link SzMessagingEndpoint} to decorate, the spool
+   * directory and the maximum number of milliseconds to wait for the spooled
+   * messages to be forwarded when closing.  The directory is created if it
+   * does not exist.  Any
+   * messages remaining in the spool from a previous instance are forwarded
+   * before any new messages.  This starts the forwarder thread.
+   *
+   * @param endpoint The {@link SzMessagingEndpoint} to which the spooled
+   *                 messages are forwarded.
+   * @param directory The directory in which the spool files are stored.
+   * @param drainTimeout The maximum number of milliseconds to wait for the
+   *                     spooled messages to be forwarded when closing.
+   *
+   * @throws IOException If the spool could not be opened.
+   *
+   * @throws IllegalArgumentException If the specified endpoint is
+   *                                  <tt>null</tt>, the specified directory
+   *                                  is not a directory or the drain timeout
+   *                                  is negative.
+   */
+  public SzSpoolingMessagingEndpoint(SzMessagingEndpoint  endpoint,
+                                     File                 directory,
+                                     long                 drainTimeout)
+      throws IOException
+  {
+    if (drainTimeout < 0L) {
+      throw new IllegalArgumentException(
+          "The drain timeout cannot be negative: " + drainTimeout);
+    }
+    if (endpoint == null) {
+      throw new IllegalArgumentException(
+          "The endpoint to decorate cannot be null.");
+    }
+    if (!directory.exists()) directory.mkdirs();
+    if (!directory.isDirectory()) {
+      throw new IllegalArgumentException(
+          "The spool directory is not a directory: " + directory);
+    }
+    this.endpoint       = endpoint;
+    this.directory      = directory;
+    this.drainTimeout   = drainTimeout;
+    this.segmentSizes   = new TreeMap<>();
+    this.pendingBatch   = new Batch();
+    this.syncing        = false;
+    this.spooledCount   = 0L;
+    this.forwardedCount = 0L;
+    this.batchCount     = 0L;
+    this.retriedCount   = 0L;
+    this.failedCount    = 0L;
+    this.stopping       = false;
+    this.abandoned      = false;
+
+    this.recover();
+
+    // always start writing a new segment
+    this.activeId = this.segmentSizes.isEmpty()
+        ? 1L : this.segmentSizes.lastKey() + 1L;
+    this.activeChannel = openSegment(this.activeId);
+    this.segmentSizes.put(this.activeId, 0L);
+    if (!this.segmentSizes.containsKey(this.readId)) {
+      this.readId     = this.segmentSizes.ceilingKey(this.readId);
+      this.readOffset = 0L;
+    }
+
+    this.forwarder = new Thread(this::forward,
+                                "SzSpoolingMessagingEndpoint-Forwarder");
+    this.forwarder.setDaemon(true);
+    this.forwarder.start();
+  }
+
+  /**
+   * Gets the decorated {@link SzMessagingEndpoint}.
+   *
+   * @return The decorated {@link SzMessagingEndpoint}.
+   */
+  public SzMessagingEndpoint getEndpoint() {
+    return this.endpoint;
+  }
+
+  /**
+   * Gets the spool directory.
+   *
+   * @return The spool directory.
+   */
+  public File getDirectory() {
+    return this.directory;
+  }
+
+  /**
+   * Gets the number of messages in the spool that have not yet been
+   * forwarded.
+   *
+   * @return The number of messages that have not yet been forwarded.
+   */
+  public long getBacklogCount() {
+    synchronized (this.spoolMonitor) {
+      return this.recoveredCount + this.spooledCount - this.forwardedCount;
+    }
+  }
+
+  /**
+   * Gets the number of bytes in the spool that have not yet been forwarded.
+   *
+   * @return The number of bytes that have not yet been forwarded.
+   */
+  public long getBacklogBytes() {
+    synchronized (this.spoolMonitor) {
+      long total = 0L;
+      for (Map.Entry<Long, Long> entry
+          : this.segmentSizes.tailMap(this.readId, true).entrySet())
+      {
+        total += entry.getValue();
+      }
+      return total - this.readOffset;
+    }
+  }
+
+  /**
+   * Gets the number of unforwarded messages found in the spool when it was
+   * opened.
+   *
+   * @return The number of unforwarded messages found in the spool when it
+   *         was opened.
+   */
+  public long getRecoveredCount() {
+    synchronized (this.spoolMonitor) {
+      return this.recoveredCount;
+    }
+  }
+
+  /**
+   * Gets the number of messages written to the spool.
+   *
+   * @return The number of messages written to the spool.
+   */
+  public long getSpooledCount() {
+    synchronized (this.spoolMonitor) {
+      return this.spooledCount;
+    }
+  }
+
+  /**
+   * Gets the number of messages forwarded to the decorated endpoint.
+   *
+   * @return The number of messages forwarded to the decorated endpoint.
+   */
+  public long getForwardedCount() {
+    synchronized (this.spoolMonitor) {
+      return this.forwardedCount;
+    }
+  }
+
+  /**
+   * Gets the number of batches the forwarder has attempted to send,
+   * including retries.
+   *
+   * @return The number of batches the forwarder has attempted to send.
+   */
+  public long getBatchCount() {
+    synchronized (this.spoolMonitor) {
+      return this.batchCount;
+    }
+  }
+
+  /**
+   * Gets the number of message sends that failed and were retried.
+   *
+   * @return The number of message sends that failed and were retried.
+   */
+  public long getRetriedCount() {
+    synchronized (this.spoolMonitor) {
+      return this.retriedCount;
+    }
+  }
+
+  /**
+   * Gets the number of messages that could not be written to the spool.
+   *
+   * @return The number of messages that could not be written to the spool.
+   */
+  public long getFailedCount() {
+    synchronized (this.spoolMonitor) {
+      return this.failedCount;
+    }
+  }
+
+  /**
+   * Implemented to write the specified {@link SzMessage} to the spool and
+   * wait for it to be forced to disk.  The specified {@link FailureHandler}
+   * is only called if the message cannot be written to the spool.
+   *
+   * @param message The {@link SzMessage} to be sent.
+   *
+   * @param onFailure The function to call upon failure to write the message
+   *                  to the spool, or <tt>null</tt> if none.
+   *
+   * @throws Exception If the message could not be written to the spool and
+   *                   no on-failure function was provided.
+   *
+   * @throws IllegalStateException If this endpoint is closed or being
+   *                               closed.
+   */
+  @Override
+  public void send(SzMessage message, FailureHandler onFailure)
+      throws Exception
+  {
+    this.send(List.of(message), onFailure);
+  }
+
+  /**
+   * Overridden to write all the specified messages to the spool as part of
+   * the same group commit.
+   *
+   * @param messages The {@link List} of {@link SzMessage} instances to be
+   *                 sent.
+   *
+   * @param onFailure The function to call upon failure to write a message
+   *                  to the spool, or <tt>null</tt> if none.
+   *
+   * @throws Exception If the messages could not be written to the spool and
+   *                   no on-failure function was provided.
+   *
+   * @throws IllegalStateException If this endpoint is closed or being
+   *                               closed.
+   */
+  @Override
+  public void send(List<SzMessage> messages, FailureHandler onFailure)
+      throws Exception
+  {
+    List<byte[]> records = new ArrayList<>(messages.size());
+    for (SzMessage message : messages) {
+      records.add(encode(message));
+    }
+
+    Batch   batch;
+    boolean leader = false;
+    synchronized (this.spoolMonitor) {
+      if (this.stopping) {
+        throw new IllegalStateException(
+            "Endpoint is closed or being closed.  Cannot send a message.");
+      }
+      batch = this.pendingBatch;
+      batch.records.addAll(records);
+
+      // wait for the sender writing the previous batch to finish
+      while (this.syncing && !batch.done) {
+        try {
+          this.spoolMonitor.wait();
+        } catch (InterruptedException ignore) {
+          // ignore
+        }
+      }
+
+      // if not written by another sender then write it on their behalf
+      if (!batch.done) {
+        leader            = true;
+        this.syncing      = true;
+        this.pendingBatch = new Batch();
+      }
+    }
+
+    if (leader) {
+      IOException failure = null;
+      try {
+        this.writeBatch(batch.records);
+
+      } catch (IOException e) {
+        failure = e;
+      }
+      synchronized (this.spoolMonitor) {
+        batch.failure = failure;
+        batch.done    = true;
+        this.syncing  = false;
+        if (failure == null) {
+          this.spooledCount += batch.records.size();
+        } else {
+          this.failedCount += batch.records.size();
+        }
+        this.spoolMonitor.notifyAll();
+      }
+    }
+
+    // handle the failure if any
+    if (batch.failure != null) {
+      if (onFailure == null) throw batch.failure;
+      for (SzMessage message : messages) {
+        onFailure.handle(batch.failure, message);
+      }
+    }
+  }
+
+  /**
+   * Appends the specified records to the active segment (starting a new one
+   * if it is full) and forces them to disk.  This is only called by the one
+   * sender that is writing a batch.
+   */
+  private void writeBatch(List<byte[]> records) throws IOException {
+    long size;
+    synchronized (this.spoolMonitor) {
+      size = this.segmentSizes.get(this.activeId);
+    }
+
+    // start a new segment if the active one is full
+    if (size >= SEGMENT_SIZE) {
+      long        nextId      = this.activeId + 1L;
+      FileChannel nextChannel = openSegment(nextId);
+      this.activeChannel.close();
+      synchronized (this.spoolMonitor) {
+        this.activeChannel  = nextChannel;
+        this.activeId       = nextId;
+        this.segmentSizes.put(nextId, 0L);
+        size = 0L;
+        this.spoolMonitor.notifyAll();
+      }
+    }
+
+    int total = 0;
+    for (byte[] record : records) {
+      total += record.length;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(total);
+    for (byte[] record : records) {
+      buffer.put(record);
+    }
+    buffer.flip();
+
+    try {
+      while (buffer.hasRemaining()) {
+        this.activeChannel.write(buffer, size + buffer.position());
+      }
+      this.activeChannel.force(false);
+
+    } catch (IOException e) {
+      // discard any partially written records
+      try {
+        this.activeChannel.truncate(size);
+      } catch (IOException ignore) {
+        // ignore
+      }
+      throw e;
+    }
+
+    synchronized (this.spoolMonitor) {
+      this.segmentSizes.put(this.activeId, size + total);
+      this.spoolMonitor.notifyAll();
+    }
+  }
+
+  /**
+   * Forwards the spooled messages in batches until this endpoint is closed
+   * and the spool has been forwarded (or forwarding is abandoned).  This is
+   * run by the forwarder thread.
+   */
+  private void forward() {
+    FileChannel reader    = null;
+    long        readerId  = -1L;
+    try {
+      while (true) {
+        long id;
+        long offset;
+        long limit;
+        synchronized (this.spoolMonitor) {
+          while (true) {
+            if (this.abandoned) return;
+            limit = this.segmentSizes.get(this.readId);
+            if (this.readOffset < limit) break;
+
+            // delete a fully forwarded segment once it is no longer written
+            if (this.readId < this.activeId) {
+              if (reader != null && readerId == this.readId) {
+                reader.close();
+                reader = null;
+              }
+              this.segmentSizes.remove(this.readId);
+              segmentFile(this.directory, this.readId).delete();
+              this.readId     = this.segmentSizes.ceilingKey(this.readId);
+              this.readOffset = 0L;
+              this.writeCheckpoint();
+              continue;
+            }
+            if (this.stopping) return;
+            try {
+              this.spoolMonitor.wait();
+            } catch (InterruptedException ignore) {
+              // ignore
+            }
+          }
+          id      = this.readId;
+          offset  = this.readOffset;
+        }
+
+        // read the next batch of records
+        if (reader == null || readerId != id) {
+          if (reader != null) reader.close();
+          reader = FileChannel.open(segmentFile(this.directory, id).toPath(),
+                                    StandardOpenOption.READ);
+          readerId = id;
+        }
+        List<SzMessage> messages  = new ArrayList<>(MAX_BATCH_SIZE);
+        long            next      = offset;
+        while (messages.size() < MAX_BATCH_SIZE && next < limit) {
+          Record record = readRecord(reader, next, limit);
+          if (record == null) {
+            System.err.println("Skipping corrupt spool records in "
+                               + segmentFile(this.directory, id)
+                               + " at position " + next);
+            next = limit;
+            break;
+          }
+          messages.add(record.message);
+          next = record.next;
+        }
+
+        // send the batch, retrying for as long as it takes
+        if (messages.size() > 0 && !this.sendBatch(messages)) return;
+
+        synchronized (this.spoolMonitor) {
+          this.forwardedCount += messages.size();
+          this.readOffset = next;
+          this.writeCheckpoint();
+        }
+      }
+
+    } catch (Exception e) {
+      e.printStackTrace();
+
+    } finally {
+      if (reader != null) {
+        try {
+          reader.close();
+        } catch (IOException ignore) {
+          // ignore
+        }
+      }
+    }
+  }
+
+  /**
+   * Sends the specified batch to the decorated endpoint, retrying the failed
+   * messages with increasing delays until they are all sent.  Returns
+   * <tt>false</tt> if forwarding was abandoned before all were sent.
+   */
+  private boolean sendBatch(List<SzMessage> batch) {
+    List<SzMessage> pending = batch;
+    long            delay   = RETRY_DELAY;
+    while (true) {
+      Map<SzMessage, Exception> failures = this.trySend(pending);
+      List<SzMessage> failed = new ArrayList<>(failures.size());
+      for (SzMessage message : pending) {
+        if (failures.containsKey(message)) failed.add(message);
+      }
+      synchronized (this.spoolMonitor) {
+        this.batchCount++;
+        this.retriedCount += failed.size();
+      }
+      if (failed.size() == 0) return true;
+
+      synchronized (this.spoolMonitor) {
+        if (this.abandoned) return false;
+        try {
+          this.spoolMonitor.wait(delay);
+        } catch (InterruptedException ignore) {
+          // ignore
+        }
+        if (this.abandoned) return false;
+      }
+      delay   = Math.min(delay * 2L, MAX_RETRY_DELAY);
+      pending = failed;
+    }
+  }
+
+  /**
+   * Attempts to send the specified messages as a batch via the decorated
+   * endpoint and returns the {@link Map} of messages that failed to the
+   * cause of their failure.
+   */
+  private Map<SzMessage, Exception> trySend(List<SzMessage> messages) {
+    Map<SzMessage, Exception> failures
+        = Collections.synchronizedMap(new IdentityHashMap<>());
+    SzMessageSink sink = null;
+    try {
+      sink = this.endpoint.acquireMessageSink();
+      sink.send(messages, (e, message) -> failures.put(message, e));
+
+    } catch (Exception e) {
+      for (SzMessage message : messages) {
+        failures.putIfAbsent(message, e);
+      }
+
+    } finally {
+      if (sink != null) this.endpoint.releaseMessageSink(sink);
+    }
+    return failures;
+  }
+
+  /**
+   * Records the position of the forwarder in the checkpoint file.  This is
+   * called while synchronized on the spool monitor.
+   */
+  private void writeCheckpoint() {
+    ByteBuffer buffer = ByteBuffer.allocate(16);
+    buffer.putLong(this.readId);
+    buffer.putLong(this.readOffset);
+    buffer.flip();
+    try {
+      while (buffer.hasRemaining()) {
+        this.checkpointChannel.write(buffer, buffer.position());
+      }
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Finds the existing segment files, positions the forwarder at the
+   * checkpoint, deletes the segments that were already forwarded, and
+   * counts the unforwarded records while truncating any torn record left by
+   * a crash.
+   */
+  private void recover() throws IOException {
+    File[] files = this.directory.listFiles();
+    if (files == null) files = new File[0];
+    for (File file : files) {
+      String name = file.getName();
+      if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+        continue;
+      }
+      String digits = name.substring(
+          SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length());
+      try {
+        this.segmentSizes.put(Long.parseLong(digits), file.length());
+      } catch (NumberFormatException ignore) {
+        // not a segment file
+      }
+    }
+
+    // read the checkpoint
+    File checkpointFile = new File(this.directory, CHECKPOINT_FILE_NAME);
+    this.checkpointChannel = FileChannel.open(checkpointFile.toPath(),
+                                              StandardOpenOption.CREATE,
+                                              StandardOpenOption.READ,
+                                              StandardOpenOption.WRITE);
+    this.readId     = 0L;
+    this.readOffset = 0L;
+    if (this.checkpointChannel.size() >= 16L) {
+      ByteBuffer buffer = ByteBuffer.allocate(16);
+      readFully(this.checkpointChannel, buffer, 0L);
+      this.readId     = buffer.getLong(0);
+      this.readOffset = buffer.getLong(8);
+    }
+
+    // delete the segments that were already forwarded
+    Iterator<Map.Entry<Long, Long>> iter
+        = this.segmentSizes.entrySet().iterator();
+    while (iter.hasNext()) {
+      Map.Entry<Long, Long> entry = iter.next();
+      if (entry.getKey() >= this.readId) break;
+      segmentFile(this.directory, entry.getKey()).delete();
+      iter.remove();
+    }
+
+    // count the unforwarded records and truncate any torn records
+    this.recoveredCount = 0L;
+    for (Map.Entry<Long, Long> entry : this.segmentSizes.entrySet()) {
+      long  id        = entry.getKey();
+      long  size      = entry.getValue();
+      long  position  = (id == this.readId) ? this.readOffset : 0L;
+      File  file      = segmentFile(this.directory, id);
+      try (FileChannel channel = FileChannel.open(file.toPath(),
+                                                  StandardOpenOption.READ,
+                                                  StandardOpenOption.WRITE))
+      {
+        Record record;
+        while ((record = readRecord(channel, position, size)) != null) {
+          this.recoveredCount++;
+          position = record.next;
+        }
+        if (position < size) {
+          System.err.println("Truncating " + (size - position)
+                             + " bytes of incomplete spool records from: "
+                             + file);
+          channel.truncate(position);
+          channel.force(false);
+          entry.setValue(position);
+        }
+      }
+    }
+  }
+
+  /**
+   * Implemented to stop accepting messages, wait for the spooled messages to
+   * be forwarded (up to a timeout), and then close the decorated endpoint.
+   * Any messages that are not forwarded remain in the spool.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  @Override
+  protected void doClose() throws Exception {
+    synchronized (this.spoolMonitor) {
+      this.stopping = true;
+      while (this.syncing || this.pendingBatch.records.size() > 0) {
+        try {
+          this.spoolMonitor.wait();
+        } catch (InterruptedException ignore) {
+          // ignore
+        }
+      }
+      this.spoolMonitor.notifyAll();
+    }
+
+    long end = System.currentTimeMillis() + this.drainTimeout;
+    while (this.forwarder.isAlive()) {
+      long remaining = end - System.currentTimeMillis();
+      if (remaining <= 0L) break;
+      try {
+        this.forwarder.join(remaining);
+      } catch (InterruptedException ignore) {
+        // ignore
+      }
+    }
+
+    // abandon forwarding if not yet complete
+    synchronized (this.spoolMonitor) {
+      this.abandoned = true;
+      this.spoolMonitor.notifyAll();
+    }
+    while (this.forwarder.isAlive()) {
+      try {
+        this.forwarder.join();
+      } catch (InterruptedException ignore) {
+        // ignore
+      }
+    }
+
+    this.activeChannel.close();
+    this.checkpointChannel.force(false);
+    this.checkpointChannel.close();
+    this.endpoint.close();
+  }
+
+  /**
+   * Gets the segment file for the specified segment ID.
+   */
+  private static File segmentFile(File directory, long id) {
+    return new File(directory,
+                    SEGMENT_PREFIX + String.format("%019d", id)
+                        + SEGMENT_SUFFIX);
+  }
+
+  /**
+   * Opens the segment file for the specified segment ID for writing.
+   */
+  private FileChannel openSegment(long id) throws IOException {
+    return FileChannel.open(segmentFile(this.directory, id).toPath(),
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE);
+  }
+
+  /**
+   * Encodes the specified {@link SzMessage} as a record consisting of the
+   * payload length, the CRC-32 of the payload and then the payload.
+   */
+  private static byte[] encode(SzMessage message) {
+    try {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      DataOutputStream      dos  = new DataOutputStream(baos);
+      dos.writeInt(0);
+      dos.writeInt(0);
+      Map<String, String> props = message.getProperties();
+      dos.writeInt(props.size());
+      for (Map.Entry<String, String> prop : props.entrySet()) {
+        writeString(dos, prop.getKey());
+        writeString(dos, prop.getValue());
+      }
+      writeString(dos, message.getBody());
+      dos.flush();
+
+      byte[]  record  = baos.toByteArray();
+      int     length  = record.length - RECORD_HEADER_SIZE;
+      CRC32   crc     = new CRC32();
+      crc.update(record, RECORD_HEADER_SIZE, length);
+      ByteBuffer header = ByteBuffer.wrap(record, 0, RECORD_HEADER_SIZE);
+      header.putInt(length);
+      header.putInt((int) crc.getValue());
+      return record;
+
+    } catch (IOException cannotHappen) {
+      throw new IllegalStateException(cannotHappen);
+    }
+  }
+
+  /**
+   * Reads the record at the specified position, returning <tt>null</tt> if
+   * there is no complete and valid record before the specified limit.
+   */
+  private static Record readRecord(FileChannel  channel,
+                                   long         position,
+                                   long         limit)
+      throws IOException
+  {
+    if (limit - position < RECORD_HEADER_SIZE) return null;
+    ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+    if (!readFully(channel, header, position)) return null;
+    int length  = header.getInt(0);
+    int crc     = header.getInt(4);
+    if (length < 0 || length > limit - position - RECORD_HEADER_SIZE) {
+      return null;
+    }
+    ByteBuffer payload = ByteBuffer.allocate(length);
+    if (!readFully(channel, payload, position + RECORD_HEADER_SIZE)) {
+      return null;
+    }
+    CRC32 crc32 = new CRC32();
+    crc32.update(payload.array(), 0, length);
+    if ((int) crc32.getValue() != crc) return null;
+
+    try {
+      DataInputStream dis = new DataInputStream(
+          new ByteArrayInputStream(payload.array()));
+      SzMessage message = new SzMessage();
+      int count = dis.readInt();
+      for (int index = 0; index < count; index++) {
+        message.setProperty(readString(dis), readString(dis));
+      }
+      message.setBody(readString(dis));
+      return new Record(message, position + RECORD_HEADER_SIZE + length);
+
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Reads from the specified channel at the specified position until the
+   * buffer is full, returning <tt>false</tt> if the end of the channel is
+   * reached first.
+   */
+  private static boolean readFully(FileChannel  channel,
+                                   ByteBuffer   buffer,
+                                   long         position)
+      throws IOException
+  {
+    while (buffer.hasRemaining()) {
+      int count = channel.read(buffer, position + buffer.position());
+      if (count < 0) return false;
+    }
+    return true;
+  }
+
+  /**
+   * Writes the specified (possibly <tt>null</tt>) {@link String} as its
+   * UTF-8 byte length (or <tt>-1</tt> if <tt>null</tt>) followed by its
+   * UTF-8 bytes.
+   */
+  private static void writeString(DataOutputStream dos, String value)
+      throws IOException
+  {
+    if (value == null) {
+      dos.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    dos.writeInt(bytes.length);
+    dos.write(bytes);
+  }
+
+  /**
+   * Reads a {@link String} written by {@link
+   * #writeString(DataOutputStream, String)}.
+   */
+  private static String readString(DataInputStream dis) throws IOException {
+    int length = dis.readInt();
+    if (length < 0) return null;
+    byte[] bytes = new byte[length];
+    dis.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -185,4 +185,124 @@ public class AdminServices {
       throw newInternalServerErrorException(GET, uriInfo, timers, e);
     }
   }
+
+  /**
+   * Describes the redo record queue with the number of pending redo records
+   * and the throughput of the background redo processor (if running).  This
+   * requires admin functions to be enabled.
+   */
+  @GET
+  @Path("redo-processor")
+  public SzRedoProcessorResponse getRedoProcessorStatus(
+      @Context UriInfo uriInfo)
+      throws WebApplicationException {
+    Timers timers = newTimers();
+    SzApiProvider provider = SzApiProvider.Factory.getProvider();
+
+    ensureAdminEnabled(provider, GET, uriInfo, timers);
+
+    G2Engine engineApi = provider.getEngineApi();
+
+    try {
+      enteringQueue(timers);
+      long pendingCount = provider.executeInThread(() -> {
+        exitingQueue(timers);
+        callingNativeAPI(timers, "engine", "countRedoRecords");
+        long count = engineApi.countRedoRecords();
+        if (count < 0L) {
+          throw newInternalServerErrorException(
+              GET, uriInfo, timers, engineApi);
+        }
+        calledNativeAPI(timers, "engine", "countRedoRecords");
+        return count;
+      });
+
+      RedoProcessor processor = RedoProcessor.getInstance(provider);
+      SzRedoProcessorStatus status = (processor == null)
+          ? new SzRedoProcessorStatus() : processor.getStatus();
+      status.setPendingRedoCount(pendingCount);
+
+      return new SzRedoProcessorResponse(GET, 200, uriInfo, timers, status);
+
+    } catch (ServerErrorException e) {
+      e.printStackTrace();
+      throw e;
+
+    } catch (WebApplicationException e) {
+      throw e;
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      throw newInternalServerErrorException(GET, uriInfo, timers, e);
+    }
+  }
+
+  /**
+   * Describes the info queue with the backlog of buffered messages and the
+   * number of messages sent, retried and dropped if the info messages are
+   * sent asynchronously.  This requires admin functions to be enabled.
+   */
+  @GET
+  @Path("info-queue")
+  public SzInfoQueueResponse getInfoQueueStatus(@Context UriInfo uriInfo)
+      throws WebApplicationException
+  {
+    Timers timers = newTimers();
+    SzApiProvider provider = SzApiProvider.Factory.getProvider();
+
+    ensureAdminEnabled(provider, GET, uriInfo, timers);
+
+    try {
+      SzInfoQueueStatus status = provider.getInfoQueueStatus();
+      if (status == null) status = new SzInfoQueueStatus();
+
+      return new SzInfoQueueResponse(GET, 200, uriInfo, timers, status);
+
+    } catch (ServerErrorException e) {
+      e.printStackTrace();
+      throw e;
+
+    } catch (WebApplicationException e) {
+      throw e;
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      throw newInternalServerErrorException(GET, uriInfo, timers, e);
+    }
+  }
+
+  /**
+   * Describes the throughput of the load queue processor that consumes record
+   * load and delete messages from a message queue (if configured).  This
+   * requires admin functions to be enabled.
+   */
+  @GET
+  @Path("load-queue")
+  public SzLoadQueueResponse getLoadQueueStatus(@Context UriInfo uriInfo)
+      throws WebApplicationException
+  {
+    Timers timers = newTimers();
+    SzApiProvider provider = SzApiProvider.Factory.getProvider();
+
+    ensureAdminEnabled(provider, GET, uriInfo, timers);
+
+    try {
+      LoadQueueProcessor processor = LoadQueueProcessor.getInstance(provider);
+      SzLoadQueueStatus status = (processor == null)
+          ? new SzLoadQueueStatus() : processor.getStatus();
+
+      return new SzLoadQueueResponse(GET, 200, uriInfo, timers, status);
+
+    } catch (ServerErrorException e) {
+      e.printStackTrace();
+      throw e;
+
+    } catch (WebApplicationException e) {
+      throw e;
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      throw newInternalServerErrorException(GET, uriInfo, timers, e);
+    }
+  }
 }
@@ -0,0 +1,451 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzBulkDataAnalysis;
+import com.senzing.api.model.SzConfidenceInterval;
+import com.senzing.io.JsonRecordText;
+import com.senzing.util.HyperLogLog;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Analyzes bulk data records concurrently.  Parsed records are {@linkplain
+ * #submit(JsonRecordText) submitted} in batches to analyzer threads which
+ * tally them by data source, entity type and whether or not they have a
+ * record ID.  Each thread tallies a batch locally and then adds the tallies
+ * to striped {@link LongAdder} counters shared by all threads, so {@linkplain
+ * #snapshot(SzBulkDataAnalysis) snapshots} can be taken for progress at any
+ * time without blocking the analyzer threads.
+ * <p>
+ * {@link SzBulkDataAnalysis} is not thread-safe and is only ever populated
+ * from the tallies on the thread that submits the records.
+ * <p>
+ * Optionally, the distinct record ID's may be counted approximately using a
+ * {@link HyperLogLog} sketch per analyzer thread, with the sketches merged
+ * once the analysis is finished.
+ */
+class BulkDataAnalyzer {
+  /**
+   * The default number of analyzer threads.
+   */
+  static final int DEFAULT_ANALYZER_THREADS
+      = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+  /**
+   * The number of records handed to an analyzer thread in a single batch.
+   */
+  static final int BATCH_SIZE = 256;
+
+  /**
+   * The capacity of the queue feeding the analyzer threads per thread.
+   */
+  private static final int QUEUE_CAPACITY_PER_THREAD = 4;
+
+  /**
+   * The number of milliseconds to wait when polling the queue before checking
+   * if the analysis is complete or aborted.
+   */
+  private static final long POLL_TIMEOUT = 50L;
+
+  /**
+   * The confidence level for the confidence intervals of estimated counts.
+   */
+  static final double CONFIDENCE_LEVEL = 0.95;
+
+  /**
+   * The standard normal quantile for the {@link #CONFIDENCE_LEVEL}.
+   */
+  static final double CONFIDENCE_Z_SCORE = 1.959964;
+
+  /**
+   * The name used in naming the threads.
+   */
+  private String name;
+
+  /**
+   * The striped record counts by {@link TallyKey}.
+   */
+  private ConcurrentHashMap<TallyKey, LongAdder> tallies;
+
+  /**
+   * The queue feeding the analyzer threads.
+   */
+  private BlockingQueue<List<JsonRecordText>> queue;
+
+  /**
+   * The analyzer threads, which is empty if the records are analyzed on the
+   * submitting thread.
+   */
+  private List<Thread> threads;
+
+  /**
+   * The batch of records currently being accumulated.
+   */
+  private List<JsonRecordText> batch;
+
+  /**
+   * The local tallies used when analyzing on the submitting thread.
+   */
+  private Map<TallyKey, int[]> localTallies;
+
+  /**
+   * The {@link HyperLogLog} sketches of the distinct record ID's from the
+   * completed analyzer threads, or <tt>null</tt> if distinct record ID's are
+   * not being counted.
+   */
+  private List<HyperLogLog> sketches;
+
+  /**
+   * The {@link HyperLogLog} sketch used when analyzing on the submitting
+   * thread, or <tt>null</tt> if distinct record ID's are not being counted.
+   */
+  private HyperLogLog localSketch;
+
+  /**
+   * Flag indicating if all records have been submitted.
+   */
+  private volatile boolean submitDone;
+
+  /**
+   * Flag indicating if the analysis has been aborted.
+   */
+  private volatile boolean aborted;
+
+  /**
+   * The failure that occurred on an analyzer thread, if any.
+   */
+  private volatile Throwable failure;
+
+  /**
+   * Constructs and starts the analyzer threads.  If the thread count is one
+   * then the records are analyzed on the submitting thread.
+   *
+   * @param name The name used in naming the threads.
+   * @param threadCount The number of analyzer threads.
+   */
+  BulkDataAnalyzer(String name, int threadCount) {
+    this(name, threadCount, false);
+  }
+
+  /**
+   * Constructs and starts the analyzer threads, optionally counting the
+   * distinct record ID's approximately.  If the thread count is one then the
+   * records are analyzed on the submitting thread.
+   *
+   * @param name The name used in naming the threads.
+   * @param threadCount The number of analyzer threads.
+   * @param countDistinctRecordIds <tt>true</tt> if the distinct record ID's
+   *                               should be counted, otherwise
+   *                               <tt>false</tt>.
+   */
+  BulkDataAnalyzer(String name, int threadCount, boolean countDistinctRecordIds)
+  {
+    threadCount = Math.max(1, threadCount);
+
+    this.name         = name;
+    this.tallies      = new ConcurrentHashMap<>();
+    this.queue        = new ArrayBlockingQueue<>(
+        threadCount * QUEUE_CAPACITY_PER_THREAD);
+    this.threads      = new ArrayList<>(threadCount);
+    this.batch        = new ArrayList<>(BATCH_SIZE);
+    this.localTallies = new HashMap<>();
+    this.sketches     = (countDistinctRecordIds)
+                      ? Collections.synchronizedList(new ArrayList<>()) : null;
+    this.localSketch  = (countDistinctRecordIds) ? new HyperLogLog() : null;
+    this.submitDone   = false;
+    this.aborted      = false;
+    this.failure      = null;
+
+    if (threadCount > 1) {
+      for (int index = 0; index < threadCount; index++) {
+        Thread thread = new Thread(this::analyze, name + "-" + index);
+        this.threads.add(thread);
+        thread.start();
+      }
+    }
+  }
+
+  /**
+   * Submits the specified parsed record for analysis, blocking if the
+   * analyzer threads are behind.  This should only be called from a single
+   * thread.
+   *
+   * @param record The parsed {@link JsonRecordText} record.
+   *
+   * @throws RuntimeException If an analyzer thread failed.
+   */
+  void submit(JsonRecordText record) {
+    if (this.submitDone) {
+      throw new IllegalStateException(
+          "Cannot submit records after the analysis has been finished.");
+    }
+    this.batch.add(record);
+    if (this.batch.size() >= BATCH_SIZE) this.flush();
+  }
+
+  /**
+   * Hands off the current batch of records for analysis.
+   */
+  private void flush() {
+    if (this.batch.isEmpty()) return;
+    List<JsonRecordText> records = this.batch;
+    this.batch = new ArrayList<>(BATCH_SIZE);
+
+    if (this.threads.isEmpty()) {
+      this.tally(records, this.localTallies, this.localSketch);
+      return;
+    }
+    try {
+      while (!this.aborted) {
+        if (this.queue.offer(records, POLL_TIMEOUT, TimeUnit.MILLISECONDS)) {
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      this.abort();
+      Thread.currentThread().interrupt();
+    }
+    this.checkFailure();
+  }
+
+  /**
+   * Aborts the analysis, discarding any records that have not been analyzed.
+   */
+  void abort() {
+    this.aborted = true;
+    this.queue.clear();
+  }
+
+  /**
+   * Hands off any remaining records and waits for the analyzer threads to
+   * complete.  After this returns the tallies are exact.
+   *
+   * @throws RuntimeException If an analyzer thread failed.
+   */
+  void finish() {
+    this.flush();
+    this.submitDone = true;
+
+    boolean interrupted = false;
+    for (Thread thread : this.threads) {
+      while (thread.isAlive()) {
+        try {
+          thread.join();
+        } catch (InterruptedException e) {
+          interrupted = true;
+          this.abort();
+        }
+      }
+    }
+    if (interrupted) Thread.currentThread().interrupt();
+
+    this.checkFailure();
+  }
+
+  /**
+   * Throws the failure that occurred on an analyzer thread, if any.
+   */
+  private void checkFailure() {
+    Throwable failure = this.failure;
+    if (failure instanceof RuntimeException) {
+      throw ((RuntimeException) failure);
+    } else if (failure instanceof Error) {
+      throw ((Error) failure);
+    } else if (failure != null) {
+      throw new RuntimeException(failure);
+    }
+  }
+
+  /**
+   * Tracks the records tallied so far in the specified {@link
+   * SzBulkDataAnalysis}.  This should only be called from the submitting
+   * thread.
+   *
+   * @param analysis The {@link SzBulkDataAnalysis} to track the records in.
+   */
+  void mergeInto(SzBulkDataAnalysis analysis) {
+    this.mergeTallies(analysis);
+
+    // check if counting the distinct record ID's
+    if (this.sketches == null) return;
+    HyperLogLog sketch = new HyperLogLog();
+    sketch.merge(this.localSketch);
+    synchronized (this.sketches) {
+      for (HyperLogLog threadSketch : this.sketches) {
+        sketch.merge(threadSketch);
+      }
+    }
+    long    estimate  = sketch.estimate();
+    double  margin    = CONFIDENCE_Z_SCORE * sketch.getStandardError();
+    analysis.setDistinctRecordIdCount(estimate);
+    analysis.setDistinctRecordIdCountInterval(new SzConfidenceInterval(
+        Math.max(0L, (long) Math.floor(estimate * (1.0 - margin))),
+        Math.min((long) analysis.getRecordsWithRecordIdCount(),
+                 (long) Math.ceil(estimate * (1.0 + margin))),
+        CONFIDENCE_LEVEL));
+  }
+
+  /**
+   * Tracks the records tallied so far in the specified {@link
+   * SzBulkDataAnalysis} without the distinct record ID count.
+   *
+   * @param analysis The {@link SzBulkDataAnalysis} to track the records in.
+   */
+  private void mergeTallies(SzBulkDataAnalysis analysis) {
+    this.tallies.forEach((key, adder) -> {
+      long count = adder.sum();
+      if (count == 0L) return;
+      analysis.trackRecords((int) count,
+                            key.dataSource,
+                            key.entityType,
+                            key.withRecordId);
+    });
+  }
+
+  /**
+   * Creates a new {@link SzBulkDataAnalysis} with the character encoding and
+   * media type of the specified {@link SzBulkDataAnalysis} that tracks the
+   * records tallied so far.  The records in batches that are still queued
+   * are not included, nor is the distinct record ID count.
+   *
+   * @param template The {@link SzBulkDataAnalysis} from which to copy the
+   *                 character encoding and media type.
+   *
+   * @return The new {@link SzBulkDataAnalysis} snapshot.
+   */
+  SzBulkDataAnalysis snapshot(SzBulkDataAnalysis template) {
+    this.flush();
+    SzBulkDataAnalysis analysis = new SzBulkDataAnalysis();
+    analysis.setCharacterEncoding(template.getCharacterEncoding());
+    analysis.setMediaType(template.getMediaType());
+    this.mergeTallies(analysis);
+    return analysis;
+  }
+
+  /**
+   * The body of the analyzer threads.
+   */
+  private void analyze() {
+    Map<TallyKey, int[]> localTallies = new HashMap<>();
+    HyperLogLog sketch = (this.sketches == null) ? null : new HyperLogLog();
+    try {
+      while (!this.aborted) {
+        List<JsonRecordText> records = this.queue.poll(POLL_TIMEOUT,
+                                                       TimeUnit.MILLISECONDS);
+        if (records == null) {
+          if (this.submitDone && this.queue.isEmpty()) break;
+          continue;
+        }
+        this.tally(records, localTallies, sketch);
+      }
+    } catch (InterruptedException e) {
+      this.abort();
+
+    } catch (RuntimeException e) {
+      e.printStackTrace();
+      this.failure = e;
+      this.abort();
+
+    } finally {
+      if (sketch != null) this.sketches.add(sketch);
+    }
+  }
+
+  /**
+   * Tallies the specified records in the specified local {@link Map} and then
+   * adds the local tallies to the shared striped counters.  The record ID's
+   * are added to the specified {@link HyperLogLog} sketch if not
+   * <tt>null</tt>.
+   */
+  private void tally(List<JsonRecordText>  records,
+                     Map<TallyKey, int[]>  localTallies,
+                     HyperLogLog           sketch)
+  {
+    for (JsonRecordText record : records) {
+      String dataSource = record.getString("DATA_SOURCE");
+      String recordId   = record.getString("RECORD_ID");
+      TallyKey key = new TallyKey(dataSource,
+                                  record.getString("ENTITY_TYPE"),
+                                  (recordId != null));
+      if (sketch != null && recordId != null) {
+        sketch.add(recordIdentity(dataSource, recordId));
+      }
+      int[] count = localTallies.get(key);
+      if (count == null) {
+        localTallies.put(key, new int[] { 1 });
+      } else {
+        count[0]++;
+      }
+    }
+    localTallies.forEach((key, count) -> {
+      this.tallies.computeIfAbsent(key, k -> new LongAdder()).add(count[0]);
+    });
+    localTallies.clear();
+  }
+
+  /**
+   * Builds the identity of a record for counting the distinct record ID's
+   * from its data source and record ID.  Record ID's are only unique within
+   * a data source and a blank data source is equivalent to none.
+   *
+   * @param dataSource The data source of the record, or <tt>null</tt>.
+   * @param recordId The record ID of the record.
+   *
+   * @return The identity of the record.
+   */
+  static String recordIdentity(String dataSource, String recordId) {
+    if (dataSource == null) return "\u0000" + recordId;
+    return dataSource.trim() + "\u0000" + recordId;
+  }
+
+  /**
+   * The key by which records are tallied.
+   */
+  static final class TallyKey {
+    /**
+     * The data source, or <tt>null</tt> if none.
+     */
+    final String dataSource;
+
+    /**
+     * The entity type, or <tt>null</tt> if none.
+     */
+    final String entityType;
+
+    /**
+     * Whether or not the records have a record ID.
+     */
+    final boolean withRecordId;
+
+    /**
+     * Constructs with the data source, entity type and record ID flag.
+     */
+    TallyKey(String   dataSource,
+             String   entityType,
+             boolean  withRecordId)
+    {
+      this.dataSource   = dataSource;
+      this.entityType   = entityType;
+      this.withRecordId = withRecordId;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+      if (this == object) return true;
+      if (object == null || this.getClass() != object.getClass()) return false;
+      TallyKey key = (TallyKey) object;
+      return this.withRecordId == key.withRecordId
+          && Objects.equals(this.dataSource, key.dataSource)
+          && Objects.equals(this.entityType, key.entityType);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.dataSource, this.entityType, this.withRecordId);
+    }
+  }
+}
@@ -0,0 +1,717 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzBulkDataAnalysis;
+import com.senzing.api.model.SzBulkDataSampling;
+import com.senzing.api.model.SzConfidenceInterval;
+import com.senzing.io.JsonRecordText;
+import com.senzing.io.RecordReader;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.function.Predicate;
+
+import static com.senzing.api.services.BulkDataAnalyzer.*;
+
+/**
+ * Estimates a bulk data analysis from a sample of the records rather than
+ * reading every record.  The bulk data is divided into windows of {@link
+ * #WINDOW_SIZE} bytes and the records <b>beginning</b> in a sample of those
+ * windows are analyzed.  Since every record begins in exactly one window, the
+ * windows form a cluster sample of the records from which the number of
+ * records in each category is estimated with a ratio estimator.
+ * <p>
+ * The windows are sampled in rounds that double in size, ordered by the
+ * base-2 van der Corput sequence so that the sampled windows are always
+ * spread evenly over the whole of the bulk data, which makes the sample
+ * systematic rather than simple random.  The confidence intervals are
+ * therefore computed with the successive difference variance estimator over
+ * the windows in order of their position, which (unlike the simple random
+ * sample estimator) is not inflated by trends in the data such as records
+ * sorted by data source.  Sampling stops early once the confidence
+ * intervals of all the counts are narrower than {@link #TOLERANCE} of the
+ * estimated record count.
+ * <p>
+ * This requires random access to the bulk data and is only supported for
+ * JSON-lines and CSV records in an ASCII-compatible character encoding,
+ * since the start of a window is aligned to a record by scanning for the
+ * next line feed.  CSV records with quoted line breaks may therefore be
+ * misaligned; the records that cannot be parsed are counted as failures and
+ * are not included in the estimates.  The distinct record ID's cannot be
+ * estimated from a sample and are not reported.
+ */
+class BulkDataSampler {
+  /**
+   * Opens a new {@link InputStream} positioned at the start of the bulk data.
+   */
+  interface StreamOpener {
+    /**
+     * Opens a new {@link InputStream} positioned at the start of the bulk
+     * data.  The caller is responsible for closing it.
+     *
+     * @return The new {@link InputStream}.
+     *
+     * @throws IOException If an I/O failure occurs.
+     */
+    InputStream open() throws IOException;
+  }
+
+  /**
+   * The number of bytes in each window.
+   */
+  static final int WINDOW_SIZE = 64 * 1024;
+
+  /**
+   * The number of windows sampled in the first round and the minimum number
+   * of windows sampled before sampling may stop early.
+   */
+  static final int MIN_WINDOW_COUNT = 32;
+
+  /**
+   * The maximum number of windows that are sampled.
+   */
+  static final int MAX_WINDOW_COUNT = 4096;
+
+  /**
+   * The minimum number of bytes of bulk data for sampling, below which every
+   * record is analyzed instead.
+   */
+  static final long MIN_SAMPLED_LENGTH
+      = 4L * MIN_WINDOW_COUNT * WINDOW_SIZE;
+
+  /**
+   * The maximum half-width of the confidence interval of every estimated
+   * count for the estimates to be considered stable, as a fraction of the
+   * estimated record count.
+   */
+  static final double TOLERANCE = 0.005;
+
+  /**
+   * The maximum number of bytes by which a window is extended to read the
+   * remainder of a record that straddles the end of the window.
+   */
+  private static final int MAX_RECORD_LENGTH = 16 * 1024 * 1024;
+
+  /**
+   * The size of the buffer used when reading and skipping bytes.
+   */
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * The {@link RecordReader.Format} of the records.
+   */
+  private RecordReader.Format format;
+
+  /**
+   * The {@link Charset} of the records.
+   */
+  private Charset charset;
+
+  /**
+   * The {@link StreamOpener} for reading the bulk data.
+   */
+  private StreamOpener opener;
+
+  /**
+   * The total number of bytes of bulk data.
+   */
+  private long length;
+
+  /**
+   * The bytes of the CSV header line that are prepended to each window, or
+   * an empty array if not CSV.
+   */
+  private byte[] header;
+
+  /**
+   * The offset at which the first window begins (i.e.: after the CSV header).
+   */
+  private long baseOffset;
+
+  /**
+   * The total number of windows.
+   */
+  private int windowCount;
+
+  /**
+   * The next index into the van der Corput sequence.
+   */
+  private long sequenceIndex;
+
+  /**
+   * The indexes of the windows that have been sampled.
+   */
+  private Set<Integer> sampledWindows;
+
+  /**
+   * The {@link TallyKey} instances in the order they were discovered.
+   */
+  private List<TallyKey> keys;
+
+  /**
+   * The index of each {@link TallyKey} in {@link #keys}.
+   */
+  private Map<TallyKey, Integer> keyIndexes;
+
+  /**
+   * The record counts for each sampled window, indexed by key index.
+   */
+  private List<int[]> windowTallies;
+
+  /**
+   * The number of bytes in each sampled window.
+   */
+  private List<Integer> windowLengths;
+
+  /**
+   * The index of each sampled window in the bulk data.
+   */
+  private List<Integer> windowIndexes;
+
+  /**
+   * The positions in {@link #windowTallies} of the sampled windows ordered
+   * by their index in the bulk data.
+   */
+  private int[] windowOrder;
+
+  /**
+   * The number of records analyzed in the sampled windows.
+   */
+  private int sampledRecordCount;
+
+  /**
+   * The number of records in the sampled windows that could not be parsed.
+   */
+  private int failedRecordCount;
+
+  /**
+   * Whether or not sampling stopped because the estimates stabilized.
+   */
+  private boolean converged;
+
+  /**
+   * Whether or not sampling is complete.
+   */
+  private boolean done;
+
+  /**
+   * Creates a {@link BulkDataSampler} for the bulk data if it can be
+   * sampled.  This returns <tt>null</tt> if the records are not JSON-lines
+   * or CSV, the {@link Charset} is not ASCII-compatible, the bulk data is
+   * too small to warrant sampling (i.e.: less than {@link
+   * #MIN_SAMPLED_LENGTH} bytes) or the CSV header is too long.
+   *
+   * @param format The {@link RecordReader.Format} of the records.
+   * @param charset The {@link Charset} of the records.
+   * @param length The total number of bytes of bulk data.
+   * @param opener The {@link StreamOpener} for reading the bulk data.
+   *
+   * @return The {@link BulkDataSampler}, or <tt>null</tt> if the bulk data
+   *         cannot be sampled.
+   *
+   * @throws IOException If an I/O failure occurs reading the CSV header.
+   */
+  static BulkDataSampler create(RecordReader.Format format,
+                                Charset             charset,
+                                long                length,
+                                StreamOpener        opener)
+      throws IOException
+  {
+    if (format != RecordReader.Format.JSON_LINES
+        && format != RecordReader.Format.CSV)
+    {
+      return null;
+    }
+    if (!RecordReader.isAsciiCompatible(charset)) return null;
+    if (length < MIN_SAMPLED_LENGTH) return null;
+
+    // read the CSV header line which is prepended to every window
+    byte[] header = new byte[0];
+    if (format == RecordReader.Format.CSV) {
+      try (InputStream is = opener.open()) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        if (readLine(is, baos, MAX_RECORD_LENGTH) != '\n') return null;
+        header = baos.toByteArray();
+      }
+    }
+    return new BulkDataSampler(format, charset, length, opener, header);
+  }
+
+  /**
+   * Constructs with the specified parameters.
+   */
+  private BulkDataSampler(RecordReader.Format format,
+                          Charset             charset,
+                          long                length,
+                          StreamOpener        opener,
+                          byte[]              header)
+  {
+    this.format         = format;
+    this.charset        = charset;
+    this.length         = length;
+    this.opener         = opener;
+    this.header         = header;
+    this.baseOffset     = header.length;
+    this.windowCount    = (int) Math.min(
+        Integer.MAX_VALUE,
+        (length - this.baseOffset + WINDOW_SIZE - 1) / WINDOW_SIZE);
+    this.sequenceIndex  = 0L;
+    this.sampledWindows = new HashSet<>();
+    this.keys           = new ArrayList<>();
+    this.keyIndexes     = new HashMap<>();
+    this.windowTallies  = new ArrayList<>();
+    this.windowLengths  = new ArrayList<>();
+    this.windowIndexes  = new ArrayList<>();
+    this.windowOrder    = new int[0];
+    this.converged      = false;
+    this.done           = false;
+  }
+
+  /**
+   * Checks if sampling is complete, either because the estimates stabilized,
+   * every window has been sampled or the {@linkplain #MAX_WINDOW_COUNT
+   * maximum number of windows} has been sampled.
+   *
+   * @return <tt>true</tt> if sampling is complete, otherwise <tt>false</tt>.
+   */
+  boolean isDone() {
+    return this.done;
+  }
+
+  /**
+   * Samples the next round of windows, doubling the number of windows that
+   * have been sampled, and then checks whether the estimates have
+   * stabilized.
+   *
+   * @return <tt>true</tt> if more rounds should be sampled, otherwise
+   *         <tt>false</tt>.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  boolean sampleRound() throws IOException {
+    if (this.done) return false;
+
+    // select the windows for this round, sampling every window rather than
+    // leaving a few unsampled if more than half would be sampled
+    int sampledCount  = this.sampledWindows.size();
+    int targetCount   = Math.max(MIN_WINDOW_COUNT, sampledCount * 2);
+    if (targetCount > this.windowCount / 2) targetCount = this.windowCount;
+    targetCount = Math.min(MAX_WINDOW_COUNT, targetCount);
+    List<Integer> round = new ArrayList<>(targetCount - sampledCount);
+    while (this.sampledWindows.size() < targetCount) {
+      long reversed = Integer.reverse((int) this.sequenceIndex++) & 0xFFFFFFFFL;
+      int  window   = (int) ((reversed * this.windowCount) >>> 32);
+      if (this.sampledWindows.add(window)) round.add(window);
+    }
+    Collections.sort(round);
+
+    // read the windows in order with a single stream
+    try (InputStream is = this.opener.open()) {
+      long    position      = 0L;
+      byte[]  previous      = null;
+      long    previousStart = 0L;
+      for (Integer window : round) {
+        long windowStart  = this.baseOffset + ((long) window) * WINDOW_SIZE;
+        long windowEnd    = Math.min(this.length, windowStart + WINDOW_SIZE);
+        long readStart    = (window == 0) ? windowStart : windowStart - 1;
+
+        // reuse any bytes read past the start of this window for the last
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(
+            (int) (windowEnd - readStart) + 1024);
+        if (position > readStart) {
+          int from = (int) (readStart - previousStart);
+          baos.write(previous, from, previous.length - from);
+        } else {
+          skipFully(is, readStart - position);
+          position = readStart;
+        }
+        position += copy(is, baos, windowEnd - Math.max(readStart, position));
+
+        // find the first record beginning in the window
+        byte[]  data      = baos.toByteArray();
+        int     lead      = (int) (windowStart - readStart);
+        int     limit     = (int) (windowEnd - readStart);
+        int     lineStart = lead;
+        if (lead > 0) {
+          lineStart = -1;
+          for (int index = 0; index < limit && index < data.length; index++) {
+            if (data[index] == '\n') {
+              lineStart = index + 1;
+              break;
+            }
+          }
+          if (lineStart >= limit) lineStart = -1;
+        }
+
+        // extend the window to the end of the record that straddles it
+        int failures = 0;
+        if (lineStart >= 0 && data.length > 0
+            && data[data.length - 1] != '\n' && position < this.length)
+        {
+          int last = readLine(is, baos, MAX_RECORD_LENGTH);
+          data = baos.toByteArray();
+          position = readStart + data.length;
+          if (last != '\n' && last >= 0) failures++;
+        }
+
+        this.sampleWindow(window,
+                          data,
+                          Math.max(0, lineStart),
+                          (lineStart < 0) ? 0 : data.length,
+                          (int) (windowEnd - windowStart),
+                          failures);
+        previous      = data;
+        previousStart = readStart;
+      }
+    }
+
+    // order the sampled windows by position
+    Integer[] order = new Integer[this.windowIndexes.size()];
+    for (int index = 0; index < order.length; index++) order[index] = index;
+    Arrays.sort(order, Comparator.comparing(this.windowIndexes::get));
+    this.windowOrder = new int[order.length];
+    for (int index = 0; index < order.length; index++) {
+      this.windowOrder[index] = order[index];
+    }
+
+    // check if the estimates have stabilized
+    int count = this.sampledWindows.size();
+    if (count >= MIN_WINDOW_COUNT && this.isStable()) {
+      this.converged  = true;
+      this.done       = true;
+    }
+    if (count >= MAX_WINDOW_COUNT || count >= this.windowCount) {
+      this.done = true;
+    }
+    return !this.done;
+  }
+
+  /**
+   * Analyzes the records in the specified range of bytes of a window and
+   * records the tallies for the window.
+   *
+   * @param window The index of the window.
+   * @param data The bytes read for the window.
+   * @param start The offset of the first record beginning in the window.
+   * @param end The offset after the last record beginning in the window.
+   * @param windowLength The number of bytes in the window.
+   * @param failures The number of records already known to have failed.
+   */
+  private void sampleWindow(int    window,
+                            byte[] data,
+                            int    start,
+                            int    end,
+                            int    windowLength,
+                            int    failures)
+      throws IOException
+  {
+    int[] tallies = new int[this.keys.size()];
+
+    // count the lines to bound the number of failures
+    int lineCount = 1;
+    for (int index = start; index < end; index++) {
+      if (data[index] == '\n') lineCount++;
+    }
+
+    InputStream is = new SequenceInputStream(
+        new ByteArrayInputStream(this.header),
+        new ByteArrayInputStream(data, start, end - start));
+    try (RecordReader recordReader = new RecordReader(
+        this.format, is, this.charset, null, null, null, 1))
+    {
+      while (failures <= lineCount) {
+        JsonRecordText record;
+        try {
+          record = recordReader.readRecordText();
+        } catch (RuntimeException e) {
+          failures++;
+          continue;
+        }
+        if (record == null) break;
+
+        TallyKey key = new TallyKey(
+            normalize(record.getString("DATA_SOURCE")),
+            normalize(record.getString("ENTITY_TYPE")),
+            (record.getString("RECORD_ID") != null));
+        Integer keyIndex = this.keyIndexes.get(key);
+        if (keyIndex == null) {
+          keyIndex = this.keys.size();
+          this.keys.add(key);
+          this.keyIndexes.put(key, keyIndex);
+        }
+        if (keyIndex >= tallies.length) {
+          tallies = Arrays.copyOf(tallies, this.keys.size());
+        }
+        tallies[keyIndex]++;
+        this.sampledRecordCount++;
+      }
+    }
+
+    this.failedRecordCount += failures;
+    this.windowTallies.add(tallies);
+    this.windowLengths.add(windowLength);
+    this.windowIndexes.add(window);
+  }
+
+  /**
+   * Checks if the confidence intervals of every estimated count are within
+   * the {@linkplain #TOLERANCE tolerance}.
+   */
+  private boolean isStable() {
+    Estimate total = this.estimate(key -> true);
+    if (total.observed == 0L) return false;
+    double maxHalfWidth = TOLERANCE * total.value;
+
+    List<Predicate<TallyKey>> predicates = new ArrayList<>();
+    predicates.add(key -> true);
+    predicates.add(key -> key.withRecordId);
+    predicates.add(key -> key.dataSource != null);
+    predicates.add(key -> key.entityType != null);
+    for (String dataSource : this.getDataSources()) {
+      predicates.add(key -> Objects.equals(key.dataSource, dataSource));
+    }
+    for (String entityType : this.getEntityTypes()) {
+      predicates.add(key -> Objects.equals(key.entityType, entityType));
+    }
+    for (Predicate<TallyKey> predicate : predicates) {
+      if (this.estimate(predicate).halfWidth > maxHalfWidth) return false;
+    }
+    return true;
+  }
+
+  /**
+   * Populates the specified {@link SzBulkDataAnalysis} with the estimated
+   * counts and their confidence intervals.  The specified {@link
+   * SzBulkDataAnalysis} should not yet have tracked any records.
+   *
+   * @param analysis The {@link SzBulkDataAnalysis} to populate.
+   */
+  void populate(SzBulkDataAnalysis analysis) {
+    for (TallyKey key : this.keys) {
+      Estimate estimate = this.estimate(key::equals);
+      analysis.trackRecords((int) Math.min(Integer.MAX_VALUE,
+                                           Math.round(estimate.value)),
+                            key.dataSource,
+                            key.entityType,
+                            key.withRecordId);
+    }
+    analysis.setRecordCountInterval(
+        this.estimate(key -> true).toInterval());
+    analysis.setRecordsWithRecordIdCountInterval(
+        this.estimate(key -> key.withRecordId).toInterval());
+    analysis.setRecordsWithDataSourceCountInterval(
+        this.estimate(key -> key.dataSource != null).toInterval());
+    analysis.setRecordsWithEntityTypeCountInterval(
+        this.estimate(key -> key.entityType != null).toInterval());
+    for (String dataSource : this.getDataSources()) {
+      analysis.setDataSourceRecordCountInterval(
+          dataSource,
+          this.estimate(
+              key -> Objects.equals(key.dataSource, dataSource)).toInterval());
+    }
+    for (String entityType : this.getEntityTypes()) {
+      analysis.setEntityTypeRecordCountInterval(
+          entityType,
+          this.estimate(
+              key -> Objects.equals(key.entityType, entityType)).toInterval());
+    }
+
+    long sampledBytes = 0L;
+    for (Integer windowLength : this.windowLengths) {
+      sampledBytes += windowLength;
+    }
+    SzBulkDataSampling sampling = new SzBulkDataSampling();
+    sampling.setSampledWindowCount(this.sampledWindows.size());
+    sampling.setTotalWindowCount(this.windowCount);
+    sampling.setSampledByteCount(sampledBytes);
+    sampling.setTotalByteCount(this.length);
+    sampling.setSampledRecordCount(this.sampledRecordCount);
+    sampling.setFailedRecordCount(this.failedRecordCount);
+    sampling.setConverged(this.converged);
+    analysis.setSampling(sampling);
+  }
+
+  /**
+   * Gets the distinct data sources that have been discovered.
+   */
+  private Set<String> getDataSources() {
+    Set<String> dataSources = new LinkedHashSet<>();
+    for (TallyKey key : this.keys) dataSources.add(key.dataSource);
+    return dataSources;
+  }
+
+  /**
+   * Gets the distinct entity types that have been discovered.
+   */
+  private Set<String> getEntityTypes() {
+    Set<String> entityTypes = new LinkedHashSet<>();
+    for (TallyKey key : this.keys) entityTypes.add(key.entityType);
+    return entityTypes;
+  }
+
+  /**
+   * Estimates the total number of records having a {@link TallyKey} that
+   * matches the specified {@link Predicate} using the ratio estimator for a
+   * cluster sample of windows, with the variance estimated from the
+   * successive differences of the residuals of the windows in order of their
+   * position and the finite population correction.
+   *
+   * @param predicate The {@link Predicate} for the matching keys.
+   *
+   * @return The {@link Estimate}.
+   */
+  private Estimate estimate(Predicate<TallyKey> predicate) {
+    boolean[] matches = new boolean[this.keys.size()];
+    for (int index = 0; index < matches.length; index++) {
+      matches[index] = predicate.test(this.keys.get(index));
+    }
+
+    int     sampleCount   = this.windowTallies.size();
+    long[]  counts        = new long[sampleCount];
+    long    observed      = 0L;
+    long    sampledBytes  = 0L;
+    for (int window = 0; window < sampleCount; window++) {
+      int[] tallies = this.windowTallies.get(window);
+      for (int index = 0; index < tallies.length; index++) {
+        if (matches[index]) counts[window] += tallies[index];
+      }
+      observed      += counts[window];
+      sampledBytes  += this.windowLengths.get(window);
+    }
+    if (sampledBytes == 0L) return new Estimate(0.0, 0.0, 0L);
+
+    // the ratio of matching records to bytes
+    double ratio = ((double) observed) / sampledBytes;
+    double value = ratio * (this.length - this.baseOffset);
+    if (sampleCount < 2) return new Estimate(value, value, observed);
+
+    // the variance from the successive differences of the residuals
+    double sumSquares = 0.0;
+    double previous   = 0.0;
+    for (int index = 0; index < sampleCount; index++) {
+      int     window    = this.windowOrder[index];
+      double  residual  = counts[window]
+                        - ratio * this.windowLengths.get(window);
+      if (index > 0) {
+        sumSquares += (residual - previous) * (residual - previous);
+      }
+      previous = residual;
+    }
+    double variance = sumSquares / (2.0 * (sampleCount - 1));
+    double fpc = 1.0 - ((double) sampleCount) / this.windowCount;
+    double totalVariance = ((double) this.windowCount) * this.windowCount
+        * Math.max(0.0, fpc) * variance / sampleCount;
+
+    return new Estimate(value,
+                        CONFIDENCE_Z_SCORE * Math.sqrt(totalVariance),
+                        observed);
+  }
+
+  /**
+   * Normalizes a blank data source or entity type to <tt>null</tt>.
+   */
+  private static String normalize(String value) {
+    if (value != null && value.trim().length() == 0) return null;
+    return value;
+  }
+
+  /**
+   * Skips exactly the specified number of bytes of the specified {@link
+   * InputStream}.
+   */
+  private static void skipFully(InputStream is, long count) throws IOException
+  {
+    while (count > 0L) {
+      long skipped = is.skip(count);
+      if (skipped <= 0L) {
+        if (is.read() < 0) {
+          throw new EOFException("Unexpected end of the bulk data.");
+        }
+        skipped = 1L;
+      }
+      count -= skipped;
+    }
+  }
+
+  /**
+   * Copies up to the specified number of bytes from the specified {@link
+   * InputStream} and returns the number of bytes copied.
+   */
+  private static long copy(InputStream  is,
+                           OutputStream os,
+                           long         count)
+      throws IOException
+  {
+    byte[] buffer = new byte[BUFFER_SIZE];
+    long copied = 0L;
+    while (copied < count) {
+      int readCount = is.read(
+          buffer, 0, (int) Math.min(buffer.length, count - copied));
+      if (readCount < 0) break;
+      os.write(buffer, 0, readCount);
+      copied += readCount;
+    }
+    return copied;
+  }
+
+  /**
+   * Reads bytes from the specified {@link InputStream} up to and including
+   * the next line feed, stopping after the specified maximum number of bytes.
+   *
+   * @return The last byte read (i.e.: <tt>'\n'</tt> if a complete line was
+   *         read), or <tt>-1</tt> if the end of stream was reached.
+   */
+  private static int readLine(InputStream            is,
+                              ByteArrayOutputStream  baos,
+                              int                    maxLength)
+      throws IOException
+  {
+    for (int index = 0; index < maxLength; index++) {
+      int nextByte = is.read();
+      if (nextByte < 0) return -1;
+      baos.write(nextByte);
+      if (nextByte == '\n') return nextByte;
+    }
+    return 0;
+  }
+
+  /**
+   * An estimated count with the half-width of its confidence interval.
+   */
+  private static final class Estimate {
+    /**
+     * The estimated count.
+     */
+    private final double value;
+
+    /**
+     * The half-width of the confidence interval.
+     */
+    private final double halfWidth;
+
+    /**
+     * The number of matching records that were observed in the sample.
+     */
+    private final long observed;
+
+    /**
+     * Constructs with the estimated count, half-width and observed count.
+     */
+    private Estimate(double value, double halfWidth, long observed) {
+      this.value      = value;
+      this.halfWidth  = halfWidth;
+      this.observed   = observed;
+    }
+
+    /**
+     * Converts this instance to an {@link SzConfidenceInterval} with a lower
+     * bound no less than the observed count.
+     */
+    private SzConfidenceInterval toInterval() {
+      return new SzConfidenceInterval(
+          Math.max(this.observed, (long) Math.floor(this.value - this.halfWidth)),
+          (long) Math.ceil(this.value + this.halfWidth),
+          CONFIDENCE_LEVEL);
+    }
+  }
+}
@@ -8,12 +8,14 @@ import com.senzing.api.websocket.OnUpgrade;
 import com.senzing.api.websocket.StringDecoder;
 import com.senzing.g2.engine.G2Engine;
 import com.senzing.io.IOUtilities;
+import com.senzing.io.JsonRecordText;
+import com.senzing.io.ParallelGZIPInputStream;
 import com.senzing.io.RecordReader;
 import com.senzing.io.TemporaryDataCache;
 import com.senzing.util.AccessToken;
-import com.senzing.util.AsyncWorkerPool;
 import com.senzing.util.JsonUtils;
 import com.senzing.util.Timers;
+import com.senzing.util.ZipUtilities;
 import org.glassfish.jersey.media.multipart.FormDataContentDisposition;
 import org.glassfish.jersey.media.multipart.FormDataParam;
 
@@ -30,17 +32,22 @@ import javax.ws.rs.sse.OutboundSseEvent;
 import javax.ws.rs.sse.Sse;
 import javax.ws.rs.sse.SseEventSink;
 import java.io.*;
+import java.nio.charset.Charset;
 import java.security.MessageDigest;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipInputStream;
 
 import static com.senzing.api.model.SzHttpMethod.POST;
 import static com.senzing.api.model.SzHttpMethod.GET;
+import static com.senzing.api.model.SzHttpMethod.PUT;
 import static com.senzing.api.services.ServicesUtil.*;
 import static com.senzing.text.TextUtilities.*;
-import static com.senzing.util.AsyncWorkerPool.*;
 import static com.senzing.api.model.SzBulkDataStatus.*;
 import static javax.ws.rs.core.MediaType.*;
 import static com.senzing.util.LoggingUtilities.*;
@@ -53,10 +60,24 @@ import static com.senzing.io.IOUtilities.*;
 @Produces(APPLICATION_JSON)
 public class BulkDataServices {
   /**
-   * The size of the piped input stream buffer size (10MB).
+   * The maximum number of bytes received via Web Sockets that are buffered
+   * before being processed (10MB).  This is the buffer size for clients that
+   * do not use credits and the maximum credit window for those that do.
    */
   public static final int PIPE_SIZE = 1024 * 1024 * 10;
 
+  /**
+   * The buffer size for decompressing gzip-compressed data received via
+   * Web Sockets.
+   */
+  private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * The number of milliseconds between checks for EOF while the data received
+   * via Web Sockets is still being consumed.
+   */
+  private static final long BUSY_EOF_CHECK_PERIOD = 1000L;
+
   /**
    * The {@link MediaType} with text/plain and charset=utf8
    */
@@ -73,6 +94,21 @@ public class BulkDataServices {
    */
   private static final String APPLICATION_JSONLINES = "application/x-jsonlines";
 
+  /**
+   * The <tt>"application/gzip"</tt> media type string.
+   */
+  private static final String APPLICATION_GZIP = "application/gzip";
+
+  /**
+   * The <tt>"application/x-gzip"</tt> media type string.
+   */
+  private static final String APPLICATION_X_GZIP = "application/x-gzip";
+
+  /**
+   * The <tt>"application/zip"</tt> media type string.
+   */
+  private static final String APPLICATION_ZIP = "application/zip";
+
   /**
    * The <tt>"text/event-stream"</tt> media type string.
    */
@@ -117,6 +153,12 @@ public class BulkDataServices {
    */
   public static final String PROGRESS_EVENT = "progress";
 
+  /**
+   * SSE event type string for the progress events that describe the changes
+   * since the previous progress event.
+   */
+  public static final String PROGRESS_DELTA_EVENT = "progressDelta";
+
   /**
    * SSE event type string for failure events.
    */
@@ -127,6 +169,18 @@ public class BulkDataServices {
    */
   public static final String COMPLETED_EVENT = "completed";
 
+  /**
+   * The counter used to name the threads of each bulk data analysis.
+   */
+  private static final AtomicInteger ANALYSIS_COUNTER = new AtomicInteger(0);
+
+  /**
+   * The {@link Map} of scheduled IDs to the {@link LoadResultHandler}
+   * instances of the running bulk operations.
+   */
+  private static final Map<String, LoadResultHandler> PROGRESS_HANDLERS
+      = new ConcurrentHashMap<>();
+
   /**
    * A private instance of the {@link BulkDataServices} class.
    */
@@ -140,6 +194,7 @@ public class BulkDataServices {
   public SzBulkDataAnalysisResponse analyzeBulkRecordsViaForm(
       @HeaderParam("Content-Type") MediaType mediaType,
       @FormDataParam("data") InputStream dataInputStream,
+      @QueryParam("approximate") @DefaultValue("false") boolean approximate,
       @Context UriInfo uriInfo)
   {
     SzApiProvider provider    = SzApiProvider.Factory.getProvider();
@@ -157,6 +212,7 @@ public class BulkDataServices {
                                 mediaType,
                                 dataInputStream,
                                 uriInfo,
+                                approximate,
                                 null,
                                 null,
                                 null,
@@ -180,10 +236,14 @@ public class BulkDataServices {
   @Consumes({ APPLICATION_JSON,
               TEXT_PLAIN,
               TEXT_CSV,
-              APPLICATION_JSONLINES })
+              APPLICATION_JSONLINES,
+              APPLICATION_GZIP,
+              APPLICATION_X_GZIP,
+              APPLICATION_ZIP })
   public SzBulkDataAnalysisResponse analyzeBulkRecordsDirect(
       @HeaderParam("Content-Type") MediaType mediaType,
       InputStream dataInputStream,
+      @QueryParam("approximate") @DefaultValue("false") boolean approximate,
       @Context UriInfo uriInfo)
   {
     SzApiProvider provider    = SzApiProvider.Factory.getProvider();
@@ -200,6 +260,7 @@ public class BulkDataServices {
                                 mediaType,
                                 dataInputStream,
                                 uriInfo,
+                                approximate,
                                 null,
                                 null,
                                 null,
@@ -256,6 +317,9 @@ public class BulkDataServices {
    *
    * @param mediaType The media type for the content.
    * @param dataInputStream The input stream to read the uploaded data.
+   * @param approximate <tt>true</tt> if the analysis should be estimated from
+   *                    a sample of the records when possible, otherwise
+   *                    <tt>false</tt>.
    * @param uriInfo The {@link UriInfo} for the request.
    * @param progressPeriod The suggested maximum time between SSE `progress`
    *                       events specified in milliseconds.  If not specified
@@ -269,11 +333,15 @@ public class BulkDataServices {
   @Consumes({ APPLICATION_JSON,
               TEXT_PLAIN,
               TEXT_CSV,
-              APPLICATION_JSONLINES })
+              APPLICATION_JSONLINES,
+              APPLICATION_GZIP,
+              APPLICATION_X_GZIP,
+              APPLICATION_ZIP })
   @Produces(TEXT_EVENT_STREAM)
   public void analyzeBulkRecordsDirect(
       @HeaderParam("Content-Type") MediaType mediaType,
       InputStream dataInputStream,
+      @QueryParam("approximate") @DefaultValue("false") boolean approximate,
       @Context UriInfo uriInfo,
       @QueryParam("progressPeriod") @DefaultValue("3000") long progressPeriod,
       @Context SseEventSink sseEventSink,
@@ -294,6 +362,7 @@ public class BulkDataServices {
                            mediaType,
                            dataInputStream,
                            uriInfo,
+                           approximate,
                            progressPeriod,
                            sseEventSink,
                            sse,
@@ -327,6 +396,9 @@ public class BulkDataServices {
    *
    * @param mediaType The media type for the content.
    * @param dataInputStream The input stream to read the uploaded data.
+   * @param approximate <tt>true</tt> if the analysis should be estimated from
+   *                    a sample of the records when possible, otherwise
+   *                    <tt>false</tt>.
    * @param uriInfo The {@link UriInfo} for the request.
    * @param progressPeriod The suggested maximum time between SSE `progress`
    *                       events specified in milliseconds.  If not specified
@@ -341,6 +413,7 @@ public class BulkDataServices {
   public void analyzeBulkRecordsViaForm(
       @HeaderParam("Content-Type") MediaType mediaType,
       @FormDataParam("data") InputStream dataInputStream,
+      @QueryParam("approximate") @DefaultValue("false") boolean approximate,
       @Context UriInfo uriInfo,
       @QueryParam("progressPeriod") @DefaultValue("3000") long progressPeriod,
       @Context SseEventSink sseEventSink,
@@ -361,6 +434,7 @@ public class BulkDataServices {
                            mediaType,
                            dataInputStream,
                            uriInfo,
+                           approximate,
                            progressPeriod,
                            sseEventSink,
                            sse,
@@ -411,6 +485,15 @@ public class BulkDataServices {
    * @param loadId The optional load ID to use for loading the records.
    * @param maxFailures The maximum number of failures or a negative number if
    *                    no maximum.
+   * @param resumeFrom The optional number of leading records to skip when
+   *                   resuming an interrupted load.
+   * @param resumeHash The optional content hash of a checkpoint of an
+   *                   interrupted load with the same load ID from which to
+   *                   resume the load.
+   * @param withInfo Whether or not the info for each loaded record should
+   *                 be published to the configured info sink.  If not
+   *                 specified then the info is published only if an info
+   *                 sink is configured.
    * @param mediaType The media type for the content.
    * @param dataInputStream The input stream to read the uploaded data.
    * @param fileMetaData The form meta data for the uploaded file.
@@ -427,6 +510,9 @@ public class BulkDataServices {
       @QueryParam("mapEntityType") List<String> mapEntityTypeList,
       @QueryParam("loadId") String loadId,
       @DefaultValue("0") @QueryParam("maxFailures") int maxFailures,
+      @QueryParam("resumeFrom") Long resumeFrom,
+      @QueryParam("resumeHash") String resumeHash,
+      @QueryParam("withInfo") Boolean withInfo,
       @HeaderParam("Content-Type") MediaType mediaType,
       @FormDataParam("data") InputStream dataInputStream,
       @FormDataParam("data") FormDataContentDisposition fileMetaData,
@@ -441,24 +527,29 @@ public class BulkDataServices {
           "Too many prolonged operations running.  Try again later.");
     }
     try {
-      return loadBulkRecords(provider,
-                             timers,
-                             dataSource,
-                             mapDataSources,
-                             mapDataSourceList,
-                             entityType,
-                             mapEntityTypes,
-                             mapEntityTypeList,
-                             loadId,
-                             maxFailures,
-                             mediaType,
-                             dataInputStream,
-                             fileMetaData,
-                             uriInfo,
-                             null,
-                             null,
-                             null,
-                             null);
+      return processBulkRecords(provider,
+                                timers,
+                                BulkOperation.LOAD,
+                                dataSource,
+                                mapDataSources,
+                                mapDataSourceList,
+                                entityType,
+                                mapEntityTypes,
+                                mapEntityTypeList,
+                                loadId,
+                                maxFailures,
+                                resumeFrom,
+                                resumeHash,
+                                withInfo,
+                                mediaType,
+                                dataInputStream,
+                                fileMetaData,
+                                uriInfo,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null);
 
     } catch (ForbiddenException e) {
       throw e;
@@ -498,13 +589,25 @@ public class BulkDataServices {
    * @param loadId The optional load ID to use for loading the records.
    * @param maxFailures The maximum number of failures or a negative number if
    *                    no maximum.
+   * @param resumeFrom The optional number of leading records to skip when
+   *                   resuming an interrupted load.
+   * @param resumeHash The optional content hash of a checkpoint of an
+   *                   interrupted load with the same load ID from which to
+   *                   resume the load.
+   * @param withInfo Whether or not the info for each loaded record should
+   *                 be published to the configured info sink.  If not
+   *                 specified then the info is published only if an info
+   *                 sink is configured.
    */
   @POST
   @Path("/load")
   @Consumes({ MediaType.APPLICATION_JSON,
       MediaType.TEXT_PLAIN,
       "text/csv",
-      "application/x-jsonlines"})
+      "application/x-jsonlines",
+      "application/gzip",
+      "application/x-gzip",
+      "application/zip"})
   public SzBulkLoadResponse loadBulkRecordsDirect(
       @QueryParam("dataSource") String dataSource,
       @QueryParam("mapDataSources") String mapDataSources,
@@ -514,6 +617,9 @@ public class BulkDataServices {
       @QueryParam("mapEntityType") List<String> mapEntityTypeList,
       @QueryParam("loadId") String loadId,
       @DefaultValue("0") @QueryParam("maxFailures") int maxFailures,
+      @QueryParam("resumeFrom") Long resumeFrom,
+      @QueryParam("resumeHash") String resumeHash,
+      @QueryParam("withInfo") Boolean withInfo,
       @HeaderParam("Content-Type") MediaType mediaType,
       InputStream dataInputStream,
       @Context UriInfo uriInfo)
@@ -527,24 +633,29 @@ public class BulkDataServices {
           "Too many prolonged operations running.  Try again later.");
     }
     try {
-      return loadBulkRecords(provider,
-                             timers,
-                             dataSource,
-                             mapDataSources,
-                             mapDataSourceList,
-                             entityType,
-                             mapEntityTypes,
-                             mapEntityTypeList,
-                             loadId,
-                             maxFailures,
-                             mediaType,
-                             dataInputStream,
-                             null,
-                             uriInfo,
-                             null,
-                             null,
-                             null,
-                             null);
+      return processBulkRecords(provider,
+                                timers,
+                                BulkOperation.LOAD,
+                                dataSource,
+                                mapDataSources,
+                                mapDataSourceList,
+                                entityType,
+                                mapEntityTypes,
+                                mapEntityTypeList,
+                                loadId,
+                                maxFailures,
+                                resumeFrom,
+                                resumeHash,
+                                withInfo,
+                                mediaType,
+                                dataInputStream,
+                                null,
+                                uriInfo,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null);
 
     } catch (ForbiddenException e) {
       throw e;
@@ -584,10 +695,22 @@ public class BulkDataServices {
    * @param loadId The optional load ID to use for loading the records.
    * @param maxFailures The maximum number of failures or a negative number if
    *                    no maximum.
+   * @param resumeFrom The optional number of leading records to skip when
+   *                   resuming an interrupted load.
+   * @param resumeHash The optional content hash of a checkpoint of an
+   *                   interrupted load with the same load ID from which to
+   *                   resume the load.
+   * @param withInfo Whether or not the info for each loaded record should
+   *                 be published to the configured info sink.  If not
+   *                 specified then the info is published only if an info
+   *                 sink is configured.
    * @param progressPeriod The suggested maximum time between SSE `progress`
    *                       events specified in milliseconds.  If not specified
    *                       then the default of `3000` milliseconds (i.e.: 3
    *                       seconds) is used.
+   * @param progressMode The {@link SzProgressMode} for the progress events.
+   *                     If not specified then the default of {@link
+   *                     SzProgressMode#FULL} is used.
    * @param mediaType The media type for the content.
    * @param dataInputStream The input stream to read the uploaded data.
    * @param uriInfo The {@link UriInfo} for the request.
@@ -606,11 +729,15 @@ public class BulkDataServices {
       @QueryParam("mapEntityType") List<String> mapEntityTypeList,
       @QueryParam("loadId") String loadId,
       @DefaultValue("0") @QueryParam("maxFailures") int maxFailures,
+      @QueryParam("resumeFrom") Long resumeFrom,
+      @QueryParam("resumeHash") String resumeHash,
+      @QueryParam("withInfo") Boolean withInfo,
       @HeaderParam("Content-Type") MediaType mediaType,
       @FormDataParam("data") InputStream dataInputStream,
       @FormDataParam("data") FormDataContentDisposition fileMetaData,
       @Context UriInfo uriInfo,
       @QueryParam("progressPeriod") @DefaultValue("3000") long progressPeriod,
+      @QueryParam("progressMode") @DefaultValue("FULL") SzProgressMode progressMode,
       @Context SseEventSink sseEventSink,
       @Context Sse sse)
 
@@ -624,24 +751,29 @@ public class BulkDataServices {
           "Too many prolonged operations running.  Try again later.");
     }
     try {
-      loadBulkRecords(provider,
-                      timers,
-                      dataSource,
-                      mapDataSources,
-                      mapDataSourceList,
-                      entityType,
-                      mapEntityTypes,
-                      mapEntityTypeList,
-                      loadId,
-                      maxFailures,
-                      mediaType,
-                      dataInputStream,
-                      fileMetaData,
-                      uriInfo,
-                      progressPeriod,
-                      sseEventSink,
-                      sse,
-                      null);
+      processBulkRecords(provider,
+                         timers,
+                         BulkOperation.LOAD,
+                         dataSource,
+                         mapDataSources,
+                         mapDataSourceList,
+                         entityType,
+                         mapEntityTypes,
+                         mapEntityTypeList,
+                         loadId,
+                         maxFailures,
+                         resumeFrom,
+                         resumeHash,
+                         withInfo,
+                         mediaType,
+                         dataInputStream,
+                         fileMetaData,
+                         uriInfo,
+                         progressPeriod,
+                         progressMode,
+                         sseEventSink,
+                         sse,
+                         null);
 
     } catch (ForbiddenException e) {
       throw e;
@@ -681,10 +813,22 @@ public class BulkDataServices {
    * @param loadId The optional load ID to use for loading the records.
    * @param maxFailures The maximum number of failures or a negative number if
    *                    no maximum.
+   * @param resumeFrom The optional number of leading records to skip when
+   *                   resuming an interrupted load.
+   * @param resumeHash The optional content hash of a checkpoint of an
+   *                   interrupted load with the same load ID from which to
+   *                   resume the load.
+   * @param withInfo Whether or not the info for each loaded record should
+   *                 be published to the configured info sink.  If not
+   *                 specified then the info is published only if an info
+   *                 sink is configured.
    * @param progressPeriod The suggested maximum time between SSE `progress`
    *                       events specified in milliseconds.  If not specified
    *                       then the default of `3000` milliseconds (i.e.: 3
    *                       seconds) is used.
+   * @param progressMode The {@link SzProgressMode} for the progress events.
+   *                     If not specified then the default of {@link
+   *                     SzProgressMode#FULL} is used.
    * @param mediaType The media type for the content.
    * @param dataInputStream The input stream to read the uploaded data.
    * @param uriInfo The {@link UriInfo} for the request.
@@ -696,7 +840,10 @@ public class BulkDataServices {
   @Consumes({ APPLICATION_JSON,
               TEXT_PLAIN,
               TEXT_CSV,
-              APPLICATION_JSONLINES })
+              APPLICATION_JSONLINES,
+              APPLICATION_GZIP,
+              APPLICATION_X_GZIP,
+              APPLICATION_ZIP })
   @Produces(TEXT_EVENT_STREAM)
   public void loadBulkRecordsDirect(
       @QueryParam("dataSource") String dataSource,
@@ -707,10 +854,14 @@ public class BulkDataServices {
       @QueryParam("mapEntityType") List<String> mapEntityTypeList,
       @QueryParam("loadId") String loadId,
       @DefaultValue("0") @QueryParam("maxFailures") int maxFailures,
+      @QueryParam("resumeFrom") Long resumeFrom,
+      @QueryParam("resumeHash") String resumeHash,
+      @QueryParam("withInfo") Boolean withInfo,
       @HeaderParam("Content-Type") MediaType mediaType,
       InputStream dataInputStream,
       @Context UriInfo uriInfo,
       @QueryParam("progressPeriod") @DefaultValue("3000") long progressPeriod,
+      @QueryParam("progressMode") @DefaultValue("FULL") SzProgressMode progressMode,
       @Context SseEventSink sseEventSink,
       @Context Sse sse)
   {
@@ -723,24 +874,29 @@ public class BulkDataServices {
           "Too many prolonged operations running.  Try again later.");
     }
     try {
-      loadBulkRecords(provider,
-                      timers,
-                      dataSource,
-                      mapDataSources,
-                      mapDataSourceList,
-                      entityType,
-                      mapEntityTypes,
-                      mapEntityTypeList,
-                      loadId,
-                      maxFailures,
-                      mediaType,
-                      dataInputStream,
-                      null,
-                      uriInfo,
-                      progressPeriod,
-                      sseEventSink,
-                      sse,
-                      null);
+      processBulkRecords(provider,
+                         timers,
+                         BulkOperation.LOAD,
+                         dataSource,
+                         mapDataSources,
+                         mapDataSourceList,
+                         entityType,
+                         mapEntityTypes,
+                         mapEntityTypeList,
+                         loadId,
+                         maxFailures,
+                         resumeFrom,
+                         resumeHash,
+                         withInfo,
+                         mediaType,
+                         dataInputStream,
+                         null,
+                         uriInfo,
+                         progressPeriod,
+                         progressMode,
+                         sseEventSink,
+                         sse,
+                         null);
 
     } catch (ForbiddenException e) {
       throw e;
@@ -757,245 +913,1373 @@ public class BulkDataServices {
   }
 
   /**
-   * The EOF detector thread.
+   * Gets the last durable checkpoint of the journaled bulk load with the
+   * specified load ID.  The checkpoint offset and content hash can be used to
+   * resume the load if it was interrupted.
+   *
+   * @param loadId The load ID of the bulk load.
+   * @param uriInfo The {@link UriInfo} for the request.
+   *
+   * @return The {@link SzBulkLoadCheckpointResponse} describing the last
+   *         durable checkpoint.
    */
-  private static class EOFDetector extends Thread {
-    /**
-     * The {@link WebSocketThread} being monitored.
-     */
-    private WebSocketThread webSocketThread = null;
-
-    /**
-     * Checks if this instance is completed.
-     */
-    private boolean completed = false;
-
-    /**
-     * Constructs with the {@link WebSocketThread} to monitor.
-     */
-    private EOFDetector(WebSocketThread thread) {
-      this.webSocketThread = thread;
+  @GET
+  @Path("/load/{loadId}/checkpoint")
+  public SzBulkLoadCheckpointResponse getBulkLoadCheckpoint(
+      @PathParam("loadId") String loadId,
+      @Context UriInfo uriInfo)
+  {
+    SzApiProvider provider  = SzApiProvider.Factory.getProvider();
+    Timers        timers    = newTimers();
+
+    File journalDir = provider.getLoadJournalDirectory();
+    if (journalDir == null) {
+      throw newNotFoundException(
+          GET, uriInfo, timers,
+          "Bulk loads are not journaled since the server was not started "
+          + "with a load journal directory.");
     }
 
-    /**
-     * Implemented to close the stream when we have not received in the
-     * specified timeout for the web socket thread.
-     */
-    public void run() {
-      long nanoTimeout = this.webSocketThread.eofSendTimeout * 1000000000L;
-
-      synchronized (this.webSocketThread) {
-        long waitTime = this.webSocketThread.eofSendTimeout * 1000L;
-        while (!this.completed
-                && this.webSocketThread.pipedOutputStream != null)
-        {
-          // wait for a period
-          try {
-            this.webSocketThread.wait(waitTime);
-
-          } catch (InterruptedException ignore) {
-            // ignore
-          }
-
-          // check the time
-          long now = System.nanoTime();
-          long duration = (now - this.webSocketThread.lastMessageTime);
-          boolean timedOut = (duration > nanoTimeout);
-
-          if (this.completed || timedOut) {
-            // signal EOF
-            IOUtilities.close(this.webSocketThread.pipedOutputStream);
-            this.webSocketThread.pipedOutputStream = null;
-            this.webSocketThread.notifyAll();
-            break;
-          }
+    SzBulkLoadCheckpoint checkpoint;
+    try {
+      checkpoint = BulkLoadJournal.readLastCheckpoint(journalDir, loadId);
 
-          // now check how long to wait next time
-          waitTime = (this.webSocketThread.eofSendTimeout * 1000L);
-          waitTime -= (duration/1000000L);
-        }
-      }
+    } catch (IOException e) {
+      e.printStackTrace();
+      throw newInternalServerErrorException(GET, uriInfo, timers, e);
     }
 
-    /**
-     * Method to mark this instance as completed.
-     */
-    private void complete() {
-      synchronized (this.webSocketThread) {
-        this.completed = true;
-        this.webSocketThread.notifyAll();
-      }
+    if (checkpoint == null) {
+      throw newNotFoundException(
+          GET, uriInfo, timers,
+          "No journal was found for the specified load ID: " + loadId);
     }
+
+    return new SzBulkLoadCheckpointResponse(
+        GET, 200, uriInfo, timers, checkpoint);
   }
 
   /**
-   * An abstract base class for the Web Socket endpoints.
+   * Loads the bulk data records from files on the server rather than from
+   * uploaded content.  The path may be a file, a directory (whose regular
+   * files are loaded in name order) or a glob pattern (e.g.:
+   * <tt>/data/nightly/*.jsonl.gz</tt>).  Files are read via memory-mapped
+   * I/O and may be gzip-compressed (<tt>.gz</tt>) or ZIP archives
+   * (<tt>.zip</tt>) whose entries are each loaded.  This requires admin
+   * functions to be enabled.
+   *
+   * @param path The path or glob pattern identifying the files to load.
+   * @param dataSource The data source to assign to the loaded records unless
+   *                   the records specify a data source.
+   * @param loadId The optional load ID to use for loading the records.  If
+   *               multiple files are loaded then the name of each
+   *               file is appended to the load ID.
+   * @param maxFailures The maximum number of failures per file or a negative
+   *                    number if no maximum.
+   * @param withInfo Whether or not the info for each loaded record should
+   *                 be published to the configured info sink.  If not
+   *                 specified then the info is published only if an info
+   *                 sink is configured.
+   * @param uriInfo The {@link UriInfo} for the request.
+   *
+   * @return The {@link SzBulkFileLoadResponse} describing the results for
+   *         each file.
    */
-  public static abstract class WebSocketThread extends Thread {
-    /**
-     * The Web Socket {@link Session} for this instance.
-     */
-    protected Session session = null;
-
-    /**
-     * The {@link PipedInputStream} to attach to the {@link PipedOutputStream}.
-     */
-    protected PipedInputStream pipedInputStream = null;
+  @POST
+  @Path("/load-files")
+  public SzBulkFileLoadResponse loadBulkFiles(
+      @QueryParam("path") String path,
+      @QueryParam("dataSource") String dataSource,
+      @QueryParam("loadId") String loadId,
+      @DefaultValue("0") @QueryParam("maxFailures") int maxFailures,
+      @QueryParam("withInfo") Boolean withInfo,
+      @Context UriInfo uriInfo)
+  {
+    SzApiProvider provider  = SzApiProvider.Factory.getProvider();
+    Timers        timers    = newTimers();
 
-    /**
-     * The {@link PipedOutputStream} to attach to the {@link PipedInputStream}.
-     */
-    protected PipedOutputStream pipedOutputStream = null;
+    ensureAdminEnabled(provider, POST, uriInfo, timers);
+    ensureLoadingIsAllowed(provider, POST, uriInfo, timers);
 
-    /**
-     * Define the progress period for reporting progress on the web socket.
-     */
-    protected Long progressPeriod = DEFAULT_PROGRESS_PERIOD;
+    if (path == null || path.trim().length() == 0) {
+      throw newBadRequestException(
+          POST, uriInfo, timers, "The path (path) must be specified.");
+    }
 
-    /**
-     * The EOF send timeout.
-     */
-    protected Long eofSendTimeout = DEFAULT_EOF_SEND_TIMEOUT;
+    List<File> files;
+    try {
+      files = BulkFileLoader.resolveFiles(path.trim());
 
-    /**
-     * The time in milliseconds that the last message was received.
-     */
-    protected long lastMessageTime = -1L;
+    } catch (IOException e) {
+      throw newBadRequestException(POST, uriInfo, timers, e.getMessage());
+    }
+    if (files.size() == 0) {
+      throw newNotFoundException(
+          POST, uriInfo, timers,
+          "No files were found for the specified path: " + path);
+    }
 
-    /**
-     * The {@link UriInfo} for the request.
-     */
-    protected UriInfo uriInfo = null;
+    AccessToken accessToken = provider.authorizeProlongedOperation();
+    if (accessToken == null) {
+      throw newServiceUnavailableErrorException(
+          POST, uriInfo, timers,
+          "Too many prolonged operations running.  Try again later.");
+    }
+    try {
+      List<SzBulkFileLoadResult> results = BulkFileLoader.loadFiles(
+          provider, files, dataSource, loadId, maxFailures, withInfo, uriInfo);
 
-    /**
-     * The {@link EOFDetector} thread for monitoring for EOF.
-     */
-    protected EOFDetector eofDetector = null;
+      return new SzBulkFileLoadResponse(POST, 200, uriInfo, timers, results);
 
-    /**
-     * Flag indicating if we have started processing.
-     */
-    protected boolean started = false;
+    } catch (RuntimeException e) {
+      throw logOnceAndThrow(e);
 
-    /**
-     * Flag indicating if we have begun shutting down.
-     */
-    protected boolean closing = false;
+    } finally {
+      provider.concludeProlongedOperation(accessToken);
+    }
+  }
 
-    /**
-     * The {@link MediaType} to assume -- if text is sent rather than binary
-     * then {@link BulkDataServices#TEXT_PLAIN_UTF8_TYPE} will be used.
-     */
-    protected MediaType mediaType = TEXT_PLAIN_TYPE;
+  /**
+   * Describes the running bulk operations with their shares of the engine
+   * threads and their throughput.  This requires admin functions to be
+   * enabled.
+   *
+   * @param uriInfo The {@link UriInfo} for the request.
+   *
+   * @return The {@link SzScheduledBulkLoadsResponse} describing the running
+   *         bulk operations.
+   */
+  @GET
+  @Path("/loads")
+  public SzScheduledBulkLoadsResponse getScheduledBulkLoads(
+      @Context UriInfo uriInfo)
+  {
+    SzApiProvider provider  = SzApiProvider.Factory.getProvider();
+    Timers        timers    = newTimers();
 
-    @OnOpen
-    public synchronized void onOpen(Session session)
-        throws IOException, IllegalArgumentException
-    {
-      this.session            = session;
-      this.pipedInputStream   = new PipedInputStream(PIPE_SIZE);
-      this.pipedOutputStream  = new PipedOutputStream(this.pipedInputStream);
-      this.uriInfo            = newProxyUriInfo(this.session);
-      this.started            = false;
-      this.lastMessageTime    = System.nanoTime();
+    ensureAdminEnabled(provider, GET, uriInfo, timers);
 
-      Map<String, List<String>> params = this.session.getRequestParameterMap();
+    BulkLoadScheduler scheduler = BulkLoadScheduler.getInstance(provider);
+    return new SzScheduledBulkLoadsResponse(
+        GET, 200, uriInfo, timers, scheduler.getScheduledLoads());
+  }
 
-      // get the progress period
-      List<String> paramValues = params.get("progressPeriod");
-      if (paramValues != null && paramValues.size() > 0) {
-        try {
-          this.progressPeriod = Long.parseLong(paramValues.get(0));
-          if (this.progressPeriod < 0L) throw new IllegalArgumentException();
+  /**
+   * Changes the weight of a running bulk operation, which determines its
+   * share of the engine threads relative to the other running bulk
+   * operations.  This requires admin functions to be enabled.
+   *
+   * @param id The ID with which the bulk operation is scheduled.
+   * @param weight The new weight for the bulk operation.
+   * @param uriInfo The {@link UriInfo} for the request.
+   *
+   * @return The {@link SzScheduledBulkLoadsResponse} describing the running
+   *         bulk operations with their updated shares.
+   */
+  @PUT
+  @Path("/loads/{id}")
+  public SzScheduledBulkLoadsResponse updateScheduledBulkLoad(
+      @PathParam("id")      String  id,
+      @QueryParam("weight") Integer weight,
+      @Context              UriInfo uriInfo)
+  {
+    SzApiProvider provider  = SzApiProvider.Factory.getProvider();
+    Timers        timers    = newTimers();
 
-        } catch (IllegalArgumentException e) {
-          throw new BadRequestException(
-              "The specified progress period (progressPeriod) must be a "
-              + "non-negative long integer: " + paramValues.get(0));
-        }
-      }
+    ensureAdminEnabled(provider, PUT, uriInfo, timers);
 
-      // get the EOF send timeout
-      paramValues = params.get("eofSendTimeout");
-      if (paramValues != null && paramValues.size() > 0) {
-        try {
-          this.eofSendTimeout = Long.parseLong(paramValues.get(0));
-          if (this.eofSendTimeout < 0L) throw new IllegalArgumentException();
+    if (weight == null) {
+      throw newBadRequestException(
+          PUT, uriInfo, timers,
+          "The weight (weight) must be specified.");
+    }
 
-        } catch (IllegalArgumentException e) {
-          throw new BadRequestException(
-              "The specified EOF send timeout (eofSendTimeout) must be a "
-                  + "non-negative long integer: " + paramValues.get(0));
-        }
+    BulkLoadScheduler scheduler = BulkLoadScheduler.getInstance(provider);
+    try {
+      if (!scheduler.setWeight(id, weight)) {
+        throw newNotFoundException(
+            PUT, uriInfo, timers,
+            "No bulk operation is running with the specified ID: " + id);
       }
-
-      // create the EOF thread
-      this.eofDetector = new EOFDetector(this);
-      this.eofDetector.start();
+    } catch (IllegalArgumentException e) {
+      throw newBadRequestException(PUT, uriInfo, timers, e.getMessage());
     }
 
-    @OnMessage
-    public synchronized void onMessage(byte[] bytes) throws IOException
-    {
-      long now = System.nanoTime();
-      if (this.pipedOutputStream == null) {
-        // if session closed, ignore the message
-        if (!this.session.isOpen() || this.closing) return;
-
-        // if session is not closed then throw an exception
-        throw new IllegalStateException(
-            "Output stream is already closed: "
-                + ((now-this.lastMessageTime)/1000000L)
-                + "ms since last message");
-      }
+    return new SzScheduledBulkLoadsResponse(
+        PUT, 200, uriInfo, timers, scheduler.getScheduledLoads());
+  }
 
+  /**
+   * Requests that a running bulk operation sending {@linkplain
+   * SzProgressMode#DELTA delta} progress events send a full snapshot of its
+   * results with its next progress event.  This requires admin functions to
+   * be enabled.
+   *
+   * @param id The ID with which the bulk operation is scheduled.
+   * @param uriInfo The {@link UriInfo} for the request.
+   *
+   * @return The {@link SzBasicResponse} acknowledging the request.
+   */
+  @POST
+  @Path("/loads/{id}/snapshot")
+  public SzBasicResponse requestBulkLoadSnapshot(
+      @PathParam("id")  String  id,
+      @Context          UriInfo uriInfo)
+  {
+    SzApiProvider provider  = SzApiProvider.Factory.getProvider();
+    Timers        timers    = newTimers();
 
-      // check if started, and if not then start the thread
-      if (!this.started) {
-        this.started = true;
-        this.start();
-      }
+    ensureAdminEnabled(provider, POST, uriInfo, timers);
 
-      if (this.pipedOutputStream != null) {
-        this.pipedOutputStream.write(bytes);
-        this.pipedOutputStream.flush();
-      }
-      this.lastMessageTime = System.nanoTime();
-      this.notifyAll();
+    LoadResultHandler handler = PROGRESS_HANDLERS.get(id);
+    if (handler == null) {
+      throw newNotFoundException(
+          POST, uriInfo, timers,
+          "No bulk operation is running with the specified ID: " + id);
+    }
+    if (!handler.requestSnapshot()) {
+      throw newBadRequestException(
+          POST, uriInfo, timers,
+          "The bulk operation with the specified ID is not sending delta "
+          + "progress events: " + id);
+    }
+
+    return new SzBasicResponse(POST, 200, uriInfo, timers);
+  }
+
+  /**
+   * Deletes the bulk data records via form.
+   *
+   * @param dataSource The data source to assign to the records unless another
+   *                   data source mapping supercedes this default.
+   * @param mapDataSources The JSON string mapping specific data sources to
+   *                       alternate data source names.  A mapping from
+   *                       empty-string is used for mapping records with no
+   *                       data source specified.
+   * @param mapDataSourceList The {@link List} of delimited strings that begin
+   *                          the delimiter, followed by the "from" data source
+   *                          then the delimiter then the target data source.
+   * @param loadId The optional load ID to use for deleting the records.
+   * @param maxFailures The maximum number of failures or a negative number if
+   *                    no maximum.
+   * @param mediaType The media type for the content.
+   * @param dataInputStream The input stream to read the uploaded data.
+   * @param fileMetaData The form meta data for the uploaded file.
+   * @param uriInfo The {@link UriInfo} for the request.
+   *
+   * @return The {@link SzBulkLoadResponse} describing the results.
+   */
+  @POST
+  @Path("/delete")
+  public SzBulkLoadResponse deleteBulkRecordsViaForm(
+      @QueryParam("dataSource") String dataSource,
+      @QueryParam("mapDataSources") String mapDataSources,
+      @QueryParam("mapDataSource") List<String> mapDataSourceList,
+      @QueryParam("loadId") String loadId,
+      @DefaultValue("0") @QueryParam("maxFailures") int maxFailures,
+      @HeaderParam("Content-Type") MediaType mediaType,
+      @FormDataParam("data") InputStream dataInputStream,
+      @FormDataParam("data") FormDataContentDisposition fileMetaData,
+      @Context UriInfo uriInfo)
+  {
+    SzApiProvider provider    = SzApiProvider.Factory.getProvider();
+    Timers        timers      = newTimers();
+    AccessToken   accessToken = provider.authorizeProlongedOperation();
+    if (accessToken == null) {
+      throw newServiceUnavailableErrorException(
+          POST, uriInfo, timers,
+          "Too many prolonged operations running.  Try again later.");
+    }
+    try {
+      return processBulkRecords(provider,
+                                timers,
+                                BulkOperation.DELETE,
+                                dataSource,
+                                mapDataSources,
+                                mapDataSourceList,
+                                null,
+                                null,
+                                null,
+                                loadId,
+                                maxFailures,
+                                null,
+                                null,
+                                null,
+                                mediaType,
+                                dataInputStream,
+                                fileMetaData,
+                                uriInfo,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null);
+
+    } catch (ForbiddenException e) {
+      throw e;
+
+    } catch (RuntimeException e) {
+      throw logOnceAndThrow(e);
+
+    } catch (Exception e) {
+      throw logOnceAndThrow(new RuntimeException(e));
+
+    } finally {
+      provider.concludeProlongedOperation(accessToken);
+    }
+  }
+
+  /**
+   * Deletes the bulk data records via direct upload.
+   *
+   * @param dataSource The data source to assign to the records unless another
+   *                   data source mapping supercedes this default.
+   * @param mapDataSources The JSON string mapping specific data sources to
+   *                       alternate data source names.  A mapping from
+   *                       empty-string is used for mapping records with no
+   *                       data source specified.
+   * @param mapDataSourceList The {@link List} of delimited strings that begin
+   *                          the delimiter, followed by the "from" data source
+   *                          then the delimiter then the target data source.
+   * @param loadId The optional load ID to use for deleting the records.
+   * @param maxFailures The maximum number of failures or a negative number if
+   *                    no maximum.
+   * @param mediaType The media type for the content.
+   * @param dataInputStream The input stream to read the uploaded data.
+   * @param uriInfo The {@link UriInfo} for the request.
+   *
+   * @return The {@link SzBulkLoadResponse} describing the results.
+   */
+  @POST
+  @Path("/delete")
+  @Consumes({ APPLICATION_JSON,
+              TEXT_PLAIN,
+              TEXT_CSV,
+              APPLICATION_JSONLINES,
+              APPLICATION_GZIP,
+              APPLICATION_X_GZIP,
+              APPLICATION_ZIP })
+  public SzBulkLoadResponse deleteBulkRecordsDirect(
+      @QueryParam("dataSource") String dataSource,
+      @QueryParam("mapDataSources") String mapDataSources,
+      @QueryParam("mapDataSource") List<String> mapDataSourceList,
+      @QueryParam("loadId") String loadId,
+      @DefaultValue("0") @QueryParam("maxFailures") int maxFailures,
+      @HeaderParam("Content-Type") MediaType mediaType,
+      InputStream dataInputStream,
+      @Context UriInfo uriInfo)
+  {
+    SzApiProvider provider    = SzApiProvider.Factory.getProvider();
+    Timers        timers      = newTimers();
+    AccessToken   accessToken = provider.authorizeProlongedOperation();
+    if (accessToken == null) {
+      throw newServiceUnavailableErrorException(
+          POST, uriInfo, timers,
+          "Too many prolonged operations running.  Try again later.");
+    }
+    try {
+      return processBulkRecords(provider,
+                                timers,
+                                BulkOperation.DELETE,
+                                dataSource,
+                                mapDataSources,
+                                mapDataSourceList,
+                                null,
+                                null,
+                                null,
+                                loadId,
+                                maxFailures,
+                                null,
+                                null,
+                                null,
+                                mediaType,
+                                dataInputStream,
+                                null,
+                                uriInfo,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null);
+
+    } catch (ForbiddenException e) {
+      throw e;
+
+    } catch (RuntimeException e) {
+      throw logOnceAndThrow(e);
+
+    } catch (Exception e) {
+      throw logOnceAndThrow(new RuntimeException(e));
+
+    } finally {
+      provider.concludeProlongedOperation(accessToken);
+    }
+  }
+
+  /**
+   * Deletes the bulk data records via form using SSE.
+   *
+   * @param dataSource The data source to assign to the records unless another
+   *                   data source mapping supercedes this default.
+   * @param mapDataSources The JSON string mapping specific data sources to
+   *                       alternate data source names.  A mapping from
+   *                       empty-string is used for mapping records with no
+   *                       data source specified.
+   * @param mapDataSourceList The {@link List} of delimited strings that begin
+   *                          the delimiter, followed by the "from" data source
+   *                          then the delimiter then the target data source.
+   * @param loadId The optional load ID to use for deleting the records.
+   * @param maxFailures The maximum number of failures or a negative number if
+   *                    no maximum.
+   * @param mediaType The media type for the content.
+   * @param dataInputStream The input stream to read the uploaded data.
+   * @param fileMetaData The form meta data for the uploaded file.
+   * @param uriInfo The {@link UriInfo} for the request.
+   * @param progressPeriod The suggested maximum time between SSE `progress`
+   *                       events specified in milliseconds.  If not specified
+   *                       then the default of `3000` milliseconds (i.e.: 3
+   *                       seconds) is used.
+   * @param progressMode The {@link SzProgressMode} for the progress events.
+   *                     If not specified then the default of {@link
+   *                     SzProgressMode#FULL} is used.
+   * @param sseEventSink The {@link SseEventSink} for the SSE protocol.
+   * @param sse The {@link Sse} instance for the SSE protocol.
+   */
+  @POST
+  @Path("/delete")
+  @Produces(TEXT_EVENT_STREAM)
+  public void deleteBulkRecordsViaForm(
+      @QueryParam("dataSource") String dataSource,
+      @QueryParam("mapDataSources") String mapDataSources,
+      @QueryParam("mapDataSource") List<String> mapDataSourceList,
+      @QueryParam("loadId") String loadId,
+      @DefaultValue("0") @QueryParam("maxFailures") int maxFailures,
+      @HeaderParam("Content-Type") MediaType mediaType,
+      @FormDataParam("data") InputStream dataInputStream,
+      @FormDataParam("data") FormDataContentDisposition fileMetaData,
+      @Context UriInfo uriInfo,
+      @QueryParam("progressPeriod") @DefaultValue("3000") long progressPeriod,
+      @QueryParam("progressMode") @DefaultValue("FULL") SzProgressMode progressMode,
+      @Context SseEventSink sseEventSink,
+      @Context Sse sse)
+  {
+    SzApiProvider provider    = SzApiProvider.Factory.getProvider();
+    Timers        timers      = newTimers();
+    AccessToken   accessToken = provider.authorizeProlongedOperation();
+    if (accessToken == null) {
+      throw newServiceUnavailableErrorException(
+          POST, uriInfo, timers,
+          "Too many prolonged operations running.  Try again later.");
+    }
+    try {
+      processBulkRecords(provider,
+                         timers,
+                         BulkOperation.DELETE,
+                         dataSource,
+                         mapDataSources,
+                         mapDataSourceList,
+                         null,
+                         null,
+                         null,
+                         loadId,
+                         maxFailures,
+                         null,
+                         null,
+                         null,
+                         mediaType,
+                         dataInputStream,
+                         fileMetaData,
+                         uriInfo,
+                         progressPeriod,
+                         progressMode,
+                         sseEventSink,
+                         sse,
+                         null);
+
+    } catch (ForbiddenException e) {
+      throw e;
+
+    } catch (RuntimeException e) {
+      throw logOnceAndThrow(e);
+
+    } catch (Exception e) {
+      throw logOnceAndThrow(new RuntimeException(e));
+
+    } finally {
+      provider.concludeProlongedOperation(accessToken);
+    }
+  }
+
+  /**
+   * Deletes the bulk data records via direct upload using SSE.
+   *
+   * @param dataSource The data source to assign to the records unless another
+   *                   data source mapping supercedes this default.
+   * @param mapDataSources The JSON string mapping specific data sources to
+   *                       alternate data source names.  A mapping from
+   *                       empty-string is used for mapping records with no
+   *                       data source specified.
+   * @param mapDataSourceList The {@link List} of delimited strings that begin
+   *                          the delimiter, followed by the "from" data source
+   *                          then the delimiter then the target data source.
+   * @param loadId The optional load ID to use for deleting the records.
+   * @param maxFailures The maximum number of failures or a negative number if
+   *                    no maximum.
+   * @param mediaType The media type for the content.
+   * @param dataInputStream The input stream to read the uploaded data.
+   * @param uriInfo The {@link UriInfo} for the request.
+   * @param progressPeriod The suggested maximum time between SSE `progress`
+   *                       events specified in milliseconds.  If not specified
+   *                       then the default of `3000` milliseconds (i.e.: 3
+   *                       seconds) is used.
+   * @param progressMode The {@link SzProgressMode} for the progress events.
+   *                     If not specified then the default of {@link
+   *                     SzProgressMode#FULL} is used.
+   * @param sseEventSink The {@link SseEventSink} for the SSE protocol.
+   * @param sse The {@link Sse} instance for the SSE protocol.
+   */
+  @POST
+  @Path("/delete")
+  @Consumes({ APPLICATION_JSON,
+              TEXT_PLAIN,
+              TEXT_CSV,
+              APPLICATION_JSONLINES,
+              APPLICATION_GZIP,
+              APPLICATION_X_GZIP,
+              APPLICATION_ZIP })
+  @Produces(TEXT_EVENT_STREAM)
+  public void deleteBulkRecordsDirect(
+      @QueryParam("dataSource") String dataSource,
+      @QueryParam("mapDataSources") String mapDataSources,
+      @QueryParam("mapDataSource") List<String> mapDataSourceList,
+      @QueryParam("loadId") String loadId,
+      @DefaultValue("0") @QueryParam("maxFailures") int maxFailures,
+      @HeaderParam("Content-Type") MediaType mediaType,
+      InputStream dataInputStream,
+      @Context UriInfo uriInfo,
+      @QueryParam("progressPeriod") @DefaultValue("3000") long progressPeriod,
+      @QueryParam("progressMode") @DefaultValue("FULL") SzProgressMode progressMode,
+      @Context SseEventSink sseEventSink,
+      @Context Sse sse)
+  {
+    SzApiProvider provider    = SzApiProvider.Factory.getProvider();
+    Timers        timers      = newTimers();
+    AccessToken   accessToken = provider.authorizeProlongedOperation();
+    if (accessToken == null) {
+      throw newServiceUnavailableErrorException(
+          POST, uriInfo, timers,
+          "Too many prolonged operations running.  Try again later.");
+    }
+    try {
+      processBulkRecords(provider,
+                         timers,
+                         BulkOperation.DELETE,
+                         dataSource,
+                         mapDataSources,
+                         mapDataSourceList,
+                         null,
+                         null,
+                         null,
+                         loadId,
+                         maxFailures,
+                         null,
+                         null,
+                         null,
+                         mediaType,
+                         dataInputStream,
+                         null,
+                         uriInfo,
+                         progressPeriod,
+                         progressMode,
+                         sseEventSink,
+                         sse,
+                         null);
+
+    } catch (ForbiddenException e) {
+      throw e;
+
+    } catch (RuntimeException e) {
+      throw logOnceAndThrow(e);
+
+    } catch (Exception e) {
+      throw logOnceAndThrow(new RuntimeException(e));
+
+    } finally {
+      provider.concludeProlongedOperation(accessToken);
+    }
+  }
+
+  /**
+   * Reevaluates the bulk data records via form.
+   *
+   * @param dataSource The data source to assign to the records unless another
+   *                   data source mapping supercedes this default.
+   * @param mapDataSources The JSON string mapping specific data sources to
+   *                       alternate data source names.  A mapping from
+   *                       empty-string is used for mapping records with no
+   *                       data source specified.
+   * @param mapDataSourceList The {@link List} of delimited strings that begin
+   *                          the delimiter, followed by the "from" data source
+   *                          then the delimiter then the target data source.
+   * @param maxFailures The maximum number of failures or a negative number if
+   *                    no maximum.
+   * @param mediaType The media type for the content.
+   * @param dataInputStream The input stream to read the uploaded data.
+   * @param fileMetaData The form meta data for the uploaded file.
+   * @param uriInfo The {@link UriInfo} for the request.
+   *
+   * @return The {@link SzBulkLoadResponse} describing the results.
+   */
+  @POST
+  @Path("/reevaluate")
+  public SzBulkLoadResponse reevaluateBulkRecordsViaForm(
+      @QueryParam("dataSource") String dataSource,
+      @QueryParam("mapDataSources") String mapDataSources,
+      @QueryParam("mapDataSource") List<String> mapDataSourceList,
+      @DefaultValue("0") @QueryParam("maxFailures") int maxFailures,
+      @HeaderParam("Content-Type") MediaType mediaType,
+      @FormDataParam("data") InputStream dataInputStream,
+      @FormDataParam("data") FormDataContentDisposition fileMetaData,
+      @Context UriInfo uriInfo)
+  {
+    SzApiProvider provider    = SzApiProvider.Factory.getProvider();
+    Timers        timers      = newTimers();
+    AccessToken   accessToken = provider.authorizeProlongedOperation();
+    if (accessToken == null) {
+      throw newServiceUnavailableErrorException(
+          POST, uriInfo, timers,
+          "Too many prolonged operations running.  Try again later.");
+    }
+    try {
+      return processBulkRecords(provider,
+                                timers,
+                                BulkOperation.REEVALUATE,
+                                dataSource,
+                                mapDataSources,
+                                mapDataSourceList,
+                                null,
+                                null,
+                                null,
+                                null,
+                                maxFailures,
+                                null,
+                                null,
+                                null,
+                                mediaType,
+                                dataInputStream,
+                                fileMetaData,
+                                uriInfo,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null);
+
+    } catch (ForbiddenException e) {
+      throw e;
+
+    } catch (RuntimeException e) {
+      throw logOnceAndThrow(e);
+
+    } catch (Exception e) {
+      throw logOnceAndThrow(new RuntimeException(e));
+
+    } finally {
+      provider.concludeProlongedOperation(accessToken);
+    }
+  }
+
+  /**
+   * Reevaluates the bulk data records via direct upload.
+   *
+   * @param dataSource The data source to assign to the records unless another
+   *                   data source mapping supercedes this default.
+   * @param mapDataSources The JSON string mapping specific data sources to
+   *                       alternate data source names.  A mapping from
+   *                       empty-string is used for mapping records with no
+   *                       data source specified.
+   * @param mapDataSourceList The {@link List} of delimited strings that begin
+   *                          the delimiter, followed by the "from" data source
+   *                          then the delimiter then the target data source.
+   * @param maxFailures The maximum number of failures or a negative number if
+   *                    no maximum.
+   * @param mediaType The media type for the content.
+   * @param dataInputStream The input stream to read the uploaded data.
+   * @param uriInfo The {@link UriInfo} for the request.
+   *
+   * @return The {@link SzBulkLoadResponse} describing the results.
+   */
+  @POST
+  @Path("/reevaluate")
+  @Consumes({ APPLICATION_JSON,
+              TEXT_PLAIN,
+              TEXT_CSV,
+              APPLICATION_JSONLINES,
+              APPLICATION_GZIP,
+              APPLICATION_X_GZIP,
+              APPLICATION_ZIP })
+  public SzBulkLoadResponse reevaluateBulkRecordsDirect(
+      @QueryParam("dataSource") String dataSource,
+      @QueryParam("mapDataSources") String mapDataSources,
+      @QueryParam("mapDataSource") List<String> mapDataSourceList,
+      @DefaultValue("0") @QueryParam("maxFailures") int maxFailures,
+      @HeaderParam("Content-Type") MediaType mediaType,
+      InputStream dataInputStream,
+      @Context UriInfo uriInfo)
+  {
+    SzApiProvider provider    = SzApiProvider.Factory.getProvider();
+    Timers        timers      = newTimers();
+    AccessToken   accessToken = provider.authorizeProlongedOperation();
+    if (accessToken == null) {
+      throw newServiceUnavailableErrorException(
+          POST, uriInfo, timers,
+          "Too many prolonged operations running.  Try again later.");
+    }
+    try {
+      return processBulkRecords(provider,
+                                timers,
+                                BulkOperation.REEVALUATE,
+                                dataSource,
+                                mapDataSources,
+                                mapDataSourceList,
+                                null,
+                                null,
+                                null,
+                                null,
+                                maxFailures,
+                                null,
+                                null,
+                                null,
+                                mediaType,
+                                dataInputStream,
+                                null,
+                                uriInfo,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null);
+
+    } catch (ForbiddenException e) {
+      throw e;
+
+    } catch (RuntimeException e) {
+      throw logOnceAndThrow(e);
+
+    } catch (Exception e) {
+      throw logOnceAndThrow(new RuntimeException(e));
+
+    } finally {
+      provider.concludeProlongedOperation(accessToken);
+    }
+  }
+
+  /**
+   * Reevaluates the bulk data records via form using SSE.
+   *
+   * @param dataSource The data source to assign to the records unless another
+   *                   data source mapping supercedes this default.
+   * @param mapDataSources The JSON string mapping specific data sources to
+   *                       alternate data source names.  A mapping from
+   *                       empty-string is used for mapping records with no
+   *                       data source specified.
+   * @param mapDataSourceList The {@link List} of delimited strings that begin
+   *                          the delimiter, followed by the "from" data source
+   *                          then the delimiter then the target data source.
+   * @param maxFailures The maximum number of failures or a negative number if
+   *                    no maximum.
+   * @param mediaType The media type for the content.
+   * @param dataInputStream The input stream to read the uploaded data.
+   * @param fileMetaData The form meta data for the uploaded file.
+   * @param uriInfo The {@link UriInfo} for the request.
+   * @param progressPeriod The suggested maximum time between SSE `progress`
+   *                       events specified in milliseconds.  If not specified
+   *                       then the default of `3000` milliseconds (i.e.: 3
+   *                       seconds) is used.
+   * @param progressMode The {@link SzProgressMode} for the progress events.
+   *                     If not specified then the default of {@link
+   *                     SzProgressMode#FULL} is used.
+   * @param sseEventSink The {@link SseEventSink} for the SSE protocol.
+   * @param sse The {@link Sse} instance for the SSE protocol.
+   */
+  @POST
+  @Path("/reevaluate")
+  @Produces(TEXT_EVENT_STREAM)
+  public void reevaluateBulkRecordsViaForm(
+      @QueryParam("dataSource") String dataSource,
+      @QueryParam("mapDataSources") String mapDataSources,
+      @QueryParam("mapDataSource") List<String> mapDataSourceList,
+      @DefaultValue("0") @QueryParam("maxFailures") int maxFailures,
+      @HeaderParam("Content-Type") MediaType mediaType,
+      @FormDataParam("data") InputStream dataInputStream,
+      @FormDataParam("data") FormDataContentDisposition fileMetaData,
+      @Context UriInfo uriInfo,
+      @QueryParam("progressPeriod") @DefaultValue("3000") long progressPeriod,
+      @QueryParam("progressMode") @DefaultValue("FULL") SzProgressMode progressMode,
+      @Context SseEventSink sseEventSink,
+      @Context Sse sse)
+  {
+    SzApiProvider provider    = SzApiProvider.Factory.getProvider();
+    Timers        timers      = newTimers();
+    AccessToken   accessToken = provider.authorizeProlongedOperation();
+    if (accessToken == null) {
+      throw newServiceUnavailableErrorException(
+          POST, uriInfo, timers,
+          "Too many prolonged operations running.  Try again later.");
+    }
+    try {
+      processBulkRecords(provider,
+                         timers,
+                         BulkOperation.REEVALUATE,
+                         dataSource,
+                         mapDataSources,
+                         mapDataSourceList,
+                         null,
+                         null,
+                         null,
+                         null,
+                         maxFailures,
+                         null,
+                         null,
+                         null,
+                         mediaType,
+                         dataInputStream,
+                         fileMetaData,
+                         uriInfo,
+                         progressPeriod,
+                         progressMode,
+                         sseEventSink,
+                         sse,
+                         null);
+
+    } catch (ForbiddenException e) {
+      throw e;
+
+    } catch (RuntimeException e) {
+      throw logOnceAndThrow(e);
+
+    } catch (Exception e) {
+      throw logOnceAndThrow(new RuntimeException(e));
+
+    } finally {
+      provider.concludeProlongedOperation(accessToken);
+    }
+  }
+
+  /**
+   * Reevaluates the bulk data records via direct upload using SSE.
+   *
+   * @param dataSource The data source to assign to the records unless another
+   *                   data source mapping supercedes this default.
+   * @param mapDataSources The JSON string mapping specific data sources to
+   *                       alternate data source names.  A mapping from
+   *                       empty-string is used for mapping records with no
+   *                       data source specified.
+   * @param mapDataSourceList The {@link List} of delimited strings that begin
+   *                          the delimiter, followed by the "from" data source
+   *                          then the delimiter then the target data source.
+   * @param maxFailures The maximum number of failures or a negative number if
+   *                    no maximum.
+   * @param mediaType The media type for the content.
+   * @param dataInputStream The input stream to read the uploaded data.
+   * @param uriInfo The {@link UriInfo} for the request.
+   * @param progressPeriod The suggested maximum time between SSE `progress`
+   *                       events specified in milliseconds.  If not specified
+   *                       then the default of `3000` milliseconds (i.e.: 3
+   *                       seconds) is used.
+   * @param progressMode The {@link SzProgressMode} for the progress events.
+   *                     If not specified then the default of {@link
+   *                     SzProgressMode#FULL} is used.
+   * @param sseEventSink The {@link SseEventSink} for the SSE protocol.
+   * @param sse The {@link Sse} instance for the SSE protocol.
+   */
+  @POST
+  @Path("/reevaluate")
+  @Consumes({ APPLICATION_JSON,
+              TEXT_PLAIN,
+              TEXT_CSV,
+              APPLICATION_JSONLINES,
+              APPLICATION_GZIP,
+              APPLICATION_X_GZIP,
+              APPLICATION_ZIP })
+  @Produces(TEXT_EVENT_STREAM)
+  public void reevaluateBulkRecordsDirect(
+      @QueryParam("dataSource") String dataSource,
+      @QueryParam("mapDataSources") String mapDataSources,
+      @QueryParam("mapDataSource") List<String> mapDataSourceList,
+      @DefaultValue("0") @QueryParam("maxFailures") int maxFailures,
+      @HeaderParam("Content-Type") MediaType mediaType,
+      InputStream dataInputStream,
+      @Context UriInfo uriInfo,
+      @QueryParam("progressPeriod") @DefaultValue("3000") long progressPeriod,
+      @QueryParam("progressMode") @DefaultValue("FULL") SzProgressMode progressMode,
+      @Context SseEventSink sseEventSink,
+      @Context Sse sse)
+  {
+    SzApiProvider provider    = SzApiProvider.Factory.getProvider();
+    Timers        timers      = newTimers();
+    AccessToken   accessToken = provider.authorizeProlongedOperation();
+    if (accessToken == null) {
+      throw newServiceUnavailableErrorException(
+          POST, uriInfo, timers,
+          "Too many prolonged operations running.  Try again later.");
+    }
+    try {
+      processBulkRecords(provider,
+                         timers,
+                         BulkOperation.REEVALUATE,
+                         dataSource,
+                         mapDataSources,
+                         mapDataSourceList,
+                         null,
+                         null,
+                         null,
+                         null,
+                         maxFailures,
+                         null,
+                         null,
+                         null,
+                         mediaType,
+                         dataInputStream,
+                         null,
+                         uriInfo,
+                         progressPeriod,
+                         progressMode,
+                         sseEventSink,
+                         sse,
+                         null);
+
+    } catch (ForbiddenException e) {
+      throw e;
+
+    } catch (RuntimeException e) {
+      throw logOnceAndThrow(e);
+
+    } catch (Exception e) {
+      throw logOnceAndThrow(new RuntimeException(e));
+
+    } finally {
+      provider.concludeProlongedOperation(accessToken);
+    }
+  }
+
+  /**
+   * The operations that can be performed on each bulk data record via the
+   * {@link BulkRecordPipeline}.
+   */
+  private enum BulkOperation {
+    /**
+     * Adds each record to the repository.
+     */
+    LOAD("bulk-load", BulkRecordPipeline.RecordFields.RECORD),
+
+    /**
+     * Deletes each record from the repository by data source and record ID.
+     */
+    DELETE("bulk-delete", BulkRecordPipeline.RecordFields.RECORD_KEY),
+
+    /**
+     * Reevaluates each record by data source and record ID, or each entity by
+     * entity ID.
+     */
+    REEVALUATE("bulk-reevaluate",
+               BulkRecordPipeline.RecordFields.RECORD_KEY_OR_ENTITY_ID);
+
+    /**
+     * The name for the pipeline if there is no load ID.
+     */
+    private final String pipelineName;
+
+    /**
+     * The {@link BulkRecordPipeline.RecordFields} required of each record.
+     */
+    private final BulkRecordPipeline.RecordFields requiredFields;
+
+    /**
+     * Constructs with the specified parameters.
+     */
+    BulkOperation(String                          pipelineName,
+                  BulkRecordPipeline.RecordFields requiredFields)
+    {
+      this.pipelineName   = pipelineName;
+      this.requiredFields = requiredFields;
+    }
+  }
+
+  /**
+   * The EOF detector thread.
+   */
+  private static class EOFDetector extends Thread {
+    /**
+     * The {@link WebSocketThread} being monitored.
+     */
+    private WebSocketThread webSocketThread = null;
+
+    /**
+     * Checks if this instance is completed.
+     */
+    private boolean completed = false;
+
+    /**
+     * Constructs with the {@link WebSocketThread} to monitor.
+     */
+    private EOFDetector(WebSocketThread thread) {
+      this.webSocketThread = thread;
+    }
+
+    /**
+     * Implemented to close the stream when we have not received in the
+     * specified timeout for the web socket thread.
+     */
+    public void run() {
+      long nanoTimeout = this.webSocketThread.eofSendTimeout * 1000000000L;
+
+      synchronized (this.webSocketThread) {
+        WebSocketChunkStream chunkStream = this.webSocketThread.chunkStream;
+        long waitTime = this.webSocketThread.eofSendTimeout * 1000L;
+        while (!this.completed && !chunkStream.isFinished()) {
+          // wait for a period
+          try {
+            this.webSocketThread.wait(waitTime);
+
+          } catch (InterruptedException ignore) {
+            // ignore
+          }
+
+          // check the time
+          long now = System.nanoTime();
+          long duration = (now - this.webSocketThread.lastMessageTime);
+
+          // the client is not idle while its data is still being consumed
+          boolean busy = (this.webSocketThread.pendingOffers > 0
+                          || chunkStream.getBufferedBytes() > 0L);
+          boolean timedOut = (!busy && duration > nanoTimeout);
+
+          if (this.completed || timedOut) {
+            // signal EOF
+            chunkStream.finish();
+            this.webSocketThread.notifyAll();
+            break;
+          }
+
+          // now check how long to wait next time
+          waitTime = (this.webSocketThread.eofSendTimeout * 1000L);
+          waitTime -= (duration/1000000L);
+          if (busy) waitTime = Math.max(waitTime, BUSY_EOF_CHECK_PERIOD);
+        }
+      }
+    }
+
+    /**
+     * Method to mark this instance as completed.
+     */
+    private void complete() {
+      synchronized (this.webSocketThread) {
+        this.completed = true;
+        this.webSocketThread.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * An abstract base class for the Web Socket endpoints.
+   */
+  public static abstract class WebSocketThread extends Thread {
+    /**
+     * The Web Socket {@link Session} for this instance.
+     */
+    protected Session session = null;
+
+    /**
+     * The {@link WebSocketChunkStream} that receives the data sent by the
+     * client.
+     */
+    protected WebSocketChunkStream chunkStream = null;
+
+    /**
+     * The {@link InputStream} for reading the data sent by the client, which
+     * decompresses the {@linkplain #chunkStream chunk stream} if the data is
+     * compressed.  This is created when processing starts.
+     */
+    protected InputStream inputStream = null;
+
+    /**
+     * The credit window as the number of bytes the client may send before
+     * being granted more credit, or <tt>null</tt> if the client does not use
+     * credits.
+     */
+    protected Long creditWindow = null;
+
+    /**
+     * Flag indicating if the binary messages carry chunks of a gzip-compressed
+     * stream.
+     */
+    protected boolean gzipEncoded = false;
+
+    /**
+     * The number of messages currently being offered to the {@link
+     * #chunkStream}.
+     */
+    protected volatile int pendingOffers = 0;
+
+    /**
+     * Define the progress period for reporting progress on the web socket.
+     */
+    protected Long progressPeriod = DEFAULT_PROGRESS_PERIOD;
+
+    /**
+     * The {@link SzProgressMode} for the progress messages.
+     */
+    protected SzProgressMode progressMode = SzProgressMode.FULL;
+
+    /**
+     * The EOF send timeout.
+     */
+    protected Long eofSendTimeout = DEFAULT_EOF_SEND_TIMEOUT;
+
+    /**
+     * The time in milliseconds that the last message was received.
+     */
+    protected long lastMessageTime = -1L;
+
+    /**
+     * The {@link UriInfo} for the request.
+     */
+    protected UriInfo uriInfo = null;
+
+    /**
+     * The {@link EOFDetector} thread for monitoring for EOF.
+     */
+    protected EOFDetector eofDetector = null;
+
+    /**
+     * Flag indicating if we have started processing.
+     */
+    protected boolean started = false;
+
+    /**
+     * Flag indicating if we have begun shutting down.
+     */
+    protected boolean closing = false;
+
+    /**
+     * The {@link MediaType} to assume -- if text is sent rather than binary
+     * then {@link BulkDataServices#TEXT_PLAIN_UTF8_TYPE} will be used.
+     */
+    protected MediaType mediaType = TEXT_PLAIN_TYPE;
+
+    @OnOpen
+    public synchronized void onOpen(Session session)
+        throws IOException, IllegalArgumentException
+    {
+      this.session            = session;
+      this.uriInfo            = newProxyUriInfo(this.session);
+      this.started            = false;
+      this.lastMessageTime    = System.nanoTime();
+
+      Map<String, List<String>> params = this.session.getRequestParameterMap();
+
+      // get the progress period
+      List<String> paramValues = params.get("progressPeriod");
+      if (paramValues != null && paramValues.size() > 0) {
+        try {
+          this.progressPeriod = Long.parseLong(paramValues.get(0));
+          if (this.progressPeriod < 0L) throw new IllegalArgumentException();
+
+        } catch (IllegalArgumentException e) {
+          throw new BadRequestException(
+              "The specified progress period (progressPeriod) must be a "
+              + "non-negative long integer: " + paramValues.get(0));
+        }
+      }
+
+      // get the progress mode
+      paramValues = params.get("progressMode");
+      if (paramValues != null && paramValues.size() > 0) {
+        try {
+          this.progressMode = SzProgressMode.valueOf(
+              paramValues.get(0).trim().toUpperCase());
+
+        } catch (IllegalArgumentException e) {
+          throw new BadRequestException(
+              "The specified progress mode (progressMode) must be one of "
+              + Arrays.toString(SzProgressMode.values()) + ": "
+              + paramValues.get(0));
+        }
+      }
+
+      // get the EOF send timeout
+      paramValues = params.get("eofSendTimeout");
+      if (paramValues != null && paramValues.size() > 0) {
+        try {
+          this.eofSendTimeout = Long.parseLong(paramValues.get(0));
+          if (this.eofSendTimeout < 0L) throw new IllegalArgumentException();
+
+        } catch (IllegalArgumentException e) {
+          throw new BadRequestException(
+              "The specified EOF send timeout (eofSendTimeout) must be a "
+                  + "non-negative long integer: " + paramValues.get(0));
+        }
+      }
+
+      // get the credit window
+      paramValues = params.get("creditWindow");
+      if (paramValues != null && paramValues.size() > 0) {
+        try {
+          this.creditWindow = Long.parseLong(paramValues.get(0));
+          if (this.creditWindow <= 0L || this.creditWindow > PIPE_SIZE) {
+            throw new IllegalArgumentException();
+          }
+
+        } catch (IllegalArgumentException e) {
+          throw new BadRequestException(
+              "The specified credit window (creditWindow) must be a positive "
+              + "long integer no greater than " + PIPE_SIZE + ": "
+              + paramValues.get(0));
+        }
+      }
+
+      // get the content encoding
+      paramValues = params.get("contentEncoding");
+      if (paramValues != null && paramValues.size() > 0) {
+        String encoding = paramValues.get(0).trim().toLowerCase();
+        if (!encoding.equals("gzip") && !encoding.equals("identity")) {
+          throw new BadRequestException(
+              "The specified content encoding (contentEncoding) must be "
+              + "gzip or identity: " + paramValues.get(0));
+        }
+        this.gzipEncoded = encoding.equals("gzip");
+      }
+
+      // create the chunk stream
+      if (this.creditWindow == null) {
+        this.chunkStream = new WebSocketChunkStream(PIPE_SIZE, null);
+      } else {
+        this.chunkStream = new WebSocketChunkStream(this.creditWindow,
+                                                    this::grantCredit);
+      }
+
+      // create the EOF thread
+      this.eofDetector = new EOFDetector(this);
+      this.eofDetector.start();
+
+      // grant the initial credit window
+      if (this.creditWindow != null) {
+        this.sendCredit(this.creditWindow);
+      }
+    }
+
+    /**
+     * Grants the client the specified number of additional bytes of credit.
+     * This is called as the received data is consumed and restarts the EOF
+     * send timeout since the client may have been waiting for the credit.
+     *
+     * @param byteCount The number of bytes of credit to grant.
+     */
+    protected void grantCredit(long byteCount) {
+      synchronized (this) {
+        if (this.closing) return;
+        this.lastMessageTime = System.nanoTime();
+        this.notifyAll();
+      }
+      try {
+        this.sendCredit(byteCount);
+
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+    }
+
+    /**
+     * Sends a credit message granting the specified number of bytes to the
+     * client.  Credit messages are JSON text of the form
+     * <tt>{"creditBytes": [byte-count]}</tt>.
+     *
+     * @param byteCount The number of bytes of credit to grant.
+     *
+     * @throws IOException If a failure occurs in sending the message.
+     */
+    protected void sendCredit(long byteCount) throws IOException {
+      if (!this.session.isOpen()) return;
+      String message = JsonUtils.toJsonText(
+          Json.createObjectBuilder().add("creditBytes", byteCount));
+      synchronized (this.session) {
+        this.session.getBasicRemote().sendText(message);
+      }
     }
 
-    @OnMessage
-    public synchronized void onMessage(String text)  throws IOException
-    {
-      long now = System.nanoTime();
-      if (this.pipedOutputStream == null) {
-        if (!this.session.isOpen() || this.closing) return;
-        throw new IllegalStateException(
-            "Output stream is already closed: "
-                + ((now-this.lastMessageTime)/1000000L)
-                + "ms since last message");
+    /**
+     * Offers the specified chunk of data received from the client to the
+     * {@link #chunkStream}, starting processing with the first chunk.
+     *
+     * @param chunk The chunk of data that was received.
+     * @param text <tt>true</tt> if the chunk was received as text, otherwise
+     *             <tt>false</tt>.
+     *
+     * @throws IOException If interrupted while waiting to offer the chunk.
+     */
+    protected void offerChunk(byte[] chunk, boolean text) throws IOException
+    {
+      synchronized (this) {
+        long now = System.nanoTime();
+        if (this.chunkStream == null || this.chunkStream.isFinished()) {
+          // if session closed, ignore the message
+          if (!this.session.isOpen() || this.closing) return;
+
+          // if session is not closed then throw an exception
+          throw new IllegalStateException(
+              "Output stream is already closed: "
+                  + ((now-this.lastMessageTime)/1000000L)
+                  + "ms since last message");
+        }
+        if (text && this.gzipEncoded) {
+          throw new BadRequestException(
+              "Compressed data must be sent in binary messages.");
+        }
+
+        // check if started, and if not then start the thread
+        if (!this.started) {
+          // text is being sent so set the media type to use UTF-8 charset
+          if (text) this.mediaType = TEXT_PLAIN_UTF8_TYPE;
+          this.started = true;
+          this.start();
+        }
+        this.pendingOffers++;
+        this.lastMessageTime = now;
       }
 
-      // check if started, and if not then start the thread
-      if (!this.started) {
-        // text is being sent so set the media type to use UTF-8 charset
-        this.mediaType = TEXT_PLAIN_UTF8_TYPE;
-        this.started = true;
-        this.start();
-      }
+      // offer the chunk without holding the lock since this may block when
+      // the client does not use credits
+      try {
+        this.chunkStream.offer(chunk);
+
+      } catch (IllegalStateException e) {
+        throw new BadRequestException(e.getMessage());
 
-      if (this.pipedOutputStream != null) {
-        this.pipedOutputStream.write(text.getBytes(UTF_8));
-        this.pipedOutputStream.flush();
+      } finally {
+        synchronized (this) {
+          this.pendingOffers--;
+          this.lastMessageTime = System.nanoTime();
+          this.notifyAll();
+        }
       }
-      this.lastMessageTime = System.nanoTime();
-      this.notifyAll();
+    }
+
+    @OnMessage
+    public void onMessage(byte[] bytes) throws IOException
+    {
+      this.offerChunk(bytes, false);
+    }
+
+    @OnMessage
+    public void onMessage(String text)  throws IOException
+    {
+      this.offerChunk(text.getBytes(UTF_8), true);
     }
 
     @OnClose
     public synchronized void onClose(Session session) throws IOException {
-      IOUtilities.close(this.pipedOutputStream);
-      this.pipedOutputStream = null;
+      if (this.chunkStream != null) this.chunkStream.finish();
       this.notifyAll();
     }
 
@@ -1004,8 +2288,7 @@ public class BulkDataServices {
         throws IOException
     {
       throwable.printStackTrace();
-      IOUtilities.close(this.pipedOutputStream);
-      this.pipedOutputStream = null;
+      if (this.chunkStream != null) this.chunkStream.finish();
 
       CloseReason.CloseCode closeCode
           = (throwable instanceof BadRequestException)
@@ -1017,40 +2300,310 @@ public class BulkDataServices {
     }
 
     /**
-     * Implemented to start the EOF detector and then defer to the {@link
-     * #doRun()} method.
+     * Implemented to create the {@link #inputStream} and then defer to the
+     * {@link #doRun()} method.
      */
     public final void run() {
       // defer the run
       try {
+        // create the input stream, decompressing the chunks if needed
+        try {
+          this.inputStream = (this.gzipEncoded)
+              ? new GZIPInputStream(this.chunkStream, GZIP_BUFFER_SIZE)
+              : this.chunkStream;
+
+        } catch (IOException e) {
+          e.printStackTrace();
+          IOUtilities.close(this.chunkStream);
+          synchronized (this) {
+            this.closing = true;
+          }
+          try {
+            this.session.close(new CloseReason(
+                CloseReason.CloseCodes.PROTOCOL_ERROR,
+                "Invalid gzip-compressed data: " + e.getMessage()));
+
+          } catch (IOException e2) {
+            e2.printStackTrace();
+          }
+          return;
+        }
+
         this.doRun();
 
-      } finally {
-        // notify completion
-        this.eofDetector.complete();
+      } finally {
+        // notify completion
+        this.eofDetector.complete();
+        try {
+          this.eofDetector.join();
+
+        } catch (InterruptedException ignore) {
+          // ignore
+        }
+      }
+    }
+
+    /**
+     * Override this to handle running the web socket functionality.
+     */
+    protected abstract void doRun();
+  }
+
+  /**
+   * Provides a nested class to handle analyzing bulk data records via
+   * web sockets.
+   */
+  @ServerEndpoint(value="/bulk-data/analyze",
+                  decoders = StringDecoder.class,
+                  encoders = JsonEncoder.class)
+  public static class AnalyzeWebSocket extends WebSocketThread {
+    /**
+     * Whether or not the analysis should be estimated from a sample of the
+     * records when possible.
+     */
+    private boolean approximate = false;
+
+    @Override
+    public void onOpen(Session session)
+        throws IOException, IllegalArgumentException
+    {
+      super.onOpen(session);
+
+      // get the other query parameters
+      Map<String, List<String>> params = this.session.getRequestParameterMap();
+      List<String> paramList = params.get("approximate");
+      if (paramList != null && paramList.size() > 0) {
+        String value = paramList.get(0).trim().toLowerCase();
+        if (!value.equals("true") && !value.equals("false")) {
+          throw new BadRequestException(
+              "The specified approximate parameter (approximate) must be "
+              + "true or false: " + paramList.get(0));
+        }
+        this.approximate = Boolean.parseBoolean(value);
+      }
+    }
+
+    /**
+     * Implemented to load the records once the thread is started.
+     */
+    protected void doRun() {
+      SzApiProvider provider  = SzApiProvider.Factory.getProvider();
+      Timers        timers    = newTimers();
+      analyzeBulkRecords(provider,
+                         timers,
+                         this.mediaType,
+                         this.inputStream,
+                         this.uriInfo,
+                         this.approximate,
+                         this.progressPeriod,
+                         null,
+                         null,
+                         this.session);
+
+      // close the web sockets session
+      try {
+        synchronized (this) {
+          this.closing = true;
+          this.session.close();
+        }
+      } catch (IOException e) {
+        e.printStackTrace();
+        throw new RuntimeException(e);
+      }
+
+      synchronized (this) {
+        IOUtilities.close(this.inputStream);
+        IOUtilities.close(this.chunkStream);
+        this.inputStream = null;
+        this.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Provides a nested class to handle loading bulk data records via
+   * web sockets.
+   */
+  @ServerEndpoint(value="/bulk-data/load",
+                  decoders = StringDecoder.class,
+                  encoders = JsonEncoder.class)
+  public static class LoadWebSocket extends WebSocketThread {
+    /**
+     * The data source to assign to the records loaded unless there is another
+     * mapping that supercedes this one.
+     */
+    private String dataSource;
+
+    /**
+     * The JSON string mapping specific data sources to alternate data source
+     * names.  A mapping from empty-string is used for mapping records with no
+     * data source specified.
+     */
+    private String mapDataSources;
+
+    /**
+     * The {@link List} of delimited strings that begin the delimiter, followed
+     * by the "from" data source then the delimiter then the target data source.
+     */
+    private List<String> mapDataSourceList;
+
+    /**
+     * The entity type to assign to the loaded records unless another entity
+     * type mapping supercedes this default.
+     */
+    private String entityType;
+
+    /**
+     * The JSON string mapping specific entity types to alternate entity type
+     * names.  A mapping from empty-string is used for mapping records with no
+     * entity type specified.
+     */
+    private String mapEntityTypes;
+
+    /**
+     * The {@link List} of delimited strings that begin the delimiter, followed
+     * by the "from" entity type then the delimiter then the target entity type.
+     */
+    private List<String> mapEntityTypeList;
+
+    /**
+     * The optional load ID to use for loading the records.
+     */
+    private String loadId;
+
+    /**
+     * The maximum number of failures or a negative number if no maximum.
+     */
+    private int maxFailures;
+
+    /**
+     * The optional number of leading records to skip when resuming an
+     * interrupted load.
+     */
+    private Long resumeFrom;
+
+    /**
+     * The optional content hash of a checkpoint of an interrupted load from
+     * which to resume the load.
+     */
+    private String resumeHash;
+
+    /**
+     * Whether or not the info for each loaded record should be published to
+     * the configured info sink, or <tt>null</tt> for the default.
+     */
+    private Boolean withInfo;
+
+    /**
+     * Provides a pre-flight check to make sure the server is not in read-only
+     * mode before opening the web socket.
+     *
+     * @param request The {@link HttpServletRequest}.
+     * @param response The {@link HttpServletResponse}.
+     *
+     * @return <tt>true</tt> if not read-only and <tt>false</tt> if so.
+     */
+    @OnUpgrade
+    public static boolean onUpgrade(HttpServletRequest  request,
+                                    HttpServletResponse response)
+      throws IOException
+    {
+      // get the provider
+      SzApiProvider provider = SzApiProvider.Factory.getProvider();
+
+      // if not read only then simply return true
+      if (!provider.isReadOnly()) return true;
+
+      // create the timers and construct an error response
+      Timers timers = newTimers();
+      SzErrorResponse errorResponse = new SzErrorResponse(
+          GET,403, request.getRequestURI(), timers,
+          "Loading data is not allowed if Senzing API Server started "
+              + "in read-only mode");
+      errorResponse.concludeTimers();
+
+      response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+      response.setContentType("application/json; charset=utf-8");
+
+      String  jsonText  = toJsonString(errorResponse);
+      byte[]  jsonBytes = jsonText.getBytes(UTF_8);
+      int     length    = jsonBytes.length;
+
+      response.setContentLength(length);
+
+      OutputStream os = response.getOutputStream();
+      os.write(jsonBytes);
+      os.flush();
+
+      // return false
+      return false;
+    }
+
+    @Override
+    public void onOpen(Session session)
+        throws IOException, IllegalArgumentException
+    {
+      super.onOpen(session);
+
+      // get the other query parameters
+      Map<String, List<String>> params = this.session.getRequestParameterMap();
+      List<String> paramList = params.get("dataSource");
+
+      this.dataSource = (paramList == null || paramList.size() == 0) ? null
+          : paramList.get(0);
+
+      paramList = params.get("mapDataSources");
+      this.mapDataSources = (paramList == null || paramList.size() == 0) ? null
+          : paramList.get(0);
+
+      this.mapDataSourceList = params.get("mapDataSource");
+
+      paramList = params.get("entityType");
+      this.entityType = (paramList == null || paramList.size() == 0) ? null
+          : paramList.get(0);
+
+      paramList = params.get("mapEntityTypes");
+      this.mapEntityTypes = (paramList == null || paramList.size() == 0) ? null
+          : paramList.get(0);
+
+      this.mapEntityTypeList = params.get("mapEntityType");
+
+      paramList = params.get("loadId");
+      this.loadId = (paramList == null || paramList.size() == 0) ? null
+          : paramList.get(0);
+
+      paramList = params.get("maxFailures");
+      if (paramList != null && paramList.size() > 0) {
+        try {
+          this.maxFailures = Integer.parseInt(paramList.get(0));
+
+        } catch (IllegalArgumentException e) {
+          throw new BadRequestException(
+              "The specified maximum number of failures (maxFailures) must be "
+              + "an integer: " + paramList.get(0));
+        }
+      }
+
+      paramList = params.get("resumeFrom");
+      if (paramList != null && paramList.size() > 0) {
         try {
-          this.eofDetector.join();
+          this.resumeFrom = Long.parseLong(paramList.get(0));
 
-        } catch (InterruptedException ignore) {
-          // ignore
+        } catch (IllegalArgumentException e) {
+          throw new BadRequestException(
+              "The specified resume offset (resumeFrom) must be an integer: "
+              + paramList.get(0));
         }
       }
-    }
 
-    /**
-     * Override this to handle running the web socket functionality.
-     */
-    protected abstract void doRun();
-  }
+      paramList = params.get("resumeHash");
+      this.resumeHash = (paramList == null || paramList.size() == 0) ? null
+          : paramList.get(0);
 
-  /**
-   * Provides a nested class to handle analyzing bulk data records via
-   * web sockets.
-   */
-  @ServerEndpoint(value="/bulk-data/analyze",
-                  decoders = StringDecoder.class,
-                  encoders = JsonEncoder.class)
-  public static class AnalyzeWebSocket extends WebSocketThread {
+      paramList = params.get("withInfo");
+      this.withInfo = (paramList == null || paramList.size() == 0) ? null
+          : Boolean.valueOf(paramList.get(0).trim());
+    }
 
     /**
      * Implemented to load the records once the thread is started.
@@ -1058,12 +2611,27 @@ public class BulkDataServices {
     protected void doRun() {
       SzApiProvider provider  = SzApiProvider.Factory.getProvider();
       Timers        timers    = newTimers();
-      analyzeBulkRecords(provider,
+
+      processBulkRecords(provider,
                          timers,
+                         BulkOperation.LOAD,
+                         this.dataSource,
+                         this.mapDataSources,
+                         this.mapDataSourceList,
+                         this.entityType,
+                         this.mapEntityTypes,
+                         this.mapEntityTypeList,
+                         this.loadId,
+                         this.maxFailures,
+                         this.resumeFrom,
+                         this.resumeHash,
+                         this.withInfo,
                          this.mediaType,
-                         this.pipedInputStream,
+                         this.inputStream,
+                         null,
                          this.uriInfo,
                          this.progressPeriod,
+                         this.progressMode,
                          null,
                          null,
                          this.session);
@@ -1078,27 +2646,28 @@ public class BulkDataServices {
         e.printStackTrace();
         throw new RuntimeException(e);
       }
-
       synchronized (this) {
-        IOUtilities.close(this.pipedInputStream);
-        this.pipedInputStream = null;
-        IOUtilities.close(this.pipedOutputStream);
-        this.pipedOutputStream = null;
+        IOUtilities.close(this.inputStream);
+        IOUtilities.close(this.chunkStream);
+        this.inputStream = null;
         this.notifyAll();
       }
     }
   }
 
   /**
-   * Provides a nested class to handle loading bulk data records via
-   * web sockets.
+   * Provides an abstract base class for the web socket endpoints that delete
+   * or reevaluate bulk data records.
    */
-  @ServerEndpoint(value="/bulk-data/load",
-                  decoders = StringDecoder.class,
-                  encoders = JsonEncoder.class)
-  public static class LoadWebSocket extends WebSocketThread {
+  public static abstract class BulkOperationWebSocket extends WebSocketThread
+  {
     /**
-     * The data source to assign to the records loaded unless there is another
+     * The {@link BulkOperation} to perform on each record.
+     */
+    private BulkOperation operation;
+
+    /**
+     * The data source to assign to the records unless there is another
      * mapping that supercedes this one.
      */
     private String dataSource;
@@ -1117,26 +2686,7 @@ public class BulkDataServices {
     private List<String> mapDataSourceList;
 
     /**
-     * The entity type to assign to the loaded records unless another entity
-     * type mapping supercedes this default.
-     */
-    private String entityType;
-
-    /**
-     * The JSON string mapping specific entity types to alternate entity type
-     * names.  A mapping from empty-string is used for mapping records with no
-     * entity type specified.
-     */
-    private String mapEntityTypes;
-
-    /**
-     * The {@link List} of delimited strings that begin the delimiter, followed
-     * by the "from" entity type then the delimiter then the target entity type.
-     */
-    private List<String> mapEntityTypeList;
-
-    /**
-     * The optional load ID to use for loading the records.
+     * The optional load ID to use for the records.
      */
     private String loadId;
 
@@ -1145,6 +2695,13 @@ public class BulkDataServices {
      */
     private int maxFailures;
 
+    /**
+     * Constructs with the {@link BulkOperation} to perform.
+     */
+    private BulkOperationWebSocket(BulkOperation operation) {
+      this.operation = operation;
+    }
+
     /**
      * Provides a pre-flight check to make sure the server is not in read-only
      * mode before opening the web socket.
@@ -1159,35 +2716,7 @@ public class BulkDataServices {
                                     HttpServletResponse response)
       throws IOException
     {
-      // get the provider
-      SzApiProvider provider = SzApiProvider.Factory.getProvider();
-
-      // if not read only then simply return true
-      if (!provider.isReadOnly()) return true;
-
-      // create the timers and construct an error response
-      Timers timers = newTimers();
-      SzErrorResponse errorResponse = new SzErrorResponse(
-          GET,403, request.getRequestURI(), timers,
-          "Loading data is not allowed if Senzing API Server started "
-              + "in read-only mode");
-      errorResponse.concludeTimers();
-
-      response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-      response.setContentType("application/json; charset=utf-8");
-
-      String  jsonText  = toJsonString(errorResponse);
-      byte[]  jsonBytes = jsonText.getBytes(UTF_8);
-      int     length    = jsonBytes.length;
-
-      response.setContentLength(length);
-
-      OutputStream os = response.getOutputStream();
-      os.write(jsonBytes);
-      os.flush();
-
-      // return false
-      return false;
+      return LoadWebSocket.onUpgrade(request, response);
     }
 
     @Override
@@ -1209,19 +2738,12 @@ public class BulkDataServices {
 
       this.mapDataSourceList = params.get("mapDataSource");
 
-      paramList = params.get("entityType");
-      this.entityType = (paramList == null || paramList.size() == 0) ? null
-          : paramList.get(0);
-
-      paramList = params.get("mapEntityTypes");
-      this.mapEntityTypes = (paramList == null || paramList.size() == 0) ? null
-          : paramList.get(0);
-
-      this.mapEntityTypeList = params.get("mapEntityType");
-
-      paramList = params.get("loadId");
-      this.loadId = (paramList == null || paramList.size() == 0) ? null
-          : paramList.get(0);
+      // only deleted records are tracked by load ID
+      if (this.operation == BulkOperation.DELETE) {
+        paramList = params.get("loadId");
+        this.loadId = (paramList == null || paramList.size() == 0) ? null
+            : paramList.get(0);
+      }
 
       paramList = params.get("maxFailures");
       if (paramList != null && paramList.size() > 0) {
@@ -1237,30 +2759,35 @@ public class BulkDataServices {
     }
 
     /**
-     * Implemented to load the records once the thread is started.
+     * Implemented to process the records once the thread is started.
      */
     protected void doRun() {
       SzApiProvider provider  = SzApiProvider.Factory.getProvider();
       Timers        timers    = newTimers();
 
-      loadBulkRecords(provider,
-                      timers,
-                      this.dataSource,
-                      this.mapDataSources,
-                      this.mapDataSourceList,
-                      this.entityType,
-                      this.mapEntityTypes,
-                      this.mapEntityTypeList,
-                      this.loadId,
-                      this.maxFailures,
-                      this.mediaType,
-                      this.pipedInputStream,
-                      null,
-                      this.uriInfo,
-                      this.progressPeriod,
-                      null,
-                      null,
-                      this.session);
+      processBulkRecords(provider,
+                         timers,
+                         this.operation,
+                         this.dataSource,
+                         this.mapDataSources,
+                         this.mapDataSourceList,
+                         null,
+                         null,
+                         null,
+                         this.loadId,
+                         this.maxFailures,
+                         null,
+                         null,
+                         null,
+                         this.mediaType,
+                         this.inputStream,
+                         null,
+                         this.uriInfo,
+                         this.progressPeriod,
+                         this.progressMode,
+                         null,
+                         null,
+                         this.session);
 
       // close the web sockets session
       try {
@@ -1273,17 +2800,51 @@ public class BulkDataServices {
         throw new RuntimeException(e);
       }
       synchronized (this) {
-        IOUtilities.close(this.pipedInputStream);
-        IOUtilities.close(this.pipedOutputStream);
-        this.pipedInputStream = null;
-        this.pipedOutputStream = null;
+        IOUtilities.close(this.inputStream);
+        IOUtilities.close(this.chunkStream);
+        this.inputStream = null;
         this.notifyAll();
       }
     }
   }
 
   /**
-   * Analyzes the bulk data and returns information about it.
+   * Provides a nested class to handle deleting bulk data records via
+   * web sockets.
+   */
+  @ServerEndpoint(value="/bulk-data/delete",
+                  decoders = StringDecoder.class,
+                  encoders = JsonEncoder.class)
+  public static class DeleteWebSocket extends BulkOperationWebSocket {
+    /**
+     * Default constructor.
+     */
+    public DeleteWebSocket() {
+      super(BulkOperation.DELETE);
+    }
+  }
+
+  /**
+   * Provides a nested class to handle reevaluating bulk data records via
+   * web sockets.
+   */
+  @ServerEndpoint(value="/bulk-data/reevaluate",
+                  decoders = StringDecoder.class,
+                  encoders = JsonEncoder.class)
+  public static class ReevaluateWebSocket extends BulkOperationWebSocket {
+    /**
+     * Default constructor.
+     */
+    public ReevaluateWebSocket() {
+      super(BulkOperation.REEVALUATE);
+    }
+  }
+
+  /**
+   * Analyzes the bulk data and returns information about it.  If an
+   * approximate analysis is requested and the bulk data can be sampled then
+   * the analysis is estimated from a sample of the records, otherwise all
+   * records are analyzed.
    */
   private static SzBulkDataAnalysisResponse analyzeBulkRecords(
       SzApiProvider               provider,
@@ -1291,6 +2852,7 @@ public class BulkDataServices {
       MediaType                   mediaType,
       InputStream                 dataInputStream,
       UriInfo                     uriInfo,
+      boolean                     approximate,
       Long                        progressPeriod,
       SseEventSink                sseEventSink,
       Sse                         sse,
@@ -1314,77 +2876,127 @@ public class BulkDataServices {
                            sse,
                            webSocketSession);
 
+    BulkDataAnalyzer  analyzer  = null;
+    BulkDataSampler   sampler   = null;
     try {
-      BulkDataSet bulkDataSet = new BulkDataSet(mediaType, dataInputStream);
-      TemporaryDataCache dataCache = bulkDataSet.dataCache;
+      // an approximate analysis requires the bulk data to be cached
+      BulkDataSet bulkDataSet
+          = new BulkDataSet(mediaType, dataInputStream, approximate);
 
       // if charset is unknown then try to detect
       String charset = bulkDataSet.characterEncoding;
       dataAnalysis.setCharacterEncoding(charset);
 
+      // check if we can estimate the analysis from a sample
+      sampler = (approximate) ? bulkDataSet.createSampler() : null;
+
       long start = System.nanoTime();
-      // check if we need to auto-detect the media type
-      try (InputStream        is  = dataCache.getInputStream(true);
-           InputStreamReader  isr = new InputStreamReader(is, charset);
-           BufferedReader     br  = new BufferedReader(isr))
-      {
-        // if format is null then RecordReader will auto-detect
-        RecordReader recordReader = new RecordReader(bulkDataSet.format, br);
-        bulkDataSet.format = recordReader.getFormat();
-        if (bulkDataSet.format != null) {
-          dataAnalysis.setMediaType(bulkDataSet.format.getMediaType());
-        } else {
-          dataAnalysis.setMediaType(null);
+      if (sampler != null) {
+        dataAnalysis.setMediaType(bulkDataSet.format.getMediaType());
+        try {
+          while (sampler.sampleRound()) {
+            long now = System.nanoTime();
+            long duration = now - start;
+            // check if the progress period has expired
+            if ((progressNanos != null) && (duration > progressNanos)
+                && (eventBuilder != null || webSocketSession != null))
+            {
+              // reset the start time
+              start = now;
+
+              // build the response message from the current estimates
+              SzBulkDataAnalysis snapshot = new SzBulkDataAnalysis();
+              snapshot.setCharacterEncoding(charset);
+              snapshot.setMediaType(dataAnalysis.getMediaType());
+              sampler.populate(snapshot);
+
+              SzBulkDataAnalysisResponse response
+                  = new SzBulkDataAnalysisResponse(
+                      POST, 200, uriInfo, timers, snapshot);
+
+              eventId = sendProgress(eventBuilder,
+                                     sseEventSink,
+                                     eventId,
+                                     webSocketSession,
+                                     response);
+            }
+          }
+          sampler.populate(dataAnalysis);
+
+        } finally {
+          bulkDataSet.delete();
         }
 
-        for (JsonObject record = recordReader.readRecord();
-             (record != null);
-             record = recordReader.readRecord())
+      } else {
+        // create the analyzer to tally the records concurrently, counting
+        // the distinct record IDs if an approximate analysis was requested
+        analyzer = new BulkDataAnalyzer(
+            "bulk-analysis-" + ANALYSIS_COUNTER.incrementAndGet(),
+            BulkDataAnalyzer.DEFAULT_ANALYZER_THREADS,
+            approximate);
+
+        // check if we need to auto-detect the media type
+        try (InputStream  is            = bulkDataSet.getInputStream();
+             RecordReader recordReader  = new RecordReader(
+                 bulkDataSet.format,
+                 is,
+                 bulkDataSet.getCharset(),
+                 null,
+                 null,
+                 null,
+                 BulkRecordPipeline.DEFAULT_PARSE_THREADS))
         {
-          String dataSrc    = JsonUtils.getString(record, "DATA_SOURCE");
-          String entityType = JsonUtils.getString(record, "ENTITY_TYPE");
-          String recordId   = JsonUtils.getString(record, "RECORD_ID");
-          dataAnalysis.trackRecord(dataSrc, entityType, recordId);
+          // if format is null then RecordReader will auto-detect
+          bulkDataSet.format = recordReader.getFormat();
+          if (bulkDataSet.format != null) {
+            dataAnalysis.setMediaType(bulkDataSet.format.getMediaType());
+          } else {
+            dataAnalysis.setMediaType(null);
+          }
 
-          long now = System.nanoTime();
-          long duration = now - start;
-          // check if the progress period has expired
-          if ((progressNanos != null) && (duration > progressNanos)) {
-            // reset the start time
-            start = now;
-
-            // check if we are sending a response message
-            SzBulkDataAnalysisResponse response = null;
-            if (eventBuilder != null || webSocketSession != null) {
-              // build the response message
-              response = new SzBulkDataAnalysisResponse(
-                  POST, 200, uriInfo, timers, dataAnalysis);
-            }
+          for (JsonRecordText record = recordReader.readRecordText();
+               (record != null);
+               record = recordReader.readRecordText())
+          {
+            analyzer.submit(record);
 
-            // check if sending SSE events
-            if (eventBuilder != null) {
-              // send an SSE event message
-              OutboundSseEvent event =
-                  eventBuilder.name(PROGRESS_EVENT)
-                      .id(String.valueOf(eventId++))
-                      .mediaType(APPLICATION_JSON_TYPE)
-                      .data(response)
-                      .reconnectDelay(RECONNECT_DELAY)
-                      .build();
-              sseEventSink.send(event);
-            }
+            long now = System.nanoTime();
+            long duration = now - start;
+            // check if the progress period has expired
+            if ((progressNanos != null) && (duration > progressNanos)) {
+              // reset the start time
+              start = now;
 
-            // check if sending WebSocket messages
-            if (webSocketSession != null) {
-              // send a message no the web socket
-              webSocketSession.getBasicRemote().sendObject(response);
+              // check if we are sending a response message
+              if (eventBuilder != null || webSocketSession != null) {
+                // build the response message from a snapshot of the tallies
+                SzBulkDataAnalysisResponse response
+                    = new SzBulkDataAnalysisResponse(
+                        POST, 200, uriInfo, timers,
+                        analyzer.snapshot(dataAnalysis));
+
+                eventId = sendProgress(eventBuilder,
+                                       sseEventSink,
+                                       eventId,
+                                       webSocketSession,
+                                       response);
+              }
             }
           }
+
+          // wait for the analyzer threads to tally the remaining records
+          analyzer.finish();
         }
       }
 
     } catch (EncodeException|IOException e) {
       e.printStackTrace();
+      if (analyzer != null) {
+        analyzer.abort();
+        analyzer.mergeInto(dataAnalysis);
+      } else if (sampler != null) {
+        sampler.populate(dataAnalysis);
+      }
       dataAnalysis.setStatus(ABORTED);
 
       SzBulkDataAnalysisResponse response = new SzBulkDataAnalysisResponse(
@@ -1400,8 +3012,13 @@ public class BulkDataServices {
                      webSocketSession);
 
       return response;
+
+    } catch (RuntimeException e) {
+      if (analyzer != null) analyzer.abort();
+      throw e;
     }
 
+    if (analyzer != null) analyzer.mergeInto(dataAnalysis);
     dataAnalysis.setStatus(COMPLETED);
 
     SzBulkDataAnalysisResponse response = new SzBulkDataAnalysisResponse(
@@ -1438,11 +3055,70 @@ public class BulkDataServices {
   }
 
   /**
-   * Analyzes the bulk data and returns information about it.
+   * Loads the bulk data records read from a file on the server through the
+   * same pipeline as the records uploaded to the load endpoints.  This is
+   * used by the {@link BulkFileLoader}.
+   *
+   * @param provider The {@link SzApiProvider} to use.
+   * @param timers The {@link Timers} for the operation.
+   * @param dataSource The data source to assign to the loaded records unless
+   *                   the records specify a data source.
+   * @param loadId The optional load ID to use for loading the records.
+   * @param maxFailures The maximum number of failures or a negative number if
+   *                    no maximum.
+   * @param withInfo Whether or not the info for each loaded record should
+   *                 be published to the configured info sink, or
+   *                 <tt>null</tt> to publish only if an info sink is
+   *                 configured.
+   * @param mediaType The {@link MediaType} of the file content.
+   * @param inputStream The {@link InputStream} for reading the file content.
+   * @param uriInfo The {@link UriInfo} identifying the operation.
+   *
+   * @return The {@link SzBulkLoadResponse} describing the results.
+   */
+  static SzBulkLoadResponse loadBulkFileRecords(SzApiProvider  provider,
+                                                Timers         timers,
+                                                String         dataSource,
+                                                String         loadId,
+                                                int            maxFailures,
+                                                Boolean        withInfo,
+                                                MediaType      mediaType,
+                                                InputStream    inputStream,
+                                                UriInfo        uriInfo)
+  {
+    return processBulkRecords(provider,
+                              timers,
+                              BulkOperation.LOAD,
+                              dataSource,
+                              null,
+                              null,
+                              null,
+                              null,
+                              null,
+                              loadId,
+                              maxFailures,
+                              null,
+                              null,
+                              withInfo,
+                              mediaType,
+                              inputStream,
+                              null,
+                              uriInfo,
+                              null,
+                              null,
+                              null,
+                              null,
+                              null);
+  }
+
+  /**
+   * Performs the specified {@link BulkOperation} on each of the bulk data
+   * records and returns the aggregated results.
    */
-  private static SzBulkLoadResponse loadBulkRecords(
+  private static SzBulkLoadResponse processBulkRecords(
       SzApiProvider               provider,
       Timers                      timers,
+      BulkOperation               operation,
       String                      dataSource,
       String                      mapDataSources,
       List<String>                mapDataSourceList,
@@ -1451,19 +3127,19 @@ public class BulkDataServices {
       List<String>                mapEntityTypeList,
       String                      explicitLoadId,
       int                         maxFailures,
+      Long                        resumeFrom,
+      String                      resumeHash,
+      Boolean                     withInfo,
       MediaType                   mediaType,
       InputStream                 dataInputStream,
       FormDataContentDisposition  fileMetaData,
       UriInfo                     uriInfo,
       Long                        progressPeriod,
+      SzProgressMode              progressMode,
       SseEventSink                sseEventSink,
       Sse                         sse,
       Session                     webSocketSession)
   {
-    // convert the progress period to nanoseconds
-    Long progressNanos = (progressPeriod == null)
-        ? null : progressPeriod * 1000000L;
-
     OutboundSseEvent.Builder eventBuilder
         = (sseEventSink != null && sse != null) ? sse.newEventBuilder() : null;
     int eventId = 0;
@@ -1500,9 +3176,9 @@ public class BulkDataServices {
     Map<String, String> dataSourceMap = new HashMap<>();
     Map<String, String> entityTypeMap = new HashMap<>();
 
-    // by default we override missing entity types to GENERIC (though this may
-    // get overridden after processing the entity types)
-    entityTypeMap.put("", "GENERIC");
+    // by default we override missing entity types to GENERIC when loading
+    // (though this may get overridden after processing the entity types)
+    if (operation == BulkOperation.LOAD) entityTypeMap.put("", "GENERIC");
 
     processDataSources(
         dataSourceMap, mapDataSources, provider, timers, uriInfo);
@@ -1517,178 +3193,260 @@ public class BulkDataServices {
     if (dataSource != null) dataSourceMap.put(null, dataSource);
     if (entityType != null) entityTypeMap.put(null, entityType);
 
-    try {
-      BulkDataSet bulkDataSet = new BulkDataSet(mediaType, dataInputStream);
-
-      TemporaryDataCache dataCache = bulkDataSet.dataCache;
-
-      String charset = bulkDataSet.characterEncoding;
-
-      String loadId = (explicitLoadId == null)
-          ? formatLoadId(dataCache, fileMetaData) : explicitLoadId;
+    // only loads with an explicit load ID are journaled
+    File journalDir
+        = (operation != BulkOperation.LOAD || explicitLoadId == null) ? null
+        : provider.getLoadJournalDirectory();
 
-      int concurrency = provider.getConcurrency();
-      AsyncWorkerPool<EngineResult> asyncPool
-          = new AsyncWorkerPool<>(loadId, concurrency);
+    // validate the resume parameters
+    if (resumeFrom != null && resumeHash != null) {
+      throw newBadRequestException(
+          POST, uriInfo, timers,
+          "The \"resumeFrom\" and \"resumeHash\" parameters cannot both be "
+          + "specified.");
+    }
+    if (resumeFrom != null && resumeFrom < 0L) {
+      throw newBadRequestException(
+          POST, uriInfo, timers,
+          "The \"resumeFrom\" parameter cannot be negative: " + resumeFrom);
+    }
+    if (resumeHash != null && journalDir == null) {
+      throw newBadRequestException(
+          POST, uriInfo, timers,
+          "The \"resumeHash\" parameter requires an explicit \"loadId\" "
+          + "and that the server be started with a load journal directory.");
+    }
 
-      List<Timers> timerPool = new ArrayList<>(concurrency);
-      for (int index = 0; index < concurrency; index++) {
-        timerPool.add(new Timers());
+    // determine if the info should be obtained and published
+    if (Boolean.TRUE.equals(withInfo) && !provider.hasInfoSink()) {
+      throw newBadRequestException(
+          POST, uriInfo, timers,
+          "The \"withInfo\" parameter requires that the server be started "
+          + "with an info queue.");
+    }
+    boolean obtainInfo = (withInfo == null) ? provider.hasInfoSink()
+        : withInfo;
+
+    // determine the checkpoint from which the journal is continued
+    SzBulkLoadCheckpoint baseCheckpoint = null;
+    long resumeOffset = (resumeFrom == null) ? 0L : resumeFrom;
+    if (journalDir != null && (resumeFrom != null || resumeHash != null)) {
+      List<SzBulkLoadCheckpoint> checkpoints;
+      try {
+        checkpoints = BulkLoadJournal.readCheckpoints(journalDir,
+                                                      explicitLoadId);
+      } catch (IOException e) {
+        throw newInternalServerErrorException(POST, uriInfo, timers, e);
       }
 
-      long start = System.nanoTime();
-
-      // check if we need to auto-detect the media type
-      try (InputStream        is  = dataCache.getInputStream(true);
-           InputStreamReader  isr = new InputStreamReader(is, charset);
-           BufferedReader     br  = new BufferedReader(isr))
-      {
-        // if format is null then RecordReader will auto-detect
-        RecordReader recordReader = new RecordReader(bulkDataSet.format,
-                                                     br,
-                                                     dataSourceMap,
-                                                     entityTypeMap,
-                                                     loadId);
-        bulkDataSet.format = recordReader.getFormat();
-        bulkLoadResult.setCharacterEncoding(charset);
-        bulkLoadResult.setMediaType(bulkDataSet.format.getMediaType());
-
-        boolean           concurrent       = false;
-        boolean           done             = false;
-        List<JsonObject>  first1000Records = new LinkedList<>();
-
-        // loop through the records and handle each record
-        while (!done) {
-          JsonObject record = null;
-          if (concurrent && first1000Records.size() > 0) {
-            // get the first record from the buffer of up to 1000 records
-            record = first1000Records.remove(0);
-          } else {
-            record = recordReader.readRecord();
-          }
-
-          // check if the record is null
-          if (record == null) {
-            done = true;
-            continue;
-          }
-
-          // peel off the first 1000 records to see if we have less than 1000
-          if (!concurrent && first1000Records.size() <= 1000) {
-            // add the record to the first-1000 cache
-            first1000Records.add(record);
-
-            // check if we have more than 1000 records
-            if (first1000Records.size() > 1000) concurrent = true;
-
-            // continue for now
-            continue;
+      if (resumeHash != null) {
+        // find the latest checkpoint with the specified content hash
+        for (SzBulkLoadCheckpoint checkpoint : checkpoints) {
+          if (checkpoint.getContentHash().equalsIgnoreCase(resumeHash.trim())) {
+            baseCheckpoint = checkpoint;
           }
+        }
+        if (baseCheckpoint == null) {
+          throw newBadRequestException(
+              POST, uriInfo, timers,
+              "No checkpoint was found for the \"" + explicitLoadId
+              + "\" load ID with the specified \"resumeHash\": "
+              + resumeHash);
+        }
+        resumeOffset = baseCheckpoint.getOffset();
 
-          // check if we have a data source and entity type
-          String resolvedDS = JsonUtils.getString(record, "DATA_SOURCE");
-          String resolvedET = JsonUtils.getString(record, "ENTITY_TYPE");
-          if (resolvedDS == null || resolvedDS.trim().length() == 0
-              || resolvedET == null || resolvedET.trim().length() == 0)
+      } else if (checkpoints.size() > 0) {
+        SzBulkLoadCheckpoint last = checkpoints.get(checkpoints.size() - 1);
+        if (resumeOffset > last.getOffset()) {
+          throw newBadRequestException(
+              POST, uriInfo, timers,
+              "The specified \"resumeFrom\" offset (" + resumeOffset
+              + ") is beyond the last durable checkpoint ("
+              + last.getOffset() + ") for the \"" + explicitLoadId
+              + "\" load ID.");
+        }
+        // continue from the furthest checkpoint not beyond the offset
+        for (SzBulkLoadCheckpoint checkpoint : checkpoints) {
+          if (checkpoint.getOffset() <= resumeOffset
+              && (baseCheckpoint == null
+                  || checkpoint.getOffset() >= baseCheckpoint.getOffset()))
           {
-            bulkLoadResult.trackIncompleteRecord(resolvedDS, resolvedET);
-
-          } else {
-            Timers subTimers  = timerPool.remove(0);
-            AsyncResult<EngineResult> asyncResult = null;
-            try {
-              asyncResult = asyncProcessRecord(asyncPool,
-                                               provider,
-                                               subTimers,
-                                               record,
-                                               loadId);
-
-            } finally {
-              trackLoadResult(asyncResult, bulkLoadResult);
-              timerPool.add(subTimers);
-            }
+            baseCheckpoint = checkpoint;
           }
+        }
+      }
+    }
+    if (resumeFrom != null || resumeHash != null) {
+      bulkLoadResult.setResumedFromOffset(resumeOffset);
+    }
 
-          // count the number of failures
-          int failedCount = bulkLoadResult.getFailedRecordCount()
-              + bulkLoadResult.getIncompleteRecordCount();
+    // open the journal
+    BulkLoadJournal journal = null;
+    if (journalDir != null) {
+      try {
+        journal = BulkLoadJournal.open(
+            journalDir, explicitLoadId, baseCheckpoint);
 
-          if (maxFailures > 0 && failedCount >= maxFailures) {
-            bulkLoadResult.setStatus(ABORTED);
-            break;
-          }
+      } catch (IllegalStateException e) {
+        throw newBadRequestException(POST, uriInfo, timers, e.getMessage());
 
-          long now = System.nanoTime();
-          long duration = now - start;
+      } catch (IOException e) {
+        throw newInternalServerErrorException(POST, uriInfo, timers, e);
+      }
+      bulkLoadResult.setCheckpointOffset(journal.getCheckpoint().getOffset());
+    }
 
-          // check if the timing has gone beyond the specified progress period
-          if ((progressNanos != null) && (duration > progressNanos)) {
-            // create the update response if there is a client expecting it
-            SzBulkLoadResponse update = null;
-            if (eventBuilder != null || webSocketSession != null) {
-              start = now;
-              update = new SzBulkLoadResponse(
-                  POST, 200, uriInfo, timers, bulkLoadResult);
-            }
+    try {
+      BulkDataSet bulkDataSet = new BulkDataSet(mediaType, dataInputStream);
 
-            // check if sending an SSE response
-            if (eventBuilder != null) {
-              OutboundSseEvent event =
-                  eventBuilder.name(PROGRESS_EVENT)
-                      .id(String.valueOf(eventId++))
-                      .mediaType(APPLICATION_JSON_TYPE)
-                      .data(update)
-                      .reconnectDelay(RECONNECT_DELAY)
-                      .build();
-              sseEventSink.send(event);
-            }
+      String charset = bulkDataSet.characterEncoding;
+
+      // only loaded records are given a generated load ID
+      String loadId = (explicitLoadId == null && operation == BulkOperation.LOAD)
+          ? formatLoadId(bulkDataSet, fileMetaData) : explicitLoadId;
 
-            // check if sending a web socket response
-            if (webSocketSession != null) {
-              try {
-                // send the web socket message and handle exceptions
-                webSocketSession.getBasicRemote().sendObject(update);
+      // check if we need to auto-detect the media type
+      try (InputStream  is            = bulkDataSet.getInputStream();
+           RecordReader recordReader  = new RecordReader(
+               bulkDataSet.format,
+               is,
+               bulkDataSet.getCharset(),
+               dataSourceMap,
+               entityTypeMap,
+               (operation == BulkOperation.LOAD) ? loadId : null,
+               BulkRecordPipeline.DEFAULT_PARSE_THREADS))
+      {
+        // if format is null then RecordReader will auto-detect
+        bulkDataSet.format = recordReader.getFormat();
+        bulkLoadResult.setCharacterEncoding(charset);
+        bulkLoadResult.setMediaType(bulkDataSet.format.getMediaType());
 
-              } catch (RuntimeException e) {
-                e.printStackTrace();
-                throw e;
+        // create the handler to aggregate the results and send progress
+        String pipelineName = (loadId != null) ? loadId
+            : operation.pipelineName;
+        LoadResultHandler handler = new LoadResultHandler(operation,
+                                                          bulkLoadResult,
+                                                          uriInfo,
+                                                          timers,
+                                                          eventId,
+                                                          eventBuilder,
+                                                          sseEventSink,
+                                                          webSocketSession,
+                                                          journal,
+                                                          resumeOffset,
+                                                          progressMode,
+                                                          pipelineName);
+
+        // create the pipeline:
+        // parse (this thread) -> prepare -> engine -> aggregate
+        BulkRecordPipeline pipeline = new BulkRecordPipeline(
+            pipelineName,
+            provider,
+            BulkRecordPipeline.DEFAULT_PREPARE_THREADS,
+            recordReader::augmentRecordText,
+            (engineApi, record, info, subTimers) -> {
+              switch (operation) {
+                case DELETE:
+                  return deleteRecord(
+                      engineApi, record, loadId, info, subTimers);
+                case REEVALUATE:
+                  return reevaluateRecord(
+                      engineApi, record, info, subTimers);
+                default:
+                  return addRecord(engineApi,
+                                   record.dataSource,
+                                   record.recordId,
+                                   record.recordJson,
+                                   loadId,
+                                   info,
+                                   subTimers);
+              }
+            },
+            handler,
+            maxFailures,
+            progressPeriod,
+            operation.requiredFields,
+            (journal != null),
+            (operation == BulkOperation.LOAD),
+            (obtainInfo) ? (batch -> publishInfo(provider, batch)) : null);
+
+        // allow full snapshots to be requested while running
+        String scheduledId = pipeline.getScheduledId();
+        PROGRESS_HANDLERS.put(scheduledId, handler);
 
-              } catch (Exception e) {
-                e.printStackTrace();
-                throw new RuntimeException(e);
+        try {
+          // skip the leading records if resuming, verifying those before the
+          // base checkpoint against its content hash
+          long baseOffset = (baseCheckpoint == null) ? 0L
+              : baseCheckpoint.getOffset();
+          long baseHash = (baseCheckpoint == null) ? 0L
+              : BulkLoadJournal.parseHash(baseCheckpoint.getContentHash());
+          long skipHash = 0L;
+          long skipped  = 0L;
+
+          // parse the records and submit them to the pipeline
+          for (JsonRecordText record = recordReader.readRecordText();
+               (record != null);
+               record = recordReader.readRecordText())
+          {
+            if (skipped < resumeOffset) {
+              if (journal != null) {
+                long recordHash = BulkLoadJournal.hashRecord(record);
+                if (skipped < baseOffset) {
+                  skipHash = BulkLoadJournal.combineHash(skipHash, recordHash);
+                } else {
+                  journal.skip(recordHash);
+                }
+              }
+              skipped++;
+              if (journal != null && skipped == baseOffset
+                  && skipHash != baseHash)
+              {
+                throw newBadRequestException(
+                    POST, uriInfo, timers,
+                    "The leading " + baseOffset + " records do not match "
+                    + "those of the checkpoint being resumed for the \""
+                    + loadId + "\" load ID.");
               }
+              continue;
             }
+            if (!pipeline.submit(record)) break;
+          }
+          if (skipped < resumeOffset) {
+            throw newBadRequestException(
+                POST, uriInfo, timers,
+                "The bulk data contains fewer records (" + skipped
+                + ") than the offset from which to resume (" + resumeOffset
+                + ").");
           }
-        }
-
-        // check if we have less than 1000 records
-        if (first1000Records.size()>0 && bulkLoadResult.getStatus()!=ABORTED)
-        {
-          processRecords(provider,
-                         timers,
-                         first1000Records,
-                         loadId,
-                         bulkLoadResult,
-                         maxFailures);
-        }
-
-        // close out any in-flight loads from the asynchronous pool
-        List<AsyncResult<EngineResult>> results = asyncPool.close();
-        for (AsyncResult<EngineResult> asyncResult : results) {
-          trackLoadResult(asyncResult, bulkLoadResult);
-        }
 
-        // merge the timers
-        for (Timers subTimer: timerPool) {
-          timers.mergeWith(subTimer);
+        } catch (RuntimeException e) {
+          pipeline.abort();
+          throw e;
+
+        } finally {
+          // wait for the in-flight records and merge the timers
+          pipeline.finish(timers);
+          PROGRESS_HANDLERS.remove(scheduledId);
+          handler.closeProgress();
+          eventId = handler.eventId;
+          bulkLoadResult.setStageStatistics(pipeline.getStageStatistics());
         }
 
-        if (bulkLoadResult.getStatus() != ABORTED) {
+        if (pipeline.isAborted()) {
+          bulkLoadResult.setStatus(ABORTED);
+        } else {
           bulkLoadResult.setStatus(COMPLETED);
         }
 
+        // record the final checkpoint
+        if (journal != null) {
+          journal.close(bulkLoadResult.getStatus());
+          bulkLoadResult.setCheckpointOffset(
+              journal.getCheckpoint().getOffset());
+        }
       } finally {
-        dataCache.delete();
+        bulkDataSet.delete();
       }
 
     } catch (IOException e) {
@@ -1707,6 +3465,11 @@ public class BulkDataServices {
                      eventBuilder,
                      sseEventSink,
                      webSocketSession);
+
+    } finally {
+      // release the journal if the load failed before the final checkpoint,
+      // leaving it resumable from the last durable checkpoint
+      if (journal != null) IOUtilities.close(journal);
     }
 
     SzBulkLoadResponse response
@@ -1720,129 +3483,21 @@ public class BulkDataServices {
         eventBuilder, sseEventSink, eventId, webSocketSession, response);
   }
 
-  /**
-   * Asynchronously process a record using the specified {@link SzApiProvider}
-   * and {@link AsyncWorkerPool}.  The returned {@link AsyncResult} is from
-   * a previously executed task on the same thread or <tt>null</tt> if the
-   * worker thread employed has not previously executed a task.
-   */
-  private static AsyncResult<EngineResult> asyncProcessRecord(
-      AsyncWorkerPool<EngineResult> asyncPool,
-      SzApiProvider                 provider,
-      Timers                        timers,
-      JsonObject                    record,
-      String                        loadId)
-  {
-    String dataSource = JsonUtils.getString(record, "DATA_SOURCE");
-    String entityType = JsonUtils.getString(record, "ENTITY_TYPE");
-    String recordId   = JsonUtils.getString(record, "RECORD_ID");
-    String recordJSON = JsonUtils.toJsonText(record);
-
-    G2Engine engineApi = provider.getEngineApi();
-    return asyncPool.execute(() -> {
-      try {
-        // otherwise try to load the record
-        enteringQueue(timers);
-        return provider.executeInThread(() -> {
-          exitingQueue(timers);
-          int returnCode = addRecord(engineApi,
-                                     provider,
-                                     dataSource,
-                                     recordId,
-                                     recordJSON,
-                                     loadId,
-                                     timers);
-
-          return new EngineResult(
-              dataSource, entityType, timers, returnCode, engineApi);
-        });
-
-      } catch (Exception e) {
-        JsonObjectBuilder job = Json.createObjectBuilder();
-        job.add("dataSource", dataSource);
-        job.add("entityType", entityType);
-        String details = JsonUtils.toJsonText(job);
-        throw new Exception(details, e);
-      }
-    });
-  }
-
-  /**
-   * Asynchronously process a record using the specified {@link SzApiProvider}
-   * and {@link AsyncWorkerPool}.  The returned {@link AsyncResult} is from
-   * a previously executed task on the same thread or <tt>null</tt> if the
-   * worker thread employed has not previously executed a task.
-   */
-  private static void processRecords(
-      SzApiProvider     provider,
-      Timers            timers,
-      List<JsonObject>  records,
-      String            loadId,
-      SzBulkLoadResult  bulkLoadResult,
-      int               maxFailures)
-  {
-    G2Engine engineApi = provider.getEngineApi();
-    // otherwise try to load the record
-    enteringQueue(timers);
-    provider.executeInThread(() -> {
-      exitingQueue(timers);
-      for (JsonObject record : records) {
-
-        String dataSource = JsonUtils.getString(record, "DATA_SOURCE");
-        String entityType = JsonUtils.getString(record, "ENTITY_TYPE");
-        String recordId   = JsonUtils.getString(record, "RECORD_ID");
-        String recordJSON = JsonUtils.toJsonText(record);
-
-        // check if we have a data source and entity type
-        if (dataSource == null || dataSource.trim().length() == 0
-            || entityType == null || entityType.trim().length() == 0) {
-          bulkLoadResult.trackIncompleteRecord(dataSource, entityType);
-
-        } else {
-          int returnCode = addRecord(engineApi,
-                                     provider,
-                                     dataSource,
-                                     recordId,
-                                     recordJSON,
-                                     loadId,
-                                     timers);
-
-          EngineResult engineResult = new EngineResult(
-              dataSource, entityType, timers, returnCode, engineApi);
-
-          trackLoadResult(engineResult, bulkLoadResult);
-        }
-
-        // count the number of failures
-        int failedCount = bulkLoadResult.getFailedRecordCount()
-            + bulkLoadResult.getIncompleteRecordCount();
-
-        if (maxFailures > 0 && failedCount >= maxFailures) {
-          bulkLoadResult.setStatus(ABORTED);
-          break;
-        }
-      }
-
-      // return null
-      return null;
-    });
-  }
-
   /**
    * Adds the record either with or without a record ID and tracks the timing.
+   * If the specified {@link StringBuffer} is not <tt>null</tt> then the record
+   * is added with info and the info is placed in the buffer.
    */
   private static int addRecord(G2Engine      engineApi,
-                               SzApiProvider provider,
                                String        dataSource,
                                String        recordId,
                                String        recordJSON,
                                String        loadId,
+                               StringBuffer  info,
                                Timers        timers)
   {
     int returnCode;
-    boolean asyncInfo = provider.hasInfoSink();
-    if (asyncInfo) {
-      StringBuffer sb = new StringBuffer();
+    if (info != null) {
       callingNativeAPI(timers, "engine", "addRecordWithInfo");
       returnCode = engineApi.addRecordWithInfo(
           dataSource,
@@ -1850,29 +3505,9 @@ public class BulkDataServices {
           recordJSON,
           loadId,
           0,
-          sb);
+          info);
       calledNativeAPI(timers, "engine", "addRecordWithInfo");
 
-      // check the return code before trying to send out the info
-      if (returnCode == 0) {
-        String rawInfo = sb.toString();
-
-        // check if we have raw info to send
-        if (rawInfo != null && rawInfo.trim().length() > 0) {
-          SzMessageSink infoSink = provider.acquireInfoSink();
-          SzMessage message = new SzMessage(rawInfo);
-          try {
-            infoSink.send(message, ServicesUtil::logFailedAsyncInfo);
-
-          } catch (Exception e) {
-            logFailedAsyncInfo(e, message);
-
-          } finally {
-            provider.releaseInfoSink(infoSink);
-          }
-        }
-      }
-
     } else if (recordId != null) {
       callingNativeAPI(timers, "engine", "addRecord");
       returnCode = engineApi.addRecord(dataSource,
@@ -1894,72 +3529,119 @@ public class BulkDataServices {
   }
 
   /**
-   * Tracks the asynchronous record load result in the {@link SzBulkLoadResult}.
+   * Deletes the specified record either with or without info and tracks the
+   * timing.  If the specified {@link StringBuffer} is not <tt>null</tt> then
+   * the info is placed in the buffer.  Deleting a record that is not found is
+   * treated as successful so that the bulk delete is idempotent.
    */
-  private static void trackLoadResult(AsyncResult<EngineResult> asyncResult,
-                                      SzBulkLoadResult          bulkLoadResult)
+  private static int deleteRecord(G2Engine                            engineApi,
+                                  BulkRecordPipeline.PreparedRecord   record,
+                                  String                              loadId,
+                                  StringBuffer                        info,
+                                  Timers                              timers)
   {
-    // check the result
-    if (asyncResult != null) {
-      EngineResult engineResult = null;
-      try {
-        // get the value from the async result (may throw an exception)
-        engineResult = asyncResult.getValue();
-
-      } catch (Exception e) {
-        // an exception was thrown in trying to get the result
-        String      jsonText  = e.getMessage();
-        JsonObject  jsonObj   = JsonUtils.parseJsonObject(jsonText);
+    int returnCode;
+    if (info != null) {
+      callingNativeAPI(timers, "engine", "deleteRecordWithInfo");
+      returnCode = engineApi.deleteRecordWithInfo(
+          record.dataSource, record.recordId, loadId, 0, info);
+      calledNativeAPI(timers, "engine", "deleteRecordWithInfo");
 
-        String failDataSource = JsonUtils.getString(jsonObj, "dataSource");
-        String failEntityType = JsonUtils.getString(jsonObj, "entityType");
-        Throwable cause = e.getCause();
-        bulkLoadResult.trackFailedRecord(
-            failDataSource, failEntityType, new SzError(cause.getMessage()));
-      }
+    } else {
+      callingNativeAPI(timers, "engine", "deleteRecord");
+      returnCode = engineApi.deleteRecord(
+          record.dataSource, record.recordId, loadId);
+      calledNativeAPI(timers, "engine", "deleteRecord");
+    }
 
-      // track the result
-      if (engineResult != null) {
-        trackLoadResult(engineResult, bulkLoadResult);
+    if (returnCode != 0) {
+      if (engineApi.getLastExceptionCode() != RECORD_NOT_FOUND_CODE) {
+        return returnCode;
       }
+      engineApi.clearLastException();
+      if (info != null) info.setLength(0);
+      return 0;
     }
+    return returnCode;
   }
 
   /**
-   * Tracks the asynchronous record load result in the {@link SzBulkLoadResult}.
+   * Reevaluates the entity for the specified record by entity ID if it has
+   * one, otherwise by data source and record ID, either with or without info
+   * and tracks the timing.  If the specified {@link StringBuffer} is not
+   * <tt>null</tt> then the info is placed in the buffer.
    */
-  private static void trackLoadResult(EngineResult       engineResult,
-                                      SzBulkLoadResult   bulkLoadResult)
+  private static int reevaluateRecord(
+      G2Engine                            engineApi,
+      BulkRecordPipeline.PreparedRecord   record,
+      StringBuffer                        info,
+      Timers                              timers)
   {
-    // check if the add failed or succeeded
-    if (engineResult.isFailed()) {
-      // adding the record failed, record the failure
-      bulkLoadResult.trackFailedRecord(
-          engineResult.dataSource,
-          engineResult.entityType,
-          engineResult.errorCode,
-          engineResult.errorMsg);
+    int returnCode;
+    if (record.entityId != null) {
+      if (info != null) {
+        callingNativeAPI(timers, "engine", "reevaluateEntityWithInfo");
+        returnCode = engineApi.reevaluateEntityWithInfo(
+            record.entityId, 0, info);
+        calledNativeAPI(timers, "engine", "reevaluateEntityWithInfo");
+      } else {
+        callingNativeAPI(timers, "engine", "reevaluateEntity");
+        returnCode = engineApi.reevaluateEntity(record.entityId, 0);
+        calledNativeAPI(timers, "engine", "reevaluateEntity");
+      }
     } else {
-      // adding the record succeeded, record the loaded record
-      bulkLoadResult.trackLoadedRecord(engineResult.dataSource,
-                                       engineResult.entityType);
+      if (info != null) {
+        callingNativeAPI(timers, "engine", "reevaluateRecordWithInfo");
+        returnCode = engineApi.reevaluateRecordWithInfo(
+            record.dataSource, record.recordId, 0, info);
+        calledNativeAPI(timers, "engine", "reevaluateRecordWithInfo");
+      } else {
+        callingNativeAPI(timers, "engine", "reevaluateRecord");
+        returnCode = engineApi.reevaluateRecord(
+            record.dataSource, record.recordId, 0);
+        calledNativeAPI(timers, "engine", "reevaluateRecord");
+      }
+    }
+    return returnCode;
+  }
+
+  /**
+   * Publishes the specified batch of raw info messages to the asynchronous
+   * info sink, acquiring the sink once for the entire batch.
+   */
+  private static void publishInfo(SzApiProvider provider, List<String> batch) {
+    List<SzMessage> messages = new ArrayList<>(batch.size());
+    for (String rawInfo : batch) {
+      messages.add(new SzMessage(rawInfo));
+    }
+
+    SzMessageSink infoSink = provider.acquireInfoSink();
+    try {
+      infoSink.send(messages, ServicesUtil::logFailedAsyncInfo);
+
+    } catch (Exception e) {
+      for (SzMessage message : messages) {
+        logFailedAsyncInfo(e, message);
+      }
+
+    } finally {
+      provider.releaseInfoSink(infoSink);
     }
   }
 
   /**
-   * Formats load ID using the specified data cache
+   * Formats load ID using the specified bulk data set
    */
-  private static String formatLoadId(TemporaryDataCache         dataCache,
+  private static String formatLoadId(BulkDataSet                bulkDataSet,
                                      FormDataContentDisposition fileMetaData)
   {
     String fileKey = (fileMetaData != null) ? fileMetaData.getName() : null;
     if (fileKey == null) {
-      try (InputStream is = dataCache.getInputStream();)
-      {
-        byte[]        bytes     = new byte[1024];
-        MessageDigest md5       = MessageDigest.getInstance("MD5");
-        int           readCount = is.read(bytes);
-        md5.update(bytes, 0, readCount);
+      try {
+        byte[]        bytes = bulkDataSet.peekPrefix();
+        MessageDigest md5   = MessageDigest.getInstance("MD5");
+        if (bytes.length == 0) throw new IOException("No data");
+        md5.update(bytes, 0, bytes.length);
         byte[] hash = md5.digest();
         fileKey = Base64.getEncoder().encodeToString(hash);
 
@@ -1987,17 +3669,74 @@ public class BulkDataServices {
   }
 
   /**
-   * Encapsulates a bulk data set.
+   * Encapsulates a bulk data set.  If the format and character encoding are
+   * both explicitly specified by the media type then the records are streamed
+   * directly from the request through a bounded buffer.  Otherwise the data is
+   * spilled to a {@link TemporaryDataCache} so that it can be read once to
+   * auto-detect the character encoding and again to read the records.
+   * <p>
+   * Gzip-compressed data (whether sent with <tt>Content-Encoding: gzip</tt>
+   * or as <tt>application/gzip</tt>) and ZIP archives are detected from
+   * their leading bytes and decompressed as they are streamed, so the
+   * offsets and hashes used to resume a load apply to the decompressed data.
+   * The file entries of a ZIP archive are read one after another as a single
+   * data set (see {@link ZipUtilities#openEntries(ZipInputStream,
+   * boolean)}).  If the media type is <tt>application/gzip</tt> or
+   * <tt>application/zip</tt> then the format and character encoding of the
+   * decompressed data are auto-detected.
    */
-  private static class BulkDataSet {
+  static class BulkDataSet {
+    /**
+     * The size of the buffer to use when streaming directly from the request.
+     */
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The number of leading bytes used to compute the default load ID.
+     */
+    static final int LOAD_ID_PREFIX_SIZE = 1024;
+
+    /**
+     * The leading bytes of gzip-compressed data.
+     */
+    private static final byte[] GZIP_MAGIC = { 0x1f, (byte) 0x8b };
+
+    /**
+     * The leading bytes of a ZIP archive.
+     */
+    private static final byte[] ZIP_MAGIC = { 'P', 'K', 3, 4 };
+
     private String characterEncoding;
     private String mediaType = null;
     private RecordReader.Format format;
     private TemporaryDataCache dataCache;
+    private BufferedInputStream directStream;
 
     public BulkDataSet(MediaType mediaType, InputStream inputStream)
         throws IOException
     {
+      this(mediaType, inputStream, false);
+    }
+
+    /**
+     * Constructs with the media type and the {@link InputStream} for the
+     * bulk data, optionally requiring that the bulk data be cached so that
+     * it can be {@linkplain #createSampler() sampled}.
+     *
+     * @param mediaType The {@link MediaType} of the bulk data.
+     * @param inputStream The {@link InputStream} for the bulk data.
+     * @param cached <tt>true</tt> if the bulk data must be cached rather than
+     *               streamed directly, otherwise <tt>false</tt>.
+     *
+     * @throws IOException If an I/O failure occurs.
+     */
+    public BulkDataSet(MediaType    mediaType,
+                       InputStream  inputStream,
+                       boolean      cached)
+        throws IOException
+    {
+      inputStream = decompress(inputStream);
+
       this.characterEncoding = mediaType.getParameters().get("charset");
       String baseMediaType = mediaType.getType() + "/" + mediaType.getSubtype();
       if (baseMediaType != null) baseMediaType = baseMediaType.toLowerCase();
@@ -2012,6 +3751,14 @@ public class BulkDataServices {
         this.mediaType = this.format.getMediaType();
       }
 
+      // check if we can stream directly without spilling to disk
+      if (this.format != null && this.characterEncoding != null && !cached) {
+        this.dataCache    = null;
+        this.directStream = new BufferedInputStream(inputStream,
+                                                    STREAM_BUFFER_SIZE);
+        return;
+      }
+
       try {
         this.dataCache = new TemporaryDataCache(inputStream);
 
@@ -2030,44 +3777,441 @@ public class BulkDataServices {
         setLastLoggedAndThrow(e);
       }
     }
+
+    /**
+     * Wraps the specified {@link InputStream} to decompress it if its leading
+     * bytes identify it as gzip-compressed data or a ZIP archive.
+     *
+     * @param inputStream The {@link InputStream} for the bulk data.
+     *
+     * @return The {@link InputStream} from which to read the decompressed
+     *         bulk data.
+     *
+     * @throws IOException If an I/O failure occurs.
+     */
+    private static InputStream decompress(InputStream inputStream)
+        throws IOException
+    {
+      BufferedInputStream bis
+          = new BufferedInputStream(inputStream, STREAM_BUFFER_SIZE);
+      bis.mark(ZIP_MAGIC.length);
+      byte[] magic = bis.readNBytes(ZIP_MAGIC.length);
+      bis.reset();
+
+      if (startsWith(magic, GZIP_MAGIC)) {
+        return new ParallelGZIPInputStream(bis);
+      }
+      if (startsWith(magic, ZIP_MAGIC)) {
+        return ZipUtilities.openEntries(
+            new ZipInputStream(bis, UTF_8_CHARSET), true);
+      }
+      return bis;
+    }
+
+    /**
+     * Checks if the specified bytes start with the specified prefix.
+     */
+    private static boolean startsWith(byte[] bytes, byte[] prefix) {
+      if (bytes.length < prefix.length) return false;
+      for (int index = 0; index < prefix.length; index++) {
+        if (bytes[index] != prefix[index]) return false;
+      }
+      return true;
+    }
+
+    /**
+     * Checks if this instance streams the records directly from the request
+     * rather than from a {@link TemporaryDataCache}.
+     *
+     * @return <tt>true</tt> if streaming directly, otherwise <tt>false</tt>.
+     */
+    public boolean isStreaming() {
+      return (this.directStream != null);
+    }
+
+    /**
+     * Reads the leading bytes of the data set (up to {@link
+     * #LOAD_ID_PREFIX_SIZE} bytes) without consuming them.
+     *
+     * @return The leading bytes of the data set.
+     *
+     * @throws IOException If an I/O failure occurs.
+     */
+    public byte[] peekPrefix() throws IOException {
+      if (this.directStream == null) {
+        try (InputStream is = this.dataCache.getInputStream()) {
+          return is.readNBytes(LOAD_ID_PREFIX_SIZE);
+        }
+      }
+      this.directStream.mark(LOAD_ID_PREFIX_SIZE);
+      try {
+        return this.directStream.readNBytes(LOAD_ID_PREFIX_SIZE);
+      } finally {
+        this.directStream.reset();
+      }
+    }
+
+    /**
+     * Gets the {@link Charset} for the character encoding of the data set.
+     *
+     * @return The {@link Charset} for the character encoding.
+     *
+     * @throws UnsupportedEncodingException If the character encoding is not
+     *                                      supported.
+     */
+    public Charset getCharset() throws UnsupportedEncodingException {
+      try {
+        return Charset.forName(this.characterEncoding);
+
+      } catch (IllegalArgumentException e) {
+        throw new UnsupportedEncodingException(this.characterEncoding);
+      }
+    }
+
+    /**
+     * Gets the {@link InputStream} from which to read the records.  This
+     * consumes the data set and may only be called once.
+     *
+     * @return The {@link InputStream} from which to read the records.
+     */
+    public InputStream getInputStream() {
+      if (this.directStream != null) return this.directStream;
+      return this.dataCache.getInputStream(true);
+    }
+
+    /**
+     * Creates a {@link BulkDataSampler} for estimating an analysis of the
+     * cached bulk data from a sample of the records.  This waits for the
+     * bulk data to be completely cached and detects the format of the
+     * records if not yet known.  This returns <tt>null</tt> if the bulk data
+     * is being streamed directly or {@linkplain BulkDataSampler#create cannot
+     * be sampled}, in which case the records should be read in full from
+     * {@link #getInputStream()}.
+     *
+     * @return The {@link BulkDataSampler}, or <tt>null</tt> if the bulk data
+     *         cannot be sampled.
+     *
+     * @throws IOException If an I/O failure occurs.
+     */
+    public BulkDataSampler createSampler() throws IOException {
+      if (this.dataCache == null) return null;
+      try {
+        this.dataCache.waitUntilAppendingComplete();
+
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException(
+            "Interrupted while caching the bulk data.");
+      }
+
+      // detect the format if not yet known
+      if (this.format == null) {
+        try (InputStream  is            = this.dataCache.getInputStream();
+             RecordReader recordReader  = new RecordReader(
+                 null, is, this.getCharset(), null, null, null, 1))
+        {
+          this.format = recordReader.getFormat();
+        }
+      }
+
+      return BulkDataSampler.create(this.format,
+                                    this.getCharset(),
+                                    this.dataCache.getLength(),
+                                    this.dataCache::getInputStream);
+    }
+
+    /**
+     * Releases any resources (e.g.: temporary files) held by this instance.
+     */
+    public void delete() {
+      if (this.dataCache != null) this.dataCache.delete();
+    }
   }
 
   /**
-   * The result from the engine.
-   */
-  public static class EngineResult {
-    private int     returnCode  = 0;
-    private String  dataSource  = null;
-    private String  entityType  = null;
-    private String  errorCode   = null;
-    private String  errorMsg    = null;
-    private Timers  timers      = null;
-    private EngineResult(String   dataSource,
-                         String   entityType,
-                         Timers   timers,
-                         int      returnCode,
-                         G2Engine engine)
+   * Aggregates the record outcomes from a {@link BulkRecordPipeline} into a
+   * {@link SzBulkLoadResult} and sends the progress updates.  This is only
+   * ever invoked from the aggregation thread of the pipeline, except that
+   * {@linkplain SzProgressMode#DELTA delta} progress updates are sent from
+   * the thread of a {@link BulkProgressSender}.
+   */
+  private static class LoadResultHandler
+      implements BulkRecordPipeline.ResultHandler
+  {
+    private BulkOperation             operation;
+    private SzBulkLoadResult          bulkLoadResult;
+    private UriInfo                   uriInfo;
+    private Timers                    timers;
+    private int                       eventId;
+    private OutboundSseEvent.Builder  eventBuilder;
+    private SseEventSink              sseEventSink;
+    private Session                   webSocketSession;
+    private BulkLoadJournal           journal;
+    private long                      resumeOffset;
+    private boolean                   deltaProgress;
+    private String                    name;
+    private long                      startNanos;
+    private BulkProgressSender        progressSender;
+    private volatile boolean          snapshotRequested;
+
+    private LoadResultHandler(BulkOperation             operation,
+                              SzBulkLoadResult          bulkLoadResult,
+                              UriInfo                   uriInfo,
+                              Timers                    timers,
+                              int                       eventId,
+                              OutboundSseEvent.Builder  eventBuilder,
+                              SseEventSink              sseEventSink,
+                              Session                   webSocketSession,
+                              BulkLoadJournal           journal,
+                              long                      resumeOffset,
+                              SzProgressMode            progressMode,
+                              String                    name)
     {
-      this.dataSource = dataSource;
-      this.entityType = entityType;
-      this.returnCode = returnCode;
-      this.timers     = timers;
-      if (this.returnCode != 0) {
-        this.errorCode  = "" + engine.getLastExceptionCode();
-        this.errorMsg   = engine.getLastException();
-      }
-    }
-    private boolean isFailed() {
-      return (this.returnCode != 0);
-    }
-    public String toString() {
-      return "{ returnCode=[ " + this.returnCode
-              + " ], dataSource=[ " + this.dataSource
-              + " ], entityType=[ " + this.entityType
-              + " ], errorCode=[ " + this.errorCode
-              + " ], errorMsg=[ " + this.errorMsg
-              + " ] }";
+      this.operation        = operation;
+      this.bulkLoadResult   = bulkLoadResult;
+      this.uriInfo          = uriInfo;
+      this.timers           = timers;
+      this.eventId          = eventId;
+      this.eventBuilder     = eventBuilder;
+      this.sseEventSink     = sseEventSink;
+      this.webSocketSession = webSocketSession;
+      this.journal          = journal;
+      this.resumeOffset     = resumeOffset;
+      this.name             = name;
+      this.startNanos       = System.nanoTime();
+      this.progressSender   = null;
+
+      // delta updates are only sent if there is a client to receive them
+      this.deltaProgress = (progressMode == SzProgressMode.DELTA)
+          && (eventBuilder != null || webSocketSession != null);
+      this.snapshotRequested = false;
+    }
+
+    /**
+     * Requests that a full snapshot of the results be sent with the next
+     * progress update when sending delta progress updates.
+     *
+     * @return <tt>true</tt> if the request was accepted, otherwise
+     *         <tt>false</tt> if delta progress updates are not being sent.
+     */
+    private boolean requestSnapshot() {
+      if (!this.deltaProgress) return false;
+      this.snapshotRequested = true;
+      return true;
+    }
+
+    /**
+     * Stops sending delta progress updates (if sending them) so the final
+     * response is not followed by a progress update.
+     */
+    private void closeProgress() {
+      if (this.progressSender != null) this.progressSender.close();
+    }
+
+    /**
+     * Sends the specified data as an event with the specified name via SSE
+     * and/or the web socket session.  This is only invoked from the thread of
+     * the {@link BulkProgressSender}.
+     */
+    private void sendEvent(String eventName, Object data) throws Exception {
+      if (this.eventBuilder != null) {
+        OutboundSseEvent event =
+            this.eventBuilder.name(eventName)
+                .id(String.valueOf(this.eventId++))
+                .mediaType(APPLICATION_JSON_TYPE)
+                .data(data)
+                .reconnectDelay(RECONNECT_DELAY)
+                .build();
+        this.sseEventSink.send(event);
+      }
+      if (this.webSocketSession != null) {
+        synchronized (this.webSocketSession) {
+          if (data instanceof String) {
+            this.webSocketSession.getBasicRemote().sendText((String) data);
+          } else {
+            this.webSocketSession.getBasicRemote().sendObject(data);
+          }
+        }
+      }
+    }
+
+    @Override
+    public void handleOutcome(BulkRecordPipeline.Outcome outcome) {
+      // the sequence is relative to the first record submitted after those
+      // that were skipped when resuming
+      if (this.journal != null) {
+        try {
+          this.journal.track(this.resumeOffset + outcome.sequence,
+                             outcome.contentHash,
+                             outcome.type);
+        } catch (IOException e) {
+          e.printStackTrace();
+          throw new RuntimeException(e);
+        }
+      }
+
+      // operations other than loading only require the record key
+      boolean keyed = (this.operation != BulkOperation.LOAD);
+
+      switch (outcome.type) {
+        case SUCCEEDED:
+          if (keyed) {
+            this.bulkLoadResult.trackProcessedRecord(outcome.dataSource);
+          } else {
+            this.bulkLoadResult.trackLoadedRecord(outcome.dataSource,
+                                                  outcome.entityType);
+          }
+          break;
+        case FAILED:
+          this.bulkLoadResult.trackFailedRecord(outcome.dataSource,
+                                                outcome.entityType,
+                                                outcome.error);
+          break;
+        case INCOMPLETE:
+          if (keyed) {
+            this.bulkLoadResult.trackIncompleteRecordKey(outcome.dataSource);
+          } else {
+            this.bulkLoadResult.trackIncompleteRecord(outcome.dataSource,
+                                                      outcome.entityType);
+          }
+          break;
+        case DUPLICATE:
+          this.bulkLoadResult.trackDuplicateRecord();
+          break;
+        default:
+          throw new IllegalStateException(
+              "Unrecognized outcome type: " + outcome.type);
+      }
+    }
+
+    @Override
+    public void handleProgress(List<SzBulkLoadStageStatistics> statistics) {
+      // write a checkpoint even if no client is expecting the update
+      if (this.journal != null) {
+        try {
+          this.journal.checkpointIfDue();
+        } catch (IOException e) {
+          e.printStackTrace();
+          throw new RuntimeException(e);
+        }
+        this.bulkLoadResult.setCheckpointOffset(
+            this.journal.getCheckpoint().getOffset());
+      }
+
+      // check if there is a client expecting the update
+      if (this.eventBuilder == null && this.webSocketSession == null) return;
+
+      // check if sending delta updates, which are sent from their own thread
+      // so that a slow client does not stall the pipeline
+      if (this.deltaProgress) {
+        if (this.progressSender == null) {
+          this.progressSender = new BulkProgressSender(
+              this.name, this.startNanos, this::sendEvent);
+        }
+        long parsed     = 0L;
+        long aggregated = 0L;
+        for (SzBulkLoadStageStatistics stageStats : statistics) {
+          switch (stageStats.getStage()) {
+            case BulkRecordPipeline.PARSE_STAGE:
+              parsed = stageStats.getRecordCount();
+              break;
+            case BulkRecordPipeline.AGGREGATE_STAGE:
+              aggregated = stageStats.getRecordCount();
+              break;
+            default:
+              // ignore
+          }
+        }
+        SzBulkLoadResult result = this.bulkLoadResult;
+        this.progressSender.update(new BulkProgressSender.Counts(
+            result.getRecordCount(),
+            result.getLoadedRecordCount(),
+            result.getIncompleteRecordCount(),
+            result.getFailedRecordCount(),
+            result.getDuplicateRecordCount(),
+            Math.max(0L, parsed - aggregated)));
+
+        // serialize any requested snapshot now so it reflects this update
+        if (this.snapshotRequested) {
+          this.snapshotRequested = false;
+          this.bulkLoadResult.setStageStatistics(statistics);
+          this.progressSender.snapshot(toJsonString(new SzBulkLoadResponse(
+              POST, 200, this.uriInfo, this.timers, this.bulkLoadResult)));
+        }
+        return;
+      }
+
+      this.bulkLoadResult.setStageStatistics(statistics);
+      SzBulkLoadResponse update = new SzBulkLoadResponse(
+          POST, 200, this.uriInfo, this.timers, this.bulkLoadResult);
+
+      // check if sending an SSE response
+      if (this.eventBuilder != null) {
+        OutboundSseEvent event =
+            this.eventBuilder.name(PROGRESS_EVENT)
+                .id(String.valueOf(this.eventId++))
+                .mediaType(APPLICATION_JSON_TYPE)
+                .data(update)
+                .reconnectDelay(RECONNECT_DELAY)
+                .build();
+        this.sseEventSink.send(event);
+      }
+
+      // check if sending a web socket response
+      if (this.webSocketSession != null) {
+        try {
+          // send the web socket message and handle exceptions, serializing
+          // with any credit messages sent from the reading thread
+          synchronized (this.webSocketSession) {
+            this.webSocketSession.getBasicRemote().sendObject(update);
+          }
+
+        } catch (RuntimeException e) {
+          e.printStackTrace();
+          throw e;
+
+        } catch (Exception e) {
+          e.printStackTrace();
+          throw new RuntimeException(e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Sends the specified response as a progress event via SSE and/or the
+   * web socket session (whichever are not <tt>null</tt>).
+   *
+   * @return The next SSE event ID.
+   */
+  private static int sendProgress(OutboundSseEvent.Builder  eventBuilder,
+                                  SseEventSink              sseEventSink,
+                                  int                       eventId,
+                                  Session                   webSocketSession,
+                                  SzBasicResponse           response)
+      throws IOException, EncodeException
+  {
+    // check if sending SSE events
+    if (eventBuilder != null) {
+      // send an SSE event message
+      OutboundSseEvent event =
+          eventBuilder.name(PROGRESS_EVENT)
+              .id(String.valueOf(eventId++))
+              .mediaType(APPLICATION_JSON_TYPE)
+              .data(response)
+              .reconnectDelay(RECONNECT_DELAY)
+              .build();
+      sseEventSink.send(event);
+    }
+
+    // check if sending WebSocket messages
+    if (webSocketSession != null) {
+      // send a message no the web socket
+      synchronized (webSocketSession) {
+        webSocketSession.getBasicRemote().sendObject(response);
+      }
     }
+    return eventId;
   }
 
   private static <T extends SzBasicResponse> T completeOperation(
@@ -2094,7 +4238,9 @@ public class BulkDataServices {
       // check if sending a message on the web socket session
       if (webSocketSession != null) {
         try {
-          webSocketSession.getBasicRemote().sendObject(response);
+          synchronized (webSocketSession) {
+            webSocketSession.getBasicRemote().sendObject(response);
+          }
           webSocketSession.close();
 
         } catch (Exception e) {
@@ -2164,8 +4310,10 @@ public class BulkDataServices {
     // check if we have a web socket session
     if (webSocketSession != null) {
       try {
-        webSocketSession.getBasicRemote().sendObject(response);
-        webSocketSession.getBasicRemote().sendObject(errorResponse);
+        synchronized (webSocketSession) {
+          webSocketSession.getBasicRemote().sendObject(response);
+          webSocketSession.getBasicRemote().sendObject(errorResponse);
+        }
 
       } catch (RuntimeException e) {
         e.printStackTrace();
@@ -0,0 +1,320 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.*;
+import com.senzing.io.MappedFileInputStream;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.UriInfo;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static com.senzing.api.services.ServicesUtil.*;
+import static com.senzing.io.IOUtilities.UTF_8;
+
+/**
+ * Loads bulk data records from files that are local to the server (e.g.: on
+ * a mounted volume) so they do not have to be uploaded through the HTTP
+ * endpoints.  Each file is read via a {@link MappedFileInputStream} and its
+ * records are loaded through the same pipeline as uploaded records.
+ * <p>
+ * The format of each file is determined by its extension:
+ * <ul>
+ *   <li><tt>.json</tt> -- A JSON array of records or JSON records one per
+ *       line, assumed to be UTF-8 encoded.</li>
+ *   <li><tt>.jsonl</tt> or <tt>.jsonlines</tt> -- JSON-lines records,
+ *       assumed to be UTF-8 encoded.</li>
+ *   <li><tt>.csv</tt> -- CSV records, assumed to be UTF-8 encoded.</li>
+ *   <li>Any other extension -- The format and character encoding are
+ *       detected from the content.</li>
+ * </ul>
+ * A <tt>.gz</tt> suffix following any of the above indicates the file is
+ * gzip-compressed, which the bulk load pipeline detects and decompresses
+ * (in parallel for multi-member files), and a <tt>.zip</tt> file is a ZIP
+ * archive whose entries are each loaded as a separate file.  Hidden files
+ * and files with a <tt>.tmp</tt> or <tt>.part</tt> suffix are ignored.
+ */
+public class BulkFileLoader {
+  /**
+   * The <tt>"application/x-jsonlines"</tt> media type with UTF-8 encoding.
+   */
+  private static final MediaType JSON_LINES_TYPE
+      = new MediaType("application", "x-jsonlines", UTF_8);
+
+  /**
+   * The <tt>"application/json"</tt> media type with UTF-8 encoding.
+   */
+  private static final MediaType JSON_TYPE
+      = new MediaType("application", "json", UTF_8);
+
+  /**
+   * The <tt>"text/csv"</tt> media type with UTF-8 encoding.
+   */
+  private static final MediaType CSV_TYPE
+      = new MediaType("text", "csv", UTF_8);
+
+  /**
+   * The characters that indicate a path is a glob pattern.
+   */
+  private static final String GLOB_CHARACTERS = "*?[{";
+
+  /**
+   * Private default constructor.
+   */
+  private BulkFileLoader() {
+    // do nothing
+  }
+
+  /**
+   * Checks if the file with the specified name should be ignored because
+   * it is hidden or appears to be partially written.
+   *
+   * @param fileName The name of the file.
+   *
+   * @return <tt>true</tt> if the file should be ignored, otherwise
+   *         <tt>false</tt>.
+   */
+  static boolean isIgnored(String fileName) {
+    String name = fileName.toLowerCase();
+    return name.startsWith(".") || name.endsWith(".tmp")
+        || name.endsWith(".part");
+  }
+
+  /**
+   * Resolves the specified path to the {@link List} of files to load.  The
+   * path may identify a single file, a directory whose non-hidden regular
+   * files are loaded, or a glob pattern (see {@link
+   * FileSystem#getPathMatcher(String)}) relative to the deepest directory
+   * in the path that precedes the first glob character.  The files are
+   * returned in path order.
+   *
+   * @param path The path or glob pattern identifying the files.
+   *
+   * @return The {@link List} of {@link File} instances to load, which may be
+   *         empty if a glob pattern matches no files.
+   *
+   * @throws IOException If the path does not exist or cannot be read.
+   */
+  public static List<File> resolveFiles(String path) throws IOException {
+    File file = new File(path);
+    if (file.isFile()) return Collections.singletonList(file);
+    if (file.isDirectory()) {
+      File[] children = file.listFiles(
+          child -> child.isFile() && !isIgnored(child.getName()));
+      if (children == null) {
+        throw new IOException("Unable to list the directory: " + path);
+      }
+      Arrays.sort(children);
+      return Arrays.asList(children);
+    }
+
+    // check if the path is a glob pattern
+    int globIndex = -1;
+    for (int index = 0; index < path.length(); index++) {
+      if (GLOB_CHARACTERS.indexOf(path.charAt(index)) >= 0) {
+        globIndex = index;
+        break;
+      }
+    }
+    if (globIndex < 0) {
+      throw new FileNotFoundException("The path does not exist: " + path);
+    }
+
+    // split the path into the base directory and the pattern
+    int sepIndex = Math.max(path.lastIndexOf('/', globIndex),
+                            path.lastIndexOf(File.separatorChar, globIndex));
+    File baseDir = (sepIndex < 0) ? new File(".")
+        : new File((sepIndex == 0) ? path.substring(0, 1)
+                                   : path.substring(0, sepIndex));
+    String pattern = path.substring(sepIndex + 1);
+    if (!baseDir.isDirectory()) {
+      throw new FileNotFoundException(
+          "The base directory does not exist: " + baseDir);
+    }
+
+    // only descend as deep as the pattern unless it spans directories
+    int maxDepth = Integer.MAX_VALUE;
+    if (!pattern.contains("**")) {
+      maxDepth = pattern.split("/").length;
+    }
+
+    Path          base    = baseDir.toPath();
+    PathMatcher   matcher = FileSystems.getDefault().getPathMatcher(
+        "glob:" + pattern);
+    try (Stream<Path> stream = Files.walk(base, maxDepth)) {
+      return stream.filter(p -> Files.isRegularFile(p))
+          .filter(p -> !isIgnored(p.getFileName().toString()))
+          .filter(p -> matcher.matches(base.relativize(p)))
+          .sorted()
+          .map(Path::toFile)
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Determines the {@link MediaType} for the file with the specified name
+   * from its extension, ignoring any <tt>.gz</tt> suffix.  If the format
+   * cannot be determined from the extension then <tt>text/plain</tt> is
+   * returned without a character encoding so that both are detected.
+   *
+   * @param fileName The name of the file.
+   *
+   * @return The {@link MediaType} for the file.
+   */
+  static MediaType mediaTypeFor(String fileName) {
+    String name = fileName.toLowerCase();
+    if (name.endsWith(".gz")) name = name.substring(0, name.length() - 3);
+    if (name.endsWith(".jsonl") || name.endsWith(".jsonlines")) {
+      return JSON_LINES_TYPE;
+    }
+    if (name.endsWith(".json")) return JSON_TYPE;
+    if (name.endsWith(".csv")) return CSV_TYPE;
+    return MediaType.TEXT_PLAIN_TYPE;
+  }
+
+  /**
+   * Loads the records from each of the specified files, returning a {@link
+   * SzBulkFileLoadResult} for each file (or each entry of a ZIP archive).
+   * A failure to load one file is recorded in its result and does not stop
+   * the remaining files from being loaded.
+   *
+   * @param provider The {@link SzApiProvider} to use.
+   * @param files The {@link List} of {@link File} instances to load.
+   * @param dataSource The data source to assign to the loaded records unless
+   *                   the records specify a data source.
+   * @param loadId The optional load ID.  If multiple files or ZIP entries
+   *               are loaded then the name of each is appended to the
+   *               load ID.
+   * @param maxFailures The maximum number of failures per file or a negative
+   *                    number if no maximum.
+   * @param withInfo Whether or not the info for each loaded record should
+   *                 be published to the configured info sink, or
+   *                 <tt>null</tt> to publish only if an info sink is
+   *                 configured.
+   * @param uriInfo The {@link UriInfo} for the request, or <tt>null</tt> if
+   *                not loading in response to a request.
+   *
+   * @return The {@link List} of {@link SzBulkFileLoadResult} instances.
+   */
+  public static List<SzBulkFileLoadResult> loadFiles(
+      SzApiProvider provider,
+      List<File>    files,
+      String        dataSource,
+      String        loadId,
+      int           maxFailures,
+      Boolean       withInfo,
+      UriInfo       uriInfo)
+  {
+    List<SzBulkFileLoadResult> results = new ArrayList<>(files.size());
+    for (File file : files) {
+      String fileLoadId = (loadId == null || files.size() == 1) ? loadId
+          : loadId + "/" + file.getName();
+      UriInfo fileUriInfo = (uriInfo != null) ? uriInfo
+          : newProxyUriInfo(file.toURI());
+
+      if (file.getName().toLowerCase().endsWith(".zip")) {
+        results.addAll(loadZipFile(provider, file, dataSource, fileLoadId,
+                                   maxFailures, withInfo, fileUriInfo));
+        continue;
+      }
+
+      SzBulkFileLoadResult result;
+      try (InputStream is = new MappedFileInputStream(file)) {
+        result = loadStream(provider, file.getPath(), file.getName(), is,
+                            dataSource, fileLoadId, maxFailures, withInfo,
+                            fileUriInfo);
+
+      } catch (IOException e) {
+        result = new SzBulkFileLoadResult(file.getPath(), null,
+                                          new SzError(e));
+      }
+      results.add(result);
+    }
+    return results;
+  }
+
+  /**
+   * Loads each of the entries of the specified ZIP archive.
+   */
+  private static List<SzBulkFileLoadResult> loadZipFile(
+      SzApiProvider provider,
+      File          file,
+      String        dataSource,
+      String        loadId,
+      int           maxFailures,
+      Boolean       withInfo,
+      UriInfo       uriInfo)
+  {
+    List<SzBulkFileLoadResult> results = new LinkedList<>();
+    try (ZipFile zipFile = new ZipFile(file)) {
+      List<ZipEntry> entries = new ArrayList<>();
+      for (ZipEntry entry : Collections.list(zipFile.entries())) {
+        String name = entry.getName();
+        String baseName = name.substring(name.lastIndexOf('/') + 1);
+        if (entry.isDirectory() || isIgnored(baseName)) continue;
+        entries.add(entry);
+      }
+      entries.sort(Comparator.comparing(ZipEntry::getName));
+
+      for (ZipEntry entry : entries) {
+        String path = file.getPath() + "!/" + entry.getName();
+        String entryLoadId = (loadId == null) ? null
+            : loadId + "/" + entry.getName();
+        try (InputStream is = zipFile.getInputStream(entry)) {
+          results.add(loadStream(provider, path, entry.getName(), is,
+                                 dataSource, entryLoadId, maxFailures,
+                                 withInfo, uriInfo));
+
+        } catch (IOException e) {
+          results.add(new SzBulkFileLoadResult(path, null, new SzError(e)));
+        }
+      }
+
+    } catch (IOException e) {
+      results.add(new SzBulkFileLoadResult(file.getPath(), null,
+                                           new SzError(e)));
+    }
+    return results;
+  }
+
+  /**
+   * Loads the records from the specified {@link InputStream} and returns the
+   * {@link SzBulkFileLoadResult} describing the outcome.
+   */
+  private static SzBulkFileLoadResult loadStream(SzApiProvider  provider,
+                                                 String         path,
+                                                 String         name,
+                                                 InputStream    inputStream,
+                                                 String         dataSource,
+                                                 String         loadId,
+                                                 int            maxFailures,
+                                                 Boolean        withInfo,
+                                                 UriInfo        uriInfo)
+  {
+    try {
+      SzBulkLoadResponse response = BulkDataServices.loadBulkFileRecords(
+          provider, newTimers(), dataSource, loadId, maxFailures, withInfo,
+          mediaTypeFor(name), inputStream, uriInfo);
+
+      return new SzBulkFileLoadResult(path, response.getData(), null);
+
+    } catch (WebApplicationException e) {
+      Object entity = e.getResponse().getEntity();
+      SzError error = null;
+      if (entity instanceof SzErrorResponse) {
+        List<SzError> errors = ((SzErrorResponse) entity).getErrors();
+        if (errors != null && errors.size() > 0) error = errors.get(0);
+      }
+      if (error == null) error = new SzError(e);
+      return new SzBulkFileLoadResult(path, null, error);
+
+    } catch (RuntimeException e) {
+      return new SzBulkFileLoadResult(path, null, new SzError(e));
+    }
+  }
+}
@@ -0,0 +1,410 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzBulkDataStatus;
+import com.senzing.api.model.SzBulkFileLoadResult;
+import com.senzing.api.model.SzBulkLoadResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Background thread that watches a directory for new files and loads the
+ * records from each file (via {@link BulkFileLoader}) once it has stopped
+ * changing.  A file is considered complete when its size and modification
+ * time have not changed for the {@linkplain #DEFAULT_SETTLE_PERIOD settle
+ * period}.  After a file is loaded it is moved to the {@link
+ * #LOADED_DIRECTORY} sub-directory if all of its records loaded, otherwise
+ * to the {@link #FAILED_DIRECTORY} sub-directory.
+ * <p>
+ * The outcome of loading each file is reported to an optional echo {@link
+ * Consumer} (e.g.: the console output of the server).
+ * <p>
+ * Files should be written under a hidden name or with a <tt>.tmp</tt> or
+ * <tt>.part</tt> suffix and then renamed so that partially written files are
+ * not loaded if the writer pauses for longer than the settle period.
+ */
+public class BulkFileWatcher extends Thread {
+  /**
+   * The name of the sub-directory to which files whose records have all
+   * been loaded are moved.
+   */
+  public static final String LOADED_DIRECTORY = "loaded";
+
+  /**
+   * The name of the sub-directory to which files whose records have not all
+   * been loaded are moved.
+   */
+  public static final String FAILED_DIRECTORY = "failed";
+
+  /**
+   * The default number of milliseconds that a file must go unchanged before
+   * it is loaded.
+   */
+  public static final long DEFAULT_SETTLE_PERIOD = 2000L;
+
+  /**
+   * The maximum number of milliseconds to wait for a change notification
+   * before rescanning the directory.
+   */
+  private static final long SCAN_PERIOD = 1000L;
+
+  /**
+   * Describes the last observed state of a pending file.
+   */
+  private static class PendingFile {
+    private long length;
+    private long lastModified;
+    private long observedTime;
+  }
+
+  /**
+   * The {@link SzApiProvider} to use for loading.
+   */
+  private SzApiProvider provider;
+
+  /**
+   * The directory being watched.
+   */
+  private File directory;
+
+  /**
+   * The number of milliseconds that a file must go unchanged before it is
+   * loaded.
+   */
+  private long settlePeriod;
+
+  /**
+   * The {@link Consumer} to which the outcome of loading each file is
+   * reported, or <tt>null</tt> if not reported.
+   */
+  private Consumer<String> echo;
+
+  /**
+   * The {@link WatchService} used to be notified of new files, or
+   * <tt>null</tt> if the directory is only scanned periodically.
+   */
+  private WatchService watchService;
+
+  /**
+   * The {@link Map} of file names to {@link PendingFile} instances for the
+   * files that have not yet settled.
+   */
+  private Map<String, PendingFile> pendingFiles;
+
+  /**
+   * The number of files that have been loaded.
+   */
+  private long loadedCount;
+
+  /**
+   * The number of files that have failed to load.
+   */
+  private long failedCount;
+
+  /**
+   * Flag indicating if the thread should complete or continue watching.
+   */
+  private boolean complete;
+
+  /**
+   * Constructs with the {@link SzApiProvider} to use and the directory to
+   * watch using the {@linkplain #DEFAULT_SETTLE_PERIOD default settle
+   * period}.  The thread is <b>not</b> started by this constructor.
+   *
+   * @param provider The {@link SzApiProvider} to use.
+   * @param directory The directory to watch.
+   *
+   * @throws IllegalArgumentException If the specified directory does not
+   *                                  exist or is not a directory.
+   */
+  public BulkFileWatcher(SzApiProvider provider, File directory) {
+    this(provider, directory, DEFAULT_SETTLE_PERIOD, null);
+  }
+
+  /**
+   * Constructs with the {@link SzApiProvider} to use, the directory to watch
+   * and the {@link Consumer} to which the outcome of loading each file is
+   * reported using the {@linkplain #DEFAULT_SETTLE_PERIOD default settle
+   * period}.  The thread is <b>not</b> started by this constructor.
+   *
+   * @param provider The {@link SzApiProvider} to use.
+   * @param directory The directory to watch.
+   * @param echo The {@link Consumer} to which the outcome of loading each
+   *             file is reported, or <tt>null</tt> if not reported.
+   *
+   * @throws IllegalArgumentException If the specified directory does not
+   *                                  exist or is not a directory.
+   */
+  public BulkFileWatcher(SzApiProvider    provider,
+                         File             directory,
+                         Consumer<String> echo)
+  {
+    this(provider, directory, DEFAULT_SETTLE_PERIOD, echo);
+  }
+
+  /**
+   * Constructs with the {@link SzApiProvider} to use, the directory to watch
+   * and the number of milliseconds that a file must go unchanged before it
+   * is loaded.  The thread is <b>not</b> started by this constructor.
+   *
+   * @param provider The {@link SzApiProvider} to use.
+   * @param directory The directory to watch.
+   * @param settlePeriod The number of milliseconds that a file must go
+   *                     unchanged before it is loaded.
+   *
+   * @throws IllegalArgumentException If the specified directory does not
+   *                                  exist or is not a directory, or if the
+   *                                  settle period is negative.
+   */
+  public BulkFileWatcher(SzApiProvider  provider,
+                         File           directory,
+                         long           settlePeriod)
+  {
+    this(provider, directory, settlePeriod, null);
+  }
+
+  /**
+   * Constructs with the {@link SzApiProvider} to use, the directory to watch,
+   * the number of milliseconds that a file must go unchanged before it is
+   * loaded and the {@link Consumer} to which the outcome of loading each
+   * file is reported.  The thread is <b>not</b> started by this constructor.
+   *
+   * @param provider The {@link SzApiProvider} to use.
+   * @param directory The directory to watch.
+   * @param settlePeriod The number of milliseconds that a file must go
+   *                     unchanged before it is loaded.
+   * @param echo The {@link Consumer} to which the outcome of loading each
+   *             file is reported, or <tt>null</tt> if not reported.
+   *
+   * @throws IllegalArgumentException If the specified directory does not
+   *                                  exist or is not a directory, or if the
+   *                                  settle period is negative.
+   */
+  public BulkFileWatcher(SzApiProvider    provider,
+                         File             directory,
+                         long             settlePeriod,
+                         Consumer<String> echo)
+  {
+    super("BulkFileWatcher-" + directory.getName());
+    if (!directory.isDirectory()) {
+      throw new IllegalArgumentException(
+          "The watched directory does not exist or is not a directory: "
+          + directory);
+    }
+    if (settlePeriod < 0L) {
+      throw new IllegalArgumentException(
+          "The settle period cannot be negative: " + settlePeriod);
+    }
+    this.provider     = provider;
+    this.directory    = directory;
+    this.settlePeriod = settlePeriod;
+    this.echo         = echo;
+    this.pendingFiles = new LinkedHashMap<>();
+    this.loadedCount  = 0L;
+    this.failedCount  = 0L;
+    this.complete     = false;
+    try {
+      this.watchService = FileSystems.getDefault().newWatchService();
+      directory.toPath().register(this.watchService,
+                                  StandardWatchEventKinds.ENTRY_CREATE,
+                                  StandardWatchEventKinds.ENTRY_MODIFY);
+    } catch (IOException e) {
+      // fall back to periodically scanning the directory
+      this.watchService = null;
+    }
+    this.setDaemon(true);
+  }
+
+  /**
+   * Gets the directory being watched.
+   *
+   * @return The directory being watched.
+   */
+  public File getDirectory() {
+    return this.directory;
+  }
+
+  /**
+   * Gets the number of files that have been loaded.
+   *
+   * @return The number of files that have been loaded.
+   */
+  public synchronized long getLoadedCount() {
+    return this.loadedCount;
+  }
+
+  /**
+   * Gets the number of files that have failed to load.
+   *
+   * @return The number of files that have failed to load.
+   */
+  public synchronized long getFailedCount() {
+    return this.failedCount;
+  }
+
+  /**
+   * Signals that this thread should complete execution.  Any file currently
+   * being loaded is finished first.
+   */
+  public void complete() {
+    synchronized (this) {
+      if (this.complete) return;
+      this.complete = true;
+      this.notifyAll();
+    }
+    if (this.watchService != null) {
+      try {
+        this.watchService.close();
+      } catch (IOException ignore) {
+        // ignore
+      }
+    }
+  }
+
+  /**
+   * Checks if this thread has received the completion signal.
+   *
+   * @return <tt>true</tt> if the completion signal has been received,
+   *         otherwise <tt>false</tt>.
+   */
+  public synchronized boolean isComplete() {
+    return this.complete;
+  }
+
+  /**
+   * Waits for a change notification or until the scan period elapses.
+   */
+  private void awaitChange() {
+    try {
+      if (this.watchService == null) {
+        synchronized (this) {
+          if (!this.complete) this.wait(SCAN_PERIOD);
+        }
+        return;
+      }
+      WatchKey key = this.watchService.poll(SCAN_PERIOD,
+                                            TimeUnit.MILLISECONDS);
+      if (key != null) {
+        key.pollEvents();
+        key.reset();
+      }
+
+    } catch (ClosedWatchServiceException | InterruptedException ignore) {
+      // ignore -- the completion flag is checked by the caller
+    }
+  }
+
+  /**
+   * Scans the directory and returns the files that have settled, updating
+   * the pending files.
+   */
+  private List<File> findSettledFiles() {
+    File[] children = this.directory.listFiles(
+        child -> child.isFile() && !BulkFileLoader.isIgnored(child.getName()));
+    if (children == null) return Collections.emptyList();
+    Arrays.sort(children);
+
+    long            now     = System.currentTimeMillis();
+    Set<String>     present = new HashSet<>();
+    List<File>      settled = new LinkedList<>();
+    for (File child : children) {
+      String      name    = child.getName();
+      long        length  = child.length();
+      long        mtime   = child.lastModified();
+      PendingFile pending = this.pendingFiles.get(name);
+      present.add(name);
+      if (pending == null || pending.length != length
+          || pending.lastModified != mtime)
+      {
+        if (pending == null) {
+          pending = new PendingFile();
+          this.pendingFiles.put(name, pending);
+        }
+        pending.length        = length;
+        pending.lastModified  = mtime;
+        pending.observedTime  = now;
+        continue;
+      }
+      if (now - pending.observedTime >= this.settlePeriod) {
+        settled.add(child);
+      }
+    }
+    this.pendingFiles.keySet().retainAll(present);
+    return settled;
+  }
+
+  /**
+   * Reports the specified message to the echo {@link Consumer} if any.
+   */
+  private void echo(String message) {
+    if (this.echo != null) this.echo.accept(message);
+  }
+
+  /**
+   * Loads the specified file and moves it to the appropriate
+   * sub-directory.
+   */
+  private void loadFile(File file) {
+    List<SzBulkFileLoadResult> results = BulkFileLoader.loadFiles(
+        this.provider, Collections.singletonList(file), null, null,
+        -1, null, null);
+
+    boolean success = true;
+    for (SzBulkFileLoadResult result : results) {
+      SzBulkLoadResult loadResult = result.getResult();
+      if (result.getError() != null) {
+        success = false;
+        this.echo("Failed to load " + result.getPath() + ": "
+                      + result.getError().getMessage());
+      } else if (loadResult != null) {
+        if (loadResult.getFailedRecordCount() > 0
+            || loadResult.getStatus() != SzBulkDataStatus.COMPLETED)
+        {
+          success = false;
+        }
+        this.echo("Loaded " + result.getPath() + ": "
+                      + loadResult.getLoadedRecordCount() + " loaded, "
+                      + loadResult.getFailedRecordCount() + " failed");
+      }
+    }
+
+    synchronized (this) {
+      if (success) this.loadedCount++;
+      else this.failedCount++;
+    }
+
+    File targetDir = new File(
+        this.directory, success ? LOADED_DIRECTORY : FAILED_DIRECTORY);
+    try {
+      Files.createDirectories(targetDir.toPath());
+      Files.move(file.toPath(), new File(targetDir, file.getName()).toPath(),
+                 StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      this.echo("Failed to move " + file + " to " + targetDir + ": " + e);
+    }
+    this.pendingFiles.remove(file.getName());
+  }
+
+  /**
+   * Watches the directory until signaled to complete.
+   */
+  public void run() {
+    try {
+      while (!this.isComplete()) {
+        for (File file : this.findSettledFiles()) {
+          if (this.isComplete()) break;
+          this.loadFile(file);
+        }
+        if (!this.isComplete()) this.awaitChange();
+      }
+    } catch (Exception e) {
+      e.printStackTrace();
+    } finally {
+      this.complete();
+    }
+  }
+}
@@ -0,0 +1,709 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzBulkDataStatus;
+import com.senzing.api.model.SzBulkLoadCheckpoint;
+import com.senzing.api.services.BulkRecordPipeline.OutcomeType;
+import com.senzing.io.JsonRecordText;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static com.senzing.api.model.SzBulkDataStatus.*;
+
+/**
+ * Maintains the append-only journal of durable checkpoints for a bulk load
+ * identified by its load ID.  Record outcomes may be {@linkplain
+ * #track(long, long, OutcomeType) tracked} in any order, but the journal only
+ * advances past a record once the outcomes of every preceding record are
+ * known, so the checkpoint offset is always a prefix of the bulk data that
+ * can be skipped when the load is resumed.
+ * <p>
+ * Each checkpoint is appended to the journal file as a single line of text
+ * and forced to the storage device before it is considered durable.  A
+ * partially written trailing line (e.g.: due to a crash) is ignored when the
+ * journal is read and truncated when the journal is reopened.  Checkpoints
+ * are written at most every {@link #CHECKPOINT_RECORD_INTERVAL} records or
+ * {@link #CHECKPOINT_PERIOD} milliseconds (whichever comes first).
+ * <p>
+ * Each checkpoint also records an order-dependent content hash of the
+ * records before the checkpoint so that a resumed load can verify the
+ * resent records match those that were previously handled.
+ * <p>
+ * The header line of the journal file identifies the {@linkplain #VERSION
+ * version} of the checkpoint line format.  Journals written with version one
+ * (1), which lack the duplicate record count, can still be read and are
+ * restarted with the current version when a load is resumed from them.
+ * <p>
+ * This class is <b>not</b> thread-safe and is intended to be used from the
+ * single aggregation thread of a {@link BulkRecordPipeline}, except for
+ * {@link #getCheckpoint()} which may be called from any thread.
+ */
+class BulkLoadJournal implements Closeable {
+  /**
+   * The file name suffix for journal files.
+   */
+  static final String FILE_SUFFIX = ".journal";
+
+  /**
+   * The maximum number of records to advance between checkpoints.
+   */
+  static final int CHECKPOINT_RECORD_INTERVAL = 10000;
+
+  /**
+   * The maximum number of milliseconds between checkpoints while the journal
+   * is advancing.
+   */
+  static final long CHECKPOINT_PERIOD = 1000L;
+
+  /**
+   * The prefix for the header line of the journal file, which is followed by
+   * the version and the encoded load ID.
+   */
+  private static final String HEADER_PREFIX = "#senzing-bulk-load-journal ";
+
+  /**
+   * The current version of the journal format.  Version two (2) added the
+   * duplicate record count to each checkpoint line.
+   */
+  static final int VERSION = 2;
+
+  /**
+   * The initial capacity for tracking out-of-order record outcomes.
+   */
+  private static final int INITIAL_PENDING_CAPACITY = 1024;
+
+  /**
+   * The number of fields in a checkpoint line.
+   */
+  private static final int FIELD_COUNT = 9;
+
+  /**
+   * The number of fields in a checkpoint line of a version one (1) journal.
+   */
+  private static final int VERSION_1_FIELD_COUNT = 8;
+
+  /**
+   * The {@link Set} of load IDs for which a journal is currently open.
+   */
+  private static final Set<String> OPEN_LOAD_IDS = new HashSet<>();
+
+  /**
+   * The load ID for the journal.
+   */
+  private String loadId;
+
+  /**
+   * The {@link RandomAccessFile} for appending to the journal.
+   */
+  private RandomAccessFile journalFile;
+
+  /**
+   * The number of leading records whose outcomes are known.
+   */
+  private long offset;
+
+  /**
+   * The content hash of the leading records whose outcomes are known.
+   */
+  private long contentHash;
+
+  /**
+   * The per-outcome counts of the leading records whose outcomes are known.
+   */
+  private long loadedCount;
+  private long failedCount;
+  private long incompleteCount;
+  private long skippedCount;
+  private long duplicateCount;
+
+  /**
+   * The record hashes of the tracked outcomes beyond the offset indexed by
+   * the record sequence modulo the capacity.
+   */
+  private long[] pendingHashes;
+
+  /**
+   * The tracked outcome types beyond the offset indexed by the record
+   * sequence modulo the capacity, encoded as the ordinal plus one so that
+   * zero indicates no outcome.
+   */
+  private byte[] pendingTypes;
+
+  /**
+   * The offset as of the last checkpoint.
+   */
+  private long checkpointOffset;
+
+  /**
+   * The nanosecond timestamp of the last checkpoint.
+   */
+  private long checkpointNanos;
+
+  /**
+   * The last durable {@link SzBulkLoadCheckpoint}.
+   */
+  private volatile SzBulkLoadCheckpoint checkpoint;
+
+  /**
+   * Opens the journal for the specified load ID in the specified directory.
+   * If a base {@link SzBulkLoadCheckpoint} is specified then the journal is
+   * appended and continues from that checkpoint, otherwise a new journal is
+   * started and any previous journal for the load ID is discarded.
+   *
+   * @param directory The directory containing the journal files.
+   * @param loadId The load ID for the journal.
+   * @param base The {@link SzBulkLoadCheckpoint} from which to continue, or
+   *             <tt>null</tt> if starting a new journal.
+   *
+   * @return The {@link BulkLoadJournal} that was opened.
+   *
+   * @throws IOException If an I/O failure occurs.
+   *
+   * @throws IllegalStateException If a journal is already open for the
+   *                               specified load ID.
+   */
+  static BulkLoadJournal open(File                  directory,
+                              String                loadId,
+                              SzBulkLoadCheckpoint  base)
+      throws IOException, IllegalStateException
+  {
+    synchronized (OPEN_LOAD_IDS) {
+      if (OPEN_LOAD_IDS.contains(loadId)) {
+        throw new IllegalStateException(
+            "A bulk load is already in progress for the load ID: " + loadId);
+      }
+      OPEN_LOAD_IDS.add(loadId);
+    }
+    try {
+      return new BulkLoadJournal(directory, loadId, base);
+
+    } catch (IOException|RuntimeException e) {
+      synchronized (OPEN_LOAD_IDS) {
+        OPEN_LOAD_IDS.remove(loadId);
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Constructs the journal.
+   */
+  private BulkLoadJournal(File                  directory,
+                          String                loadId,
+                          SzBulkLoadCheckpoint  base)
+      throws IOException
+  {
+    this.loadId           = loadId;
+    this.offset           = (base == null) ? 0L : base.getOffset();
+    this.contentHash      = (base == null) ? 0L
+                          : parseHash(base.getContentHash());
+    this.loadedCount      = (base == null) ? 0L : base.getLoadedRecordCount();
+    this.failedCount      = (base == null) ? 0L : base.getFailedRecordCount();
+    this.incompleteCount  = (base == null) ? 0L
+                          : base.getIncompleteRecordCount();
+    this.skippedCount     = (base == null) ? 0L : base.getSkippedRecordCount();
+    this.duplicateCount   = (base == null) ? 0L
+                          : base.getDuplicateRecordCount();
+    this.pendingHashes    = new long[INITIAL_PENDING_CAPACITY];
+    this.pendingTypes     = new byte[INITIAL_PENDING_CAPACITY];
+    this.checkpointOffset = this.offset;
+    this.checkpointNanos  = System.nanoTime();
+
+    File file = getJournalFile(directory, loadId);
+    try {
+      if (base == null) {
+        // start a new journal
+        this.journalFile = new RandomAccessFile(file, "rw");
+        this.journalFile.setLength(0L);
+        this.append(header(loadId));
+
+      } else {
+        // truncate any partially written line and continue the journal,
+        // restarting it if it was written with an older version
+        long length = validLength(file);
+        if (length > 0L && readVersion(file) != VERSION) length = 0L;
+        this.journalFile = new RandomAccessFile(file, "rw");
+        this.journalFile.setLength(length);
+        this.journalFile.seek(length);
+        if (length == 0L) {
+          this.append(header(loadId));
+        }
+      }
+      this.writeCheckpoint(IN_PROGRESS);
+
+    } catch (IOException|RuntimeException e) {
+      if (this.journalFile != null) this.journalFile.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Gets the journal {@link File} for the specified load ID in the specified
+   * directory.
+   *
+   * @param directory The directory containing the journal files.
+   * @param loadId The load ID for the journal.
+   *
+   * @return The journal {@link File} for the specified load ID.
+   */
+  static File getJournalFile(File directory, String loadId) {
+    return new File(directory, encodeLoadId(loadId) + FILE_SUFFIX);
+  }
+
+  /**
+   * Reads the durable {@link SzBulkLoadCheckpoint} instances from the journal
+   * for the specified load ID in the specified directory in the order they
+   * were written.  This returns an empty {@link List} if there is no journal
+   * for the load ID.
+   *
+   * @param directory The directory containing the journal files.
+   * @param loadId The load ID for the journal.
+   *
+   * @return The {@link List} of durable {@link SzBulkLoadCheckpoint}
+   *         instances.
+   *
+   * @throws IOException If an I/O failure occurs or the journal was written
+   *                     with an unsupported version.
+   */
+  static List<SzBulkLoadCheckpoint> readCheckpoints(File    directory,
+                                                    String  loadId)
+      throws IOException
+  {
+    List<SzBulkLoadCheckpoint> result = new ArrayList<>();
+    File file = getJournalFile(directory, loadId);
+
+    // ignore any trailing line without a line terminator
+    long length = validLength(file);
+    if (length == 0L) return result;
+
+    byte[] bytes = new byte[(int) length];
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+      raf.readFully(bytes);
+    }
+    String[] lines = new String(bytes, StandardCharsets.UTF_8).split("\n");
+    int version = parseVersion(lines[0]);
+    if (version < 0) return result;
+    int fieldCount;
+    switch (version) {
+      case 1:
+        fieldCount = VERSION_1_FIELD_COUNT;
+        break;
+      case VERSION:
+        fieldCount = FIELD_COUNT;
+        break;
+      default:
+        throw new IOException(
+            "Unsupported bulk load journal version (" + version
+            + ") in file: " + file);
+    }
+
+    for (int index = 1; index < lines.length; index++) {
+      SzBulkLoadCheckpoint checkpoint
+          = parseCheckpoint(loadId, lines[index], fieldCount);
+      if (checkpoint == null) break;
+      result.add(checkpoint);
+    }
+    return result;
+  }
+
+  /**
+   * Reads the last durable {@link SzBulkLoadCheckpoint} from the journal for
+   * the specified load ID in the specified directory.  This returns
+   * <tt>null</tt> if there is no journal for the load ID.
+   *
+   * @param directory The directory containing the journal files.
+   * @param loadId The load ID for the journal.
+   *
+   * @return The last durable {@link SzBulkLoadCheckpoint}, or <tt>null</tt>
+   *         if there is no journal for the load ID.
+   *
+   * @throws IOException If an I/O failure occurs or the journal was written
+   *                     with an unsupported version.
+   */
+  static SzBulkLoadCheckpoint readLastCheckpoint(File directory, String loadId)
+      throws IOException
+  {
+    List<SzBulkLoadCheckpoint> checkpoints
+        = readCheckpoints(directory, loadId);
+    return (checkpoints.size() == 0) ? null
+        : checkpoints.get(checkpoints.size() - 1);
+  }
+
+  /**
+   * Gets the last durable {@link SzBulkLoadCheckpoint}.
+   *
+   * @return The last durable {@link SzBulkLoadCheckpoint}.
+   */
+  SzBulkLoadCheckpoint getCheckpoint() {
+    return this.checkpoint;
+  }
+
+  /**
+   * Gets the number of leading records whose outcomes are known, which may
+   * be beyond the last durable checkpoint.
+   *
+   * @return The number of leading records whose outcomes are known.
+   */
+  long getOffset() {
+    return this.offset;
+  }
+
+  /**
+   * Records that the record at the current offset was skipped at the request
+   * of the client.  This may only be called before any outcomes are tracked.
+   *
+   * @param recordHash The {@linkplain #hashRecord(JsonRecordText) hash} of
+   *                   the skipped record.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  void skip(long recordHash) throws IOException {
+    this.contentHash = combineHash(this.contentHash, recordHash);
+    this.offset++;
+    this.skippedCount++;
+    this.checkpointIfDue();
+  }
+
+  /**
+   * Tracks the outcome of the record with the specified sequence number
+   * (i.e.: its zero-based position in the bulk data) and advances the journal
+   * if the outcomes of all preceding records are known.  A checkpoint is
+   * written if one is due.
+   *
+   * @param sequence The zero-based position of the record in the bulk data.
+   * @param recordHash The {@linkplain #hashRecord(JsonRecordText) hash} of
+   *                   the record.
+   * @param type The {@link OutcomeType} for the record.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  void track(long sequence, long recordHash, OutcomeType type)
+      throws IOException
+  {
+    if (sequence < this.offset) {
+      throw new IllegalArgumentException(
+          "The outcome for the record at the specified sequence number has "
+          + "already been tracked: " + sequence);
+    }
+    while (sequence - this.offset >= this.pendingTypes.length) {
+      this.growPending();
+    }
+    int index = (int) (sequence & (this.pendingTypes.length - 1));
+    if (this.pendingTypes[index] != 0) {
+      throw new IllegalArgumentException(
+          "The outcome for the record at the specified sequence number has "
+          + "already been tracked: " + sequence);
+    }
+    this.pendingHashes[index] = recordHash;
+    this.pendingTypes[index]  = (byte) (type.ordinal() + 1);
+
+    // advance past the leading records with known outcomes
+    int mask = this.pendingTypes.length - 1;
+    for (index = (int) (this.offset & mask);
+         this.pendingTypes[index] != 0;
+         index = (int) (this.offset & mask))
+    {
+      switch (OutcomeType.values()[this.pendingTypes[index] - 1]) {
+        case SUCCEEDED:
+          this.loadedCount++;
+          break;
+        case FAILED:
+          this.failedCount++;
+          break;
+        case INCOMPLETE:
+          this.incompleteCount++;
+          break;
+        case DUPLICATE:
+          this.duplicateCount++;
+          break;
+        default:
+          throw new IllegalStateException(
+              "Unrecognized outcome type: " + this.pendingTypes[index]);
+      }
+      this.contentHash = combineHash(this.contentHash,
+                                     this.pendingHashes[index]);
+      this.pendingTypes[index] = 0;
+      this.offset++;
+    }
+
+    this.checkpointIfDue();
+  }
+
+  /**
+   * Writes a checkpoint if the journal has advanced and either {@link
+   * #CHECKPOINT_RECORD_INTERVAL} records have been advanced or {@link
+   * #CHECKPOINT_PERIOD} milliseconds have elapsed since the last checkpoint.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  void checkpointIfDue() throws IOException {
+    if (this.offset == this.checkpointOffset) return;
+    long elapsed = (System.nanoTime() - this.checkpointNanos) / 1000000L;
+    if ((this.offset - this.checkpointOffset) >= CHECKPOINT_RECORD_INTERVAL
+        || elapsed >= CHECKPOINT_PERIOD)
+    {
+      this.writeCheckpoint(IN_PROGRESS);
+    }
+  }
+
+  /**
+   * Writes a final checkpoint with the specified {@link SzBulkDataStatus}
+   * and closes the journal.
+   *
+   * @param status The final {@link SzBulkDataStatus} of the bulk load.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  void close(SzBulkDataStatus status) throws IOException {
+    try {
+      if (this.journalFile != null) this.writeCheckpoint(status);
+    } finally {
+      this.close();
+    }
+  }
+
+  /**
+   * Closes the journal without writing a final checkpoint.  This has no
+   * effect if the journal is already closed.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  @Override
+  public void close() throws IOException {
+    if (this.journalFile == null) return;
+    try {
+      this.journalFile.close();
+    } finally {
+      this.journalFile = null;
+      synchronized (OPEN_LOAD_IDS) {
+        OPEN_LOAD_IDS.remove(this.loadId);
+      }
+    }
+  }
+
+  /**
+   * Computes the hash of the specified record from its JSON text.
+   *
+   * @param record The {@link JsonRecordText} for the record.
+   *
+   * @return The hash of the record.
+   */
+  static long hashRecord(JsonRecordText record) {
+    String text = record.toJsonText();
+    long hash = 0xcbf29ce484222325L;
+    for (int index = 0; index < text.length(); index++) {
+      hash ^= text.charAt(index);
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  /**
+   * Combines the specified content hash of the preceding records with the
+   * specified hash of the next record.
+   *
+   * @param contentHash The content hash of the preceding records.
+   * @param recordHash The hash of the next record.
+   *
+   * @return The content hash including the next record.
+   */
+  static long combineHash(long contentHash, long recordHash) {
+    long hash = (contentHash ^ recordHash) * 0x9e3779b97f4a7c15L;
+    return hash ^ (hash >>> 29);
+  }
+
+  /**
+   * Formats the specified content hash as hexadecimal text.
+   *
+   * @param contentHash The content hash to format.
+   *
+   * @return The hexadecimal text for the content hash.
+   */
+  static String formatHash(long contentHash) {
+    return String.format("%016x", contentHash);
+  }
+
+  /**
+   * Parses the specified hexadecimal content hash.
+   *
+   * @param text The hexadecimal text for the content hash.
+   *
+   * @return The parsed content hash.
+   *
+   * @throws NumberFormatException If the specified text is not a valid
+   *                               hexadecimal content hash.
+   */
+  static long parseHash(String text) throws NumberFormatException {
+    return Long.parseUnsignedLong(text.trim(), 16);
+  }
+
+  /**
+   * Doubles the capacity for tracking out-of-order outcomes.
+   */
+  private void growPending() {
+    int     capacity  = this.pendingTypes.length;
+    long[]  hashes    = new long[capacity * 2];
+    byte[]  types     = new byte[capacity * 2];
+    for (long sequence = this.offset;
+         sequence < this.offset + capacity;
+         sequence++)
+    {
+      int from  = (int) (sequence & (capacity - 1));
+      int to    = (int) (sequence & (types.length - 1));
+      hashes[to]  = this.pendingHashes[from];
+      types[to]   = this.pendingTypes[from];
+    }
+    this.pendingHashes  = hashes;
+    this.pendingTypes   = types;
+  }
+
+  /**
+   * Appends a checkpoint line with the specified status and forces it to the
+   * storage device.
+   */
+  private void writeCheckpoint(SzBulkDataStatus status) throws IOException {
+    SzBulkLoadCheckpoint checkpoint = new SzBulkLoadCheckpoint();
+    checkpoint.setLoadId(this.loadId);
+    checkpoint.setOffset(this.offset);
+    checkpoint.setContentHash(formatHash(this.contentHash));
+    checkpoint.setLoadedRecordCount(this.loadedCount);
+    checkpoint.setFailedRecordCount(this.failedCount);
+    checkpoint.setIncompleteRecordCount(this.incompleteCount);
+    checkpoint.setSkippedRecordCount(this.skippedCount);
+    checkpoint.setDuplicateRecordCount(this.duplicateCount);
+    checkpoint.setStatus(status);
+    checkpoint.setTimestamp(new Date());
+
+    this.append(this.offset + " " + checkpoint.getContentHash()
+                    + " " + this.loadedCount + " " + this.failedCount
+                    + " " + this.incompleteCount + " " + this.skippedCount
+                    + " " + status + " " + checkpoint.getTimestamp().getTime()
+                    + " " + this.duplicateCount + "\n");
+    this.journalFile.getChannel().force(false);
+
+    this.checkpoint       = checkpoint;
+    this.checkpointOffset = this.offset;
+    this.checkpointNanos  = System.nanoTime();
+  }
+
+  /**
+   * Appends the specified text to the journal file.
+   */
+  private void append(String text) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    while (buffer.hasRemaining()) {
+      this.journalFile.getChannel().write(buffer);
+    }
+  }
+
+  /**
+   * Returns the header line for the journal for the specified load ID.
+   */
+  private static String header(String loadId) {
+    return HEADER_PREFIX + VERSION + " " + encodeLoadId(loadId) + "\n";
+  }
+
+  /**
+   * Parses the version from the specified header line, returning negative
+   * one (-1) if it is not a valid header line.
+   */
+  private static int parseVersion(String line) {
+    if (!line.startsWith(HEADER_PREFIX)) return -1;
+    int end = line.indexOf(' ', HEADER_PREFIX.length());
+    if (end < 0) return -1;
+    try {
+      return Integer.parseInt(line.substring(HEADER_PREFIX.length(), end));
+
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * Reads the version from the header line of the specified journal file,
+   * returning negative one (-1) if it does not have a valid header line.
+   */
+  private static int readVersion(File file) throws IOException {
+    try (BufferedReader br = new BufferedReader(new InputStreamReader(
+        new FileInputStream(file), StandardCharsets.UTF_8)))
+    {
+      String line = br.readLine();
+      return (line == null) ? -1 : parseVersion(line);
+    }
+  }
+
+  /**
+   * Parses the specified checkpoint line with the specified number of fields,
+   * returning <tt>null</tt> if it is not a valid checkpoint line.  The
+   * duplicate record count is zero (0) for lines without it.
+   */
+  private static SzBulkLoadCheckpoint parseCheckpoint(String  loadId,
+                                                      String  line,
+                                                      int     fieldCount)
+  {
+    String[] fields = line.split(" ");
+    if (fields.length != fieldCount) return null;
+    try {
+      SzBulkLoadCheckpoint checkpoint = new SzBulkLoadCheckpoint();
+      checkpoint.setLoadId(loadId);
+      checkpoint.setOffset(Long.parseLong(fields[0]));
+      checkpoint.setContentHash(formatHash(parseHash(fields[1])));
+      checkpoint.setLoadedRecordCount(Long.parseLong(fields[2]));
+      checkpoint.setFailedRecordCount(Long.parseLong(fields[3]));
+      checkpoint.setIncompleteRecordCount(Long.parseLong(fields[4]));
+      checkpoint.setSkippedRecordCount(Long.parseLong(fields[5]));
+      checkpoint.setStatus(SzBulkDataStatus.valueOf(fields[6]));
+      checkpoint.setTimestamp(new Date(Long.parseLong(fields[7])));
+      checkpoint.setDuplicateRecordCount(
+          (fieldCount > VERSION_1_FIELD_COUNT)
+              ? Long.parseLong(fields[8]) : 0L);
+      return checkpoint;
+
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns the length of the specified file up to and including the last
+   * line terminator, or zero (0) if the file does not exist.
+   */
+  private static long validLength(File file) throws IOException {
+    if (!file.exists()) return 0L;
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+      byte[] buffer = new byte[4096];
+      for (long end = raf.length(); end > 0L; ) {
+        int  count = (int) Math.min(buffer.length, end);
+        long start = end - count;
+        raf.seek(start);
+        raf.readFully(buffer, 0, count);
+        for (int index = count - 1; index >= 0; index--) {
+          if (buffer[index] == '\n') return start + index + 1;
+        }
+        end = start;
+      }
+      return 0L;
+    }
+  }
+
+  /**
+   * Encodes the specified load ID for use in a file name by escaping any
+   * characters other than ASCII letters, digits, hyphens and underscores.
+   */
+  private static String encodeLoadId(String loadId) {
+    StringBuilder sb = new StringBuilder(loadId.length() + 16);
+    for (byte b : loadId.getBytes(StandardCharsets.UTF_8)) {
+      char c = (char) (b & 0xFF);
+      if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+          || (c >= '0' && c <= '9') || c == '-' || c == '_')
+      {
+        sb.append(c);
+      } else {
+        sb.append('%').append(String.format("%02X", (int) c));
+      }
+    }
+    return sb.toString();
+  }
+}
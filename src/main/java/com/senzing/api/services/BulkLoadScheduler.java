@@ -0,0 +1,350 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzScheduledBulkLoad;
+
+import java.util.*;
+
+/**
+ * Shares the engine worker threads among the concurrently running bulk
+ * operations in proportion to their weights.  Each {@link BulkRecordPipeline}
+ * {@linkplain #register(String, int) registers} with the scheduler and
+ * {@linkplain Load#acquire() acquires} one of the {@linkplain #getCapacity()
+ * engine slots} before handing a batch of records to an engine worker thread.
+ * <p>
+ * Slots are granted using stride scheduling: each load has a <i>pass</i>
+ * that advances by the number of records it processes divided by its
+ * weight, and a free slot is granted to the waiting load with the lowest
+ * pass.  A load with twice the weight of another therefore processes about
+ * twice as many records while both are waiting for slots, but a load may use
+ * every slot if no other load is waiting, so capacity is never left idle.
+ * <p>
+ * The weight of a load may be {@linkplain #setWeight(String, int) changed}
+ * while it is running and the {@linkplain #getScheduledLoads() scheduled
+ * loads} can be described with their shares and throughput.
+ */
+class BulkLoadScheduler {
+  /**
+   * The default weight for a bulk load.
+   */
+  static final int DEFAULT_WEIGHT = 1;
+
+  /**
+   * The maximum weight for a bulk load.
+   */
+  static final int MAX_WEIGHT = 1000;
+
+  /**
+   * The schedulers for each {@link SzApiProvider}.
+   */
+  private static final Map<SzApiProvider, BulkLoadScheduler> SCHEDULERS
+      = new WeakHashMap<>();
+
+  /**
+   * Gets the scheduler for the specified {@link SzApiProvider}, creating it
+   * with the provider's {@linkplain SzApiProvider#getConcurrency()
+   * concurrency} as its capacity if it does not yet exist.
+   *
+   * @param provider The {@link SzApiProvider} whose engine threads are being
+   *                 shared.
+   *
+   * @return The {@link BulkLoadScheduler} for the provider.
+   */
+  static BulkLoadScheduler getInstance(SzApiProvider provider) {
+    synchronized (SCHEDULERS) {
+      BulkLoadScheduler scheduler = SCHEDULERS.get(provider);
+      if (scheduler == null) {
+        scheduler = new BulkLoadScheduler(provider.getConcurrency());
+        SCHEDULERS.put(provider, scheduler);
+      }
+      return scheduler;
+    }
+  }
+
+  /**
+   * A bulk load that is registered with the scheduler.
+   */
+  final class Load implements AutoCloseable {
+    /**
+     * The unique ID for the load.
+     */
+    private final String id;
+
+    /**
+     * The nanosecond timestamp when the load was registered.
+     */
+    private final long startNanos;
+
+    /**
+     * The weight of the load.
+     */
+    private int weight;
+
+    /**
+     * The pass of the load which advances by the processed record count
+     * divided by the weight.
+     */
+    private double pass;
+
+    /**
+     * The number of slots held by the load.
+     */
+    private int heldSlots = 0;
+
+    /**
+     * The number of threads waiting to acquire a slot for the load.
+     */
+    private int waiting = 0;
+
+    /**
+     * The number of records processed by the load.
+     */
+    private long recordCount = 0L;
+
+    /**
+     * Flag indicating if the load has been closed.
+     */
+    private boolean closed = false;
+
+    /**
+     * Constructs with the specified ID, weight and initial pass.
+     */
+    private Load(String id, int weight, double pass) {
+      this.id         = id;
+      this.weight     = weight;
+      this.pass       = pass;
+      this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Gets the unique ID with which the load is registered.
+     *
+     * @return The unique ID with which the load is registered.
+     */
+    String getId() {
+      return this.id;
+    }
+
+    /**
+     * Waits for and acquires an engine slot for this load.  Each slot that
+     * is acquired must be {@linkplain #release(int) released}.
+     *
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    void acquire() throws InterruptedException {
+      BulkLoadScheduler.this.acquire(this);
+    }
+
+    /**
+     * Releases an engine slot held by this load after processing the
+     * specified number of records with it.
+     *
+     * @param recordCount The number of records processed with the slot.
+     */
+    void release(int recordCount) {
+      BulkLoadScheduler.this.release(this, recordCount);
+    }
+
+    /**
+     * Unregisters this load from the scheduler.
+     */
+    @Override
+    public void close() {
+      BulkLoadScheduler.this.unregister(this);
+    }
+  }
+
+  /**
+   * The number of engine slots to share.
+   */
+  private final int capacity;
+
+  /**
+   * The registered loads keyed by their IDs in registration order.
+   */
+  private final Map<String, Load> loads = new LinkedHashMap<>();
+
+  /**
+   * The number of slots currently held.
+   */
+  private int heldSlots = 0;
+
+  /**
+   * The sequence number for generating unique load IDs.
+   */
+  private long sequence = 0L;
+
+  /**
+   * Constructs with the specified number of engine slots to share.
+   *
+   * @param capacity The number of engine slots to share.
+   */
+  BulkLoadScheduler(int capacity) {
+    this.capacity = Math.max(1, capacity);
+  }
+
+  /**
+   * Gets the number of engine slots shared by the loads.
+   *
+   * @return The number of engine slots shared by the loads.
+   */
+  int getCapacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Registers a load with the specified name and weight.  The name is used
+   * as the ID of the load unless another load is registered with the same
+   * name, in which case a numeric suffix is appended.  The load starts at
+   * the lowest pass of the registered loads so that it neither starves nor
+   * is starved by the loads that are already running.
+   *
+   * @param name The name of the load (e.g.: the load ID).
+   * @param weight The positive weight of the load.
+   *
+   * @return The registered {@link Load}.
+   *
+   * @throws IllegalArgumentException If the weight is not positive or
+   *                                  exceeds {@link #MAX_WEIGHT}.
+   */
+  synchronized Load register(String name, int weight) {
+    checkWeight(weight);
+    String id = name;
+    while (this.loads.containsKey(id)) {
+      id = name + "-" + (++this.sequence);
+    }
+    double pass = 0.0;
+    boolean first = true;
+    for (Load load : this.loads.values()) {
+      pass  = (first) ? load.pass : Math.min(pass, load.pass);
+      first = false;
+    }
+    Load load = new Load(id, weight, pass);
+    this.loads.put(id, load);
+    return load;
+  }
+
+  /**
+   * Changes the weight of the load with the specified ID.
+   *
+   * @param id The ID of the load.
+   * @param weight The new positive weight for the load.
+   *
+   * @return <tt>true</tt> if the load was found and updated, otherwise
+   *         <tt>false</tt>.
+   *
+   * @throws IllegalArgumentException If the weight is not positive or
+   *                                  exceeds {@link #MAX_WEIGHT}.
+   */
+  synchronized boolean setWeight(String id, int weight) {
+    checkWeight(weight);
+    Load load = this.loads.get(id);
+    if (load == null) return false;
+    load.weight = weight;
+    this.notifyAll();
+    return true;
+  }
+
+  /**
+   * Describes each of the registered loads in registration order.
+   *
+   * @return The {@link List} of {@link SzScheduledBulkLoad} instances.
+   */
+  synchronized List<SzScheduledBulkLoad> getScheduledLoads() {
+    long totalWeight = 0L;
+    for (Load load : this.loads.values()) {
+      totalWeight += load.weight;
+    }
+    long now = System.nanoTime();
+    List<SzScheduledBulkLoad> result = new ArrayList<>(this.loads.size());
+    for (Load load : this.loads.values()) {
+      double seconds = ((double) (now - load.startNanos)) / 1000000000.0;
+      result.add(new SzScheduledBulkLoad(
+          load.id,
+          load.weight,
+          ((double) load.weight) / ((double) totalWeight),
+          load.heldSlots,
+          load.recordCount,
+          (seconds > 0.0) ? load.recordCount / seconds : 0.0));
+    }
+    return result;
+  }
+
+  /**
+   * Checks the specified weight is valid.
+   */
+  private static void checkWeight(int weight) {
+    if (weight < 1 || weight > MAX_WEIGHT) {
+      throw new IllegalArgumentException(
+          "The weight must be between 1 and " + MAX_WEIGHT + ": " + weight);
+    }
+  }
+
+  /**
+   * Checks if the specified load is the waiting load with the lowest pass.
+   */
+  private boolean isNext(Load candidate) {
+    for (Load load : this.loads.values()) {
+      if (load == candidate || load.waiting == 0) continue;
+      if (load.pass < candidate.pass) return false;
+    }
+    return true;
+  }
+
+  /**
+   * Waits until a slot is free and the specified load is next in line.
+   */
+  private synchronized void acquire(Load load) throws InterruptedException {
+    if (load.closed) {
+      throw new IllegalStateException("The load is no longer registered.");
+    }
+    // an idle load does not bank credit for the time it was not waiting
+    if (load.waiting == 0 && load.heldSlots == 0) {
+      Double minPass = null;
+      for (Load other : this.loads.values()) {
+        if (other == load || (other.waiting == 0 && other.heldSlots == 0)) {
+          continue;
+        }
+        minPass = (minPass == null)
+            ? other.pass : Math.min(minPass, other.pass);
+      }
+      if (minPass != null) load.pass = Math.max(load.pass, minPass);
+    }
+    load.waiting++;
+    try {
+      while (this.heldSlots >= this.capacity || !this.isNext(load)) {
+        this.wait();
+      }
+    } finally {
+      load.waiting--;
+    }
+    load.heldSlots++;
+    this.heldSlots++;
+  }
+
+  /**
+   * Releases a slot held by the specified load after it processed the
+   * specified number of records.
+   */
+  private synchronized void release(Load load, int recordCount) {
+    if (load.heldSlots == 0) {
+      throw new IllegalStateException("The load holds no slots.");
+    }
+    load.heldSlots--;
+    this.heldSlots--;
+    load.recordCount += recordCount;
+    load.pass += ((double) Math.max(1, recordCount)) / load.weight;
+    this.notifyAll();
+  }
+
+  /**
+   * Unregisters the specified load.
+   */
+  private synchronized void unregister(Load load) {
+    if (load.closed) return;
+    load.closed = true;
+    this.heldSlots -= load.heldSlots;
+    load.heldSlots = 0;
+    this.loads.remove(load.id);
+    this.notifyAll();
+  }
+}
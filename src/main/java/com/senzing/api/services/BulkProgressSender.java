@@ -0,0 +1,350 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzBulkLoadProgress;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Sends the {@linkplain com.senzing.api.model.SzProgressMode#DELTA delta}
+ * progress updates for a bulk data operation from a dedicated thread so that
+ * a slow client never stalls the pipeline.  The aggregation thread {@linkplain
+ * #update(Counts) posts} the cumulative counts and this thread converts the
+ * latest counts to an {@link SzBulkLoadProgress} with the deltas since the
+ * last update that was sent.  If new counts are posted before the previous
+ * ones were sent then they replace them, coalescing the updates without
+ * losing any of the deltas.
+ * <p>
+ * Full snapshots {@linkplain #snapshot(String) requested} by the aggregation
+ * thread are pre-serialized JSON text (so they reflect the state at the time
+ * they were requested) and are never coalesced.
+ */
+class BulkProgressSender extends Thread {
+  /**
+   * Sends an event to the client.
+   */
+  interface Transport {
+    /**
+     * Sends the specified data as an event with the specified name.
+     *
+     * @param eventName The name of the event.
+     * @param data The data to send, which is either an {@link
+     *             SzBulkLoadProgress} or pre-serialized JSON text.
+     *
+     * @throws Exception If a failure occurs.
+     */
+    void send(String eventName, Object data) throws Exception;
+  }
+
+  /**
+   * The cumulative counts for a bulk data operation at a point in time.
+   */
+  static final class Counts {
+    /**
+     * The value of {@link System#nanoTime()} when the counts were taken.
+     */
+    private final long nanoTime;
+
+    /**
+     * The total number of records processed.
+     */
+    private final long recordCount;
+
+    /**
+     * The number of records successfully processed.
+     */
+    private final long loadedCount;
+
+    /**
+     * The number of incomplete records.
+     */
+    private final long incompleteCount;
+
+    /**
+     * The number of failed records.
+     */
+    private final long failedCount;
+
+    /**
+     * The number of skipped duplicate records.
+     */
+    private final long duplicateCount;
+
+    /**
+     * The number of records whose outcome is not yet known.
+     */
+    private final long inFlightCount;
+
+    /**
+     * Constructs with the specified counts taken now.
+     *
+     * @param recordCount The total number of records processed.
+     * @param loadedCount The number of records successfully processed.
+     * @param incompleteCount The number of incomplete records.
+     * @param failedCount The number of failed records.
+     * @param duplicateCount The number of skipped duplicate records.
+     * @param inFlightCount The number of records whose outcome is not yet
+     *                      known.
+     */
+    Counts(long recordCount,
+           long loadedCount,
+           long incompleteCount,
+           long failedCount,
+           long duplicateCount,
+           long inFlightCount)
+    {
+      this(System.nanoTime(), recordCount, loadedCount, incompleteCount,
+           failedCount, duplicateCount, inFlightCount);
+    }
+
+    /**
+     * Constructs with the specified time and counts.
+     */
+    Counts(long nanoTime,
+           long recordCount,
+           long loadedCount,
+           long incompleteCount,
+           long failedCount,
+           long duplicateCount,
+           long inFlightCount)
+    {
+      this.nanoTime         = nanoTime;
+      this.recordCount      = recordCount;
+      this.loadedCount      = loadedCount;
+      this.incompleteCount  = incompleteCount;
+      this.failedCount      = failedCount;
+      this.duplicateCount   = duplicateCount;
+      this.inFlightCount    = inFlightCount;
+    }
+  }
+
+  /**
+   * The {@link Transport} for sending the events.
+   */
+  private final Transport transport;
+
+  /**
+   * The value of {@link System#nanoTime()} when the operation started.
+   */
+  private final long startNanos;
+
+  /**
+   * The counts for the last update that was sent.
+   */
+  private Counts lastSent;
+
+  /**
+   * The latest counts that have not yet been sent, or <tt>null</tt> if none.
+   */
+  private Counts pending;
+
+  /**
+   * The number of times the pending counts were replaced before being sent.
+   */
+  private int coalescedCount;
+
+  /**
+   * The total number of updates that were coalesced.
+   */
+  private long totalCoalescedCount;
+
+  /**
+   * The pending full snapshots as JSON text in order.
+   */
+  private final List<String> snapshots;
+
+  /**
+   * The failure that occurred sending an event, or <tt>null</tt> if none.
+   */
+  private Exception failure;
+
+  /**
+   * Whether or not this instance has been closed.
+   */
+  private boolean closed;
+
+  /**
+   * Constructs with the specified name and {@link Transport}, and starts the
+   * sending thread.
+   *
+   * @param name The name of the operation for naming the thread.
+   * @param startNanos The value of {@link System#nanoTime()} when the
+   *                   operation started.
+   * @param transport The {@link Transport} for sending the events.
+   */
+  BulkProgressSender(String name, long startNanos, Transport transport) {
+    super(name + "-progress");
+    this.transport            = transport;
+    this.startNanos           = startNanos;
+    this.lastSent             = new Counts(startNanos, 0L, 0L, 0L, 0L, 0L, 0L);
+    this.pending              = null;
+    this.coalescedCount       = 0;
+    this.totalCoalescedCount  = 0L;
+    this.snapshots            = new LinkedList<>();
+    this.failure              = null;
+    this.closed               = false;
+    this.setDaemon(true);
+    this.start();
+  }
+
+  /**
+   * Posts the latest cumulative counts to be sent as a progress update,
+   * replacing any counts that have not yet been sent.
+   *
+   * @param counts The latest {@link Counts}.
+   *
+   * @throws RuntimeException If a previous update could not be sent.
+   */
+  synchronized void update(Counts counts) {
+    this.checkFailure();
+    if (this.closed) return;
+    if (this.pending != null) {
+      this.coalescedCount++;
+      this.totalCoalescedCount++;
+    }
+    this.pending = counts;
+    this.notifyAll();
+  }
+
+  /**
+   * Queues the specified full snapshot to be sent as a progress event.
+   *
+   * @param jsonText The JSON text for the full snapshot.
+   *
+   * @throws RuntimeException If a previous update could not be sent.
+   */
+  synchronized void snapshot(String jsonText) {
+    this.checkFailure();
+    if (this.closed) return;
+    this.snapshots.add(jsonText);
+    this.notifyAll();
+  }
+
+  /**
+   * Gets the total number of progress updates that were coalesced because
+   * the client was slow to receive them.
+   *
+   * @return The total number of progress updates that were coalesced.
+   */
+  synchronized long getTotalCoalescedCount() {
+    return this.totalCoalescedCount;
+  }
+
+  /**
+   * Rethrows the failure to send a previous event, if any.
+   */
+  private void checkFailure() {
+    if (this.failure == null) return;
+    if (this.failure instanceof RuntimeException) {
+      throw ((RuntimeException) this.failure);
+    }
+    throw new RuntimeException(this.failure);
+  }
+
+  /**
+   * Stops accepting updates, waits for the sending thread to send those that
+   * were already posted and then waits for it to complete.  This should be
+   * called before the final response is sent so that no progress update
+   * follows it.
+   */
+  void close() {
+    synchronized (this) {
+      this.closed = true;
+      this.notifyAll();
+    }
+    while (this.isAlive()) {
+      try {
+        this.join();
+      } catch (InterruptedException ignore) {
+        // ignore
+      }
+    }
+  }
+
+  /**
+   * Converts the specified counts to an {@link SzBulkLoadProgress} with the
+   * deltas since the last update that was sent.
+   */
+  private SzBulkLoadProgress toProgress(Counts counts, int coalesced) {
+    Counts  last      = this.lastSent;
+    long    interval  = Math.max(0L, counts.nanoTime - last.nanoTime);
+    long    elapsed   = Math.max(0L, counts.nanoTime - this.startNanos);
+    long    delta     = counts.recordCount - last.recordCount;
+
+    SzBulkLoadProgress progress = new SzBulkLoadProgress();
+    progress.setElapsedMillis(elapsed / 1000000L);
+    progress.setIntervalMillis(interval / 1000000L);
+    progress.setRecordCount(delta);
+    progress.setLoadedRecordCount(counts.loadedCount - last.loadedCount);
+    progress.setIncompleteRecordCount(
+        counts.incompleteCount - last.incompleteCount);
+    progress.setFailedRecordCount(counts.failedCount - last.failedCount);
+    progress.setDuplicateRecordCount(
+        counts.duplicateCount - last.duplicateCount);
+    progress.setTotalRecordCount(counts.recordCount);
+    progress.setInFlightRecordCount(counts.inFlightCount);
+    progress.setRecordsPerSecond(rate(delta, interval));
+    progress.setAverageRecordsPerSecond(rate(counts.recordCount, elapsed));
+    progress.setCoalescedCount(coalesced);
+    return progress;
+  }
+
+  /**
+   * Computes the rate per second rounded to two decimal places.
+   */
+  private static double rate(long count, long nanos) {
+    if (nanos <= 0L) return 0.0;
+    double perSecond = ((double) count) * 1000000000.0 / ((double) nanos);
+    return Math.round(perSecond * 100.0) / 100.0;
+  }
+
+  /**
+   * Sends the updates as they are posted until closed and every update that
+   * was posted before closing has been sent.
+   */
+  public void run() {
+    while (true) {
+      String  snapshot  = null;
+      Counts  counts    = null;
+      int     coalesced = 0;
+      synchronized (this) {
+        while (!this.closed && this.pending == null
+               && this.snapshots.isEmpty())
+        {
+          try {
+            this.wait();
+          } catch (InterruptedException ignore) {
+            // ignore
+          }
+        }
+        if (this.pending == null && this.snapshots.isEmpty()) return;
+        if (this.snapshots.size() > 0) {
+          snapshot = this.snapshots.remove(0);
+        } else {
+          counts              = this.pending;
+          coalesced           = this.coalescedCount;
+          this.pending        = null;
+          this.coalescedCount = 0;
+        }
+      }
+
+      try {
+        if (snapshot != null) {
+          this.transport.send(BulkDataServices.PROGRESS_EVENT, snapshot);
+        } else {
+          this.transport.send(BulkDataServices.PROGRESS_DELTA_EVENT,
+                              this.toProgress(counts, coalesced));
+          this.lastSent = counts;
+        }
+
+      } catch (Exception e) {
+        e.printStackTrace();
+        synchronized (this) {
+          this.failure = e;
+          this.closed  = true;
+        }
+        return;
+      }
+    }
+  }
+}
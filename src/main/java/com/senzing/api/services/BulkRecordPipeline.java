@@ -0,0 +1,1333 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzBulkLoadStageStatistics;
+import com.senzing.api.model.SzError;
+import com.senzing.g2.engine.G2Engine;
+import com.senzing.io.JsonRecordText;
+import com.senzing.util.Timers;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.senzing.api.services.ServicesUtil.*;
+
+/**
+ * Provides a staged pipeline for processing bulk data records with bounded
+ * queues between the stages:
+ * <ol>
+ *   <li><b>parse</b> -- Records are parsed (or for JSON-lines, tokenized)
+ *       by the calling thread, or for JSON-lines and CSV data by the
+ *       {@link #DEFAULT_PARSE_THREADS} chunk parser threads of the {@link
+ *       com.senzing.io.RecordReader}, and {@linkplain #submit(JsonRecordText)
+ *       submitted} to the pipeline in order.  Each record is assigned its
+ *       zero-based sequence number in the order of submission.</li>
+ *   <li><b>prepare</b> -- Multiple threads normalize (augment) each record,
+ *       check it has the {@linkplain RecordFields required fields} and
+ *       produce its JSON text if needed, optionally hashing the submitted
+ *       record text so that outcomes can be {@linkplain BulkLoadJournal
+ *       journaled}.  If duplicates are being detected then the record is
+ *       fingerprinted.</li>
+ *   <li><b>engine</b> -- Dispatcher threads hand batches of prepared records
+ *       directly to the engine worker threads via {@link
+ *       SzApiProvider#executeInThread(com.senzing.util.WorkerThreadPool.Task)}
+ *       so each batch crosses a single thread hand-off.  Each batch first
+ *       acquires a slot from the {@link BulkLoadScheduler} so that the
+ *       engine worker threads are shared fairly among concurrent
+ *       pipelines.  If duplicates are being detected then records that are
+ *       exact duplicates of the last record successfully loaded with the
+ *       same key are found via a {@link RecordFingerprintIndex} and are not
+ *       handed to the engine, having an {@link OutcomeType#DUPLICATE}
+ *       outcome instead.</li>
+ *   <li><b>publish</b> -- If an {@link InfoPublisher} is provided then the
+ *       engine stage obtains the info for each record and a single thread
+ *       hands the info messages to the publisher in batches of up to {@link
+ *       #INFO_BATCH_SIZE} so the latency of the info sink does not hold up
+ *       the engine threads.</li>
+ *   <li><b>aggregate</b> -- A single thread hands each {@link Outcome} to
+ *       the {@link ResultHandler} so results can be tracked without
+ *       synchronization and periodically reports progress.</li>
+ * </ol>
+ * Until more than {@link #WARM_UP_RECORD_COUNT} records have been submitted
+ * the pipeline runs with a single preparer and a single dispatcher so that
+ * small record sets are processed in order.
+ */
+class BulkRecordPipeline {
+  /**
+   * The number of records that must be submitted before the pipeline scales
+   * up to the full number of preparer and dispatcher threads.
+   */
+  static final int WARM_UP_RECORD_COUNT = 1000;
+
+  /**
+   * The maximum number of prepared records handed to an engine worker thread
+   * in a single batch.
+   */
+  static final int ENGINE_BATCH_SIZE = 20;
+
+  /**
+   * The maximum number of info messages handed to the {@link InfoPublisher}
+   * in a single batch.
+   */
+  static final int INFO_BATCH_SIZE = 100;
+
+  /**
+   * The default number of threads with which the parse stage parses chunks
+   * of JSON-lines or CSV records.  When this is one the records are parsed
+   * sequentially.
+   */
+  static final int DEFAULT_PARSE_THREADS
+      = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+
+  /**
+   * The default number of threads for the prepare stage.
+   */
+  static final int DEFAULT_PREPARE_THREADS
+      = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+  /**
+   * The capacity of the queue feeding the prepare stage per preparer thread.
+   */
+  private static final int PREPARE_QUEUE_CAPACITY = 256;
+
+  /**
+   * The capacity of the queue feeding the aggregation stage.
+   */
+  private static final int RESULT_QUEUE_CAPACITY = 4096;
+
+  /**
+   * The capacity of the queue feeding the publish stage.  The engine stage
+   * blocks if the publish stage falls this far behind.
+   */
+  private static final int PUBLISH_QUEUE_CAPACITY = 8192;
+
+  /**
+   * The number of milliseconds to wait when polling the queues before
+   * checking if the pipeline is complete or aborted.
+   */
+  private static final long POLL_TIMEOUT = 50L;
+
+  /**
+   * The name of the parse stage.
+   */
+  static final String PARSE_STAGE = "parse";
+
+  /**
+   * The name of the prepare stage.
+   */
+  static final String PREPARE_STAGE = "prepare";
+
+  /**
+   * The name of the engine stage.
+   */
+  static final String ENGINE_STAGE = "engine";
+
+  /**
+   * The name of the publish stage.
+   */
+  static final String PUBLISH_STAGE = "publish";
+
+  /**
+   * The name of the aggregate stage.
+   */
+  static final String AGGREGATE_STAGE = "aggregate";
+
+  /**
+   * Normalizes a raw parsed record before it is handed to the engine.
+   * Implementations must be safe to call concurrently.
+   */
+  interface Normalizer {
+    /**
+     * Normalizes the specified raw record.
+     *
+     * @param record The raw {@link JsonRecordText} record.
+     * @return The normalized {@link JsonRecordText} record.
+     */
+    JsonRecordText normalize(JsonRecordText record);
+  }
+
+  /**
+   * Describes the fields that the {@link EngineOperation} requires of each
+   * record.  Records that are missing the required fields are not handed to
+   * the engine and instead have an {@link OutcomeType#INCOMPLETE} outcome.
+   */
+  enum RecordFields {
+    /**
+     * The record requires a data source and entity type, and its JSON text
+     * is produced for the engine (e.g.: for adding records).
+     */
+    RECORD,
+
+    /**
+     * The record requires a data source and record ID (e.g.: for deleting
+     * records).
+     */
+    RECORD_KEY,
+
+    /**
+     * The record requires either a data source and record ID or an entity ID
+     * (e.g.: for reevaluating records or entities).
+     */
+    RECORD_KEY_OR_ENTITY_ID;
+  }
+
+  /**
+   * Performs the engine operation for a single prepared record on an engine
+   * worker thread.
+   */
+  interface EngineOperation {
+    /**
+     * Performs the engine operation for the specified record.
+     *
+     * @param engineApi The {@link G2Engine} to use.
+     * @param record The {@link PreparedRecord} to process.
+     * @param info The {@link StringBuffer} to populate with the info for the
+     *             record using the "with info" engine variant, or
+     *             <tt>null</tt> if the info is not being published.
+     * @param timers The {@link Timers} for tracking the native API calls.
+     * @return The return code from the engine.
+     */
+    int process(G2Engine        engineApi,
+                PreparedRecord  record,
+                StringBuffer    info,
+                Timers          timers);
+  }
+
+  /**
+   * Publishes batches of the info messages obtained by the engine stage.  The
+   * methods are invoked on the single publish thread.
+   */
+  interface InfoPublisher {
+    /**
+     * Publishes the specified batch of raw info messages.  Failures should be
+     * handled (e.g.: logged) by the implementation.
+     *
+     * @param batch The {@link List} of raw info messages to publish.
+     */
+    void publish(List<String> batch);
+  }
+
+  /**
+   * Handles the outcomes and progress notifications from the pipeline.  All
+   * methods are invoked on the single aggregation thread.
+   */
+  interface ResultHandler {
+    /**
+     * Handles the {@link Outcome} for a single record.
+     *
+     * @param outcome The {@link Outcome} to handle.
+     */
+    void handleOutcome(Outcome outcome);
+
+    /**
+     * Handles a periodic progress notification.
+     *
+     * @param statistics The {@link List} of {@link SzBulkLoadStageStatistics}
+     *                   describing the current throughput of each stage.
+     */
+    void handleProgress(List<SzBulkLoadStageStatistics> statistics);
+  }
+
+  /**
+   * A record that has been submitted to the pipeline with its sequence number.
+   */
+  private static final class SubmittedRecord {
+    /**
+     * The zero-based sequence number of the record.
+     */
+    private final long sequence;
+
+    /**
+     * The submitted {@link JsonRecordText} record.
+     */
+    private final JsonRecordText record;
+
+    /**
+     * Constructs with the specified parameters.
+     */
+    private SubmittedRecord(long sequence, JsonRecordText record) {
+      this.sequence = sequence;
+      this.record   = record;
+    }
+  }
+
+  /**
+   * A record that has been prepared for the engine.
+   */
+  static final class PreparedRecord {
+    /**
+     * The zero-based sequence number of the record in the order submitted.
+     */
+    final long sequence;
+
+    /**
+     * The {@linkplain BulkLoadJournal#hashRecord(JsonRecordText) hash} of the
+     * submitted record text, or zero (0) if records are not being hashed.
+     */
+    final long contentHash;
+
+    /**
+     * The data source for the record.
+     */
+    final String dataSource;
+
+    /**
+     * The entity type for the record.
+     */
+    final String entityType;
+
+    /**
+     * The record ID for the record, or <tt>null</tt> if none.
+     */
+    final String recordId;
+
+    /**
+     * The entity ID for the record, or <tt>null</tt> if none or if the
+     * {@link RecordFields} do not call for one.
+     */
+    final Long entityId;
+
+    /**
+     * The JSON text for the record, or <tt>null</tt> if the {@link
+     * RecordFields} do not call for it.
+     */
+    final String recordJson;
+
+    /**
+     * Whether or not the record is missing the {@linkplain RecordFields
+     * required fields}.
+     */
+    final boolean incomplete;
+
+    /**
+     * The {@linkplain RecordFingerprintIndex#fingerprint(String) fingerprint}
+     * of the record JSON text, or <tt>null</tt> if the record was not
+     * indexed for detecting duplicates.
+     */
+    final Long fingerprint;
+
+    /**
+     * Constructs with the specified parameters.
+     */
+    PreparedRecord(long     sequence,
+                   long     contentHash,
+                   String   dataSource,
+                   String   entityType,
+                   String   recordId,
+                   Long     entityId,
+                   String   recordJson,
+                   boolean  incomplete,
+                   Long     fingerprint)
+    {
+      this.sequence     = sequence;
+      this.contentHash  = contentHash;
+      this.dataSource   = dataSource;
+      this.entityType   = entityType;
+      this.recordId     = recordId;
+      this.entityId     = entityId;
+      this.recordJson   = recordJson;
+      this.incomplete   = incomplete;
+      this.fingerprint  = fingerprint;
+    }
+  }
+
+  /**
+   * The possible states of an {@link Outcome}.
+   */
+  enum OutcomeType {
+    /**
+     * The engine operation succeeded.
+     */
+    SUCCEEDED,
+
+    /**
+     * The engine operation failed.
+     */
+    FAILED,
+
+    /**
+     * The record is missing a data source or entity type.
+     */
+    INCOMPLETE,
+
+    /**
+     * The record is an exact duplicate of the last record successfully loaded
+     * with the same key and was not handed to the engine.
+     */
+    DUPLICATE;
+  }
+
+  /**
+   * Describes the outcome for a single record.
+   */
+  static final class Outcome {
+    /**
+     * The {@link OutcomeType} for the outcome.
+     */
+    final OutcomeType type;
+
+    /**
+     * The zero-based sequence number of the record in the order submitted.
+     */
+    final long sequence;
+
+    /**
+     * The {@linkplain BulkLoadJournal#hashRecord(JsonRecordText) hash} of the
+     * submitted record text, or zero (0) if records are not being hashed.
+     */
+    final long contentHash;
+
+    /**
+     * The data source for the record.
+     */
+    final String dataSource;
+
+    /**
+     * The entity type for the record.
+     */
+    final String entityType;
+
+    /**
+     * The {@link SzError} for a failure, or <tt>null</tt> if not failed.
+     */
+    final SzError error;
+
+    /**
+     * Constructs with the specified parameters.
+     */
+    Outcome(OutcomeType     type,
+            PreparedRecord  record,
+            SzError         error)
+    {
+      this(type,
+           record.sequence,
+           record.contentHash,
+           record.dataSource,
+           record.entityType,
+           error);
+    }
+
+    /**
+     * Constructs with the specified parameters.
+     */
+    Outcome(OutcomeType type,
+            long        sequence,
+            long        contentHash,
+            String      dataSource,
+            String      entityType,
+            SzError     error)
+    {
+      this.type         = type;
+      this.sequence     = sequence;
+      this.contentHash  = contentHash;
+      this.dataSource   = dataSource;
+      this.entityType   = entityType;
+      this.error        = error;
+    }
+  }
+
+  /**
+   * The name for the pipeline used to name the threads.
+   */
+  private String name;
+
+  /**
+   * The {@link SzApiProvider} to use.
+   */
+  private SzApiProvider provider;
+
+  /**
+   * The {@link Normalizer} for the prepare stage.
+   */
+  private Normalizer normalizer;
+
+  /**
+   * The {@link EngineOperation} for the engine stage.
+   */
+  private EngineOperation operation;
+
+  /**
+   * The {@link ResultHandler} for the aggregate stage.
+   */
+  private ResultHandler handler;
+
+  /**
+   * The {@link InfoPublisher} for the publish stage, or <tt>null</tt> if the
+   * info is not being published.
+   */
+  private InfoPublisher publisher;
+
+  /**
+   * The maximum number of failed or incomplete records before aborting, or
+   * zero (0) or less if unlimited.
+   */
+  private int maxFailures;
+
+  /**
+   * The progress period in nanoseconds or <tt>null</tt> if no progress.
+   */
+  private Long progressNanos;
+
+  /**
+   * The number of preparer threads once warmed up.
+   */
+  private int prepareThreadCount;
+
+  /**
+   * The number of dispatcher threads once warmed up.
+   */
+  private int engineThreadCount;
+
+  /**
+   * The {@link RecordFields} required of each record.
+   */
+  private RecordFields requiredFields;
+
+  /**
+   * Whether or not the submitted record text is hashed in the prepare stage.
+   */
+  private boolean hashRecords;
+
+  /**
+   * The {@link RecordFingerprintIndex} for detecting duplicate records, or
+   * <tt>null</tt> if duplicates are not being detected.
+   */
+  private RecordFingerprintIndex duplicateIndex;
+
+  /**
+   * The {@link BulkLoadScheduler.Load} with which the engine stage acquires
+   * its share of the engine worker threads.
+   */
+  private BulkLoadScheduler.Load scheduledLoad;
+
+  /**
+   * The queue feeding the prepare stage.
+   */
+  private BlockingQueue<SubmittedRecord> prepareQueue;
+
+  /**
+   * The queue feeding the engine stage.
+   */
+  private BlockingQueue<PreparedRecord> engineQueue;
+
+  /**
+   * The queue feeding the aggregate stage.
+   */
+  private BlockingQueue<Outcome> resultQueue;
+
+  /**
+   * The queue feeding the publish stage, or <tt>null</tt> if the info is not
+   * being published.
+   */
+  private BlockingQueue<String> publishQueue;
+
+  /**
+   * The {@link List} of all started threads.
+   */
+  private List<Thread> threads;
+
+  /**
+   * The {@link List} of {@link Timers} for the dispatcher threads.
+   */
+  private List<Timers> timerPool;
+
+  /**
+   * The number of active preparer threads.
+   */
+  private AtomicInteger activePreparers;
+
+  /**
+   * The number of active dispatcher threads.
+   */
+  private AtomicInteger activeDispatchers;
+
+  /**
+   * The per-stage record counts.
+   */
+  private AtomicLong parsedCount;
+  private AtomicLong preparedCount;
+  private AtomicLong processedCount;
+  private AtomicLong aggregatedCount;
+  private AtomicLong publishedCount;
+
+  /**
+   * The number of failed or incomplete records.
+   */
+  private AtomicInteger failureCount;
+
+  /**
+   * The aggregation thread.
+   */
+  private Thread aggregator;
+
+  /**
+   * The nanosecond timestamp when the pipeline was started.
+   */
+  private long startNanos;
+
+  /**
+   * Flag indicating if the parse stage is complete.
+   */
+  private volatile boolean parseDone;
+
+  /**
+   * Flag indicating if the prepare stage is complete.
+   */
+  private volatile boolean prepareDone;
+
+  /**
+   * Flag indicating if the engine stage is complete.
+   */
+  private volatile boolean engineDone;
+
+  /**
+   * Flag indicating if the pipeline has been aborted.
+   */
+  private volatile boolean aborted;
+
+  /**
+   * Flag indicating if the pipeline has warmed up.
+   */
+  private boolean warmedUp;
+
+  /**
+   * The failure that occurred on the aggregation thread, if any.
+   */
+  private volatile Throwable handlerFailure;
+
+  /**
+   * Constructs and starts the pipeline.
+   *
+   * @param name The name for the pipeline used in naming the threads.
+   * @param provider The {@link SzApiProvider} to use.
+   * @param prepareThreadCount The number of preparer threads.
+   * @param normalizer The {@link Normalizer} for the prepare stage.
+   * @param operation The {@link EngineOperation} for the engine stage.
+   * @param handler The {@link ResultHandler} for the aggregate stage.
+   * @param maxFailures The maximum number of failed or incomplete records
+   *                    before aborting, or zero (0) or less if unlimited.
+   * @param progressPeriod The number of milliseconds between progress
+   *                       notifications, or <tt>null</tt> if none.
+   */
+  BulkRecordPipeline(String           name,
+                     SzApiProvider    provider,
+                     int              prepareThreadCount,
+                     Normalizer       normalizer,
+                     EngineOperation  operation,
+                     ResultHandler    handler,
+                     int              maxFailures,
+                     Long             progressPeriod)
+  {
+    this(name,
+         provider,
+         prepareThreadCount,
+         normalizer,
+         operation,
+         handler,
+         maxFailures,
+         progressPeriod,
+         RecordFields.RECORD,
+         false,
+         false,
+         null);
+  }
+
+  /**
+   * Constructs and starts the pipeline with the specified {@link
+   * RecordFields}, optionally {@linkplain
+   * BulkLoadJournal#hashRecord(JsonRecordText) hashing} the submitted record
+   * text so the {@link Outcome} instances can be journaled, optionally
+   * detecting duplicate records and optionally publishing the info for each
+   * record via the specified {@link InfoPublisher}.
+   *
+   * @param name The name for the pipeline used in naming the threads.
+   * @param provider The {@link SzApiProvider} to use.
+   * @param prepareThreadCount The number of preparer threads.
+   * @param normalizer The {@link Normalizer} for the prepare stage.
+   * @param operation The {@link EngineOperation} for the engine stage.
+   * @param handler The {@link ResultHandler} for the aggregate stage.
+   * @param maxFailures The maximum number of failed or incomplete records
+   *                    before aborting, or zero (0) or less if unlimited.
+   * @param progressPeriod The number of milliseconds between progress
+   *                       notifications, or <tt>null</tt> if none.
+   * @param requiredFields The {@link RecordFields} required of each record.
+   * @param hashRecords <tt>true</tt> if the submitted record text should be
+   *                    hashed, otherwise <tt>false</tt>.
+   * @param detectDuplicates <tt>true</tt> if records that are exact
+   *                         duplicates of the last record loaded with the
+   *                         same key should bypass the engine, otherwise
+   *                         <tt>false</tt>.  This is ignored unless the
+   *                         required fields are {@link RecordFields#RECORD}.
+   * @param publisher The {@link InfoPublisher} for the publish stage, or
+   *                  <tt>null</tt> if the info should not be obtained.
+   */
+  BulkRecordPipeline(String           name,
+                     SzApiProvider    provider,
+                     int              prepareThreadCount,
+                     Normalizer       normalizer,
+                     EngineOperation  operation,
+                     ResultHandler    handler,
+                     int              maxFailures,
+                     Long             progressPeriod,
+                     RecordFields     requiredFields,
+                     boolean          hashRecords,
+                     boolean          detectDuplicates,
+                     InfoPublisher    publisher)
+  {
+    this.name               = name;
+    this.requiredFields     = requiredFields;
+    this.hashRecords        = hashRecords;
+    this.duplicateIndex
+        = (detectDuplicates && requiredFields == RecordFields.RECORD)
+        ? new RecordFingerprintIndex() : null;
+    this.provider           = provider;
+    this.normalizer         = normalizer;
+    this.operation          = operation;
+    this.handler            = handler;
+    this.publisher          = publisher;
+    this.maxFailures        = maxFailures;
+    this.progressNanos      = (progressPeriod == null)
+                            ? null : progressPeriod * 1000000L;
+    this.prepareThreadCount = Math.max(1, prepareThreadCount);
+    this.engineThreadCount  = Math.max(1, provider.getConcurrency());
+
+    this.prepareQueue = new ArrayBlockingQueue<>(
+        this.prepareThreadCount * PREPARE_QUEUE_CAPACITY);
+    this.engineQueue = new ArrayBlockingQueue<>(
+        this.engineThreadCount * ENGINE_BATCH_SIZE * 2);
+    this.resultQueue = new ArrayBlockingQueue<>(RESULT_QUEUE_CAPACITY);
+    this.publishQueue = (publisher == null) ? null
+        : new ArrayBlockingQueue<>(PUBLISH_QUEUE_CAPACITY);
+
+    this.threads            = new ArrayList<>();
+    this.timerPool          = Collections.synchronizedList(new ArrayList<>());
+    this.activePreparers    = new AtomicInteger(0);
+    this.activeDispatchers  = new AtomicInteger(0);
+    this.parsedCount        = new AtomicLong(0L);
+    this.preparedCount      = new AtomicLong(0L);
+    this.processedCount     = new AtomicLong(0L);
+    this.aggregatedCount    = new AtomicLong(0L);
+    this.publishedCount     = new AtomicLong(0L);
+    this.failureCount       = new AtomicInteger(0);
+    this.parseDone          = false;
+    this.prepareDone        = false;
+    this.engineDone         = false;
+    this.aborted            = false;
+    this.warmedUp           = false;
+    this.handlerFailure     = null;
+    this.startNanos         = System.nanoTime();
+    this.scheduledLoad      = BulkLoadScheduler.getInstance(provider).register(
+        name, BulkLoadScheduler.DEFAULT_WEIGHT);
+
+    // start with a single preparer and dispatcher
+    this.startPreparers(1);
+    this.startDispatchers(1);
+    if (this.publisher != null) {
+      this.startThread(new Thread(this::publish, name + "-" + PUBLISH_STAGE));
+    }
+
+    this.aggregator = new Thread(this::aggregate, name + "-aggregate");
+    this.aggregator.start();
+  }
+
+  /**
+   * Submits the specified parsed record to the pipeline, blocking until
+   * there is room in the queue.  The record is assigned the next sequence
+   * number starting from zero (0).  This should only be called from a single
+   * thread.
+   *
+   * @param record The parsed {@link JsonRecordText} record.
+   *
+   * @return <tt>true</tt> if the record was submitted and <tt>false</tt> if
+   *         the pipeline has been aborted.
+   */
+  boolean submit(JsonRecordText record) {
+    if (this.parseDone) {
+      throw new IllegalStateException(
+          "Cannot submit records after the pipeline has been finished.");
+    }
+    SubmittedRecord submitted
+        = new SubmittedRecord(this.parsedCount.get(), record);
+    try {
+      while (!this.aborted) {
+        if (this.prepareQueue.offer(submitted,
+                                    POLL_TIMEOUT,
+                                    TimeUnit.MILLISECONDS))
+        {
+          long count = this.parsedCount.incrementAndGet();
+          if (!this.warmedUp && count > WARM_UP_RECORD_COUNT) {
+            this.warmedUp = true;
+            this.startPreparers(this.prepareThreadCount - 1);
+            this.startDispatchers(this.engineThreadCount - 1);
+          }
+          return true;
+        }
+      }
+    } catch (InterruptedException ignore) {
+      this.abort();
+    }
+    return false;
+  }
+
+  /**
+   * Checks if the pipeline has been aborted either explicitly or because the
+   * maximum number of failures was reached.
+   *
+   * @return <tt>true</tt> if aborted, otherwise <tt>false</tt>.
+   */
+  boolean isAborted() {
+    return this.aborted;
+  }
+
+  /**
+   * Aborts the pipeline.  Records that have not yet been handed to the engine
+   * are discarded, but the outcomes of in-flight records are still handled.
+   */
+  void abort() {
+    this.aborted = true;
+    this.prepareQueue.clear();
+    this.engineQueue.clear();
+  }
+
+  /**
+   * Marks the parse stage as complete and waits for the remaining stages to
+   * complete.  The timings from the dispatcher threads are merged into the
+   * specified {@link Timers}.
+   *
+   * @param timers The {@link Timers} to merge the timings into.
+   *
+   * @throws RuntimeException If the {@link ResultHandler} threw an exception.
+   */
+  void finish(Timers timers) {
+    this.parseDone = true;
+    if (this.activePreparers.get() == 0) this.prepareDone = true;
+
+    boolean interrupted = false;
+    for (Thread thread : this.allThreads()) {
+      while (thread.isAlive()) {
+        try {
+          thread.join();
+        } catch (InterruptedException e) {
+          interrupted = true;
+          this.abort();
+        }
+      }
+    }
+    if (interrupted) Thread.currentThread().interrupt();
+    this.scheduledLoad.close();
+
+    // merge the timers
+    if (timers != null) {
+      synchronized (this.timerPool) {
+        for (Timers subTimers : this.timerPool) {
+          timers.mergeWith(subTimers);
+        }
+      }
+    }
+
+    // check for a failure in the handler
+    Throwable failure = this.handlerFailure;
+    if (failure instanceof RuntimeException) {
+      throw ((RuntimeException) failure);
+    } else if (failure instanceof Error) {
+      throw ((Error) failure);
+    } else if (failure != null) {
+      throw new RuntimeException(failure);
+    }
+  }
+
+  /**
+   * Returns a snapshot of the {@link List} of all threads started by the
+   * pipeline with the aggregation thread last.
+   */
+  private List<Thread> allThreads() {
+    List<Thread> result;
+    synchronized (this.threads) {
+      result = new ArrayList<>(this.threads);
+    }
+    result.add(this.aggregator);
+    return result;
+  }
+
+  /**
+   * Returns the unique ID with which this pipeline is registered with the
+   * {@link BulkLoadScheduler}, which identifies the bulk data operation while
+   * it is running.
+   *
+   * @return The unique ID with which this pipeline is registered.
+   */
+  String getScheduledId() {
+    return this.scheduledLoad.getId();
+  }
+
+  /**
+   * Returns the {@link List} of {@link SzBulkLoadStageStatistics} describing
+   * the current throughput of each stage.
+   *
+   * @return The {@link List} of {@link SzBulkLoadStageStatistics}.
+   */
+  List<SzBulkLoadStageStatistics> getStageStatistics() {
+    double seconds = ((double) (System.nanoTime() - this.startNanos))
+        / 1000000000.0;
+    if (seconds <= 0.0) seconds = 1.0;
+
+    List<SzBulkLoadStageStatistics> result = new ArrayList<>(5);
+    result.add(newStatistics(
+        PARSE_STAGE, 1, this.parsedCount.get(), seconds, 0));
+    result.add(newStatistics(
+        PREPARE_STAGE, this.activePreparers.get(), this.preparedCount.get(),
+        seconds, this.prepareQueue.size()));
+    result.add(newStatistics(
+        ENGINE_STAGE, this.activeDispatchers.get(), this.processedCount.get(),
+        seconds, this.engineQueue.size()));
+    if (this.publisher != null) {
+      result.add(newStatistics(
+          PUBLISH_STAGE, 1, this.publishedCount.get(), seconds,
+          this.publishQueue.size()));
+    }
+    result.add(newStatistics(
+        AGGREGATE_STAGE, 1, this.aggregatedCount.get(), seconds,
+        this.resultQueue.size()));
+    return result;
+  }
+
+  /**
+   * Creates a new {@link SzBulkLoadStageStatistics} instance.
+   */
+  private static SzBulkLoadStageStatistics newStatistics(String stage,
+                                                         int    threadCount,
+                                                         long   count,
+                                                         double seconds,
+                                                         int    backlog)
+  {
+    double rate = Math.round((((double) count) / seconds) * 100.0) / 100.0;
+    return new SzBulkLoadStageStatistics(
+        stage, threadCount, count, rate, backlog);
+  }
+
+  /**
+   * Starts the specified number of preparer threads.
+   */
+  private void startPreparers(int count) {
+    for (int index = 0; index < count; index++) {
+      this.activePreparers.incrementAndGet();
+      Thread thread = new Thread(
+          this::prepare,
+          this.name + "-" + PREPARE_STAGE + "-" + this.threadCount());
+      this.startThread(thread);
+    }
+  }
+
+  /**
+   * Starts the specified number of dispatcher threads.
+   */
+  private void startDispatchers(int count) {
+    for (int index = 0; index < count; index++) {
+      this.activeDispatchers.incrementAndGet();
+      Thread thread = new Thread(
+          this::dispatch,
+          this.name + "-" + ENGINE_STAGE + "-" + this.threadCount());
+      this.startThread(thread);
+    }
+  }
+
+  /**
+   * Returns the number of threads started so far.
+   */
+  private int threadCount() {
+    synchronized (this.threads) {
+      return this.threads.size();
+    }
+  }
+
+  /**
+   * Records and starts the specified thread.
+   */
+  private void startThread(Thread thread) {
+    synchronized (this.threads) {
+      this.threads.add(thread);
+    }
+    thread.start();
+  }
+
+  /**
+   * Puts the specified item on the specified queue unless the pipeline is
+   * aborted.  Outcomes are always enqueued so that they are aggregated.
+   */
+  private <T> void enqueue(BlockingQueue<T> queue, T item, boolean force)
+      throws InterruptedException
+  {
+    while (force || !this.aborted) {
+      if (queue.offer(item, POLL_TIMEOUT, TimeUnit.MILLISECONDS)) return;
+    }
+  }
+
+  /**
+   * Checks if the specified value is <tt>null</tt> or only whitespace.
+   */
+  private static boolean isBlank(String value) {
+    return (value == null || value.trim().length() == 0);
+  }
+
+  /**
+   * Parses the specified entity ID text, returning <tt>null</tt> if it is
+   * <tt>null</tt> or not a valid entity ID.
+   */
+  private static Long parseEntityId(String text) {
+    if (isBlank(text)) return null;
+    try {
+      return Long.parseLong(text.trim());
+
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * The body of the preparer threads.
+   */
+  private void prepare() {
+    try {
+      while (!this.aborted) {
+        SubmittedRecord submitted
+            = this.prepareQueue.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+        if (submitted == null) {
+          if (this.parseDone && this.prepareQueue.isEmpty()) break;
+          continue;
+        }
+
+        // hash the record text as submitted so it matches on resume
+        long contentHash = (this.hashRecords)
+            ? BulkLoadJournal.hashRecord(submitted.record) : 0L;
+
+        // a record that cannot be prepared fails on its own so that the
+        // maximum number of failures applies
+        PreparedRecord prepared;
+        try {
+          prepared = this.prepareRecord(submitted, contentHash);
+
+        } catch (RuntimeException e) {
+          Outcome outcome = new Outcome(OutcomeType.FAILED,
+                                        submitted.sequence,
+                                        contentHash,
+                                        null,
+                                        null,
+                                        new SzError(e.getMessage()));
+          this.preparedCount.incrementAndGet();
+          this.trackFailure(outcome);
+          this.enqueue(this.resultQueue, outcome, true);
+          continue;
+        }
+
+        this.preparedCount.incrementAndGet();
+
+        this.enqueue(this.engineQueue, prepared, false);
+      }
+    } catch (InterruptedException e) {
+      this.abort();
+
+    } catch (RuntimeException e) {
+      e.printStackTrace();
+      this.handlerFailure = e;
+      this.abort();
+
+    } finally {
+      if (this.activePreparers.decrementAndGet() == 0 && this.parseDone) {
+        this.prepareDone = true;
+      }
+    }
+  }
+
+  /**
+   * Normalizes the specified submitted record, checks that it has the
+   * required fields and produces its JSON text and fingerprint as needed.
+   */
+  private PreparedRecord prepareRecord(SubmittedRecord  submitted,
+                                       long             contentHash)
+  {
+    JsonRecordText record = this.normalizer.normalize(submitted.record);
+
+    String  dataSource  = record.getString("DATA_SOURCE");
+    String  entityType  = record.getString("ENTITY_TYPE");
+    String  recordId    = record.getString("RECORD_ID");
+    Long    entityId    = null;
+    boolean incomplete;
+    switch (this.requiredFields) {
+      case RECORD_KEY:
+        incomplete = (isBlank(dataSource) || isBlank(recordId));
+        break;
+      case RECORD_KEY_OR_ENTITY_ID:
+        entityId    = parseEntityId(record.getString("ENTITY_ID"));
+        incomplete  = (entityId == null
+                       && (isBlank(dataSource) || isBlank(recordId)));
+        break;
+      default:
+        incomplete = (isBlank(dataSource) || isBlank(entityType));
+    }
+
+    String recordJson
+        = (incomplete || this.requiredFields != RecordFields.RECORD)
+        ? null : record.toJsonText();
+
+    // fingerprint the record so the engine stage can detect duplicates
+    Long fingerprint = (recordJson != null && this.duplicateIndex != null)
+        ? RecordFingerprintIndex.fingerprint(recordJson) : null;
+
+    return new PreparedRecord(
+        submitted.sequence, contentHash, dataSource, entityType, recordId,
+        entityId, recordJson, incomplete, fingerprint);
+  }
+
+  /**
+   * The body of the dispatcher threads.
+   */
+  private void dispatch() {
+    Timers timers = new Timers();
+    this.timerPool.add(timers);
+    List<PreparedRecord> batch = new ArrayList<>(ENGINE_BATCH_SIZE);
+    List<String>         infos = new ArrayList<>(ENGINE_BATCH_SIZE);
+    try {
+      while (!this.aborted) {
+        PreparedRecord first = this.engineQueue.poll(POLL_TIMEOUT,
+                                                     TimeUnit.MILLISECONDS);
+        if (first == null) {
+          if (this.prepareDone && this.engineQueue.isEmpty()) break;
+          continue;
+        }
+        batch.clear();
+        batch.add(first);
+        this.engineQueue.drainTo(batch, ENGINE_BATCH_SIZE - 1);
+
+        // wait for this pipeline's turn to use an engine worker thread
+        infos.clear();
+        List<Outcome> outcomes;
+        this.scheduledLoad.acquire();
+        try {
+          outcomes = this.processBatch(batch, infos, timers);
+        } finally {
+          this.scheduledLoad.release(batch.size());
+        }
+
+        // the info is always published since the records were processed
+        for (String info : infos) {
+          this.enqueue(this.publishQueue, info, true);
+        }
+        for (Outcome outcome : outcomes) {
+          this.enqueue(this.resultQueue, outcome, true);
+        }
+      }
+    } catch (InterruptedException e) {
+      this.abort();
+
+    } finally {
+      if (this.activeDispatchers.decrementAndGet() == 0
+          && (this.prepareDone || this.aborted))
+      {
+        this.engineDone = true;
+      }
+    }
+  }
+
+  /**
+   * Processes the specified batch of records on a single engine worker thread
+   * and returns the {@link List} of {@link Outcome} instances.  If the info is
+   * being published then the non-empty info messages for the successfully
+   * processed records are added to the specified {@link List}.
+   */
+  private List<Outcome> processBatch(List<PreparedRecord> batch,
+                                     List<String>         infos,
+                                     Timers               timers)
+  {
+    List<Outcome> outcomes = new ArrayList<>(batch.size());
+    try {
+      G2Engine engineApi = this.provider.getEngineApi();
+      enteringQueue(timers);
+      this.provider.executeInThread(() -> {
+        exitingQueue(timers);
+        for (PreparedRecord record : batch) {
+          // stop if aborted, including by a failure in this batch
+          if (this.aborted) break;
+
+          Outcome outcome = this.processRecord(
+              engineApi, record, infos, timers);
+          outcomes.add(outcome);
+          this.processedCount.incrementAndGet();
+          this.trackFailure(outcome);
+        }
+        return null;
+      });
+
+    } catch (Exception e) {
+      // fail the records that did not get processed
+      for (int index = outcomes.size(); index < batch.size(); index++) {
+        PreparedRecord record = batch.get(index);
+        Outcome outcome = new Outcome(OutcomeType.FAILED,
+                                      record,
+                                      new SzError(e.getMessage()));
+        outcomes.add(outcome);
+        this.processedCount.incrementAndGet();
+        this.trackFailure(outcome);
+      }
+    }
+    return outcomes;
+  }
+
+  /**
+   * Processes the specified record on the current engine worker thread and
+   * returns its {@link Outcome}.  If the record was fingerprinted then the
+   * lock for its key is held while checking if it is a duplicate, loading it
+   * and recording its fingerprint so that the {@link RecordFingerprintIndex}
+   * only ever holds the fingerprint of the record the engine last loaded
+   * with that key.
+   */
+  private Outcome processRecord(G2Engine        engineApi,
+                                PreparedRecord  record,
+                                List<String>    infos,
+                                Timers          timers)
+  {
+    if (record.incomplete) {
+      return new Outcome(OutcomeType.INCOMPLETE, record, null);
+    }
+    if (record.fingerprint == null) {
+      return this.loadRecord(engineApi, record, infos, timers);
+    }
+    synchronized (this.duplicateIndex.lockFor(
+        record.dataSource, record.recordId, record.fingerprint))
+    {
+      if (this.duplicateIndex.isDuplicate(
+          record.dataSource, record.recordId, record.fingerprint))
+      {
+        return new Outcome(OutcomeType.DUPLICATE, record, null);
+      }
+      Outcome outcome = this.loadRecord(engineApi, record, infos, timers);
+      if (outcome.type == OutcomeType.SUCCEEDED) {
+        this.duplicateIndex.record(
+            record.dataSource, record.recordId, record.fingerprint);
+      }
+      return outcome;
+    }
+  }
+
+  /**
+   * Performs the {@link EngineOperation} for the specified record on the
+   * current engine worker thread and returns its {@link Outcome}.  If the
+   * info is being published then the non-empty info message is added to the
+   * specified {@link List}.
+   */
+  private Outcome loadRecord(G2Engine       engineApi,
+                             PreparedRecord record,
+                             List<String>   infos,
+                             Timers         timers)
+  {
+    SzError error = null;
+    StringBuffer info = (this.publisher == null) ? null : new StringBuffer();
+    try {
+      int returnCode = this.operation.process(engineApi, record, info, timers);
+      if (returnCode != 0) {
+        error = new SzError(engineApi);
+      } else if (info != null && info.toString().trim().length() > 0) {
+        infos.add(info.toString());
+      }
+
+    } catch (Exception e) {
+      error = new SzError(e.getMessage());
+    }
+    return new Outcome(
+        (error == null) ? OutcomeType.SUCCEEDED : OutcomeType.FAILED,
+        record,
+        error);
+  }
+
+  /**
+   * Counts the specified {@link Outcome} if it is a failure and aborts the
+   * pipeline if the maximum number of failures has been reached.
+   */
+  private void trackFailure(Outcome outcome) {
+    if (outcome.type == OutcomeType.SUCCEEDED) return;
+    if (outcome.type == OutcomeType.DUPLICATE) return;
+    int count = this.failureCount.incrementAndGet();
+    if (this.maxFailures > 0 && count >= this.maxFailures) {
+      this.abort();
+    }
+  }
+
+  /**
+   * The body of the publish thread.  The info is published even if the
+   * pipeline is aborted since the records were already processed.
+   */
+  private void publish() {
+    List<String> batch = new ArrayList<>(INFO_BATCH_SIZE);
+    try {
+      while (true) {
+        String first = this.publishQueue.poll(POLL_TIMEOUT,
+                                              TimeUnit.MILLISECONDS);
+        if (first == null) {
+          if (this.engineDone && this.publishQueue.isEmpty()) break;
+          continue;
+        }
+        batch.clear();
+        batch.add(first);
+        this.publishQueue.drainTo(batch, INFO_BATCH_SIZE - 1);
+
+        try {
+          this.publisher.publish(batch);
+
+        } catch (RuntimeException e) {
+          e.printStackTrace();
+        }
+        this.publishedCount.addAndGet(batch.size());
+      }
+    } catch (InterruptedException e) {
+      this.abort();
+    }
+  }
+
+  /**
+   * The body of the aggregation thread.
+   */
+  private void aggregate() {
+    long lastProgress = System.nanoTime();
+    boolean failed = false;
+    try {
+      while (true) {
+        Outcome outcome = this.resultQueue.poll(POLL_TIMEOUT,
+                                                TimeUnit.MILLISECONDS);
+        if (outcome != null && !failed) {
+          try {
+            this.handler.handleOutcome(outcome);
+          } catch (RuntimeException|Error e) {
+            failed = true;
+            this.handlerFailure = e;
+            this.abort();
+          }
+        }
+        if (outcome != null) this.aggregatedCount.incrementAndGet();
+
+        // check if done
+        if (outcome == null && this.engineDone && this.resultQueue.isEmpty()) {
+          break;
+        }
+
+        // check if time to report progress
+        long now = System.nanoTime();
+        if (!failed && this.progressNanos != null
+            && (now - lastProgress) > this.progressNanos)
+        {
+          lastProgress = now;
+          try {
+            this.handler.handleProgress(this.getStageStatistics());
+          } catch (RuntimeException|Error e) {
+            failed = true;
+            this.handlerFailure = e;
+            this.abort();
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      this.abort();
+    }
+  }
+}
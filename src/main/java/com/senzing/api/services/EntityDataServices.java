@@ -3,6 +3,7 @@ package com.senzing.api.services;
 import com.senzing.api.model.*;
 import com.senzing.g2.engine.G2Engine;
 import com.senzing.util.JsonUtils;
+import com.senzing.util.LongObjectHashMap;
 import com.senzing.util.SemanticVersion;
 import com.senzing.util.Timers;
 
@@ -715,7 +716,7 @@ public class EntityDataServices {
         processingRawData(timers);
 
         // organize all the entities into a map for lookup
-        Map<Long, SzEntityData> dataMap
+        LongObjectHashMap<SzEntityData> dataMap
             = parseEntityDataList(sb.toString(), provider);
 
         // find the entity ID matching the data source and record ID
@@ -852,7 +853,7 @@ public class EntityDataServices {
         processingRawData(timers);
 
         // organize all the entities into a map for lookup
-        Map<Long, SzEntityData> dataMap
+        LongObjectHashMap<SzEntityData> dataMap
             = parseEntityDataList(rawData, provider);
 
         // get the result entity data
@@ -1331,9 +1332,9 @@ public class EntityDataServices {
    * @return
    */
   private static SzEntityData getAugmentedEntityData(
-      long                      entityId,
-      Map<Long, SzEntityData>   dataMap,
-      SzApiProvider             provider)
+      long                            entityId,
+      LongObjectHashMap<SzEntityData> dataMap,
+      SzApiProvider                   provider)
   {
     // get the result entity data
     SzEntityData entityData = dataMap.get(entityId);
@@ -1381,7 +1382,7 @@ public class EntityDataServices {
   /**
    *
    */
-  private static Map<Long, SzEntityData> parseEntityDataList(
+  private static LongObjectHashMap<SzEntityData> parseEntityDataList(
       String rawData, SzApiProvider provider)
   {
     // parse the raw response and extract the entities that were found
@@ -1392,7 +1393,8 @@ public class EntityDataServices {
         null, jsonArr, (f) -> provider.getAttributeClassForFeature(f));
 
     // organize all the entities into a map for lookup
-    Map<Long, SzEntityData> dataMap = new LinkedHashMap<>();
+    LongObjectHashMap<SzEntityData> dataMap
+        = new LongObjectHashMap<>(list.size());
     for (SzEntityData edata : list) {
       SzResolvedEntity resolvedEntity = edata.getResolvedEntity();
       dataMap.put(resolvedEntity.getEntityId(), edata);
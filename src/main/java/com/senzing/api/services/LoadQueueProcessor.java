@@ -0,0 +1,819 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzLoadQueueStatus;
+import com.senzing.api.server.mq.SzMessageSource;
+import com.senzing.api.server.mq.SzReceivedMessage;
+import com.senzing.g2.engine.G2Engine;
+import com.senzing.util.JsonUtils;
+
+import javax.json.JsonObject;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.senzing.api.services.ServicesUtil.*;
+
+/**
+ * Consumes record load and delete messages from an {@link SzMessageSource}
+ * and applies them to the engine of an {@link SzApiProvider}.  A single
+ * thread receives the messages and hands each to one of several lanes
+ * according to a hash of its data source and record ID, and each lane has a
+ * thread that processes its messages in order on an engine thread.  This
+ * processes messages for different records in parallel while preserving the
+ * order of the messages for the same record.  Each message is acknowledged
+ * only after the engine has committed the change, so a message that is in
+ * flight when the processor is stopped or the process terminates is
+ * redelivered by the source.  The receiving thread does not block when a
+ * lane is full, but holds back the messages for that lane and {@linkplain
+ * SzMessageSource#pause(SzReceivedMessage) pauses} the source for them so
+ * it can keep polling the source until the lane drains.
+ * <p>
+ * The message body is the JSON record.  The {@link #OPERATION_PROPERTY}
+ * message property selects the operation which is either {@link
+ * #LOAD_OPERATION} (the default) or {@link #DELETE_OPERATION}, and the
+ * optional {@link #LOAD_ID_PROPERTY} message property specifies the load ID.
+ * Messages that cannot be parsed are logged and rejected.
+ * <p>
+ * If the engine reports that the data source, record or entity was not found
+ * then the failure is permanent and the message is logged and rejected.  Any
+ * other failure (e.g.: while the engine is being reinitialized) is retried
+ * on the same lane, so that later messages for the same record wait behind
+ * it, up to {@link #DEFAULT_MAX_ATTEMPTS} attempts with an exponentially
+ * increasing delay starting at {@link #DEFAULT_RETRY_DELAY} milliseconds,
+ * after which the message is rejected.  A message that is waiting to be
+ * retried when the processor is stopped is left unacknowledged for the
+ * source to redeliver.  If an info sink is configured then the info for each
+ * processed message is published to it.
+ */
+public class LoadQueueProcessor {
+  /**
+   * The message property that selects the operation.
+   */
+  public static final String OPERATION_PROPERTY = "operation";
+
+  /**
+   * The message property for the optional load ID.
+   */
+  public static final String LOAD_ID_PROPERTY = "loadId";
+
+  /**
+   * The {@linkplain #OPERATION_PROPERTY operation} for loading the record,
+   * which is the default.
+   */
+  public static final String LOAD_OPERATION = "load";
+
+  /**
+   * The {@linkplain #OPERATION_PROPERTY operation} for deleting the record.
+   */
+  public static final String DELETE_OPERATION = "delete";
+
+  /**
+   * The maximum number of messages that are queued for each lane.
+   */
+  public static final int LANE_CAPACITY = 100;
+
+  /**
+   * The default maximum number of attempts to process a message that fails
+   * with a retryable error.
+   */
+  public static final int DEFAULT_MAX_ATTEMPTS = 5;
+
+  /**
+   * The default number of milliseconds to wait before the first retry of a
+   * message, which doubles with each subsequent retry.
+   */
+  public static final long DEFAULT_RETRY_DELAY = 1000L;
+
+  /**
+   * The number of milliseconds to wait for messages to be received or
+   * queued before checking if the processor should complete.
+   */
+  private static final long POLL_TIMEOUT = 1000L;
+
+  /**
+   * The number of milliseconds to wait for room in a lane before holding
+   * back a task, and to wait for messages while tasks are held back.
+   */
+  private static final long HELD_TIMEOUT = 10L;
+
+  /**
+   * The number of seconds over which the recent rate of processing is
+   * measured.
+   */
+  private static final int RATE_WINDOW = 60;
+
+  /**
+   * The running load queue processors for each {@link SzApiProvider}.
+   */
+  private static final Map<SzApiProvider, LoadQueueProcessor> PROCESSORS
+      = new WeakHashMap<>();
+
+  /**
+   * Gets the running load queue processor for the specified {@link
+   * SzApiProvider}.
+   *
+   * @param provider The {@link SzApiProvider}.
+   *
+   * @return The running {@link LoadQueueProcessor} for the specified provider,
+   *         or <tt>null</tt> if none is running.
+   */
+  static LoadQueueProcessor getInstance(SzApiProvider provider) {
+    synchronized (PROCESSORS) {
+      return PROCESSORS.get(provider);
+    }
+  }
+
+  /**
+   * The exception thrown when the engine fails to process a {@link Task},
+   * which describes the engine error code.
+   */
+  private static class EngineException extends IllegalStateException {
+    /**
+     * The engine error code.
+     */
+    private final int errorCode;
+
+    /**
+     * Constructs with the engine error code and message.
+     */
+    private EngineException(int errorCode, String message) {
+      super(message);
+      this.errorCode = errorCode;
+    }
+  }
+
+  /**
+   * Describes a received message that has been parsed and assigned to a
+   * lane.
+   */
+  private static class Task {
+    private SzReceivedMessage message;
+    private boolean           delete;
+    private String            dataSource;
+    private String            recordId;
+    private String            loadId;
+    private boolean           paused;
+  }
+
+  /**
+   * The {@link SzApiProvider} whose engine processes the messages.
+   */
+  private SzApiProvider provider;
+
+  /**
+   * The {@link SzMessageSource} from which the messages are received.
+   */
+  private SzMessageSource source;
+
+  /**
+   * The number of lanes (and lane threads).
+   */
+  private int threadCount;
+
+  /**
+   * The maximum number of attempts to process a message that fails with a
+   * retryable error.
+   */
+  private int maxAttempts;
+
+  /**
+   * The number of milliseconds to wait before the first retry of a message.
+   */
+  private long retryDelay;
+
+  /**
+   * The queue of tasks for each lane.
+   */
+  private List<BlockingQueue<Task>> lanes;
+
+  /**
+   * The receiving thread followed by the lane threads.
+   */
+  private List<Thread> threads;
+
+  /**
+   * The value of {@link System#nanoTime()} when the processor was started.
+   */
+  private long startNanos;
+
+  /**
+   * The number of messages that have been received.
+   */
+  private long receivedCount;
+
+  /**
+   * The number of records that have been loaded.
+   */
+  private long loadedCount;
+
+  /**
+   * The number of records that have been deleted.
+   */
+  private long deletedCount;
+
+  /**
+   * The number of messages that failed to process.
+   */
+  private long failedCount;
+
+  /**
+   * The number of times that processing a message was retried.
+   */
+  private long retriedCount;
+
+  /**
+   * The epoch second of each bucket of the recent processing counts.
+   */
+  private long[] bucketSeconds;
+
+  /**
+   * The number of messages processed in each bucket.
+   */
+  private long[] bucketCounts;
+
+  /**
+   * Flag indicating if the threads should complete.
+   */
+  private boolean complete;
+
+  /**
+   * Constructs with the {@link SzApiProvider}, the {@link SzMessageSource}
+   * and the number of lanes.  The threads are <b>not</b> started by this
+   * constructor.
+   *
+   * @param provider The {@link SzApiProvider} whose engine processes the
+   *                 messages.
+   * @param source The {@link SzMessageSource} from which the messages are
+   *               received.
+   * @param threadCount The positive number of lanes which is typically the
+   *                    engine concurrency.
+   *
+   * @throws IllegalArgumentException If the thread count is not positive.
+   */
+  public LoadQueueProcessor(SzApiProvider   provider,
+                            SzMessageSource source,
+                            int             threadCount)
+  {
+    this(provider, source, threadCount,
+         DEFAULT_MAX_ATTEMPTS, DEFAULT_RETRY_DELAY);
+  }
+
+  /**
+   * Constructs with the {@link SzApiProvider}, the {@link SzMessageSource},
+   * the number of lanes, the maximum number of attempts to process a message
+   * that fails with a retryable error and the number of milliseconds to wait
+   * before the first retry.  The threads are <b>not</b> started by this
+   * constructor.
+   *
+   * @param provider The {@link SzApiProvider} whose engine processes the
+   *                 messages.
+   * @param source The {@link SzMessageSource} from which the messages are
+   *               received.
+   * @param threadCount The positive number of lanes which is typically the
+   *                    engine concurrency.
+   * @param maxAttempts The positive maximum number of attempts to process a
+   *                    message.
+   * @param retryDelay The non-negative number of milliseconds to wait before
+   *                   the first retry, which doubles with each retry.
+   *
+   * @throws IllegalArgumentException If the thread count or maximum number
+   *                                  of attempts is not positive or the retry
+   *                                  delay is negative.
+   */
+  LoadQueueProcessor(SzApiProvider    provider,
+                     SzMessageSource  source,
+                     int              threadCount,
+                     int              maxAttempts,
+                     long             retryDelay)
+  {
+    if (threadCount < 1) {
+      throw new IllegalArgumentException(
+          "The load queue thread count must be positive: " + threadCount);
+    }
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException(
+          "The maximum number of attempts must be positive: " + maxAttempts);
+    }
+    if (retryDelay < 0L) {
+      throw new IllegalArgumentException(
+          "The retry delay cannot be negative: " + retryDelay);
+    }
+    this.provider       = provider;
+    this.source         = source;
+    this.threadCount    = threadCount;
+    this.maxAttempts    = maxAttempts;
+    this.retryDelay     = retryDelay;
+    this.lanes          = new ArrayList<>(threadCount);
+    this.threads        = new ArrayList<>(threadCount + 1);
+    this.startNanos     = System.nanoTime();
+    this.receivedCount  = 0L;
+    this.loadedCount    = 0L;
+    this.deletedCount   = 0L;
+    this.failedCount    = 0L;
+    this.retriedCount   = 0L;
+    this.bucketSeconds  = new long[RATE_WINDOW];
+    this.bucketCounts   = new long[RATE_WINDOW];
+    this.complete       = false;
+    for (int index = 0; index < threadCount; index++) {
+      this.lanes.add(new ArrayBlockingQueue<>(LANE_CAPACITY));
+    }
+  }
+
+  /**
+   * Gets the number of lanes (and lane threads).
+   *
+   * @return The number of lanes (and lane threads).
+   */
+  public int getThreadCount() {
+    return this.threadCount;
+  }
+
+  /**
+   * Gets the {@link SzMessageSource} from which the messages are received.
+   *
+   * @return The {@link SzMessageSource} from which the messages are
+   *         received.
+   */
+  public SzMessageSource getSource() {
+    return this.source;
+  }
+
+  /**
+   * Starts the receiving and lane threads and registers this instance as the
+   * running load queue processor for its {@link SzApiProvider}.
+   *
+   * @throws IllegalStateException If already started or another load queue
+   *                               processor is running for the provider.
+   */
+  public synchronized void start() {
+    if (this.threads.size() > 0 || this.complete) {
+      throw new IllegalStateException(
+          "The load queue processor has already been started.");
+    }
+    synchronized (PROCESSORS) {
+      if (PROCESSORS.containsKey(this.provider)) {
+        throw new IllegalStateException(
+            "A load queue processor is already running for the provider.");
+      }
+      PROCESSORS.put(this.provider, this);
+    }
+    this.startNanos = System.nanoTime();
+    Thread receiver = new Thread(this::receiveMessages,
+                                 "LoadQueueProcessor-Receiver");
+    receiver.setDaemon(true);
+    this.threads.add(receiver);
+    for (int index = 0; index < this.threadCount; index++) {
+      BlockingQueue<Task> lane = this.lanes.get(index);
+      Thread thread = new Thread(() -> this.processLane(lane),
+                                 "LoadQueueProcessor-" + index);
+      thread.setDaemon(true);
+      this.threads.add(thread);
+    }
+    for (Thread thread : this.threads) {
+      thread.start();
+    }
+  }
+
+  /**
+   * Signals the threads to complete.  Any message currently being processed
+   * is finished first, but queued messages are left unacknowledged for the
+   * source to redeliver.
+   */
+  public void complete() {
+    synchronized (this) {
+      if (this.complete) return;
+      this.complete = true;
+      this.notifyAll();
+    }
+    synchronized (PROCESSORS) {
+      if (PROCESSORS.get(this.provider) == this) {
+        PROCESSORS.remove(this.provider);
+      }
+    }
+  }
+
+  /**
+   * Checks if this instance has received the completion signal.
+   *
+   * @return <tt>true</tt> if the completion signal has been received,
+   *         otherwise <tt>false</tt>.
+   */
+  public synchronized boolean isComplete() {
+    return this.complete;
+  }
+
+  /**
+   * Waits for the threads to complete and then closes the {@link
+   * SzMessageSource}.  This should be called after {@link #complete()}.
+   */
+  public void join() {
+    List<Thread> threads;
+    synchronized (this) {
+      threads = new ArrayList<>(this.threads);
+    }
+    for (Thread thread : threads) {
+      while (thread.isAlive()) {
+        try {
+          thread.join();
+        } catch (InterruptedException ignore) {
+          // do nothing
+        }
+      }
+    }
+    try {
+      this.source.close();
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Describes the throughput of this load queue processor.
+   *
+   * @return The {@link SzLoadQueueStatus} describing the throughput of this
+   *         instance.
+   */
+  synchronized SzLoadQueueStatus getStatus() {
+    long    nowSecond = System.currentTimeMillis() / 1000L;
+    long    recent    = 0L;
+    for (int index = 0; index < RATE_WINDOW; index++) {
+      if (nowSecond - this.bucketSeconds[index] < RATE_WINDOW) {
+        recent += this.bucketCounts[index];
+      }
+    }
+    double seconds = ((double) (System.nanoTime() - this.startNanos))
+        / 1000000000.0;
+    long processed = this.loadedCount + this.deletedCount;
+
+    SzLoadQueueStatus status = new SzLoadQueueStatus();
+    status.setRunning(!this.complete);
+    status.setThreadCount(this.threadCount);
+    status.setReceivedCount(this.receivedCount);
+    status.setLoadedCount(this.loadedCount);
+    status.setDeletedCount(this.deletedCount);
+    status.setFailedCount(this.failedCount);
+    status.setRetriedCount(this.retriedCount);
+    status.setInFlightCount(
+        this.receivedCount - processed - this.failedCount);
+    status.setMessagesPerSecond(
+        ((double) recent) / Math.max(1.0, Math.min(RATE_WINDOW, seconds)));
+    status.setAverageMessagesPerSecond(
+        (seconds > 0.0) ? processed / seconds : 0.0);
+    return status;
+  }
+
+  /**
+   * Records the number of received messages.
+   */
+  private synchronized void recordReceived(int count) {
+    this.receivedCount += count;
+  }
+
+  /**
+   * Records the outcome of processing a message.
+   */
+  private synchronized void recordOutcome(Task task, boolean success) {
+    if (!success) {
+      this.failedCount++;
+      return;
+    }
+    if (task.delete) {
+      this.deletedCount++;
+    } else {
+      this.loadedCount++;
+    }
+    long  second  = System.currentTimeMillis() / 1000L;
+    int   index   = (int) (second % RATE_WINDOW);
+    if (this.bucketSeconds[index] != second) {
+      this.bucketSeconds[index] = second;
+      this.bucketCounts[index]  = 0L;
+    }
+    this.bucketCounts[index]++;
+  }
+
+  /**
+   * Receives the messages and hands them to the lanes until signaled to
+   * complete.  This never blocks for long on a full lane since the source
+   * may need to keep being polled (e.g.: to stay in a Kafka consumer group).
+   * Instead a task for a full lane is held back, along with the tasks that
+   * follow it for the same lane, and the source is {@linkplain
+   * SzMessageSource#pause(SzReceivedMessage) paused} for its message until
+   * the task is queued.  If the source does not support pausing then no more
+   * messages are received than can be held back.
+   */
+  private void receiveMessages() {
+    int                 batchSize     = this.threadCount * LANE_CAPACITY;
+    List<Deque<Task>>   held          = new ArrayList<>(this.threadCount);
+    int                 heldCount     = 0;
+    int                 unpausedCount = 0;
+    for (int index = 0; index < this.threadCount; index++) {
+      held.add(new ArrayDeque<>());
+    }
+    while (!this.isComplete()) {
+      // queue the held tasks for the lanes that now have room
+      for (int index = 0; index < this.threadCount; index++) {
+        Deque<Task>         deque = held.get(index);
+        BlockingQueue<Task> lane  = this.lanes.get(index);
+        while (deque.size() > 0 && lane.offer(deque.peekFirst())) {
+          Task task = deque.removeFirst();
+          heldCount--;
+          if (task.paused) {
+            this.source.resume(task.message);
+          } else {
+            unpausedCount--;
+          }
+        }
+      }
+
+      // without pausing only receive as many messages as can be held back
+      int maxCount = (unpausedCount > 0) ? batchSize - heldCount : batchSize;
+      if (maxCount <= 0) {
+        this.awaitTimeout(HELD_TIMEOUT);
+        continue;
+      }
+
+      List<SzReceivedMessage> messages;
+      try {
+        messages = this.source.receive(
+            maxCount, (heldCount > 0) ? HELD_TIMEOUT : POLL_TIMEOUT);
+
+      } catch (Exception e) {
+        e.printStackTrace();
+        this.awaitTimeout(POLL_TIMEOUT);
+        continue;
+      }
+      this.recordReceived(messages.size());
+
+      for (SzReceivedMessage message : messages) {
+        Task task = this.parseTask(message);
+        if (task == null) continue;
+
+        // the same record always goes to the same lane to preserve order
+        int hash = (task.recordId == null) ? message.getBody().hashCode()
+            : Objects.hash(task.dataSource, task.recordId);
+        int         index = Math.floorMod(hash, this.threadCount);
+        Deque<Task> deque = held.get(index);
+        try {
+          if (deque.size() == 0 && this.lanes.get(index).offer(
+              task, HELD_TIMEOUT, TimeUnit.MILLISECONDS))
+          {
+            continue;
+          }
+        } catch (InterruptedException e) {
+          return;
+        }
+
+        // hold back the task and pause the source for it
+        deque.addLast(task);
+        heldCount++;
+        task.paused = this.source.pause(message);
+        if (!task.paused) unpausedCount++;
+      }
+    }
+  }
+
+  /**
+   * Records that processing a message is being retried.
+   */
+  private synchronized void recordRetry() {
+    this.retriedCount++;
+  }
+
+  /**
+   * Gets the number of times that processing a message was retried.
+   *
+   * @return The number of times that processing a message was retried.
+   */
+  synchronized long getRetriedCount() {
+    return this.retriedCount;
+  }
+
+  /**
+   * Waits before the retry following the specified attempt or until
+   * signaled to complete.
+   *
+   * @return <tt>true</tt> if the message should be retried and
+   *         <tt>false</tt> if signaled to complete.
+   */
+  private synchronized boolean awaitRetry(int attempt) {
+    long delay = this.retryDelay << Math.min(attempt - 1, 16);
+    long end   = System.nanoTime() + (delay * 1000000L);
+    try {
+      for (long remaining = delay;
+           !this.complete && remaining > 0L;
+           remaining = (end - System.nanoTime()) / 1000000L)
+      {
+        this.wait(remaining);
+      }
+    } catch (InterruptedException ignore) {
+      // ignore -- the completion flag is checked below
+    }
+    return !this.complete;
+  }
+
+  /**
+   * Checks if the specified failure to process a message may succeed if
+   * retried.  Engine errors for a data source, record or entity that was not
+   * found are permanent, but any other failure is retryable.
+   */
+  private static boolean isRetryable(Exception e) {
+    if (!(e instanceof EngineException)) return true;
+    int errorCode = ((EngineException) e).errorCode;
+    return (errorCode != DATA_SOURCE_NOT_FOUND_CODE
+            && errorCode != RECORD_NOT_FOUND_CODE
+            && errorCode != ENTITY_ID_NOT_FOUND_CODE);
+  }
+
+  /**
+   * Waits for the specified number of milliseconds or until signaled to
+   * complete.
+   */
+  private synchronized void awaitTimeout(long timeout) {
+    if (this.complete) return;
+    try {
+      this.wait(timeout);
+    } catch (InterruptedException ignore) {
+      // ignore -- the completion flag is checked by the caller
+    }
+  }
+
+  /**
+   * Parses the specified {@link SzReceivedMessage} into a {@link Task},
+   * rejecting the message and returning <tt>null</tt> if it is not valid.
+   */
+  private Task parseTask(SzReceivedMessage message) {
+    Task task = new Task();
+    task.message = message;
+    String operation = message.getProperty(OPERATION_PROPERTY);
+    task.loadId = normalizeString(message.getProperty(LOAD_ID_PROPERTY));
+    try {
+      if (operation != null
+          && !LOAD_OPERATION.equalsIgnoreCase(operation.trim()))
+      {
+        if (!DELETE_OPERATION.equalsIgnoreCase(operation.trim())) {
+          throw new IllegalArgumentException(
+              "Unrecognized operation: " + operation);
+        }
+        task.delete = true;
+      }
+      JsonObject record = JsonUtils.parseJsonObject(message.getBody());
+      task.dataSource = normalizeString(
+          JsonUtils.getString(record, "DATA_SOURCE"));
+      task.recordId = normalizeString(
+          JsonUtils.getString(record, "RECORD_ID"));
+      if (task.dataSource == null) {
+        throw new IllegalArgumentException("The DATA_SOURCE is missing.");
+      }
+      task.dataSource = task.dataSource.toUpperCase();
+      if (task.delete && task.recordId == null) {
+        throw new IllegalArgumentException(
+            "The RECORD_ID is required to delete a record.");
+      }
+      return task;
+
+    } catch (Exception e) {
+      this.fail(task, "Failed to parse load queue message: " + e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Trims the specified text and returns <tt>null</tt> if it is empty.
+   */
+  private static String normalizeString(String text) {
+    if (text == null) return null;
+    if (text.trim().length() == 0) return null;
+    return text.trim();
+  }
+
+  /**
+   * Logs the failure of the specified {@link Task}, records it and rejects
+   * its message.
+   */
+  private void fail(Task task, String reason) {
+    System.err.println(reason);
+    System.err.println(task.message.getBody());
+    this.recordOutcome(task, false);
+    try {
+      task.message.reject();
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Processes the tasks in the specified lane until signaled to complete.
+   */
+  private void processLane(BlockingQueue<Task> lane) {
+    boolean withInfo = this.provider.hasInfoSink();
+    while (!this.isComplete()) {
+      Task task;
+      try {
+        task = lane.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        continue;
+      }
+      if (task == null) continue;
+
+      // retry on this lane so later messages for the record stay behind
+      String  info      = null;
+      boolean processed = false;
+      for (int attempt = 1; !processed; attempt++) {
+        try {
+          info = this.provider.executeInThread(
+              () -> this.processTask(task, withInfo));
+          processed = true;
+
+        } catch (Exception e) {
+          String reason = "Failed to " + (task.delete ? "delete" : "load")
+              + " record from load queue: " + e.getMessage();
+          if (!isRetryable(e) || attempt >= this.maxAttempts) {
+            this.fail(task, reason);
+            break;
+          }
+          System.err.println(reason + " (attempt " + attempt + " of "
+                             + this.maxAttempts + ", retrying)");
+          this.recordRetry();
+
+          // leave the message for redelivery if signaled to complete
+          if (!this.awaitRetry(attempt)) break;
+        }
+      }
+      if (!processed) continue;
+
+      // the engine has committed the change so acknowledge the message
+      this.recordOutcome(task, true);
+      try {
+        task.message.acknowledge();
+      } catch (Exception e) {
+        e.printStackTrace();
+      }
+
+      // publish the info if any
+      if (info != null && info.trim().length() > 0) {
+        SzMessageSink infoSink  = this.provider.acquireInfoSink();
+        SzMessage     message   = new SzMessage(info);
+        try {
+          infoSink.send(message, ServicesUtil::logFailedAsyncInfo);
+
+        } catch (Exception e) {
+          // failed async logger will not double-log
+          logFailedAsyncInfo(e, message);
+
+        } finally {
+          this.provider.releaseInfoSink(infoSink);
+        }
+      }
+    }
+  }
+
+  /**
+   * Applies the specified {@link Task} to the engine on the current engine
+   * thread and returns the info if requested (or <tt>null</tt>).
+   *
+   * @throws EngineException If the engine fails to process the task.
+   */
+  private String processTask(Task task, boolean withInfo) {
+    G2Engine      engineApi   = this.provider.getEngineApi();
+    StringBuffer  sb          = new StringBuffer();
+    String        recordJson  = task.message.getBody();
+    int returnCode;
+    if (task.delete) {
+      returnCode = (withInfo)
+          ? engineApi.deleteRecordWithInfo(
+              task.dataSource, task.recordId, task.loadId, 0, sb)
+          : engineApi.deleteRecord(
+              task.dataSource, task.recordId, task.loadId);
+
+      // deleting a record that is not found is okay -- treat as idempotent
+      if (returnCode != 0
+          && engineApi.getLastExceptionCode() == RECORD_NOT_FOUND_CODE)
+      {
+        return null;
+      }
+
+    } else if (withInfo) {
+      returnCode = engineApi.addRecordWithInfo(
+          task.dataSource,
+          (task.recordId == null) ? "" : task.recordId, // empty record ID
+          recordJson,
+          task.loadId,
+          0,
+          sb);
+
+    } else if (task.recordId == null) {
+      returnCode = engineApi.addRecordWithReturnedRecordID(
+          task.dataSource, sb, recordJson, task.loadId);
+
+    } else {
+      returnCode = engineApi.addRecord(
+          task.dataSource, task.recordId, recordJson, task.loadId);
+    }
+    if (returnCode != 0) {
+      throw new EngineException(engineApi.getLastExceptionCode(),
+                                engineApi.getLastException());
+    }
+    return (withInfo) ? sb.toString() : null;
+  }
+}
@@ -0,0 +1,306 @@
+package com.senzing.api.services;
+
+/**
+ * A compact index of 64-bit record fingerprints keyed by a 64-bit hash of the
+ * record key (i.e.: data source and record ID) for detecting records that are
+ * exact duplicates of a record previously loaded in the same bulk load.  Only
+ * the fingerprints of records the engine has successfully loaded should be
+ * {@linkplain #record(String, String, long) recorded} so a copy of a record
+ * is never skipped in favor of one that failed.
+ * The entries are stored in striped open-addressing tables of primitive
+ * <tt>long</tt> values rather than as boxed map entries so that each slot
+ * costs only sixteen (16) bytes of heap.
+ * <p>
+ * Records without a record ID are keyed by their data source and fingerprint
+ * since the engine derives their record ID from their content.
+ * <p>
+ * Once the index holds {@link #MAX_ENTRIES} entries no new keys are added,
+ * so that the memory used by very large loads is bounded, though the keys
+ * already in the index continue to be checked and updated.  Duplicates of the
+ * records that could not be indexed are simply not detected.
+ * <p>
+ * Callers that check and record from multiple threads should hold the
+ * {@linkplain #lockFor(String, String, long) lock} for the record key while
+ * checking, loading and recording a record so that the index agrees with
+ * the engine.
+ * <p>
+ * Instances are safe to use from multiple threads.
+ */
+class RecordFingerprintIndex {
+  /**
+   * The maximum number of entries in the index.
+   */
+  static final int MAX_ENTRIES = 1 << 21;
+
+  /**
+   * The number of independently locked stripes.  This must be a power of two.
+   */
+  private static final int STRIPE_COUNT = 16;
+
+  /**
+   * The number of record key locks.  This must be a power of two.
+   */
+  private static final int KEY_LOCK_COUNT = 1024;
+
+  /**
+   * The initial number of slots in each stripe.  This must be a power of two.
+   */
+  private static final int INITIAL_CAPACITY = 1024;
+
+  /**
+   * The key value that marks an empty slot.  Keys that hash to this value are
+   * remapped to {@link #ZERO_KEY}.
+   */
+  private static final long EMPTY_KEY = 0L;
+
+  /**
+   * The key value used in place of a key that hashes to {@link #EMPTY_KEY}.
+   */
+  private static final long ZERO_KEY = 0x9e3779b97f4a7c15L;
+
+  /**
+   * A single open-addressing table with linear probing.
+   */
+  private static final class Stripe {
+    /**
+     * The keys for each slot, or {@link #EMPTY_KEY} if the slot is empty.
+     */
+    private long[] keys = new long[INITIAL_CAPACITY];
+
+    /**
+     * The fingerprints for each slot.
+     */
+    private long[] fingerprints = new long[INITIAL_CAPACITY];
+
+    /**
+     * The number of occupied slots.
+     */
+    private int size = 0;
+  }
+
+  /**
+   * The stripes of the index.
+   */
+  private final Stripe[] stripes;
+
+  /**
+   * The maximum number of entries for each stripe.
+   */
+  private final int maxStripeEntries;
+
+  /**
+   * The locks for the record keys.
+   */
+  private final Object[] keyLocks;
+
+  /**
+   * Default constructor.
+   */
+  RecordFingerprintIndex() {
+    this.stripes = new Stripe[STRIPE_COUNT];
+    for (int index = 0; index < STRIPE_COUNT; index++) {
+      this.stripes[index] = new Stripe();
+    }
+    this.maxStripeEntries = MAX_ENTRIES / STRIPE_COUNT;
+    this.keyLocks = new Object[KEY_LOCK_COUNT];
+    for (int index = 0; index < KEY_LOCK_COUNT; index++) {
+      this.keyLocks[index] = new Object();
+    }
+  }
+
+  /**
+   * Computes the 64-bit fingerprint of the specified record JSON text.  White
+   * space outside of string values is ignored so that records differing only
+   * in formatting have the same fingerprint.
+   *
+   * @param jsonText The JSON text for the record.
+   *
+   * @return The 64-bit fingerprint for the record.
+   */
+  static long fingerprint(String jsonText) {
+    long    hash      = 0xcbf29ce484222325L;
+    boolean inString  = false;
+    boolean escaped   = false;
+    for (int index = 0; index < jsonText.length(); index++) {
+      char c = jsonText.charAt(index);
+      if (inString) {
+        if (escaped) {
+          escaped = false;
+        } else if (c == '\\') {
+          escaped = true;
+        } else if (c == '"') {
+          inString = false;
+        }
+      } else if (c == '"') {
+        inString = true;
+      } else if (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+        continue;
+      }
+      hash ^= c;
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  /**
+   * Returns the lock object for the record with the specified data source,
+   * record ID and fingerprint.  Records with the same key always have the
+   * same lock, though records with different keys may share a lock.
+   *
+   * @param dataSource The data source for the record.
+   * @param recordId The record ID for the record, or <tt>null</tt> if none.
+   * @param fingerprint The {@linkplain #fingerprint(String) fingerprint} for
+   *                    the record.
+   *
+   * @return The lock object for the record key.
+   */
+  Object lockFor(String dataSource, String recordId, long fingerprint) {
+    long key = keyFor(dataSource, recordId, fingerprint);
+    return this.keyLocks[(int) (key >>> 32) & (KEY_LOCK_COUNT - 1)];
+  }
+
+  /**
+   * Checks if the record with the specified data source, record ID and
+   * fingerprint is an exact duplicate of the last record recorded with the
+   * same key.
+   *
+   * @param dataSource The data source for the record.
+   * @param recordId The record ID for the record, or <tt>null</tt> if none.
+   * @param fingerprint The {@linkplain #fingerprint(String) fingerprint} for
+   *                    the record.
+   *
+   * @return <tt>true</tt> if the record is a duplicate, otherwise
+   *         <tt>false</tt>.
+   */
+  boolean isDuplicate(String dataSource, String recordId, long fingerprint) {
+    long    key     = keyFor(dataSource, recordId, fingerprint);
+    Stripe  stripe  = this.stripeFor(key);
+    synchronized (stripe) {
+      int slot = findSlot(stripe, key);
+      return (stripe.keys[slot] == key
+              && stripe.fingerprints[slot] == fingerprint);
+    }
+  }
+
+  /**
+   * Records the specified fingerprint for the record with the specified data
+   * source and record ID (e.g.: because the engine successfully loaded the
+   * record), replacing any fingerprint previously recorded for the same key.
+   *
+   * @param dataSource The data source for the record.
+   * @param recordId The record ID for the record, or <tt>null</tt> if none.
+   * @param fingerprint The {@linkplain #fingerprint(String) fingerprint} for
+   *                    the record.
+   */
+  void record(String dataSource, String recordId, long fingerprint) {
+    long    key     = keyFor(dataSource, recordId, fingerprint);
+    Stripe  stripe  = this.stripeFor(key);
+    synchronized (stripe) {
+      int slot = findSlot(stripe, key);
+      if (stripe.keys[slot] == key) {
+        stripe.fingerprints[slot] = fingerprint;
+        return;
+      }
+
+      // the key was not found, so add it if there is room
+      if (stripe.size >= this.maxStripeEntries) return;
+      stripe.keys[slot]         = key;
+      stripe.fingerprints[slot] = fingerprint;
+      stripe.size++;
+      if (stripe.size * 4 > stripe.keys.length * 3) grow(stripe);
+    }
+  }
+
+  /**
+   * Returns the number of entries in the index.
+   *
+   * @return The number of entries in the index.
+   */
+  int size() {
+    int size = 0;
+    for (Stripe stripe : this.stripes) {
+      synchronized (stripe) {
+        size += stripe.size;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Computes the key for the specified data source and record ID, or for
+   * the specified data source and fingerprint if there is no record ID.
+   */
+  private static long keyFor(String dataSource,
+                             String recordId,
+                             long   fingerprint)
+  {
+    long hash = 0xcbf29ce484222325L;
+    hash = hashText(hash, dataSource);
+    hash ^= 0xFFFF;
+    hash *= 0x100000001b3L;
+    if (recordId == null || recordId.trim().length() == 0) {
+      hash ^= fingerprint;
+      hash *= 0x9e3779b97f4a7c15L;
+    } else {
+      hash = hashText(hash, recordId);
+    }
+    // spread the bits since the low bits select the slot
+    hash ^= (hash >>> 31);
+    return (hash == EMPTY_KEY) ? ZERO_KEY : hash;
+  }
+
+  /**
+   * Folds the characters of the specified text into the specified hash.
+   */
+  private static long hashText(long hash, String text) {
+    if (text == null) return hash;
+    for (int index = 0; index < text.length(); index++) {
+      hash ^= text.charAt(index);
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  /**
+   * Returns the stripe for the specified key.
+   */
+  private Stripe stripeFor(long key) {
+    return this.stripes[(int) (key >>> 60) & (STRIPE_COUNT - 1)];
+  }
+
+  /**
+   * Returns the home slot for the specified key with the specified mask.
+   */
+  private static int homeSlot(long key, int mask) {
+    return ((int) key) & mask;
+  }
+
+  /**
+   * Finds the slot holding the specified key, or the empty slot where it
+   * would be added.
+   */
+  private static int findSlot(Stripe stripe, long key) {
+    int mask = stripe.keys.length - 1;
+    int slot = homeSlot(key, mask);
+    while (stripe.keys[slot] != EMPTY_KEY && stripe.keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Doubles the capacity of the specified stripe.
+   */
+  private static void grow(Stripe stripe) {
+    long[] oldKeys          = stripe.keys;
+    long[] oldFingerprints  = stripe.fingerprints;
+    stripe.keys         = new long[oldKeys.length * 2];
+    stripe.fingerprints = new long[oldKeys.length * 2];
+    for (int index = 0; index < oldKeys.length; index++) {
+      if (oldKeys[index] == EMPTY_KEY) continue;
+      int slot = findSlot(stripe, oldKeys[index]);
+      stripe.keys[slot]         = oldKeys[index];
+      stripe.fingerprints[slot] = oldFingerprints[index];
+    }
+  }
+}
@@ -0,0 +1,393 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzRedoPriority;
+import com.senzing.api.model.SzRedoProcessorStatus;
+import com.senzing.g2.engine.G2Engine;
+import com.senzing.util.WorkerThreadPool;
+
+import java.util.*;
+
+import static com.senzing.api.services.ServicesUtil.logFailedAsyncInfo;
+
+/**
+ * Processes the redo records generated by the engine in the background
+ * using one or more threads.  Each thread repeatedly obtains the next redo
+ * record and processes it on an engine thread obtained from the {@link
+ * SzApiProvider}.  With {@link SzRedoPriority#LOW} priority an engine thread
+ * is only used when no other request is waiting for one, so redo processing
+ * yields to interactive traffic and bulk operations.  If an info sink is
+ * configured then the info for each processed redo record is published to
+ * it.
+ * <p>
+ * When no redo records are pending the threads sleep for the {@linkplain
+ * #IDLE_PERIOD idle period} before checking again.
+ */
+public class RedoProcessor {
+  /**
+   * The default number of redo processing threads.
+   */
+  public static final int DEFAULT_THREAD_COUNT = 1;
+
+  /**
+   * The default {@link SzRedoPriority}.
+   */
+  public static final SzRedoPriority DEFAULT_PRIORITY = SzRedoPriority.LOW;
+
+  /**
+   * The number of milliseconds to wait before checking for redo records when
+   * none are pending or when obtaining one fails.
+   */
+  public static final long IDLE_PERIOD = 5000L;
+
+  /**
+   * The number of seconds over which the recent rate of redo processing is
+   * measured.
+   */
+  private static final int RATE_WINDOW = 60;
+
+  /**
+   * The running redo processors for each {@link SzApiProvider}.
+   */
+  private static final Map<SzApiProvider, RedoProcessor> PROCESSORS
+      = new WeakHashMap<>();
+
+  /**
+   * Gets the running redo processor for the specified {@link SzApiProvider}.
+   *
+   * @param provider The {@link SzApiProvider}.
+   *
+   * @return The running {@link RedoProcessor} for the specified provider, or
+   *         <tt>null</tt> if none is running.
+   */
+  static RedoProcessor getInstance(SzApiProvider provider) {
+    synchronized (PROCESSORS) {
+      return PROCESSORS.get(provider);
+    }
+  }
+
+  /**
+   * The {@link SzApiProvider} whose engine processes the redo records.
+   */
+  private SzApiProvider provider;
+
+  /**
+   * The number of redo processing threads.
+   */
+  private int threadCount;
+
+  /**
+   * The {@link SzRedoPriority} for using the engine threads.
+   */
+  private SzRedoPriority priority;
+
+  /**
+   * The redo processing threads.
+   */
+  private List<Thread> threads;
+
+  /**
+   * The value of {@link System#nanoTime()} when the processor was started.
+   */
+  private long startNanos;
+
+  /**
+   * The number of redo records that have been processed.
+   */
+  private long processedCount;
+
+  /**
+   * The number of redo records that failed to process.
+   */
+  private long failedCount;
+
+  /**
+   * The epoch second of each bucket of the recent processing counts.
+   */
+  private long[] bucketSeconds;
+
+  /**
+   * The number of redo records processed in each bucket.
+   */
+  private long[] bucketCounts;
+
+  /**
+   * Flag indicating if the threads should complete.
+   */
+  private boolean complete;
+
+  /**
+   * Constructs with the {@link SzApiProvider}, the number of threads and the
+   * {@link SzRedoPriority}.  The threads are <b>not</b> started by this
+   * constructor.
+   *
+   * @param provider The {@link SzApiProvider} whose engine processes the
+   *                 redo records.
+   * @param threadCount The positive number of redo processing threads.
+   * @param priority The {@link SzRedoPriority}, or <tt>null</tt> for the
+   *                 {@linkplain #DEFAULT_PRIORITY default priority}.
+   *
+   * @throws IllegalArgumentException If the thread count is not positive.
+   */
+  public RedoProcessor(SzApiProvider  provider,
+                       int            threadCount,
+                       SzRedoPriority priority)
+  {
+    if (threadCount < 1) {
+      throw new IllegalArgumentException(
+          "The redo thread count must be positive: " + threadCount);
+    }
+    this.provider       = provider;
+    this.threadCount    = threadCount;
+    this.priority       = (priority == null) ? DEFAULT_PRIORITY : priority;
+    this.threads        = new ArrayList<>(threadCount);
+    this.startNanos     = System.nanoTime();
+    this.processedCount = 0L;
+    this.failedCount    = 0L;
+    this.bucketSeconds  = new long[RATE_WINDOW];
+    this.bucketCounts   = new long[RATE_WINDOW];
+    this.complete       = false;
+  }
+
+  /**
+   * Gets the number of redo processing threads.
+   *
+   * @return The number of redo processing threads.
+   */
+  public int getThreadCount() {
+    return this.threadCount;
+  }
+
+  /**
+   * Gets the {@link SzRedoPriority} for using the engine threads.
+   *
+   * @return The {@link SzRedoPriority} for using the engine threads.
+   */
+  public SzRedoPriority getPriority() {
+    return this.priority;
+  }
+
+  /**
+   * Starts the redo processing threads and registers this instance as the
+   * running redo processor for its {@link SzApiProvider}.
+   *
+   * @throws IllegalStateException If already started or another redo
+   *                               processor is running for the provider.
+   */
+  public synchronized void start() {
+    if (this.threads.size() > 0 || this.complete) {
+      throw new IllegalStateException(
+          "The redo processor has already been started.");
+    }
+    synchronized (PROCESSORS) {
+      if (PROCESSORS.containsKey(this.provider)) {
+        throw new IllegalStateException(
+            "A redo processor is already running for the provider.");
+      }
+      PROCESSORS.put(this.provider, this);
+    }
+    this.startNanos = System.nanoTime();
+    for (int index = 0; index < this.threadCount; index++) {
+      Thread thread = new Thread(this::processRedos,
+                                 "RedoProcessor-" + index);
+      thread.setDaemon(true);
+      this.threads.add(thread);
+      thread.start();
+    }
+  }
+
+  /**
+   * Signals the redo processing threads to complete.  Any redo record
+   * currently being processed is finished first.
+   */
+  public void complete() {
+    synchronized (this) {
+      if (this.complete) return;
+      this.complete = true;
+      this.notifyAll();
+    }
+    synchronized (PROCESSORS) {
+      if (PROCESSORS.get(this.provider) == this) {
+        PROCESSORS.remove(this.provider);
+      }
+    }
+  }
+
+  /**
+   * Checks if this instance has received the completion signal.
+   *
+   * @return <tt>true</tt> if the completion signal has been received,
+   *         otherwise <tt>false</tt>.
+   */
+  public synchronized boolean isComplete() {
+    return this.complete;
+  }
+
+  /**
+   * Waits for the redo processing threads to complete.  This should be
+   * called after {@link #complete()}.
+   */
+  public void join() {
+    List<Thread> threads;
+    synchronized (this) {
+      threads = new ArrayList<>(this.threads);
+    }
+    for (Thread thread : threads) {
+      while (thread.isAlive()) {
+        try {
+          thread.join();
+        } catch (InterruptedException ignore) {
+          // do nothing
+        }
+      }
+    }
+  }
+
+  /**
+   * Describes the throughput of this redo processor.  The {@linkplain
+   * SzRedoProcessorStatus#getPendingRedoCount() pending redo count} is left
+   * to be set by the caller.
+   *
+   * @return The {@link SzRedoProcessorStatus} describing the throughput of
+   *         this instance.
+   */
+  synchronized SzRedoProcessorStatus getStatus() {
+    long    nowSecond = System.currentTimeMillis() / 1000L;
+    long    recent    = 0L;
+    for (int index = 0; index < RATE_WINDOW; index++) {
+      if (nowSecond - this.bucketSeconds[index] < RATE_WINDOW) {
+        recent += this.bucketCounts[index];
+      }
+    }
+    double seconds = ((double) (System.nanoTime() - this.startNanos))
+        / 1000000000.0;
+
+    SzRedoProcessorStatus status = new SzRedoProcessorStatus();
+    status.setRunning(!this.complete);
+    status.setThreadCount(this.threadCount);
+    status.setPriority(this.priority);
+    status.setProcessedRedoCount(this.processedCount);
+    status.setFailedRedoCount(this.failedCount);
+    status.setRedosPerSecond(
+        ((double) recent) / Math.max(1.0, Math.min(RATE_WINDOW, seconds)));
+    status.setAverageRedosPerSecond(
+        (seconds > 0.0) ? this.processedCount / seconds : 0.0);
+    return status;
+  }
+
+  /**
+   * Records the outcome of processing a redo record.
+   */
+  private synchronized void recordOutcome(boolean success) {
+    if (!success) {
+      this.failedCount++;
+      return;
+    }
+    this.processedCount++;
+    long  second  = System.currentTimeMillis() / 1000L;
+    int   index   = (int) (second % RATE_WINDOW);
+    if (this.bucketSeconds[index] != second) {
+      this.bucketSeconds[index] = second;
+      this.bucketCounts[index]  = 0L;
+    }
+    this.bucketCounts[index]++;
+  }
+
+  /**
+   * Waits for the idle period or until signaled to complete.
+   */
+  private synchronized void awaitIdlePeriod() {
+    if (this.complete) return;
+    try {
+      this.wait(IDLE_PERIOD);
+    } catch (InterruptedException ignore) {
+      // ignore -- the completion flag is checked by the caller
+    }
+  }
+
+  /**
+   * Executes the specified task on an engine thread according to the
+   * priority.
+   */
+  private <T> T execute(WorkerThreadPool.Task<T, RuntimeException> task) {
+    if (this.priority == SzRedoPriority.LOW) {
+      return this.provider.executeInIdleThread(task);
+    } else {
+      return this.provider.executeInThread(task);
+    }
+  }
+
+  /**
+   * Obtains and processes the next redo record on an engine thread, and
+   * returns the info for the redo record (or an empty string if no info
+   * sink is configured), or <tt>null</tt> if no redo record was pending.
+   *
+   * @throws IllegalStateException If the redo record could not be obtained.
+   */
+  private String processNextRedo(boolean withInfo) {
+    return this.execute(() -> {
+      G2Engine      engineApi = this.provider.getEngineApi();
+      StringBuffer  sb        = new StringBuffer();
+      int returnCode = engineApi.getRedoRecord(sb);
+      if (returnCode != 0) {
+        throw new IllegalStateException(
+            "Failed to obtain a redo record: "
+            + engineApi.getLastException());
+      }
+      String redoRecord = sb.toString().trim();
+      if (redoRecord.length() == 0) return null;
+
+      // process with info (the response is the info) if publishing it
+      StringBuffer info = new StringBuffer();
+      returnCode = (withInfo) ? engineApi.process(redoRecord, info)
+          : engineApi.process(redoRecord);
+      if (returnCode != 0) {
+        System.err.println("Failed to process redo record: "
+                               + engineApi.getLastException());
+        System.err.println(redoRecord);
+        this.recordOutcome(false);
+        return "";
+      }
+      this.recordOutcome(true);
+      return info.toString();
+    });
+  }
+
+  /**
+   * Processes the redo records until signaled to complete.
+   */
+  private void processRedos() {
+    while (!this.isComplete()) {
+      String info;
+      try {
+        info = this.processNextRedo(this.provider.hasInfoSink());
+
+      } catch (Exception e) {
+        e.printStackTrace();
+        this.awaitIdlePeriod();
+        continue;
+      }
+
+      // check if no redo records are pending
+      if (info == null) {
+        this.awaitIdlePeriod();
+        continue;
+      }
+
+      // publish the info if any
+      if (info.trim().length() > 0) {
+        SzMessageSink infoSink  = this.provider.acquireInfoSink();
+        SzMessage     message   = new SzMessage(info);
+        try {
+          infoSink.send(message, ServicesUtil::logFailedAsyncInfo);
+
+        } catch (Exception e) {
+          // failed async logger will not double-log
+          logFailedAsyncInfo(e, message);
+
+        } finally {
+          this.provider.releaseInfoSink(infoSink);
+        }
+      }
+    }
+  }
+}
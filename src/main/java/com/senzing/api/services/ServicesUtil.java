@@ -862,6 +862,32 @@ public class ServicesUtil {
     }
   }
 
+  /**
+   * Ensures that admin functions are enabled and if not throws a {@link
+   * ForbiddenException}.
+   *
+   * @param provider The {@link SzApiProvider} to check for admin mode.
+   * @param method The {@link HttpMethod} used.
+   * @param uriInfo The {@link UriInfo} for the request path.
+   * @param timers The {@link Timers} being used by the request handler.
+   *
+   * @throws ForbiddenException If the specified {@link SzApiProvider} is not
+   *                            in admin mode.
+   */
+  public static void ensureAdminEnabled(SzApiProvider provider,
+                                        SzHttpMethod  method,
+                                        UriInfo       uriInfo,
+                                        Timers        timers)
+      throws ForbiddenException
+  {
+    if (!provider.isAdminEnabled()) {
+      throw newForbiddenException(
+          method, uriInfo, timers,
+          "This operation is not allowed if Senzing API Server is not "
+              + "started with admin functions enabled.");
+    }
+  }
+
   /**
    * Ensures that changing the configuration is allowed and if not throws a
    * {@link ForbiddenException}.
@@ -1022,4 +1048,35 @@ public class ServicesUtil {
       throw new RuntimeException(e);
     }
   }
+
+  /**
+   * Creates a proxy {@link UriInfo} with the specified request {@link URI}
+   * and no query or path parameters for operations that are not initiated
+   * by an HTTP request (e.g.: loading files from the command line).
+   *
+   * @param requestUri The {@link URI} identifying the operation.
+   *
+   * @return The proxied {@link UriInfo} object using the specified {@link
+   *         URI}.
+   */
+  protected static UriInfo newProxyUriInfo(URI requestUri) {
+    InvocationHandler handler = (p, m, a) -> {
+      switch (m.getName()) {
+        case "getRequestUri":
+        case "getAbsolutePath":
+          return requestUri;
+        case "getQueryParameters":
+        case "getPathParameters":
+          return new MultivaluedHashMap<String, String>();
+        default:
+          throw new UnsupportedOperationException(
+              "Operation not implemented on proxy UriInfo");
+      }
+    };
+
+    ClassLoader loader = ServicesUtil.class.getClassLoader();
+    Class[] classes = {UriInfo.class};
+
+    return (UriInfo) Proxy.newProxyInstance(loader, classes, handler);
+  }
 }
@@ -1,5 +1,6 @@
 package com.senzing.api.services;
 
+import com.senzing.api.model.SzInfoQueueStatus;
 import com.senzing.api.model.SzServerInfo;
 import com.senzing.api.model.SzVersionInfo;
 import com.senzing.g2.engine.*;
@@ -7,6 +8,7 @@ import com.senzing.util.AccessToken;
 import com.senzing.util.SemanticVersion;
 import com.senzing.util.WorkerThreadPool;
 
+import java.io.File;
 import java.lang.invoke.StringConcatException;
 import java.util.Date;
 import java.util.Set;
@@ -221,6 +223,23 @@ public interface SzApiProvider {
   <T, E extends Exception> T executeInThread(WorkerThreadPool.Task<T, E> task)
       throws E;
 
+  /**
+   * Executes the specified task with the proper thread for utilizing the
+   * various G2 API implementations, but only when such a thread is not needed
+   * by a task being {@linkplain #executeInThread(WorkerThreadPool.Task)
+   * executed} normally.  This is used for background work that should yield
+   * to all other work.
+   *
+   * @param task The Task to execute.
+   * @param <T> The return value for the task.
+   * @param <E> The exception type that may be thrown by the task.
+   * @return Returns an instance of type <tt>T</tt> as obtained from the
+   *         specified task.
+   * @throws E If the specified task fails with an exception.
+   */
+  <T, E extends Exception> T executeInIdleThread(
+      WorkerThreadPool.Task<T, E> task) throws E;
+
   /**
    * Called before beginning an operation that may require a prolonged amount of
    * time to complete.  If this returns <tt>null</tt> then the caller should
@@ -313,6 +332,15 @@ public interface SzApiProvider {
    */
   boolean isAdminEnabled();
 
+  /**
+   * Gets the directory in which bulk loads with an explicit load ID record
+   * their journal of durable checkpoints so they can be resumed.
+   *
+   * @return The directory for the bulk load journals, or <tt>null</tt> if
+   *         bulk loads are not journaled.
+   */
+  File getLoadJournalDirectory();
+
   /**
    * Checks if there is a load message sink configured for asynchronous loading.
    *
@@ -359,4 +387,15 @@ public interface SzApiProvider {
    *
    */
   void releaseInfoSink(SzMessageSink sink);
+
+  /**
+   * Describes the configured info queue including the backlog and the
+   * number of messages sent, retried and dropped if the info messages are
+   * sent asynchronously.  This returns <tt>null</tt> if an info queue is not
+   * configured.
+   *
+   * @return The {@link SzInfoQueueStatus} describing the info queue, or
+   *         <tt>null</tt> if none is configured.
+   */
+  SzInfoQueueStatus getInfoQueueStatus();
 }
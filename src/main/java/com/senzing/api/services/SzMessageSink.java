@@ -1,5 +1,6 @@
 package com.senzing.api.services;
 
+import java.util.List;
 import java.util.function.BiConsumer;
 
 /**
@@ -35,4 +36,40 @@ public interface SzMessageSink {
    */
   void send(SzMessage message, FailureHandler onFailure)
       throws Exception;
+
+  /**
+   * Sends the specified {@link List} of {@link SzMessage} instances on the
+   * associated queue or topic.  The default implementation sends each message
+   * individually, handing the failure for any message to the on-failure
+   * function (if provided) before continuing with the remaining messages.
+   * Implementations may override this to send the messages as a batch.
+   *
+   * @param messages The {@link List} of {@link SzMessage} instances to be
+   *                 sent.
+   *
+   * @param onFailure The function to call upon failure to send a message,
+   *                  or <tt>null</tt> if none.
+   *
+   * @throws Exception If a failure occurs in sending the messages and no
+   *                   on-failure function was provided.
+   */
+  default void send(List<SzMessage> messages, FailureHandler onFailure)
+      throws Exception
+  {
+    for (SzMessage message : messages) {
+      // track whether the failure was already handed to the handler
+      boolean[] handled = { false };
+      FailureHandler handler = (onFailure == null) ? null : (e, m) -> {
+        handled[0] = true;
+        onFailure.handle(e, m);
+      };
+      try {
+        this.send(message, handler);
+
+      } catch (Exception e) {
+        if (onFailure == null) throw e;
+        if (!handled[0]) onFailure.handle(e, message);
+      }
+    }
+  }
 }
@@ -0,0 +1,285 @@
+package com.senzing.api.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.LinkedList;
+
+/**
+ * An {@link InputStream} that reads the chunks of data received in Web Socket
+ * messages.  The Web Socket I/O thread {@linkplain #offer(byte[]) offers}
+ * each message as a chunk without copying it and the thread processing the
+ * bulk data reads the chunks in order.
+ * <p>
+ * In <b>credit mode</b> the client is granted an initial window of bytes
+ * that it may send before waiting and the stream invokes its {@link
+ * CreditGranter} to grant more bytes as the chunks are consumed, so that the
+ * Web Socket I/O thread never has to block.  A client that sends more than
+ * its credit is a protocol violation that is reported by {@link
+ * #offer(byte[])}.
+ * <p>
+ * In <b>blocking mode</b> (i.e.: for clients that do not use credits) the
+ * window is simply the buffer capacity and {@link #offer(byte[])} blocks
+ * while the buffer is full.
+ */
+class WebSocketChunkStream extends InputStream {
+  /**
+   * Interface for granting credits to the client as the buffered bytes are
+   * consumed.
+   */
+  interface CreditGranter {
+    /**
+     * Grants the client the specified number of additional bytes that it may
+     * send.
+     *
+     * @param byteCount The number of additional bytes granted.
+     */
+    void grant(long byteCount);
+  }
+
+  /**
+   * The queued chunks that have not yet been started.
+   */
+  private final LinkedList<byte[]> chunks = new LinkedList<>();
+
+  /**
+   * The maximum number of bytes that may be buffered, which is also the
+   * initial credit window when in credit mode.
+   */
+  private final long window;
+
+  /**
+   * The {@link CreditGranter} for granting credits, or <tt>null</tt> if in
+   * blocking mode.
+   */
+  private final CreditGranter granter;
+
+  /**
+   * The chunk currently being read, or <tt>null</tt> if none.
+   */
+  private byte[] current = null;
+
+  /**
+   * The read position within the current chunk.
+   */
+  private int position = 0;
+
+  /**
+   * The number of bytes received but not yet consumed.
+   */
+  private long bufferedBytes = 0L;
+
+  /**
+   * The number of bytes consumed since the last grant of credit.
+   */
+  private long ungrantedBytes = 0L;
+
+  /**
+   * Flag indicating that no more chunks will be offered.
+   */
+  private boolean finished = false;
+
+  /**
+   * Flag indicating that the reader has closed the stream.
+   */
+  private boolean closed = false;
+
+  /**
+   * Constructs with the specified window size and {@link CreditGranter}.
+   * If the specified {@link CreditGranter} is <tt>null</tt> then the stream
+   * is in blocking mode.
+   *
+   * @param window The maximum number of bytes to buffer, which is the initial
+   *               credit window in credit mode.
+   * @param granter The {@link CreditGranter} to use, or <tt>null</tt> for
+   *                blocking mode.
+   */
+  WebSocketChunkStream(long window, CreditGranter granter) {
+    if (window <= 0L) {
+      throw new IllegalArgumentException(
+          "The window must be positive: " + window);
+    }
+    this.window   = window;
+    this.granter  = granter;
+  }
+
+  /**
+   * Checks if this instance is in credit mode.
+   *
+   * @return <tt>true</tt> if in credit mode, otherwise <tt>false</tt>.
+   */
+  boolean isCreditMode() {
+    return (this.granter != null);
+  }
+
+  /**
+   * Returns the number of bytes received but not yet consumed.
+   *
+   * @return The number of bytes received but not yet consumed.
+   */
+  synchronized long getBufferedBytes() {
+    return this.bufferedBytes;
+  }
+
+  /**
+   * Checks if this stream has been {@linkplain #finish() finished} or
+   * {@linkplain #close() closed}.
+   *
+   * @return <tt>true</tt> if no more chunks will be accepted, otherwise
+   *         <tt>false</tt>.
+   */
+  synchronized boolean isFinished() {
+    return this.finished || this.closed;
+  }
+
+  /**
+   * Offers the specified chunk of bytes to this stream.  The array is
+   * retained and must not be modified by the caller.  In blocking mode this
+   * waits while the buffer is full, though a chunk is always accepted if
+   * nothing is buffered.
+   *
+   * @param chunk The chunk of bytes to offer.
+   *
+   * @return <tt>true</tt> if the chunk was accepted and <tt>false</tt> if
+   *         the stream has been finished or closed.
+   *
+   * @throws IllegalStateException If in credit mode and the chunk exceeds the
+   *                               credit granted to the client.
+   *
+   * @throws InterruptedIOException If interrupted while waiting.
+   */
+  synchronized boolean offer(byte[] chunk) throws InterruptedIOException {
+    if (this.finished || this.closed) return false;
+    if (chunk.length == 0) return true;
+
+    if (this.isCreditMode()) {
+      // since credits are granted as bytes are consumed, the buffered bytes
+      // only exceed the window if the client exceeded its credit
+      if (this.bufferedBytes + chunk.length > this.window) {
+        throw new IllegalStateException(
+            "Received " + chunk.length + " bytes with "
+            + (this.window - this.bufferedBytes) + " bytes of credit "
+            + "remaining.");
+      }
+
+    } else {
+      while (this.bufferedBytes > 0L
+             && this.bufferedBytes + chunk.length > this.window
+             && !this.closed)
+      {
+        try {
+          this.wait(1000L);
+        } catch (InterruptedException e) {
+          throw new InterruptedIOException(e.getMessage());
+        }
+      }
+      if (this.closed) return false;
+    }
+
+    this.chunks.add(chunk);
+    this.bufferedBytes += chunk.length;
+    this.notifyAll();
+    return true;
+  }
+
+  /**
+   * Marks that no more chunks will be offered so that the reader sees EOF
+   * once the buffered chunks are consumed.
+   */
+  synchronized void finish() {
+    this.finished = true;
+    this.notifyAll();
+  }
+
+  /**
+   * Waits for the next chunk if needed and returns <tt>false</tt> if at EOF.
+   */
+  private boolean awaitChunk() throws IOException {
+    while (this.current == null || this.position >= this.current.length) {
+      if (this.closed) throw new IOException("Stream closed");
+      this.current  = this.chunks.poll();
+      this.position = 0;
+      if (this.current != null) continue;
+      if (this.finished) return false;
+      try {
+        this.wait(1000L);
+      } catch (InterruptedException e) {
+        throw new InterruptedIOException(e.getMessage());
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Accounts for the specified number of consumed bytes and returns the
+   * number of bytes of credit to grant, if any.
+   */
+  private long consumed(int byteCount) {
+    this.bufferedBytes -= byteCount;
+    this.notifyAll();
+    if (this.granter == null || this.finished) return 0L;
+    this.ungrantedBytes += byteCount;
+    // grant in batches to limit the number of credit messages
+    if (this.ungrantedBytes < (this.window / 2L)) return 0L;
+    long grant = this.ungrantedBytes;
+    this.ungrantedBytes = 0L;
+    return grant;
+  }
+
+  /**
+   * Grants the specified credit outside of synchronization.
+   */
+  private void grant(long credit) {
+    if (credit > 0L) this.granter.grant(credit);
+  }
+
+  @Override
+  public int read() throws IOException {
+    int   result;
+    long  credit;
+    synchronized (this) {
+      if (!this.awaitChunk()) return -1;
+      result = this.current[this.position++] & 0xFF;
+      credit = this.consumed(1);
+    }
+    this.grant(credit);
+    return result;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    if (offset < 0 || length < 0 || length > buffer.length - offset) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (length == 0) return 0;
+    int   count;
+    long  credit;
+    synchronized (this) {
+      if (!this.awaitChunk()) return -1;
+      count = Math.min(length, this.current.length - this.position);
+      System.arraycopy(this.current, this.position, buffer, offset, count);
+      this.position += count;
+      credit = this.consumed(count);
+    }
+    this.grant(credit);
+    return count;
+  }
+
+  @Override
+  public synchronized int available() {
+    return (this.current == null) ? 0 : this.current.length - this.position;
+  }
+
+  /**
+   * Closes this stream from the reading side, discarding any buffered chunks
+   * and releasing any thread blocked in {@link #offer(byte[])}.
+   */
+  @Override
+  public synchronized void close() {
+    this.closed         = true;
+    this.current        = null;
+    this.bufferedBytes  = 0L;
+    this.chunks.clear();
+    this.notifyAll();
+  }
+}
@@ -0,0 +1,798 @@
+package com.senzing.io;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import javax.json.stream.JsonParsingException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.senzing.io.RecordReader.Format.*;
+
+/**
+ * Parses JSON-lines or CSV records concurrently.  The data is split at record
+ * boundaries into chunks which are either {@linkplain FileChannel#map
+ * memory-mapped} windows of a file or blocks read from an {@link
+ * InputStream}.  The chunks are decoded and parsed by a pool of threads and
+ * the results are returned in their original order with at most a bounded
+ * number of chunks parsed ahead of the caller.
+ * <p>
+ * Line numbers for errors are tracked relative to each chunk and rebased as
+ * the chunks are consumed so that {@link #getErrorLineNumber()} reports the
+ * same line numbers as the sequential record providers of {@link
+ * RecordReader}.
+ * <p>
+ * The {@link #next()} method is <b>not</b> thread-safe and is intended to be
+ * called from a single thread.
+ */
+class ChunkedRecordParser {
+  /**
+   * The target number of bytes in each chunk.
+   */
+  static final int CHUNK_SIZE = 4 * 1024 * 1024;
+
+  /**
+   * The maximum number of bytes in a single chunk.  A chunk grows beyond
+   * {@link #CHUNK_SIZE} only if it contains no record boundary.
+   */
+  private static final int MAX_CHUNK_SIZE = Integer.MAX_VALUE - 8;
+
+  /**
+   * The number of chunks per parser thread that may be parsed ahead of the
+   * caller.
+   */
+  private static final int PENDING_CHUNKS_PER_THREAD = 2;
+
+  /**
+   * The number of seconds an idle parser thread is kept alive.
+   */
+  private static final long THREAD_KEEP_ALIVE = 10L;
+
+  /**
+   * The counter for naming the parser threads.
+   */
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger(0);
+
+  /**
+   * The format of the records.
+   */
+  private final RecordReader.Format format;
+
+  /**
+   * The {@link Charset} for decoding the chunks.
+   */
+  private final Charset charset;
+
+  /**
+   * The {@link ChunkSource} for the chunks.
+   */
+  private final ChunkSource source;
+
+  /**
+   * The executor for parsing the chunks.
+   */
+  private final ThreadPoolExecutor executor;
+
+  /**
+   * The maximum number of chunks that may be pending.
+   */
+  private final int maxPendingChunks;
+
+  /**
+   * The pending chunks in order.
+   */
+  private final Deque<Future<ParsedChunk>> pendingChunks;
+
+  /**
+   * The {@link CSVFormat} for parsing CSV chunks with the header obtained
+   * from the first record, or <tt>null</tt> if not CSV.
+   */
+  private CSVFormat csvFormat;
+
+  /**
+   * The chunk currently being consumed.
+   */
+  private ParsedChunk currentChunk;
+
+  /**
+   * The index of the next entry in the current chunk.
+   */
+  private int currentIndex;
+
+  /**
+   * The number of lines preceding the current chunk.
+   */
+  private long lineBase;
+
+  /**
+   * Whether or not the source has no more chunks.
+   */
+  private boolean exhausted;
+
+  /**
+   * The line number for the last error.
+   */
+  private Long errorLineNumber;
+
+  /**
+   * Constructs with a {@link FileChannel} whose contents will be
+   * memory-mapped in chunks.
+   *
+   * @param format The {@link RecordReader.Format} of the records, which must
+   *               be {@link RecordReader.Format#JSON_LINES} or {@link
+   *               RecordReader.Format#CSV}.
+   * @param channel The {@link FileChannel} for the file.
+   * @param offset The offset at which the records start.
+   * @param charset The {@link Charset} of the file.
+   * @param threadCount The number of parser threads.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  ChunkedRecordParser(RecordReader.Format format,
+                      FileChannel         channel,
+                      long                offset,
+                      Charset             charset,
+                      int                 threadCount)
+      throws IOException
+  {
+    this(format,
+         new MappedChunkSource(channel, offset, (format == CSV)),
+         charset,
+         threadCount);
+  }
+
+  /**
+   * Constructs with an {@link InputStream} whose contents will be read in
+   * chunks.  The {@link InputStream} is not closed by this instance.
+   *
+   * @param format The {@link RecordReader.Format} of the records, which must
+   *               be {@link RecordReader.Format#JSON_LINES} or {@link
+   *               RecordReader.Format#CSV}.
+   * @param inputStream The {@link InputStream} for the records.
+   * @param charset The {@link Charset} of the records.
+   * @param threadCount The number of parser threads.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  ChunkedRecordParser(RecordReader.Format format,
+                      InputStream         inputStream,
+                      Charset             charset,
+                      int                 threadCount)
+      throws IOException
+  {
+    this(format,
+         new StreamChunkSource(inputStream, (format == CSV)),
+         charset,
+         threadCount);
+  }
+
+  /**
+   * Constructs with the {@link ChunkSource}.
+   */
+  private ChunkedRecordParser(RecordReader.Format format,
+                              ChunkSource         source,
+                              Charset             charset,
+                              int                 threadCount)
+      throws IOException
+  {
+    if (format != JSON_LINES && format != CSV) {
+      throw new IllegalArgumentException(
+          "Unsupported format for chunked parsing: " + format);
+    }
+    if (threadCount < 1) {
+      throw new IllegalArgumentException(
+          "The thread count must be positive: " + threadCount);
+    }
+    this.format           = format;
+    this.charset          = charset;
+    this.source           = source;
+    this.maxPendingChunks = threadCount * PENDING_CHUNKS_PER_THREAD;
+    this.pendingChunks    = new LinkedList<>();
+    this.currentChunk     = null;
+    this.currentIndex     = 0;
+    this.lineBase         = 0L;
+    this.exhausted        = false;
+    this.errorLineNumber  = null;
+
+    this.executor = new ThreadPoolExecutor(
+        threadCount,
+        threadCount,
+        THREAD_KEEP_ALIVE,
+        TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(),
+        (runnable) -> {
+          Thread thread = new Thread(
+              runnable, "record-parser-" + THREAD_COUNTER.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+    this.executor.allowCoreThreadTimeOut(true);
+
+    if (this.format == CSV) this.readCsvHeader();
+  }
+
+  /**
+   * Reads the CSV header record from the leading chunk(s) and queues the
+   * remainder of the chunk for parsing.
+   */
+  private void readCsvHeader() throws IOException {
+    ByteBuffer chunk = this.source.nextChunk();
+    while (chunk != null) {
+      int end = findHeaderEnd(chunk);
+      if (end < 0) {
+        // only blank lines precede the header so far
+        this.lineBase += countLineBreaks(this.decode(chunk));
+        chunk = this.source.nextChunk();
+        continue;
+      }
+
+      ByteBuffer header = chunk.duplicate();
+      header.limit(end);
+      ByteBuffer remainder = chunk.duplicate();
+      remainder.position(end);
+      remainder = remainder.slice();
+
+      String headerText = this.decode(header);
+      CSVFormat headerFormat = CSVFormat.DEFAULT.withFirstRecordAsHeader()
+          .withIgnoreEmptyLines(true).withTrim(true);
+      try (CSVParser parser = new CSVParser(new StringReader(headerText),
+                                            headerFormat))
+      {
+        List<String> headers = parser.getHeaderNames();
+        this.csvFormat = CSVFormat.DEFAULT
+            .withHeader(headers.toArray(new String[headers.size()]))
+            .withIgnoreEmptyLines(true).withTrim(true);
+      }
+      this.lineBase += countLineBreaks(headerText);
+
+      if (remainder.hasRemaining()) this.submit(remainder);
+      return;
+    }
+
+    // no header means no records
+    this.exhausted = true;
+  }
+
+  /**
+   * Gets the next record, or <tt>null</tt> if there are no more records.  If
+   * a record could not be parsed then the exception is thrown in the same
+   * order as a sequential parse would have encountered it and subsequent
+   * calls continue with the next record.
+   *
+   * @return The next {@link JsonRecordText}, or <tt>null</tt> if there are
+   *         no more records.
+   */
+  JsonRecordText next() {
+    this.errorLineNumber = null;
+    while (true) {
+      if (this.currentChunk != null
+          && this.currentIndex < this.currentChunk.entries.size())
+      {
+        int index = this.currentIndex++;
+        Object entry = this.currentChunk.entries.set(index, null);
+        if (entry instanceof ChunkError) {
+          ChunkError error = (ChunkError) entry;
+          if (error.lineNumber >= 0L) {
+            this.errorLineNumber = this.lineBase + error.lineNumber;
+          }
+          throw error.exception;
+        }
+        return (JsonRecordText) entry;
+      }
+
+      // move past the current chunk
+      if (this.currentChunk != null) {
+        this.lineBase += this.currentChunk.lineCount;
+        this.currentChunk = null;
+        this.currentIndex = 0;
+      }
+
+      this.fillPendingChunks();
+      Future<ParsedChunk> future = this.pendingChunks.poll();
+      if (future == null) {
+        this.close();
+        return null;
+      }
+      this.currentChunk = await(future);
+    }
+  }
+
+  /**
+   * Gets the line number of an error after calling {@link #next()}.  This
+   * returns <tt>null</tt> if there was no error or if the error is not
+   * associated with a line.
+   *
+   * @return The line number associated with the error on the last attempt to
+   *         get a record, or <tt>null</tt> if there was no error.
+   */
+  Long getErrorLineNumber() {
+    return this.errorLineNumber;
+  }
+
+  /**
+   * Stops the parser threads and discards any pending chunks.  This is called
+   * automatically once all records have been returned.
+   */
+  void close() {
+    this.exhausted = true;
+    for (Future<ParsedChunk> future : this.pendingChunks) {
+      future.cancel(true);
+    }
+    this.pendingChunks.clear();
+    this.currentChunk = null;
+    this.executor.shutdownNow();
+  }
+
+  /**
+   * Reads chunks from the source and submits them for parsing until the
+   * maximum number of chunks are pending or the source is exhausted.  If the
+   * source fails then the failure is queued after the pending chunks.
+   */
+  private void fillPendingChunks() {
+    while (!this.exhausted
+           && this.pendingChunks.size() < this.maxPendingChunks)
+    {
+      ByteBuffer chunk;
+      try {
+        chunk = this.source.nextChunk();
+
+      } catch (IOException e) {
+        ParsedChunk failed = new ParsedChunk();
+        failed.entries.add(new ChunkError(new RuntimeException(e), -1L));
+        this.pendingChunks.add(CompletableFuture.completedFuture(failed));
+        this.exhausted = true;
+        break;
+      }
+      if (chunk == null) {
+        this.exhausted = true;
+        break;
+      }
+      this.submit(chunk);
+    }
+  }
+
+  /**
+   * Submits the specified chunk for parsing.
+   */
+  private void submit(ByteBuffer chunk) {
+    this.pendingChunks.add(this.executor.submit(() -> this.parse(chunk)));
+  }
+
+  /**
+   * Waits for the specified chunk to be parsed.
+   */
+  private static ParsedChunk await(Future<ParsedChunk> future) {
+    try {
+      return future.get();
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+      if (cause instanceof Error) throw (Error) cause;
+      throw new RuntimeException(cause);
+    }
+  }
+
+  /**
+   * Decodes the specified chunk to text, replacing malformed input in the
+   * same way as {@link java.io.InputStreamReader}.
+   */
+  private String decode(ByteBuffer chunk) throws IOException {
+    CharsetDecoder decoder = this.charset.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    return decoder.decode(chunk).toString();
+  }
+
+  /**
+   * Decodes and parses the specified chunk.
+   */
+  private ParsedChunk parse(ByteBuffer chunk) throws IOException {
+    String text = this.decode(chunk);
+    return (this.format == CSV) ? this.parseCsv(text) : parseJsonLines(text);
+  }
+
+  /**
+   * Parses the specified JSON-lines text in the same manner as the
+   * sequential JSON-lines record provider.
+   */
+  private static ParsedChunk parseJsonLines(String text) {
+    ParsedChunk result = new ParsedChunk();
+    int length = text.length();
+    int start = 0;
+    long lineNumber = 0L;
+    while (start < length) {
+      int end = start;
+      while (end < length) {
+        char c = text.charAt(end);
+        if (c == '\n' || c == '\r') break;
+        end++;
+      }
+      String line = text.substring(start, end).trim();
+      lineNumber++;
+
+      // skip past the line terminator
+      if (end < length) {
+        if (text.charAt(end) == '\r' && end + 1 < length
+            && text.charAt(end + 1) == '\n')
+        {
+          end++;
+        }
+        end++;
+      }
+      start = end;
+
+      // skip blank lines and comment lines
+      if (line.length() == 0 || line.startsWith("#")) continue;
+
+      if (!line.startsWith("{")) {
+        result.entries.add(new ChunkError(
+            new IllegalStateException(
+                "Line does not appear to be JSON record: " + line),
+            -1L));
+        continue;
+      }
+
+      try {
+        result.entries.add(JsonRecordText.parse(line));
+
+      } catch (JsonParsingException e) {
+        result.entries.add(new ChunkError(e, lineNumber));
+      }
+    }
+    result.lineCount = lineNumber;
+    return result;
+  }
+
+  /**
+   * Parses the specified CSV text in the same manner as the sequential CSV
+   * record provider using the header obtained from the first record.
+   */
+  private ParsedChunk parseCsv(String text) throws IOException {
+    ParsedChunk result = new ParsedChunk();
+    try (CSVParser parser = new CSVParser(new StringReader(text),
+                                          this.csvFormat))
+    {
+      JsonRecordText.RowWriter rowWriter
+          = new JsonRecordText.RowWriter(parser.getHeaderMap());
+      Iterator<CSVRecord> recordIter = parser.iterator();
+      long lastErrorLine = -1L;
+      while (true) {
+        try {
+          if (!recordIter.hasNext()) break;
+          CSVRecord record = recordIter.next();
+          result.entries.add(rowWriter.write(record::get, record.size()));
+
+        } catch (RuntimeException e) {
+          long lineNumber = parser.getCurrentLineNumber();
+          result.entries.add(new ChunkError(e, lineNumber));
+
+          // stop if the parser is not advancing past the error
+          if (lineNumber == lastErrorLine) break;
+          lastErrorLine = lineNumber;
+        }
+      }
+    }
+    result.lineCount = countLineBreaks(text);
+    return result;
+  }
+
+  /**
+   * Counts the line breaks in the specified text, treating <tt>"\r\n"</tt>
+   * as a single line break.
+   */
+  private static long countLineBreaks(String text) {
+    long count = 0L;
+    int length = text.length();
+    for (int index = 0; index < length; index++) {
+      char c = text.charAt(index);
+      if (c == '\n') {
+        count++;
+      } else if (c == '\r') {
+        if (index + 1 < length && text.charAt(index + 1) == '\n') index++;
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Finds the offset just past the last record boundary in the first
+   * <tt>length</tt> bytes of the specified buffer, or <tt>-1</tt> if there is
+   * none.  For JSON-lines any line feed is a record boundary.  For CSV the
+   * line feed must not be within a quoted field.
+   */
+  private static int findBoundary(ByteBuffer  buffer,
+                                  int         length,
+                                  boolean     quoteAware)
+  {
+    if (!quoteAware) {
+      for (int index = length - 1; index >= 0; index--) {
+        if (buffer.get(index) == '\n') return index + 1;
+      }
+      return -1;
+    }
+    return scanCsv(buffer, length, false);
+  }
+
+  /**
+   * Finds the offset just past the end of the first non-blank CSV record in
+   * the specified buffer, or <tt>-1</tt> if the buffer only contains blank
+   * lines.  If the first non-blank record is not terminated then the limit
+   * of the buffer is returned.
+   */
+  private static int findHeaderEnd(ByteBuffer buffer) {
+    int length = buffer.limit();
+    int end = scanCsv(buffer, length, true);
+    if (end >= 0) return end;
+    for (int index = 0; index < length; index++) {
+      byte b = buffer.get(index);
+      if (b != '\n' && b != '\r') return length;
+    }
+    return -1;
+  }
+
+  /**
+   * Scans CSV bytes tracking whether each line feed falls within a quoted
+   * field.  A quote only opens a quoted field at the start of a field and a
+   * doubled quote within a quoted field is an escaped quote, consistent with
+   * {@link CSVFormat#DEFAULT}.
+   *
+   * @param buffer The buffer to scan.
+   * @param length The number of bytes to scan.
+   * @param first <tt>true</tt> to return the first boundary following any
+   *              content, or <tt>false</tt> to return the last boundary.
+   *
+   * @return The offset just past the boundary, or <tt>-1</tt> if none.
+   */
+  private static int scanCsv(ByteBuffer buffer, int length, boolean first) {
+    final int FIELD_START = 0;
+    final int UNQUOTED    = 1;
+    final int QUOTED      = 2;
+    final int QUOTE       = 3;
+
+    int     state       = FIELD_START;
+    int     boundary    = -1;
+    boolean content     = false;
+    for (int index = 0; index < length; index++) {
+      byte b = buffer.get(index);
+      if (state == QUOTED) {
+        if (b == '"') state = QUOTE;
+        continue;
+      }
+      if (state == QUOTE && b == '"') {
+        state = QUOTED;
+        continue;
+      }
+      switch (b) {
+        case '\n':
+          state = FIELD_START;
+          if (first && content) return index + 1;
+          boundary = index + 1;
+          break;
+        case '\r':
+          state = FIELD_START;
+          break;
+        case ',':
+          state = FIELD_START;
+          content = true;
+          break;
+        case '"':
+          state = (state == FIELD_START) ? QUOTED : UNQUOTED;
+          content = true;
+          break;
+        default:
+          state = UNQUOTED;
+          content = true;
+      }
+    }
+    return (first) ? -1 : boundary;
+  }
+
+  /**
+   * The results of parsing a chunk.
+   */
+  private static final class ParsedChunk {
+    /**
+     * The parsed {@link JsonRecordText} records and {@link ChunkError}
+     * instances in order.
+     */
+    private final List<Object> entries = new ArrayList<>();
+
+    /**
+     * The number of lines in the chunk.
+     */
+    private long lineCount = 0L;
+  }
+
+  /**
+   * Describes a failure to parse a record within a chunk.
+   */
+  private static final class ChunkError {
+    /**
+     * The exception to throw.
+     */
+    private final RuntimeException exception;
+
+    /**
+     * The line number relative to the chunk, or <tt>-1</tt> if none.
+     */
+    private final long lineNumber;
+
+    /**
+     * Constructs with the exception and relative line number.
+     */
+    private ChunkError(RuntimeException exception, long lineNumber) {
+      this.exception  = exception;
+      this.lineNumber = lineNumber;
+    }
+  }
+
+  /**
+   * Provides successive chunks that each end at a record boundary.
+   */
+  private interface ChunkSource {
+    /**
+     * Gets the next chunk, or <tt>null</tt> if there are no more chunks.
+     *
+     * @return The next chunk, or <tt>null</tt> if there are no more chunks.
+     *
+     * @throws IOException If an I/O failure occurs.
+     */
+    ByteBuffer nextChunk() throws IOException;
+  }
+
+  /**
+   * A {@link ChunkSource} that memory-maps successive windows of a file.
+   */
+  private static final class MappedChunkSource implements ChunkSource {
+    /**
+     * The {@link FileChannel} for the file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The size of the file.
+     */
+    private final long size;
+
+    /**
+     * Whether record boundaries must account for quoted CSV fields.
+     */
+    private final boolean quoteAware;
+
+    /**
+     * The offset of the next chunk.
+     */
+    private long position;
+
+    /**
+     * Constructs with the {@link FileChannel} and the starting offset.
+     */
+    private MappedChunkSource(FileChannel channel,
+                              long        offset,
+                              boolean     quoteAware)
+        throws IOException
+    {
+      this.channel    = channel;
+      this.size       = channel.size();
+      this.quoteAware = quoteAware;
+      this.position   = offset;
+    }
+
+    @Override
+    public ByteBuffer nextChunk() throws IOException {
+      long remaining = this.size - this.position;
+      if (remaining <= 0L) return null;
+
+      long window = CHUNK_SIZE;
+      while (true) {
+        int length = (int) Math.min(window, remaining);
+        ByteBuffer buffer = this.channel.map(
+            FileChannel.MapMode.READ_ONLY, this.position, length);
+
+        int end = (length == remaining)
+            ? length : findBoundary(buffer, length, this.quoteAware);
+        if (end > 0) {
+          buffer.limit(end);
+          this.position += end;
+          return buffer;
+        }
+        if (window >= MAX_CHUNK_SIZE) {
+          throw new IOException(
+              "No record boundary found within " + MAX_CHUNK_SIZE
+              + " bytes of offset " + this.position);
+        }
+        window = Math.min(window * 2L, MAX_CHUNK_SIZE);
+      }
+    }
+  }
+
+  /**
+   * A {@link ChunkSource} that reads successive blocks of an {@link
+   * InputStream}.
+   */
+  private static final class StreamChunkSource implements ChunkSource {
+    /**
+     * The backing {@link InputStream}.
+     */
+    private final InputStream inputStream;
+
+    /**
+     * Whether record boundaries must account for quoted CSV fields.
+     */
+    private final boolean quoteAware;
+
+    /**
+     * The bytes read past the end of the previous chunk.
+     */
+    private byte[] carry;
+
+    /**
+     * Whether the end of the stream has been reached.
+     */
+    private boolean eof;
+
+    /**
+     * Constructs with the {@link InputStream}.
+     */
+    private StreamChunkSource(InputStream inputStream, boolean quoteAware) {
+      this.inputStream  = inputStream;
+      this.quoteAware   = quoteAware;
+      this.carry        = new byte[0];
+      this.eof          = false;
+    }
+
+    @Override
+    public ByteBuffer nextChunk() throws IOException {
+      if (this.eof && this.carry.length == 0) return null;
+
+      byte[] buffer = Arrays.copyOf(
+          this.carry, Math.max(CHUNK_SIZE, this.carry.length));
+      int length = this.carry.length;
+      while (true) {
+        while (!this.eof && length < buffer.length) {
+          int readCount = this.inputStream.read(
+              buffer, length, buffer.length - length);
+          if (readCount < 0) {
+            this.eof = true;
+          } else {
+            length += readCount;
+          }
+        }
+
+        int end = (this.eof)
+            ? length
+            : findBoundary(ByteBuffer.wrap(buffer), length, this.quoteAware);
+        if (end > 0) {
+          this.carry = Arrays.copyOfRange(buffer, end, length);
+          return ByteBuffer.wrap(buffer, 0, end);
+        }
+        if (this.eof) {
+          this.carry = new byte[0];
+          return null;
+        }
+        if (buffer.length >= MAX_CHUNK_SIZE) {
+          throw new IOException(
+              "No record boundary found within " + MAX_CHUNK_SIZE + " bytes");
+        }
+        buffer = Arrays.copyOf(
+            buffer, (int) Math.min(buffer.length * 2L, MAX_CHUNK_SIZE));
+      }
+    }
+  }
+}
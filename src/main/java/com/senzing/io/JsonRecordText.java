@@ -0,0 +1,859 @@
+package com.senzing.io;
+
+import com.senzing.util.JsonUtils;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * Provides the JSON text for a record along with lightweight access to its
+ * top-level string properties.  Instances created from JSON text via {@link
+ * #parse(String)} are validated and indexed by a single-pass tokenizer rather
+ * than being parsed into a {@link JsonObject}, and property overrides are
+ * spliced into the original text when {@linkplain #toJsonText() serialized}.
+ * This allows records to be handed to the engine without a full
+ * parse/serialize cycle.  Instances may alternatively be backed by an already
+ * parsed {@link JsonObject}.
+ * <p>
+ * Instances are immutable and may be shared across threads.
+ */
+public final class JsonRecordText {
+  /**
+   * The maximum nesting depth supported by the tokenizer before deferring to
+   * the full JSON parser.
+   */
+  private static final int MAX_DEPTH = 256;
+
+  /**
+   * The number of top-level keys up to which duplicates are detected with a
+   * linear search rather than a {@link Set}.
+   */
+  private static final int LINEAR_KEY_LIMIT = 16;
+
+  /**
+   * The value type for a JSON string.
+   */
+  private static final byte STRING_TYPE = 1;
+
+  /**
+   * The value type for a JSON number.
+   */
+  private static final byte NUMBER_TYPE = 2;
+
+  /**
+   * The value type for a JSON <tt>true</tt> or <tt>false</tt> literal.
+   */
+  private static final byte BOOLEAN_TYPE = 3;
+
+  /**
+   * The value type for a JSON <tt>null</tt> literal.
+   */
+  private static final byte NULL_TYPE = 4;
+
+  /**
+   * The value type for a JSON object or array.
+   */
+  private static final byte STRUCTURE_TYPE = 5;
+
+  /**
+   * The source JSON text, or <tt>null</tt> if backed by a {@link JsonObject}.
+   */
+  private final String source;
+
+  /**
+   * The backing {@link JsonObject}, or <tt>null</tt> if backed by text.
+   */
+  private final JsonObject object;
+
+  /**
+   * The top-level keys of the source text in order.
+   */
+  private final String[] keys;
+
+  /**
+   * The offsets into the source text at which each top-level member begins
+   * (the opening quote of the key).
+   */
+  private final int[] memberStarts;
+
+  /**
+   * The offsets into the source text at which each top-level value begins.
+   */
+  private final int[] valueStarts;
+
+  /**
+   * The offsets into the source text just after each top-level value ends.
+   */
+  private final int[] valueEnds;
+
+  /**
+   * The value types for each top-level value.
+   */
+  private final byte[] valueTypes;
+
+  /**
+   * The top-level string properties to override, in order, or an empty map.
+   */
+  private final Map<String, String> overrides;
+
+  /**
+   * Constructs an instance backed by indexed source text.
+   */
+  private JsonRecordText(String               source,
+                         String[]             keys,
+                         int[]                memberStarts,
+                         int[]                valueStarts,
+                         int[]                valueEnds,
+                         byte[]               valueTypes,
+                         Map<String, String>  overrides)
+  {
+    this.source       = source;
+    this.object       = null;
+    this.keys         = keys;
+    this.memberStarts = memberStarts;
+    this.valueStarts  = valueStarts;
+    this.valueEnds    = valueEnds;
+    this.valueTypes   = valueTypes;
+    this.overrides    = overrides;
+  }
+
+  /**
+   * Constructs an instance backed by a {@link JsonObject}.
+   */
+  private JsonRecordText(JsonObject object, Map<String, String> overrides) {
+    this.source       = null;
+    this.object       = object;
+    this.keys         = null;
+    this.memberStarts = null;
+    this.valueStarts  = null;
+    this.valueEnds    = null;
+    this.valueTypes   = null;
+    this.overrides    = overrides;
+  }
+
+  /**
+   * Creates an instance backed by the specified {@link JsonObject}.  The
+   * object is only serialized when {@link #toJsonText()} is called.
+   *
+   * @param object The {@link JsonObject} for the record.
+   *
+   * @return The {@link JsonRecordText} for the record, or <tt>null</tt> if
+   *         the specified parameter is <tt>null</tt>.
+   */
+  public static JsonRecordText of(JsonObject object) {
+    if (object == null) return null;
+    return new JsonRecordText(object, Collections.emptyMap());
+  }
+
+  /**
+   * Parses the specified JSON object text.  The text is validated and its
+   * top-level members are indexed without building a {@link JsonObject}.
+   * If the text is not a well-formed JSON object (or uses constructs the
+   * tokenizer defers on, such as duplicate top-level keys) then the text is
+   * parsed with the full JSON parser so that the same exceptions are thrown
+   * and the same results are produced as with {@link
+   * JsonUtils#parseJsonObject(String)}.
+   *
+   * @param text The JSON object text to parse.
+   *
+   * @return The {@link JsonRecordText} for the record, or <tt>null</tt> if
+   *         the specified parameter is <tt>null</tt>.
+   *
+   * @throws javax.json.stream.JsonParsingException If the text is not valid
+   *                                                JSON.
+   */
+  public static JsonRecordText parse(String text) {
+    if (text == null) return null;
+    JsonRecordText result = new Tokenizer(text).tokenize();
+    if (result != null) return result;
+    return of(JsonUtils.parseJsonObject(text));
+  }
+
+  /**
+   * Checks if this instance is backed by indexed text rather than a parsed
+   * {@link JsonObject}.
+   *
+   * @return <tt>true</tt> if backed by text, otherwise <tt>false</tt>.
+   */
+  public boolean isTextBacked() {
+    return (this.source != null);
+  }
+
+  /**
+   * Gets the value for the specified top-level property as a {@link String}
+   * following the same conventions as {@link
+   * JsonUtils#getString(JsonObject,String)}.
+   *
+   * @param key The property key.
+   *
+   * @return The {@link String} value, or <tt>null</tt> if missing or
+   *         <tt>null</tt>.
+   */
+  public String getString(String key) {
+    return this.getString(key, null);
+  }
+
+  /**
+   * Gets the value for the specified top-level property as a {@link String}
+   * following the same conventions as {@link
+   * JsonUtils#getString(JsonObject,String,String)}.
+   *
+   * @param key The property key.
+   * @param defaultValue The value to return if the property is missing or
+   *                     <tt>null</tt>.
+   *
+   * @return The {@link String} value, or the specified default value if
+   *         missing or <tt>null</tt>.
+   */
+  public String getString(String key, String defaultValue) {
+    if (this.overrides.containsKey(key)) return this.overrides.get(key);
+    if (this.object != null) {
+      return JsonUtils.getString(this.object, key, defaultValue);
+    }
+
+    int index = this.indexOf(key);
+    if (index < 0) return defaultValue;
+    int start = this.valueStarts[index];
+    int end   = this.valueEnds[index];
+    switch (this.valueTypes[index]) {
+      case STRING_TYPE:
+        return decodeString(this.source, start, end);
+      case NUMBER_TYPE:
+        return new BigDecimal(this.source.substring(start, end)).toString();
+      case BOOLEAN_TYPE:
+        return this.source.substring(start, end);
+      case NULL_TYPE:
+        return defaultValue;
+      default:
+        return JsonUtils.getString(
+            JsonUtils.parseJsonObject(this.source), key, defaultValue);
+    }
+  }
+
+  /**
+   * Returns a new instance with the specified top-level string properties
+   * replacing (or added to) those of this instance.  Overridden properties
+   * are moved to the end of the object.
+   *
+   * @param values The {@link Map} of property keys to {@link String} values.
+   *
+   * @return The new {@link JsonRecordText}, or this instance if the specified
+   *         {@link Map} is empty.
+   */
+  public JsonRecordText with(Map<String, String> values) {
+    if (values == null || values.isEmpty()) return this;
+    Map<String, String> merged = new LinkedHashMap<>(this.overrides);
+    for (Map.Entry<String, String> entry : values.entrySet()) {
+      merged.remove(entry.getKey());
+      merged.put(entry.getKey(), entry.getValue());
+    }
+    merged = Collections.unmodifiableMap(merged);
+    if (this.object != null) return new JsonRecordText(this.object, merged);
+    return new JsonRecordText(this.source,
+                              this.keys,
+                              this.memberStarts,
+                              this.valueStarts,
+                              this.valueEnds,
+                              this.valueTypes,
+                              merged);
+  }
+
+  /**
+   * Returns the JSON text for the record with any overrides applied.  For
+   * text-backed instances without overrides this is the original text.
+   *
+   * @return The JSON text for the record.
+   */
+  public String toJsonText() {
+    if (this.object != null) {
+      if (this.overrides.isEmpty()) return JsonUtils.toJsonText(this.object);
+      return JsonUtils.toJsonText(this.toJsonObjectBuilder());
+    }
+    if (this.overrides.isEmpty()) return this.source;
+
+    StringBuilder sb = new StringBuilder(this.source.length() + 64);
+    sb.append('{');
+    String prefix = "";
+    for (int index = 0; index < this.keys.length; index++) {
+      if (this.overrides.containsKey(this.keys[index])) continue;
+      sb.append(prefix).append(this.source,
+                               this.memberStarts[index],
+                               this.valueEnds[index]);
+      prefix = ",";
+    }
+    for (Map.Entry<String, String> entry : this.overrides.entrySet()) {
+      sb.append(prefix);
+      appendQuoted(sb, entry.getKey());
+      sb.append(':');
+      if (entry.getValue() == null) {
+        sb.append("null");
+      } else {
+        appendQuoted(sb, entry.getValue());
+      }
+      prefix = ",";
+    }
+    sb.append('}');
+    return sb.toString();
+  }
+
+  /**
+   * Returns the record as a {@link JsonObject} with any overrides applied.
+   *
+   * @return The record as a {@link JsonObject}.
+   */
+  public JsonObject toJsonObject() {
+    if (this.object != null && this.overrides.isEmpty()) return this.object;
+    if (this.object != null) return this.toJsonObjectBuilder().build();
+    return JsonUtils.parseJsonObject(this.toJsonText());
+  }
+
+  /**
+   * Creates a {@link JsonObjectBuilder} from the backing {@link JsonObject}
+   * with the overrides applied.
+   */
+  private JsonObjectBuilder toJsonObjectBuilder() {
+    JsonObjectBuilder job = Json.createObjectBuilder(this.object);
+    this.overrides.forEach((key, value) -> {
+      job.remove(key);
+      if (value == null) {
+        job.addNull(key);
+      } else {
+        job.add(key, value);
+      }
+    });
+    return job;
+  }
+
+  @Override
+  public String toString() {
+    return this.toJsonText();
+  }
+
+  /**
+   * Finds the index of the last top-level member with the specified key.
+   */
+  private int indexOf(String key) {
+    for (int index = this.keys.length - 1; index >= 0; index--) {
+      if (this.keys[index].equals(key)) return index;
+    }
+    return -1;
+  }
+
+  /**
+   * Appends the specified text to the {@link StringBuilder} as a quoted and
+   * escaped JSON string.
+   */
+  private static void appendQuoted(StringBuilder sb, String text) {
+    sb.append('"');
+    for (int index = 0; index < text.length(); index++) {
+      char c = text.charAt(index);
+      switch (c) {
+        case '"':
+          sb.append("\\\"");
+          break;
+        case '\\':
+          sb.append("\\\\");
+          break;
+        case '\n':
+          sb.append("\\n");
+          break;
+        case '\r':
+          sb.append("\\r");
+          break;
+        case '\t':
+          sb.append("\\t");
+          break;
+        case '\b':
+          sb.append("\\b");
+          break;
+        case '\f':
+          sb.append("\\f");
+          break;
+        default:
+          if (c < 0x20) {
+            sb.append(String.format("\\u%04x", (int) c));
+          } else {
+            sb.append(c);
+          }
+      }
+    }
+    sb.append('"');
+  }
+
+  /**
+   * Decodes the JSON string spanning the specified offsets (including the
+   * quotes) of the specified text.
+   */
+  private static String decodeString(String text, int start, int end) {
+    int first = start + 1;
+    int last  = end - 1;
+    int escape = text.indexOf('\\', first);
+    if (escape < 0 || escape >= last) return text.substring(first, last);
+
+    StringBuilder sb = new StringBuilder(last - first);
+    sb.append(text, first, escape);
+    for (int index = escape; index < last; index++) {
+      char c = text.charAt(index);
+      if (c != '\\') {
+        sb.append(c);
+        continue;
+      }
+      c = text.charAt(++index);
+      switch (c) {
+        case 'b':
+          sb.append('\b');
+          break;
+        case 'f':
+          sb.append('\f');
+          break;
+        case 'n':
+          sb.append('\n');
+          break;
+        case 'r':
+          sb.append('\r');
+          break;
+        case 't':
+          sb.append('\t');
+          break;
+        case 'u':
+          sb.append((char) Integer.parseInt(
+              text.substring(index + 1, index + 5), 16));
+          index += 4;
+          break;
+        default:
+          sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Writes rows of columnar values (e.g.: parsed CSV) directly as the JSON
+   * text of text-backed {@link JsonRecordText} instances.  The quoted JSON
+   * key for each column is computed once from the header and each row is
+   * written into a reusable buffer, so no intermediate {@link Map} or {@link
+   * JsonObject} is built per row.  Blank and missing values are omitted and
+   * all other values are written as JSON strings.
+   * <p>
+   * Instances are <b>not</b> thread-safe and are intended to be owned by the
+   * single thread that parses the rows.
+   */
+  static final class RowWriter {
+    /**
+     * The column indexes to write, in order.
+     */
+    private final int[] columns;
+
+    /**
+     * The property key for each column to write.
+     */
+    private final String[] keys;
+
+    /**
+     * The precomputed quoted key and colon for each column to write.
+     */
+    private final char[][] fragments;
+
+    /**
+     * The value types for each column to write, which are all {@link
+     * #STRING_TYPE} and shared across all rows.
+     */
+    private final byte[] valueTypes;
+
+    /**
+     * The reusable buffer for the row text.
+     */
+    private final StringBuilder buffer;
+
+    /**
+     * The reusable member start offsets for the current row.
+     */
+    private final int[] memberStarts;
+
+    /**
+     * The reusable value start offsets for the current row.
+     */
+    private final int[] valueStarts;
+
+    /**
+     * The reusable value end offsets for the current row.
+     */
+    private final int[] valueEnds;
+
+    /**
+     * The reusable keys for the current row.
+     */
+    private final String[] rowKeys;
+
+    /**
+     * Constructs with the {@link Map} of property keys to column indexes.
+     * The properties are written in the iteration order of the {@link Map}.
+     *
+     * @param headerMap The {@link Map} of property keys to column indexes.
+     */
+    RowWriter(Map<String, Integer> headerMap) {
+      int count = headerMap.size();
+      this.columns      = new int[count];
+      this.keys         = new String[count];
+      this.fragments    = new char[count][];
+      this.valueTypes   = new byte[count];
+      this.buffer       = new StringBuilder(1024);
+      this.memberStarts = new int[count];
+      this.valueStarts  = new int[count];
+      this.valueEnds    = new int[count];
+      this.rowKeys      = new String[count];
+
+      int index = 0;
+      StringBuilder sb = new StringBuilder();
+      for (Map.Entry<String, Integer> entry : headerMap.entrySet()) {
+        sb.setLength(0);
+        appendQuoted(sb, entry.getKey());
+        sb.append(':');
+        this.columns[index]     = entry.getValue();
+        this.keys[index]        = entry.getKey();
+        this.fragments[index]   = sb.toString().toCharArray();
+        this.valueTypes[index]  = STRING_TYPE;
+        index++;
+      }
+    }
+
+    /**
+     * Writes the row whose values are obtained from the specified function
+     * and returns the resulting text-backed {@link JsonRecordText}.
+     *
+     * @param values The function for obtaining the value for a column index.
+     * @param valueCount The number of values in the row.
+     *
+     * @return The {@link JsonRecordText} for the row.
+     */
+    JsonRecordText write(IntFunction<String> values, int valueCount) {
+      StringBuilder sb = this.buffer;
+      sb.setLength(0);
+      sb.append('{');
+      int count = 0;
+      for (int index = 0; index < this.columns.length; index++) {
+        int column = this.columns[index];
+        if (column >= valueCount) continue;
+        String value = values.apply(column);
+        if (value == null || isBlank(value)) continue;
+
+        if (count > 0) sb.append(',');
+        this.memberStarts[count] = sb.length();
+        sb.append(this.fragments[index]);
+        this.valueStarts[count] = sb.length();
+        appendQuoted(sb, value);
+        this.valueEnds[count] = sb.length();
+        this.rowKeys[count] = this.keys[index];
+        count++;
+      }
+      sb.append('}');
+
+      String[] keys = (count == this.keys.length)
+          ? this.keys : Arrays.copyOf(this.rowKeys, count);
+
+      return new JsonRecordText(sb.toString(),
+                                keys,
+                                Arrays.copyOf(this.memberStarts, count),
+                                Arrays.copyOf(this.valueStarts, count),
+                                Arrays.copyOf(this.valueEnds, count),
+                                this.valueTypes,
+                                Collections.emptyMap());
+    }
+
+    /**
+     * Checks if the specified value is empty or only whitespace as determined
+     * by {@link String#trim()}.
+     */
+    private static boolean isBlank(String value) {
+      for (int index = 0; index < value.length(); index++) {
+        if (value.charAt(index) > ' ') return false;
+      }
+      return true;
+    }
+  }
+
+  /**
+   * A single-pass tokenizer that validates the JSON grammar and indexes the
+   * top-level members of an object.  It returns <tt>null</tt> whenever it
+   * defers to the full parser.
+   */
+  private static final class Tokenizer {
+    /**
+     * The text being tokenized.
+     */
+    private final String text;
+
+    /**
+     * The length of the text.
+     */
+    private final int length;
+
+    /**
+     * The current position.
+     */
+    private int pos;
+
+    /**
+     * Whether the last string scanned contained an escape sequence.
+     */
+    private boolean escaped;
+
+    /**
+     * Constructs with the text to tokenize.
+     */
+    private Tokenizer(String text) {
+      this.text   = text;
+      this.length = text.length();
+      this.pos    = 0;
+    }
+
+    /**
+     * Tokenizes the text and returns the indexed {@link JsonRecordText} or
+     * <tt>null</tt> if deferring to the full parser.
+     */
+    private JsonRecordText tokenize() {
+      List<String>  keys        = new ArrayList<>();
+      Set<String>   keySet      = null;
+      int[]         members     = new int[16];
+      int[]         valueStarts = new int[16];
+      int[]         valueEnds   = new int[16];
+      byte[]        valueTypes  = new byte[16];
+
+      this.skipWhitespace();
+      if (!this.consume('{')) return null;
+      this.skipWhitespace();
+      if (!this.consume('}')) {
+        while (true) {
+          this.skipWhitespace();
+          int memberStart = this.pos;
+          if (!this.peek('"') || !this.skipString()) return null;
+          String key = (this.escaped)
+              ? decodeString(this.text, memberStart, this.pos)
+              : this.text.substring(memberStart + 1, this.pos - 1);
+          // defer to the full parser for duplicate keys
+          if (keySet != null) {
+            if (!keySet.add(key)) return null;
+          } else if (keys.contains(key)) {
+            return null;
+          } else if (keys.size() == LINEAR_KEY_LIMIT) {
+            keySet = new HashSet<>(keys);
+            keySet.add(key);
+          }
+
+          this.skipWhitespace();
+          if (!this.consume(':')) return null;
+          this.skipWhitespace();
+          int valueStart = this.pos;
+          byte valueType = this.skipValue(0);
+          if (valueType == 0) return null;
+
+          int index = keys.size();
+          if (index == members.length) {
+            int capacity = index * 2;
+            members     = Arrays.copyOf(members, capacity);
+            valueStarts = Arrays.copyOf(valueStarts, capacity);
+            valueEnds   = Arrays.copyOf(valueEnds, capacity);
+            valueTypes  = Arrays.copyOf(valueTypes, capacity);
+          }
+          keys.add(key);
+          members[index]      = memberStart;
+          valueStarts[index]  = valueStart;
+          valueEnds[index]    = this.pos;
+          valueTypes[index]   = valueType;
+
+          this.skipWhitespace();
+          if (this.consume(',')) continue;
+          if (this.consume('}')) break;
+          return null;
+        }
+      }
+
+      // defer to the full parser if there is trailing content
+      this.skipWhitespace();
+      if (this.pos != this.length) return null;
+
+      int count = keys.size();
+      return new JsonRecordText(this.text,
+                                keys.toArray(new String[count]),
+                                Arrays.copyOf(members, count),
+                                Arrays.copyOf(valueStarts, count),
+                                Arrays.copyOf(valueEnds, count),
+                                Arrays.copyOf(valueTypes, count),
+                                Collections.emptyMap());
+    }
+
+    /**
+     * Checks if the current character is the specified character.
+     */
+    private boolean peek(char c) {
+      return (this.pos < this.length && this.text.charAt(this.pos) == c);
+    }
+
+    /**
+     * Consumes the specified character if it is the current character.
+     */
+    private boolean consume(char c) {
+      if (!this.peek(c)) return false;
+      this.pos++;
+      return true;
+    }
+
+    /**
+     * Skips JSON whitespace.
+     */
+    private void skipWhitespace() {
+      while (this.pos < this.length) {
+        char c = this.text.charAt(this.pos);
+        if (c != ' ' && c != '\t' && c != '\n' && c != '\r') return;
+        this.pos++;
+      }
+    }
+
+    /**
+     * Skips the value at the current position and returns its type, or zero
+     * (0) if the value is not valid.
+     */
+    private byte skipValue(int depth) {
+      if (this.pos >= this.length) return 0;
+      char c = this.text.charAt(this.pos);
+      switch (c) {
+        case '"':
+          return this.skipString() ? STRING_TYPE : 0;
+        case '{':
+          return this.skipObject(depth + 1) ? STRUCTURE_TYPE : 0;
+        case '[':
+          return this.skipArray(depth + 1) ? STRUCTURE_TYPE : 0;
+        case 't':
+          return this.skipLiteral("true") ? BOOLEAN_TYPE : 0;
+        case 'f':
+          return this.skipLiteral("false") ? BOOLEAN_TYPE : 0;
+        case 'n':
+          return this.skipLiteral("null") ? NULL_TYPE : 0;
+        default:
+          return this.skipNumber() ? NUMBER_TYPE : 0;
+      }
+    }
+
+    /**
+     * Skips the specified literal.
+     */
+    private boolean skipLiteral(String literal) {
+      if (!this.text.startsWith(literal, this.pos)) return false;
+      this.pos += literal.length();
+      return true;
+    }
+
+    /**
+     * Skips a string starting at the opening quote.
+     */
+    private boolean skipString() {
+      this.escaped = false;
+      this.pos++; // skip the opening quote
+      while (this.pos < this.length) {
+        char c = this.text.charAt(this.pos++);
+        if (c == '"') return true;
+        if (c < 0x20) return false;
+        if (c == '\\') {
+          if (this.pos >= this.length) return false;
+          this.escaped = true;
+          c = this.text.charAt(this.pos++);
+          switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+            case 'b':
+            case 'f':
+            case 'n':
+            case 'r':
+            case 't':
+              break;
+            case 'u':
+              if (this.pos + 4 > this.length) return false;
+              for (int index = 0; index < 4; index++) {
+                if (Character.digit(this.text.charAt(this.pos++), 16) < 0) {
+                  return false;
+                }
+              }
+              break;
+            default:
+              return false;
+          }
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Skips a number according to the JSON number grammar.
+     */
+    private boolean skipNumber() {
+      this.consume('-');
+      if (this.consume('0')) {
+        // no leading zeroes
+      } else if (this.skipDigits() == 0) {
+        return false;
+      }
+      if (this.consume('.') && this.skipDigits() == 0) return false;
+      if (this.consume('e') || this.consume('E')) {
+        if (!this.consume('+')) this.consume('-');
+        if (this.skipDigits() == 0) return false;
+      }
+      return true;
+    }
+
+    /**
+     * Skips decimal digits and returns the number skipped.
+     */
+    private int skipDigits() {
+      int start = this.pos;
+      while (this.pos < this.length) {
+        char c = this.text.charAt(this.pos);
+        if (c < '0' || c > '9') break;
+        this.pos++;
+      }
+      return this.pos - start;
+    }
+
+    /**
+     * Skips a nested object starting at the opening brace.
+     */
+    private boolean skipObject(int depth) {
+      if (depth > MAX_DEPTH) return false;
+      this.pos++; // skip the opening brace
+      this.skipWhitespace();
+      if (this.consume('}')) return true;
+      while (true) {
+        this.skipWhitespace();
+        if (!this.peek('"') || !this.skipString()) return false;
+        this.skipWhitespace();
+        if (!this.consume(':')) return false;
+        this.skipWhitespace();
+        if (this.skipValue(depth) == 0) return false;
+        this.skipWhitespace();
+        if (this.consume(',')) continue;
+        return this.consume('}');
+      }
+    }
+
+    /**
+     * Skips a nested array starting at the opening bracket.
+     */
+    private boolean skipArray(int depth) {
+      if (depth > MAX_DEPTH) return false;
+      this.pos++; // skip the opening bracket
+      this.skipWhitespace();
+      if (this.consume(']')) return true;
+      while (true) {
+        this.skipWhitespace();
+        if (this.skipValue(depth) == 0) return false;
+        this.skipWhitespace();
+        if (this.consume(',')) continue;
+        return this.consume(']');
+      }
+    }
+  }
+}
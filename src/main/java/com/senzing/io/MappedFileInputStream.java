@@ -0,0 +1,215 @@
+package com.senzing.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An {@link InputStream} that reads a file sequentially through read-only
+ * memory-mapped windows of the file rather than through buffered reads.
+ * Each window is at most {@link #DEFAULT_WINDOW_SIZE} bytes (by default) so
+ * that files larger than two gigabytes can be read and the address space
+ * used at any one time is bounded.
+ * <p>
+ * The length of the file is taken when the stream is opened, so bytes
+ * appended to the file afterward are not read.
+ */
+public class MappedFileInputStream extends InputStream {
+  /**
+   * The default size of each mapped window (64MB).
+   */
+  public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+  /**
+   * The {@link FileChannel} for the file.
+   */
+  private FileChannel channel;
+
+  /**
+   * The length of the file when it was opened.
+   */
+  private final long length;
+
+  /**
+   * The size of each mapped window.
+   */
+  private final int windowSize;
+
+  /**
+   * The file offset of the current window.
+   */
+  private long windowOffset;
+
+  /**
+   * The current mapped window, or <tt>null</tt> if none.
+   */
+  private MappedByteBuffer window;
+
+  /**
+   * The mark position in the file, or negative one (-1) if not marked.
+   */
+  private long markPosition = -1L;
+
+  /**
+   * Constructs with the specified {@link File} using the {@linkplain
+   * #DEFAULT_WINDOW_SIZE default window size}.
+   *
+   * @param file The {@link File} to read.
+   *
+   * @throws IOException If the file cannot be opened.
+   */
+  public MappedFileInputStream(File file) throws IOException {
+    this(file, DEFAULT_WINDOW_SIZE);
+  }
+
+  /**
+   * Constructs with the specified {@link File} and window size.
+   *
+   * @param file The {@link File} to read.
+   * @param windowSize The maximum number of bytes to map at once.
+   *
+   * @throws IOException If the file cannot be opened.
+   *
+   * @throws IllegalArgumentException If the window size is not positive.
+   */
+  public MappedFileInputStream(File file, int windowSize) throws IOException
+  {
+    if (windowSize <= 0) {
+      throw new IllegalArgumentException(
+          "The window size must be positive: " + windowSize);
+    }
+    this.channel      = FileChannel.open(file.toPath(),
+                                         StandardOpenOption.READ);
+    this.length       = this.channel.size();
+    this.windowSize   = windowSize;
+    this.windowOffset = 0L;
+    this.window       = null;
+  }
+
+  /**
+   * Gets the length of the file when the stream was opened.
+   *
+   * @return The length of the file when the stream was opened.
+   */
+  public long getLength() {
+    return this.length;
+  }
+
+  /**
+   * Gets the current position in the file.
+   *
+   * @return The current position in the file.
+   */
+  public synchronized long getPosition() {
+    return (this.window == null)
+        ? this.windowOffset : this.windowOffset + this.window.position();
+  }
+
+  /**
+   * Ensures the current window has remaining bytes, mapping the next window
+   * if needed, and returns <tt>false</tt> if at the end of the file.
+   */
+  private boolean ensureWindow() throws IOException {
+    if (this.channel == null) throw new IOException("Stream closed");
+    if (this.window != null && this.window.hasRemaining()) return true;
+    long offset = this.getPosition();
+    if (offset >= this.length) return false;
+    this.mapWindow(offset);
+    return true;
+  }
+
+  /**
+   * Maps the window starting at the specified file offset.
+   */
+  private void mapWindow(long offset) throws IOException {
+    long size = Math.min(this.windowSize, this.length - offset);
+    this.windowOffset = offset;
+    this.window = this.channel.map(FileChannel.MapMode.READ_ONLY,
+                                   offset, size);
+  }
+
+  @Override
+  public synchronized int read() throws IOException {
+    if (!this.ensureWindow()) return -1;
+    return this.window.get() & 0xFF;
+  }
+
+  @Override
+  public synchronized int read(byte[] buffer, int offset, int length)
+      throws IOException
+  {
+    if (offset < 0 || length < 0 || length > buffer.length - offset) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (length == 0) return 0;
+    if (!this.ensureWindow()) return -1;
+    int count = Math.min(length, this.window.remaining());
+    this.window.get(buffer, offset, count);
+    return count;
+  }
+
+  @Override
+  public synchronized long skip(long count) throws IOException {
+    if (this.channel == null) throw new IOException("Stream closed");
+    if (count <= 0L) return 0L;
+    long position = this.getPosition();
+    long skipped  = Math.min(count, this.length - position);
+    if (this.window != null && skipped <= this.window.remaining()) {
+      this.window.position(this.window.position() + (int) skipped);
+    } else {
+      this.windowOffset = position + skipped;
+      this.window       = null;
+    }
+    return skipped;
+  }
+
+  @Override
+  public synchronized int available() throws IOException {
+    if (this.channel == null) throw new IOException("Stream closed");
+    return (int) Math.min(Integer.MAX_VALUE,
+                          this.length - this.getPosition());
+  }
+
+  @Override
+  public boolean markSupported() {
+    return true;
+  }
+
+  @Override
+  public synchronized void mark(int readLimit) {
+    this.markPosition = this.getPosition();
+  }
+
+  @Override
+  public synchronized void reset() throws IOException {
+    if (this.markPosition < 0L) throw new IOException("Mark not set");
+    long position = this.getPosition();
+    if (this.window != null && this.markPosition >= this.windowOffset
+        && this.markPosition <= position)
+    {
+      this.window.position((int) (this.markPosition - this.windowOffset));
+    } else {
+      this.windowOffset = this.markPosition;
+      this.window       = null;
+    }
+  }
+
+  /**
+   * Closes the underlying {@link FileChannel}.  The mapped windows are
+   * released when they are garbage collected.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    this.window = null;
+    if (this.channel != null) {
+      try {
+        this.channel.close();
+      } finally {
+        this.channel = null;
+      }
+    }
+  }
+}
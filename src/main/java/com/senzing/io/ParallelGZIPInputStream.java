@@ -0,0 +1,558 @@
+package com.senzing.io;
+
+import java.io.*;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * An {@link InputStream} that decompresses gzip data consisting of one or
+ * more concatenated gzip members (as produced by <tt>bgzip</tt>, by
+ * concatenating gzip files or by some parallel compressors), inflating the
+ * members concurrently where possible.
+ * <p>
+ * A member can only be inflated concurrently if its compressed size is known
+ * before it is inflated, which is the case for the BGZF format whose members
+ * carry their size in a <tt>"BC"</tt> extra subfield.  Such members are read
+ * whole and inflated by a pool of threads with at most a bounded number
+ * inflated ahead of the reader.  Other members are inflated sequentially as
+ * they are read, exactly as {@link java.util.zip.GZIPInputStream} would, so
+ * any valid gzip data can be read and the output is always in the original
+ * order.  The CRC-32 and size recorded in each member trailer are verified.
+ * <p>
+ * This class is <b>not</b> thread-safe and is intended to be read from a
+ * single thread.
+ */
+public class ParallelGZIPInputStream extends InputStream {
+  /**
+   * The default number of inflater threads.
+   */
+  public static final int DEFAULT_THREAD_COUNT
+      = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+  /**
+   * The number of members per inflater thread that may be inflated ahead of
+   * the reader.
+   */
+  private static final int PENDING_MEMBERS_PER_THREAD = 4;
+
+  /**
+   * The size of the buffer for reading the compressed data and for each
+   * block of sequentially inflated data.
+   */
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * The number of seconds an idle inflater thread is kept alive.
+   */
+  private static final long THREAD_KEEP_ALIVE = 10L;
+
+  /**
+   * The counter for naming the inflater threads.
+   */
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger(0);
+
+  /**
+   * The first gzip magic byte.
+   */
+  private static final int GZIP_MAGIC_1 = 0x1f;
+
+  /**
+   * The second gzip magic byte.
+   */
+  private static final int GZIP_MAGIC_2 = 0x8b;
+
+  /**
+   * The deflate compression method.
+   */
+  private static final int DEFLATE_METHOD = 8;
+
+  /**
+   * The flag for the presence of a header CRC.
+   */
+  private static final int FHCRC = 0x02;
+
+  /**
+   * The flag for the presence of extra fields.
+   */
+  private static final int FEXTRA = 0x04;
+
+  /**
+   * The flag for the presence of a file name.
+   */
+  private static final int FNAME = 0x08;
+
+  /**
+   * The flag for the presence of a comment.
+   */
+  private static final int FCOMMENT = 0x10;
+
+  /**
+   * The length of a member trailer (CRC-32 and size).
+   */
+  private static final int TRAILER_LENGTH = 8;
+
+  /**
+   * The underlying compressed stream with enough push-back capacity to
+   * return the unused input of a sequentially inflated member.
+   */
+  private PushbackInputStream in;
+
+  /**
+   * The number of inflater threads.
+   */
+  private final int threadCount;
+
+  /**
+   * The executor for inflating members concurrently, which is created the
+   * first time a member with a known size is encountered.
+   */
+  private ThreadPoolExecutor executor = null;
+
+  /**
+   * The pending blocks of inflated data in order.
+   */
+  private final Deque<Future<byte[]>> pendingBlocks;
+
+  /**
+   * The block currently being consumed.
+   */
+  private byte[] currentBlock = null;
+
+  /**
+   * The index of the next byte in the current block.
+   */
+  private int currentIndex = 0;
+
+  /**
+   * The {@link Inflater} for the member being inflated sequentially, or
+   * <tt>null</tt> if none.
+   */
+  private Inflater inflater = null;
+
+  /**
+   * The {@link CRC32} for the member being inflated sequentially.
+   */
+  private CRC32 crc = null;
+
+  /**
+   * The buffer for feeding compressed data to the sequential inflater.
+   */
+  private final byte[] inputBuffer;
+
+  /**
+   * The number of bytes most recently read into the input buffer.
+   */
+  private int inputLength = 0;
+
+  /**
+   * Whether or not at least one member has been read.
+   */
+  private boolean started = false;
+
+  /**
+   * Whether or not there are no more members.
+   */
+  private boolean exhausted = false;
+
+  /**
+   * Whether or not this stream is closed.
+   */
+  private boolean closed = false;
+
+  /**
+   * Constructs with the specified {@link InputStream} using the {@linkplain
+   * #DEFAULT_THREAD_COUNT default number of threads}.
+   *
+   * @param in The {@link InputStream} for the gzip data.
+   */
+  public ParallelGZIPInputStream(InputStream in) {
+    this(in, DEFAULT_THREAD_COUNT);
+  }
+
+  /**
+   * Constructs with the specified {@link InputStream} and number of inflater
+   * threads.
+   *
+   * @param in The {@link InputStream} for the gzip data.
+   * @param threadCount The number of inflater threads.
+   *
+   * @throws IllegalArgumentException If the thread count is not positive.
+   */
+  public ParallelGZIPInputStream(InputStream in, int threadCount) {
+    if (threadCount < 1) {
+      throw new IllegalArgumentException(
+          "The thread count must be positive: " + threadCount);
+    }
+    this.in             = new PushbackInputStream(in, BUFFER_SIZE);
+    this.threadCount    = threadCount;
+    this.pendingBlocks  = new LinkedList<>();
+    this.inputBuffer    = new byte[BUFFER_SIZE];
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] buffer = new byte[1];
+    int count = this.read(buffer, 0, 1);
+    return (count < 0) ? -1 : (buffer[0] & 0xFF);
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    if (this.closed) throw new IOException("Stream closed");
+    if (offset < 0 || length < 0 || length > buffer.length - offset) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (length == 0) return 0;
+    while (this.currentBlock == null
+           || this.currentIndex >= this.currentBlock.length)
+    {
+      this.fillPendingBlocks();
+      Future<byte[]> future = this.pendingBlocks.poll();
+      if (future == null) return -1;
+      this.currentBlock = await(future);
+      this.currentIndex = 0;
+    }
+    int count = Math.min(length, this.currentBlock.length - this.currentIndex);
+    System.arraycopy(this.currentBlock, this.currentIndex,
+                     buffer, offset, count);
+    this.currentIndex += count;
+    return count;
+  }
+
+  @Override
+  public int available() throws IOException {
+    if (this.closed) throw new IOException("Stream closed");
+    return (this.currentBlock == null)
+        ? 0 : this.currentBlock.length - this.currentIndex;
+  }
+
+  /**
+   * Stops the inflater threads and closes the underlying stream.
+   */
+  @Override
+  public void close() throws IOException {
+    if (this.closed) return;
+    this.closed = true;
+    this.exhausted = true;
+    for (Future<byte[]> future : this.pendingBlocks) {
+      future.cancel(true);
+    }
+    this.pendingBlocks.clear();
+    this.currentBlock = null;
+    if (this.inflater != null) this.inflater.end();
+    this.inflater = null;
+    if (this.executor != null) this.executor.shutdownNow();
+    this.in.close();
+  }
+
+  /**
+   * Reads members and queues their inflated data until the maximum number of
+   * blocks are pending or there are no more members.  At most one block is
+   * queued from a sequentially inflated member per call so that its data is
+   * consumed as it is inflated.
+   */
+  private void fillPendingBlocks() throws IOException {
+    int maxPending = this.threadCount * PENDING_MEMBERS_PER_THREAD;
+    while (!this.exhausted && this.pendingBlocks.size() < maxPending) {
+      if (this.inflater != null) {
+        this.pendingBlocks.add(
+            CompletableFuture.completedFuture(this.inflateSequentially()));
+        return;
+      }
+      if (!this.readMember()) {
+        this.exhausted = true;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Reads the header of the next member and either submits the member to be
+   * inflated concurrently or prepares to inflate it sequentially.  This
+   * returns <tt>false</tt> if there are no more members.
+   */
+  private boolean readMember() throws IOException {
+    int magic1 = this.in.read();
+    if (magic1 < 0 && this.started) return false;
+    int magic2 = this.in.read();
+    if (magic1 != GZIP_MAGIC_1 || magic2 != GZIP_MAGIC_2) {
+      if (this.started) {
+        // trailing data that is not a gzip member is ignored
+        return false;
+      }
+      throw new ZipException("Not in GZIP format");
+    }
+    this.started = true;
+
+    ByteArrayOutputStream header = new ByteArrayOutputStream();
+    header.write(magic1);
+    header.write(magic2);
+    int method  = readByte(this.in, header);
+    int flags   = readByte(this.in, header);
+    if (method != DEFLATE_METHOD) {
+      throw new ZipException("Unsupported compression method: " + method);
+    }
+    for (int index = 0; index < 6; index++) {
+      readByte(this.in, header);  // MTIME, XFL and OS
+    }
+
+    // read the extra fields, looking for the BGZF block size
+    int blockSize = -1;
+    if ((flags & FEXTRA) != 0) {
+      int extraLength = readShort(this.in, header);
+      int remaining   = extraLength;
+      while (remaining >= 4) {
+        int id1       = readByte(this.in, header);
+        int id2       = readByte(this.in, header);
+        int subLength = readShort(this.in, header);
+        remaining -= 4;
+        if (subLength > remaining) {
+          throw new ZipException("Corrupt GZIP extra field");
+        }
+        if (id1 == 'B' && id2 == 'C' && subLength == 2) {
+          blockSize = readShort(this.in, header) + 1;
+        } else {
+          for (int index = 0; index < subLength; index++) {
+            readByte(this.in, header);
+          }
+        }
+        remaining -= subLength;
+      }
+      for (int index = 0; index < remaining; index++) {
+        readByte(this.in, header);
+      }
+    }
+    if ((flags & FNAME) != 0) {
+      while (readByte(this.in, header) != 0) continue;
+    }
+    if ((flags & FCOMMENT) != 0) {
+      while (readByte(this.in, header) != 0) continue;
+    }
+    if ((flags & FHCRC) != 0) {
+      readShort(this.in, header);
+    }
+
+    int dataLength = blockSize - header.size() - TRAILER_LENGTH;
+    if (blockSize < 0 || dataLength < 0) {
+      // the member size is not known so inflate it sequentially
+      this.inflater = new Inflater(true);
+      this.crc      = new CRC32();
+      return true;
+    }
+
+    // read the whole member and inflate it concurrently
+    byte[] member = new byte[dataLength + TRAILER_LENGTH];
+    readFully(this.in, member);
+    this.pendingBlocks.add(this.getExecutor().submit(
+        () -> inflateMember(member, dataLength)));
+    return true;
+  }
+
+  /**
+   * Inflates the next block of the member being inflated sequentially,
+   * verifying the trailer and pushing back any unused input once the
+   * member is complete.
+   */
+  private byte[] inflateSequentially() throws IOException {
+    byte[] output = new byte[BUFFER_SIZE];
+    int    count  = 0;
+    try {
+      while (count < output.length && !this.inflater.finished()) {
+        if (this.inflater.needsInput()) {
+          this.inputLength = this.in.read(this.inputBuffer);
+          if (this.inputLength < 0) {
+            throw new EOFException("Unexpected end of ZLIB input stream");
+          }
+          this.inflater.setInput(this.inputBuffer, 0, this.inputLength);
+        }
+        int inflated = this.inflater.inflate(output, count,
+                                             output.length - count);
+        if (inflated == 0 && this.inflater.needsDictionary()) {
+          throw new ZipException("Unexpected preset dictionary");
+        }
+        count += inflated;
+      }
+
+    } catch (DataFormatException e) {
+      throw new ZipException(e.getMessage());
+    }
+    this.crc.update(output, 0, count);
+
+    if (this.inflater.finished()) {
+      int remaining = this.inflater.getRemaining();
+      if (remaining > 0) {
+        this.in.unread(this.inputBuffer, this.inputLength - remaining,
+                       remaining);
+      }
+      byte[] trailer = new byte[TRAILER_LENGTH];
+      readFully(this.in, trailer);
+      verifyTrailer(trailer, 0, this.crc.getValue(),
+                    this.inflater.getBytesWritten());
+      this.inflater.end();
+      this.inflater = null;
+      this.crc      = null;
+    }
+    return (count == output.length) ? output : copyOf(output, count);
+  }
+
+  /**
+   * Inflates the specified whole member (its compressed data followed by
+   * its trailer) and verifies its trailer.
+   */
+  private static byte[] inflateMember(byte[] member, int dataLength)
+      throws IOException
+  {
+    Inflater inflater = new Inflater(true);
+    try {
+      inflater.setInput(member, 0, dataLength);
+      ByteArrayOutputStream baos = new ByteArrayOutputStream(
+          Math.max(32, dataLength * 4));
+      byte[] buffer = new byte[BUFFER_SIZE];
+      while (!inflater.finished()) {
+        int count = inflater.inflate(buffer);
+        if (count == 0 && !inflater.finished()
+            && (inflater.needsInput() || inflater.needsDictionary()))
+        {
+          throw new ZipException("Truncated or corrupt GZIP member");
+        }
+        baos.write(buffer, 0, count);
+      }
+      byte[] result = baos.toByteArray();
+      CRC32 crc = new CRC32();
+      crc.update(result);
+      verifyTrailer(member, dataLength, crc.getValue(), result.length);
+      return result;
+
+    } catch (DataFormatException e) {
+      throw new ZipException(e.getMessage());
+
+    } finally {
+      inflater.end();
+    }
+  }
+
+  /**
+   * Verifies the member trailer at the specified offset against the
+   * specified CRC-32 and uncompressed size.
+   */
+  private static void verifyTrailer(byte[] bytes,
+                                    int    offset,
+                                    long   crc,
+                                    long   size)
+      throws ZipException
+  {
+    long trailerCrc  = readInt(bytes, offset);
+    long trailerSize = readInt(bytes, offset + 4);
+    if (trailerCrc != crc) {
+      throw new ZipException("Corrupt GZIP trailer (CRC mismatch)");
+    }
+    if (trailerSize != (size & 0xFFFFFFFFL)) {
+      throw new ZipException("Corrupt GZIP trailer (size mismatch)");
+    }
+  }
+
+  /**
+   * Gets the executor for inflating members concurrently, creating it if
+   * needed.
+   */
+  private ThreadPoolExecutor getExecutor() {
+    if (this.executor == null) {
+      this.executor = new ThreadPoolExecutor(
+          this.threadCount,
+          this.threadCount,
+          THREAD_KEEP_ALIVE,
+          TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(),
+          (runnable) -> {
+            Thread thread = new Thread(
+                runnable, "gzip-inflater-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          });
+      this.executor.allowCoreThreadTimeOut(true);
+    }
+    return this.executor;
+  }
+
+  /**
+   * Waits for the specified block to be inflated.
+   */
+  private static byte[] await(Future<byte[]> future) throws IOException {
+    try {
+      return future.get();
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while inflating");
+
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) throw (IOException) cause;
+      if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+      if (cause instanceof Error) throw (Error) cause;
+      throw new IOException(cause);
+    }
+  }
+
+  /**
+   * Reads a byte from the specified stream, recording it in the header.
+   */
+  private static int readByte(InputStream in, ByteArrayOutputStream header)
+      throws IOException
+  {
+    int b = in.read();
+    if (b < 0) throw new EOFException("Unexpected end of GZIP header");
+    header.write(b);
+    return b;
+  }
+
+  /**
+   * Reads a little-endian unsigned short from the specified stream,
+   * recording it in the header.
+   */
+  private static int readShort(InputStream in, ByteArrayOutputStream header)
+      throws IOException
+  {
+    return readByte(in, header) | (readByte(in, header) << 8);
+  }
+
+  /**
+   * Reads a little-endian unsigned int from the specified bytes.
+   */
+  private static long readInt(byte[] bytes, int offset) {
+    return ((bytes[offset] & 0xFFL)
+            | ((bytes[offset + 1] & 0xFFL) << 8)
+            | ((bytes[offset + 2] & 0xFFL) << 16)
+            | ((bytes[offset + 3] & 0xFFL) << 24));
+  }
+
+  /**
+   * Reads exactly enough bytes from the specified stream to fill the
+   * specified buffer.
+   */
+  private static void readFully(InputStream in, byte[] buffer)
+      throws IOException
+  {
+    int offset = 0;
+    while (offset < buffer.length) {
+      int count = in.read(buffer, offset, buffer.length - offset);
+      if (count < 0) throw new EOFException("Unexpected end of GZIP data");
+      offset += count;
+    }
+  }
+
+  /**
+   * Copies the leading bytes of the specified buffer.
+   */
+  private static byte[] copyOf(byte[] buffer, int length) {
+    byte[] result = new byte[length];
+    System.arraycopy(buffer, 0, result, 0, length);
+    return result;
+  }
+}
@@ -12,13 +12,19 @@ import javax.json.stream.JsonParser;
 import javax.json.stream.JsonParserFactory;
 import javax.json.stream.JsonParsingException;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 
 /**
  * Provides a reader over records that are formatted as JSON, JSON-Lines
  * or CSV.
  */
-public class RecordReader {
+public class RecordReader implements Closeable {
   /**
    * Represents the supported format for the records.
    */
@@ -129,6 +135,12 @@ public class RecordReader {
    */
   private RecordProvider recordProvider;
 
+  /**
+   * The {@link FileChannel} opened by this instance, or <tt>null</tt> if
+   * reading from a {@link Reader} or {@link InputStream}.
+   */
+  private FileChannel fileChannel = null;
+
   /**
    * Constructs a {@link RecordReader} with the specified {@link Reader}.
    * The format of the reader is inferred using the first character read.
@@ -401,6 +413,225 @@ public class RecordReader {
                       String              sourceId)
       throws IOException
   {
+    this(dataSourceMap, entityTypeMap, sourceId);
+    this.initialize(format, reader);
+  }
+
+  /**
+   * Constructs a {@link RecordReader} that reads the records from the
+   * specified {@link File} using the specified number of parser threads.
+   * JSON-lines and CSV files in an ASCII-compatible {@link Charset} (e.g.:
+   * UTF-8) are split at record boundaries into chunks that are {@linkplain
+   * FileChannel#map memory-mapped} and parsed concurrently, with the records
+   * returned in their original order.  Otherwise, or if the parser count is
+   * one, the file is read sequentially.  The file is closed when this
+   * instance is {@linkplain #close() closed}.
+   *
+   * @param format The expected format of the records, or <tt>null</tt> if
+   *               the format should be inferred from the first
+   *               non-whitespace character.
+   *
+   * @param file The {@link File} from which to read the records.
+   *
+   * @param charset The {@link Charset} of the file.
+   *
+   * @param dataSourceMap The map of original data source names to replacement
+   *                      data source name.  The mapping from empty-string will
+   *                      be used for any record that has no data source or
+   *                      whose data source is not in the map.
+   *
+   * @param entityTypeMap The map of original entity type codes to replacement
+   *                      entity type codes.  The mapping from empty-string will
+   *                      be used for any record that has no entity type or
+   *                      whose entity type is not in the map.
+   *
+   * @param sourceId the source ID to assign to each record.
+   *
+   * @param parserCount The number of threads with which to parse records.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  public RecordReader(Format              format,
+                      File                file,
+                      Charset             charset,
+                      Map<String, String> dataSourceMap,
+                      Map<String, String> entityTypeMap,
+                      String              sourceId,
+                      int                 parserCount)
+      throws IOException
+  {
+    this(dataSourceMap, entityTypeMap, sourceId);
+    this.fileChannel = FileChannel.open(file.toPath(),
+                                        StandardOpenOption.READ);
+    try {
+      if (!isChunkable(format, charset, parserCount)) {
+        this.initialize(format, new BufferedReader(
+            Channels.newReader(this.fileChannel, charset.newDecoder(), -1)));
+        return;
+      }
+
+      // infer the format from the first non-whitespace byte, skipping the
+      // leading whitespace as is done for character data
+      long offset = 0L;
+      this.format = format;
+      ByteBuffer buffer = ByteBuffer.allocate(1);
+      while (this.format == null
+             && this.fileChannel.read(buffer, offset) > 0)
+      {
+        char nextChar = (char) (buffer.get(0) & 0xFF);
+        buffer.clear();
+        if (Character.isWhitespace(nextChar)) {
+          offset++;
+          continue;
+        }
+        this.format = inferFormat(nextChar);
+      }
+      if (this.format == null) this.format = Format.JSON_LINES;
+
+      if (this.format == Format.JSON) {
+        this.fileChannel.position(offset);
+        this.initialize(this.format, new BufferedReader(
+            Channels.newReader(this.fileChannel, charset.newDecoder(), -1)));
+      } else {
+        this.recordProvider = new ChunkedRecordProvider(
+            new ChunkedRecordParser(
+                this.format, this.fileChannel, offset, charset, parserCount));
+      }
+
+    } catch (IOException|RuntimeException e) {
+      this.fileChannel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Constructs a {@link RecordReader} that reads the records from the
+   * specified {@link InputStream} using the specified number of parser
+   * threads.  JSON-lines and CSV records in an ASCII-compatible {@link
+   * Charset} (e.g.: UTF-8) are read in chunks split at record boundaries and
+   * parsed concurrently, with the records returned in their original order.
+   * Otherwise, or if the parser count is one, the records are read
+   * sequentially.  The specified {@link InputStream} is <b>not</b> closed by
+   * this instance.
+   *
+   * @param format The expected format of the records, or <tt>null</tt> if
+   *               the format should be inferred from the first
+   *               non-whitespace character.
+   *
+   * @param inputStream The {@link InputStream} from which to read the
+   *                    records.
+   *
+   * @param charset The {@link Charset} of the records.
+   *
+   * @param dataSourceMap The map of original data source names to replacement
+   *                      data source name.  The mapping from empty-string will
+   *                      be used for any record that has no data source or
+   *                      whose data source is not in the map.
+   *
+   * @param entityTypeMap The map of original entity type codes to replacement
+   *                      entity type codes.  The mapping from empty-string will
+   *                      be used for any record that has no entity type or
+   *                      whose entity type is not in the map.
+   *
+   * @param sourceId the source ID to assign to each record.
+   *
+   * @param parserCount The number of threads with which to parse records.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  public RecordReader(Format              format,
+                      InputStream         inputStream,
+                      Charset             charset,
+                      Map<String, String> dataSourceMap,
+                      Map<String, String> entityTypeMap,
+                      String              sourceId,
+                      int                 parserCount)
+      throws IOException
+  {
+    this(dataSourceMap, entityTypeMap, sourceId);
+    if (!isChunkable(format, charset, parserCount)) {
+      this.initialize(format, new BufferedReader(
+          new InputStreamReader(inputStream, charset)));
+      return;
+    }
+
+    // infer the format from the first non-whitespace byte, skipping the
+    // leading whitespace as is done for character data
+    PushbackInputStream pushbackStream = new PushbackInputStream(inputStream);
+    this.format = format;
+    while (this.format == null) {
+      int nextByte = pushbackStream.read();
+      if (nextByte < 0) break;
+      if (Character.isWhitespace((char) nextByte)) continue;
+      pushbackStream.unread(nextByte);
+      this.format = inferFormat((char) nextByte);
+    }
+    if (this.format == null) this.format = Format.JSON_LINES;
+
+    if (this.format == Format.JSON) {
+      this.initialize(this.format, new BufferedReader(
+          new InputStreamReader(pushbackStream, charset)));
+    } else {
+      this.recordProvider = new ChunkedRecordProvider(
+          new ChunkedRecordParser(
+              this.format, pushbackStream, charset, parserCount));
+    }
+  }
+
+  /**
+   * Internal constructor that initializes the data source map, entity type
+   * map and source ID.
+   */
+  private RecordReader(Map<String, String> dataSourceMap,
+                       Map<String, String> entityTypeMap,
+                       String              sourceId)
+  {
+    // initialize the data source map with upper-case keys
+    this.dataSourceMap = (dataSourceMap == null) ? Collections.emptyMap()
+        : new LinkedHashMap<>();
+    try {
+      if (dataSourceMap != null) {
+        dataSourceMap.entrySet().forEach(entry -> {
+          String key = entry.getKey();
+          if (key != null) key = key.trim().toUpperCase();
+          String value = entry.getValue().trim().toUpperCase();
+          this.dataSourceMap.put(key, value);
+        });
+        this.dataSourceMap = Collections.unmodifiableMap(this.dataSourceMap);
+      }
+
+      // initialize the data source map with upper-case keys
+      this.entityTypeMap = (entityTypeMap == null) ? Collections.emptyMap()
+          : new LinkedHashMap<>();
+      if (entityTypeMap != null) {
+        entityTypeMap.entrySet().forEach(entry -> {
+          String key = entry.getKey();
+          if (key != null) key = key.trim().toUpperCase();
+          String value = entry.getValue().trim().toUpperCase();
+          this.entityTypeMap.put(key, value);
+        });
+        this.entityTypeMap = Collections.unmodifiableMap(this.entityTypeMap);
+      }
+    } catch (NullPointerException e) {
+      System.err.println("DATA SOURCE MAP: " + dataSourceMap);
+      System.err.println("ENTITY TYPE MAP: " + entityTypeMap);
+      throw e;
+    }
+    this.sourceId = sourceId;
+    if (this.sourceId != null) {
+      this.sourceId = this.sourceId.trim();
+      if (this.sourceId.length() == 0) {
+        this.sourceId = null;
+      }
+    }
+  }
+
+  /**
+   * Initializes the {@link RecordProvider} for the specified {@link Reader},
+   * inferring the {@link Format} from the first non-whitespace character if
+   * the specified {@link Format} is <tt>null</tt>.
+   */
+  private void initialize(Format format, Reader reader) throws IOException {
     // set the format
     this.format = format;
 
@@ -427,17 +658,8 @@ public class RecordReader {
         // if not whitespace then unread the character
         pushbackReader.unread(nextChar);
 
-        // switch on the character to determine the format
-        switch ((char) nextChar) {
-          case '[':
-            this.format = Format.JSON;
-            break;
-          case '{':
-            this.format = Format.JSON_LINES;
-            break;
-          default:
-            this.format = Format.CSV;
-        }
+        // determine the format from the character
+        this.format = inferFormat((char) nextChar);
       }
 
     } else {
@@ -468,47 +690,52 @@ public class RecordReader {
       // use a JSON-lines record provider if the format is null
       this.recordProvider = new JsonLinesRecordProvider(this.reader);
     }
+  }
 
-    // initialize the data source map with upper-case keys
-    this.dataSourceMap = (dataSourceMap == null) ? Collections.emptyMap()
-        : new LinkedHashMap<>();
-    try {
-      if (dataSourceMap != null) {
-        dataSourceMap.entrySet().forEach(entry -> {
-          String key = entry.getKey();
-          if (key != null) key = key.trim().toUpperCase();
-          String value = entry.getValue().trim().toUpperCase();
-          this.dataSourceMap.put(key, value);
-        });
-        this.dataSourceMap = Collections.unmodifiableMap(this.dataSourceMap);
-      }
-
-      // initialize the data source map with upper-case keys
-      this.entityTypeMap = (entityTypeMap == null) ? Collections.emptyMap()
-          : new LinkedHashMap<>();
-      if (entityTypeMap != null) {
-        entityTypeMap.entrySet().forEach(entry -> {
-          String key = entry.getKey();
-          if (key != null) key = key.trim().toUpperCase();
-          String value = entry.getValue().trim().toUpperCase();
-          this.entityTypeMap.put(key, value);
-        });
-        this.entityTypeMap = Collections.unmodifiableMap(this.entityTypeMap);
-      }
-    } catch (NullPointerException e) {
-      System.err.println("DATA SOURCE MAP: " + dataSourceMap);
-      System.err.println("ENTITY TYPE MAP: " + entityTypeMap);
-      throw e;
-    }
-    this.sourceId = sourceId;
-    if (this.sourceId != null) {
-      this.sourceId = this.sourceId.trim();
-      if (this.sourceId.length() == 0) {
-        this.sourceId = null;
-      }
+  /**
+   * Infers the {@link Format} from the first non-whitespace character.
+   */
+  private static Format inferFormat(char firstChar) {
+    switch (firstChar) {
+      case '[':
+        return Format.JSON;
+      case '{':
+        return Format.JSON_LINES;
+      default:
+        return Format.CSV;
     }
   }
 
+  /**
+   * Checks if record boundaries can be found in data encoded with the
+   * specified {@link Charset} by scanning for single-byte ASCII line feeds,
+   * carriage returns, quotes and commas.  This is the case for UTF-8 and the
+   * other ASCII-compatible character sets.
+   *
+   * @param charset The {@link Charset} to check.
+   *
+   * @return <tt>true</tt> if the {@link Charset} is ASCII-compatible,
+   *         otherwise <tt>false</tt>.
+   */
+  public static boolean isAsciiCompatible(Charset charset) {
+    if (!charset.canEncode()) return false;
+    String probe = "\n\r\",[{";
+    return Arrays.equals(probe.getBytes(charset),
+                         probe.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  /**
+   * Checks if records in the specified {@link Format} and {@link Charset}
+   * can be parsed in chunks using the specified number of parser threads.
+   */
+  private static boolean isChunkable(Format   format,
+                                     Charset  charset,
+                                     int      parserCount)
+  {
+    return (parserCount > 1 && format != Format.JSON
+            && isAsciiCompatible(charset));
+  }
+
   /**
    * Returns the {@link Format} of the records.
    *
@@ -526,9 +753,36 @@ public class RecordReader {
    *         records.
    */
   public JsonObject readRecord() {
+    return this.augmentRecord(this.recordProvider.getNextRecord());
+  }
+
+  /**
+   * Reads the next record <b>without</b> {@linkplain #augmentRecord(JsonObject)
+   * augmenting} it and returns <tt>null</tt> if there are no more records.
+   * This allows the parsing of records to be separated from the augmenting
+   * so the latter can be performed on other threads.
+   *
+   * @return The next un-augmented record and returns <tt>null</tt> if there
+   *         are no more records.
+   */
+  public JsonObject readRawRecord() {
     return this.recordProvider.getNextRecord();
   }
 
+  /**
+   * Reads the next record as un-augmented {@link JsonRecordText} and returns
+   * <tt>null</tt> if there are no more records.  For JSON-lines data the
+   * record text is validated and indexed without being parsed into a {@link
+   * JsonObject}.  Records obtained this way can be augmented on other threads
+   * via {@link #augmentRecordText(JsonRecordText)}.
+   *
+   * @return The next un-augmented {@link JsonRecordText} record and returns
+   *         <tt>null</tt> if there are no more records.
+   */
+  public JsonRecordText readRecordText() {
+    return this.recordProvider.getNextRecordText();
+  }
+
   /**
    * Gets the line number of an error after calling {@link #readRecord()}.
    * This returns <tt>null</tt> if there was no error after calling {@link
@@ -542,16 +796,39 @@ public class RecordReader {
     return this.recordProvider.getErrorLineNumber();
   }
 
+  /**
+   * Releases the parser threads used by this instance and closes the file if
+   * this instance was constructed with a {@link File}.  The {@link Reader} or
+   * {@link InputStream} specified on construction is <b>not</b> closed.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  @Override
+  public void close() throws IOException {
+    this.recordProvider.close();
+    if (this.fileChannel != null) this.fileChannel.close();
+  }
+
   /**
    * A interface for providing records.
    */
   private interface RecordProvider {
     /**
-     * Gets the next record as a {@link JsonObject}.
+     * Gets the next un-augmented record as a {@link JsonObject}.
      * @return The next {@link JsonObject} record.
      */
     JsonObject getNextRecord();
 
+    /**
+     * Gets the next un-augmented record as {@link JsonRecordText}.  By
+     * default this wraps the result of {@link #getNextRecord()}.
+     *
+     * @return The next {@link JsonRecordText} record.
+     */
+    default JsonRecordText getNextRecordText() {
+      return JsonRecordText.of(this.getNextRecord());
+    }
+
     /**
      * Gets the line number of an error after calling {@link #getNextRecord()}.
      * This returns <tt>null</tt> if there was no error after calling {@link
@@ -562,22 +839,73 @@ public class RecordReader {
      *         get a record, or <tt>null</tt> if there was no error.
      */
     Long getErrorLineNumber();
+
+    /**
+     * Releases any resources held by this instance.  By default this does
+     * nothing.
+     */
+    default void close() {
+      // do nothing
+    }
   }
 
   /**
    * Augments the specified record with <tt>"DATA_SOURCE"</tt>,
-   * <tt>"ENTITY_TYPE"</tt> and <tt>"SOURCE_ID"</tt> as appropriate.
+   * <tt>"ENTITY_TYPE"</tt> and <tt>"SOURCE_ID"</tt> as appropriate.  This
+   * method does not modify the state of this instance and may be called
+   * concurrently from multiple threads on records obtained via {@link
+   * #readRawRecord()}.
    *
    * @param record The {@link JsonObject} record to be updated.
    * @return The updated {@link JsonObject} record.
    */
-  private JsonObject augmentRecord(JsonObject record)
+  public JsonObject augmentRecord(JsonObject record)
   {
     if (record == null) return null;
     JsonObjectBuilder job = Json.createObjectBuilder(record);
     String dsrc = JsonUtils.getString(record, "DATA_SOURCE", "");
-    dsrc = dsrc.trim().toUpperCase();
     String etype = JsonUtils.getString(record, "ENTITY_TYPE", "");
+
+    // remap the data source, entity type and source ID
+    this.getOverrides(dsrc, etype).forEach((key, value) -> {
+      job.remove(key);
+      job.add(key, value);
+    });
+
+    // build the object
+    return job.build();
+  }
+
+  /**
+   * Augments the specified {@link JsonRecordText} with <tt>"DATA_SOURCE"</tt>,
+   * <tt>"ENTITY_TYPE"</tt> and <tt>"SOURCE_ID"</tt> in the same way as
+   * {@link #augmentRecord(JsonObject)}, but splices the values into the
+   * record text rather than rebuilding a {@link JsonObject}.  This method
+   * does not modify the state of this instance and may be called concurrently
+   * from multiple threads on records obtained via {@link #readRecordText()}.
+   *
+   * @param record The {@link JsonRecordText} record to be updated.
+   * @return The updated {@link JsonRecordText} record.
+   */
+  public JsonRecordText augmentRecordText(JsonRecordText record) {
+    if (record == null) return null;
+    String dsrc = record.getString("DATA_SOURCE", "");
+    String etype = record.getString("ENTITY_TYPE", "");
+    return record.with(this.getOverrides(dsrc, etype));
+  }
+
+  /**
+   * Determines the <tt>"DATA_SOURCE"</tt>, <tt>"ENTITY_TYPE"</tt> and
+   * <tt>"SOURCE_ID"</tt> values that should replace those of a record with
+   * the specified data source and entity type.
+   *
+   * @param dsrc The record's data source, or empty string if none.
+   * @param etype The record's entity type, or empty string if none.
+   *
+   * @return The {@link Map} of property keys to replacement values.
+   */
+  private Map<String, String> getOverrides(String dsrc, String etype) {
+    dsrc = dsrc.trim().toUpperCase();
     etype = etype.trim().toUpperCase();
 
     // get the mapped data source
@@ -594,28 +922,22 @@ public class RecordReader {
       entityType = null;
     }
 
-    // remap the data source
-    if (dataSource != null) {
-      job.remove("DATA_SOURCE");
-      job.add("DATA_SOURCE", dataSource);
-      dsrc = dataSource;
+    if (dataSource == null && entityType == null && this.sourceId == null) {
+      return Collections.emptyMap();
     }
 
+    Map<String, String> result = new LinkedHashMap<>();
+
+    // remap the data source
+    if (dataSource != null) result.put("DATA_SOURCE", dataSource);
+
     // remap the entity type
-    if (entityType != null) {
-      job.remove("ENTITY_TYPE");
-      job.add("ENTITY_TYPE", entityType);
-      etype = entityType;
-    }
+    if (entityType != null) result.put("ENTITY_TYPE", entityType);
 
     // set the source ID
-    if (this.sourceId != null) {
-      job.remove("SOURCE_ID");
-      job.add("SOURCE_ID", this.sourceId);
-    }
+    if (this.sourceId != null) result.put("SOURCE_ID", this.sourceId);
 
-    // build the object
-    return job.build();
+    return result;
   }
 
   /**
@@ -655,12 +977,11 @@ public class RecordReader {
      * @return The next {@link JsonObject} from the array.
      */
     public JsonObject getNextRecord() {
-      RecordReader owner = RecordReader.this;
       JsonObject result = null;
       while (result == null) {
         try {
           if (!recordIter.hasNext()) break;
-          result = owner.augmentRecord(this.recordIter.next());
+          result = this.recordIter.next();
           this.errant = false; // clear the errant flag
 
         } catch (Exception e) {
@@ -711,6 +1032,44 @@ public class RecordReader {
       this.reader = new BufferedReader(reader);
     }
 
+    /**
+     * Reads the next line from the file that should contain a record,
+     * skipping blank lines and comment lines.
+     *
+     * @return The trimmed text of the next record line, or <tt>null</tt> if
+     *         there are no more lines.
+     */
+    private String readRecordLine() throws IOException {
+      while (this.reader != null) {
+        // read the next line and check for EOF
+        String line = this.reader.readLine();
+        if (line == null) {
+          this.reader.close();
+          this.reader = null;
+          continue;
+        }
+        this.lineNumber++;
+        this.errorLineNumber = null; // clear the error line number
+
+        // trim the line of extra whitespace
+        line = line.trim();
+
+        // check for blank lines and skip them
+        if (line.length() == 0) continue;
+
+        // check if the line begins with a "#" for a comment lines
+        if (line.startsWith("#")) continue;
+
+        // check if the line does NOT start with "{"
+        if (!line.startsWith("{")) {
+          throw new IllegalStateException(
+              "Line does not appear to be JSON record: " + line);
+        }
+        return line;
+      }
+      return null;
+    }
+
     /**
      * Implemented to get the next line from the file and parse it as
      * a {@link JsonObject} record.
@@ -719,47 +1078,44 @@ public class RecordReader {
      */
     public JsonObject getNextRecord() {
       try {
-        RecordReader  owner   = RecordReader.this;
-        JsonObject    record  = null;
-
-        while (this.reader != null && record == null) {
-          // read the next line and check for EOF
-          String line = this.reader.readLine();
-          if (line == null) {
-            this.reader.close();
-            this.reader = null;
-            continue;
-          }
-          this.lineNumber++;
-          this.errorLineNumber = null; // clear the error line number
+        String line = this.readRecordLine();
+        if (line == null) return null;
 
-          // trim the line of extra whitespace
-          line = line.trim();
+        // parse the line
+        try {
+          return JsonUtils.parseJsonObject(line);
 
-          // check for blank lines and skip them
-          if (line.length() == 0) continue;
+        } catch (JsonParsingException e) {
+          this.errorLineNumber = this.lineNumber;
+          throw e;
+        }
 
-          // check if the line begins with a "#" for a comment lines
-          if (line.startsWith("#")) continue;
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
 
-          // check if the line does NOT start with "{"
-          if (!line.startsWith("{")) {
-            throw new IllegalStateException(
-                "Line does not appear to be JSON record: " + line);
-          }
+    /**
+     * Implemented to get the next line from the file and tokenize it as
+     * {@link JsonRecordText} without building a {@link JsonObject}.
+     *
+     * @return The next {@link JsonRecordText} record.
+     */
+    @Override
+    public JsonRecordText getNextRecordText() {
+      try {
+        String line = this.readRecordLine();
+        if (line == null) return null;
 
-          // parse the line
-          try {
-            record = JsonUtils.parseJsonObject(line);
+        // tokenize the line
+        try {
+          return JsonRecordText.parse(line);
 
-          } catch (JsonParsingException e) {
-            this.errorLineNumber = this.lineNumber;
-            throw e;
-          }
+        } catch (JsonParsingException e) {
+          this.errorLineNumber = this.lineNumber;
+          throw e;
         }
 
-        return owner.augmentRecord(record);
-
       } catch (IOException e) {
         throw new RuntimeException(e);
       }
@@ -786,6 +1142,11 @@ public class RecordReader {
      */
     private Iterator<CSVRecord> recordIter;
 
+    /**
+     * The {@link JsonRecordText.RowWriter} for writing rows as JSON text.
+     */
+    private JsonRecordText.RowWriter rowWriter;
+
     /**
      * The line number for the last error.
      */
@@ -803,6 +1164,8 @@ public class RecordReader {
           headers.add(h.toUpperCase());
         });
         this.recordIter = parser.iterator();
+        this.rowWriter = new JsonRecordText.RowWriter(
+            (headerMap == null) ? Collections.emptyMap() : headerMap);
 
       } catch (IOException e) {
         throw new RuntimeException(e);
@@ -810,7 +1173,6 @@ public class RecordReader {
     }
 
     public JsonObject getNextRecord() {
-      RecordReader owner = RecordReader.this;
       this.errorLineNumber = null;
       try {
         if (!this.recordIter.hasNext()) return null;
@@ -827,11 +1189,30 @@ public class RecordReader {
         }
         Map<String,Object> map = (Map) recordMap;
 
-        JsonObject jsonObj = Json.createObjectBuilder(map).build();
+        return Json.createObjectBuilder(map).build();
+
+      } catch (RuntimeException e) {
+        this.errorLineNumber = this.parser.getCurrentLineNumber();
+        throw e;
 
-        JsonObject result = owner.augmentRecord(jsonObj);
+      } catch (Exception e) {
+        this.errorLineNumber = this.parser.getCurrentLineNumber();
+        throw new RuntimeException(e);
+      }
+    }
 
-        return result;
+    /**
+     * Overridden to write the column values of the next row directly as JSON
+     * text using the precomputed header keys rather than building a {@link
+     * JsonObject}.
+     */
+    @Override
+    public JsonRecordText getNextRecordText() {
+      this.errorLineNumber = null;
+      try {
+        if (!this.recordIter.hasNext()) return null;
+        CSVRecord record = this.recordIter.next();
+        return this.rowWriter.write(record::get, record.size());
 
       } catch (RuntimeException e) {
         this.errorLineNumber = this.parser.getCurrentLineNumber();
@@ -849,4 +1230,43 @@ public class RecordReader {
     }
   }
 
+  /**
+   * A {@link RecordProvider} implementation that delegates to a {@link
+   * ChunkedRecordParser} to parse JSON-lines or CSV records concurrently.
+   */
+  private class ChunkedRecordProvider implements RecordProvider {
+    /**
+     * The backing {@link ChunkedRecordParser}.
+     */
+    private ChunkedRecordParser parser;
+
+    /**
+     * Constructs with the {@link ChunkedRecordParser}.
+     */
+    public ChunkedRecordProvider(ChunkedRecordParser parser) {
+      this.parser = parser;
+    }
+
+    @Override
+    public JsonObject getNextRecord() {
+      JsonRecordText record = this.parser.next();
+      return (record == null) ? null : record.toJsonObject();
+    }
+
+    @Override
+    public JsonRecordText getNextRecordText() {
+      return this.parser.next();
+    }
+
+    @Override
+    public Long getErrorLineNumber() {
+      return this.parser.getErrorLineNumber();
+    }
+
+    @Override
+    public void close() {
+      this.parser.close();
+    }
+  }
+
 }
@@ -1,26 +1,117 @@
 package com.senzing.io;
 
 import javax.crypto.Cipher;
-import javax.crypto.CipherInputStream;
 import javax.crypto.CipherOutputStream;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.security.*;
-import java.util.LinkedList;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
-
-import static com.senzing.text.TextUtilities.*;
+import java.util.Objects;
+import java.util.zip.*;
 
 /**
  * Provides an {@link InputStream} implementation that will read data from
  * a source stream in the background and as it becomes available makes it
  * possible to concurrently read that data from the beginning of the stream
  * multiple times.
+ * <p>
+ * The data is stored in temporary file parts that are optionally compressed
+ * and encrypted as described by the {@link Compression} and {@link
+ * Encryption} for the instance.  Completed file parts are memory-mapped when
+ * they are read back.
  */
 public class TemporaryDataCache {
+  /**
+   * Enumerates the supported compression codecs for the file parts.
+   */
+  public enum Compression {
+    /**
+     * The file parts are not compressed.
+     */
+    NONE,
+
+    /**
+     * The file parts are compressed using the fastest ZLIB deflate level.
+     */
+    DEFLATE,
+
+    /**
+     * The file parts are compressed using GZIP at the default level.
+     */
+    GZIP;
+  }
+
+  /**
+   * Enumerates the supported ciphers for encrypting the file parts.  Each
+   * file part is encrypted with a distinct initialization vector derived from
+   * the randomly generated initialization vector of the instance.
+   */
+  public enum Encryption {
+    /**
+     * The file parts are not encrypted.
+     */
+    NONE(null, 0),
+
+    /**
+     * The file parts are encrypted using AES in counter mode.
+     */
+    AES_CTR("AES/CTR/NoPadding", 16),
+
+    /**
+     * The file parts are encrypted and authenticated using AES in
+     * Galois/Counter mode.  <b>NOTE:</b> each file part is decrypted in
+     * memory in a single operation when read in this mode.
+     */
+    AES_GCM("AES/GCM/NoPadding", 12),
+
+    /**
+     * The file parts are encrypted using AES in cipher block chaining mode
+     * with PKCS5 padding.
+     */
+    AES_CBC("AES/CBC/PKCS5Padding", 16);
+
+    /**
+     * The cipher transformation.
+     */
+    private String transformation;
+
+    /**
+     * The length of the initialization vector in bytes.
+     */
+    private int ivLength;
+
+    /**
+     * Constructs with the cipher transformation and IV length.
+     *
+     * @param transformation The cipher transformation.
+     * @param ivLength The length of the initialization vector in bytes.
+     */
+    Encryption(String transformation, int ivLength) {
+      this.transformation = transformation;
+      this.ivLength       = ivLength;
+    }
+
+    /**
+     * Creates the {@link AlgorithmParameterSpec} for the specified
+     * initialization vector.
+     *
+     * @param iv The initialization vector.
+     *
+     * @return The {@link AlgorithmParameterSpec} for the cipher.
+     */
+    private AlgorithmParameterSpec createParameterSpec(byte[] iv) {
+      if (this == AES_GCM) return new GCMParameterSpec(128, iv);
+      return new IvParameterSpec(iv);
+    }
+  }
+
   /**
    * How long to wait for more data before closing out a file part.
    */
@@ -32,44 +123,68 @@ public class TemporaryDataCache {
   private static final SecureRandom PRNG = new SecureRandom();
 
   /**
-   * The algorithm to use for the cipher when encrypting.
+   * The algorithm to use for key generation.
    */
-  private static final String CIPHER_ALGORITHM = "AES/CBC/PKCS5PADDING";
+  private static final String KEY_ALGORITHM = "AES";
 
   /**
-   * The algorithm to use for key generation.
+   * The length of the generated AES key in bytes.
    */
-  private static final String KEY_ALGORITHM = "AES";
+  private static final int KEY_LENGTH = 16;
 
   /**
-   * The sync flush flag for the GZIP stream when compressing.
+   * The size of the buffers used when reading and writing the file parts.
    */
-  private static final boolean SYNC_FLUSH = true;
+  private static final int BUFFER_SIZE = 64 * 1024;
 
   /**
-   * The flush threshold for the GZIP stream when compressing.
+   * The extra space beyond {@link #BUFFER_SIZE} to allow in decryption
+   * buffers for the cipher blocks that are held back between updates.
    */
-  private static final int FLUSH_THRESHOLD = 1024 * 512;
+  private static final int CIPHER_SLACK = 64;
 
   /**
-   * The size of the cache file part.
+   * The minimum size of a cache file part.
    */
   private static final int MIN_CACHE_FILE_SIZE = 1024;
 
   /**
-   * The size of the cache file part.
+   * The maximum size of a cache file part.
+   */
+  private static final int MAX_CACHE_FILE_SIZE = 1024 * 1024 * 32;
+
+  /**
+   * The factor by which the file part size grows when a file part is filled
+   * before the {@linkplain #FILE_PART_TIMEOUT timeout}.
+   */
+  private static final int PART_GROWTH_FACTOR = 16;
+
+  /**
+   * The factor by which the file part size shrinks when a file part is
+   * closed out because the {@linkplain #FILE_PART_TIMEOUT timeout} expired.
    */
-  private static final int MAX_CACHE_FILE_SIZE = 1024 * 1024 * 4;
+  private static final int PART_SHRINK_FACTOR = 4;
 
   /**
    * The default prefix to use for the file parts.
    */
   private static final String DEFAULT_PREFIX = "sz-file-part-";
 
+  /**
+   * The default {@link Compression} for new instances.
+   */
+  private static volatile Compression defaultCompression
+      = Compression.DEFLATE;
+
+  /**
+   * The default {@link Encryption} for new instances.
+   */
+  private static volatile Encryption defaultEncryption = Encryption.AES_CTR;
+
   /**
    * The list of file parts.
    */
-  private final List<CacheFilePart> fileParts = new LinkedList<>();
+  private final List<CacheFilePart> fileParts = new ArrayList<>();
 
   /**
    * The base file name.
@@ -81,6 +196,16 @@ public class TemporaryDataCache {
    */
   private File directory;
 
+  /**
+   * The {@link Compression} for the file parts.
+   */
+  private Compression compression;
+
+  /**
+   * The {@link Encryption} for the file parts.
+   */
+  private Encryption encryption;
+
   /**
    * The {@link ConsumerThread} for this instance.
    */
@@ -92,29 +217,60 @@ public class TemporaryDataCache {
   private boolean deleted;
 
   /**
-   * The generated initialization vector for this instance.
+   * The generated initialization vector for this instance from which the
+   * initialization vectors for the file parts are derived.
    */
   private byte[] initVector;
 
   /**
-   * The generated AES key for this instance.
+   * The key to use for encrypting and decrypting.
    */
-  private byte[] aesKey;
+  private SecretKeySpec keySpec;
 
   /**
-   * The {@link IvParameterSpec} for the initialization vector.
+   * The failure (if any) that occurred during consumption.
    */
-  private IvParameterSpec ivSpec;
+  private Exception failure = null;
 
   /**
-   * The key to use for encrypting and decrypting.
+   * Gets the default {@link Compression} for new instances.
+   *
+   * @return The default {@link Compression} for new instances.
    */
-  private SecretKeySpec keySpec;
+  public static Compression getDefaultCompression() {
+    return defaultCompression;
+  }
 
   /**
-   * The failure (if any) that occurred during consumption.
+   * Sets the default {@link Compression} for new instances.  If the specified
+   * parameter is <tt>null</tt> then {@link Compression#DEFLATE} is used.
+   *
+   * @param compression The default {@link Compression} for new instances.
    */
-  private Exception failure = null;
+  public static void setDefaultCompression(Compression compression) {
+    defaultCompression = (compression == null)
+        ? Compression.DEFLATE : compression;
+  }
+
+  /**
+   * Gets the default {@link Encryption} for new instances.
+   *
+   * @return The default {@link Encryption} for new instances.
+   */
+  public static Encryption getDefaultEncryption() {
+    return defaultEncryption;
+  }
+
+  /**
+   * Sets the default {@link Encryption} for new instances.  If the specified
+   * parameter is <tt>null</tt> then {@link Encryption#AES_CTR} is used.
+   *
+   * @param encryption The default {@link Encryption} for new instances.
+   */
+  public static void setDefaultEncryption(Encryption encryption) {
+    defaultEncryption = (encryption == null)
+        ? Encryption.AES_CTR : encryption;
+  }
 
   /**
    * Constructs an instance that stores its temporary files in the system
@@ -151,10 +307,39 @@ public class TemporaryDataCache {
    * @throws IOException If an I/O failure occurs.
    */
   public TemporaryDataCache(InputStream sourceStream,
-                            File directory,
-                            String fileNamePrefix)
+                            File        directory,
+                            String      fileNamePrefix)
+      throws IOException
+  {
+    this(sourceStream,
+         directory,
+         fileNamePrefix,
+         getDefaultCompression(),
+         getDefaultEncryption());
+  }
+
+  /**
+   * Constructs an instance that stores its temporary files in the specified
+   * directory using the specified file name prefix, {@link Compression} and
+   * {@link Encryption}.
+   *
+   * @param sourceStream   The source input stream
+   * @param directory      The directory where to store the temporary files.
+   * @param fileNamePrefix The name prefix to use for the temporary files.
+   * @param compression    The {@link Compression} for the file parts.
+   * @param encryption     The {@link Encryption} for the file parts.
+   * @throws IOException If an I/O failure occurs.
+   */
+  public TemporaryDataCache(InputStream sourceStream,
+                            File        directory,
+                            String      fileNamePrefix,
+                            Compression compression,
+                            Encryption  encryption)
       throws IOException
   {
+    Objects.requireNonNull(compression, "Compression cannot be null");
+    Objects.requireNonNull(encryption, "Encryption cannot be null");
+
     // figure out the base file name, suffix and directory
     if (fileNamePrefix == null) {
       fileNamePrefix = DEFAULT_PREFIX;
@@ -179,15 +364,19 @@ public class TemporaryDataCache {
     }
 
     // check if encrypted
-    this.aesKey = randomPrintableText(16).getBytes("UTF-8");
-    this.initVector = randomPrintableText(16).getBytes("UTF-8");
-
-    this.keySpec = new SecretKeySpec(this.aesKey, KEY_ALGORITHM);
-    this.ivSpec = new IvParameterSpec(this.initVector);
+    if (encryption != Encryption.NONE) {
+      byte[] aesKey = new byte[KEY_LENGTH];
+      PRNG.nextBytes(aesKey);
+      this.initVector = new byte[encryption.ivLength];
+      PRNG.nextBytes(this.initVector);
+      this.keySpec = new SecretKeySpec(aesKey, KEY_ALGORITHM);
+    }
 
-    this.baseFileName = fileNamePrefix;
-    this.directory = directory;
-    this.deleted = false;
+    this.compression    = compression;
+    this.encryption     = encryption;
+    this.baseFileName   = fileNamePrefix;
+    this.directory      = directory;
+    this.deleted        = false;
     this.consumerThread = new ConsumerThread(sourceStream);
     this.consumerThread.start();
   }
@@ -229,6 +418,24 @@ public class TemporaryDataCache {
     return this.directory;
   }
 
+  /**
+   * Gets the {@link Compression} used for the file parts.
+   *
+   * @return The {@link Compression} used for the file parts.
+   */
+  public Compression getCompression() {
+    return this.compression;
+  }
+
+  /**
+   * Gets the {@link Encryption} used for the file parts.
+   *
+   * @return The {@link Encryption} used for the file parts.
+   */
+  public Encryption getEncryption() {
+    return this.encryption;
+  }
+
   /**
    * Checks if data is still be read from the source stream specified in the
    * constructor.
@@ -242,6 +449,23 @@ public class TemporaryDataCache {
     }
   }
 
+  /**
+   * Gets the number of bytes that have been cached so far.  Once {@linkplain
+   * #isAppending() appending} is complete this is the total length of the
+   * data read from the source stream.
+   *
+   * @return The number of bytes that have been cached so far.
+   */
+  public long getLength() {
+    synchronized (this.fileParts) {
+      long length = 0L;
+      for (CacheFilePart filePart : this.fileParts) {
+        length += filePart.length;
+      }
+      return length;
+    }
+  }
+
   /**
    * Waits until the instance is completed appending.
    *
@@ -250,11 +474,7 @@ public class TemporaryDataCache {
   public void waitUntilAppendingComplete()
       throws InterruptedException
   {
-    while (this.consumerThread.isAlive()) {
-      synchronized (this.fileParts) {
-        this.fileParts.wait(2000L);
-      }
-    }
+    this.consumerThread.join();
   }
 
   /**
@@ -292,15 +512,7 @@ public class TemporaryDataCache {
       return true;
     }
 
-    long remaining = maxWait;
-    while (this.consumerThread.isAlive() && remaining > 0L) {
-      synchronized (this.fileParts) {
-        long startWait  = System.currentTimeMillis();
-        this.fileParts.wait(remaining < 2000L ? remaining: 2000L);
-        long endWait = System.currentTimeMillis();
-        remaining -= (endWait - startWait);
-      }
-    }
+    this.consumerThread.join(maxWait);
 
     // check if still alive
     return (! this.consumerThread.isAlive());
@@ -331,6 +543,127 @@ public class TemporaryDataCache {
     return new ChainFileInputStream(consume);
   }
 
+  /**
+   * Creates the {@link Cipher} for the file part with the specified index.
+   * The initialization vector for the file part is derived by combining the
+   * index with the initialization vector for this instance so that no two
+   * file parts are encrypted with the same key and initialization vector.
+   *
+   * @param mode The cipher mode (e.g.: {@link Cipher#ENCRYPT_MODE}).
+   * @param partIndex The index of the file part.
+   *
+   * @return The initialized {@link Cipher}.
+   *
+   * @throws GeneralSecurityException If the cipher cannot be initialized.
+   */
+  private Cipher createCipher(int mode, int partIndex)
+      throws GeneralSecurityException
+  {
+    byte[] iv = this.initVector.clone();
+    iv[0] ^= (byte) (partIndex >>> 24);
+    iv[1] ^= (byte) (partIndex >>> 16);
+    iv[2] ^= (byte) (partIndex >>> 8);
+    iv[3] ^= (byte) partIndex;
+
+    Cipher cipher = Cipher.getInstance(this.encryption.transformation);
+    cipher.init(mode, this.keySpec, this.encryption.createParameterSpec(iv));
+    return cipher;
+  }
+
+  /**
+   * Wraps the specified raw {@link OutputStream} for a file part with the
+   * configured encryption and compression.
+   *
+   * @param os The raw {@link OutputStream} for the file part.
+   * @param partIndex The index of the file part.
+   *
+   * @return The wrapping {@link OutputStream} to write the data to.
+   *
+   * @throws IOException If an I/O failure occurs.
+   * @throws GeneralSecurityException If the cipher cannot be initialized.
+   */
+  private OutputStream encode(OutputStream os, int partIndex)
+      throws IOException, GeneralSecurityException
+  {
+    if (this.encryption != Encryption.NONE) {
+      os = new CipherOutputStream(
+          os, this.createCipher(Cipher.ENCRYPT_MODE, partIndex));
+    }
+    switch (this.compression) {
+      case DEFLATE:
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        return new DeflaterOutputStream(os, deflater, BUFFER_SIZE) {
+          @Override
+          public void close() throws IOException {
+            try {
+              super.close();
+            } finally {
+              deflater.end();
+            }
+          }
+        };
+      case GZIP:
+        return new GZIPOutputStream(os, BUFFER_SIZE);
+      default:
+        return os;
+    }
+  }
+
+  /**
+   * Creates the {@link InputStream} to read the data for a file part from the
+   * specified {@link ByteBuffer} (typically memory-mapped) holding the raw
+   * file part, applying the configured decryption and decompression.
+   *
+   * @param buffer The {@link ByteBuffer} holding the raw file part.
+   * @param partIndex The index of the file part.
+   *
+   * @return The {@link InputStream} to read the data from.
+   *
+   * @throws IOException If an I/O failure occurs.
+   * @throws GeneralSecurityException If the cipher cannot be initialized.
+   */
+  private InputStream decode(ByteBuffer buffer, int partIndex)
+      throws IOException, GeneralSecurityException
+  {
+    InputStream is;
+    switch (this.encryption) {
+      case NONE:
+        is = new ByteBufferInputStream(buffer);
+        break;
+      case AES_GCM:
+        // authenticated decryption needs the entire file part anyway
+        Cipher gcm = this.createCipher(Cipher.DECRYPT_MODE, partIndex);
+        ByteBuffer plain = ByteBuffer.allocate(
+            gcm.getOutputSize(buffer.remaining()));
+        gcm.doFinal(buffer, plain);
+        plain.flip();
+        is = new ByteBufferInputStream(plain);
+        break;
+      default:
+        is = new DecryptingInputStream(
+            buffer, this.createCipher(Cipher.DECRYPT_MODE, partIndex));
+    }
+
+    switch (this.compression) {
+      case DEFLATE:
+        final Inflater inflater = new Inflater();
+        return new InflaterInputStream(is, inflater, BUFFER_SIZE) {
+          @Override
+          public void close() throws IOException {
+            try {
+              super.close();
+            } finally {
+              inflater.end();
+            }
+          }
+        };
+      case GZIP:
+        return new GZIPInputStream(is, BUFFER_SIZE);
+      default:
+        return is;
+    }
+  }
+
   /**
    * Provides the sink for the consumed data that will break the consumed data
    * into file parts rather than store them in memory to avoid exceeding
@@ -343,24 +676,15 @@ public class TemporaryDataCache {
     private File currentFile = null;
 
     /**
-     * The current file output stream.
-     */
-    private FileOutputStream currentFOS = null;
-
-    /**
-     * The current cipher output stream.
+     * The current encoding output stream (possibly compressing and/or
+     * encrypting).
      */
-    private CipherOutputStream currentCOS = null;
-
-    /**
-     * The current GZIP output stream.
-     */
-    private GZIPOutputStream currentGOS = null;
+    private OutputStream currentOS = null;
 
     /**
      * The offset relative to the whole for the current file part.
      */
-    private int currentOffset = 0;
+    private long currentOffset = 0L;
 
     /**
      * The number of bytes written to the current file part.
@@ -370,7 +694,7 @@ public class TemporaryDataCache {
     /**
      * The total number of bytes written.
      */
-    private int totalWriteCount = 0;
+    private long totalWriteCount = 0L;
 
     /**
      * The timestamp of the last write operation.
@@ -388,7 +712,9 @@ public class TemporaryDataCache {
     private int partIndex = 0;
 
     /**
-     * The current maximum length for a file part.
+     * The current maximum length for a file part.  This grows when file
+     * parts are filled quickly and shrinks when they are closed out by the
+     * {@linkplain #FILE_PART_TIMEOUT timeout}.
      */
     private int maxPartLength = MIN_CACHE_FILE_SIZE;
 
@@ -406,7 +732,8 @@ public class TemporaryDataCache {
       TemporaryDataCache owner = TemporaryDataCache.this;
       synchronized (owner.fileParts) {
         this.closed = true;
-        this.completeCurrentFilePart();
+        this.completeCurrentFilePart(false);
+        owner.fileParts.notifyAll();
       }
     }
 
@@ -422,56 +749,48 @@ public class TemporaryDataCache {
 
     /**
      * Closes the current file and adds the file part to the queue.
+     *
+     * @param timedOut <tt>true</tt> if the file part is being completed
+     *                 because the timeout expired, otherwise <tt>false</tt>.
      */
-    private void completeCurrentFilePart() {
+    private void completeCurrentFilePart(boolean timedOut) {
       TemporaryDataCache owner = TemporaryDataCache.this;
 
       synchronized (owner.fileParts) {
         try {
-          File  completedFile   = null;
-          int   completedLength = 0;
-          int   completedOffset = 0;
-
           // check if we do not have a current file
-          if ((this.currentFOS == null) || (this.currentCOS == null)
-              || (this.currentGOS == null) || (this.currentFile == null)) {
+          if ((this.currentOS == null) || (this.currentFile == null)) {
             return;
           }
 
           // keep track of the current file information
-          completedFile   = this.currentFile;
-          completedOffset = this.currentOffset;
-          completedLength = this.currentWriteCount;
-
-          // if we have written at least one byte then flush/finish
-          if (this.currentWriteCount > 0) {
-            this.currentGOS.flush();
-            this.currentGOS.finish();
-            this.currentGOS.flush();
-            this.currentCOS.flush();
-          }
+          File  completedFile   = this.currentFile;
+          long  completedOffset = this.currentOffset;
+          int   completedLength = this.currentWriteCount;
+          int   completedIndex  = this.partIndex;
 
-          // close (don't cross) the streams
-          IOUtilities.close(this.currentGOS);
-          IOUtilities.close(this.currentCOS);
-          IOUtilities.close(this.currentFOS);
+          // close the stream chain which finishes the compression and cipher
+          this.currentOS.close();
 
           // reinitialize the current file fields
-          this.currentGOS         = null;
-          this.currentCOS         = null;
-          this.currentFOS         = null;
+          this.currentOS          = null;
           this.currentFile        = null;
-          this.currentOffset      = 0;
+          this.currentOffset      = 0L;
           this.currentWriteCount  = 0;
           this.lastWriteTime      = -1L;
 
           this.partIndex++;
 
-          // increment the size of the next file part
+          // adapt the size of the next file part
           if (completedLength > 0) {
-            this.maxPartLength = this.maxPartLength * 16;
-            if (this.maxPartLength > MAX_CACHE_FILE_SIZE) {
-              this.maxPartLength = MAX_CACHE_FILE_SIZE;
+            if (timedOut) {
+              this.maxPartLength = Math.max(
+                  MIN_CACHE_FILE_SIZE,
+                  this.maxPartLength / PART_SHRINK_FACTOR);
+            } else {
+              this.maxPartLength = (int) Math.min(
+                  (long) MAX_CACHE_FILE_SIZE,
+                  ((long) this.maxPartLength) * PART_GROWTH_FACTOR);
             }
           }
 
@@ -479,11 +798,14 @@ public class TemporaryDataCache {
           if (completedLength > 0) {
             if (!owner.isDeleted()) {
               CacheFilePart cfp = new CacheFilePart(completedFile,
+                                                    completedIndex,
                                                     completedOffset,
                                                     completedLength);
               owner.fileParts.add(cfp);
               owner.fileParts.notifyAll();
             }
+          } else {
+            completedFile.delete();
           }
 
         } catch (IOException e) {
@@ -497,37 +819,34 @@ public class TemporaryDataCache {
      * Creates the next file part.
      */
     private void beginNextFilePart() {
-      final TemporaryDataCache  owner     = TemporaryDataCache.this;
-      final int                 gzSize    = FLUSH_THRESHOLD + 8192;
-      final boolean             syncFlush = SYNC_FLUSH;
+      final TemporaryDataCache owner = TemporaryDataCache.this;
 
       synchronized (owner.fileParts) {
         try {
-          if ((this.currentFOS != null) || (this.currentCOS != null)
-              || (this.currentGOS != null) || (this.currentFile != null)) {
+          if ((this.currentOS != null) || (this.currentFile != null)) {
             throw new IllegalStateException("A current file is already open.");
           }
           File directory = owner.directory;
           String baseFileName = owner.baseFileName;
           String fileName = baseFileName + "-" + this.partIndex + ".dat";
 
-          Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
-          cipher.init(Cipher.ENCRYPT_MODE, owner.keySpec, owner.ivSpec);
-
           this.currentOffset      = this.totalWriteCount;
           this.currentWriteCount  = 0;
           this.lastWriteTime      = System.nanoTime();
           this.currentFile        = new File(directory, fileName);
-          this.currentFOS         = new FileOutputStream(this.currentFile);
-          this.currentCOS         = new CipherOutputStream(this.currentFOS,
-                                                           cipher);
-          this.currentGOS         = new GZIPOutputStream(this.currentCOS,
-                                                         gzSize,
-                                                         syncFlush);
 
           // flag the file for deletion on exit
           this.currentFile.deleteOnExit();
 
+          OutputStream fos = new BufferedOutputStream(
+              new FileOutputStream(this.currentFile), BUFFER_SIZE);
+          try {
+            this.currentOS = owner.encode(fos, this.partIndex);
+          } catch (Exception e) {
+            fos.close();
+            throw e;
+          }
+
         } catch (RuntimeException e) {
           owner.setFailure(e);
           throw e;
@@ -540,11 +859,15 @@ public class TemporaryDataCache {
     }
 
     /**
-     * Writes the next byte to the current file part.
+     * Writes the specified bytes to the file parts, completing file parts
+     * as they reach their maximum length.
      *
-     * @param data The byte to write.
+     * @param data The array containing the bytes to write.
+     * @param offset The offset into the array of the first byte to write.
+     * @param length The number of bytes to write.
      */
-    public void writeByte(byte data) throws IOException {
+    public void write(byte[] data, int offset, int length) throws IOException
+    {
       final TemporaryDataCache owner = TemporaryDataCache.this;
       synchronized (owner.fileParts) {
         // check if shutdown
@@ -552,20 +875,26 @@ public class TemporaryDataCache {
           throw new IllegalStateException("Sink thread is already shutdown");
         }
 
-        // check if there is a current file open and if not, open one
-        if (this.currentGOS == null) {
-          this.beginNextFilePart();
-        }
+        while (length > 0) {
+          // check if there is a current file open and if not, open one
+          if (this.currentOS == null) {
+            this.beginNextFilePart();
+          }
 
-        // write the byte and increment the counters
-        this.currentGOS.write(data);
-        this.totalWriteCount++;
-        this.currentWriteCount++;
-        this.lastWriteTime = System.nanoTime();
+          // write as many bytes as fit in the current file part
+          int count = Math.min(length,
+                               this.maxPartLength - this.currentWriteCount);
+          this.currentOS.write(data, offset, count);
+          this.totalWriteCount    += count;
+          this.currentWriteCount  += count;
+          this.lastWriteTime      = System.nanoTime();
+          offset += count;
+          length -= count;
 
-        // check the write count
-        if (this.currentWriteCount >= this.maxPartLength) {
-          this.completeCurrentFilePart();
+          // check the write count
+          if (this.currentWriteCount >= this.maxPartLength) {
+            this.completeCurrentFilePart(false);
+          }
         }
       }
     }
@@ -596,12 +925,14 @@ public class TemporaryDataCache {
               // check if the duration exceeds the timeout
               if (duration >= FILE_PART_TIMEOUT) {
                 // if it the timeout is exceeded then complete the file part
-                this.completeCurrentFilePart();
+                this.completeCurrentFilePart(true);
                 waitTime = FILE_PART_TIMEOUT;
               } else {
                 // otherwise wait for at least the remaining amount of time
                 waitTime = FILE_PART_TIMEOUT - duration;
               }
+            } else {
+              waitTime = FILE_PART_TIMEOUT;
             }
           }
         }
@@ -652,21 +983,20 @@ public class TemporaryDataCache {
       FilePartSink sink = new FilePartSink();
       sink.start();
 
-      int byteCount = 0;
-      try (InputStream bis = new BufferedInputStream(is,8192)) {
-        int readByte = 0;
-        for (readByte = bis.read();
-             readByte >= 0 && !owner.isDeleted();
-             readByte = bis.read())
+      try (InputStream bis = is) {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int readCount = 0;
+        for (readCount = bis.read(buffer);
+             readCount >= 0 && !owner.isDeleted();
+             readCount = bis.read(buffer))
         {
-          sink.writeByte((byte) readByte);
-          byteCount++;
+          if (readCount > 0) sink.write(buffer, 0, readCount);
         }
 
         // close the sink
         sink.close();
 
-        if (readByte < 0) {
+        if (readCount < 0) {
           synchronized (this) {
             this.appending = false;
           }
@@ -684,11 +1014,13 @@ public class TemporaryDataCache {
 
   private static class CacheFilePart implements Comparable<CacheFilePart> {
     private final File file;
+    private final int  index;
     private final long offset;
     private final long length;
 
-    CacheFilePart(File file, long offset, long length) {
+    CacheFilePart(File file, int index, long offset, long length) {
       this.file   = file;
+      this.index  = index;
       this.offset = offset;
       this.length = length;
     }
@@ -715,6 +1047,149 @@ public class TemporaryDataCache {
     }
   }
 
+  /**
+   * Provides an {@link InputStream} over a {@link ByteBuffer} (typically a
+   * memory-mapped file part).
+   */
+  private static class ByteBufferInputStream extends InputStream {
+    /**
+     * The backing {@link ByteBuffer}.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Constructs with the specified {@link ByteBuffer}.
+     *
+     * @param buffer The backing {@link ByteBuffer}.
+     */
+    private ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      if (this.buffer == null || !this.buffer.hasRemaining()) return -1;
+      return this.buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      if (length == 0) return 0;
+      if (this.buffer == null || !this.buffer.hasRemaining()) return -1;
+      int count = Math.min(length, this.buffer.remaining());
+      this.buffer.get(bytes, offset, count);
+      return count;
+    }
+
+    @Override
+    public long skip(long count) {
+      if (this.buffer == null || count <= 0L) return 0L;
+      int skipped = (int) Math.min(count, this.buffer.remaining());
+      this.buffer.position(this.buffer.position() + skipped);
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      return (this.buffer == null) ? 0 : this.buffer.remaining();
+    }
+
+    @Override
+    public void close() {
+      this.buffer = null;
+    }
+  }
+
+  /**
+   * Provides an {@link InputStream} that decrypts the contents of a {@link
+   * ByteBuffer} (typically a memory-mapped file part) in chunks using a
+   * streaming {@link Cipher}.
+   */
+  private static class DecryptingInputStream extends InputStream {
+    /**
+     * The {@link ByteBuffer} holding the encrypted data.
+     */
+    private ByteBuffer source;
+
+    /**
+     * The {@link Cipher} to decrypt with.
+     */
+    private Cipher cipher;
+
+    /**
+     * The buffer holding the decrypted bytes that have not yet been read.
+     */
+    private ByteBuffer plain;
+
+    /**
+     * Flag indicating if the cipher has been finalized.
+     */
+    private boolean finished;
+
+    /**
+     * Constructs with the specified {@link ByteBuffer} and {@link Cipher}.
+     *
+     * @param source The {@link ByteBuffer} holding the encrypted data.
+     * @param cipher The initialized {@link Cipher} to decrypt with.
+     */
+    private DecryptingInputStream(ByteBuffer source, Cipher cipher) {
+      this.source   = source;
+      this.cipher   = cipher;
+      this.plain    = ByteBuffer.allocate(BUFFER_SIZE + CIPHER_SLACK);
+      this.plain.flip();
+      this.finished = false;
+    }
+
+    /**
+     * Decrypts the next chunk of the source if there are no more decrypted
+     * bytes available to be read.
+     *
+     * @return <tt>true</tt> if there are decrypted bytes available to read,
+     *         otherwise <tt>false</tt>.
+     */
+    private boolean fill() throws IOException {
+      while (!this.plain.hasRemaining() && !this.finished) {
+        this.plain.clear();
+        try {
+          if (this.source.remaining() > BUFFER_SIZE) {
+            ByteBuffer chunk = this.source.slice();
+            chunk.limit(BUFFER_SIZE);
+            this.cipher.update(chunk, this.plain);
+            this.source.position(this.source.position() + BUFFER_SIZE);
+          } else {
+            this.cipher.doFinal(this.source, this.plain);
+            this.finished = true;
+          }
+        } catch (GeneralSecurityException e) {
+          throw new IOException("Failed decryption of backing file", e);
+        }
+        this.plain.flip();
+      }
+      return this.plain.hasRemaining();
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (this.source == null || !this.fill()) return -1;
+      return this.plain.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException
+    {
+      if (length == 0) return 0;
+      if (this.source == null || !this.fill()) return -1;
+      int count = Math.min(length, this.plain.remaining());
+      this.plain.get(bytes, offset, count);
+      return count;
+    }
+
+    @Override
+    public void close() {
+      this.source = null;
+    }
+  }
+
   /**
    * The consumer thread for consuming the data from the source stream.
    */
@@ -833,27 +1308,19 @@ public class TemporaryDataCache {
     private void attachStream() throws IOException {
       try {
         TemporaryDataCache owner = TemporaryDataCache.this;
-        Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
-        cipher.init(Cipher.DECRYPT_MODE, owner.keySpec, owner.ivSpec);
 
         synchronized (owner.fileParts) {
           this.currentFilePart = owner.fileParts.get(this.currentFileIndex);
-          this.currentIS =  new BufferedInputStream(
-              new FileInputStream(this.currentFilePart.file), 8192);
-          try {
-            this.currentIS = new CipherInputStream(this.currentIS, cipher);
-            this.currentIS = new GZIPInputStream(this.currentIS);
-
-          } catch (IOException e) {
-            this.currentIS.close();
-            this.currentIS = null;
-            throw e;
 
-          } catch (Exception e) {
-            this.currentIS.close();
-            this.currentIS = null;
-            throw new IOException(e);
+          // memory-map the completed file part
+          MappedByteBuffer mapped;
+          try (FileChannel channel = new RandomAccessFile(
+              this.currentFilePart.file, "r").getChannel())
+          {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY,
+                                 0L, channel.size());
           }
+          this.currentIS = owner.decode(mapped, this.currentFilePart.index);
 
           this.currentOffset = 0L;
         }
@@ -865,6 +1332,56 @@ public class TemporaryDataCache {
       }
     }
 
+    /**
+     * Ensures the current file part has bytes remaining to be read, advancing
+     * to (and waiting for) the next file part if necessary.
+     *
+     * @return <tt>true</tt> if there are bytes to read, or <tt>false</tt> if
+     *         the end of the data has been reached.
+     */
+    private boolean ensureAvailable() throws IOException {
+      TemporaryDataCache owner = TemporaryDataCache.this;
+
+      // check if the current file has bytes left to read
+      if (this.currentFilePart != null
+          && ((this.currentFilePart.length - this.currentOffset) > 0L))
+      {
+        return true;
+      }
+
+      // advance the file if the current one is exhausted
+      if (this.currentFilePart != null) {
+        this.advanceFile();
+      }
+
+      // ensure the current file is set
+      while (this.currentFilePart == null) {
+        synchronized (owner.fileParts) {
+          if (owner.isDeleted()) {
+            this.closeInputStream();
+            throw new IOException("Cannot read: Backing files deleted");
+
+          } else if (owner.fileParts.size() > this.currentFileIndex) {
+            this.attachStream();
+
+          } else if (owner.isAppending()) {
+            // data is still be appended -- so wait for it
+            try {
+              owner.fileParts.wait(5000L);
+            } catch (InterruptedException e) {
+              throw new IOException(
+                  "Interrupted while waiting for an available file.", e);
+            }
+          } else {
+            this.eof = true;
+            if (this.consuming) owner.delete();
+            return false; // EOF
+          }
+        }
+      }
+      return true;
+    }
+
     public int read() throws IOException {
       TemporaryDataCache owner = TemporaryDataCache.this;
 
@@ -875,48 +1392,10 @@ public class TemporaryDataCache {
       }
 
       // check for EOF
-      if (this.eof) {
+      if (this.eof || !this.ensureAvailable()) {
         return -1;
       }
 
-      String prefix = "" + System.identityHashCode(this) + ": ";
-      // check if the current file has bytes left to read
-      if (this.currentFilePart == null
-          || ((this.currentFilePart.length - this.currentOffset) <= 0L))
-      {
-        // advance the file if the current one is exhausted
-        if (this.currentFilePart != null) {
-          this.advanceFile();
-        }
-
-        // ensure the current file is set
-        while (this.currentFilePart == null) {
-          synchronized (owner.fileParts) {
-            if (owner.isDeleted()) {
-              this.closeInputStream();
-              throw new IOException("Cannot read: Backing files deleted");
-
-            } else if (owner.fileParts.size() > this.currentFileIndex) {
-              this.attachStream();
-
-            } else if (owner.isAppending()) {
-              // data is still be appended -- so wait for it
-              try {
-                long start = System.currentTimeMillis();
-                owner.fileParts.wait(5000L);
-              } catch (InterruptedException e) {
-                throw new IOException(
-                    "Interrupted while waiting for an available file.", e);
-              }
-            } else {
-              this.eof = true;
-              if (this.consuming) owner.delete();
-              return -1; // EOF
-            }
-          }
-        }
-      }
-
       // read the next byte
       int byteRead = this.currentIS.read();
       if (byteRead < 0L) {
@@ -929,5 +1408,37 @@ public class TemporaryDataCache {
 
       return byteRead;
     }
+
+    public int read(byte[] bytes, int offset, int length) throws IOException
+    {
+      TemporaryDataCache owner = TemporaryDataCache.this;
+
+      owner.checkFailure();
+
+      if (this.closed) {
+        throw new IOException("Cannot read: stream already closed.");
+      }
+      Objects.checkFromIndexSize(offset, length, bytes.length);
+      if (length == 0) return 0;
+
+      // check for EOF
+      if (this.eof || !this.ensureAvailable()) {
+        return -1;
+      }
+
+      // read from the current file part
+      long remaining = this.currentFilePart.length - this.currentOffset;
+      int readCount = this.currentIS.read(
+          bytes, offset, (int) Math.min((long) length, remaining));
+      if (readCount < 0) {
+        throw new IOException(
+            "Unexpected EOF from backing input stream.  offset=[ "
+                + this.currentOffset + " ], fileSize=[ "
+                + this.currentFilePart.length + " ]");
+      }
+      this.currentOffset += readCount;
+
+      return readCount;
+    }
   }
 }
@@ -17,6 +17,7 @@ enum RepoManagerOption implements CommandLineOption<RepoManagerOption> {
   DATA_SOURCE("--data-source", false, 1),
   ENTITY_TYPE("--entity-type", false, 1),
   REPOSITORY("--repo", false, 1),
+  THREADS("--threads", false, 1),
   VERBOSE("--verbose", false,
           0, "false");
 
@@ -77,7 +78,7 @@ enum RepoManagerOption implements CommandLineOption<RepoManagerOption> {
   private List<String> defaultParameters;
 
   public static final EnumSet<RepoManagerOption> PRIMARY_OPTIONS
-      = complementOf(of(DATA_SOURCE, REPOSITORY, VERBOSE));
+      = complementOf(of(DATA_SOURCE, REPOSITORY, VERBOSE, THREADS));
 
   public String getCommandLineFlag() {
     return this.commandLineFlag;
@@ -117,7 +118,7 @@ enum RepoManagerOption implements CommandLineOption<RepoManagerOption> {
     PURGE_REPO.conflicts = complementOf(of(PURGE_REPO, REPOSITORY, VERBOSE));
     PURGE_REPO.dependencies = Collections.singleton(of(REPOSITORY));
     LOAD_FILE.conflicts
-        = complementOf(of(LOAD_FILE, REPOSITORY, DATA_SOURCE, ENTITY_TYPE, VERBOSE));
+        = complementOf(of(LOAD_FILE, REPOSITORY, DATA_SOURCE, ENTITY_TYPE, VERBOSE, THREADS));
     LOAD_FILE.dependencies = Collections.singleton(of(REPOSITORY));
     ADD_RECORD.conflicts
         = complementOf(of(ADD_RECORD, REPOSITORY, DATA_SOURCE, ENTITY_TYPE, VERBOSE));
@@ -129,12 +130,15 @@ enum RepoManagerOption implements CommandLineOption<RepoManagerOption> {
         = complementOf(of(CONFIG_ENTITY_TYPES, REPOSITORY, VERBOSE));
     CONFIG_ENTITY_TYPES.dependencies = Collections.singleton(of(REPOSITORY));
     DATA_SOURCE.conflicts
-        = complementOf(of(DATA_SOURCE, LOAD_FILE, ADD_RECORD, VERBOSE, REPOSITORY));
+        = complementOf(of(DATA_SOURCE, LOAD_FILE, ADD_RECORD, VERBOSE, REPOSITORY, THREADS));
     DATA_SOURCE.dependencies = Collections.singleton(noneOf(RepoManagerOption.class));
     ENTITY_TYPE.conflicts
-        = complementOf(of(ENTITY_TYPE, LOAD_FILE, ADD_RECORD, VERBOSE, REPOSITORY));
+        = complementOf(of(ENTITY_TYPE, LOAD_FILE, ADD_RECORD, VERBOSE, REPOSITORY, THREADS));
     ENTITY_TYPE.dependencies = Collections.singleton(noneOf(RepoManagerOption.class));
     REPOSITORY.conflicts = of(HELP, CREATE_REPO);
     REPOSITORY.dependencies = Collections.singleton(noneOf(RepoManagerOption.class));
+    THREADS.conflicts
+        = complementOf(of(THREADS, LOAD_FILE, REPOSITORY, DATA_SOURCE, ENTITY_TYPE, VERBOSE));
+    THREADS.dependencies = Collections.singleton(of(LOAD_FILE));
   }
 }
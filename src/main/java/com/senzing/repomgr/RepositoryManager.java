@@ -12,9 +12,12 @@ import com.senzing.util.JsonUtils;
 
 import javax.json.*;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static com.senzing.util.LoggingUtilities.*;
 import static com.senzing.util.OperatingSystemFamily.*;
@@ -383,6 +386,22 @@ public class RepositoryManager {
                   String dataSource = params.get(0);
                   return dataSource;
 
+                case THREADS: {
+                  int threadCount;
+                  try {
+                    threadCount = Integer.parseInt(params.get(0));
+                  } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(
+                        "Thread count must be an integer: " + params.get(0));
+                  }
+                  if (threadCount <= 0) {
+                    throw new IllegalArgumentException(
+                        "Thread count must be a positive integer: "
+                            + threadCount);
+                  }
+                  return threadCount;
+                }
+
                 default:
                   throw new IllegalArgumentException(
                       "Unhandled command line option: "
@@ -488,6 +507,12 @@ public class RepositoryManager {
         "        Specifies a data source to use when loading records.  If the records",
         "        already have a DATA_SOURCE property then this will override that value.",
         "",
+        "   --threads <thread-count>",
+        "        Specifies the number of threads with which to load the records when",
+        "        using the --load-file option and to process the resulting redo",
+        "        records.  The records are read from the file by all threads",
+        "        concurrently.  If not specified then one (1) thread is used.",
+        "",
         "   --verbose",
         "        If provided then Senzing will be initialized in verbose mode"));
     pw.flush();
@@ -524,6 +549,8 @@ public class RepositoryManager {
     String entityType = (String) options.get(ENTITY_TYPE);
     Boolean verbose = (Boolean) options.get(VERBOSE);
     if (verbose == null) verbose = Boolean.FALSE;
+    Integer threadCount = (Integer) options.get(THREADS);
+    if (threadCount == null) threadCount = 1;
 
     try {
       // check if we are creating a repo
@@ -540,7 +567,15 @@ public class RepositoryManager {
       } else if (options.containsKey(RepoManagerOption.LOAD_FILE)) {
         File sourceFile = (File) options.get(RepoManagerOption.LOAD_FILE);
         try {
-          loadFile(repository, verbose, sourceFile, dataSource, entityType);
+          loadFile(repository,
+                   verbose,
+                   sourceFile,
+                   dataSource,
+                   entityType,
+                   null,
+                   null,
+                   false,
+                   threadCount);
         } finally {
           destroyApis();
         }
@@ -1268,6 +1303,58 @@ public class RepositoryManager {
                                  Result<Integer>  failedCount,
                                  boolean          silent)
   {
+    return loadFile(repository,
+                    verbose,
+                    sourceFile,
+                    dataSource,
+                    entityType,
+                    loadedCount,
+                    failedCount,
+                    silent,
+                    1);
+  }
+
+  /**
+   * Loads a single CSV or JSON file to the repository using the specified
+   * number of threads -- optionally setting the data source and/or entity
+   * type for all the records.  The threads read the records from the same
+   * file concurrently and the resulting redo records are processed using
+   * the same number of threads.  NOTE: if the records in the file do not
+   * have a defined DATA_SOURCE then the specified data source is required.
+   * If the records do not have a defined ENTITY_TYPE and the specified
+   * entity type is <tt>null</tt> then <tt>"GENERIC"</tt> is used.
+   *
+   * @param repository The directory for the repository.
+   * @param verbose <tt>true</tt> for verbose API logging, otherwise
+   *                <tt>false</tt>
+   * @param sourceFile The source file to load (JSON or CSV).
+   * @param dataSource The data source to use for loading the records.
+   * @param entityType The entity type to use for loading the records.
+   * @param loadedCount The output parameter for the number successfully loaded.
+   * @param failedCount The output parameter for the number that failed to load.
+   * @param silent <tt>true</tt> if no feedback should be given to the user
+   *               upon completion, otherwise <tt>false</tt>
+   * @param threadCount The positive number of threads with which to load the
+   *                    records and process the redo records.
+   *
+   * @return <tt>true</tt> if successful, otherwise <tt>false</tt>
+   *
+   * @throws IllegalArgumentException If the thread count is not positive.
+   */
+  public static boolean loadFile(File             repository,
+                                 boolean          verbose,
+                                 File             sourceFile,
+                                 String           dataSource,
+                                 String           entityType,
+                                 Result<Integer>  loadedCount,
+                                 Result<Integer>  failedCount,
+                                 boolean          silent,
+                                 int              threadCount)
+  {
+    if (threadCount <= 0) {
+      throw new IllegalArgumentException(
+          "Thread count must be a positive integer: " + threadCount);
+    }
     String normalizedFileName = sourceFile.toString().toUpperCase();
     if ((!normalizedFileName.endsWith(".JSON"))
         && (!normalizedFileName.endsWith(".CSV"))) {
@@ -1304,82 +1391,43 @@ public class RepositoryManager {
     RecordReader recordReader = null;
     // check the file type
     if (normalizedFileName.endsWith(".JSON")) {
-      recordReader = provideJsonRecords(sourceFile, dataSource, entityType);
+      recordReader = provideJsonRecords(
+          sourceFile, dataSource, entityType, threadCount);
     } else if (normalizedFileName.endsWith(".CSV")) {
-      recordReader = provideCsvRecords(sourceFile, dataSource, entityType);
+      recordReader = provideCsvRecords(
+          sourceFile, dataSource, entityType, threadCount);
     }
     if (recordReader == null) {
       return false;
     }
 
-    String loadId = (new Date()).toString();
-    int loaded = 0;
-    int failed = 0;
-    int loadedInterval = 100;
-    int failedInterval = 100;
-    PrintStream printStream = System.err;
+    final RecordReader  reader      = recordReader;
+    final String        loadSource  = dataSource;
+    final String        loadType    = entityType;
+    final String        loadId      = (new Date()).toString();
+    LoadProgress        progress    = new LoadProgress("Loaded so far", silent);
+    ReadWriteLock       engineLock  = new ReentrantReadWriteLock();
+    PrintStream         printStream = System.err;
     try {
-      for (JsonObject record = recordReader.readRecord();
-           (record != null);
-           record = recordReader.readRecord())
-      {
-        String recordId = JsonUtils.getString(record, "RECORD_ID");
-        String recordSource = JsonUtils.getString(record, "DATA_SOURCE");
-        if (recordSource == null) {
-          System.err.println();
-          System.err.println(
-              "If records in the file do not have a DATA_SOURCE then "
-                  + RepoManagerOption.DATA_SOURCE.getCommandLineFlag()
-                  + " is required.");
-          return false;
-        }
+      runConcurrently(threadCount, progress, () -> loadRecords(
+          repository, verbose, reader, loadSource, loadType, dataSources,
+          loadId, engineLock, progress));
+      if (progress.isAborted()) return false;
 
-        if (!dataSources.contains(recordSource)) {
-          if (!addDataSource(repository, recordSource, verbose)) return false;
-          dataSources.add(recordSource);
-        }
-
-        // check for entity type and default to GENERIC if not found
-        String recordEntityType = JsonUtils.getString(record, "ENTITY_TYPE");
-        if (entityType == null || entityType.trim().length() == 0) {
-          JsonObjectBuilder builder = Json.createObjectBuilder(record);
-          builder.remove("ENTITY_TYPE");
-          builder.add("ENTITY_TYPE", "GENERIC");
-          record = builder.build();
-        }
-
-        StringBuffer sb = new StringBuffer();
-        String jsonRecord = JsonUtils.toJsonText(record);
-
-        int returnCode
-            = (recordId != null)
-            ? ENGINE_API.addRecord(dataSource, recordId, jsonRecord, loadId)
-            : ENGINE_API.addRecordWithReturnedRecordID(dataSource,
-                                                       sb,
-                                                       jsonRecord,
-                                                       loadId);
-        if (returnCode == 0) {
-          loaded++;
-          loadedInterval = doLoadFeedback(
-              "Loaded so far", loaded, loadedInterval, loaded, failed, silent);
-
-        } else {
-          failed++;
-          if (failed == 1 || ((failed % failedInterval) == 0)) {
-            logError("G2Engine.addRecord()", ENGINE_API);
-          }
-          failedInterval = doLoadFeedback(
-              "Loaded so far", failed, failedInterval, loaded, failed, silent);
-        }
-      }
-      doLoadFeedback(
-          "Loaded all records", loaded, 0, loaded, failed, silent);
-      processRedos(silent);
+      progress.complete("Loaded all records");
+      processRedos(silent, threadCount);
       printStream = (silent) ? null : System.out;
 
       return true;
 
     } finally {
+      try {
+        recordReader.close();
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+      int loaded = progress.getLoadedCount();
+      int failed = progress.getFailedCount();
       if (loaded > 0 || failed > 0) {
         if (printStream != null) {
           printStream.println();
@@ -1391,6 +1439,9 @@ public class RepositoryManager {
           }
           printStream.println("     Load Count  : " + loaded);
           printStream.println("     Fail Count  : " + failed);
+          printStream.println("     Threads     : " + threadCount);
+          printStream.println("     Throughput  : "
+                              + formatRate(progress.getRecordsPerSecond()));
           printStream.println();
         }
       }
@@ -1400,13 +1451,94 @@ public class RepositoryManager {
     }
   }
 
-  private static int processRedos(boolean silent) {
-    int loaded = 0;
-    int failed = 0;
+  /**
+   * Loads the records from the specified {@link RecordReader} until there
+   * are no more records or the specified {@link LoadProgress} is {@linkplain
+   * LoadProgress#abort() aborted}.  This may be called concurrently from
+   * multiple threads sharing the same {@link RecordReader}.  The records are
+   * read while synchronized on the {@link RecordReader} and any unknown data
+   * source is added with the write lock of the specified {@link
+   * ReadWriteLock} held, since doing so reinitializes the API's.  The
+   * records are added with the read lock held.
+   */
+  private static void loadRecords(File          repository,
+                                  boolean       verbose,
+                                  RecordReader  recordReader,
+                                  String        dataSource,
+                                  String        entityType,
+                                  Set<String>   dataSources,
+                                  String        loadId,
+                                  ReadWriteLock engineLock,
+                                  LoadProgress  progress)
+  {
+    while (!progress.isAborted()) {
+      JsonObject record;
+      synchronized (recordReader) {
+        if (progress.isAborted()) return;
+        record = recordReader.readRecord();
+        if (record == null) return;
+
+        String recordSource = JsonUtils.getString(record, "DATA_SOURCE");
+        if (recordSource == null) {
+          System.err.println();
+          System.err.println(
+              "If records in the file do not have a DATA_SOURCE then "
+                  + RepoManagerOption.DATA_SOURCE.getCommandLineFlag()
+                  + " is required.");
+          progress.abort();
+          return;
+        }
+
+        if (!dataSources.contains(recordSource)) {
+          engineLock.writeLock().lock();
+          try {
+            if (!addDataSource(repository, recordSource, verbose)) {
+              progress.abort();
+              return;
+            }
+            dataSources.add(recordSource);
+
+          } finally {
+            engineLock.writeLock().unlock();
+          }
+        }
+      }
+
+      String recordId = JsonUtils.getString(record, "RECORD_ID");
+
+      // check for entity type and default to GENERIC if not found
+      if (entityType == null || entityType.trim().length() == 0) {
+        JsonObjectBuilder builder = Json.createObjectBuilder(record);
+        builder.remove("ENTITY_TYPE");
+        builder.add("ENTITY_TYPE", "GENERIC");
+        record = builder.build();
+      }
+
+      StringBuffer sb = new StringBuffer();
+      String jsonRecord = JsonUtils.toJsonText(record);
+
+      engineLock.readLock().lock();
+      try {
+        int returnCode
+            = (recordId != null)
+            ? ENGINE_API.addRecord(dataSource, recordId, jsonRecord, loadId)
+            : ENGINE_API.addRecordWithReturnedRecordID(dataSource,
+                                                       sb,
+                                                       jsonRecord,
+                                                       loadId);
+        if (progress.recordOutcome(returnCode == 0)) {
+          logError("G2Engine.addRecord()", ENGINE_API);
+        }
+      } finally {
+        engineLock.readLock().unlock();
+      }
+    }
+  }
+
+  private static int processRedos(boolean silent, int threadCount) {
+    LoadProgress progress = new LoadProgress("Redo's so far", silent);
     try {
       // process redos
-      int loadedInterval = 100;
-      int failedInterval = 100;
       long originalCount = ENGINE_API.countRedoRecords();
       if (originalCount == 0) return 0;
       if (originalCount > 0) {
@@ -1414,29 +1546,22 @@ public class RepositoryManager {
         System.out.println("Found redos to process: " + originalCount);
         System.out.println();
       }
-      for (int count = 0; ENGINE_API.countRedoRecords() > 0; count++) {
-        StringBuffer sb = new StringBuffer();
-        int returnCode = ENGINE_API.processRedoRecord(sb);
-        if (returnCode != 0) {
-          logError("G2Engine.processRedoRecord()", ENGINE_API);
-          failed++;
-          failedInterval = doLoadFeedback(
-              "Redo's so far", failed, failedInterval, loaded, failed, silent);
-        } else {
-          loaded++;
-          loadedInterval = doLoadFeedback(
-              "Redo's so far", loaded, loadedInterval, loaded, failed, silent);
-        }
-        if (count > (originalCount*5)) {
-          System.err.println();
-          System.err.println("Processing redo's not converging -- giving up.");
-          System.err.println();
-          return count;
-        }
+      RedoDrain drain = new RedoDrain(originalCount, threadCount, progress);
+      runConcurrently(threadCount, progress, drain::drain);
+      progress.complete(null);
+
+      int loaded = progress.getLoadedCount();
+      int failed = progress.getFailedCount();
+      if (!drain.isConverging()) {
+        System.err.println();
+        System.err.println("Processing redo's not converging -- giving up.");
+        System.err.println();
+        return loaded + failed;
       }
       System.out.println();
       System.out.println("Processed all redos (succeeded / failed): "
-                         + loaded + " / " + failed);
+                         + loaded + " / " + failed + " at "
+                         + formatRate(progress.getRecordsPerSecond()));
       System.out.println();
 
       return loaded;
@@ -1446,7 +1571,7 @@ public class RepositoryManager {
       System.err.println("IGNORING EXCEPTION DURING REDOS:");
       ignore.printStackTrace();
       System.err.println();
-      return loaded;
+      return progress.getLoadedCount();
     }
 
   }
@@ -1456,6 +1581,7 @@ public class RepositoryManager {
                                     int     interval,
                                     int     loaded,
                                     int     failed,
+                                    double  recordsPerSecond,
                                     boolean silent)
   {
     if (count > (interval * 10)) {
@@ -1464,12 +1590,380 @@ public class RepositoryManager {
     if ((count > 0) && ((interval == 0) || (count % interval) == 0)) {
       if (!silent) {
         System.out.println(prefix + " (succeeded / failed): "
-                           + loaded + " / " + failed);
+                           + loaded + " / " + failed + " at "
+                           + formatRate(recordsPerSecond));
       }
     }
     return interval;
   }
 
+  /**
+   * Formats the specified number of records per second for display.
+   */
+  private static String formatRate(double recordsPerSecond) {
+    return String.format("%.1f records/second", recordsPerSecond);
+  }
+
+  /**
+   * Runs the specified {@link Runnable} on the specified number of threads
+   * and waits for all of them to complete.  If the thread count is one then
+   * the {@link Runnable} is run on the calling thread.  The other threads
+   * use the {@linkplain #setThreadModuleName(String) thread module name} of
+   * the calling thread.  If any thread fails then the specified {@link
+   * LoadProgress} is {@linkplain LoadProgress#abort() aborted} and the first
+   * failure is rethrown once all threads have completed.
+   */
+  private static void runConcurrently(int           threadCount,
+                                      LoadProgress  progress,
+                                      Runnable      runnable)
+  {
+    if (threadCount == 1) {
+      runnable.run();
+      return;
+    }
+    String          moduleName  = THREAD_MODULE_NAME.get();
+    List<Thread>    threads     = new ArrayList<>(threadCount);
+    List<Throwable> failures    = new ArrayList<>(threadCount);
+    for (int index = 0; index < threadCount; index++) {
+      Thread thread = new Thread(() -> {
+        setThreadModuleName(moduleName);
+        try {
+          runnable.run();
+
+        } catch (RuntimeException|Error e) {
+          progress.abort();
+          synchronized (failures) {
+            failures.add(e);
+          }
+
+        } finally {
+          clearThreadModuleName();
+        }
+      }, "RepositoryManager-" + index);
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      while (thread.isAlive()) {
+        try {
+          thread.join();
+        } catch (InterruptedException ignore) {
+          // do nothing
+        }
+      }
+    }
+    synchronized (failures) {
+      if (failures.size() == 0) return;
+      Throwable failure = failures.get(0);
+      if (failure instanceof Error) throw ((Error) failure);
+      throw ((RuntimeException) failure);
+    }
+  }
+
+  /**
+   * Tracks the number of records that succeeded and failed to load (or the
+   * redo records that succeeded and failed to process) across the threads
+   * performing the work, and provides periodic feedback that includes the
+   * throughput in records per second.
+   */
+  private static class LoadProgress {
+    /**
+     * The prefix for the periodic feedback.
+     */
+    private String prefix;
+
+    /**
+     * Whether or not the feedback should be suppressed.
+     */
+    private boolean silent;
+
+    /**
+     * The value of {@link System#nanoTime()} when the work started.
+     */
+    private long startNanos;
+
+    /**
+     * The value of {@link System#nanoTime()} when the work completed, or
+     * negative one (-1) if not yet completed.
+     */
+    private long endNanos;
+
+    /**
+     * The number of records that succeeded.
+     */
+    private int loaded;
+
+    /**
+     * The number of records that failed.
+     */
+    private int failed;
+
+    /**
+     * The feedback interval for the succeeded records.
+     */
+    private int loadedInterval;
+
+    /**
+     * The feedback interval for the failed records.
+     */
+    private int failedInterval;
+
+    /**
+     * Flag indicating if the work has been aborted.
+     */
+    private boolean aborted;
+
+    /**
+     * Constructs with the prefix for the periodic feedback and a flag
+     * indicating whether or not the feedback should be suppressed.
+     */
+    private LoadProgress(String prefix, boolean silent) {
+      this.prefix         = prefix;
+      this.silent         = silent;
+      this.startNanos     = System.nanoTime();
+      this.endNanos       = -1L;
+      this.loaded         = 0;
+      this.failed         = 0;
+      this.loadedInterval = 100;
+      this.failedInterval = 100;
+      this.aborted        = false;
+    }
+
+    /**
+     * Records the outcome for a record and provides periodic feedback.
+     * This returns <tt>true</tt> if the record failed and the failure should
+     * be logged, otherwise <tt>false</tt>.
+     */
+    private synchronized boolean recordOutcome(boolean success) {
+      double rate = this.getRecordsPerSecond();
+      if (success) {
+        this.loaded++;
+        this.loadedInterval = doLoadFeedback(
+            this.prefix, this.loaded, this.loadedInterval,
+            this.loaded, this.failed, rate, this.silent);
+        return false;
+      }
+      this.failed++;
+      boolean log = (this.failed == 1)
+          || ((this.failed % this.failedInterval) == 0);
+      this.failedInterval = doLoadFeedback(
+          this.prefix, this.failed, this.failedInterval,
+          this.loaded, this.failed, rate, this.silent);
+      return log;
+    }
+
+    /**
+     * Marks the work as completed so the throughput no longer changes and
+     * provides the final feedback with the specified prefix (if not
+     * <tt>null</tt>).
+     */
+    private synchronized void complete(String prefix) {
+      if (this.endNanos < 0L) this.endNanos = System.nanoTime();
+      if (prefix == null) return;
+      doLoadFeedback(prefix, this.loaded, 0, this.loaded, this.failed,
+                     this.getRecordsPerSecond(), this.silent);
+    }
+
+    /**
+     * Gets the number of records that succeeded.
+     */
+    private synchronized int getLoadedCount() {
+      return this.loaded;
+    }
+
+    /**
+     * Gets the number of records that failed.
+     */
+    private synchronized int getFailedCount() {
+      return this.failed;
+    }
+
+    /**
+     * Gets the number of records (succeeded or failed) per second since the
+     * work started until it completed (or until now if not completed).
+     */
+    private synchronized double getRecordsPerSecond() {
+      long end = (this.endNanos < 0L) ? System.nanoTime() : this.endNanos;
+      double seconds = ((double) (end - this.startNanos)) / 1000000000.0;
+      return (seconds > 0.0) ? (this.loaded + this.failed) / seconds : 0.0;
+    }
+
+    /**
+     * Aborts the work so the threads stop at the next record.
+     */
+    private synchronized void abort() {
+      this.aborted = true;
+    }
+
+    /**
+     * Checks if the work has been aborted.
+     */
+    private synchronized boolean isAborted() {
+      return this.aborted;
+    }
+  }
+
+  /**
+   * Drains the pending redo records using one or more threads that each
+   * repeatedly obtain a redo record via {@link
+   * G2Engine#getRedoRecord(StringBuffer)} and process it.  Rather than
+   * counting the pending redo records before each is processed, they are
+   * only counted {@linkplain #COUNT_PERIOD periodically} for feedback and
+   * the draining completes when every thread has found no pending redo
+   * record.  A thread that finds none while others are still processing
+   * waits briefly and tries again, since processing a redo record may
+   * produce more of them.
+   */
+  private static class RedoDrain {
+    /**
+     * The number of processed redo records after which the pending redo
+     * records are counted for feedback.
+     */
+    private static final int COUNT_PERIOD = 1000;
+
+    /**
+     * The number of milliseconds a thread that found no pending redo record
+     * waits before trying again.
+     */
+    private static final long POLL_PERIOD = 100L;
+
+    /**
+     * The number of redo records that were pending when draining started.
+     */
+    private long originalCount;
+
+    /**
+     * The number of threads draining the redo records.
+     */
+    private int threadCount;
+
+    /**
+     * The {@link LoadProgress} for the redo records.
+     */
+    private LoadProgress progress;
+
+    /**
+     * The number of threads that found no pending redo record.
+     */
+    private int idleCount;
+
+    /**
+     * Flag indicating if there are no more redo records to process.
+     */
+    private boolean done;
+
+    /**
+     * Flag indicating if the processing of redo records is converging.
+     */
+    private boolean converging;
+
+    /**
+     * Constructs with the number of redo records that were pending, the
+     * number of draining threads and the {@link LoadProgress}.
+     */
+    private RedoDrain(long          originalCount,
+                      int           threadCount,
+                      LoadProgress  progress)
+    {
+      this.originalCount  = originalCount;
+      this.threadCount    = threadCount;
+      this.progress       = progress;
+      this.idleCount      = 0;
+      this.done           = false;
+      this.converging     = true;
+    }
+
+    /**
+     * Checks if the processing of redo records was converging.
+     */
+    private synchronized boolean isConverging() {
+      return this.converging;
+    }
+
+    /**
+     * Checks if the draining is done or has been aborted.
+     */
+    private synchronized boolean isDone() {
+      return this.done || this.progress.isAborted();
+    }
+
+    /**
+     * Processes redo records until there are none pending.  This is called
+     * by each of the draining threads.
+     */
+    private void drain() {
+      while (!this.isDone()) {
+        StringBuffer sb = new StringBuffer();
+        int returnCode = ENGINE_API.getRedoRecord(sb);
+        if (returnCode != 0) {
+          logError("G2Engine.getRedoRecord()", ENGINE_API);
+          this.progress.abort();
+          return;
+        }
+        String redoRecord = sb.toString().trim();
+        if (redoRecord.length() == 0) {
+          if (this.awaitRedoRecords()) continue;
+          return;
+        }
+
+        returnCode = ENGINE_API.process(redoRecord);
+        if (returnCode != 0) {
+          logError("G2Engine.process()", ENGINE_API);
+        }
+        this.recordOutcome(returnCode == 0);
+      }
+    }
+
+    /**
+     * Records the outcome of processing a redo record, gives up if the
+     * processing is not converging and periodically counts the pending redo
+     * records.
+     */
+    private void recordOutcome(boolean success) {
+      this.progress.recordOutcome(success);
+      long count = this.progress.getLoadedCount()
+          + this.progress.getFailedCount();
+      synchronized (this) {
+        // another redo record may have been produced for waiting threads
+        this.notifyAll();
+        if (count > (this.originalCount * 5)) {
+          this.converging = false;
+          this.progress.abort();
+          return;
+        }
+      }
+      if ((count % COUNT_PERIOD) == 0 && !this.progress.silent) {
+        System.out.println("Redo's pending: "
+                           + ENGINE_API.countRedoRecords());
+      }
+    }
+
+    /**
+     * Called when a thread finds no pending redo record.  This returns
+     * <tt>false</tt> if every thread has found none, otherwise it waits
+     * briefly and returns <tt>true</tt> if the thread should try again.
+     */
+    private synchronized boolean awaitRedoRecords() {
+      this.idleCount++;
+      try {
+        if (this.idleCount == this.threadCount) {
+          this.done = true;
+          this.notifyAll();
+          return false;
+        }
+        try {
+          this.wait(POLL_PERIOD);
+        } catch (InterruptedException ignore) {
+          // ignore -- the done flag is checked below
+        }
+        return !this.isDone();
+
+      } finally {
+        this.idleCount--;
+      }
+    }
+  }
+
   private static boolean addDataSource(File     repository,
                                        String   dataSource,
                                        boolean  verbose)
@@ -1500,19 +1994,18 @@ public class RepositoryManager {
 
   private static RecordReader provideJsonRecords(File    sourceFile,
                                                  String  dataSource,
-                                                 String  entityType)
+                                                 String  entityType,
+                                                 int     threadCount)
   {
     RecordReader recordReader = null;
     // check if we have a real JSON array
     try {
-      FileInputStream    fis = new FileInputStream(sourceFile);
-      InputStreamReader  isr = new InputStreamReader(fis, "UTF-8");
-      BufferedReader     br  = new BufferedReader(isr);
-
-      recordReader = new RecordReader(br, dataSource, entityType);
+      recordReader = openRecords(
+          null, sourceFile, dataSource, entityType, threadCount);
 
       RecordReader.Format format = recordReader.getFormat();
       if (format != JSON && format != JSON_LINES) {
+        recordReader.close();
         System.err.println();
         System.err.println(
             "JSON file does not contain JSON or JSON-lines formatted records");
@@ -1534,16 +2027,14 @@ public class RepositoryManager {
 
   private static RecordReader provideCsvRecords(File   sourceFile,
                                                 String dataSource,
-                                                String entityType)
+                                                String entityType,
+                                                int    threadCount)
   {
     RecordReader recordReader = null;
     // check if we have a real JSON array
     try {
-      FileInputStream    fis = new FileInputStream(sourceFile);
-      InputStreamReader  isr = new InputStreamReader(fis, "UTF-8");
-      BufferedReader     br  = new BufferedReader(isr);
-
-      recordReader = new RecordReader(CSV, br, dataSource, entityType);
+      recordReader = openRecords(
+          CSV, sourceFile, dataSource, entityType, threadCount);
 
     } catch (IOException e) {
       e.printStackTrace();
@@ -1557,6 +2048,30 @@ public class RepositoryManager {
     return recordReader;
   }
 
+  /**
+   * Opens a {@link RecordReader} for the specified UTF-8 file that parses
+   * the records using the specified number of threads.  With more than one
+   * thread the JSON-lines and CSV records are read from the memory-mapped
+   * file in chunks and parsed concurrently so that parsing keeps up with
+   * the loading threads.  The file is closed when the {@link RecordReader}
+   * is closed.
+   */
+  private static RecordReader openRecords(RecordReader.Format format,
+                                          File                sourceFile,
+                                          String              dataSource,
+                                          String              entityType,
+                                          int                 threadCount)
+      throws IOException
+  {
+    return new RecordReader(format,
+                            sourceFile,
+                            StandardCharsets.UTF_8,
+                            Collections.singletonMap("", dataSource),
+                            Collections.singletonMap("", entityType),
+                            null,
+                            threadCount);
+  }
+
   /**
    * Loads a single JSON record to the repository -- optionally setting
    * the data source and entity type for the record.  NOTE: if the specified
@@ -1703,7 +2218,7 @@ public class RepositoryManager {
       return false;
     }
 
-    processRedos(silent);
+    processRedos(silent, 1);
 
     if (!silent) {
       System.out.println();
@@ -0,0 +1,111 @@
+package com.senzing.util;
+
+import java.util.*;
+
+/**
+ * Provides an immutable snapshot of canonical code values (e.g.: data source
+ * codes, feature type codes and attribute classes) taken from a single
+ * configuration so that parsed objects can share a single {@link String}
+ * instance for each code rather than retaining a fresh copy per occurrence.
+ * Values that are not found in the snapshot are returned as-is so the
+ * snapshot never grows beyond the size of the configuration.
+ * <p>
+ * A process-wide {@linkplain #getCurrent() current} instance is maintained
+ * and is expected to be {@linkplain #setCurrent(CodeInterner) replaced}
+ * whenever the configuration is reloaded.
+ */
+public final class CodeInterner {
+  /**
+   * The empty instance that interns nothing.
+   */
+  public static final CodeInterner EMPTY
+      = new CodeInterner(Collections.emptySet());
+
+  /**
+   * The current instance.
+   */
+  private static volatile CodeInterner CURRENT = EMPTY;
+
+  /**
+   * The {@link Map} of code values to their canonical instances.
+   */
+  private final Map<String, String> canonicalMap;
+
+  /**
+   * Constructs with the {@link Collection} of code values to be interned.
+   * If a value occurs more than once then the first occurrence becomes the
+   * canonical instance.
+   *
+   * @param codes The {@link Collection} of code values.
+   */
+  public CodeInterner(Collection<String> codes) {
+    Map<String, String> map = new HashMap<>(Math.max(16, codes.size() * 2));
+    for (String code : codes) {
+      if (code == null) continue;
+      map.putIfAbsent(code, code);
+    }
+    this.canonicalMap = map;
+  }
+
+  /**
+   * Returns the canonical instance for the specified value if it is one of
+   * the codes in this snapshot, otherwise returns the specified value.
+   *
+   * @param value The value to intern, which may be <tt>null</tt>.
+   *
+   * @return The canonical instance for the value, or the specified value
+   *         if it is not one of the codes in this snapshot.
+   */
+  public String intern(String value) {
+    if (value == null) return null;
+    String canonical = this.canonicalMap.get(value);
+    return (canonical != null) ? canonical : value;
+  }
+
+  /**
+   * Returns the number of distinct codes in this snapshot.
+   *
+   * @return The number of distinct codes in this snapshot.
+   */
+  public int size() {
+    return this.canonicalMap.size();
+  }
+
+  /**
+   * Returns the current process-wide {@link CodeInterner}.  This returns
+   * {@link #EMPTY} if none has been set.
+   *
+   * @return The current process-wide {@link CodeInterner}.
+   */
+  public static CodeInterner getCurrent() {
+    return CURRENT;
+  }
+
+  /**
+   * Sets the current process-wide {@link CodeInterner}.  Specifying
+   * <tt>null</tt> resets it to {@link #EMPTY}.
+   *
+   * @param interner The {@link CodeInterner} to make current.
+   */
+  public static void setCurrent(CodeInterner interner) {
+    CURRENT = (interner == null) ? EMPTY : interner;
+  }
+
+  /**
+   * Convenience method to intern the specified value using the {@linkplain
+   * #getCurrent() current} {@link CodeInterner}.
+   *
+   * @param value The value to intern, which may be <tt>null</tt>.
+   *
+   * @return The canonical instance for the value, or the specified value
+   *         if it is not one of the current codes.
+   */
+  public static String internCode(String value) {
+    return CURRENT.intern(value);
+  }
+
+  @Override
+  public String toString() {
+    return "CodeInterner{size=" + this.canonicalMap.size() + "}";
+  }
+}
@@ -0,0 +1,217 @@
+package com.senzing.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A HyperLogLog sketch for estimating the number of distinct values in a
+ * stream of values using a fixed amount of memory.  Each value is hashed to
+ * 64 bits; the leading bits select one of <tt>2<sup>p</sup></tt> registers
+ * and the register retains the maximum position of the leftmost one-bit
+ * among the remaining bits.  The relative standard error of the estimate is
+ * approximately <tt>1.04 / sqrt(2<sup>p</sup>)</tt> (about 0.8% for the
+ * {@linkplain #DEFAULT_PRECISION default precision}).
+ * <p>
+ * This class is <b>not</b> thread-safe, but sketches built on separate
+ * threads can be {@linkplain #merge(HyperLogLog) merged}.
+ */
+public class HyperLogLog {
+  /**
+   * The default precision, giving 16384 registers.
+   */
+  public static final int DEFAULT_PRECISION = 14;
+
+  /**
+   * The minimum supported precision.
+   */
+  public static final int MIN_PRECISION = 4;
+
+  /**
+   * The maximum supported precision.
+   */
+  public static final int MAX_PRECISION = 18;
+
+  /**
+   * The precision (i.e.: the number of hash bits used to select a register).
+   */
+  private int precision;
+
+  /**
+   * The registers.
+   */
+  private byte[] registers;
+
+  /**
+   * Default constructor using the {@linkplain #DEFAULT_PRECISION default
+   * precision}.
+   */
+  public HyperLogLog() {
+    this(DEFAULT_PRECISION);
+  }
+
+  /**
+   * Constructs with the specified precision.
+   *
+   * @param precision The precision (i.e.: the base-2 logarithm of the number
+   *                  of registers).
+   *
+   * @throws IllegalArgumentException If the precision is not between {@link
+   *                                  #MIN_PRECISION} and {@link
+   *                                  #MAX_PRECISION} (inclusive).
+   */
+  public HyperLogLog(int precision) {
+    if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+      throw new IllegalArgumentException(
+          "The precision must be between " + MIN_PRECISION + " and "
+          + MAX_PRECISION + ": " + precision);
+    }
+    this.precision = precision;
+    this.registers = new byte[1 << precision];
+  }
+
+  /**
+   * Gets the precision of this instance.
+   *
+   * @return The precision of this instance.
+   */
+  public int getPrecision() {
+    return this.precision;
+  }
+
+  /**
+   * Adds the specified value to the sketch.
+   *
+   * @param value The value to add.
+   */
+  public void add(String value) {
+    this.addHash(hash(value));
+  }
+
+  /**
+   * Adds the specified 64-bit hash of a value to the sketch.  The hash
+   * should be well mixed (e.g.: as produced by {@link #hash(String)}).
+   *
+   * @param hash The 64-bit hash of the value.
+   */
+  public void addHash(long hash) {
+    int   index = (int) (hash >>> (64 - this.precision));
+    long  rest  = (hash << this.precision) | (1L << (this.precision - 1));
+    byte  rank  = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+    if (rank > this.registers[index]) this.registers[index] = rank;
+  }
+
+  /**
+   * Merges the specified sketch into this one so this instance estimates the
+   * number of distinct values added to either.
+   *
+   * @param other The {@link HyperLogLog} to merge into this one.
+   *
+   * @throws IllegalArgumentException If the specified sketch has a different
+   *                                  precision.
+   */
+  public void merge(HyperLogLog other) {
+    if (other.precision != this.precision) {
+      throw new IllegalArgumentException(
+          "Cannot merge sketches with different precisions: "
+          + this.precision + " / " + other.precision);
+    }
+    for (int index = 0; index < this.registers.length; index++) {
+      if (other.registers[index] > this.registers[index]) {
+        this.registers[index] = other.registers[index];
+      }
+    }
+  }
+
+  /**
+   * Estimates the number of distinct values added to the sketch.  This uses
+   * the improved estimator described by Otmar Ertl in "New cardinality
+   * estimation algorithms for HyperLogLog sketches", which avoids the bias
+   * of the classic estimator in the transition from small to large
+   * cardinalities without requiring empirical bias correction tables.
+   *
+   * @return The estimated number of distinct values.
+   */
+  public long estimate() {
+    int   count     = this.registers.length;
+    int   maxRank   = 64 - this.precision + 1;
+    int[] histogram = new int[maxRank + 1];
+    for (byte register : this.registers) {
+      histogram[register]++;
+    }
+
+    double z = count * tau(1.0 - ((double) histogram[maxRank]) / count);
+    for (int rank = maxRank - 1; rank >= 1; rank--) {
+      z = 0.5 * (z + histogram[rank]);
+    }
+    z += count * sigma(((double) histogram[0]) / count);
+
+    return Math.round(count * (count / (2.0 * Math.log(2.0))) / z);
+  }
+
+  /**
+   * Gets the relative standard error of the {@linkplain #estimate()
+   * estimate} for the precision of this instance.
+   *
+   * @return The relative standard error of the estimate.
+   */
+  public double getStandardError() {
+    return 1.04 / Math.sqrt(this.registers.length);
+  }
+
+  /**
+   * Computes the sigma function of the improved estimator for the specified
+   * fraction of registers that are zero.
+   */
+  private static double sigma(double x) {
+    if (x == 1.0) return Double.POSITIVE_INFINITY;
+    double y = 1.0;
+    double z = x;
+    double previous;
+    do {
+      x *= x;
+      previous = z;
+      z += x * y;
+      y += y;
+    } while (z != previous);
+    return z;
+  }
+
+  /**
+   * Computes the tau function of the improved estimator for the specified
+   * fraction of registers that are not saturated.
+   */
+  private static double tau(double x) {
+    if (x == 0.0 || x == 1.0) return 0.0;
+    double y = 1.0;
+    double z = 1.0 - x;
+    double previous;
+    do {
+      x = Math.sqrt(x);
+      previous = z;
+      y *= 0.5;
+      z -= Math.pow(1.0 - x, 2.0) * y;
+    } while (z != previous);
+    return z / 3.0;
+  }
+
+  /**
+   * Computes a well-mixed 64-bit hash of the UTF-8 bytes of the specified
+   * {@link String} using FNV-1a followed by the MurmurHash3 finalizer.
+   *
+   * @param value The {@link String} to hash.
+   *
+   * @return The 64-bit hash.
+   */
+  public static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= (b & 0xFF);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= (hash >>> 33);
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= (hash >>> 33);
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= (hash >>> 33);
+    return hash;
+  }
+}
@@ -0,0 +1,208 @@
+package com.senzing.util;
+
+import java.util.Arrays;
+
+/**
+ * A compact open-addressing hash set of primitive <tt>long</tt> values that
+ * avoids the per-element {@link Long} and hash-entry objects retained by a
+ * {@link java.util.HashSet}.  This is intended for sets of entity IDs and
+ * does not support removal.  This class is <b>not</b> thread-safe.
+ */
+public class LongHashSet {
+  /**
+   * The default initial capacity.
+   */
+  private static final int DEFAULT_CAPACITY = 16;
+
+  /**
+   * The sentinel value marking an empty slot in the table.
+   */
+  private static final long EMPTY_SLOT = 0L;
+
+  /**
+   * The table of values.
+   */
+  private long[] table;
+
+  /**
+   * Whether or not the set contains the value that collides with the
+   * {@linkplain #EMPTY_SLOT empty slot} sentinel.
+   */
+  private boolean containsSentinel;
+
+  /**
+   * The number of values in the set.
+   */
+  private int size;
+
+  /**
+   * Default constructor.
+   */
+  public LongHashSet() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructs with the expected number of values.
+   *
+   * @param expectedSize The expected number of values.
+   */
+  public LongHashSet(int expectedSize) {
+    this.table            = new long[tableSizeFor(expectedSize)];
+    this.containsSentinel = false;
+    this.size             = 0;
+  }
+
+  /**
+   * Computes the table size (a power of two) to hold the specified number of
+   * values while remaining at most half full.
+   *
+   * @param expectedSize The expected number of values.
+   *
+   * @return The table size to use.
+   */
+  static int tableSizeFor(int expectedSize) {
+    int size = DEFAULT_CAPACITY;
+    while (size < (long) Math.max(0, expectedSize) * 2L) size <<= 1;
+    return size;
+  }
+
+  /**
+   * Mixes the bits of the specified value to produce a hash code.
+   *
+   * @param value The value to hash.
+   *
+   * @return The mixed hash code.
+   */
+  static int mix(long value) {
+    long h = value * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  /**
+   * Returns the number of values in the set.
+   *
+   * @return The number of values in the set.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Checks if this set is empty.
+   *
+   * @return <tt>true</tt> if empty, otherwise <tt>false</tt>.
+   */
+  public boolean isEmpty() {
+    return (this.size == 0);
+  }
+
+  /**
+   * Adds the specified value to the set.
+   *
+   * @param value The value to add.
+   *
+   * @return <tt>true</tt> if the value was added, or <tt>false</tt> if it was
+   *         already present.
+   */
+  public boolean add(long value) {
+    if (value == EMPTY_SLOT) {
+      if (this.containsSentinel) return false;
+      this.containsSentinel = true;
+      this.size++;
+      return true;
+    }
+    int mask  = this.table.length - 1;
+    int index = mix(value) & mask;
+    while (this.table[index] != EMPTY_SLOT) {
+      if (this.table[index] == value) return false;
+      index = (index + 1) & mask;
+    }
+    this.table[index] = value;
+    this.size++;
+    if (this.size * 2 > this.table.length) this.rehash();
+    return true;
+  }
+
+  /**
+   * Adds all the values in the specified array.
+   *
+   * @param values The array of values to add.
+   */
+  public void addAll(long[] values) {
+    for (long value : values) this.add(value);
+  }
+
+  /**
+   * Checks if the specified value is contained in the set.
+   *
+   * @param value The value to check for.
+   *
+   * @return <tt>true</tt> if the value is in the set, otherwise
+   *         <tt>false</tt>.
+   */
+  public boolean contains(long value) {
+    if (value == EMPTY_SLOT) return this.containsSentinel;
+    int mask  = this.table.length - 1;
+    int index = mix(value) & mask;
+    while (this.table[index] != EMPTY_SLOT) {
+      if (this.table[index] == value) return true;
+      index = (index + 1) & mask;
+    }
+    return false;
+  }
+
+  /**
+   * Checks if all the values in the specified set are contained in this set.
+   *
+   * @param other The other {@link LongHashSet}.
+   *
+   * @return <tt>true</tt> if all values in the specified set are contained
+   *         in this set, otherwise <tt>false</tt>.
+   */
+  public boolean containsAll(LongHashSet other) {
+    if (other.containsSentinel && !this.containsSentinel) return false;
+    for (long value : other.table) {
+      if (value != EMPTY_SLOT && !this.contains(value)) return false;
+    }
+    return true;
+  }
+
+  /**
+   * Returns the values in this set as a newly allocated array in no
+   * particular order.
+   *
+   * @return The values in this set as a newly allocated array.
+   */
+  public long[] toArray() {
+    long[] result = new long[this.size];
+    int index = 0;
+    if (this.containsSentinel) result[index++] = EMPTY_SLOT;
+    for (long value : this.table) {
+      if (value != EMPTY_SLOT) result[index++] = value;
+    }
+    return result;
+  }
+
+  /**
+   * Doubles the size of the table and reinserts the values.
+   */
+  private void rehash() {
+    long[] oldTable = this.table;
+    this.table = new long[oldTable.length * 2];
+    int mask = this.table.length - 1;
+    for (long value : oldTable) {
+      if (value == EMPTY_SLOT) continue;
+      int index = mix(value) & mask;
+      while (this.table[index] != EMPTY_SLOT) index = (index + 1) & mask;
+      this.table[index] = value;
+    }
+  }
+
+  @Override
+  public String toString() {
+    long[] values = this.toArray();
+    Arrays.sort(values);
+    return Arrays.toString(values);
+  }
+}
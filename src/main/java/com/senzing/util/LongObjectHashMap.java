@@ -0,0 +1,234 @@
+package com.senzing.util;
+
+import java.util.*;
+
+/**
+ * A compact insertion-ordered hash map from primitive <tt>long</tt> keys to
+ * object values.  The keys and values are held in parallel arrays in
+ * insertion order and an open-addressing <tt>int</tt> index table is used
+ * for lookup, avoiding the per-entry {@link Long} and entry objects
+ * retained by a {@link LinkedHashMap}.  This is intended for maps keyed by
+ * entity ID and does not support removal.  This class is <b>not</b>
+ * thread-safe.
+ *
+ * @param <V> The type of the values in the map.
+ */
+public class LongObjectHashMap<V> {
+  /**
+   * The default initial capacity.
+   */
+  private static final int DEFAULT_CAPACITY = 16;
+
+  /**
+   * The keys in insertion order.
+   */
+  private long[] keys;
+
+  /**
+   * The values in insertion order.
+   */
+  private Object[] values;
+
+  /**
+   * The open-addressing index table holding one plus the position of the
+   * associated key in {@link #keys}, or zero (0) for an empty slot.
+   */
+  private int[] index;
+
+  /**
+   * The number of entries in the map.
+   */
+  private int size;
+
+  /**
+   * Default constructor.
+   */
+  public LongObjectHashMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructs with the expected number of entries.
+   *
+   * @param expectedSize The expected number of entries.
+   */
+  public LongObjectHashMap(int expectedSize) {
+    int capacity = Math.max(DEFAULT_CAPACITY, expectedSize);
+    this.keys   = new long[capacity];
+    this.values = new Object[capacity];
+    this.index  = new int[LongHashSet.tableSizeFor(capacity)];
+    this.size   = 0;
+  }
+
+  /**
+   * Returns the number of entries in the map.
+   *
+   * @return The number of entries in the map.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Checks if this map is empty.
+   *
+   * @return <tt>true</tt> if empty, otherwise <tt>false</tt>.
+   */
+  public boolean isEmpty() {
+    return (this.size == 0);
+  }
+
+  /**
+   * Finds the position in {@link #keys} for the specified key.
+   *
+   * @param key The key to find.
+   *
+   * @return The position of the key, or negative one (-1) if not found.
+   */
+  private int find(long key) {
+    int mask = this.index.length - 1;
+    int slot = LongHashSet.mix(key) & mask;
+    while (this.index[slot] != 0) {
+      int position = this.index[slot] - 1;
+      if (this.keys[position] == key) return position;
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Associates the specified value with the specified key.  If the key is
+   * already present then its value is replaced, but its position in the
+   * iteration order is retained.
+   *
+   * @param key The key.
+   *
+   * @param value The value to associate with the key.
+   *
+   * @return The previous value associated with the key, or <tt>null</tt>
+   *         if none.
+   */
+  @SuppressWarnings("unchecked")
+  public V put(long key, V value) {
+    int position = this.find(key);
+    if (position >= 0) {
+      V previous = (V) this.values[position];
+      this.values[position] = value;
+      return previous;
+    }
+
+    // grow the entry arrays if needed
+    if (this.size == this.keys.length) {
+      int capacity = this.keys.length * 2;
+      this.keys   = Arrays.copyOf(this.keys, capacity);
+      this.values = Arrays.copyOf(this.values, capacity);
+    }
+    position = this.size++;
+    this.keys[position]   = key;
+    this.values[position] = value;
+
+    // grow the index if needed, otherwise insert into it
+    if (this.size * 2 > this.index.length) {
+      this.reindex(this.index.length * 2);
+    } else {
+      this.insertIndex(key, position);
+    }
+    return null;
+  }
+
+  /**
+   * Gets the value associated with the specified key.
+   *
+   * @param key The key.
+   *
+   * @return The value associated with the key, or <tt>null</tt> if none.
+   */
+  @SuppressWarnings("unchecked")
+  public V get(long key) {
+    int position = this.find(key);
+    return (position < 0) ? null : (V) this.values[position];
+  }
+
+  /**
+   * Checks if the specified key is present in the map.
+   *
+   * @param key The key to check for.
+   *
+   * @return <tt>true</tt> if the key is present, otherwise <tt>false</tt>.
+   */
+  public boolean containsKey(long key) {
+    return (this.find(key) >= 0);
+  }
+
+  /**
+   * Returns the keys in insertion order as a newly allocated array.
+   *
+   * @return The keys in insertion order as a newly allocated array.
+   */
+  public long[] keys() {
+    return Arrays.copyOf(this.keys, this.size);
+  }
+
+  /**
+   * Returns an unmodifiable {@link List} view of the values in insertion
+   * order.
+   *
+   * @return An unmodifiable {@link List} view of the values in insertion
+   *         order.
+   */
+  public List<V> values() {
+    return new AbstractList<V>() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public V get(int position) {
+        if (position < 0 || position >= LongObjectHashMap.this.size) {
+          throw new IndexOutOfBoundsException(
+              "Index: " + position + ", Size: " + LongObjectHashMap.this.size);
+        }
+        return (V) LongObjectHashMap.this.values[position];
+      }
+
+      @Override
+      public int size() {
+        return LongObjectHashMap.this.size;
+      }
+    };
+  }
+
+  /**
+   * Inserts the specified key position into the index table.
+   *
+   * @param key The key.
+   * @param position The position of the key in {@link #keys}.
+   */
+  private void insertIndex(long key, int position) {
+    int mask = this.index.length - 1;
+    int slot = LongHashSet.mix(key) & mask;
+    while (this.index[slot] != 0) slot = (slot + 1) & mask;
+    this.index[slot] = position + 1;
+  }
+
+  /**
+   * Rebuilds the index table with the specified size.
+   *
+   * @param tableSize The new index table size (a power of two).
+   */
+  private void reindex(int tableSize) {
+    this.index = new int[tableSize];
+    for (int position = 0; position < this.size; position++) {
+      this.insertIndex(this.keys[position], position);
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("{");
+    String prefix = "";
+    for (int position = 0; position < this.size; position++) {
+      sb.append(prefix).append(this.keys[position]).append("=")
+          .append(this.values[position]);
+      prefix = ", ";
+    }
+    return sb.append("}").toString();
+  }
+}
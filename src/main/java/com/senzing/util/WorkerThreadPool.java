@@ -28,6 +28,12 @@ public class WorkerThreadPool {
    */
   private AccessToken pauseToken;
 
+  /**
+   * The number of callers of {@link #execute(Task)} that are waiting for an
+   * available worker thread.
+   */
+  private int waitingCount;
+
   /**
    * Constructs with the specified number of threads in the pool.
    *
@@ -52,6 +58,7 @@ public class WorkerThreadPool {
     this.available    = new LinkedList<>();
     this.allThreads   = new LinkedList<>();
     this.closed       = false;
+    this.waitingCount = 0;
 
     // if baseName ends with "-" then strip it off since we will add it back
     if (baseName.endsWith("-")) {
@@ -133,6 +140,35 @@ public class WorkerThreadPool {
    *                   an exception.
    */
   public <T, E extends Exception> T execute(Task<T, E> task) throws E
+  {
+    return this.execute(task, false);
+  }
+
+  /**
+   * Executes the specified task on the first available worker thread, but
+   * only once no caller of {@link #execute(Task)} is waiting for a worker
+   * thread.  This allows background work to use the worker threads that
+   * would otherwise be idle while yielding to all other tasks.
+   *
+   * @param task The {@link Task} to execute.
+   *
+   * @return The result from executing the {@link Task}.
+   *
+   * @throws Exception If the specified {@link Task#execute()} method throws
+   *                   an exception.
+   */
+  public <T, E extends Exception> T executeWhenIdle(Task<T, E> task) throws E
+  {
+    return this.execute(task, true);
+  }
+
+  /**
+   * Executes the specified task on the first available worker thread,
+   * yielding to the callers that are not idle callers if the task is an idle
+   * task.
+   */
+  private <T, E extends Exception> T execute(Task<T, E> task, boolean idle)
+      throws E
   {
     WorkerThread thread = null;
     synchronized (this.available) {
@@ -144,12 +180,19 @@ public class WorkerThreadPool {
       }
 
       // wait for an available worker thread
-      while (this.available.size() == 0 || this.pauseToken != null) {
-        try {
-          this.available.wait(2000L);
-        } catch (InterruptedException ignore) {
-          // do nothing
+      if (!idle) this.waitingCount++;
+      try {
+        while (this.available.size() == 0 || this.pauseToken != null
+               || (idle && this.waitingCount > 0))
+        {
+          try {
+            this.available.wait(2000L);
+          } catch (InterruptedException ignore) {
+            // do nothing
+          }
         }
+      } finally {
+        if (!idle && --this.waitingCount == 0) this.available.notifyAll();
       }
       thread = this.available.remove(0);
     }
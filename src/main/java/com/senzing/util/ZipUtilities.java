@@ -1,6 +1,7 @@
 package com.senzing.util;
 
 import java.io.*;
+import java.util.Arrays;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -150,6 +151,239 @@ public class ZipUtilities {
     }
   }
 
+  /**
+   * Opens an {@link InputStream} that reads the contents of the file entries
+   * of the specified ZIP archive stream one after another as if they were a
+   * single file.  Directory entries and hidden entries (those whose name or
+   * any parent directory name begins with a period, such as the
+   * <tt>__MACOSX/._*</tt> entries added by some archivers) are skipped.  A
+   * line break is inserted between entries if an entry does not end with
+   * one so that line-oriented records (e.g.: JSON-lines or CSV) from
+   * adjacent entries are never joined.
+   * <p>
+   * If <tt>skipRepeatedHeader</tt> is <tt>true</tt> then the first line of
+   * each subsequent entry is omitted if it is identical to the first line of
+   * the first entry, which allows an archive of CSV files that each have the
+   * same header to be read as a single CSV file.
+   * <p>
+   * Reading fails with an {@link IOException} if the archive has more than
+   * one file entry and any of them is a JSON array (i.e.: its first
+   * non-whitespace character is <tt>'['</tt>) since concatenated arrays do
+   * not form a single JSON document.  The returned stream closes the
+   * specified {@link ZipInputStream} when it is closed.
+   *
+   * @param zipStream The {@link ZipInputStream} for the archive.
+   * @param skipRepeatedHeader <tt>true</tt> if the first line of subsequent
+   *                           entries should be omitted if it is identical
+   *                           to that of the first entry, otherwise
+   *                           <tt>false</tt>.
+   *
+   * @return The {@link InputStream} for reading the concatenated entries.
+   */
+  public static InputStream openEntries(ZipInputStream  zipStream,
+                                        boolean         skipRepeatedHeader)
+  {
+    return new ZipEntriesInputStream(zipStream, skipRepeatedHeader);
+  }
+
+  /**
+   * Checks if the specified ZIP entry name is hidden.
+   */
+  private static boolean isHiddenEntry(String name) {
+    for (String part : name.split("/")) {
+      if (part.startsWith(".") || part.equals("__MACOSX")) return true;
+    }
+    return false;
+  }
+
+  /**
+   * The {@link InputStream} implementation returned by {@link
+   * #openEntries(ZipInputStream, boolean)}.
+   */
+  private static class ZipEntriesInputStream extends InputStream {
+    /**
+     * The maximum number of bytes of a first line that are compared to
+     * detect a repeated header.
+     */
+    private static final int MAX_HEADER_LENGTH = 64 * 1024;
+
+    /**
+     * The underlying {@link ZipInputStream}.
+     */
+    private ZipInputStream zipStream;
+
+    /**
+     * Whether or not repeated headers are skipped.
+     */
+    private boolean skipRepeatedHeader;
+
+    /**
+     * The first line of the first entry, or <tt>null</tt> if not yet read.
+     */
+    private byte[] header = null;
+
+    /**
+     * The name of the current entry, or <tt>null</tt> if none.
+     */
+    private String entryName = null;
+
+    /**
+     * The number of file entries that have been opened.
+     */
+    private int entryCount = 0;
+
+    /**
+     * Whether or not the first entry is a JSON array.
+     */
+    private boolean firstIsArray = false;
+
+    /**
+     * The bytes read ahead from the current entry that have not yet been
+     * returned, or <tt>null</tt> if none.
+     */
+    private ByteArrayInputStream pending = null;
+
+    /**
+     * The last byte returned, or negative one (-1) if none.
+     */
+    private int lastByte = -1;
+
+    /**
+     * Whether or not all entries have been read.
+     */
+    private boolean finished = false;
+
+    /**
+     * Constructs with the {@link ZipInputStream}.
+     */
+    private ZipEntriesInputStream(ZipInputStream  zipStream,
+                                  boolean         skipRepeatedHeader)
+    {
+      this.zipStream          = zipStream;
+      this.skipRepeatedHeader = skipRepeatedHeader;
+    }
+
+    /**
+     * Reads the first line (including the line break) of the current entry
+     * up to {@link #MAX_HEADER_LENGTH} bytes.
+     */
+    private byte[] readFirstLine() throws IOException {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      for (int b = this.zipStream.read();
+           b >= 0 && baos.size() < MAX_HEADER_LENGTH;
+           b = this.zipStream.read())
+      {
+        baos.write(b);
+        if (b == '\n') break;
+      }
+      return baos.toByteArray();
+    }
+
+    /**
+     * Checks if the specified bytes begin with a JSON array after any
+     * leading whitespace.
+     */
+    private static boolean isJsonArray(byte[] bytes) {
+      for (byte b : bytes) {
+        if (b == ' ' || b == '\t' || b == '\r' || b == '\n') continue;
+        return (b == '[');
+      }
+      return false;
+    }
+
+    /**
+     * Trims the trailing line break from the specified line.
+     */
+    private static byte[] trimLineBreak(byte[] line) {
+      int length = line.length;
+      if (length > 0 && line[length - 1] == '\n') length--;
+      if (length > 0 && line[length - 1] == '\r') length--;
+      return (length == line.length) ? line : Arrays.copyOf(line, length);
+    }
+
+    /**
+     * Advances to the next file entry, returning <tt>false</tt> if there
+     * are no more entries.
+     */
+    private boolean nextEntry() throws IOException {
+      for (ZipEntry entry = this.zipStream.getNextEntry();
+           entry != null;
+           entry = this.zipStream.getNextEntry())
+      {
+        if (entry.isDirectory() || isHiddenEntry(entry.getName())) continue;
+
+        byte[] firstLine = this.readFirstLine();
+        if (firstLine.length == 0) continue;
+
+        this.entryName = entry.getName();
+        boolean array = isJsonArray(firstLine);
+        if (this.entryCount == 0) {
+          this.firstIsArray = array;
+          this.header       = trimLineBreak(firstLine);
+        } else if (array || this.firstIsArray) {
+          throw new IOException(
+              "ZIP archives with multiple entries cannot contain JSON "
+              + "arrays: " + this.entryName);
+        }
+
+        boolean skip = (this.entryCount > 0 && this.skipRepeatedHeader
+            && Arrays.equals(this.header, trimLineBreak(firstLine)));
+        this.entryCount++;
+
+        // separate from the previous entry if needed
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        if (this.lastByte >= 0 && this.lastByte != '\n'
+            && this.lastByte != '\r')
+        {
+          baos.write('\n');
+        }
+        if (!skip) baos.write(firstLine);
+        this.pending = new ByteArrayInputStream(baos.toByteArray());
+        return true;
+      }
+      this.entryName = null;
+      return false;
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] buffer = new byte[1];
+      int count = this.read(buffer, 0, 1);
+      return (count < 0) ? -1 : (buffer[0] & 0xFF);
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length)
+        throws IOException
+    {
+      if (length == 0) return 0;
+      while (!this.finished) {
+        int count = -1;
+        if (this.pending != null) {
+          count = this.pending.read(buffer, offset, length);
+          if (count < 0) this.pending = null;
+        }
+        if (count < 0 && this.entryName != null) {
+          count = this.zipStream.read(buffer, offset, length);
+        }
+        if (count > 0) {
+          this.lastByte = buffer[offset + count - 1] & 0xFF;
+          return count;
+        }
+        if (count < 0 && this.pending == null && !this.nextEntry()) {
+          this.finished = true;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.finished = true;
+      this.zipStream.close();
+    }
+  }
+
   /**
    *
    */
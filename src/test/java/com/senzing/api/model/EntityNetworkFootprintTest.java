@@ -0,0 +1,284 @@
+package com.senzing.api.model;
+
+import com.senzing.util.CodeInterner;
+import com.senzing.util.LongHashSet;
+import com.senzing.util.LongObjectHashMap;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import javax.json.*;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the compact heap representation of parsed entity networks and
+ * reports the heap footprint of large networks.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.SAME_THREAD)
+public class EntityNetworkFootprintTest {
+  /**
+   * The number of entities in the generated network.
+   */
+  private static final int ENTITY_COUNT = 20000;
+
+  /**
+   * The number of entity IDs used for the collection footprint comparison.
+   */
+  private static final int ID_COUNT = 1000000;
+
+  /**
+   * The data sources used in the generated network.
+   */
+  private static final String[] DATA_SOURCES
+      = { "CUSTOMERS", "EMPLOYEES", "WATCHLIST" };
+
+  /**
+   * The feature types used in the generated network.
+   */
+  private static final String[] FEATURE_TYPES
+      = { "NAME", "ADDRESS", "PHONE" };
+
+  /**
+   * The attribute class mapper for the feature types.
+   */
+  private static final Function<String,String> ATTR_CLASS_MAPPER
+      = (ftype) -> ftype;
+
+  /**
+   * The JSON text describing the generated network.
+   */
+  private String networkJson;
+
+  @BeforeAll
+  public void setup() {
+    JsonArrayBuilder entities = Json.createArrayBuilder();
+    JsonArrayBuilder pathIds  = Json.createArrayBuilder();
+    for (int index = 0; index < ENTITY_COUNT; index++) {
+      long entityId = 1000L + index;
+      pathIds.add(entityId);
+
+      JsonObjectBuilder features = Json.createObjectBuilder();
+      for (String ftype : FEATURE_TYPES) {
+        features.add(ftype, Json.createArrayBuilder().add(
+            Json.createObjectBuilder()
+                .add("FEAT_DESC", ftype + " VALUE " + index)
+                .add("LIB_FEAT_ID", entityId * 10)
+                .add("UTYPE_CODE", "")
+                .add("FEAT_DESC_VALUES", Json.createArrayBuilder().add(
+                    Json.createObjectBuilder()
+                        .add("FEAT_DESC", ftype + " VALUE " + index)
+                        .add("LIB_FEAT_ID", entityId * 10)))));
+      }
+
+      JsonArrayBuilder records = Json.createArrayBuilder();
+      for (int recIndex = 0; recIndex < 2; recIndex++) {
+        records.add(Json.createObjectBuilder()
+            .add("DATA_SOURCE",
+                 DATA_SOURCES[(index + recIndex) % DATA_SOURCES.length])
+            .add("RECORD_ID", "REC-" + index + "-" + recIndex)
+            .add("JSON_DATA", Json.createObjectBuilder()
+                .add("NAME_FULL", "NAME VALUE " + index)));
+      }
+
+      entities.add(Json.createObjectBuilder()
+          .add("RESOLVED_ENTITY", Json.createObjectBuilder()
+              .add("ENTITY_ID", entityId)
+              .add("ENTITY_NAME", "NAME VALUE " + index)
+              .add("FEATURES", features)
+              .add("RECORDS", records))
+          .add("RELATED_ENTITIES", Json.createArrayBuilder()));
+    }
+
+    JsonObjectBuilder path = Json.createObjectBuilder()
+        .add("START_ENTITY_ID", 1000L)
+        .add("END_ENTITY_ID", 1000L + ENTITY_COUNT - 1)
+        .add("ENTITIES", pathIds);
+
+    this.networkJson = Json.createObjectBuilder()
+        .add("ENTITY_PATHS", Json.createArrayBuilder().add(path))
+        .add("ENTITIES", entities)
+        .build().toString();
+  }
+
+  /**
+   * Parses the generated network JSON.
+   *
+   * @return The parsed {@link SzEntityNetworkData}.
+   */
+  private SzEntityNetworkData parseNetwork() {
+    try (JsonReader reader = Json.createReader(
+        new java.io.StringReader(this.networkJson)))
+    {
+      JsonObject jsonObject = reader.readObject();
+      return SzEntityNetworkData.parseEntityNetworkData(jsonObject,
+                                                        ATTR_CLASS_MAPPER);
+    }
+  }
+
+  /**
+   * Measures the approximate retained heap of the object produced by the
+   * specified {@link Supplier}.
+   *
+   * @param supplier The {@link Supplier} for the object to measure.
+   *
+   * @param result The single-element array to hold the produced object so
+   *               it remains reachable.
+   *
+   * @return The approximate number of bytes retained.
+   */
+  private static long measureHeap(Supplier<Object> supplier, Object[] result)
+  {
+    Runtime runtime = Runtime.getRuntime();
+    System.gc();
+    long before = runtime.totalMemory() - runtime.freeMemory();
+    result[0] = supplier.get();
+    System.gc();
+    long after = runtime.totalMemory() - runtime.freeMemory();
+    return Math.max(0L, after - before);
+  }
+
+  @Test
+  public void interningTest() {
+    CodeInterner previous = CodeInterner.getCurrent();
+    List<String> codes = new ArrayList<>();
+    codes.addAll(Arrays.asList(DATA_SOURCES));
+    codes.addAll(Arrays.asList(FEATURE_TYPES));
+    CodeInterner interner = new CodeInterner(codes);
+    CodeInterner.setCurrent(interner);
+    try {
+      SzEntityNetworkData network = this.parseNetwork();
+      assertEquals(ENTITY_COUNT, network.getEntities().size(),
+                   "Unexpected number of entities");
+
+      for (SzEntityData entityData : network.getEntities()) {
+        SzResolvedEntity entity = entityData.getResolvedEntity();
+        for (SzMatchedRecord record : entity.getRecords()) {
+          assertSame(interner.intern(record.getDataSource()),
+                     record.getDataSource(),
+                     "Data source code was not interned");
+        }
+        for (String ftype : entity.getFeatures().keySet()) {
+          assertSame(interner.intern(ftype), ftype,
+                     "Feature type was not interned");
+        }
+      }
+    } finally {
+      CodeInterner.setCurrent(previous);
+    }
+  }
+
+  @Test
+  public void entityPathTest() {
+    SzEntityNetworkData network = this.parseNetwork();
+    assertEquals(1, network.getEntityPaths().size(),
+                 "Unexpected number of entity paths");
+    SzEntityPath path = network.getEntityPaths().get(0);
+    List<Long> entityIds = path.getEntityIds();
+    assertEquals(ENTITY_COUNT, entityIds.size(), "Unexpected path length");
+    for (int index = 0; index < ENTITY_COUNT; index++) {
+      assertEquals(1000L + index, (long) entityIds.get(index),
+                   "Unexpected entity ID at index: " + index);
+    }
+    assertThrows(UnsupportedOperationException.class,
+                 () -> entityIds.add(1L));
+  }
+
+  @Test
+  public void collectionsTest() {
+    Random random = new Random(1234L);
+    LongHashSet               longSet = new LongHashSet();
+    LongObjectHashMap<String> longMap = new LongObjectHashMap<>();
+    Set<Long>                 set     = new HashSet<>();
+    Map<Long,String>          map     = new LinkedHashMap<>();
+
+    for (int index = 0; index < 100000; index++) {
+      long value = (index % 1000 == 0) ? 0L : random.nextInt(50000) - 1000;
+      assertEquals(set.add(value), longSet.add(value),
+                   "Add result differs for value: " + value);
+      String text = String.valueOf(index);
+      assertEquals(map.put(value, text), longMap.put(value, text),
+                   "Put result differs for key: " + value);
+    }
+    assertEquals(set.size(), longSet.size(), "Set size differs");
+    assertEquals(map.size(), longMap.size(), "Map size differs");
+    assertEquals(new ArrayList<>(map.values()), longMap.values(),
+                 "Map values or iteration order differ");
+
+    for (long value = -2000; value < 60000; value++) {
+      assertEquals(set.contains(value), longSet.contains(value),
+                   "Contains differs for value: " + value);
+      assertEquals(map.get(value), longMap.get(value),
+                   "Get differs for key: " + value);
+    }
+  }
+
+  @Test
+  @Tag("benchmark")
+  public void footprintBenchmark() {
+    Object[] holder = new Object[1];
+
+    long boxedSetBytes = measureHeap(() -> {
+      Set<Long> set = new HashSet<>();
+      for (long id = 1; id <= ID_COUNT; id++) set.add(id * 7);
+      return set;
+    }, holder);
+    holder[0] = null;
+
+    long longSetBytes = measureHeap(() -> {
+      LongHashSet set = new LongHashSet();
+      for (long id = 1; id <= ID_COUNT; id++) set.add(id * 7);
+      return set;
+    }, holder);
+    holder[0] = null;
+
+    long boxedMapBytes = measureHeap(() -> {
+      Map<Long,Object> map = new LinkedHashMap<>();
+      for (long id = 1; id <= ID_COUNT; id++) map.put(id * 7, holder);
+      return map;
+    }, holder);
+    holder[0] = null;
+
+    long longMapBytes = measureHeap(() -> {
+      LongObjectHashMap<Object> map = new LongObjectHashMap<>();
+      for (long id = 1; id <= ID_COUNT; id++) map.put(id * 7, holder);
+      return map;
+    }, holder);
+    holder[0] = null;
+
+    CodeInterner previous = CodeInterner.getCurrent();
+    long plainNetworkBytes;
+    long internedNetworkBytes;
+    try {
+      CodeInterner.setCurrent(CodeInterner.EMPTY);
+      plainNetworkBytes = measureHeap(this::parseNetwork, holder);
+      holder[0] = null;
+
+      List<String> codes = new ArrayList<>();
+      codes.addAll(Arrays.asList(DATA_SOURCES));
+      codes.addAll(Arrays.asList(FEATURE_TYPES));
+      CodeInterner.setCurrent(new CodeInterner(codes));
+      internedNetworkBytes = measureHeap(this::parseNetwork, holder);
+      holder[0] = null;
+    } finally {
+      CodeInterner.setCurrent(previous);
+    }
+
+    System.out.println();
+    System.out.println("ENTITY ID SET (" + ID_COUNT + " IDS): HashSet<Long>="
+                           + boxedSetBytes + " bytes, LongHashSet="
+                           + longSetBytes + " bytes");
+    System.out.println("ENTITY ID MAP (" + ID_COUNT + " IDS): "
+                           + "LinkedHashMap<Long,?>=" + boxedMapBytes
+                           + " bytes, LongObjectHashMap=" + longMapBytes
+                           + " bytes");
+    System.out.println("ENTITY NETWORK (" + ENTITY_COUNT + " ENTITIES): "
+                           + "plain=" + plainNetworkBytes
+                           + " bytes, interned=" + internedNetworkBytes
+                           + " bytes");
+  }
+}
@@ -0,0 +1,148 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.services.SzMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link FileEndpoint}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class FileEndpointTest {
+  /**
+   * Creates a temporary directory that is deleted on exit.
+   */
+  private static File createTempDirectory() throws Exception {
+    File dir = Files.createTempDirectory("file-endpoint-").toFile();
+    dir.deleteOnExit();
+    return dir;
+  }
+
+  /**
+   * Reads the lines of the specified file.
+   */
+  private static List<String> readLines(File file) throws Exception {
+    return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void appendTest() {
+    try {
+      File file = new File(createTempDirectory(), "info.jsonl");
+      file.deleteOnExit();
+      SzMessagingEndpoint endpoint = SzMessagingEndpointFactory.createEndpoint(
+          Map.of(FileEndpoint.PATH_PROPERTY_KEY, file.getPath()), 1);
+      assertTrue(endpoint instanceof FileEndpoint,
+                 "Unexpected endpoint type: " + endpoint.getClass());
+
+      endpoint.send(new SzMessage("A"), null);
+      endpoint.send(List.of(new SzMessage("B"), new SzMessage("C")), null);
+      endpoint.close();
+
+      assertEquals(3, readLines(file).size(), "Unexpected number of lines");
+      assertEquals(0, ((FileEndpoint) endpoint).getRolledSegments().size(),
+                   "File was rolled without a segment size");
+      assertEquals(2L, ((FileEndpoint) endpoint).getSendLatency().getCount(),
+                   "Unexpected number of recorded send latencies");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void rollingTest() {
+    try {
+      File dir  = createTempDirectory();
+      File file = new File(dir, "info.jsonl");
+      String url = file.toURI().toString() + "?segmentSize=40&segmentCount=2";
+      FileEndpoint endpoint
+          = (FileEndpoint) SzMessagingEndpointFactory.createEndpoint(url, 1);
+      assertEquals(40L, endpoint.getSegmentSize(), "Unexpected segment size");
+      assertEquals(2, endpoint.getSegmentCount(), "Unexpected segment count");
+
+      // each line is over 20 bytes so every other message rolls the file
+      for (int index = 0; index < 7; index++) {
+        endpoint.send(new SzMessage("message-" + index), null);
+      }
+      endpoint.close();
+
+      List<File> segments = endpoint.getRolledSegments();
+      for (File segment : segments) segment.deleteOnExit();
+      file.deleteOnExit();
+      assertEquals(2, segments.size(), "Oldest segments were not deleted");
+      assertTrue(segments.get(0).getName().endsWith(".000002"),
+                 "Unexpected oldest segment: " + segments.get(0));
+      assertTrue(segments.get(1).getName().endsWith(".000003"),
+                 "Unexpected newest segment: " + segments.get(1));
+      assertEquals(2, readLines(segments.get(1)).size(),
+                   "Unexpected number of lines in the rolled segment");
+      assertEquals(1, readLines(file).size(),
+                   "Unexpected number of lines in the current file");
+      assertTrue(readLines(file).get(0).contains("message-6"),
+                 "Current file does not have the last message");
+
+      // reopening continues the sequence numbers
+      endpoint = new FileEndpoint(file, 40L, 2);
+      endpoint.send(new SzMessage("message-7"), null);
+      endpoint.close();
+      segments = endpoint.getRolledSegments();
+      for (File segment : segments) segment.deleteOnExit();
+      assertTrue(segments.get(1).getName().endsWith(".000004"),
+                 "Sequence not continued after reopening: " + segments);
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void rollFailureTest() {
+    try {
+      File dir  = createTempDirectory();
+      File file = new File(dir, "info.jsonl");
+      file.deleteOnExit();
+
+      // a non-empty directory in place of the first segment fails the roll
+      FileEndpoint endpoint = new FileEndpoint(file, 40L, 2);
+      File blocker = new File(dir, "info.jsonl.000001");
+      File child   = new File(blocker, "child");
+      blocker.mkdir();
+      child.createNewFile();
+      blocker.deleteOnExit();
+      child.deleteOnExit();
+
+      List<SzMessage> failed = new ArrayList<>();
+      for (int index = 0; index < 4; index++) {
+        endpoint.send(List.of(new SzMessage("message-" + index)),
+                      (e, message) -> failed.add(message));
+      }
+      endpoint.close();
+
+      assertEquals(0, failed.size(),
+                   "Written messages reported as failed: " + failed);
+      List<String> lines = readLines(file);
+      assertEquals(4, lines.size(), "Unexpected number of lines: " + lines);
+      for (int index = 0; index < 4; index++) {
+        assertTrue(lines.get(index).contains("message-" + index),
+                   "Unexpected line: " + lines.get(index));
+      }
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package com.senzing.api.server.mq;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.senzing.io.IOUtilities.UTF_8;
+
+/**
+ * Tests for {@link FileSource}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class FileSourceTest {
+  /**
+   * Creates a temporary file that is deleted on exit along with its
+   * checkpoint file.
+   */
+  private static File createTempFile() throws IOException {
+    File file = File.createTempFile("file-source-", ".jsonl");
+    file.deleteOnExit();
+    new File(file.getPath() + FileSource.CHECKPOINT_SUFFIX).deleteOnExit();
+    return file;
+  }
+
+  /**
+   * Appends the specified lines to the specified file.
+   */
+  private static void append(File file, String... lines) throws IOException {
+    try (FileOutputStream fos = new FileOutputStream(file, true)) {
+      for (String line : lines) {
+        fos.write((line + "\n").getBytes(UTF_8));
+      }
+    }
+  }
+
+  /**
+   * Gets the bodies of the specified messages.
+   */
+  private static List<String> getBodies(List<SzReceivedMessage> messages) {
+    List<String> bodies = new ArrayList<>(messages.size());
+    for (SzReceivedMessage message : messages) {
+      bodies.add(message.getBody());
+    }
+    return bodies;
+  }
+
+  @Test
+  public void receiveTest() {
+    try {
+      File file = createTempFile();
+      append(file, "A", "", "B", "C");
+
+      try (FileSource source = new FileSource(file)) {
+        List<SzReceivedMessage> messages = source.receive(2, 0L);
+        assertEquals(List.of("A", "B"), getBodies(messages),
+                     "Unexpected first batch");
+        messages = source.receive(10, 0L);
+        assertEquals(List.of("C"), getBodies(messages),
+                     "Unexpected second batch");
+        messages = source.receive(10, 200L);
+        assertEquals(0, messages.size(), "Unexpected messages at end of file");
+
+        // append a line and check that it is tailed
+        append(file, "D");
+        messages = source.receive(10, 1000L);
+        assertEquals(List.of("D"), getBodies(messages),
+                     "Appended line was not received");
+      }
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void checkpointTest() {
+    try {
+      File file = createTempFile();
+      append(file, "A", "B", "C", "D");
+
+      try (FileSource source = new FileSource(file)) {
+        List<SzReceivedMessage> messages = source.receive(10, 0L);
+        assertEquals(4, messages.size(), "Unexpected number of messages");
+
+        // settle out of order so only the first two are a settled prefix
+        messages.get(1).acknowledge();
+        messages.get(3).reject();
+        assertEquals(0L, source.getCommittedOffset(),
+                     "Offset committed before the next receive");
+        messages.get(0).acknowledge();
+        source.receive(10, 0L);
+        assertEquals(4L, source.getCommittedOffset(),
+                     "Offset not committed over the settled prefix");
+      }
+
+      // reopen and check that the unsettled lines are received again
+      try (FileSource source = new FileSource(file)) {
+        assertEquals(4L, source.getCommittedOffset(),
+                     "Checkpoint not restored");
+        List<SzReceivedMessage> messages = source.receive(10, 0L);
+        assertEquals(List.of("C", "D"), getBodies(messages),
+                     "Unexpected messages after reopening");
+        for (SzReceivedMessage message : messages) {
+          message.acknowledge();
+        }
+      }
+
+      // reopen and check that everything was consumed
+      try (FileSource source = new FileSource(file)) {
+        assertEquals(file.length(), source.getCommittedOffset(),
+                     "Checkpoint not written on close");
+        assertEquals(0, source.receive(10, 0L).size(),
+                     "Unexpected messages after all were settled");
+      }
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void closedTest() {
+    try {
+      File file = createTempFile();
+      FileSource source = new FileSource(file);
+      source.close();
+      assertTrue(source.isClosed(), "Source not marked closed");
+      assertThrows(IllegalStateException.class,
+                   () -> source.receive(1, 0L));
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+}
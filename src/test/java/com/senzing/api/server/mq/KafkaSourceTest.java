@@ -0,0 +1,153 @@
+package com.senzing.api.server.mq;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link KafkaSource}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class KafkaSourceTest {
+  private static final String TOPIC = "senzing-load";
+
+  /**
+   * Gets the committed offset for the specified partition, or <tt>null</tt>
+   * if none has been committed.
+   */
+  private static Long committed(MockConsumer<String, String>  consumer,
+                                TopicPartition                partition)
+  {
+    OffsetAndMetadata offset
+        = consumer.committed(Set.of(partition)).get(partition);
+    return (offset == null) ? null : offset.offset();
+  }
+
+  @Test
+  public void contiguousCommitTest() {
+    try {
+      TopicPartition partition = new TopicPartition(TOPIC, 0);
+      MockConsumer<String, String> consumer
+          = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+      KafkaSource source = new KafkaSource(TOPIC, consumer);
+      consumer.rebalance(List.of(partition));
+      consumer.updateBeginningOffsets(Map.of(partition, 0L));
+      for (long offset = 0L; offset < 4L; offset++) {
+        consumer.addRecord(new ConsumerRecord<>(
+            TOPIC, 0, offset, null, "message-" + offset));
+      }
+
+      List<SzReceivedMessage> messages = source.receive(10, 100L);
+      assertEquals(4, messages.size(), "Unexpected message count");
+      assertNull(committed(consumer, partition),
+                 "Offset committed before any message was settled");
+
+      // settling out of order only commits the settled prefix
+      messages.get(0).acknowledge();
+      messages.get(2).acknowledge();
+      messages.get(3).reject();
+      source.receive(10, 10L);
+      assertEquals(1L, committed(consumer, partition),
+                   "Commit passed an unsettled message");
+
+      messages.get(1).acknowledge();
+      source.receive(10, 10L);
+      assertEquals(4L, committed(consumer, partition),
+                   "Settled prefix not committed");
+
+      source.close();
+      assertTrue(source.isClosed(), "Source not closed");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void closeCommitTest() {
+    try {
+      TopicPartition partition = new TopicPartition(TOPIC, 1);
+      Map<TopicPartition, OffsetAndMetadata> closeOffsets = new HashMap<>();
+      MockConsumer<String, String> consumer
+          = new MockConsumer<>(OffsetResetStrategy.EARLIEST) {
+        @Override
+        public synchronized void close() {
+          closeOffsets.putAll(this.committed(Set.of(partition)));
+          super.close();
+        }
+      };
+      KafkaSource source = new KafkaSource(TOPIC, consumer);
+      consumer.rebalance(List.of(partition));
+      consumer.updateBeginningOffsets(Map.of(partition, 5L));
+      consumer.addRecord(new ConsumerRecord<>(TOPIC, 1, 5L, null, "A"));
+      consumer.addRecord(new ConsumerRecord<>(TOPIC, 1, 6L, null, "B"));
+
+      List<SzReceivedMessage> messages = source.receive(10, 100L);
+      assertEquals(2, messages.size(), "Unexpected message count");
+      messages.get(0).acknowledge();
+
+      // closing commits the settled prefix, leaving the rest in flight
+      source.close();
+      assertTrue(consumer.closed(), "Consumer not closed");
+      assertEquals(6L, closeOffsets.get(partition).offset(),
+                   "Settled prefix not committed on close");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void pauseTest() {
+    try {
+      TopicPartition partition = new TopicPartition(TOPIC, 2);
+      MockConsumer<String, String> consumer
+          = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+      KafkaSource source = new KafkaSource(TOPIC, consumer);
+      consumer.rebalance(List.of(partition));
+      consumer.updateBeginningOffsets(Map.of(partition, 0L));
+      consumer.addRecord(new ConsumerRecord<>(TOPIC, 2, 0L, null, "A"));
+      consumer.addRecord(new ConsumerRecord<>(TOPIC, 2, 1L, null, "B"));
+
+      List<SzReceivedMessage> messages = source.receive(10, 100L);
+      assertEquals(2, messages.size(), "Unexpected message count");
+      assertTrue(source.pause(messages.get(0)), "Pausing not supported");
+      assertTrue(source.pause(messages.get(1)), "Pausing not supported");
+      assertEquals(Set.of(partition), consumer.paused(),
+                   "Partition not paused");
+
+      // polling continues while paused without receiving from the partition
+      consumer.addRecord(new ConsumerRecord<>(TOPIC, 2, 2L, null, "C"));
+      assertEquals(0, source.receive(10, 10L).size(),
+                   "Received from a paused partition");
+
+      // resumed only once resumed for each message it was paused for
+      source.resume(messages.get(0));
+      assertEquals(Set.of(partition), consumer.paused(),
+                   "Partition resumed early");
+      source.resume(messages.get(1));
+      assertEquals(Set.of(), consumer.paused(), "Partition not resumed");
+      assertEquals(1, source.receive(10, 10L).size(),
+                   "Not received after resuming");
+
+      source.close();
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+}
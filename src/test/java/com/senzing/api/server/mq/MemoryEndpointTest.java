@@ -0,0 +1,134 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.services.SzMessage;
+import com.senzing.api.services.SzMessageSink;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MemoryEndpoint}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class MemoryEndpointTest {
+  /**
+   * Gets the bodies of the specified messages.
+   */
+  private static List<String> getBodies(List<SzMessage> messages) {
+    List<String> bodies = new ArrayList<>(messages.size());
+    for (SzMessage message : messages) {
+      bodies.add(message.getBody());
+    }
+    return bodies;
+  }
+
+  @Test
+  public void urlTest() {
+    try {
+      SzMessagingEndpoint endpoint = SzMessagingEndpointFactory.createEndpoint(
+          "mem://url-test?capacity=5", 1);
+      assertTrue(endpoint instanceof MemoryEndpoint,
+                 "Unexpected endpoint type: " + endpoint.getClass());
+      MemoryEndpoint memEndpoint = (MemoryEndpoint) endpoint;
+      assertEquals("url-test", memEndpoint.getName(), "Unexpected name");
+      assertEquals(5, memEndpoint.getCapacity(), "Unexpected capacity");
+      assertSame(memEndpoint, MemoryEndpoint.getInstance("url-test"),
+                 "Endpoint not registered by name");
+
+      // a second open endpoint with the same name is not allowed
+      assertThrows(IllegalStateException.class,
+                   () -> SzMessagingEndpointFactory.createEndpoint(
+                       "mem://url-test", 1));
+
+      endpoint.close();
+      assertNull(MemoryEndpoint.getInstance("url-test"),
+                 "Endpoint still registered after close");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void queueTest() {
+    try {
+      MemoryEndpoint endpoint = new MemoryEndpoint("queue-test", 3);
+      SzMessageSink sink = endpoint.acquireMessageSink();
+      List<SzMessage> failed = new ArrayList<>();
+      try {
+        sink.send(new SzMessage("A"), null);
+        sink.send(List.of(new SzMessage("B"), new SzMessage("C"),
+                          new SzMessage("D")),
+                  (e, message) -> failed.add(message));
+      } finally {
+        endpoint.releaseMessageSink(sink);
+      }
+      assertEquals(List.of("D"), getBodies(failed),
+                   "Message beyond the capacity was not failed");
+      assertEquals(3, endpoint.getQueuedCount(), "Unexpected queued count");
+      assertEquals(3L, endpoint.getSentCount(), "Unexpected sent count");
+      assertEquals(1L, endpoint.getRejectedCount(),
+                   "Unexpected rejected count");
+      assertEquals(2L, endpoint.getSendLatency().getCount(),
+                   "Unexpected number of recorded send latencies");
+
+      List<SzMessage> drained = new ArrayList<>();
+      assertEquals(2, endpoint.drainTo(drained, 2), "Unexpected drain count");
+      assertEquals(List.of("A", "B"), getBodies(drained),
+                   "Messages not drained in order");
+      assertEquals("C", endpoint.poll().getBody(), "Unexpected polled message");
+      assertNull(endpoint.poll(), "Queue not empty");
+
+      // once drained there is room again
+      endpoint.send(new SzMessage("E"), null);
+      assertEquals(1, endpoint.getQueuedCount(), "Unexpected queued count");
+
+      endpoint.close();
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void consumerTest() {
+    try {
+      MemoryEndpoint endpoint = new MemoryEndpoint("consumer-test", 1);
+      List<SzMessage> consumed = Collections.synchronizedList(
+          new ArrayList<>());
+      endpoint.setConsumer(message -> {
+        if (message.getBody().equals("bad")) {
+          throw new IllegalArgumentException("Bad message");
+        }
+        consumed.add(message);
+      });
+
+      List<SzMessage> failed = new ArrayList<>();
+      endpoint.send(List.of(new SzMessage("A"), new SzMessage("bad"),
+                            new SzMessage("B")),
+                    (e, message) -> failed.add(message));
+      assertEquals(List.of("A", "B"), getBodies(consumed),
+                   "Messages not handed to the consumer");
+      assertEquals(List.of("bad"), getBodies(failed),
+                   "Consumer failure not reported");
+      assertEquals(0, endpoint.getQueuedCount(), "Messages were queued");
+
+      assertThrows(IllegalArgumentException.class,
+                   () -> endpoint.send(new SzMessage("bad"), null));
+
+      endpoint.close();
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+}
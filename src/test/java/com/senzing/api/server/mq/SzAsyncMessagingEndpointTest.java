@@ -0,0 +1,173 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.model.SzFullBufferPolicy;
+import com.senzing.api.services.SzMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SzAsyncMessagingEndpoint}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class SzAsyncMessagingEndpointTest {
+  /**
+   * Provides a {@link SzMessagingEndpoint} that records the batches it is
+   * asked to send, optionally failing the first attempt for each message
+   * and optionally blocking until released.
+   */
+  private static class RecordingEndpoint extends SzAbstractMessagingEndpoint {
+    private final List<List<String>>  batches   = new ArrayList<>();
+    private final Set<String>         attempted = new HashSet<>();
+    private final boolean             failFirst;
+    private final CountDownLatch      entered   = new CountDownLatch(1);
+    private final CountDownLatch      release;
+
+    private RecordingEndpoint(boolean failFirst, CountDownLatch release) {
+      this.failFirst  = failFirst;
+      this.release    = release;
+    }
+
+    @Override
+    public void send(SzMessage message, FailureHandler onFailure)
+        throws Exception
+    {
+      this.send(List.of(message), onFailure);
+    }
+
+    @Override
+    public void send(List<SzMessage> messages, FailureHandler onFailure)
+        throws Exception
+    {
+      this.entered.countDown();
+      if (this.release != null) this.release.await();
+      List<String> batch = new ArrayList<>(messages.size());
+      for (SzMessage message : messages) {
+        synchronized (this) {
+          if (this.failFirst && this.attempted.add(message.getBody())) {
+            onFailure.handle(new Exception("first attempt"), message);
+            continue;
+          }
+        }
+        batch.add(message.getBody());
+      }
+      synchronized (this) {
+        this.batches.add(batch);
+      }
+    }
+
+    private synchronized List<String> getSent() {
+      List<String> sent = new ArrayList<>();
+      for (List<String> batch : this.batches) {
+        sent.addAll(batch);
+      }
+      return sent;
+    }
+
+    @Override
+    protected void doClose() {
+      // do nothing
+    }
+  }
+
+  /**
+   * Creates the list of message bodies for the specified count.
+   */
+  private static List<String> bodies(int count) {
+    List<String> result = new ArrayList<>(count);
+    for (int index = 0; index < count; index++) {
+      result.add("message-" + index);
+    }
+    return result;
+  }
+
+  @Test
+  public void batchingTest() throws Exception {
+    CountDownLatch    release   = new CountDownLatch(1);
+    RecordingEndpoint delegate  = new RecordingEndpoint(false, release);
+    SzAsyncMessagingEndpoint endpoint = new SzAsyncMessagingEndpoint(
+        delegate, 1000, SzFullBufferPolicy.BLOCK);
+
+    List<String> expected = bodies(250);
+    for (String body : expected) {
+      endpoint.send(new SzMessage(body), null);
+    }
+    release.countDown();
+    endpoint.close();
+
+    assertEquals(expected, delegate.getSent(),
+                 "The messages were not sent in order");
+    assertTrue(delegate.batches.size() < expected.size(),
+               "The messages were not batched: " + delegate.batches.size());
+    assertEquals(expected.size(), endpoint.getSentCount(),
+                 "Unexpected sent count");
+    assertEquals(0L, endpoint.getBacklogCount(), "Unexpected backlog");
+    assertEquals(0L, endpoint.getFailedCount(), "Unexpected failed count");
+    assertTrue(delegate.isClosed(), "The delegate endpoint was not closed");
+  }
+
+  @Test
+  public void retryTest() throws Exception {
+    RecordingEndpoint delegate  = new RecordingEndpoint(true, null);
+    SzAsyncMessagingEndpoint endpoint = new SzAsyncMessagingEndpoint(
+        delegate, 100, SzFullBufferPolicy.BLOCK);
+
+    List<String> expected = bodies(5);
+    List<SzMessage> failed = Collections.synchronizedList(new ArrayList<>());
+    for (String body : expected) {
+      endpoint.send(new SzMessage(body), (e, m) -> failed.add(m));
+    }
+    endpoint.close();
+
+    assertEquals(new TreeSet<>(expected), new TreeSet<>(delegate.getSent()),
+                 "The failed messages were not retried");
+    assertEquals(0, failed.size(), "Retried messages were reported failed");
+    assertEquals(expected.size(), endpoint.getRetriedCount(),
+                 "Unexpected retried count");
+    assertEquals(expected.size(), endpoint.getSentCount(),
+                 "Unexpected sent count");
+  }
+
+  @Test
+  public void dropNewestTest() throws Exception {
+    CountDownLatch    release   = new CountDownLatch(1);
+    RecordingEndpoint delegate  = new RecordingEndpoint(false, release);
+    SzAsyncMessagingEndpoint endpoint = new SzAsyncMessagingEndpoint(
+        delegate, 2, SzFullBufferPolicy.DROP_NEWEST);
+
+    List<SzMessage> dropped = Collections.synchronizedList(new ArrayList<>());
+    try {
+      // the first message is taken by the publisher which then blocks
+      endpoint.send(new SzMessage("first"), (e, m) -> dropped.add(m));
+      delegate.entered.await();
+
+      // fill the buffer and then overflow it
+      for (String body : List.of("second", "third", "fourth")) {
+        endpoint.send(new SzMessage(body), (e, m) -> dropped.add(m));
+      }
+      assertEquals(1, dropped.size(), "Unexpected number of dropped messages");
+      assertEquals("fourth", dropped.get(0).getBody(),
+                   "The newest message was not the one dropped");
+      assertEquals(1L, endpoint.getDroppedCount(), "Unexpected dropped count");
+      assertEquals(3L, endpoint.getBacklogCount(), "Unexpected backlog");
+
+      // without a handler the dropped message fails the send
+      assertThrows(Exception.class,
+                   () -> endpoint.send(new SzMessage("fifth"), null));
+
+    } finally {
+      release.countDown();
+      endpoint.close();
+    }
+
+    assertEquals(List.of("first", "second", "third"), delegate.getSent(),
+                 "Unexpected messages sent");
+  }
+}
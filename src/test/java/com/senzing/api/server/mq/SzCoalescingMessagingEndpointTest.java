@@ -0,0 +1,374 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.model.SzFlaggedEntity;
+import com.senzing.api.model.SzResolutionInfo;
+import com.senzing.api.services.SzMessage;
+import com.senzing.util.JsonUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import javax.json.JsonObject;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.*;
+
+import static com.senzing.api.model.SzInfoCoalescingMode.*;
+import static com.senzing.api.server.mq.SzCoalescingMessagingEndpoint.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SzCoalescingMessagingEndpoint}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class SzCoalescingMessagingEndpointTest {
+  /**
+   * Creates an info message with the specified affected entity IDs.
+   */
+  private static SzMessage infoMessage(long... entityIds) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{\"DATA_SOURCE\":\"TEST\",\"RECORD_ID\":\"R\","
+              + "\"AFFECTED_ENTITIES\":[");
+    String prefix = "";
+    for (long entityId : entityIds) {
+      sb.append(prefix).append("{\"ENTITY_ID\":").append(entityId).append("}");
+      prefix = ",";
+    }
+    sb.append("]}");
+    return new SzMessage(sb.toString());
+  }
+
+  /**
+   * Creates an info message with the specified affected entity ID that is
+   * also flagged with the specified degrees and flag.
+   */
+  private static SzMessage flaggedMessage(long entityId, int degrees,
+                                          String flag)
+  {
+    return new SzMessage(
+        "{\"AFFECTED_ENTITIES\":[{\"ENTITY_ID\":" + entityId + "}],"
+        + "\"INTERESTING_ENTITIES\":[{\"ENTITY_ID\":" + entityId
+        + ",\"DEGREES\":" + degrees + ",\"FLAGS\":[\"" + flag + "\"]}]}");
+  }
+
+  /**
+   * Polls the specified {@link MemoryEndpoint} until a message is available
+   * or the timeout expires.
+   */
+  private static SzMessage pollWait(MemoryEndpoint endpoint, long timeout)
+      throws InterruptedException
+  {
+    long end = System.currentTimeMillis() + timeout;
+    SzMessage message = endpoint.poll();
+    while (message == null && System.currentTimeMillis() < end) {
+      Thread.sleep(10L);
+      message = endpoint.poll();
+    }
+    return message;
+  }
+
+  /**
+   * Creates a {@link MemoryEndpoint} with the specified name that rejects
+   * the compacted messages.
+   */
+  private static MemoryEndpoint rejectingEndpoint(String name) {
+    MemoryEndpoint endpoint = new MemoryEndpoint(name, 10);
+    endpoint.setConsumer(message -> {
+      if (message.getProperty(COALESCED_PROPERTY) != null) {
+        throw new IllegalStateException("Compacted message rejected");
+      }
+    });
+    return endpoint;
+  }
+
+  @Test
+  public void constructTest() {
+    MemoryEndpoint target = new MemoryEndpoint("coalesce-construct", 10);
+    assertThrows(IllegalArgumentException.class,
+                 () -> new SzCoalescingMessagingEndpoint(target, 0L, 0, null));
+    assertThrows(IllegalArgumentException.class,
+                 () -> new SzCoalescingMessagingEndpoint(target, -1L, 5, null));
+    assertThrows(NullPointerException.class,
+                 () -> new SzCoalescingMessagingEndpoint(null, 0L, 5, null));
+    try {
+      SzCoalescingMessagingEndpoint endpoint
+          = new SzCoalescingMessagingEndpoint(target, 0L, 5, null);
+      assertEquals(DEFAULT_MODE, endpoint.getMode(), "Unexpected mode");
+      endpoint.close();
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void countWindowTest() {
+    try {
+      MemoryEndpoint target = new MemoryEndpoint("coalesce-count", 10);
+      SzCoalescingMessagingEndpoint endpoint
+          = new SzCoalescingMessagingEndpoint(target, 0L, 3, INSTEAD);
+
+      endpoint.send(infoMessage(1L, 2L), null);
+      endpoint.send(new SzMessage("not an info message"), null);
+      endpoint.send(List.of(flaggedMessage(2L, 2, "FLAG_A"),
+                            flaggedMessage(2L, 1, "FLAG_B")), null);
+
+      assertEquals("not an info message", target.poll().getBody(),
+                   "Unparseable message not passed through");
+      SzMessage compacted = target.poll();
+      assertNotNull(compacted, "Compacted message not sent");
+      assertNull(target.poll(), "Raw messages sent in place of compacted");
+      assertEquals("true", compacted.getProperty(COALESCED_PROPERTY),
+                   "Compacted message not marked as coalesced");
+
+      JsonObject jsonObject = JsonUtils.parseJsonObject(compacted.getBody());
+      SzResolutionInfo info
+          = SzResolutionInfo.parseResolutionInfo(null, jsonObject);
+      assertEquals(new LinkedHashSet<>(List.of(1L, 2L)),
+                   info.getAffectedEntities(),
+                   "Affected entities not deduplicated");
+      assertEquals(3, (int) JsonUtils.getInteger(jsonObject,
+                                                 MESSAGE_COUNT_KEY),
+                   "Unexpected coalesced message count");
+
+      List<SzFlaggedEntity> flagged = info.getFlaggedEntities();
+      assertEquals(1, flagged.size(), "Flagged entities not deduplicated");
+      assertEquals(2L, (long) flagged.get(0).getEntityId(),
+                   "Unexpected flagged entity");
+      assertEquals(1, (int) flagged.get(0).getDegrees(),
+                   "Least degrees not retained");
+      assertEquals(Set.of("FLAG_A", "FLAG_B"), flagged.get(0).getFlags(),
+                   "Flags not unioned");
+
+      assertEquals(3L, endpoint.getCoalescedCount(),
+                   "Unexpected coalesced count");
+      assertEquals(1L, endpoint.getCompactedCount(),
+                   "Unexpected compacted count");
+      assertEquals(1L, endpoint.getPassedThroughCount(),
+                   "Unexpected passed through count");
+
+      endpoint.close();
+      assertNull(target.poll(), "Empty window sent on close");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void timedWindowTest() {
+    try {
+      MemoryEndpoint target = new MemoryEndpoint("coalesce-timed", 10);
+      SzCoalescingMessagingEndpoint endpoint
+          = new SzCoalescingMessagingEndpoint(target, 100L, 0, ALONGSIDE);
+
+      endpoint.send(infoMessage(5L), null);
+      endpoint.send(infoMessage(5L, 6L), null);
+      assertEquals(2, target.getQueuedCount(),
+                   "Raw messages not sent alongside");
+      target.poll();
+      target.poll();
+
+      SzMessage compacted = pollWait(target, 5000L);
+      assertNotNull(compacted, "Timed window not closed");
+      SzResolutionInfo info = SzResolutionInfo.parseResolutionInfo(
+          null, JsonUtils.parseJsonObject(compacted.getBody()));
+      assertEquals(new LinkedHashSet<>(List.of(5L, 6L)),
+                   info.getAffectedEntities(),
+                   "Unexpected affected entities");
+
+      // the next message opens a new window
+      endpoint.send(infoMessage(7L), null);
+      target.poll();
+      compacted = pollWait(target, 5000L);
+      assertNotNull(compacted, "Second timed window not closed");
+      info = SzResolutionInfo.parseResolutionInfo(
+          null, JsonUtils.parseJsonObject(compacted.getBody()));
+      assertEquals(Set.of(7L), info.getAffectedEntities(),
+                   "Previous window entities carried over");
+
+      endpoint.close();
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void closeTest() {
+    try {
+      MemoryEndpoint target = new MemoryEndpoint("coalesce-close", 10);
+      SzCoalescingMessagingEndpoint endpoint
+          = new SzCoalescingMessagingEndpoint(target, 60000L, 100, INSTEAD);
+
+      endpoint.send(infoMessage(1L), null);
+      endpoint.send(infoMessage(2L), null);
+      assertEquals(0, target.getQueuedCount(), "Window closed early");
+
+      endpoint.close();
+      SzMessage compacted = target.poll();
+      assertNotNull(compacted, "Window not sent on close");
+      SzResolutionInfo info = SzResolutionInfo.parseResolutionInfo(
+          null, JsonUtils.parseJsonObject(compacted.getBody()));
+      assertEquals(new LinkedHashSet<>(List.of(1L, 2L)),
+                   info.getAffectedEntities(),
+                   "Unexpected affected entities");
+      assertNull(MemoryEndpoint.getInstance("coalesce-close"),
+                 "Decorated endpoint not closed");
+
+      assertThrows(IllegalStateException.class,
+                   () -> endpoint.send(infoMessage(3L), null));
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void failureTest() {
+    try {
+      MemoryEndpoint target = new MemoryEndpoint("coalesce-failure", 10);
+      target.setConsumer(message -> {
+        if (message.getProperty(COALESCED_PROPERTY) != null) {
+          throw new IllegalStateException("Compacted message rejected");
+        }
+      });
+      SzCoalescingMessagingEndpoint endpoint
+          = new SzCoalescingMessagingEndpoint(target, 0L, 2, INSTEAD);
+
+      SzMessage first   = infoMessage(1L);
+      SzMessage second  = infoMessage(2L);
+      List<SzMessage> failed = Collections.synchronizedList(
+          new ArrayList<>());
+      endpoint.send(first, (e, message) -> failed.add(message));
+      endpoint.send(second, (e, message) -> failed.add(message));
+
+      assertEquals(2, failed.size(),
+                   "Failure not handed to each coalesced message");
+      assertSame(first, failed.get(0), "Unexpected first failed message");
+      assertSame(second, failed.get(1), "Unexpected second failed message");
+      assertEquals(1L, endpoint.getFailedCount(), "Unexpected failed count");
+      assertEquals(0L, endpoint.getCompactedCount(),
+                   "Failed compacted message counted as sent");
+
+      endpoint.close();
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void asyncFailureTest() {
+    try {
+      // the compacted message fails after the buffer accepted it
+      MemoryEndpoint target = rejectingEndpoint("coalesce-async-failure");
+      SzAsyncMessagingEndpoint async
+          = new SzAsyncMessagingEndpoint(target, 10, null);
+      SzCoalescingMessagingEndpoint endpoint
+          = new SzCoalescingMessagingEndpoint(async, 0L, 2, INSTEAD);
+
+      SzMessage first   = infoMessage(1L);
+      SzMessage second  = infoMessage(2L);
+      List<SzMessage> failed = Collections.synchronizedList(
+          new ArrayList<>());
+      endpoint.send(first, (e, message) -> failed.add(message));
+      endpoint.send(second, (e, message) -> failed.add(message));
+
+      long end = System.currentTimeMillis() + 20000L;
+      while (failed.size() < 2 && System.currentTimeMillis() < end) {
+        Thread.sleep(50L);
+      }
+      assertEquals(List.of(first, second), failed,
+                   "Late failure not handed to each coalesced message");
+      assertEquals(1L, async.getFailedCount(),
+                   "Compacted message not failed by the buffer");
+      assertEquals(1L, endpoint.getFailedCount(), "Unexpected failed count");
+      assertEquals(0L, endpoint.getCompactedCount(),
+                   "Failed compacted message counted as sent");
+
+      endpoint.close();
+      assertEquals(2, failed.size(), "Failure handled more than once");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void spoolTest() {
+    File directory = null;
+    try {
+      directory = Files.createTempDirectory("coalesce-spool-").toFile();
+
+      // the compacted message is spooled while the broker rejects it
+      MemoryEndpoint down = rejectingEndpoint("coalesce-spool-down");
+      SzSpoolingMessagingEndpoint spool
+          = new SzSpoolingMessagingEndpoint(down, directory, 0L);
+      SzCoalescingMessagingEndpoint endpoint
+          = new SzCoalescingMessagingEndpoint(spool, 0L, 2, INSTEAD);
+
+      List<SzMessage> failed = Collections.synchronizedList(
+          new ArrayList<>());
+      endpoint.send(infoMessage(1L), (e, message) -> failed.add(message));
+      endpoint.send(infoMessage(2L), (e, message) -> failed.add(message));
+      Thread.sleep(700L);
+
+      assertEquals(1L, spool.getSpooledCount(),
+                   "Compacted message not spooled");
+      assertTrue(spool.getRetriedCount() > 0L,
+                 "Compacted message not retried by the forwarder");
+      assertEquals(1L, spool.getBacklogCount(),
+                   "Compacted message not kept in the spool");
+      assertEquals(1L, endpoint.getCompactedCount(),
+                   "Spooled compacted message not counted");
+      assertEquals(0, failed.size(), "Spooled message handled as failed");
+      endpoint.close();
+
+      boolean segmentKept = false;
+      for (File file : directory.listFiles()) {
+        if (file.getName().endsWith(".spool") && file.length() > 0L) {
+          segmentKept = true;
+        }
+      }
+      assertTrue(segmentKept, "Spool segment not kept");
+
+      // the compacted message is forwarded once the spool is reopened
+      MemoryEndpoint up = new MemoryEndpoint("coalesce-spool-up", 10);
+      spool = new SzSpoolingMessagingEndpoint(up, directory);
+      assertEquals(1L, spool.getRecoveredCount(),
+                   "Compacted message not recovered");
+      SzMessage compacted = pollWait(up, 10000L);
+      spool.close();
+
+      assertNotNull(compacted, "Recovered message not forwarded");
+      assertEquals("true", compacted.getProperty(COALESCED_PROPERTY),
+                   "Compacted message not forwarded");
+      SzResolutionInfo info = SzResolutionInfo.parseResolutionInfo(
+          null, JsonUtils.parseJsonObject(compacted.getBody()));
+      assertEquals(new LinkedHashSet<>(List.of(1L, 2L)),
+                   info.getAffectedEntities(),
+                   "Unexpected affected entities");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+
+    } finally {
+      if (directory != null) {
+        for (File file : directory.listFiles()) {
+          file.delete();
+        }
+        directory.delete();
+      }
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package com.senzing.api.server.mq;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SzLatencyHistogram}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class SzLatencyHistogramTest {
+  @Test
+  public void emptyTest() {
+    SzLatencyHistogram histogram = new SzLatencyHistogram();
+    assertEquals(0L, histogram.getCount(), "Unexpected count");
+    assertEquals(0.0, histogram.getMean(), "Unexpected mean");
+    assertEquals(0L, histogram.getMax(), "Unexpected max");
+    assertEquals(0L, histogram.getPercentile(99.0), "Unexpected percentile");
+  }
+
+  @Test
+  public void percentileTest() {
+    SzLatencyHistogram histogram = new SzLatencyHistogram();
+    for (long value = 1L; value <= 1000L; value++) {
+      histogram.record(value * 1000L);
+    }
+    assertEquals(1000L, histogram.getCount(), "Unexpected count");
+    assertEquals(500500.0, histogram.getMean(), 0.001, "Unexpected mean");
+    assertEquals(1000000L, histogram.getMax(), "Unexpected max");
+
+    // each percentile is within the bucket precision of the exact value
+    for (double percentile : new double[] { 50.0, 90.0, 99.0, 99.9 }) {
+      long exact  = (long) Math.ceil(percentile * 10.0) * 1000L;
+      long actual = histogram.getPercentile(percentile);
+      assertTrue(actual >= exact,
+                 "Percentile " + percentile + " below exact value: "
+                     + actual + " < " + exact);
+      assertTrue(actual <= exact * 1.125,
+                 "Percentile " + percentile + " too imprecise: "
+                     + actual + " vs " + exact);
+    }
+    assertEquals(1000000L, histogram.getPercentile(100.0),
+                 "Maximum percentile not capped at the max");
+
+    assertThrows(IllegalArgumentException.class,
+                 () -> histogram.getPercentile(100.1));
+
+    histogram.reset();
+    assertEquals(0L, histogram.getCount(), "Count not reset");
+    assertEquals(0L, histogram.getMax(), "Max not reset");
+  }
+
+  @Test
+  public void smallAndLargeValueTest() {
+    SzLatencyHistogram histogram = new SzLatencyHistogram();
+    histogram.record(-5L);
+    histogram.record(3L);
+    histogram.record(Long.MAX_VALUE);
+    assertEquals(3L, histogram.getCount(), "Unexpected count");
+    assertEquals(0L, histogram.getPercentile(10.0),
+                 "Negative value not recorded as zero");
+    assertEquals(3L, histogram.getPercentile(50.0),
+                 "Small value not recorded exactly");
+    assertEquals(Long.MAX_VALUE, histogram.getPercentile(100.0),
+                 "Largest value not recorded");
+  }
+
+  @Test
+  public void concurrentTest() {
+    SzLatencyHistogram histogram = new SzLatencyHistogram();
+    int threadCount = 8;
+    int perThread   = 10000;
+    List<Thread> threads = new ArrayList<>(threadCount);
+    for (int index = 0; index < threadCount; index++) {
+      final long value = (index + 1) * 100L;
+      Thread thread = new Thread(() -> {
+        for (int count = 0; count < perThread; count++) {
+          histogram.record(value);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        fail("Interrupted while joining: " + e);
+      }
+    }
+    assertEquals(threadCount * perThread, histogram.getCount(),
+                 "Recorded values were lost");
+    assertEquals(threadCount * 100L, histogram.getMax(), "Unexpected max");
+  }
+}
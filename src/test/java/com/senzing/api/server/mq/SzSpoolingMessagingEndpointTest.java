@@ -0,0 +1,252 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.services.SzMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SzSpoolingMessagingEndpoint}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class SzSpoolingMessagingEndpointTest {
+  /**
+   * Provides a {@link SzMessagingEndpoint} that records the messages it is
+   * asked to send and fails them while marked unavailable.
+   */
+  private static class BrokerEndpoint extends SzAbstractMessagingEndpoint {
+    private final List<SzMessage> received = new ArrayList<>();
+    private boolean available;
+
+    private BrokerEndpoint(boolean available) {
+      this.available = available;
+    }
+
+    private synchronized void setAvailable(boolean available) {
+      this.available = available;
+    }
+
+    private synchronized List<String> getBodies() {
+      List<String> bodies = new ArrayList<>(this.received.size());
+      for (SzMessage message : this.received) {
+        bodies.add(message.getBody());
+      }
+      return bodies;
+    }
+
+    @Override
+    public void send(SzMessage message, FailureHandler onFailure)
+        throws Exception
+    {
+      this.send(List.of(message), onFailure);
+    }
+
+    @Override
+    public synchronized void send(List<SzMessage>  messages,
+                                  FailureHandler   onFailure)
+        throws Exception
+    {
+      for (SzMessage message : messages) {
+        if (this.available) {
+          this.received.add(message);
+        } else {
+          onFailure.handle(new Exception("broker unavailable"), message);
+        }
+      }
+    }
+
+    @Override
+    protected void doClose() {
+      // do nothing
+    }
+  }
+
+  /**
+   * Creates the list of message bodies for the specified count.
+   */
+  private static List<String> bodies(int count) {
+    List<String> result = new ArrayList<>(count);
+    for (int index = 0; index < count; index++) {
+      result.add("{\"message\": " + index + "}");
+    }
+    return result;
+  }
+
+  /**
+   * Lists the spool segment files in the specified directory.
+   */
+  private static List<File> segmentFiles(File directory) {
+    List<File> result = new ArrayList<>();
+    for (File file : directory.listFiles()) {
+      if (file.getName().endsWith(".spool")) result.add(file);
+    }
+    Collections.sort(result);
+    return result;
+  }
+
+  /**
+   * Waits up to ten seconds for the specified endpoint to have received the
+   * specified number of messages.
+   */
+  private static void awaitReceived(BrokerEndpoint endpoint, int count)
+      throws InterruptedException
+  {
+    long end = System.currentTimeMillis() + 10000L;
+    while (endpoint.getBodies().size() < count
+           && System.currentTimeMillis() < end)
+    {
+      Thread.sleep(50L);
+    }
+  }
+
+  /**
+   * Deletes the specified directory and its files.
+   */
+  private static void deleteDirectory(File directory) {
+    for (File file : directory.listFiles()) {
+      file.delete();
+    }
+    directory.delete();
+  }
+
+  @Test
+  public void forwardTest() throws Exception {
+    File directory = Files.createTempDirectory("spool-").toFile();
+    try {
+      BrokerEndpoint broker = new BrokerEndpoint(true);
+      SzSpoolingMessagingEndpoint endpoint
+          = new SzSpoolingMessagingEndpoint(broker, directory);
+
+      // send from several threads so the writes are group-committed
+      List<String>  expected  = bodies(400);
+      List<Thread>  threads   = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        final List<String> part = expected.subList(t * 100, (t + 1) * 100);
+        Thread thread = new Thread(() -> {
+          for (String body : part) {
+            try {
+              endpoint.send(new SzMessage(body), null);
+            } catch (Exception e) {
+              throw new RuntimeException(e);
+            }
+          }
+        });
+        threads.add(thread);
+        thread.start();
+      }
+      for (Thread thread : threads) {
+        thread.join();
+      }
+      SzMessage withProps = new SzMessage("with-props");
+      withProps.setProperty("key", "value");
+      endpoint.send(withProps, null);
+
+      awaitReceived(broker, expected.size() + 1);
+      assertEquals(expected.size() + 1, endpoint.getSpooledCount(),
+                   "Unexpected spooled count");
+      endpoint.close();
+
+      List<String> received = broker.getBodies();
+      assertEquals(new TreeSet<>(expected),
+                   new TreeSet<>(received.subList(0, expected.size())),
+                   "The spooled messages were not all forwarded");
+      for (int t = 0; t < 4; t++) {
+        List<String> part = expected.subList(t * 100, (t + 1) * 100);
+        List<String> order = new ArrayList<>(received);
+        order.retainAll(part);
+        assertEquals(part, order, "Messages were reordered for thread " + t);
+      }
+      SzMessage last = broker.received.get(expected.size());
+      assertEquals("value", last.getProperty("key"),
+                   "The message properties were not preserved");
+      assertEquals(0L, endpoint.getBacklogCount(), "Unexpected backlog");
+      assertEquals(0L, endpoint.getBacklogBytes(), "Unexpected backlog bytes");
+      assertTrue(broker.isClosed(), "The decorated endpoint was not closed");
+
+    } finally {
+      deleteDirectory(directory);
+    }
+  }
+
+  @Test
+  public void outageTest() throws Exception {
+    File directory = Files.createTempDirectory("spool-").toFile();
+    try {
+      BrokerEndpoint broker = new BrokerEndpoint(false);
+      SzSpoolingMessagingEndpoint endpoint
+          = new SzSpoolingMessagingEndpoint(broker, directory);
+
+      List<String> expected = bodies(50);
+      for (String body : expected) {
+        endpoint.send(new SzMessage(body), null);
+      }
+      Thread.sleep(700L);
+      assertEquals(0, broker.getBodies().size(),
+                   "Messages were received while the broker was down");
+      assertEquals(expected.size(), endpoint.getBacklogCount(),
+                   "Unexpected backlog during the outage");
+      assertTrue(endpoint.getRetriedCount() > 0L,
+                 "The forwarder did not retry during the outage");
+
+      broker.setAvailable(true);
+      awaitReceived(broker, expected.size());
+      endpoint.close();
+
+      assertEquals(expected, broker.getBodies(),
+                   "The spooled messages were not forwarded in order");
+
+    } finally {
+      deleteDirectory(directory);
+    }
+  }
+
+  @Test
+  public void restartTest() throws Exception {
+    File directory = Files.createTempDirectory("spool-").toFile();
+    try {
+      // spool while the broker is down and close without draining
+      BrokerEndpoint down = new BrokerEndpoint(false);
+      SzSpoolingMessagingEndpoint endpoint
+          = new SzSpoolingMessagingEndpoint(down, directory, 0L);
+      List<String> expected = bodies(30);
+      for (String body : expected) {
+        endpoint.send(new SzMessage(body), null);
+      }
+      endpoint.close();
+      assertEquals(0, down.getBodies().size(),
+                   "Messages were received while the broker was down");
+
+      // simulate a crash in the middle of writing a record
+      List<File> segments = segmentFiles(directory);
+      File last = segments.get(segments.size() - 1);
+      try (FileOutputStream fos = new FileOutputStream(last, true)) {
+        fos.write(new byte[] { 0, 0, 0, 100, 1, 2, 3 });
+      }
+
+      // reopen with the broker up
+      BrokerEndpoint up = new BrokerEndpoint(true);
+      endpoint = new SzSpoolingMessagingEndpoint(up, directory);
+      assertEquals(expected.size(), endpoint.getRecoveredCount(),
+                   "Unexpected number of recovered messages");
+      awaitReceived(up, expected.size());
+      endpoint.close();
+
+      assertEquals(expected, up.getBodies(),
+                   "The recovered messages were not forwarded in order");
+      assertEquals(1, segmentFiles(directory).size(),
+                   "The forwarded segments were not deleted");
+
+    } finally {
+      deleteDirectory(directory);
+    }
+  }
+}
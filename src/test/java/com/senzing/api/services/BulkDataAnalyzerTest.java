@@ -0,0 +1,81 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzBulkDataAnalysis;
+import com.senzing.io.JsonRecordText;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BulkDataAnalyzer}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class BulkDataAnalyzerTest {
+  private static final String[] DATA_SOURCES
+      = { null, "", "CUSTOMERS", "EMPLOYEES", "VIPS" };
+
+  private static final String[] ENTITY_TYPES
+      = { null, " ", "PERSON", "ORGANIZATION" };
+
+  @ParameterizedTest
+  @ValueSource(ints = { 1, 2, 4, 8 })
+  public void analyzeTest(int threadCount) {
+    Random random = new Random(threadCount);
+    SzBulkDataAnalysis expected = new SzBulkDataAnalysis();
+    BulkDataAnalyzer analyzer = new BulkDataAnalyzer(
+        "analyzer-test-" + threadCount, threadCount);
+
+    int recordCount = 100000 + random.nextInt(1000);
+    for (int index = 0; index < recordCount; index++) {
+      String dataSource = DATA_SOURCES[random.nextInt(DATA_SOURCES.length)];
+      String entityType = ENTITY_TYPES[random.nextInt(ENTITY_TYPES.length)];
+      String recordId   = (random.nextBoolean()) ? String.valueOf(index) : null;
+
+      StringBuilder sb = new StringBuilder("{\"NAME_FULL\":\"JOE SCHMOE\"");
+      if (dataSource != null) {
+        sb.append(",\"DATA_SOURCE\":\"").append(dataSource).append("\"");
+      }
+      if (entityType != null) {
+        sb.append(",\"ENTITY_TYPE\":\"").append(entityType).append("\"");
+      }
+      if (recordId != null) {
+        sb.append(",\"RECORD_ID\":\"").append(recordId).append("\"");
+      }
+      sb.append("}");
+
+      expected.trackRecord(dataSource, entityType, recordId);
+      analyzer.submit(JsonRecordText.parse(sb.toString()));
+    }
+    analyzer.finish();
+
+    SzBulkDataAnalysis actual = new SzBulkDataAnalysis();
+    analyzer.mergeInto(actual);
+
+    assertEquals(expected.getStatus(), actual.getStatus(),
+                 "Unexpected status");
+    assertEquals(expected.getRecordCount(), actual.getRecordCount(),
+                 "Unexpected record count");
+    assertEquals(expected.getRecordsWithRecordIdCount(),
+                 actual.getRecordsWithRecordIdCount(),
+                 "Unexpected record ID count");
+    assertEquals(expected.getRecordsWithDataSourceCount(),
+                 actual.getRecordsWithDataSourceCount(),
+                 "Unexpected data source count");
+    assertEquals(expected.getRecordsWithEntityTypeCount(),
+                 actual.getRecordsWithEntityTypeCount(),
+                 "Unexpected entity type count");
+    assertEquals(String.valueOf(expected.getAnalysisByDataSource()),
+                 String.valueOf(actual.getAnalysisByDataSource()),
+                 "Unexpected analysis by data source");
+    assertEquals(String.valueOf(expected.getAnalysisByEntityType()),
+                 String.valueOf(actual.getAnalysisByEntityType()),
+                 "Unexpected analysis by entity type");
+  }
+}
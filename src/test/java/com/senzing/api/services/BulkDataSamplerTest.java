@@ -0,0 +1,200 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzBulkDataAnalysis;
+import com.senzing.api.model.SzBulkDataSampling;
+import com.senzing.api.model.SzConfidenceInterval;
+import com.senzing.api.model.SzDataSourceRecordAnalysis;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static com.senzing.io.RecordReader.Format.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BulkDataSampler}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class BulkDataSamplerTest {
+  private static final String[] DATA_SOURCES
+      = { "CUSTOMERS", "EMPLOYEES", "VIPS" };
+
+  /**
+   * Generates JSON-lines records of varying length with the data sources
+   * assigned in contiguous runs (as if the file were sorted by data source)
+   * and tracks the exact analysis of the generated records.
+   */
+  private static byte[] generateRecords(long                minLength,
+                                        SzBulkDataAnalysis  expected)
+  {
+    Random                random  = new Random(minLength);
+    ByteArrayOutputStream baos    = new ByteArrayOutputStream();
+    for (int index = 0; baos.size() < minLength; index++) {
+      int     runIndex    = (int) ((3L * baos.size()) / minLength);
+      String  dataSource  = DATA_SOURCES[runIndex];
+      String  recordId    = (random.nextInt(10) > 0) ? ("" + index) : null;
+
+      StringBuilder sb = new StringBuilder("{\"NAME_FULL\":\"");
+      int nameLength = 20 + random.nextInt(10);
+      for (int count = 0; count < nameLength; count++) {
+        sb.append((char) ('A' + random.nextInt(26)));
+      }
+      sb.append("\",\"DATA_SOURCE\":\"").append(dataSource).append("\"");
+      if (recordId != null) {
+        sb.append(",\"RECORD_ID\":\"").append(recordId).append("\"");
+      }
+      sb.append("}\n");
+
+      expected.trackRecord(dataSource, null, recordId);
+      byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+      baos.write(bytes, 0, bytes.length);
+    }
+    return baos.toByteArray();
+  }
+
+  private static void assertContains(SzConfidenceInterval interval,
+                                     long                 expected,
+                                     String               description)
+  {
+    assertNotNull(interval, "Missing interval for " + description);
+    assertTrue(interval.getLowerBound() <= expected
+               && expected <= interval.getUpperBound(),
+               "Interval for " + description + " does not contain the "
+               + "exact value (" + expected + "): " + interval);
+  }
+
+  @Test
+  public void sampleTest() throws IOException {
+    SzBulkDataAnalysis expected = new SzBulkDataAnalysis();
+    byte[] data = generateRecords(
+        10 * BulkDataSampler.MIN_SAMPLED_LENGTH, expected);
+
+    BulkDataSampler sampler = BulkDataSampler.create(
+        JSON_LINES, StandardCharsets.UTF_8, data.length,
+        () -> new ByteArrayInputStream(data));
+    assertNotNull(sampler, "Failed to create the sampler");
+
+    while (sampler.sampleRound()) {
+      assertFalse(sampler.isDone(), "More rounds requested when done");
+    }
+    assertTrue(sampler.isDone(), "Sampling is not done");
+
+    SzBulkDataAnalysis actual = new SzBulkDataAnalysis();
+    sampler.populate(actual);
+
+    SzBulkDataSampling sampling = actual.getSampling();
+    assertNotNull(sampling, "Missing sampling description");
+    assertEquals(data.length, sampling.getTotalByteCount(),
+                 "Unexpected total byte count");
+    assertTrue(sampling.getSampledWindowCount()
+                   < sampling.getTotalWindowCount(),
+               "Expected only a sample of the windows to be read: "
+               + sampling);
+    assertEquals(0, sampling.getFailedRecordCount(),
+                 "Unexpected failed records");
+
+    assertContains(actual.getRecordCountInterval(),
+                   expected.getRecordCount(), "record count");
+    assertContains(actual.getRecordsWithRecordIdCountInterval(),
+                   expected.getRecordsWithRecordIdCount(),
+                   "records with record ID");
+    assertContains(actual.getRecordsWithDataSourceCountInterval(),
+                   expected.getRecordsWithDataSourceCount(),
+                   "records with data source");
+    assertNull(actual.getDistinctRecordIdCount(),
+               "Distinct record IDs should not be estimated from a sample");
+
+    Map<String, SzDataSourceRecordAnalysis> actualMap = new HashMap<>();
+    for (SzDataSourceRecordAnalysis analysis
+        : actual.getAnalysisByDataSource())
+    {
+      actualMap.put(analysis.getDataSource(), analysis);
+    }
+    for (SzDataSourceRecordAnalysis analysis
+        : expected.getAnalysisByDataSource())
+    {
+      SzDataSourceRecordAnalysis estimate
+          = actualMap.get(analysis.getDataSource());
+      assertNotNull(estimate, "Missing data source: "
+                    + analysis.getDataSource());
+      assertContains(estimate.getRecordCountInterval(),
+                     analysis.getRecordCount(),
+                     "data source " + analysis.getDataSource());
+    }
+  }
+
+  @Test
+  public void fullSampleTest() throws IOException {
+    SzBulkDataAnalysis expected = new SzBulkDataAnalysis();
+    byte[] data = generateRecords(
+        BulkDataSampler.MIN_SAMPLED_LENGTH, expected);
+
+    BulkDataSampler sampler = BulkDataSampler.create(
+        JSON_LINES, StandardCharsets.UTF_8, data.length,
+        () -> new ByteArrayInputStream(data));
+    assertNotNull(sampler, "Failed to create the sampler");
+
+    // sample until every window has been read
+    while (sampler.sampleRound()) {
+      // keep sampling
+    }
+    SzBulkDataAnalysis actual = new SzBulkDataAnalysis();
+    sampler.populate(actual);
+
+    SzBulkDataSampling sampling = actual.getSampling();
+    assertEquals(sampling.getTotalWindowCount(),
+                 sampling.getSampledWindowCount(),
+                 "Expected every window to be read: " + sampling);
+
+    // if every window was read then the estimates should be exact
+    assertEquals(expected.getRecordCount(), actual.getRecordCount(),
+                 "Unexpected record count");
+    assertEquals(expected.getRecordsWithRecordIdCount(),
+                 actual.getRecordsWithRecordIdCount(),
+                 "Unexpected count of records with record ID");
+
+    Map<String, Integer> actualCounts = new HashMap<>();
+    for (SzDataSourceRecordAnalysis analysis
+        : actual.getAnalysisByDataSource())
+    {
+      actualCounts.put(analysis.getDataSource(), analysis.getRecordCount());
+    }
+    for (SzDataSourceRecordAnalysis analysis
+        : expected.getAnalysisByDataSource())
+    {
+      assertEquals(analysis.getRecordCount(),
+                   (int) actualCounts.getOrDefault(analysis.getDataSource(), -1),
+                   "Unexpected record count for data source: "
+                   + analysis.getDataSource());
+    }
+  }
+
+  @Test
+  public void unsupportedTest() throws IOException {
+    byte[] data = new byte[(int) BulkDataSampler.MIN_SAMPLED_LENGTH];
+    Arrays.fill(data, (byte) ' ');
+
+    assertNull(BulkDataSampler.create(JSON, StandardCharsets.UTF_8,
+                                      data.length,
+                                      () -> new ByteArrayInputStream(data)),
+               "JSON arrays should not be sampled");
+
+    assertNull(BulkDataSampler.create(JSON_LINES, StandardCharsets.UTF_16,
+                                      data.length,
+                                      () -> new ByteArrayInputStream(data)),
+               "Non-ASCII-compatible encodings should not be sampled");
+
+    assertNull(BulkDataSampler.create(JSON_LINES, StandardCharsets.UTF_8,
+                                      data.length - 1,
+                                      () -> new ByteArrayInputStream(data)),
+               "Small bulk data should not be sampled");
+  }
+}
@@ -132,6 +132,9 @@ public class BulkDataServicesReadOnlyTest extends BulkDataServicesTest {
             mapEntityTypeList,
             null,
             0,
+            null,
+            null,
+            null,
             mediaType,
             fis,
             null,
@@ -398,6 +401,9 @@ public class BulkDataServicesReadOnlyTest extends BulkDataServicesTest {
             null,
             null,
             maxFailures == null ? -1 : maxFailures,
+            null,
+            null,
+            null,
             MediaType.valueOf("text/plain"),
             bis,
             null,
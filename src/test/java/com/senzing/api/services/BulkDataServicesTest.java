@@ -567,7 +567,7 @@ public class BulkDataServicesTest extends AbstractServiceTest {
         long before = System.nanoTime();
         SzBulkDataAnalysisResponse response
             = this.bulkDataServices.analyzeBulkRecordsViaForm(
-            mediaType, fis, uriInfo);
+            mediaType, fis, false, uriInfo);
         response.concludeTimers();
         long after = System.nanoTime();
 
@@ -1454,6 +1454,9 @@ public class BulkDataServicesTest extends AbstractServiceTest {
                 mapEntityTypeList,
                 null,
                 0,
+                null,
+                null,
+                null,
                 mediaType,
                 fis,
                 null,
@@ -1992,6 +1995,9 @@ public class BulkDataServicesTest extends AbstractServiceTest {
             null,
             null,
             maxFailures == null ? -1 : maxFailures,
+            null,
+            null,
+            null,
             MediaType.valueOf("text/plain"),
             bis,
             null,
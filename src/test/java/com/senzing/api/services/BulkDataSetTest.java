@@ -0,0 +1,223 @@
+package com.senzing.api.services;
+
+import com.senzing.api.services.BulkDataServices.BulkDataSet;
+import com.senzing.io.RecordReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import javax.json.JsonObject;
+import javax.ws.rs.core.MediaType;
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+import static com.senzing.io.RecordReader.Format.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * Tests for the {@link BulkDataSet} of {@link BulkDataServices}, comparing
+ * the records streamed directly from the request against the records read
+ * from the {@link com.senzing.io.TemporaryDataCache}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class BulkDataSetTest {
+  /**
+   * The number of leading bytes peeked to compute the default load ID.
+   */
+  private static final int PREFIX_SIZE = BulkDataSet.LOAD_ID_PREFIX_SIZE;
+
+  /**
+   * An {@link InputStream} that returns at most a few bytes from each read
+   * so that the buffered data is filled across many reads.
+   */
+  private static class TrickleInputStream extends FilterInputStream {
+    private TrickleInputStream(byte[] data) {
+      super(new ByteArrayInputStream(data));
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      return super.read(buffer, offset, Math.min(length, 7));
+    }
+  }
+
+  /**
+   * Generates the record data for the specified format with the specified
+   * number of records.  The second record has a name that is longer than
+   * the prefix used for the load ID, so the prefix ends within it.
+   */
+  private static String generate(RecordReader.Format format, int count) {
+    StringBuilder sb = new StringBuilder();
+    if (format == CSV) sb.append("DATA_SOURCE,RECORD_ID,NAME_FULL\n");
+    if (format == JSON) sb.append("[\n");
+    for (int index = 0; index < count; index++) {
+      String name = (index == 1)
+          ? "J\u00f6rg " + "M\u00fcller".repeat(PREFIX_SIZE / 4)
+          : "Jos\u00e9 Garc\u00eda " + index;
+      if (format == CSV) {
+        sb.append("TEST,").append(index).append(",\"").append(name)
+            .append("\"\n");
+      } else {
+        sb.append("{\"DATA_SOURCE\":\"TEST\",\"RECORD_ID\":\"").append(index)
+            .append("\",\"NAME_FULL\":\"").append(name).append("\"}");
+        if (format == JSON && index < count - 1) sb.append(",");
+        sb.append("\n");
+      }
+    }
+    if (format == JSON) sb.append("]\n");
+    return sb.toString();
+  }
+
+  /**
+   * Reads all the records from the specified {@link BulkDataSet}.
+   */
+  private static List<JsonObject> readRecords(BulkDataSet         bulkDataSet,
+                                              RecordReader.Format format)
+      throws IOException
+  {
+    List<JsonObject> result = new ArrayList<>();
+    try (InputStream  is            = bulkDataSet.getInputStream();
+         RecordReader recordReader  = new RecordReader(
+             format, is, bulkDataSet.getCharset(), null, null, null, 1))
+    {
+      for (JsonObject record = recordReader.readRecord();
+           record != null;
+           record = recordReader.readRecord())
+      {
+        result.add(record);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the first {@link #PREFIX_SIZE} bytes of the specified data.
+   */
+  private static byte[] prefix(byte[] data) {
+    return Arrays.copyOf(data, Math.min(data.length, PREFIX_SIZE));
+  }
+
+  /**
+   * Compresses the specified data with gzip.
+   */
+  private static byte[] gzip(byte[] data) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (GZIPOutputStream gos = new GZIPOutputStream(baos)) {
+      gos.write(data);
+    }
+    return baos.toByteArray();
+  }
+
+  public List<Arguments> getStreamParameters() {
+    List<Arguments> result = new LinkedList<>();
+    for (RecordReader.Format format : RecordReader.Format.values()) {
+      for (Charset charset : List.of(StandardCharsets.UTF_8,
+                                     StandardCharsets.UTF_16LE))
+      {
+        // a large data set and one smaller than the load ID prefix
+        for (int count : List.of(2000, 1)) {
+          for (boolean compressed : List.of(false, true)) {
+            result.add(arguments(format, charset, count, compressed));
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  @ParameterizedTest
+  @MethodSource("getStreamParameters")
+  public void streamTest(RecordReader.Format  format,
+                         Charset              charset,
+                         int                  count,
+                         boolean              compressed)
+  {
+    String info = "format=[ " + format + " ], charset=[ " + charset
+        + " ], count=[ " + count + " ], compressed=[ " + compressed + " ]";
+    try {
+      byte[] data = generate(format, count).getBytes(charset);
+      byte[] sent = (compressed) ? gzip(data) : data;
+      MediaType mediaType = MediaType.valueOf(
+          format.getMediaType() + "; charset=" + charset.name());
+
+      BulkDataSet direct = new BulkDataSet(
+          mediaType, new TrickleInputStream(sent), false);
+      BulkDataSet cached = new BulkDataSet(
+          mediaType, new TrickleInputStream(sent), true);
+      try {
+        assertTrue(direct.isStreaming(), "Not streamed directly: " + info);
+        assertFalse(cached.isStreaming(), "Not cached: " + info);
+
+        // peeking at the prefix does not consume it
+        assertArrayEquals(prefix(data), direct.peekPrefix(),
+                          "Unexpected direct prefix: " + info);
+        assertArrayEquals(prefix(data), direct.peekPrefix(),
+                          "Direct prefix consumed by peeking: " + info);
+        assertArrayEquals(prefix(data), cached.peekPrefix(),
+                          "Unexpected cached prefix: " + info);
+
+        List<JsonObject> directRecords = readRecords(direct, format);
+        List<JsonObject> cachedRecords = readRecords(cached, format);
+        assertEquals(count, directRecords.size(),
+                     "Unexpected direct record count: " + info);
+        assertEquals(cachedRecords, directRecords,
+                     "Direct records differ from cached records: " + info);
+
+      } finally {
+        direct.delete();
+        cached.delete();
+      }
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception with " + info + ": " + e);
+    }
+  }
+
+  @Test
+  public void detectedTest() {
+    try {
+      byte[] data
+          = generate(JSON_LINES, 2000).getBytes(StandardCharsets.UTF_8);
+
+      // the format and charset are detected from the cached data
+      BulkDataSet detected = new BulkDataSet(
+          MediaType.TEXT_PLAIN_TYPE, new TrickleInputStream(data), false);
+      BulkDataSet direct = new BulkDataSet(
+          MediaType.valueOf(JSON_LINES.getMediaType() + "; charset=UTF-8"),
+          new TrickleInputStream(data), false);
+      try {
+        assertFalse(detected.isStreaming(), "Streamed without a charset");
+        assertTrue(direct.isStreaming(), "Not streamed directly");
+        assertEquals(StandardCharsets.UTF_8, detected.getCharset(),
+                     "Unexpected detected charset");
+        assertArrayEquals(detected.peekPrefix(), direct.peekPrefix(),
+                          "Direct prefix differs from detected prefix");
+
+        List<JsonObject> detectedRecords = readRecords(detected, null);
+        List<JsonObject> directRecords = readRecords(direct, JSON_LINES);
+        assertEquals(2000, detectedRecords.size(),
+                     "Unexpected detected record count");
+        assertEquals(detectedRecords, directRecords,
+                     "Direct records differ from detected records");
+
+      } finally {
+        detected.delete();
+        direct.delete();
+      }
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+}
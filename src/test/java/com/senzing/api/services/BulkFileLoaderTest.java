@@ -0,0 +1,105 @@
+package com.senzing.api.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import javax.ws.rs.core.MediaType;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.senzing.io.IOUtilities.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BulkFileLoader}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class BulkFileLoaderTest {
+  /**
+   * Creates an empty file at the specified path relative to the specified
+   * directory, creating any parent directories.
+   */
+  private static File touch(File dir, String path) throws IOException {
+    File file = new File(dir, path);
+    file.getParentFile().mkdirs();
+    file.createNewFile();
+    file.deleteOnExit();
+    return file;
+  }
+
+  /**
+   * Converts the specified files to their paths relative to the specified
+   * directory.
+   */
+  private static List<String> relativize(File dir, List<File> files) {
+    List<String> result = new ArrayList<>(files.size());
+    for (File file : files) {
+      result.add(dir.toPath().relativize(file.toPath()).toString()
+                     .replace(File.separatorChar, '/'));
+    }
+    return result;
+  }
+
+  @Test
+  public void resolveFilesTest() throws IOException {
+    File dir = Files.createTempDirectory("BulkFileLoader-").toFile();
+    dir.deleteOnExit();
+    touch(dir, "b.jsonl");
+    touch(dir, "a.csv.gz");
+    touch(dir, "c.jsonl.part");
+    touch(dir, ".hidden.jsonl");
+    touch(dir, "sub/d.jsonl");
+    touch(dir, "sub/deeper/e.jsonl");
+
+    String base = dir.getPath() + File.separator;
+    assertEquals(List.of("a.csv.gz", "b.jsonl"),
+                 relativize(dir, BulkFileLoader.resolveFiles(dir.getPath())),
+                 "Unexpected files for the directory");
+    assertEquals(List.of("b.jsonl"),
+                 relativize(dir, BulkFileLoader.resolveFiles(base + "b.jsonl")),
+                 "Unexpected files for a single file");
+    assertEquals(List.of("b.jsonl"),
+                 relativize(dir, BulkFileLoader.resolveFiles(base + "*.jsonl")),
+                 "Unexpected files for a single-level glob");
+    assertEquals(List.of("sub/d.jsonl"),
+                 relativize(dir, BulkFileLoader.resolveFiles(
+                     base + "sub/*.jsonl")),
+                 "Unexpected files for a sub-directory glob");
+    assertEquals(List.of("sub/d.jsonl", "sub/deeper/e.jsonl"),
+                 relativize(dir, BulkFileLoader.resolveFiles(
+                     base + "**/*.jsonl")),
+                 "Unexpected files for a recursive glob");
+    assertEquals(List.of("a.csv.gz", "b.jsonl"),
+                 relativize(dir, BulkFileLoader.resolveFiles(
+                     base + "*.{csv.gz,jsonl}")),
+                 "Unexpected files for an alternation glob");
+    assertEquals(0, BulkFileLoader.resolveFiles(base + "*.json").size(),
+                 "Unexpected files for a glob with no matches");
+    assertThrows(FileNotFoundException.class,
+                 () -> BulkFileLoader.resolveFiles(base + "missing.json"),
+                 "Resolved a missing file");
+  }
+
+  @Test
+  public void mediaTypeTest() {
+    assertEquals(new MediaType("application", "json", UTF_8),
+                 BulkFileLoader.mediaTypeFor("records.json"),
+                 "Unexpected media type for JSON");
+    assertEquals(new MediaType("application", "x-jsonlines", UTF_8),
+                 BulkFileLoader.mediaTypeFor("records.JSONL.gz"),
+                 "Unexpected media type for compressed JSON lines");
+    assertEquals(new MediaType("text", "csv", UTF_8),
+                 BulkFileLoader.mediaTypeFor("records.csv.gz"),
+                 "Unexpected media type for compressed CSV");
+    assertEquals(MediaType.TEXT_PLAIN_TYPE,
+                 BulkFileLoader.mediaTypeFor("records.txt"),
+                 "Unexpected media type for an unknown extension");
+  }
+}
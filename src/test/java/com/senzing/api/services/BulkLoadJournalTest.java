@@ -0,0 +1,231 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzBulkLoadCheckpoint;
+import com.senzing.io.JsonRecordText;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static com.senzing.api.model.SzBulkDataStatus.*;
+import static com.senzing.api.services.BulkRecordPipeline.OutcomeType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BulkLoadJournal}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class BulkLoadJournalTest {
+  /**
+   * Creates the hashes for the specified number of generated records.
+   */
+  private static long[] hashRecords(int count) {
+    long[] hashes = new long[count];
+    for (int index = 0; index < count; index++) {
+      hashes[index] = BulkLoadJournal.hashRecord(JsonRecordText.parse(
+          "{\"RECORD_ID\":\"" + index + "\",\"NAME_FULL\":\"Joe Schmoe\"}"));
+    }
+    return hashes;
+  }
+
+  /**
+   * Folds the specified hashes up to the specified end index into the
+   * specified content hash.
+   */
+  private static long foldHashes(long contentHash, long[] hashes, int end) {
+    for (int index = 0; index < end; index++) {
+      contentHash = BulkLoadJournal.combineHash(contentHash, hashes[index]);
+    }
+    return contentHash;
+  }
+
+  private static File createTempDirectory() throws IOException {
+    File dir = Files.createTempDirectory("senzing-journal-").toFile();
+    dir.deleteOnExit();
+    return dir;
+  }
+
+  @Test
+  public void outOfOrderTest() throws IOException {
+    File    dir     = createTempDirectory();
+    String  loadId  = "out-of-order/load";
+    long[]  hashes  = hashRecords(4);
+
+    try (BulkLoadJournal journal = BulkLoadJournal.open(dir, loadId, null)) {
+      journal.track(2, hashes[2], FAILED);
+      assertEquals(0L, journal.getOffset(), "Advanced past a gap");
+      journal.track(0, hashes[0], SUCCEEDED);
+      assertEquals(1L, journal.getOffset(), "Did not advance to the gap");
+      journal.track(1, hashes[1], INCOMPLETE);
+      assertEquals(3L, journal.getOffset(), "Did not advance past the gap");
+      journal.track(3, hashes[3], SUCCEEDED);
+
+      assertThrows(IllegalArgumentException.class,
+                   () -> journal.track(1, hashes[1], SUCCEEDED),
+                   "Tracked the same record twice");
+      journal.close(COMPLETED);
+    }
+
+    SzBulkLoadCheckpoint checkpoint
+        = BulkLoadJournal.readLastCheckpoint(dir, loadId);
+    assertNotNull(checkpoint, "Missing final checkpoint");
+    assertEquals(loadId, checkpoint.getLoadId(), "Unexpected load ID");
+    assertEquals(4L, checkpoint.getOffset(), "Unexpected offset");
+    assertEquals(2L, checkpoint.getLoadedRecordCount(),
+                 "Unexpected loaded count");
+    assertEquals(1L, checkpoint.getFailedRecordCount(),
+                 "Unexpected failed count");
+    assertEquals(1L, checkpoint.getIncompleteRecordCount(),
+                 "Unexpected incomplete count");
+    assertEquals(COMPLETED, checkpoint.getStatus(), "Unexpected status");
+    assertEquals(BulkLoadJournal.formatHash(foldHashes(0L, hashes, 4)),
+                 checkpoint.getContentHash(), "Unexpected content hash");
+  }
+
+  @Test
+  public void resumeTest() throws IOException {
+    File    dir     = createTempDirectory();
+    String  loadId  = "resume-load";
+    long[]  hashes  = hashRecords(10);
+
+    // load the first five records, but drop the outcome for the fourth
+    try (BulkLoadJournal journal = BulkLoadJournal.open(dir, loadId, null)) {
+      for (int index = 0; index < 5; index++) {
+        if (index == 3) continue;
+        journal.track(index, hashes[index], SUCCEEDED);
+      }
+      journal.close(ABORTED);
+    }
+
+    List<SzBulkLoadCheckpoint> checkpoints
+        = BulkLoadJournal.readCheckpoints(dir, loadId);
+    SzBulkLoadCheckpoint base = checkpoints.get(checkpoints.size() - 1);
+    assertEquals(3L, base.getOffset(), "Checkpoint not at the first gap");
+    assertEquals(ABORTED, base.getStatus(), "Unexpected status");
+
+    // resume from the base, skip one record and load the rest
+    try (BulkLoadJournal journal = BulkLoadJournal.open(dir, loadId, base)) {
+      assertThrows(IllegalStateException.class,
+                   () -> BulkLoadJournal.open(dir, loadId, null),
+                   "Opened the same journal twice");
+
+      journal.skip(hashes[3]);
+      for (int index = 4; index < hashes.length; index++) {
+        journal.track(index, hashes[index], SUCCEEDED);
+      }
+      journal.close(COMPLETED);
+    }
+
+    SzBulkLoadCheckpoint checkpoint
+        = BulkLoadJournal.readLastCheckpoint(dir, loadId);
+    assertEquals(10L, checkpoint.getOffset(), "Unexpected offset");
+    assertEquals(9L, checkpoint.getLoadedRecordCount(),
+                 "Unexpected loaded count");
+    assertEquals(1L, checkpoint.getSkippedRecordCount(),
+                 "Unexpected skipped count");
+    assertEquals(BulkLoadJournal.formatHash(foldHashes(0L, hashes, 10)),
+                 checkpoint.getContentHash(), "Unexpected content hash");
+  }
+
+  @Test
+  public void tornLineTest() throws IOException {
+    File    dir     = createTempDirectory();
+    String  loadId  = "torn-load";
+    long[]  hashes  = hashRecords(2);
+
+    try (BulkLoadJournal journal = BulkLoadJournal.open(dir, loadId, null)) {
+      journal.track(0, hashes[0], SUCCEEDED);
+      journal.track(1, hashes[1], SUCCEEDED);
+      journal.close(IN_PROGRESS);
+    }
+
+    // simulate a crash while appending a checkpoint
+    File file = BulkLoadJournal.getJournalFile(dir, loadId);
+    try (FileOutputStream fos = new FileOutputStream(file, true)) {
+      fos.write("7 00000000".getBytes(StandardCharsets.UTF_8));
+    }
+
+    SzBulkLoadCheckpoint base
+        = BulkLoadJournal.readLastCheckpoint(dir, loadId);
+    assertEquals(2L, base.getOffset(), "Torn line was not ignored");
+
+    // resuming truncates the torn line
+    try (BulkLoadJournal journal = BulkLoadJournal.open(dir, loadId, base)) {
+      journal.close(COMPLETED);
+    }
+    List<SzBulkLoadCheckpoint> checkpoints
+        = BulkLoadJournal.readCheckpoints(dir, loadId);
+    SzBulkLoadCheckpoint last = checkpoints.get(checkpoints.size() - 1);
+    assertEquals(2L, last.getOffset(), "Unexpected offset");
+    assertEquals(COMPLETED, last.getStatus(), "Torn line was not truncated");
+  }
+
+  @Test
+  public void versionOneTest() throws IOException {
+    File    dir     = createTempDirectory();
+    String  loadId  = "version-one-load";
+    long[]  hashes  = hashRecords(4);
+    String  hash    = BulkLoadJournal.formatHash(foldHashes(0L, hashes, 2));
+
+    // write a journal with the version one checkpoint format
+    File file = BulkLoadJournal.getJournalFile(dir, loadId);
+    try (FileOutputStream fos = new FileOutputStream(file)) {
+      fos.write(("#senzing-bulk-load-journal 1 " + loadId + "\n"
+                 + "2 " + hash + " 2 0 0 0 ABORTED 1600000000000\n")
+                    .getBytes(StandardCharsets.UTF_8));
+    }
+
+    SzBulkLoadCheckpoint base
+        = BulkLoadJournal.readLastCheckpoint(dir, loadId);
+    assertNotNull(base, "Version one checkpoint was not read");
+    assertEquals(2L, base.getOffset(), "Unexpected offset");
+    assertEquals(hash, base.getContentHash(), "Unexpected content hash");
+    assertEquals(0L, base.getDuplicateRecordCount(),
+                 "Unexpected duplicate count");
+
+    // resuming restarts the journal with the current version
+    try (BulkLoadJournal journal = BulkLoadJournal.open(dir, loadId, base)) {
+      journal.track(2, hashes[2], SUCCEEDED);
+      journal.track(3, hashes[3], DUPLICATE);
+      journal.close(COMPLETED);
+    }
+    String text = new String(Files.readAllBytes(file.toPath()),
+                             StandardCharsets.UTF_8);
+    assertTrue(text.startsWith("#senzing-bulk-load-journal "
+                               + BulkLoadJournal.VERSION + " "),
+               "Journal was not restarted with the current version: " + text);
+
+    SzBulkLoadCheckpoint checkpoint
+        = BulkLoadJournal.readLastCheckpoint(dir, loadId);
+    assertEquals(4L, checkpoint.getOffset(), "Unexpected offset");
+    assertEquals(3L, checkpoint.getLoadedRecordCount(),
+                 "Unexpected loaded count");
+    assertEquals(1L, checkpoint.getDuplicateRecordCount(),
+                 "Unexpected duplicate count");
+    assertEquals(BulkLoadJournal.formatHash(foldHashes(0L, hashes, 4)),
+                 checkpoint.getContentHash(), "Unexpected content hash");
+  }
+
+  @Test
+  public void unsupportedVersionTest() throws IOException {
+    File    dir     = createTempDirectory();
+    String  loadId  = "future-load";
+
+    File file = BulkLoadJournal.getJournalFile(dir, loadId);
+    try (FileOutputStream fos = new FileOutputStream(file)) {
+      fos.write(("#senzing-bulk-load-journal 99 " + loadId + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+    }
+    assertThrows(IOException.class,
+                 () -> BulkLoadJournal.readCheckpoints(dir, loadId),
+                 "Read a journal with an unsupported version");
+  }
+}
@@ -0,0 +1,138 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzScheduledBulkLoad;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BulkLoadScheduler}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class BulkLoadSchedulerTest {
+  /**
+   * Starts the specified number of threads that repeatedly acquire a slot
+   * for the specified load, hold it briefly and release it after processing
+   * one record, counting the records.
+   */
+  private static List<Thread> startWorkers(BulkLoadScheduler.Load load,
+                                           int                    count,
+                                           AtomicLong             counter,
+                                           AtomicBoolean          stop)
+  {
+    List<Thread> threads = new ArrayList<>(count);
+    for (int index = 0; index < count; index++) {
+      Thread thread = new Thread(() -> {
+        try {
+          while (!stop.get()) {
+            load.acquire();
+            try {
+              Thread.sleep(1L);
+            } finally {
+              load.release(1);
+            }
+            counter.incrementAndGet();
+          }
+        } catch (InterruptedException ignore) {
+          // ignore
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    return threads;
+  }
+
+  @Test
+  public void registerTest() {
+    BulkLoadScheduler scheduler = new BulkLoadScheduler(4);
+    BulkLoadScheduler.Load first  = scheduler.register("my-load", 1);
+    BulkLoadScheduler.Load second = scheduler.register("my-load", 3);
+    assertEquals("my-load", first.getId(), "Unexpected first ID");
+    assertNotEquals(first.getId(), second.getId(), "IDs are not unique");
+
+    List<SzScheduledBulkLoad> loads = scheduler.getScheduledLoads();
+    assertEquals(2, loads.size(), "Unexpected load count");
+    assertEquals(0.25, loads.get(0).getShare(), "Unexpected first share");
+    assertEquals(0.75, loads.get(1).getShare(), "Unexpected second share");
+
+    assertThrows(IllegalArgumentException.class,
+                 () -> scheduler.setWeight(first.getId(), 0),
+                 "Accepted a zero weight");
+    assertTrue(scheduler.setWeight(first.getId(), 3), "Weight not set");
+    assertEquals(0.5, scheduler.getScheduledLoads().get(0).getShare(),
+                 "Unexpected share after changing the weight");
+
+    second.close();
+    assertFalse(scheduler.setWeight(second.getId(), 1),
+                "Set the weight of a closed load");
+    assertEquals(1, scheduler.getScheduledLoads().size(),
+                 "Closed load is still scheduled");
+    first.close();
+  }
+
+  @Test
+  public void slotTest() throws Exception {
+    BulkLoadScheduler scheduler = new BulkLoadScheduler(2);
+    BulkLoadScheduler.Load load = scheduler.register("slots", 1);
+    load.acquire();
+    load.acquire();
+
+    // a third slot is not granted until one is released
+    AtomicBoolean acquired = new AtomicBoolean(false);
+    Thread thread = new Thread(() -> {
+      try {
+        load.acquire();
+        acquired.set(true);
+      } catch (InterruptedException ignore) {
+        // ignore
+      }
+    });
+    thread.start();
+    Thread.sleep(100L);
+    assertFalse(acquired.get(), "Exceeded the capacity");
+    load.release(1);
+    thread.join(5000L);
+    assertTrue(acquired.get(), "Slot was not granted after a release");
+    load.release(1);
+    load.release(1);
+    assertThrows(IllegalStateException.class, () -> load.release(1),
+                 "Released a slot that was not held");
+    load.close();
+  }
+
+  @Test
+  public void fairnessTest() throws Exception {
+    BulkLoadScheduler scheduler = new BulkLoadScheduler(2);
+    BulkLoadScheduler.Load light = scheduler.register("light", 1);
+    BulkLoadScheduler.Load heavy = scheduler.register("heavy", 3);
+    AtomicLong    lightCount  = new AtomicLong(0L);
+    AtomicLong    heavyCount  = new AtomicLong(0L);
+    AtomicBoolean stop        = new AtomicBoolean(false);
+
+    List<Thread> threads = new ArrayList<>();
+    threads.addAll(startWorkers(light, 4, lightCount, stop));
+    threads.addAll(startWorkers(heavy, 4, heavyCount, stop));
+    Thread.sleep(1000L);
+    stop.set(true);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    double ratio = ((double) heavyCount.get()) / lightCount.get();
+    assertTrue(ratio > 2.0 && ratio < 4.0,
+               "Unexpected throughput ratio (" + ratio + "): heavy="
+               + heavyCount.get() + ", light=" + lightCount.get());
+    light.close();
+    heavy.close();
+  }
+}
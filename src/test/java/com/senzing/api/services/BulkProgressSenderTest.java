@@ -0,0 +1,223 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzBulkLoadProgress;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BulkProgressSender}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class BulkProgressSenderTest {
+  /**
+   * A {@link BulkProgressSender.Transport} that records the events it sends
+   * and optionally sleeps to simulate a slow client.
+   */
+  private static class RecordingTransport
+      implements BulkProgressSender.Transport
+  {
+    private final long          delay;
+    private final List<String>  names   = new ArrayList<>();
+    private final List<Object>  events  = new ArrayList<>();
+
+    private RecordingTransport(long delay) {
+      this.delay = delay;
+    }
+
+    @Override
+    public void send(String eventName, Object data) throws Exception {
+      if (this.delay > 0L) Thread.sleep(this.delay);
+      synchronized (this) {
+        this.names.add(eventName);
+        this.events.add(data);
+        this.notifyAll();
+      }
+    }
+
+    /**
+     * Waits until a delta progress update with the specified total record
+     * count has been sent.
+     */
+    private synchronized void awaitTotal(long total)
+        throws InterruptedException
+    {
+      long end = System.currentTimeMillis() + 10000L;
+      while (System.currentTimeMillis() < end) {
+        if (this.events.size() > 0) {
+          Object last = this.events.get(this.events.size() - 1);
+          if (last instanceof SzBulkLoadProgress
+              && ((SzBulkLoadProgress) last).getTotalRecordCount() == total)
+          {
+            return;
+          }
+        }
+        this.wait(100L);
+      }
+      fail("Timed out waiting for the update with a total of " + total);
+    }
+  }
+
+  /**
+   * Creates the {@link BulkProgressSender.Counts} for the specified number
+   * of records with every tenth failed.
+   */
+  private static BulkProgressSender.Counts counts(long startNanos, int count) {
+    long failed = count / 10;
+    return new BulkProgressSender.Counts(
+        startNanos + (count * 1000000L), count, count - failed, 0L,
+        failed, 0L, 5L);
+  }
+
+  @Test
+  public void coalesceTest() throws Exception {
+    RecordingTransport transport  = new RecordingTransport(20L);
+    long               start      = System.nanoTime();
+    BulkProgressSender sender     = new BulkProgressSender(
+        "coalesce", start, transport);
+    try {
+      for (int count = 1; count <= 200; count++) {
+        sender.update(counts(start, count));
+        Thread.sleep(1L);
+      }
+      transport.awaitTotal(200L);
+    } finally {
+      sender.close();
+    }
+
+    long recordCount    = 0L;
+    long loadedCount    = 0L;
+    long failedCount    = 0L;
+    long coalescedCount = 0L;
+    synchronized (transport) {
+      for (int index = 0; index < transport.events.size(); index++) {
+        assertEquals(BulkDataServices.PROGRESS_DELTA_EVENT,
+                     transport.names.get(index),
+                     "Unexpected event name");
+        SzBulkLoadProgress progress
+            = (SzBulkLoadProgress) transport.events.get(index);
+        recordCount     += progress.getRecordCount();
+        loadedCount     += progress.getLoadedRecordCount();
+        failedCount     += progress.getFailedRecordCount();
+        coalescedCount  += progress.getCoalescedCount();
+        assertEquals(recordCount, progress.getTotalRecordCount(),
+                     "Deltas do not sum to the total: " + progress);
+        assertEquals(5L, progress.getInFlightRecordCount(),
+                     "Unexpected in-flight count: " + progress);
+      }
+      assertTrue(transport.events.size() < 200,
+                 "Updates were not coalesced for a slow client: "
+                 + transport.events.size());
+      assertEquals(200L, transport.events.size() + coalescedCount,
+                   "Updates were lost rather than coalesced");
+      assertEquals(coalescedCount, sender.getTotalCoalescedCount(),
+                   "Unexpected total coalesced count");
+    }
+    assertEquals(200L, recordCount, "Unexpected summed record count");
+    assertEquals(180L, loadedCount, "Unexpected summed loaded count");
+    assertEquals(20L, failedCount, "Unexpected summed failed count");
+  }
+
+  @Test
+  public void snapshotTest() throws Exception {
+    RecordingTransport transport  = new RecordingTransport(10L);
+    long               start      = System.nanoTime();
+    BulkProgressSender sender     = new BulkProgressSender(
+        "snapshot", start, transport);
+    try {
+      for (int count = 1; count <= 50; count++) {
+        sender.update(counts(start, count));
+        if (count % 10 == 0) sender.snapshot("{\"snapshot\":" + count + "}");
+      }
+      transport.awaitTotal(50L);
+    } finally {
+      sender.close();
+    }
+
+    List<String> snapshots = new ArrayList<>();
+    synchronized (transport) {
+      for (int index = 0; index < transport.events.size(); index++) {
+        Object event = transport.events.get(index);
+        if (event instanceof String) {
+          assertEquals(BulkDataServices.PROGRESS_EVENT,
+                       transport.names.get(index),
+                       "Unexpected event name for a snapshot");
+          snapshots.add((String) event);
+        }
+      }
+    }
+    assertEquals(5, snapshots.size(), "Snapshots were coalesced");
+    for (int index = 0; index < snapshots.size(); index++) {
+      assertEquals("{\"snapshot\":" + ((index + 1) * 10) + "}",
+                   snapshots.get(index), "Snapshots sent out of order");
+    }
+  }
+
+  @Test
+  public void failureTest() throws Exception {
+    BulkProgressSender sender = new BulkProgressSender(
+        "failure", System.nanoTime(), (name, data) -> {
+          throw new IllegalStateException("Client went away");
+        });
+    try {
+      sender.update(counts(System.nanoTime(), 1));
+      sender.join(10000L);
+      assertThrows(IllegalStateException.class,
+                   () -> sender.update(counts(System.nanoTime(), 2)),
+                   "The send failure was not reported");
+    } finally {
+      sender.close();
+    }
+  }
+
+  @Test
+  public void closeTest() throws Exception {
+    RecordingTransport transport  = new RecordingTransport(20L);
+    long               start      = System.nanoTime();
+    BulkProgressSender sender     = new BulkProgressSender(
+        "close", start, transport);
+
+    // close right after the last update as the bulk operations do
+    for (int count = 1; count <= 100; count++) {
+      sender.update(counts(start, count));
+    }
+    sender.snapshot("{\"snapshot\":100}");
+    sender.close();
+    assertFalse(sender.isAlive(), "The sending thread did not complete");
+
+    long recordCount  = 0L;
+    long loadedCount  = 0L;
+    long failedCount  = 0L;
+    int  snapshots    = 0;
+    synchronized (transport) {
+      for (Object event : transport.events) {
+        if (event instanceof String) {
+          snapshots++;
+          continue;
+        }
+        SzBulkLoadProgress progress = (SzBulkLoadProgress) event;
+        recordCount += progress.getRecordCount();
+        loadedCount += progress.getLoadedRecordCount();
+        failedCount += progress.getFailedRecordCount();
+      }
+    }
+    assertEquals(1, snapshots, "The pending snapshot was not sent");
+    assertEquals(100L, recordCount, "The deltas do not sum to the total");
+    assertEquals(90L, loadedCount, "The loaded deltas do not sum to the total");
+    assertEquals(10L, failedCount, "The failed deltas do not sum to the total");
+
+    // updates posted after closing are not sent
+    int eventCount = transport.events.size();
+    sender.update(counts(start, 101));
+    Thread.sleep(50L);
+    assertEquals(eventCount, transport.events.size(),
+                 "An update was sent after closing");
+  }
+}
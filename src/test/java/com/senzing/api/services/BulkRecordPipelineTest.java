@@ -0,0 +1,357 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzBulkLoadStageStatistics;
+import com.senzing.io.JsonRecordText;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.senzing.api.services.BulkRecordPipeline.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BulkRecordPipeline}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class BulkRecordPipelineTest {
+  /**
+   * A {@link ResultHandler} that collects the outcomes.
+   */
+  private static class Collector implements ResultHandler {
+    private final List<Outcome> outcomes = new ArrayList<>();
+
+    @Override
+    public void handleOutcome(Outcome outcome) {
+      this.outcomes.add(outcome);
+    }
+
+    @Override
+    public void handleProgress(List<SzBulkLoadStageStatistics> statistics) {
+      // do nothing
+    }
+  }
+
+  /**
+   * Creates a record with the specified record ID and name.
+   */
+  private static JsonRecordText record(String recordId, String name) {
+    return JsonRecordText.parse(
+        "{\"DATA_SOURCE\":\"TEST\",\"ENTITY_TYPE\":\"GENERIC\","
+        + "\"RECORD_ID\":\"" + recordId + "\",\"NAME_FULL\":\"" + name
+        + "\"}");
+  }
+
+  /**
+   * Creates a pipeline with the specified parameters that does not hash or
+   * publish.
+   */
+  private static BulkRecordPipeline newPipeline(
+      String          name,
+      int             concurrency,
+      Normalizer      normalizer,
+      EngineOperation operation,
+      ResultHandler   handler,
+      int             maxFailures,
+      boolean         detectDuplicates)
+  {
+    return new BulkRecordPipeline(name,
+                                  StubApiProvider.create(concurrency, null),
+                                  concurrency,
+                                  normalizer,
+                                  operation,
+                                  handler,
+                                  maxFailures,
+                                  null,
+                                  RecordFields.RECORD,
+                                  false,
+                                  detectDuplicates,
+                                  null);
+  }
+
+  @Test
+  public void duplicateAfterFailureTest() {
+    try {
+      List<String> loaded = Collections.synchronizedList(new ArrayList<>());
+      Collector collector = new Collector();
+      BulkRecordPipeline pipeline = newPipeline(
+          "duplicate-after-failure", 1, record -> record,
+          (engineApi, record, info, timers) -> {
+            if (record.sequence == 0L) {
+              throw new IllegalStateException("First copy rejected");
+            }
+            loaded.add(record.recordId);
+            return 0;
+          },
+          collector, 0, true);
+
+      pipeline.submit(record("1", "Joe Schmoe"));
+      pipeline.submit(record("1", "Joe Schmoe"));
+      pipeline.submit(record("1", "Joe Schmoe"));
+      pipeline.submit(record("2", "Jane Doe"));
+      pipeline.submit(record("1", "Joseph Schmoe"));
+      pipeline.submit(record("1", "Joe Schmoe"));
+      pipeline.finish(null);
+
+      List<OutcomeType> expected = List.of(OutcomeType.FAILED,
+                                           OutcomeType.SUCCEEDED,
+                                           OutcomeType.DUPLICATE,
+                                           OutcomeType.SUCCEEDED,
+                                           OutcomeType.SUCCEEDED,
+                                           OutcomeType.SUCCEEDED);
+      List<OutcomeType> actual = new ArrayList<>();
+      for (Outcome outcome : collector.outcomes) {
+        actual.add(outcome.type);
+      }
+      assertEquals(expected, actual, "Unexpected outcomes");
+      assertEquals(List.of("1", "2", "1", "1"), loaded,
+                   "Copy of the failed record was not loaded");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  /**
+   * Returns the {@link List} of outcome types for the specified outcomes.
+   */
+  private static List<OutcomeType> types(List<Outcome> outcomes) {
+    List<OutcomeType> result = new ArrayList<>(outcomes.size());
+    for (Outcome outcome : outcomes) {
+      result.add(outcome.type);
+    }
+    return result;
+  }
+
+  /**
+   * Counts the outcomes of the specified type.
+   */
+  private static int count(List<Outcome> outcomes, OutcomeType type) {
+    int count = 0;
+    for (Outcome outcome : outcomes) {
+      if (outcome.type == type) count++;
+    }
+    return count;
+  }
+
+  @Test
+  public void orderTest() {
+    try {
+      // small record sets are processed in order
+      Collector collector = new Collector();
+      BulkRecordPipeline pipeline = newPipeline(
+          "order", 4, record -> record,
+          (engineApi, record, info, timers) -> 0,
+          collector, 0, false);
+      int count = WARM_UP_RECORD_COUNT / 2;
+      for (int index = 0; index < count; index++) {
+        assertTrue(pipeline.submit(record("" + index, "Joe Schmoe")),
+                   "Record not submitted: " + index);
+      }
+      pipeline.finish(null);
+
+      assertEquals(count, collector.outcomes.size(), "Unexpected count");
+      for (int index = 0; index < count; index++) {
+        Outcome outcome = collector.outcomes.get(index);
+        assertEquals(index, outcome.sequence, "Outcome out of order");
+        assertEquals(OutcomeType.SUCCEEDED, outcome.type,
+                     "Unexpected outcome type: " + index);
+      }
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void scaledOrderTest() {
+    try {
+      // once scaled up every record has exactly one outcome
+      Collector collector = new Collector();
+      BulkRecordPipeline pipeline = newPipeline(
+          "scaled-order", 4, record -> record,
+          (engineApi, record, info, timers) -> 0,
+          collector, 0, false);
+      int count = WARM_UP_RECORD_COUNT * 3;
+      for (int index = 0; index < count; index++) {
+        pipeline.submit(record("" + index, "Joe Schmoe"));
+      }
+      pipeline.finish(null);
+
+      assertEquals(count, collector.outcomes.size(), "Unexpected count");
+      BitSet sequences = new BitSet(count);
+      for (Outcome outcome : collector.outcomes) {
+        assertFalse(sequences.get((int) outcome.sequence),
+                    "Duplicate outcome: " + outcome.sequence);
+        sequences.set((int) outcome.sequence);
+      }
+      assertEquals(count, sequences.cardinality(), "Missing outcomes");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void normalizerFailureTest() {
+    try {
+      Collector collector = new Collector();
+      BulkRecordPipeline pipeline = newPipeline(
+          "normalizer-failure", 1,
+          record -> {
+            if ("2".equals(record.getString("RECORD_ID"))) {
+              throw new IllegalArgumentException("Bad record");
+            }
+            return record;
+          },
+          (engineApi, record, info, timers) -> 0,
+          collector, 0, false);
+      for (int index = 0; index < 4; index++) {
+        pipeline.submit(record("" + index, "Joe Schmoe"));
+      }
+      pipeline.finish(null);
+
+      // the failed record bypasses the engine so its outcome may be early
+      collector.outcomes.sort(
+          (o1, o2) -> Long.compare(o1.sequence, o2.sequence));
+      assertFalse(pipeline.isAborted(), "Pipeline was aborted");
+      assertEquals(List.of(OutcomeType.SUCCEEDED,
+                           OutcomeType.SUCCEEDED,
+                           OutcomeType.FAILED,
+                           OutcomeType.SUCCEEDED),
+                   types(collector.outcomes),
+                   "Unexpected outcomes");
+      assertEquals("Bad record",
+                   collector.outcomes.get(2).error.getMessage(),
+                   "Unexpected error message");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void maxFailuresTest() {
+    try {
+      // normalizer and engine failures both count toward the maximum
+      Collector collector = new Collector();
+      BulkRecordPipeline pipeline = newPipeline(
+          "max-failures", 1,
+          record -> {
+            if ("1".equals(record.getString("RECORD_ID"))) {
+              throw new IllegalArgumentException("Bad record");
+            }
+            return record;
+          },
+          (engineApi, record, info, timers) -> {
+            if (Integer.parseInt(record.recordId) % 2 == 1) {
+              throw new IllegalStateException("Engine failure");
+            }
+            return 0;
+          },
+          collector, 3, false);
+
+      int submitted = 0;
+      while (submitted < 100
+             && pipeline.submit(record("" + submitted, "Joe Schmoe")))
+      {
+        submitted++;
+      }
+      pipeline.finish(null);
+
+      assertTrue(pipeline.isAborted(), "Pipeline was not aborted");
+      assertEquals(3, count(collector.outcomes, OutcomeType.FAILED),
+                   "Unexpected failure count");
+      assertTrue(collector.outcomes.size() < 100,
+                 "Records were processed after aborting");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void abortTest() {
+    try {
+      CountDownLatch started = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      Collector collector = new Collector();
+      BulkRecordPipeline pipeline = newPipeline(
+          "abort", 1, record -> record,
+          (engineApi, record, info, timers) -> {
+            started.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException ignore) {
+              // ignore
+            }
+            return 0;
+          },
+          collector, 0, false);
+
+      for (int index = 0; index < 50; index++) {
+        pipeline.submit(record("" + index, "Joe Schmoe"));
+      }
+      assertTrue(started.await(10, TimeUnit.SECONDS),
+                 "First record not handed to the engine");
+
+      // aborting discards the pending records, but not the in-flight one
+      pipeline.abort();
+      assertTrue(pipeline.isAborted(), "Pipeline not aborted");
+      assertFalse(pipeline.submit(record("50", "Joe Schmoe")),
+                  "Record submitted after aborting");
+      release.countDown();
+      pipeline.finish(null);
+
+      assertTrue(collector.outcomes.size() >= 1,
+                 "In-flight record outcome was not handled");
+      assertTrue(collector.outcomes.size() < 50,
+                 "Pending records were not discarded");
+      assertEquals(0, count(collector.outcomes, OutcomeType.FAILED),
+                   "Aborted records were failed");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void handlerFailureTest() {
+    RuntimeException failure = new IllegalStateException("Handler failure");
+    BulkRecordPipeline pipeline = newPipeline(
+        "handler-failure", 1, record -> record,
+        (engineApi, record, info, timers) -> 0,
+        new ResultHandler() {
+          @Override
+          public void handleOutcome(Outcome outcome) {
+            throw failure;
+          }
+
+          @Override
+          public void handleProgress(
+              List<SzBulkLoadStageStatistics> statistics)
+          {
+            // do nothing
+          }
+        },
+        0, false);
+    pipeline.submit(record("1", "Joe Schmoe"));
+
+    // finishing rethrows the failure from the handler
+    RuntimeException thrown = assertThrows(RuntimeException.class,
+                                           () -> pipeline.finish(null));
+    assertSame(failure, thrown, "Unexpected exception");
+    assertTrue(pipeline.isAborted(), "Pipeline was not aborted");
+  }
+}
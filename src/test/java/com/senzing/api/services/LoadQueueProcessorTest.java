@@ -0,0 +1,465 @@
+package com.senzing.api.services;
+
+import com.senzing.api.server.mq.SzAbstractMessageSource;
+import com.senzing.api.server.mq.SzReceivedMessage;
+import com.senzing.g2.engine.G2Engine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static com.senzing.api.services.ServicesUtil.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link LoadQueueProcessor}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class LoadQueueProcessorTest {
+  /**
+   * An engine error code that is not one of the permanent error codes.
+   */
+  private static final int RETRYABLE_CODE = 999;
+
+  /**
+   * Handles adding a record to the stub engine.
+   */
+  private interface AddHandler {
+    /**
+     * Adds the record with the specified record ID and JSON text, returning
+     * zero (0) for success or the engine error code for a failure.
+     */
+    int add(String recordId, String recordJson) throws Exception;
+  }
+
+  /**
+   * A received message that tracks when it was acknowledged or rejected.
+   */
+  private static class TestMessage extends SzReceivedMessage {
+    private volatile boolean acknowledged = false;
+    private volatile boolean rejected     = false;
+
+    private TestMessage(String recordId, int version) {
+      super("{\"DATA_SOURCE\":\"TEST\",\"RECORD_ID\":\"" + recordId
+            + "\",\"VERSION\":" + version + "}");
+    }
+
+    @Override
+    protected void doAcknowledge() {
+      this.acknowledged = true;
+    }
+
+    @Override
+    protected void doReject() {
+      this.rejected = true;
+    }
+  }
+
+  /**
+   * A message source that receives the messages that are offered to it.
+   * Unless pausing is supported, as a single partition, nothing is received
+   * while it is paused.
+   */
+  private static class TestSource extends SzAbstractMessageSource {
+    private final BlockingQueue<SzReceivedMessage> queue
+        = new LinkedBlockingQueue<>();
+    private final boolean pausable;
+    private final AtomicInteger receiveCount  = new AtomicInteger(0);
+    private final AtomicInteger pauseCount    = new AtomicInteger(0);
+    private final AtomicInteger resumeCount   = new AtomicInteger(0);
+    private volatile int maxCount = 0;
+
+    private TestSource() {
+      this(false);
+    }
+
+    private TestSource(boolean pausable) {
+      this.pausable = pausable;
+    }
+
+    private void offer(SzReceivedMessage message) {
+      this.queue.add(message);
+    }
+
+    @Override
+    public List<SzReceivedMessage> receive(int maxCount, long timeout)
+        throws Exception
+    {
+      this.checkOpen();
+      this.receiveCount.incrementAndGet();
+      this.maxCount = maxCount;
+      List<SzReceivedMessage> result = new ArrayList<>();
+      if (this.pauseCount.get() > this.resumeCount.get()) {
+        Thread.sleep(timeout);
+        return result;
+      }
+      SzReceivedMessage first = this.queue.poll(timeout, TimeUnit.MILLISECONDS);
+      if (first == null) return result;
+      result.add(first);
+      this.queue.drainTo(result, maxCount - 1);
+      return result;
+    }
+
+    @Override
+    public boolean pause(SzReceivedMessage message) {
+      if (!this.pausable) return false;
+      this.pauseCount.incrementAndGet();
+      return true;
+    }
+
+    @Override
+    public void resume(SzReceivedMessage message) {
+      this.resumeCount.incrementAndGet();
+    }
+
+    @Override
+    protected void doClose() {
+      // do nothing
+    }
+  }
+
+  /**
+   * Creates a stub {@link G2Engine} that adds records with the specified
+   * {@link AddHandler}.
+   */
+  private static G2Engine engine(AddHandler handler) {
+    ThreadLocal<Integer> lastCode = ThreadLocal.withInitial(() -> 0);
+    return StubApiProvider.engine((proxy, method, args) -> {
+      switch (method.getName()) {
+        case "addRecord":
+          int code = handler.add((String) args[1], (String) args[2]);
+          lastCode.set(code);
+          return (code == 0) ? 0 : -1;
+        case "getLastExceptionCode":
+          return lastCode.get();
+        case "getLastException":
+          return "Engine error: " + lastCode.get();
+        default:
+          return StubApiProvider.defaultValue(method.getReturnType());
+      }
+    });
+  }
+
+  /**
+   * Creates and starts a processor with the specified parameters.
+   */
+  private static LoadQueueProcessor start(TestSource source,
+                                          int        threadCount,
+                                          int        maxAttempts,
+                                          long       retryDelay,
+                                          AddHandler handler)
+  {
+    LoadQueueProcessor processor = new LoadQueueProcessor(
+        StubApiProvider.create(threadCount, engine(handler)),
+        source, threadCount, maxAttempts, retryDelay);
+    processor.start();
+    return processor;
+  }
+
+  /**
+   * Stops the specified processor and waits for it to complete.
+   */
+  private static void stop(LoadQueueProcessor processor) {
+    processor.complete();
+    processor.join();
+  }
+
+  /**
+   * Waits up to ten seconds for the specified condition.
+   */
+  private static boolean await(BooleanSupplier condition)
+      throws InterruptedException
+  {
+    long end = System.currentTimeMillis() + 10000L;
+    while (!condition.getAsBoolean()) {
+      if (System.currentTimeMillis() > end) return false;
+      Thread.sleep(10L);
+    }
+    return true;
+  }
+
+  /**
+   * Extracts the version from the specified record JSON text.
+   */
+  private static int version(String recordJson) {
+    int start = recordJson.indexOf("\"VERSION\":") + "\"VERSION\":".length();
+    return Integer.parseInt(
+        recordJson.substring(start, recordJson.indexOf('}', start)));
+  }
+
+  @Test
+  public void laneOrderTest() {
+    try {
+      Map<String, List<Integer>> versions = new HashMap<>();
+      Random random = new Random(1L);
+      TestSource source = new TestSource();
+      LoadQueueProcessor processor = start(source, 4, 1, 0L,
+          (recordId, recordJson) -> {
+            Thread.sleep(random.nextInt(3));
+            synchronized (versions) {
+              versions.computeIfAbsent(recordId, k -> new ArrayList<>())
+                  .add(version(recordJson));
+            }
+            return 0;
+          });
+
+      List<TestMessage> messages = new ArrayList<>();
+      for (int version = 0; version < 10; version++) {
+        for (int record = 0; record < 8; record++) {
+          TestMessage message = new TestMessage("R" + record, version);
+          messages.add(message);
+          source.offer(message);
+        }
+      }
+      assertTrue(await(() -> messages.stream().allMatch(m -> m.acknowledged)),
+                 "Messages not all acknowledged");
+      stop(processor);
+
+      List<Integer> expected = new ArrayList<>();
+      for (int version = 0; version < 10; version++) expected.add(version);
+      for (int record = 0; record < 8; record++) {
+        assertEquals(expected, versions.get("R" + record),
+                     "Messages for record R" + record + " out of order");
+      }
+      assertEquals(80L, processor.getStatus().getLoadedCount(),
+                   "Unexpected loaded count");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void acknowledgeAfterEngineTest() {
+    try {
+      CountDownLatch entered = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      TestSource source = new TestSource();
+      LoadQueueProcessor processor = start(source, 1, 1, 0L,
+          (recordId, recordJson) -> {
+            entered.countDown();
+            release.await();
+            return 0;
+          });
+
+      TestMessage message = new TestMessage("R1", 0);
+      source.offer(message);
+      assertTrue(entered.await(10, TimeUnit.SECONDS),
+                 "Message not handed to the engine");
+      Thread.sleep(50L);
+      assertFalse(message.isSettled(),
+                  "Message settled before the engine call completed");
+
+      release.countDown();
+      assertTrue(await(() -> message.acknowledged),
+                 "Message not acknowledged after the engine call");
+      assertFalse(message.rejected, "Message rejected");
+      stop(processor);
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void retryTest() {
+    try {
+      AtomicInteger attempts = new AtomicInteger(0);
+      List<Integer> versions = Collections.synchronizedList(new ArrayList<>());
+      TestSource source = new TestSource();
+      LoadQueueProcessor processor = start(source, 1, 5, 10L,
+          (recordId, recordJson) -> {
+            // fail the first message twice as if reinitializing
+            if (version(recordJson) == 0 && attempts.incrementAndGet() < 3) {
+              return RETRYABLE_CODE;
+            }
+            versions.add(version(recordJson));
+            return 0;
+          });
+
+      TestMessage first   = new TestMessage("R1", 0);
+      TestMessage second  = new TestMessage("R1", 1);
+      source.offer(first);
+      source.offer(second);
+      assertTrue(await(() -> first.acknowledged && second.acknowledged),
+                 "Messages not acknowledged");
+      stop(processor);
+
+      assertEquals(List.of(0, 1), versions,
+                   "Later message not held behind the retried message");
+      assertEquals(2L, processor.getRetriedCount(),
+                   "Unexpected retried count");
+      assertEquals(0L, processor.getStatus().getFailedCount(),
+                   "Unexpected failed count");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void permanentFailureTest() {
+    try {
+      AtomicInteger attempts = new AtomicInteger(0);
+      TestSource source = new TestSource();
+      LoadQueueProcessor processor = start(source, 1, 3, 10L,
+          (recordId, recordJson) -> {
+            attempts.incrementAndGet();
+            return ("R1".equals(recordId))
+                ? DATA_SOURCE_NOT_FOUND_CODE : RETRYABLE_CODE;
+          });
+
+      // a permanent failure is rejected without retrying
+      TestMessage permanent = new TestMessage("R1", 0);
+      source.offer(permanent);
+      assertTrue(await(() -> permanent.rejected),
+                 "Permanently failed message not rejected");
+      assertEquals(1, attempts.get(), "Permanent failure was retried");
+
+      // a retryable failure is rejected once the attempts are exhausted
+      TestMessage retryable = new TestMessage("R2", 0);
+      source.offer(retryable);
+      assertTrue(await(() -> retryable.rejected),
+                 "Message not rejected after the last attempt");
+      assertEquals(4, attempts.get(), "Unexpected number of attempts");
+      stop(processor);
+
+      assertFalse(permanent.acknowledged || retryable.acknowledged,
+                  "Failed message acknowledged");
+      assertEquals(2L, processor.getStatus().getFailedCount(),
+                   "Unexpected failed count");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void completeWhileRetryingTest() {
+    try {
+      AtomicBoolean attempted = new AtomicBoolean(false);
+      TestSource source = new TestSource();
+      LoadQueueProcessor processor = start(source, 1, 5, 60000L,
+          (recordId, recordJson) -> {
+            attempted.set(true);
+            return RETRYABLE_CODE;
+          });
+
+      TestMessage message = new TestMessage("R1", 0);
+      source.offer(message);
+      assertTrue(await(attempted::get), "Message not handed to the engine");
+
+      // stopping while waiting to retry leaves the message for redelivery
+      long start = System.nanoTime();
+      stop(processor);
+      assertTrue((System.nanoTime() - start) < 30000000000L,
+                 "Stopping waited for the retry delay");
+      assertFalse(message.isSettled(),
+                  "Message settled instead of left for redelivery");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void fullLanePauseTest() {
+    try {
+      CountDownLatch release = new CountDownLatch(1);
+      List<Integer> versions = Collections.synchronizedList(new ArrayList<>());
+      TestSource source = new TestSource(true);
+      LoadQueueProcessor processor = start(source, 1, 1, 0L,
+          (recordId, recordJson) -> {
+            release.await();
+            versions.add(version(recordJson));
+            return 0;
+          });
+
+      // one being processed, a full lane and the rest held back
+      int count = LoadQueueProcessor.LANE_CAPACITY + 21;
+      List<TestMessage> messages = new ArrayList<>();
+      for (int version = 0; version < count; version++) {
+        TestMessage message = new TestMessage("R1", version);
+        messages.add(message);
+        source.offer(message);
+      }
+      assertTrue(await(() -> source.pauseCount.get() >= 20),
+                 "Source not paused for the held back messages");
+
+      // the source keeps being polled while the lane is full
+      int receives = source.receiveCount.get();
+      Thread.sleep(200L);
+      assertTrue(source.receiveCount.get() > receives + 1,
+                 "Source not polled while the lane was full");
+      assertEquals(0, source.resumeCount.get(), "Source resumed early");
+
+      release.countDown();
+      assertTrue(await(() -> messages.stream().allMatch(m -> m.acknowledged)),
+                 "Messages not all acknowledged");
+      stop(processor);
+
+      List<Integer> expected = new ArrayList<>();
+      for (int version = 0; version < count; version++) expected.add(version);
+      assertEquals(expected, versions, "Messages processed out of order");
+      assertEquals(source.pauseCount.get(), source.resumeCount.get(),
+                   "Source not resumed for each held back message");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void fullLaneNoPauseTest() {
+    try {
+      CountDownLatch release = new CountDownLatch(1);
+      TestSource source = new TestSource();
+      LoadQueueProcessor processor = start(source, 1, 1, 0L,
+          (recordId, recordJson) -> {
+            release.await();
+            return 0;
+          });
+
+      // without pausing no more are received than can be held back
+      int capacity = LoadQueueProcessor.LANE_CAPACITY;
+      List<TestMessage> messages = new ArrayList<>();
+      for (int version = 0; version < capacity * 3; version++) {
+        TestMessage message = new TestMessage("R1", version);
+        messages.add(message);
+        source.offer(message);
+      }
+      assertTrue(await(() -> source.queue.size() <= capacity),
+                 "Messages not received");
+      Thread.sleep(200L);
+      assertTrue(source.queue.size() >= capacity - 1,
+                 "Received more messages than could be held back: "
+                 + (capacity * 3 - source.queue.size()));
+      assertEquals(0, source.pauseCount.get(), "Source paused");
+
+      release.countDown();
+      assertTrue(await(() -> messages.stream().allMatch(m -> m.acknowledged)),
+                 "Messages not all acknowledged");
+      stop(processor);
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package com.senzing.api.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link RecordFingerprintIndex}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class RecordFingerprintIndexTest {
+  private static final String RECORD_A
+      = "{\"DATA_SOURCE\":\"CUSTOMERS\",\"RECORD_ID\":\"1\","
+      + "\"NAME_FULL\":\"Joe Schmoe\"}";
+
+  private static final String RECORD_A_SPACED
+      = "{ \"DATA_SOURCE\": \"CUSTOMERS\", \"RECORD_ID\": \"1\",\n"
+      + "  \"NAME_FULL\": \"Joe Schmoe\" }";
+
+  private static final String RECORD_B
+      = "{\"DATA_SOURCE\":\"CUSTOMERS\",\"RECORD_ID\":\"1\","
+      + "\"NAME_FULL\":\"Joe  Schmoe\"}";
+
+  @Test
+  public void fingerprintTest() {
+    assertEquals(RecordFingerprintIndex.fingerprint(RECORD_A),
+                 RecordFingerprintIndex.fingerprint(RECORD_A_SPACED),
+                 "White space outside of strings changed the fingerprint");
+    assertNotEquals(RecordFingerprintIndex.fingerprint(RECORD_A),
+                    RecordFingerprintIndex.fingerprint(RECORD_B),
+                    "White space inside of strings was ignored");
+  }
+
+  @Test
+  public void duplicateTest() {
+    RecordFingerprintIndex index = new RecordFingerprintIndex();
+    long a = RecordFingerprintIndex.fingerprint(RECORD_A);
+    long b = RecordFingerprintIndex.fingerprint(RECORD_B);
+
+    assertFalse(index.isDuplicate("CUSTOMERS", "1", a),
+                "Record was a duplicate before any were recorded");
+    index.record("CUSTOMERS", "1", a);
+    assertTrue(index.isDuplicate("CUSTOMERS", "1", a),
+               "Exact copy was not a duplicate");
+    assertFalse(index.isDuplicate("EMPLOYEES", "1", a),
+                "Record from another data source was a duplicate");
+
+    // a changed record replaces the fingerprint for the key
+    assertFalse(index.isDuplicate("CUSTOMERS", "1", b),
+                "Changed record was a duplicate");
+    index.record("CUSTOMERS", "1", b);
+    assertFalse(index.isDuplicate("CUSTOMERS", "1", a),
+                "Record matching an earlier version was a duplicate");
+    assertTrue(index.isDuplicate("CUSTOMERS", "1", b),
+               "Copy of the changed record was not a duplicate");
+    assertEquals(1, index.size(), "Unexpected index size");
+
+    // records without a record ID are keyed by their content
+    index.record("CUSTOMERS", null, a);
+    assertFalse(index.isDuplicate("CUSTOMERS", null, b),
+                "Different record without a record ID was a duplicate");
+    assertTrue(index.isDuplicate("CUSTOMERS", null, a),
+               "Copy of a record without a record ID was not a duplicate");
+  }
+
+  @Test
+  public void recordTest() {
+    RecordFingerprintIndex index = new RecordFingerprintIndex();
+    int count = 5000;
+
+    // record every other record as if the others failed to load
+    for (int recordId = 0; recordId < count; recordId += 2) {
+      index.record("CUSTOMERS", "" + recordId, recordId);
+    }
+    assertEquals(count / 2, index.size(), "Unexpected index size");
+
+    for (int recordId = 0; recordId < count; recordId++) {
+      assertEquals((recordId % 2) == 0,
+                   index.isDuplicate("CUSTOMERS", "" + recordId, recordId),
+                   "Unexpected duplicate status: " + recordId);
+    }
+
+    // records with the same key share a lock
+    assertSame(index.lockFor("CUSTOMERS", "1", 1L),
+               index.lockFor("CUSTOMERS", "1", 2L),
+               "Records with the same key have different locks");
+  }
+}
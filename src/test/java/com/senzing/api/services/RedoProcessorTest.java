@@ -0,0 +1,280 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzRedoPriority;
+import com.senzing.api.model.SzRedoProcessorStatus;
+import com.senzing.g2.engine.G2Engine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link RedoProcessor}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class RedoProcessorTest {
+  /**
+   * A stub engine that hands out the redo records that are offered to it.
+   */
+  private static class RedoEngine {
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+    private final List<String> processed
+        = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger redoCalls = new AtomicInteger(0);
+    private volatile String failedRecord = null;
+    private volatile boolean redoFailure = false;
+    private volatile CountDownLatch entered = null;
+    private volatile CountDownLatch release = null;
+
+    /**
+     * Creates the {@link G2Engine} backed by this instance.
+     */
+    private G2Engine engine() {
+      return StubApiProvider.engine((proxy, method, args) -> {
+        switch (method.getName()) {
+          case "getRedoRecord":
+            this.redoCalls.incrementAndGet();
+            if (this.redoFailure) return -1;
+            String redoRecord = this.pending.poll();
+            if (redoRecord != null) {
+              ((StringBuffer) args[0]).append(redoRecord);
+            }
+            return 0;
+          case "process":
+            String record = (String) args[0];
+            if (this.entered != null) {
+              this.entered.countDown();
+              this.release.await();
+            }
+            if (record.equals(this.failedRecord)) return -1;
+            this.processed.add(record);
+            return 0;
+          case "getLastException":
+            return "Engine failure";
+          default:
+            return StubApiProvider.defaultValue(method.getReturnType());
+        }
+      });
+    }
+  }
+
+  /**
+   * Creates a stub {@link SzApiProvider} for the specified engine that
+   * records the names of the methods used to execute tasks.
+   */
+  private static SzApiProvider provider(RedoEngine engine, List<String> calls)
+  {
+    SzApiProvider stub = StubApiProvider.create(1, engine.engine());
+    return (SzApiProvider) Proxy.newProxyInstance(
+        SzApiProvider.class.getClassLoader(),
+        new Class<?>[] { SzApiProvider.class },
+        (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "equals":
+              return (proxy == args[0]);
+            case "hashCode":
+              return System.identityHashCode(proxy);
+            case "executeInThread":
+            case "executeInIdleThread":
+              calls.add(method.getName());
+              // fall through
+            default:
+              try {
+                return method.invoke(stub, args);
+              } catch (InvocationTargetException e) {
+                throw e.getCause();
+              }
+          }
+        });
+  }
+
+  /**
+   * Waits up to ten seconds for the specified condition.
+   */
+  private static boolean await(BooleanSupplier condition)
+      throws InterruptedException
+  {
+    long end = System.currentTimeMillis() + 10000L;
+    while (!condition.getAsBoolean()) {
+      if (System.currentTimeMillis() > end) return false;
+      Thread.sleep(10L);
+    }
+    return true;
+  }
+
+  @Test
+  public void drainTest() {
+    try {
+      RedoEngine engine = new RedoEngine();
+      engine.failedRecord = "REDO-13";
+      Set<String> expected = new TreeSet<>();
+      for (int index = 0; index < 50; index++) {
+        engine.pending.add("REDO-" + index);
+        if (index != 13) expected.add("REDO-" + index);
+      }
+      List<String> calls = Collections.synchronizedList(new ArrayList<>());
+      SzApiProvider provider = provider(engine, calls);
+      RedoProcessor processor
+          = new RedoProcessor(provider, 2, SzRedoPriority.LOW);
+      processor.start();
+      assertSame(processor, RedoProcessor.getInstance(provider),
+                 "Processor not registered for the provider");
+
+      assertTrue(await(() -> {
+        SzRedoProcessorStatus status = processor.getStatus();
+        return status.getProcessedRedoCount()
+            + status.getFailedRedoCount() == 50L;
+      }), "Redo records not drained");
+      processor.complete();
+      processor.join();
+
+      SzRedoProcessorStatus status = processor.getStatus();
+      assertEquals(49L, status.getProcessedRedoCount(),
+                   "Unexpected processed count");
+      assertEquals(1L, status.getFailedRedoCount(),
+                   "Unexpected failed count");
+      assertEquals(expected, new TreeSet<>(engine.processed),
+                   "Unexpected processed redo records");
+      assertEquals(49, engine.processed.size(),
+                   "Redo records processed more than once");
+
+      // low priority only uses idle engine threads
+      assertTrue(calls.contains("executeInIdleThread"),
+                 "Idle engine threads not used");
+      assertFalse(calls.contains("executeInThread"),
+                  "Engine threads used at low priority");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void normalPriorityTest() {
+    try {
+      RedoEngine engine = new RedoEngine();
+      engine.pending.add("REDO-1");
+      List<String> calls = Collections.synchronizedList(new ArrayList<>());
+      RedoProcessor processor = new RedoProcessor(
+          provider(engine, calls), 1, SzRedoPriority.NORMAL);
+      processor.start();
+      assertTrue(await(() -> engine.processed.size() == 1),
+                 "Redo record not processed");
+      processor.complete();
+      processor.join();
+
+      assertTrue(calls.contains("executeInThread"),
+                 "Engine threads not used");
+      assertFalse(calls.contains("executeInIdleThread"),
+                  "Idle engine threads used at normal priority");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void backOffTest() {
+    try {
+      // checks once then waits for the idle period when there are none
+      RedoEngine emptyEngine = new RedoEngine();
+      RedoProcessor emptyProcessor = new RedoProcessor(
+          provider(emptyEngine, new ArrayList<>()), 1, null);
+
+      // a failure to obtain a redo record also waits for the idle period
+      RedoEngine failingEngine = new RedoEngine();
+      failingEngine.redoFailure = true;
+      RedoProcessor failingProcessor = new RedoProcessor(
+          provider(failingEngine, new ArrayList<>()), 1, null);
+
+      emptyProcessor.start();
+      failingProcessor.start();
+      assertTrue(await(() -> emptyEngine.redoCalls.get() > 0
+                           && failingEngine.redoCalls.get() > 0),
+                 "Redo records not requested");
+      Thread.sleep(500L);
+
+      assertEquals(1, emptyEngine.redoCalls.get(),
+                   "Did not back off when no redo records were pending");
+      assertEquals(1, failingEngine.redoCalls.get(),
+                   "Did not back off when obtaining a redo record failed");
+      assertEquals(0L, failingProcessor.getStatus().getFailedRedoCount(),
+                   "Failure to obtain a redo record counted as failed");
+
+      emptyProcessor.complete();
+      failingProcessor.complete();
+      emptyProcessor.join();
+      failingProcessor.join();
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void shutdownTest() {
+    try {
+      // completing wakes the threads that are waiting for the idle period
+      RedoEngine idleEngine = new RedoEngine();
+      SzApiProvider idleProvider = provider(idleEngine, new ArrayList<>());
+      RedoProcessor idleProcessor = new RedoProcessor(idleProvider, 2, null);
+      idleProcessor.start();
+      assertTrue(await(() -> idleEngine.redoCalls.get() == 2),
+                 "Redo records not requested");
+
+      long start = System.nanoTime();
+      idleProcessor.complete();
+      idleProcessor.join();
+      long millis = (System.nanoTime() - start) / 1000000L;
+      assertTrue(millis < RedoProcessor.IDLE_PERIOD,
+                 "Completing waited for the idle period: " + millis + "ms");
+      assertFalse(idleProcessor.getStatus().isRunning(),
+                  "Processor still running");
+      assertNull(RedoProcessor.getInstance(idleProvider),
+                 "Processor still registered for the provider");
+      assertThrows(IllegalStateException.class, idleProcessor::start,
+                   "Restarted after completing");
+
+      // completing finishes the redo record being processed first
+      RedoEngine busyEngine = new RedoEngine();
+      busyEngine.entered = new CountDownLatch(1);
+      busyEngine.release = new CountDownLatch(1);
+      busyEngine.pending.add("REDO-1");
+      busyEngine.pending.add("REDO-2");
+      RedoProcessor busyProcessor = new RedoProcessor(
+          provider(busyEngine, new ArrayList<>()), 1, null);
+      busyProcessor.start();
+      assertTrue(busyEngine.entered.await(10, TimeUnit.SECONDS),
+                 "Redo record not processed");
+      busyProcessor.complete();
+      busyEngine.release.countDown();
+      busyProcessor.join();
+
+      assertEquals(List.of("REDO-1"), busyEngine.processed,
+                   "In-flight redo record not finished or more processed");
+      assertEquals(1L, busyProcessor.getStatus().getProcessedRedoCount(),
+                   "Unexpected processed count");
+      assertEquals(List.of("REDO-2"), new ArrayList<>(busyEngine.pending),
+                   "Pending redo record obtained after completing");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+}
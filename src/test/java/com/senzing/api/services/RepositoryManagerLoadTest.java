@@ -0,0 +1,179 @@
+package com.senzing.api.services;
+
+import com.senzing.g2.engine.G2Engine;
+import com.senzing.g2.engine.Result;
+import com.senzing.repomgr.RepositoryManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.json.JsonObject;
+import java.io.File;
+import java.util.*;
+
+import static com.senzing.util.LoggingUtilities.formatError;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.Lifecycle;
+
+/**
+ * Tests loading files with the {@link RepositoryManager} using multiple
+ * threads.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class RepositoryManagerLoadTest extends AbstractServiceTest {
+  private static final String EMPLOYEES = "EMPLOYEES";
+  private static final String VIPS      = "VIPS";
+
+  /**
+   * The number of records in each file.
+   */
+  private static final int RECORD_COUNT = 500;
+
+  /**
+   * The number of threads with which to load the files.
+   */
+  private static final int THREAD_COUNT = 4;
+
+  private boolean employeesLoaded = false;
+  private boolean vipsLoaded      = false;
+  private Result<Integer> employeesLoadedCount  = new Result<>();
+  private Result<Integer> employeesFailedCount  = new Result<>();
+  private Result<Integer> vipsLoadedCount       = new Result<>();
+  private Result<Integer> vipsFailedCount       = new Result<>();
+  private SzApiProvider provider = null;
+
+  @BeforeAll
+  public void initializeEnvironment() {
+    this.beginTests();
+    this.initializeTestEnvironment();
+  }
+
+  @AfterAll
+  public void teardownEnvironment() {
+    try {
+      this.teardownTestEnvironment();
+      this.conditionallyLogCounts(true);
+    } finally {
+      this.endTests();
+    }
+  }
+
+  /**
+   * Overridden to load the files using multiple threads.  The VIP records
+   * resolve to the employee records and the VIP data source is only added
+   * by the load.
+   */
+  @Override
+  protected void prepareRepository() {
+    File repoDirectory = this.getRepositoryDirectory();
+
+    RepositoryManager.configSources(repoDirectory,
+                                    Collections.singleton(EMPLOYEES),
+                                    true);
+
+    File employeeFile = this.prepareFile("employees-", "EMP-", 0);
+    File vipFile      = this.prepareFile("vips-", "VIP-", 7);
+    employeeFile.deleteOnExit();
+    vipFile.deleteOnExit();
+
+    this.employeesLoaded = RepositoryManager.loadFile(
+        repoDirectory, false, employeeFile, EMPLOYEES, null,
+        this.employeesLoadedCount, this.employeesFailedCount,
+        true, THREAD_COUNT);
+
+    this.vipsLoaded = RepositoryManager.loadFile(
+        repoDirectory, false, vipFile, VIPS, null,
+        this.vipsLoadedCount, this.vipsFailedCount,
+        true, THREAD_COUNT);
+  }
+
+  /**
+   * Prepares a JSON-lines file of {@link #RECORD_COUNT} records with the
+   * specified record ID prefix, sharing the names, phone numbers and
+   * addresses in groups so that the records resolve to one another.
+   */
+  private File prepareFile(String filePrefix, String idPrefix, int offset) {
+    String[] headers = {
+        "RECORD_ID", "NAME_FIRST", "NAME_LAST", "PHONE_NUMBER", "ADDR_FULL" };
+
+    String[] firstNames = { "JOE", "JANE", "JOHN", "JILL", "JACK", "JEAN" };
+    String[][] records = new String[RECORD_COUNT][];
+    for (int index = 0; index < RECORD_COUNT; index++) {
+      int group = (index + offset) / 3;
+      records[index] = new String[] {
+          idPrefix + index,
+          firstNames[group % firstNames.length],
+          "SCHMOE" + group,
+          "702-555-" + (1000 + group),
+          group + " MAIN STREET, LAS VEGAS, NV 89101" };
+    }
+    return this.prepareJsonFile(filePrefix, headers, records);
+  }
+
+  @Override
+  protected void doPostServerInitialization(SzApiProvider provider,
+                                            long          configId,
+                                            JsonObject    configJson)
+  {
+    super.doPostServerInitialization(provider, configId, configJson);
+    this.provider = provider;
+  }
+
+  @Test
+  public void loadCountTest() {
+    this.performTest(() -> {
+      assertTrue(this.employeesLoaded, "Employee file not loaded");
+      assertEquals(RECORD_COUNT, this.employeesLoadedCount.getValue(),
+                   "Unexpected employee loaded count");
+      assertEquals(0, this.employeesFailedCount.getValue(),
+                   "Unexpected employee failed count");
+
+      assertTrue(this.vipsLoaded, "VIP file not loaded");
+      assertEquals(RECORD_COUNT, this.vipsLoadedCount.getValue(),
+                   "Unexpected VIP loaded count");
+      assertEquals(0, this.vipsFailedCount.getValue(),
+                   "Unexpected VIP failed count");
+    });
+  }
+
+  @Test
+  public void recordsLoadedTest() {
+    this.performTest(() -> {
+      G2Engine engineApi = this.provider.getEngineApi();
+      List<String> missing = this.provider.executeInThread(() -> {
+        List<String> result = new ArrayList<>();
+        for (int index = 0; index < RECORD_COUNT; index++) {
+          for (String[] pair : List.of(new String[] { EMPLOYEES, "EMP-" },
+                                       new String[] { VIPS, "VIP-" }))
+          {
+            StringBuffer sb = new StringBuffer();
+            String recordId = pair[1] + index;
+            if (engineApi.getRecord(pair[0], recordId, sb) != 0) {
+              result.add(pair[0] + ":" + recordId);
+            }
+          }
+        }
+        return result;
+      });
+      assertEquals(Collections.emptyList(), missing,
+                   "Records missing after loading");
+    });
+  }
+
+  @Test
+  public void redoDrainedTest() {
+    this.performTest(() -> {
+      G2Engine engineApi = this.provider.getEngineApi();
+      long redoCount = this.provider.executeInThread(() -> {
+        long result = engineApi.countRedoRecords();
+        if (result < 0) {
+          throw new IllegalStateException(
+              formatError("G2Engine.countRedoRecords()", engineApi));
+        }
+        return result;
+      });
+      assertEquals(0L, redoCount, "Redo records pending after loading");
+    });
+  }
+}
@@ -0,0 +1,109 @@
+package com.senzing.api.services;
+
+import com.senzing.g2.engine.G2Engine;
+import com.senzing.util.WorkerThreadPool;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Creates stub {@link SzApiProvider} instances for testing the classes that
+ * use the provider without a Senzing repository.  Tasks are executed on the
+ * calling thread and the methods that are not stubbed return <tt>null</tt>,
+ * <tt>false</tt> or zero (0).
+ */
+class StubApiProvider implements InvocationHandler {
+  /**
+   * The concurrency for the provider.
+   */
+  private int concurrency;
+
+  /**
+   * The {@link G2Engine} for the provider.
+   */
+  private G2Engine engineApi;
+
+  /**
+   * Constructs with the specified concurrency and {@link G2Engine}.
+   */
+  private StubApiProvider(int concurrency, G2Engine engineApi) {
+    this.concurrency  = concurrency;
+    this.engineApi    = engineApi;
+  }
+
+  /**
+   * Creates a stub {@link SzApiProvider} with the specified concurrency and
+   * {@link G2Engine}.
+   *
+   * @param concurrency The concurrency for the provider.
+   * @param engineApi The {@link G2Engine} for the provider, or <tt>null</tt>
+   *                  if none.
+   *
+   * @return The stub {@link SzApiProvider}.
+   */
+  static SzApiProvider create(int concurrency, G2Engine engineApi) {
+    return (SzApiProvider) Proxy.newProxyInstance(
+        SzApiProvider.class.getClassLoader(),
+        new Class<?>[] { SzApiProvider.class },
+        new StubApiProvider(concurrency, engineApi));
+  }
+
+  /**
+   * Creates a stub {@link G2Engine} that delegates to the specified {@link
+   * InvocationHandler}.
+   *
+   * @param handler The {@link InvocationHandler} for the engine methods.
+   *
+   * @return The stub {@link G2Engine}.
+   */
+  static G2Engine engine(InvocationHandler handler) {
+    return (G2Engine) Proxy.newProxyInstance(
+        G2Engine.class.getClassLoader(),
+        new Class<?>[] { G2Engine.class },
+        handler);
+  }
+
+  /**
+   * Returns the default value for the specified return type.
+   *
+   * @param returnType The return type.
+   *
+   * @return <tt>false</tt> for <tt>boolean</tt>, zero (0) for the other
+   *         primitive types and otherwise <tt>null</tt>.
+   */
+  static Object defaultValue(Class<?> returnType) {
+    if (returnType == boolean.class) return Boolean.FALSE;
+    if (returnType == int.class) return 0;
+    if (returnType == long.class) return 0L;
+    if (returnType == double.class) return 0.0;
+    if (returnType == float.class) return 0.0F;
+    if (returnType == short.class) return (short) 0;
+    if (returnType == byte.class) return (byte) 0;
+    if (returnType == char.class) return (char) 0;
+    return null;
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args)
+      throws Throwable
+  {
+    switch (method.getName()) {
+      case "getConcurrency":
+        return this.concurrency;
+      case "getEngineApi":
+        return this.engineApi;
+      case "executeInThread":
+      case "executeInIdleThread":
+        return ((WorkerThreadPool.Task<?, ?>) args[0]).execute();
+      case "equals":
+        return (proxy == args[0]);
+      case "hashCode":
+        return System.identityHashCode(proxy);
+      case "toString":
+        return "StubApiProvider@" + System.identityHashCode(proxy);
+      default:
+        return defaultValue(method.getReturnType());
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package com.senzing.api.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link WebSocketChunkStream}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class WebSocketChunkStreamTest {
+  /**
+   * Reads the specified stream fully.
+   */
+  private static byte[] readFully(InputStream is) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    byte[] buffer = new byte[7];
+    for (int count = is.read(buffer); count >= 0; count = is.read(buffer)) {
+      baos.write(buffer, 0, count);
+    }
+    return baos.toByteArray();
+  }
+
+  @Test
+  public void creditTest() throws IOException {
+    List<Long> grants = Collections.synchronizedList(new ArrayList<>());
+    WebSocketChunkStream stream = new WebSocketChunkStream(10L, grants::add);
+
+    assertTrue(stream.offer(new byte[6]), "First chunk was rejected");
+    assertTrue(stream.offer(new byte[4]), "Chunk within credit was rejected");
+    assertThrows(IllegalStateException.class,
+                 () -> stream.offer(new byte[1]),
+                 "Chunk exceeding the credit was accepted");
+
+    // consuming half of the window grants that much credit
+    byte[] buffer = new byte[10];
+    assertEquals(6, stream.read(buffer), "Unexpected read count");
+    assertEquals(Collections.singletonList(6L), grants,
+                 "Unexpected credit grants");
+    assertTrue(stream.offer(new byte[6]), "Chunk within new credit rejected");
+
+    stream.finish();
+    assertFalse(stream.offer(new byte[1]), "Chunk accepted after finish");
+    assertEquals(10, readFully(stream).length, "Unexpected remaining bytes");
+    assertEquals(Collections.singletonList(6L), grants,
+                 "Credit granted after finish");
+  }
+
+  @Test
+  public void blockingTest() throws Exception {
+    WebSocketChunkStream stream = new WebSocketChunkStream(4L, null);
+    byte[] expected = "The quick brown fox jumps over the lazy dog."
+        .getBytes(StandardCharsets.UTF_8);
+
+    // offer three bytes at a time from another thread
+    Thread writer = new Thread(() -> {
+      try {
+        for (int index = 0; index < expected.length; index += 3) {
+          int end = Math.min(index + 3, expected.length);
+          byte[] chunk = new byte[end - index];
+          System.arraycopy(expected, index, chunk, 0, chunk.length);
+          assertTrue(stream.offer(chunk), "Chunk was rejected");
+          assertTrue(stream.getBufferedBytes() <= 6L, "Buffer overflowed");
+        }
+        stream.finish();
+      } catch (IOException e) {
+        fail(e);
+      }
+    });
+    writer.start();
+
+    assertArrayEquals(expected, readFully(stream), "Unexpected data");
+    writer.join();
+  }
+
+  @Test
+  public void gzipTest() throws IOException {
+    byte[] expected = ("{\"RECORD_ID\":\"1\"}\n{\"RECORD_ID\":\"2\"}\n")
+        .getBytes(StandardCharsets.UTF_8);
+
+    // compress the data in two gzip members
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    for (int member = 0; member < 2; member++) {
+      GZIPOutputStream gos = new GZIPOutputStream(baos);
+      gos.write(expected, member * 18, 18);
+      gos.finish();
+    }
+    byte[] compressed = baos.toByteArray();
+
+    // send the compressed data in small chunks
+    WebSocketChunkStream stream = new WebSocketChunkStream(1024L, null);
+    for (int index = 0; index < compressed.length; index += 5) {
+      int end = Math.min(index + 5, compressed.length);
+      byte[] chunk = new byte[end - index];
+      System.arraycopy(compressed, index, chunk, 0, chunk.length);
+      assertTrue(stream.offer(chunk), "Chunk was rejected");
+    }
+    stream.finish();
+
+    assertArrayEquals(expected, readFully(new GZIPInputStream(stream)),
+                      "Unexpected decompressed data");
+  }
+
+  @Test
+  public void closeTest() throws Exception {
+    WebSocketChunkStream stream = new WebSocketChunkStream(2L, null);
+    assertTrue(stream.offer(new byte[2]), "First chunk was rejected");
+
+    // a blocked offer is released when the reader closes the stream
+    boolean[] accepted = { true };
+    Thread writer = new Thread(() -> {
+      try {
+        accepted[0] = stream.offer(new byte[2]);
+      } catch (IOException e) {
+        fail(e);
+      }
+    });
+    writer.start();
+    Thread.sleep(100L);
+    stream.close();
+    writer.join(5000L);
+    assertFalse(writer.isAlive(), "Offer still blocked after close");
+    assertFalse(accepted[0], "Chunk accepted after close");
+    assertTrue(stream.isFinished(), "Closed stream is not finished");
+  }
+}
@@ -0,0 +1,253 @@
+package com.senzing.io;
+
+import com.senzing.util.JsonUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link JsonRecordText}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class JsonRecordTextTest {
+  /**
+   * Asserts that every top-level property of the specified record text has
+   * the same string value as when the text is parsed with the full parser.
+   */
+  private static void assertSameAsParsed(String text, JsonRecordText record) {
+    JsonObject     object = JsonUtils.parseJsonObject(text);
+    JsonRecordText parsed = JsonRecordText.of(object);
+    for (String key : object.keySet()) {
+      assertEquals(parsed.getString(key, "DEFAULT"),
+                   record.getString(key, "DEFAULT"),
+                   "Value differs from the parsed value for key " + key
+                   + " of " + text);
+    }
+    assertEquals(object, record.toJsonObject(),
+                 "Object differs from the parsed object: " + text);
+  }
+
+  @Test
+  public void escapeTest() {
+    try {
+      String text = "{\"ESCAPES\":\"\\\"\\\\\\/\\b\\f\\n\\r\\t\","
+          + "\"UNICODE\":\"Jos\\u00e9 \\u00C9\","
+          + "\"SURROGATES\":\"smile \\ud83d\\ude00!\","
+          + "\"N\\u0041ME\":\"escaped key\","
+          + "\"PLAIN\":\"no escapes\"}";
+      JsonRecordText record = JsonRecordText.parse(text);
+
+      assertTrue(record.isTextBacked(), "Escaped record not text-backed");
+      assertEquals("\"\\/\b\f\n\r\t", record.getString("ESCAPES"),
+                   "Unexpected escape decoding");
+      assertEquals("Jos\u00e9 \u00c9", record.getString("UNICODE"),
+                   "Unexpected unicode escape decoding");
+      assertEquals("smile \uD83D\uDE00!", record.getString("SURROGATES"),
+                   "Unexpected surrogate pair decoding");
+      assertEquals("escaped key", record.getString("NAME"),
+                   "Escaped key not decoded");
+      assertEquals("no escapes", record.getString("PLAIN"),
+                   "Unexpected plain string");
+      assertSame(text, record.toJsonText(), "Original text not returned");
+      assertSameAsParsed(text, record);
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void nestedTest() {
+    try {
+      String text = "{ \"DATA_SOURCE\" : \"TEST\" ,\n"
+          + "  \"ADDRESSES\": [ {\"ADDR_LINE1\":\"101 Main St\","
+          + "\"ADDR_TYPE\":\"HOME\"}, {\"ADDR_LINE1\":\"}]\\\"\"} ],\n"
+          + "  \"PROFILE\": {\"TAGS\":[[],[1,2.5,true,null],{}],"
+          + "\"NAME\":{\"FIRST\":\"JOE\"}},\n"
+          + "  \"EMPTY_ARRAY\":[], \"EMPTY_OBJECT\":{},\n"
+          + "  \"RECORD_ID\":\"ABC123\" }";
+      JsonRecordText record = JsonRecordText.parse(text);
+
+      assertTrue(record.isTextBacked(), "Nested record not text-backed");
+      assertEquals("TEST", record.getString("DATA_SOURCE"),
+                   "Unexpected value before the nested values");
+      assertEquals("ABC123", record.getString("RECORD_ID"),
+                   "Unexpected value after the nested values");
+      assertNull(record.getString("FIRST"),
+                 "Nested key treated as a top-level key");
+      assertSameAsParsed(text, record);
+
+      // overrides are spliced around the nested values
+      JsonRecordText updated = record.with(Map.of("RECORD_ID", "XYZ"));
+      assertEquals("XYZ", updated.getString("RECORD_ID"),
+                   "Override not applied");
+      JsonObject object = updated.toJsonObject();
+      assertEquals(JsonUtils.parseJsonObject(text).get("PROFILE"),
+                   object.get("PROFILE"), "Nested object not preserved");
+      assertEquals(JsonUtils.parseJsonObject(text).get("ADDRESSES"),
+                   object.get("ADDRESSES"), "Nested array not preserved");
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void scalarTest() {
+    try {
+      String text = "{\"INTEGER\":42,\"NEGATIVE\":-7,\"ZERO\":0,"
+          + "\"DECIMAL\":-0.50,\"EXPONENT\":1e3,\"SIGNED_EXPONENT\":2.5E-2,"
+          + "\"TRUE\":true,\"FALSE\":false,\"NULL\":null}";
+      JsonRecordText record = JsonRecordText.parse(text);
+
+      assertTrue(record.isTextBacked(), "Scalar record not text-backed");
+      assertEquals("42", record.getString("INTEGER"), "Unexpected integer");
+      assertEquals("-7", record.getString("NEGATIVE"), "Unexpected negative");
+      assertEquals("0", record.getString("ZERO"), "Unexpected zero");
+      assertEquals("-0.50", record.getString("DECIMAL"), "Unexpected decimal");
+      assertEquals("true", record.getString("TRUE"), "Unexpected true");
+      assertEquals("false", record.getString("FALSE"), "Unexpected false");
+      assertNull(record.getString("NULL"), "Unexpected null");
+      assertEquals("DEFAULT", record.getString("NULL", "DEFAULT"),
+                   "Default not returned for null");
+      assertEquals("DEFAULT", record.getString("MISSING", "DEFAULT"),
+                   "Default not returned for a missing key");
+      assertSameAsParsed(text, record);
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void duplicateKeyTest() {
+    try {
+      // duplicates are detected both linearly and once there are many keys
+      StringBuilder sb = new StringBuilder("{");
+      for (int index = 0; index < 40; index++) {
+        sb.append("\"KEY_").append(index).append("\":\"").append(index)
+            .append("\",");
+      }
+      List<String> texts = List.of(
+          "{\"NAME\":\"JOE\",\"NAME\":\"JANE\"}",
+          "{\"NAME\":\"JOE\",\"N\\u0041ME\":\"JANE\"}",
+          sb.toString() + "\"KEY_3\":\"LAST\"}");
+
+      for (String text : texts) {
+        JsonRecordText record = JsonRecordText.parse(text);
+        assertFalse(record.isTextBacked(),
+                    "Duplicate keys did not fall back to the full parser: "
+                    + text);
+        assertSameAsParsed(text, record);
+      }
+
+      String unique = sb.toString() + "\"KEY_40\":\"40\"}";
+      JsonRecordText record = JsonRecordText.parse(unique);
+      assertTrue(record.isTextBacked(), "Unique keys not text-backed");
+      assertEquals("17", record.getString("KEY_17"), "Unexpected value");
+      assertSameAsParsed(unique, record);
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  @Test
+  public void trailingContentTest() {
+    try {
+      String text = "  {\"NAME\":\"JOE\"} \r\n\t";
+      JsonRecordText record = JsonRecordText.parse(text);
+      assertTrue(record.isTextBacked(),
+                 "Trailing whitespace not text-backed");
+      assertEquals("JOE", record.getString("NAME"), "Unexpected value");
+
+      // trailing content defers to the full parser for the same outcome
+      for (String trailing : List.of("{\"NAME\":\"JOE\"} x",
+                                     "{\"NAME\":\"JOE\"}{}",
+                                     "{\"NAME\":\"JOE\"},"))
+      {
+        JsonObject expected = null;
+        JsonException expectedFailure = null;
+        try {
+          expected = JsonUtils.parseJsonObject(trailing);
+        } catch (JsonException e) {
+          expectedFailure = e;
+        }
+
+        if (expectedFailure != null) {
+          Class<? extends JsonException> failureClass
+              = expectedFailure.getClass();
+          assertThrows(failureClass, () -> JsonRecordText.parse(trailing),
+                       "Trailing content not rejected: " + trailing);
+        } else {
+          JsonRecordText result = JsonRecordText.parse(trailing);
+          assertFalse(result.isTextBacked(),
+                      "Trailing content did not fall back to the full "
+                      + "parser: " + trailing);
+          assertEquals(expected, result.toJsonObject(),
+                       "Unexpected object: " + trailing);
+        }
+      }
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Unexpected exception: " + e);
+    }
+  }
+
+  public List<String> getMalformedParameters() {
+    return List.of("",
+                   "   ",
+                   "[1,2]",
+                   "\"TEXT\"",
+                   "{",
+                   "{\"NAME\"}",
+                   "{\"NAME\":}",
+                   "{\"NAME\" \"JOE\"}",
+                   "{\"NAME\":\"JOE\"",
+                   "{\"NAME\":\"JOE\",}",
+                   "{\"NAME\":\"JOE}",
+                   "{\"NAME\":\"\\x\"}",
+                   "{\"NAME\":\"\\u12G4\"}",
+                   "{\"NAME\":\"\\u12\"}",
+                   "{\"NAME\":\"TAB\tTAB\"}",
+                   "{\"NAME\":tru}",
+                   "{\"NAME\":nul}",
+                   "{\"AGE\":01}",
+                   "{\"AGE\":1.}",
+                   "{\"AGE\":-}",
+                   "{\"AGE\":1e}",
+                   "{\"AGE\":+1}",
+                   "{NAME:\"JOE\"}",
+                   "{\"LIST\":[1,2}",
+                   "{\"LIST\":[1,]}",
+                   "{\"OBJECT\":{\"A\":1]}");
+  }
+
+  @ParameterizedTest
+  @MethodSource("getMalformedParameters")
+  public void malformedTest(String text) {
+    assertThrows(JsonException.class, () -> JsonRecordText.parse(text),
+                 "Malformed text not rejected: " + text);
+  }
+
+  @Test
+  public void nullTest() {
+    assertNull(JsonRecordText.parse(null), "Parsed null text not null");
+    assertNull(JsonRecordText.of(null), "Null object not null");
+  }
+}
@@ -0,0 +1,88 @@
+package com.senzing.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.*;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MappedFileInputStream}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class MappedFileInputStreamTest {
+  /**
+   * Creates a temporary file with the specified number of random bytes and
+   * returns the bytes.
+   */
+  private static byte[] writeTempFile(File file, int length)
+      throws IOException
+  {
+    byte[] bytes = new byte[length];
+    new Random(length).nextBytes(bytes);
+    try (FileOutputStream fos = new FileOutputStream(file)) {
+      fos.write(bytes);
+    }
+    file.deleteOnExit();
+    return bytes;
+  }
+
+  @Test
+  public void readTest() throws IOException {
+    File    file    = File.createTempFile("MappedFile-", ".dat");
+    byte[]  bytes   = writeTempFile(file, 10000);
+
+    // use a small window so the reads cross window boundaries
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (MappedFileInputStream is = new MappedFileInputStream(file, 333)) {
+      assertEquals(bytes.length, is.getLength(), "Unexpected length");
+      baos.write(is.read());
+      byte[] buffer = new byte[1000];
+      for (int count = is.read(buffer); count >= 0; count = is.read(buffer)) {
+        baos.write(buffer, 0, count);
+      }
+      assertEquals(-1, is.read(), "Did not return EOF");
+      assertEquals(bytes.length, is.getPosition(), "Unexpected position");
+    }
+    assertArrayEquals(bytes, baos.toByteArray(), "Unexpected content");
+  }
+
+  @Test
+  public void skipAndResetTest() throws IOException {
+    File    file    = File.createTempFile("MappedFile-", ".dat");
+    byte[]  bytes   = writeTempFile(file, 5000);
+
+    try (MappedFileInputStream is = new MappedFileInputStream(file, 256)) {
+      assertEquals(1000L, is.skip(1000L), "Unexpected skip count");
+      assertEquals(bytes[1000] & 0xFF, is.read(), "Unexpected byte");
+      is.mark(0);
+      assertEquals(3000L, is.skip(3000L), "Unexpected skip count");
+      assertEquals(bytes[4001] & 0xFF, is.read(), "Unexpected byte");
+      is.reset();
+      assertEquals(1001L, is.getPosition(), "Unexpected reset position");
+      assertEquals(bytes[1001] & 0xFF, is.read(), "Unexpected byte");
+      assertEquals(3998L, is.skip(10000L), "Skipped past the end");
+      assertEquals(0, is.available(), "Unexpected available bytes");
+      assertEquals(-1, is.read(), "Did not return EOF");
+    }
+  }
+
+  @Test
+  public void emptyAndClosedTest() throws IOException {
+    File file = File.createTempFile("MappedFile-", ".dat");
+    writeTempFile(file, 0);
+    MappedFileInputStream is = new MappedFileInputStream(file);
+    assertEquals(-1, is.read(), "Did not return EOF for an empty file");
+    is.close();
+    assertThrows(IOException.class, () -> is.read(),
+                 "Read from a closed stream");
+    assertThrows(IllegalArgumentException.class,
+                 () -> new MappedFileInputStream(file, 0),
+                 "Accepted a zero window size");
+  }
+}
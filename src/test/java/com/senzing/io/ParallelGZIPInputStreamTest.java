@@ -0,0 +1,159 @@
+package com.senzing.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.*;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ParallelGZIPInputStream}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class ParallelGZIPInputStreamTest {
+  /**
+   * Creates the specified number of bytes of compressible text.
+   */
+  private static byte[] createText(int length) {
+    Random        random  = new Random(length);
+    StringBuilder sb      = new StringBuilder();
+    while (sb.length() < length) {
+      sb.append("{\"RECORD_ID\":\"").append(random.nextInt(100000))
+          .append("\",\"NAME\":\"Joe ").append(random.nextInt(1000))
+          .append("\"}\n");
+    }
+    return sb.substring(0, length).getBytes();
+  }
+
+  /**
+   * Compresses the specified bytes as a standard gzip member.
+   */
+  private static byte[] gzip(byte[] bytes, int offset, int length)
+      throws IOException
+  {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (GZIPOutputStream gos = new GZIPOutputStream(baos)) {
+      gos.write(bytes, offset, length);
+    }
+    return baos.toByteArray();
+  }
+
+  /**
+   * Compresses the specified bytes as a BGZF member whose size is recorded
+   * in a "BC" extra subfield.
+   */
+  private static byte[] bgzf(byte[] bytes, int offset, int length) {
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    deflater.setInput(bytes, offset, length);
+    deflater.finish();
+    ByteArrayOutputStream data = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    while (!deflater.finished()) {
+      data.write(buffer, 0, deflater.deflate(buffer));
+    }
+    deflater.end();
+
+    CRC32 crc = new CRC32();
+    crc.update(bytes, offset, length);
+    int blockSize = 18 + data.size() + 8;
+
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    baos.writeBytes(new byte[] {
+        0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0,
+        'B', 'C', 2, 0,
+        (byte) ((blockSize - 1) & 0xFF), (byte) ((blockSize - 1) >> 8) });
+    baos.writeBytes(data.toByteArray());
+    writeInt(baos, crc.getValue());
+    writeInt(baos, length);
+    return baos.toByteArray();
+  }
+
+  /**
+   * Writes a little-endian int.
+   */
+  private static void writeInt(ByteArrayOutputStream baos, long value) {
+    for (int index = 0; index < 4; index++) {
+      baos.write((int) ((value >> (8 * index)) & 0xFF));
+    }
+  }
+
+  /**
+   * Reads all the bytes from a {@link ParallelGZIPInputStream} over the
+   * specified compressed bytes, reading in small and odd-sized pieces.
+   */
+  private static byte[] inflate(byte[] compressed) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (InputStream is = new ParallelGZIPInputStream(
+        new ByteArrayInputStream(compressed), 3))
+    {
+      byte[] buffer = new byte[777];
+      for (int count = is.read(buffer); count >= 0; count = is.read(buffer)) {
+        baos.write(buffer, 0, count);
+      }
+    }
+    return baos.toByteArray();
+  }
+
+  @Test
+  public void singleMemberTest() throws IOException {
+    byte[] text = createText(500000);
+    assertArrayEquals(text, inflate(gzip(text, 0, text.length)),
+                      "Unexpected content for a single member");
+  }
+
+  @Test
+  public void multiMemberTest() throws IOException {
+    byte[] text = createText(300000);
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    for (int offset = 0; offset < text.length; offset += 70000) {
+      int length = Math.min(70000, text.length - offset);
+      // alternate BGZF members with standard members
+      baos.writeBytes(((offset / 70000) % 2 == 0)
+                          ? bgzf(text, offset, length)
+                          : gzip(text, offset, length));
+    }
+    // the BGZF end-of-file marker is an empty member
+    baos.writeBytes(bgzf(text, 0, 0));
+    assertArrayEquals(text, inflate(baos.toByteArray()),
+                      "Unexpected content for multiple members");
+  }
+
+  @Test
+  public void bgzfTest() throws IOException {
+    byte[] text = createText(1000000);
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    for (int offset = 0; offset < text.length; offset += 60000) {
+      baos.writeBytes(bgzf(text, offset,
+                           Math.min(60000, text.length - offset)));
+    }
+    assertArrayEquals(text, inflate(baos.toByteArray()),
+                      "Unexpected content for BGZF members");
+  }
+
+  @Test
+  public void corruptTest() throws IOException {
+    byte[] text       = createText(10000);
+    byte[] compressed = bgzf(text, 0, text.length);
+    compressed[compressed.length - 6] ^= 0x55;
+    assertThrows(ZipException.class, () -> inflate(compressed),
+                 "Accepted a member with a corrupt CRC");
+
+    byte[] truncated = gzip(text, 0, text.length);
+    byte[] partial   = new byte[truncated.length / 2];
+    System.arraycopy(truncated, 0, partial, 0, partial.length);
+    assertThrows(EOFException.class, () -> inflate(partial),
+                 "Accepted a truncated member");
+
+    assertThrows(ZipException.class, () -> inflate(text),
+                 "Accepted data that is not gzip-compressed");
+  }
+}
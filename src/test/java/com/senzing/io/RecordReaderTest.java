@@ -11,10 +11,14 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import javax.json.*;
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -331,6 +335,168 @@ public class RecordReaderTest {
     }
   }
 
+  @ParameterizedTest
+  @MethodSource("getTestParameters")
+  public void readRecordTextTest(String              recordsText,
+                                 List<JsonObject>    expectedRecords,
+                                 Map<String,String>  dataSourceMap,
+                                 Map<String,String>  entityTypeMap,
+                                 String              sourceId)
+  {
+    StringReader sr = new StringReader(recordsText);
+    Map<String,String> dsMap = dataSourceMap;
+    Map<String,String> etMap = entityTypeMap;
+    try {
+      RecordReader rr = new RecordReader(
+          sr, dataSourceMap, entityTypeMap, sourceId);
+      for (JsonObject expected : expectedRecords) {
+        expected = augmentRecord(
+            expected, dataSourceMap, entityTypeMap, sourceId);
+        JsonRecordText recordText = rr.augmentRecordText(rr.readRecordText());
+        JsonObject actual = JsonUtils.parseJsonObject(recordText.toJsonText());
+        assertEquals(expected, actual,
+                     multilineFormat(
+                         rr.getFormat() + " record text not as expected:",
+                         "RECORDS TEXT: ",
+                         recordsText,
+                         " --> dataSourceMap: "
+                             + ((dsMap != null) ? dsMap.toString() : null),
+                         " --> entityTypeMap: "
+                             + ((etMap != null) ? etMap.toString() : null),
+                         "EXPECTED: ",
+                         JsonUtils.toJsonText(expected, true),
+                         "ACTUAL: ",
+                         recordText.toJsonText()));
+      }
+      assertNull(rr.readRecordText(), "Unexpected record after last record");
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Failed with exception", e);
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("getTestParameters")
+  public void readChunkedRecordsTest(String              recordsText,
+                                     List<JsonObject>    expectedRecords,
+                                     Map<String,String>  dataSourceMap,
+                                     Map<String,String>  entityTypeMap,
+                                     String              sourceId)
+  {
+    Map<String,String> dsMap = dataSourceMap;
+    Map<String,String> etMap = entityTypeMap;
+    File file = null;
+    try {
+      byte[] bytes = recordsText.getBytes(StandardCharsets.UTF_8);
+      file = File.createTempFile("records-", ".dat");
+      Files.write(file.toPath(), bytes);
+
+      List<RecordReader> readers = new LinkedList<>();
+      readers.add(new RecordReader(null,
+                                   new ByteArrayInputStream(bytes),
+                                   StandardCharsets.UTF_8,
+                                   dataSourceMap,
+                                   entityTypeMap,
+                                   sourceId,
+                                   4));
+      readers.add(new RecordReader(null,
+                                   file,
+                                   StandardCharsets.UTF_8,
+                                   dataSourceMap,
+                                   entityTypeMap,
+                                   sourceId,
+                                   4));
+
+      for (RecordReader rr : readers) {
+        try {
+          for (JsonObject expected : expectedRecords) {
+            expected = augmentRecord(
+                expected, dataSourceMap, entityTypeMap, sourceId);
+            JsonObject actual = rr.readRecord();
+            assertEquals(expected, actual,
+                         multilineFormat(
+                             rr.getFormat() + " record not as expected:",
+                             "RECORDS TEXT: ",
+                             recordsText,
+                             " --> dataSourceMap: "
+                                 + ((dsMap != null) ? dsMap.toString() : null),
+                             " --> entityTypeMap: "
+                                 + ((etMap != null) ? etMap.toString() : null),
+                             "EXPECTED: ",
+                             JsonUtils.toJsonText(expected, true),
+                             "ACTUAL: ",
+                             JsonUtils.toJsonText(actual, true)));
+          }
+          assertNull(rr.readRecord(), "Unexpected record after last record");
+        } finally {
+          rr.close();
+        }
+      }
+    } catch (Exception e) {
+      e.printStackTrace();
+      fail("Failed with exception", e);
+
+    } finally {
+      if (file != null) file.delete();
+    }
+  }
+
+  @Test
+  public void chunkedErrorLineNumberTest() {
+    StringWriter sw = new StringWriter();
+    PrintWriter pw = new PrintWriter(sw);
+    List<Long> expectedErrorLines = new LinkedList<>();
+    long lineNumber = 0L;
+    int recordCount = 200000;
+    for (int index = 0; index < recordCount; index++) {
+      if (index % 5000 == 0) {
+        pw.println("{\"RECORD_ID\": \"" + index + "\", \"BAD\": }");
+        expectedErrorLines.add(++lineNumber);
+      } else if (index % 777 == 0) {
+        pw.println();
+        lineNumber++;
+      }
+      pw.println("{\"RECORD_ID\": \"" + index
+                     + "\", \"NAME_FULL\": \"JOE SCHMOE " + index + "\"}");
+      lineNumber++;
+    }
+    pw.flush();
+    byte[] bytes = sw.toString().getBytes(StandardCharsets.UTF_8);
+
+    List<Long> actualErrorLines = new LinkedList<>();
+    int actualCount = 0;
+    try (RecordReader rr = new RecordReader(RecordReader.Format.JSON_LINES,
+                                            new ByteArrayInputStream(bytes),
+                                            StandardCharsets.UTF_8,
+                                            null,
+                                            null,
+                                            null,
+                                            4))
+    {
+      while (true) {
+        try {
+          JsonRecordText record = rr.readRecordText();
+          if (record == null) break;
+          assertNull(rr.getErrorLineNumber(),
+                     "Error line number set after successful read");
+          assertEquals(String.valueOf(actualCount),
+                       record.getString("RECORD_ID"),
+                       "Records out of order");
+          actualCount++;
+        } catch (JsonException e) {
+          actualErrorLines.add(rr.getErrorLineNumber());
+        }
+      }
+    } catch (IOException e) {
+      e.printStackTrace();
+      fail("Failed with I/O exception", e);
+    }
+
+    assertEquals(recordCount, actualCount, "Unexpected record count");
+    assertEquals(expectedErrorLines, actualErrorLines,
+                 "Unexpected error line numbers");
+  }
+
   private static JsonObject augmentRecord(JsonObject          record,
                                           Map<String,String>  dataSourceMap,
                                           Map<String,String>  entityTypeMap,
@@ -0,0 +1,158 @@
+package com.senzing.io;
+
+import com.senzing.io.TemporaryDataCache.Compression;
+import com.senzing.io.TemporaryDataCache.Encryption;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the content and measures the write and read throughput of
+ * {@link TemporaryDataCache} for each combination of {@link Compression} and
+ * {@link Encryption}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.SAME_THREAD)
+@Tag("benchmark")
+public class TemporaryDataCacheThroughputTest {
+  /**
+   * The size of the generated data in bytes.
+   */
+  private static final int DATA_SIZE = 32 * 1024 * 1024;
+
+  /**
+   * The number of warm-up iterations for each combination.
+   */
+  private static final int WARM_UP_COUNT = 1;
+
+  /**
+   * The number of measured iterations for each combination.
+   */
+  private static final int MEASURED_COUNT = 3;
+
+  /**
+   * The generated JSON-lines data.
+   */
+  private byte[] data;
+
+  /**
+   * The write and read throughput in megabytes per second keyed by
+   * combination.
+   */
+  private Map<String, double[]> results;
+
+  @BeforeAll
+  public void setup() throws IOException {
+    Random random = new Random(1234L);
+    String[] names = { "JOHN", "JANE", "JOE", "JILL", "JACK", "JENNIFER" };
+    String[] sources = { "CUSTOMERS", "EMPLOYEES", "WATCHLIST" };
+
+    ByteArrayOutputStream baos = new ByteArrayOutputStream(DATA_SIZE + 256);
+    int recordId = 0;
+    while (baos.size() < DATA_SIZE) {
+      String line = "{\"DATA_SOURCE\":\"" + sources[random.nextInt(3)]
+          + "\",\"RECORD_ID\":\"" + (recordId++)
+          + "\",\"NAME_FULL\":\"" + names[random.nextInt(names.length)]
+          + " " + Long.toString(random.nextLong() & 0xFFFFFFL, 36).toUpperCase()
+          + "\",\"PHONE_NUMBER\":\"" + (5550000 + random.nextInt(10000))
+          + "\"}\n";
+      baos.write(line.getBytes("UTF-8"));
+    }
+    this.data     = Arrays.copyOf(baos.toByteArray(), DATA_SIZE);
+    this.results  = new TreeMap<>();
+  }
+
+  @AfterAll
+  public void teardown() {
+    assertEquals(this.getCodecParameters().size(), this.results.size(),
+                 "Throughput not measured for every combination: "
+                 + this.results.keySet());
+    this.results.forEach((key, value) -> {
+      assertTrue(value[0] > 0.0, "No write throughput for " + key);
+      assertTrue(value[1] > 0.0, "No read throughput for " + key);
+    });
+  }
+
+  public List<Arguments> getCodecParameters() {
+    List<Arguments> result = new LinkedList<>();
+    for (Compression compression : Compression.values()) {
+      for (Encryption encryption : Encryption.values()) {
+        result.add(Arguments.arguments(compression, encryption));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Converts the specified byte count and duration to megabytes per second.
+   */
+  private static double megabytesPerSecond(long byteCount, long nanos) {
+    double megabytes = ((double) byteCount) / (1024.0 * 1024.0);
+    double seconds   = ((double) nanos) / 1000000000.0;
+    return (seconds == 0.0) ? 0.0 : megabytes / seconds;
+  }
+
+  @ParameterizedTest
+  @MethodSource("getCodecParameters")
+  public void throughputTest(Compression compression, Encryption encryption)
+      throws Exception
+  {
+    long writeNanos = 0L;
+    long readNanos  = 0L;
+    byte[] buffer = new byte[8192];
+
+    for (int index = 0; index < WARM_UP_COUNT + MEASURED_COUNT; index++) {
+      long start = System.nanoTime();
+      TemporaryDataCache tdc = new TemporaryDataCache(
+          new ByteArrayInputStream(this.data),
+          null,
+          null,
+          compression,
+          encryption);
+      try {
+        tdc.waitUntilAppendingComplete();
+        long written = System.nanoTime();
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(DATA_SIZE);
+        try (InputStream is = tdc.getInputStream(true)) {
+          for (int readCount = is.read(buffer);
+               readCount >= 0;
+               readCount = is.read(buffer))
+          {
+            baos.write(buffer, 0, readCount);
+          }
+        }
+        long read = System.nanoTime();
+
+        assertArrayEquals(this.data, baos.toByteArray(),
+                          "Read data differs from source data for "
+                          + compression + " / " + encryption);
+        assertTrue(tdc.isDeleted(),
+                   "TemporaryDataCache NOT marked deleted after "
+                   + "consuming all data");
+
+        if (index >= WARM_UP_COUNT) {
+          writeNanos += (written - start);
+          readNanos  += (read - written);
+        }
+
+      } finally {
+        tdc.delete();
+      }
+    }
+
+    long byteCount = ((long) DATA_SIZE) * MEASURED_COUNT;
+    this.results.put(compression + " / " + encryption,
+                     new double[] {
+                         megabytesPerSecond(byteCount, writeNanos),
+                         megabytesPerSecond(byteCount, readNanos) });
+  }
+}
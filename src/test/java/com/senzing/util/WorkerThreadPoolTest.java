@@ -0,0 +1,91 @@
+package com.senzing.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link WorkerThreadPool}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+public class WorkerThreadPoolTest {
+  /**
+   * Starts a thread that executes a task on the specified pool that records
+   * the specified name, optionally as an idle task.
+   */
+  private static Thread startCaller(WorkerThreadPool  pool,
+                                    boolean           idle,
+                                    String            name,
+                                    List<String>      order)
+  {
+    Thread thread = new Thread(() -> {
+      WorkerThreadPool.Task<Object, RuntimeException> task = () -> {
+        order.add(name);
+        return null;
+      };
+      if (idle) {
+        pool.executeWhenIdle(task);
+      } else {
+        pool.execute(task);
+      }
+    });
+    thread.start();
+    return thread;
+  }
+
+  @Test
+  public void executeWhenIdleTest() throws Exception {
+    WorkerThreadPool  pool    = new WorkerThreadPool("idle-test", 1);
+    List<String>      order   = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch    started = new CountDownLatch(1);
+    CountDownLatch    release = new CountDownLatch(1);
+    try {
+      // occupy the only worker thread
+      Thread busy = new Thread(() -> {
+        try {
+          pool.execute(() -> {
+            started.countDown();
+            release.await();
+            return null;
+          });
+        } catch (InterruptedException ignore) {
+          // ignore
+        }
+      });
+      busy.start();
+      started.await();
+
+      // queue an idle task ahead of a normal task
+      Thread idle = startCaller(pool, true, "idle", order);
+      Thread.sleep(200L);
+      Thread normal = startCaller(pool, false, "normal", order);
+      Thread.sleep(200L);
+
+      release.countDown();
+      busy.join(10000L);
+      normal.join(10000L);
+      idle.join(10000L);
+
+      assertEquals(List.of("normal", "idle"), order,
+                   "The idle task did not yield to the normal task");
+
+      // an idle task runs immediately when nothing else is waiting
+      order.clear();
+      startCaller(pool, true, "alone", order).join(10000L);
+      assertEquals(List.of("alone"), order,
+                   "The idle task did not run on an idle pool");
+
+    } finally {
+      pool.close(true);
+    }
+  }
+}